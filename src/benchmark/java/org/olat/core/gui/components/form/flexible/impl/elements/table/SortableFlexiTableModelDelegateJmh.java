@@ -0,0 +1,145 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.components.form.flexible.impl.elements.table;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.olat.core.commons.persistence.SortKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sort a table of members by a name, a date or a number column with the
+ * comparator of a subclass of the delegate, with the precomputed keys and
+ * with the cached permutations.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx1g" })
+public class SortableFlexiTableModelDelegateJmh {
+	
+	@Param({ "1000", "100000" })
+	private int rows;
+	
+	@Param({ "lastName", "lastLogin", "score" })
+	private String column;
+	
+	private MemberModel model;
+	private SortKey orderBy;
+	
+	@Setup
+	public void setup() {
+		model = new MemberModel(rows);
+		orderBy = new SortKey(column, true);
+	}
+	
+	@Benchmark
+	public List<Member> comparator() {
+		return new SortableFlexiTableModelDelegate<>(orderBy, model, Locale.GERMAN) {
+			//
+		}.sort();
+	}
+	
+	@Benchmark
+	public List<Member> keys() {
+		model.setSortCache(null);
+		return new SortableFlexiTableModelDelegate<>(orderBy, model, Locale.GERMAN).sort();
+	}
+	
+	@Benchmark
+	public List<Member> cached() {
+		return new SortableFlexiTableModelDelegate<>(orderBy, model, Locale.GERMAN).sort();
+	}
+	
+	public record Member(String firstName, String lastName, Date lastLogin, Double score) {
+		//
+	}
+	
+	private static class MemberModel extends DefaultFlexiTableDataModel<Member> implements SortableFlexiTableDataModel<Member> {
+		
+		private static final String[] FIRST_NAMES = { "Anna", "\u00c9milie", "Jean", "J\u00fcrg", "Zo\u00e9", "Lukas", "Ol\u00e9", "Marie" };
+		private static final String[] LAST_NAMES = { "M\u00fcller", "Muller", "Dupont", "\u00d6zt\u00fcrk", "Rossi", "Schmid", "Lef\u00e8vre", "Keller" };
+		
+		public MemberModel(int numOfRows) {
+			super(createColumnModel());
+			
+			Random rnd = new Random(numOfRows);
+			List<Member> members = new ArrayList<>(numOfRows);
+			for(int i=0; i<numOfRows; i++) {
+				String firstName = FIRST_NAMES[rnd.nextInt(FIRST_NAMES.length)];
+				String lastName = LAST_NAMES[rnd.nextInt(LAST_NAMES.length)] + "-" + rnd.nextInt(10000);
+				Date lastLogin = rnd.nextInt(20) == 0 ? null : new Date(1700000000000l + rnd.nextInt(100000000) * 1000l);
+				members.add(new Member(firstName, lastName, lastLogin, Double.valueOf(rnd.nextInt(1000) / 10.0d)));
+			}
+			setObjects(members);
+		}
+		
+		private static FlexiTableColumnModel createColumnModel() {
+			FlexiTableColumnModel columnsModel = FlexiTableDataModelFactory.createFlexiTableColumnModel();
+			columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel("firstName", 0, true, "firstName"));
+			columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel("lastName", 1, true, "lastName"));
+			columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel("lastLogin", 2, true, "lastLogin"));
+			columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel("score", 3, true, "score"));
+			return columnsModel;
+		}
+
+		@Override
+		public void sort(SortKey sortKey) {
+			//
+		}
+
+		@Override
+		public Object getValueAt(int row, int col) {
+			return getValueAt(getObject(row), col);
+		}
+
+		@Override
+		public Object getValueAt(Member row, int col) {
+			switch(col) {
+				case 0: return row.firstName();
+				case 1: return row.lastName();
+				case 2: return row.lastLogin();
+				case 3: return row.score();
+				default: return null;
+			}
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.render;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Render a fragment of a table (rows with escaped cells) in a new
+ * StringOutput and in a StringOutput of the pool. The small fragment
+ * uses the auxiliary pool, the large one the pool of soft references.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class StringOutputJmh {
+	
+	@Param({ "10", "500" })
+	private int rows;
+	
+	private int size;
+	private String[] cells;
+	
+	@Setup
+	public void setup() {
+		cells = new String[] { "M\u00fcller & S\u00f6hne", "<b>Jean</b> Dupont", "\"Zo\u00e9\" Lef\u00e8vre", "12.5", "2026-10-17" };
+		size = rows * 128;
+	}
+	
+	@Benchmark
+	public String renderNew() {
+		StringOutput sb = new StringOutput(size);
+		render(sb);
+		return sb.toString();
+	}
+	
+	@Benchmark
+	public String renderPooled() {
+		StringOutput sb = StringOutputPool.allocStringBuilder(size);
+		render(sb);
+		return StringOutputPool.freePop(sb);
+	}
+	
+	private void render(StringOutput sb) {
+		sb.append("<table class='table'><tbody>");
+		for(int i=0; i<rows; i++) {
+			sb.append("<tr id='row_").append(i).append("'>");
+			for(String cell:cells) {
+				sb.append("<td>").appendHtmlEscaped(cell).append("</td>");
+			}
+			sb.append("</tr>");
+		}
+		sb.append("</tbody></table>");
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.util.i18n;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Lookup of the translations of the task course element, with the compiled
+ * bundle of the I18nManager versus the properties and a MessageFormat
+ * parsed at every call. The I18nManager needs the module and the i18n
+ * files on the disk, the benchmark uses the compiled bundle directly,
+ * which is the hot path of getLocalizedString.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class I18nCompiledBundleJmh {
+	
+	private static final String BUNDLE = "org/olat/course/nodes/gta/ui/_i18n/LocalStrings_de.properties";
+	private static final Object[] ARGS = new Object[] { "Kurs", Integer.valueOf(12), "Jean Dupont" };
+	
+	private Map<String,String> properties;
+	private I18nCompiledBundle compiledBundle;
+	private String[] keys;
+	private String[] keysWithArgs;
+	
+	@Setup
+	public void setup() throws IOException {
+		Properties props = new Properties();
+		try(InputStream in = I18nCompiledBundleJmh.class.getClassLoader().getResourceAsStream(BUNDLE)) {
+			props.load(in);
+		}
+		
+		properties = new HashMap<>();
+		List<String> plainKeys = new ArrayList<>();
+		List<String> argsKeys = new ArrayList<>();
+		for(String key:props.stringPropertyNames()) {
+			String value = props.getProperty(key);
+			properties.put(key, value);
+			if(value.indexOf('{') >= 0) {
+				// the gender placeholders, e.g. {in}, are replaced by the I18nManager before compiling the bundle
+				if(isValidPattern(value)) {
+					argsKeys.add(key);
+				}
+			} else {
+				plainKeys.add(key);
+			}
+		}
+		compiledBundle = new I18nCompiledBundle(properties);
+		keys = plainKeys.toArray(new String[plainKeys.size()]);
+		keysWithArgs = argsKeys.toArray(new String[argsKeys.size()]);
+	}
+	
+	@Benchmark
+	public void compiled(Blackhole bh) {
+		for(String key:keys) {
+			bh.consume(compiledBundle.getLocalizedString(key, null));
+		}
+	}
+	
+	@Benchmark
+	public void compiledWithArgs(Blackhole bh) {
+		for(String key:keysWithArgs) {
+			bh.consume(compiledBundle.getLocalizedString(key, ARGS));
+		}
+	}
+	
+	@Benchmark
+	public void messageFormat(Blackhole bh) {
+		for(String key:keys) {
+			bh.consume(format(properties.get(key), null));
+		}
+	}
+	
+	@Benchmark
+	public void messageFormatWithArgs(Blackhole bh) {
+		for(String key:keysWithArgs) {
+			bh.consume(format(properties.get(key), ARGS));
+		}
+	}
+	
+	private static boolean isValidPattern(String value) {
+		try {
+			new MessageFormat(value.replace("'", "''"));
+			return true;
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+	
+	private static String format(String value, Object[] args) {
+		try {
+			return MessageFormat.format(value.replace("'", "''"), args);
+		} catch (IllegalArgumentException e) {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.util.openxml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.olat.core.util.openxml.OpenXMLWorksheet.Row;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Write a worksheet with a header, unique strings and numbers in the
+ * default and in the streaming mode of the workbook. The workbook is
+ * written in a null output stream.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = { "-Xmx512m" })
+public class OpenXMLWorksheetJmh {
+	
+	private static final int NUM_OF_COLUMNS = 10;
+	
+	@Param({ "1000", "20000" })
+	private int rows;
+	
+	@Benchmark
+	public void writeDefault() throws IOException {
+		write(false);
+	}
+	
+	@Benchmark
+	public void writeStreaming() throws IOException {
+		write(true);
+	}
+	
+	private void write(boolean streaming) throws IOException {
+		try(OutputStream out = OutputStream.nullOutputStream();
+				OpenXMLWorkbook workbook = new OpenXMLWorkbook(out, 1, Collections.emptyList(), streaming)) {
+			OpenXMLWorksheet sheet = workbook.nextWorksheet();
+			sheet.setHeaderRows(1);
+			Row headerRow = sheet.newRow();
+			for(int c=0; c<NUM_OF_COLUMNS; c++) {
+				headerRow.addCell(c, "Column " + c, workbook.getStyles().getHeaderStyle());
+			}
+			
+			for(int r=0; r<rows; r++) {
+				Row row = sheet.newRow();
+				for(int c=0; c<NUM_OF_COLUMNS; c++) {
+					if(c % 2 == 0) {
+						row.addCell(c, "Value " + r + "-" + c);
+					} else {
+						row.addCell(c, Integer.valueOf(r * c), null);
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.util.resource;
+
+import java.util.concurrent.TimeUnit;
+
+import org.olat.core.id.OLATResourceable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The string representation of a resource is the key of the locks, of the
+ * event channels and of the caches. The long type name is hashed.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class OresHelperJmh {
+	
+	private OLATResourceable ores;
+	private OLATResourceable longOres;
+	
+	@Setup
+	public void setup() {
+		ores = OresHelper.createOLATResourceableInstance("CourseModule", Long.valueOf(93482374234l));
+		// the helper refuses types longer than 50 characters, the long types come from the implementations of the interface
+		longOres = new LongTypeResourceable("org.olat.modules.forms.model.jpa.EvaluationFormParticipationImpl.ResourceableWithAVeryLongName",
+				Long.valueOf(93482374234l));
+	}
+	
+	@Benchmark
+	public String representing() {
+		return OresHelper.createStringRepresenting(ores);
+	}
+	
+	@Benchmark
+	public String representingSubKey() {
+		return OresHelper.createStringRepresenting(ores, "editorLock");
+	}
+	
+	@Benchmark
+	public String representingLongType() {
+		return OresHelper.createStringRepresenting(longOres, "participation-of-the-assessment");
+	}
+	
+	private record LongTypeResourceable(String type, Long key) implements OLATResourceable {
+		
+		@Override
+		public String getResourceableTypeName() {
+			return type;
+		}
+		
+		@Override
+		public Long getResourceableId() {
+			return key;
+		}
+	}
+}
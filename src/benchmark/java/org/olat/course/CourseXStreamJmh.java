@@ -0,0 +1,105 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.course;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.olat.core.util.xml.XStreamHelper;
+import org.olat.course.condition.Condition;
+import org.olat.course.nodes.SPCourseNode;
+import org.olat.course.nodes.STCourseNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialize and deserialize the run structure of a course with the
+ * XStream instances of the course, in memory.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseXStreamJmh {
+	
+	@Param({ "20", "300" })
+	private int nodes;
+	
+	private Structure structure;
+	private byte[] xml;
+	
+	@Setup
+	public void setup() {
+		structure = createStructure();
+		xml = write();
+	}
+	
+	@Benchmark
+	public byte[] write() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+		XStreamHelper.writeObject(CourseXStreamAliases.getWriteCourseXStream(), out, structure);
+		return out.toByteArray();
+	}
+	
+	@Benchmark
+	public Object read() {
+		return XStreamHelper.readObject(CourseXStreamAliases.getReadCourseXStream(), new ByteArrayInputStream(xml));
+	}
+	
+	private Structure createStructure() {
+		STCourseNode rootNode = new STCourseNode();
+		rootNode.setIdent("bench-root");
+		rootNode.setShortTitle("Root");
+		
+		String previousIdent = rootNode.getIdent();
+		for(int i=0; i<nodes; i++) {
+			SPCourseNode node = new SPCourseNode();
+			node.setIdent("bench-" + i);
+			node.setShortTitle("Node " + i);
+			node.setLongTitle("The long title of the node " + i);
+			node.getModuleConfiguration().setStringValue("file", "/page_" + i + ".html");
+			node.getModuleConfiguration().setBooleanEntry("allowRelativeLinks", true);
+			node.setPreConditionVisibility(new Condition("inLearningGroup(\"Group " + (i % 10) + "\") | isCourseParticipant(0)"));
+			node.setPreConditionAccess(new Condition("getAttempts(\"" + previousIdent + "\") >= 0 | isCourseCoach(0)"));
+			rootNode.addChild(node);
+			previousIdent = node.getIdent();
+		}
+		
+		Structure runStructure = new Structure();
+		runStructure.setRootNode(rootNode);
+		return runStructure;
+	}
+}
@@ -0,0 +1,103 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.course.condition.interpreter;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.concurrent.TimeUnit;
+
+import org.olat.course.Structure;
+import org.olat.course.run.environment.CourseEnvironment;
+import org.olat.course.run.userview.UserCourseEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Evaluate a set of conditions with the shared, parsed expressions of the
+ * run structure versus parsing the expressions at every evaluation. The
+ * conditions only use the variables, the dates and the operators, the
+ * functions which need the database are left out to run the benchmark
+ * without the Spring context.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ConditionInterpreterJmh {
+	
+	private static final String[] CONDITIONS = {
+			"now >= date(\"01.01.2020 00:00\")",
+			"(now >= date(\"01.01.2020 00:00\") & now <= date(\"31.12.2099 23:59\")) | false",
+			"today >= date(\"17.10.2026 00:00\") & now > 0",
+			"(true & (1 + 2 * 3 > 6)) | (today < date(\"01.01.2000 00:00\") & now > 0)",
+			"(now - date(\"01.01.2026 00:00\")) / 1000 > 3600 & !(now < today)"
+		};
+	
+	private UserCourseEnvironment userCourseEnv;
+	
+	@Setup
+	public void setup() {
+		CourseEnvironment courseEnv = mock(CourseEnvironment.class, withSettings().stubOnly());
+		when(courseEnv.getRunStructure()).thenReturn(new Structure());
+		when(courseEnv.getCurrentTimeMillis()).thenReturn(Long.valueOf(1792224000000l));
+		userCourseEnv = mock(UserCourseEnvironment.class, withSettings().stubOnly());
+		when(userCourseEnv.getCourseEnvironment()).thenReturn(courseEnv);
+	}
+	
+	@Benchmark
+	public void shared(Blackhole bh) {
+		ConditionInterpreter interpreter = new ConditionInterpreter(userCourseEnv);
+		for(String condition:CONDITIONS) {
+			bh.consume(interpreter.evaluateCondition(condition));
+		}
+	}
+	
+	@Benchmark
+	public void parsed(Blackhole bh) {
+		ConditionInterpreter interpreter = new ConditionInterpreter(userCourseEnv) {
+			@Override
+			protected boolean isSharedExpressions() {
+				return false;
+			}
+		};
+		for(String condition:CONDITIONS) {
+			bh.consume(interpreter.evaluateCondition(condition));
+		}
+	}
+}
@@ -97,6 +97,7 @@ public class AllCachesController extends FormBasicController {
 		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(CacheCols.offHeap));
 		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(CacheCols.hit));
 		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(CacheCols.miss));
+		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(CacheCols.evictions));
 		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(CacheCols.size));
 		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(CacheCols.maxIdle));
 		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(CacheCols.lifespan));
@@ -189,6 +190,7 @@ public class AllCachesController extends FormBasicController {
 		private final boolean offHeap;
 		private final long hits;
 		private final long misses;
+		private final long evictions;
 		private final long size;
 		private final long maxIdle;
 		private final long lifespan;
@@ -208,6 +210,7 @@ public class AllCachesController extends FormBasicController {
 			offHeap = configuration.memory().storage() == StorageType.OFF_HEAP;
 			hits = stats.getHits();
 			misses = stats.getMisses();
+			evictions = stats.getEvictions();
 			size = cache.getAdvancedCache().size();
 			maxIdle = cache.getCacheConfiguration().expiration().maxIdle();
 			lifespan = cache.getCacheConfiguration().expiration().lifespan();
@@ -231,6 +234,10 @@ public class AllCachesController extends FormBasicController {
 			return misses;
 		}
 		
+		public long getEvictions() {
+			return evictions;
+		}
+		
 		public long getSize() {
 			return size;
 		}
@@ -287,6 +294,7 @@ public class AllCachesController extends FormBasicController {
 				case offHeap: return c.isOffHeap();
 				case hit: return c.getHits();
 				case miss: return c.getMisses();
+				case evictions: return c.getEvictions();
 				case size: return c.getSize();
 				case maxIdle: return c.getMaxIdle();
 				case lifespan: return c.getLifespan();
@@ -302,6 +310,7 @@ public class AllCachesController extends FormBasicController {
 		offHeap("cache.off.heap"),
 		hit("cache.hitcnt"),
 		miss("cache.mcexp"),
+		evictions("cache.evictions"),
 		size("cache.quickcount"),
 		maxIdle("cache.tti"),
 		lifespan("cache.ttl"),
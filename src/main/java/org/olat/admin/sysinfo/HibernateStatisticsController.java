@@ -29,6 +29,7 @@ import org.olat.core.gui.components.velocity.VelocityContainer;
 import org.olat.core.gui.control.Event;
 import org.olat.core.gui.control.WindowControl;
 import org.olat.core.gui.control.controller.BasicController;
+import org.olat.core.logging.activity.ActivityLogService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -43,6 +44,8 @@ public class HibernateStatisticsController extends BasicController {
 	@Autowired
 	private DB dbInstance;
 	@Autowired
+	private ActivityLogService activityLogService;
+	@Autowired
 	private DatabaseStatsManager databaseStatsManager;
 
 	public HibernateStatisticsController(UserRequest ureq, WindowControl wControl) {
@@ -61,6 +64,7 @@ public class HibernateStatisticsController extends BasicController {
 		
 		DatabaseConnectionVO connectionInfos = databaseStatsManager.getConnectionInfos();
 		mainVC.contextPut("connectionInfos", connectionInfos);
+		mainVC.contextPut("writerStatistics", activityLogService.getWriterStatistics());
 	}
 
 	@Override
@@ -0,0 +1,199 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.admin.sysinfo;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.olat.admin.sysinfo.manager.RenderStatisticsManager;
+import org.olat.core.commons.persistence.SortKey;
+import org.olat.core.gui.UserRequest;
+import org.olat.core.gui.components.form.flexible.FormItem;
+import org.olat.core.gui.components.form.flexible.FormItemContainer;
+import org.olat.core.gui.components.form.flexible.elements.FlexiTableElement;
+import org.olat.core.gui.components.form.flexible.elements.FormLink;
+import org.olat.core.gui.components.form.flexible.elements.IntegerElement;
+import org.olat.core.gui.components.form.flexible.elements.StaticTextElement;
+import org.olat.core.gui.components.form.flexible.impl.FormBasicController;
+import org.olat.core.gui.components.form.flexible.impl.FormEvent;
+import org.olat.core.gui.components.form.flexible.impl.FormLayoutContainer;
+import org.olat.core.gui.components.form.flexible.impl.elements.table.DefaultFlexiColumnModel;
+import org.olat.core.gui.components.form.flexible.impl.elements.table.DefaultFlexiTableDataModel;
+import org.olat.core.gui.components.form.flexible.impl.elements.table.FlexiTableColumnModel;
+import org.olat.core.gui.components.form.flexible.impl.elements.table.FlexiTableDataModelFactory;
+import org.olat.core.gui.components.form.flexible.impl.elements.table.SortableFlexiTableDataModel;
+import org.olat.core.gui.components.form.flexible.impl.elements.table.SortableFlexiTableModelDelegate;
+import org.olat.core.gui.components.link.Link;
+import org.olat.core.gui.control.Controller;
+import org.olat.core.gui.control.WindowControl;
+import org.olat.core.gui.render.RenderStatisticsEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Show the time spent in the velocity templates and the component
+ * renderers during the sampled render cycles.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class RenderStatisticsController extends FormBasicController {
+	
+	private IntegerElement samplingRateEl;
+	private StaticTextElement cyclesEl;
+	private StaticTextElement fragmentCacheEl;
+	private FormLink saveLink;
+	private FormLink refreshLink;
+	private FormLink resetLink;
+	private FlexiTableElement table;
+	private RenderStatisticsDataModel tableModel;
+	
+	@Autowired
+	private RenderStatisticsManager renderStatisticsManager;
+	
+	public RenderStatisticsController(UserRequest ureq, WindowControl wControl) {
+		super(ureq, wControl);
+		
+		initForm(ureq);
+		loadModel();
+	}
+
+	@Override
+	protected void initForm(FormItemContainer formLayout, Controller listener, UserRequest ureq) {
+		setFormTitle("render.statistics.title");
+		setFormDescription("render.statistics.desc");
+		
+		samplingRateEl = uifactory.addIntegerElement("render.sampling.rate", renderStatisticsManager.getSamplingRate(), formLayout);
+		cyclesEl = uifactory.addStaticTextElement("render.sampled.cycles", "", formLayout);
+		fragmentCacheEl = uifactory.addStaticTextElement("render.fragment.cache", "", formLayout);
+		
+		FormLayoutContainer buttonsLayout = FormLayoutContainer.createButtonLayout("buttons", getTranslator());
+		formLayout.add(buttonsLayout);
+		saveLink = uifactory.addFormLink("save", "save", null, buttonsLayout, Link.BUTTON);
+		refreshLink = uifactory.addFormLink("render.statistics.refresh", buttonsLayout, Link.BUTTON);
+		resetLink = uifactory.addFormLink("render.statistics.reset", buttonsLayout, Link.BUTTON);
+		
+		FlexiTableColumnModel columnsModel = FlexiTableDataModelFactory.createFlexiTableColumnModel();
+		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(RenderCols.name.i18nKey(), RenderCols.name.ordinal(),
+				true, RenderCols.name.name()));
+		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(RenderCols.count.i18nKey(), RenderCols.count.ordinal(),
+				true, RenderCols.count.name()));
+		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(RenderCols.selfDuration.i18nKey(), RenderCols.selfDuration.ordinal(),
+				true, RenderCols.selfDuration.name()));
+		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(RenderCols.duration.i18nKey(), RenderCols.duration.ordinal(),
+				true, RenderCols.duration.name()));
+		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(RenderCols.average.i18nKey(), RenderCols.average.ordinal(),
+				true, RenderCols.average.name()));
+		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(RenderCols.max.i18nKey(), RenderCols.max.ordinal(),
+				true, RenderCols.max.name()));
+		columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel(RenderCols.length.i18nKey(), RenderCols.length.ordinal(),
+				true, RenderCols.length.name()));
+		
+		tableModel = new RenderStatisticsDataModel(columnsModel);
+		table = uifactory.addTableElement(getWindowControl(), "renderers", tableModel, 50, true, getTranslator(), formLayout);
+		table.setExportEnabled(true);
+	}
+	
+	private void loadModel() {
+		cyclesEl.setValue(Long.toString(renderStatisticsManager.getSampledRenderCycles()));
+		fragmentCacheEl.setValue(translate("render.fragment.cache.value", 
+				Long.toString(renderStatisticsManager.getFragmentCacheHits()),
+				Long.toString(renderStatisticsManager.getFragmentCacheMisses())));
+		tableModel.setObjects(renderStatisticsManager.getEntries());
+		table.reset(true, true, true);
+	}
+
+	@Override
+	protected void formInnerEvent(UserRequest ureq, FormItem source, FormEvent event) {
+		if(saveLink == source) {
+			if(samplingRateEl.validateIntValue()) {
+				renderStatisticsManager.setSamplingRate(samplingRateEl.getIntValue());
+				samplingRateEl.setIntValue(renderStatisticsManager.getSamplingRate());
+			}
+		} else if(refreshLink == source) {
+			loadModel();
+		} else if(resetLink == source) {
+			renderStatisticsManager.reset();
+			loadModel();
+		}
+		super.formInnerEvent(ureq, source, event);
+	}
+
+	@Override
+	protected void formOK(UserRequest ureq) {
+		//
+	}
+	
+	private static class RenderStatisticsDataModel extends DefaultFlexiTableDataModel<RenderStatisticsEntry>
+	implements SortableFlexiTableDataModel<RenderStatisticsEntry> {
+	
+		public RenderStatisticsDataModel(FlexiTableColumnModel columnModel) {
+			super(columnModel);
+		}
+	
+		@Override
+		public void sort(SortKey orderBy) {
+			if(orderBy != null) {
+				List<RenderStatisticsEntry> views = new SortableFlexiTableModelDelegate<>(orderBy, this, (Locale)null).sort();
+				super.setObjects(views);
+			}
+		}
+		
+		@Override
+		public Object getValueAt(int row, int col) {
+			RenderStatisticsEntry entry = getObject(row);
+			return getValueAt(entry, col);
+		}
+	
+		@Override
+		public Object getValueAt(RenderStatisticsEntry row, int col) {
+			switch(RenderCols.values()[col]) {
+				case name: return row.name();
+				case count: return row.count();
+				case selfDuration: return row.selfDuration() / 1000000l;
+				case duration: return row.duration() / 1000000l;
+				case average: return row.getAverageDuration() / 1000l;
+				case max: return row.maxDuration() / 1000l;
+				case length: return row.getAverageOutputLength();
+				default: return null;
+			}
+		}
+	}
+	
+	public enum RenderCols {
+		name("render.name"),
+		count("render.count"),
+		selfDuration("render.self.duration"),
+		duration("render.duration"),
+		average("render.average"),
+		max("render.max"),
+		length("render.length");
+		
+		private final String i18nKey;
+		
+		private RenderCols(String i18nKey) {
+			this.i18nKey = i18nKey;
+		}
+		
+		public String i18nKey() {
+			return i18nKey;
+		}
+	}
+}
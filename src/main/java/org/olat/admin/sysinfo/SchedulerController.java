@@ -25,6 +25,8 @@ import java.util.List;
 import java.util.Locale;
 
 import org.olat.core.commons.persistence.SortKey;
+import org.olat.core.commons.services.notifications.manager.NotificationsDigestEngine;
+import org.olat.core.commons.services.notifications.model.NotificationsDigestStatistics;
 import org.olat.core.gui.UserRequest;
 import org.olat.core.gui.components.form.flexible.FormItemContainer;
 import org.olat.core.gui.components.form.flexible.elements.FlexiTableElement;
@@ -39,6 +41,7 @@ import org.olat.core.gui.components.form.flexible.impl.elements.table.SortableFl
 import org.olat.core.gui.components.form.flexible.impl.elements.table.SortableFlexiTableModelDelegate;
 import org.olat.core.gui.control.Controller;
 import org.olat.core.gui.control.WindowControl;
+import org.olat.core.util.Formatter;
 import org.quartz.CronTrigger;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobKey;
@@ -61,6 +64,8 @@ public class SchedulerController extends FormBasicController {
 	
 	@Autowired
 	private Scheduler scheduler;
+	@Autowired
+	private NotificationsDigestEngine notificationsDigestEngine;
 	
 	public SchedulerController(UserRequest ureq, WindowControl wControl) {
 		super(ureq, wControl, "scheduler");
@@ -118,6 +123,31 @@ public class SchedulerController extends FormBasicController {
 		}
 		tableModel.setObjects(rows);
 		tableEl.reset(true, true, true);
+		
+		loadDigestStatistics();
+	}
+	
+	private void loadDigestStatistics() {
+		flc.contextPut("digestEnabled", Boolean.valueOf(notificationsDigestEngine.isEnabled()));
+		NotificationsDigestStatistics stats = notificationsDigestEngine.getStatistics();
+		if(stats.start() == null) {
+			flc.contextRemove("digestStart");
+			return;
+		}
+		
+		Formatter formatter = Formatter.getInstance(getLocale());
+		flc.contextPut("digestRunning", Boolean.valueOf(stats.running()));
+		flc.contextPut("digestStart", formatter.formatDateAndTime(stats.start()));
+		flc.contextPut("digestEnd", stats.end() == null ? "-" : formatter.formatDateAndTime(stats.end()));
+		flc.contextPut("digestPublishers", Long.toString(stats.publishers()));
+		flc.contextPut("digestIdentities", Long.toString(stats.identities()));
+		flc.contextPut("digestProcessed", Long.toString(stats.processedIdentities()));
+		flc.contextPut("digestProgress", Integer.toString(stats.getProgress()));
+		flc.contextPut("digestEmails", Long.toString(stats.sentEmails()));
+		flc.contextPut("digestErrors", Long.toString(stats.errors()));
+		flc.contextPut("digestItems", Long.toString(stats.computedItems()));
+		flc.contextPut("digestSharedItems", Long.toString(stats.sharedItems()));
+		flc.contextPut("digestThroughput", String.format(getLocale(), "%.2f", stats.getThroughput()));
 	}
 
 	@Override
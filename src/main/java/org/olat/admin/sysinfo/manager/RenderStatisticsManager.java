@@ -0,0 +1,142 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.admin.sysinfo.manager;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.core.commons.services.jmx.JMXManager;
+import org.olat.core.gui.render.RenderStatistics;
+import org.olat.core.gui.render.RenderStatisticsEntry;
+import org.olat.core.logging.Tracing;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Configure the sampling of the render profiling and expose the
+ * statistics via JMX.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@Service
+public class RenderStatisticsManager implements RenderStatisticsMXBean, InitializingBean, DisposableBean {
+	
+	private static final Logger log = Tracing.createLoggerFor(RenderStatisticsManager.class);
+	
+	private static final int TOP_RENDERERS = 25;
+	private static final String OBJECT_NAME = "org.olat:type=RenderStatistics";
+	
+	@Value("${gui.render.profiling.sampling:0}")
+	private int samplingRate;
+	
+	@Autowired
+	private JMXManager jmxManager;
+	
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		RenderStatistics.getInstance().setSamplingRate(samplingRate);
+		
+		try {
+			MBeanServer mBeanServer = getMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if(mBeanServer.isRegistered(name)) {
+				mBeanServer.unregisterMBean(name);
+			}
+			mBeanServer.registerMBean(this, name);
+		} catch (Exception e) {
+			log.error("Cannot register the render statistics", e);
+		}
+	}
+	
+	@Override
+	public void destroy() throws Exception {
+		try {
+			MBeanServer mBeanServer = getMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if(mBeanServer.isRegistered(name)) {
+				mBeanServer.unregisterMBean(name);
+			}
+		} catch (Exception e) {
+			log.error("Cannot unregister the render statistics", e);
+		}
+	}
+	
+	private MBeanServer getMBeanServer() {
+		return jmxManager != null && jmxManager.isActive()
+				? jmxManager.getMBeanServer() : ManagementFactory.getPlatformMBeanServer();
+	}
+
+	@Override
+	public int getSamplingRate() {
+		return RenderStatistics.getInstance().getSamplingRate();
+	}
+
+	@Override
+	public void setSamplingRate(int samplingRate) {
+		RenderStatistics.getInstance().setSamplingRate(samplingRate);
+	}
+
+	@Override
+	public long getSampledRenderCycles() {
+		return RenderStatistics.getInstance().getSampledRenderCycles();
+	}
+
+	@Override
+	public long getFragmentCacheHits() {
+		return RenderStatistics.getInstance().getFragmentCacheHits();
+	}
+
+	@Override
+	public long getFragmentCacheMisses() {
+		return RenderStatistics.getInstance().getFragmentCacheMisses();
+	}
+	
+	public List<RenderStatisticsEntry> getEntries() {
+		return RenderStatistics.getInstance().getEntries();
+	}
+
+	@Override
+	public String[] getTopRenderers() {
+		return getEntries().stream()
+				.sorted(Comparator.comparingLong(RenderStatisticsEntry::selfDuration).reversed())
+				.limit(TOP_RENDERERS)
+				.map(entry -> entry.name() + ": count=" + entry.count()
+					+ ", self=" + (entry.selfDuration() / 1000000l) + "ms"
+					+ ", avg=" + (entry.getAverageDuration() / 1000l) + "us"
+					+ ", max=" + (entry.maxDuration() / 1000l) + "us"
+					+ ", avg. length=" + entry.getAverageOutputLength())
+				.toArray(String[]::new);
+	}
+
+	@Override
+	public void reset() {
+		RenderStatistics.getInstance().reset();
+	}
+}
@@ -19,6 +19,7 @@
  */
 package org.olat.basesecurity.manager;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
@@ -35,7 +36,9 @@ import org.olat.basesecurity.AuthenticationImpl;
 import org.olat.basesecurity.BaseSecurityModule;
 import org.olat.basesecurity.IdentityRef;
 import org.olat.basesecurity.OrganisationRoles;
+import org.olat.basesecurity.model.AuthenticationShort;
 import org.olat.core.commons.persistence.DB;
+import org.olat.core.commons.persistence.PersistenceHelper;
 import org.olat.core.commons.persistence.QueryBuilder;
 import org.olat.core.commons.services.webdav.manager.WebDAVAuthManager;
 import org.olat.core.id.Identity;
@@ -339,7 +342,52 @@ public class AuthenticationDAO {
 				.setParameter("provider", provider)
 				.getResultList();
 	}
-	
+
+	/**
+	 * Load a light view of all the authentications of a provider, without
+	 * the entities, to build lookup tables for large synchronizations.
+	 *
+	 * @param provider The authentication provider
+	 * @param issuer The issuer
+	 * @return A list of authentications with the key and status of their identity
+	 */
+	public List<AuthenticationShort> getAuthenticationsShort(String provider, String issuer) {
+		QueryBuilder sb = new QueryBuilder(256);
+		sb.append("select new org.olat.basesecurity.model.AuthenticationShort(auth.key, auth.authusername, auth.externalId, ident.key, ident.status)")
+		  .append(" from ").append(AuthenticationImpl.class.getName()).append(" as auth")
+		  .append(" inner join auth.identity as ident")
+		  .append(" where auth.provider=:provider and auth.issuer=:issuer");
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(sb.toString(), AuthenticationShort.class)
+				.setParameter("provider", provider)
+				.setParameter("issuer", issuer)
+				.getResultList();
+	}
+
+	/**
+	 *
+	 * @param authenticationKeys A list of primary keys
+	 * @return The authentications with identity and user fetched
+	 */
+	public List<Authentication> loadByKeys(List<Long> authenticationKeys) {
+		if(authenticationKeys == null || authenticationKeys.isEmpty()) return new ArrayList<>();
+
+		QueryBuilder sb = new QueryBuilder(256);
+		sb.append("select auth from ").append(AuthenticationImpl.class.getName()).append(" as auth")
+		  .append(" inner join fetch auth.identity as ident")
+		  .append(" inner join fetch ident.user as user")
+		  .append(" where auth.key in (:authenticationKeys)");
+
+		List<Authentication> authentications = new ArrayList<>(authenticationKeys.size());
+		for(List<Long> chunkOfKeys:PersistenceHelper.collectionOfChunks(authenticationKeys)) {
+			authentications.addAll(dbInstance.getCurrentEntityManager()
+					.createQuery(sb.toString(), Authentication.class)
+					.setParameter("authenticationKeys", chunkOfKeys)
+					.getResultList());
+		}
+		return authentications;
+	}
+
 	public Authentication loadByKey(Long authenticationKey) {
 		if (authenticationKey == null) return null;
 		
@@ -37,6 +37,8 @@ public interface CollaborationManager {
 	
 	public Long lookupFolderAccess(OLATResourceable ores);
 	
+	public Map<Long,Long> lookupFolderAccess(List<BusinessGroup> groups);
+	
 	public Map<Long,Long> lookupCalendarAccess(List<BusinessGroup> groups);
 	
 	public KalendarRenderWrapper getCalendar(BusinessGroup group, UserRequest ureq, boolean isAdmin, boolean readOnly);
@@ -79,6 +79,39 @@ public class CollaborationManagerImpl implements CollaborationManager {
 		return props.get(0);
 	}
 	
+	@Override
+	public Map<Long,Long> lookupFolderAccess(List<BusinessGroup> groups) {
+		if(groups == null || groups.isEmpty()) {
+			return new HashMap<>();
+		}
+		
+		StringBuilder query = new StringBuilder(256);
+		query.append("select prop.resourceTypeId, prop.longValue from ").append(Property.class.getName()).append(" as prop where ")
+		     .append(" prop.category='").append(PROP_CAT_BG_COLLABTOOLS).append("'")
+		     .append(" and prop.resourceTypeName='BusinessGroup'")
+		     .append(" and prop.resourceTypeId in (:groupKeys)")
+		     .append(" and prop.name='").append(KEY_FOLDER_ACCESS).append("'")
+		     .append(" and prop.identity is null and prop.grp is null");
+		
+		TypedQuery<Object[]> dbquery = dbInstance.getCurrentEntityManager().createQuery(query.toString(), Object[].class);
+		Map<Long,Long> groupKeyToAccess = new HashMap<>();
+
+		int count = 0;
+		int batch = 200;
+		do {
+			int toIndex = Math.min(count + batch, groups.size());
+			List<Long> groupKeys = PersistenceHelper.toKeys(groups.subList(count, toIndex));
+			List<Object[]> props = dbquery
+				.setParameter("groupKeys", groupKeys)
+				.getResultList();
+			for(Object[] prop:props) {
+				groupKeyToAccess.putIfAbsent((Long)prop[0], (Long)prop[1]);
+			}
+			count += batch;
+		} while(count < groups.size());
+		return groupKeyToAccess;
+	}
+	
 	@Override
 	public Map<Long,Long> lookupCalendarAccess(List<BusinessGroup> groups) {
 		if(groups == null || groups.isEmpty()) {
@@ -0,0 +1,213 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.commons.calendar.manager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.core.logging.Tracing;
+import org.olat.core.util.FileUtils;
+
+/**
+ * Journal of the changes of a calendar file. Adding, updating or removing
+ * some events append a record to the journal instead of rewriting the whole
+ * .ics file. The journal starts with the size and the last modification
+ * date of the .ics file it applies to, if the .ics file was replaced, the
+ * journal is ignored. A truncated record at the end of the journal is
+ * ignored too.<br>
+ * This class is not thread-safe, the calendar manager synchronizes the
+ * calls per calendar.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class ICalFileCalendarJournal {
+	
+	private static final Logger log = Tracing.createLoggerFor(ICalFileCalendarJournal.class);
+	
+	private static final String HEADER = "OPENOLAT-CALENDAR-JOURNAL:1";
+	private static final String UPSERT = "UPSERT";
+	private static final String REMOVE = "REMOVE";
+	private static final String UID = "UID:";
+	private static final String RECURRENCE_ID = "RECURRENCE-ID:";
+	private static final String END_RECORD = "END:RECORD";
+	private static final long MIN_COMPACTION_SIZE = 32 * 1024l;
+	
+	private final File calendarFile;
+	private final File journalFile;
+	
+	public ICalFileCalendarJournal(File calendarFile) {
+		this.calendarFile = calendarFile;
+		this.journalFile = new File(calendarFile.getParentFile(), calendarFile.getName() + ".journal");
+	}
+	
+	public boolean exists() {
+		return journalFile.exists();
+	}
+	
+	/**
+	 * The journal need to be merged in the .ics file if its size
+	 * is the half of the calendar file.
+	 * 
+	 * @return true if the calendar file need to be rewritten
+	 */
+	public boolean needCompaction() {
+		long journalSize = journalFile.length();
+		return journalSize > MIN_COMPACTION_SIZE && journalSize > calendarFile.length() / 2;
+	}
+	
+	public void delete() {
+		FileUtils.deleteFile(journalFile);
+	}
+	
+	/**
+	 * Append the records to the journal.
+	 * 
+	 * @param records The records
+	 * @return true if successful
+	 */
+	public boolean append(List<Record> records) {
+		boolean newJournal = !journalFile.exists();
+		try(Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(journalFile, true), StandardCharsets.UTF_8))) {
+			if(newJournal) {
+				writer.write(getHeader());
+				writer.write('\n');
+			}
+			for(Record rec:records) {
+				if(rec.vevent() != null) {
+					writer.write(UPSERT);
+					writer.write('\n');
+					writer.write(rec.vevent());
+					if(!rec.vevent().endsWith("\n")) {
+						writer.write('\n');
+					}
+				} else {
+					writer.write(REMOVE);
+					writer.write('\n');
+					writer.write(UID);
+					writer.write(rec.eventId());
+					writer.write('\n');
+					if(rec.recurrenceId() != null) {
+						writer.write(RECURRENCE_ID);
+						writer.write(rec.recurrenceId());
+						writer.write('\n');
+					}
+				}
+				writer.write(END_RECORD);
+				writer.write('\n');
+			}
+			writer.flush();
+			return true;
+		} catch(IOException e) {
+			log.error("Cannot write calendar journal: {}", journalFile, e);
+			return false;
+		}
+	}
+	
+	/**
+	 * @return The list of complete records, an empty list if the journal doesn't
+	 * 		exist or doesn't match the calendar file.
+	 */
+	public List<Record> read() {
+		List<Record> records = new ArrayList<>();
+		if(!journalFile.exists()) {
+			return records;
+		}
+		
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(journalFile), StandardCharsets.UTF_8))) {
+			String header = reader.readLine();
+			if(!getHeader().equals(header)) {
+				log.warn("Calendar journal doesn't match the calendar file and is ignored: {}", journalFile);
+				return records;
+			}
+			
+			String type = null;
+			StringBuilder content = new StringBuilder(1024);
+			for(String line=reader.readLine(); line != null; line=reader.readLine()) {
+				if(type == null) {
+					type = line;
+					content.setLength(0);
+				} else if(END_RECORD.equals(line)) {
+					Record rec = toRecord(type, content.toString());
+					if(rec != null) {
+						records.add(rec);
+					}
+					type = null;
+				} else {
+					content.append(line).append("\r\n");
+				}
+			}
+		} catch(IOException e) {
+			log.error("Cannot read calendar journal: {}", journalFile, e);
+		}
+		return records;
+	}
+	
+	private Record toRecord(String type, String content) {
+		if(UPSERT.equals(type)) {
+			return Record.upsert(content);
+		}
+		if(REMOVE.equals(type)) {
+			String eventId = null;
+			String recurrenceId = null;
+			for(String line:content.split("\r\n")) {
+				if(line.startsWith(UID)) {
+					eventId = line.substring(UID.length());
+				} else if(line.startsWith(RECURRENCE_ID)) {
+					recurrenceId = line.substring(RECURRENCE_ID.length());
+				}
+			}
+			return eventId == null ? null : Record.remove(eventId, recurrenceId);
+		}
+		log.warn("Unknown record in calendar journal: {} in {}", type, journalFile);
+		return null;
+	}
+	
+	private String getHeader() {
+		return HEADER + ";" + calendarFile.length() + ";" + calendarFile.lastModified();
+	}
+	
+	/**
+	 * A record is an event to add or update (as VEVENT) or the
+	 * key of an event to remove.
+	 */
+	public record Record(String eventId, String recurrenceId, String vevent) {
+		
+		public static Record upsert(String vevent) {
+			return new Record(null, null, vevent);
+		}
+		
+		public static Record remove(String eventId, String recurrenceId) {
+			return new Record(eventId, recurrenceId, null);
+		}
+	}
+}
@@ -26,12 +26,14 @@
 package org.olat.commons.calendar.manager;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -57,12 +59,14 @@ import org.olat.commons.calendar.CalendarManagedFlag;
 import org.olat.commons.calendar.CalendarManager;
 import org.olat.commons.calendar.CalendarModule;
 import org.olat.commons.calendar.CalendarUtils;
+import org.olat.commons.calendar.manager.ICalFileCalendarJournal.Record;
 import org.olat.commons.calendar.model.CalendarKey;
 import org.olat.commons.calendar.model.CalendarUserConfiguration;
 import org.olat.commons.calendar.model.Kalendar;
 import org.olat.commons.calendar.model.KalendarEvent;
 import org.olat.commons.calendar.model.KalendarEventKey;
 import org.olat.commons.calendar.model.KalendarEventLink;
+import org.olat.commons.calendar.model.KalendarIndex;
 import org.olat.commons.calendar.model.KalendarRecurEvent;
 import org.olat.commons.calendar.ui.components.KalendarRenderWrapper;
 import org.olat.commons.calendar.ui.events.CalendarGUIModifiedEvent;
@@ -225,8 +229,64 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 	 */
 	// o_clusterOK by:cg This must not be synchronized because the caller already synchronized 
 	private Kalendar loadCalendarFromFile(String type, String calendarID) {
-		Calendar calendar = readCalendar(type, calendarID);
-		return createKalendar(type, calendarID, calendar);
+		File calendarFile = getCalendarFile(type, calendarID);
+		Calendar calendar = readCalendar(calendarFile);
+		Kalendar cal = createKalendar(type, calendarID, calendar);
+		replayJournal(cal, new ICalFileCalendarJournal(calendarFile));
+		return cal;
+	}
+	
+	private void replayJournal(Kalendar cal, ICalFileCalendarJournal journal) {
+		List<Record> records = journal.read();
+		for(Record rec:records) {
+			if(rec.vevent() != null) {
+				KalendarEvent event = readJournalEvent(rec.vevent());
+				if(event != null) {
+					KalendarEvent currentEvent = cal.getEvent(event.getID(), event.getRecurrenceID());
+					if(currentEvent != null) {
+						cal.removeEvent(currentEvent);
+					}
+					cal.addEvent(event);
+				}
+			} else {
+				KalendarEvent currentEvent = cal.getEvent(rec.eventId(), rec.recurrenceId());
+				if(currentEvent != null) {
+					cal.removeEvent(currentEvent);
+				}
+			}
+		}
+	}
+	
+	private KalendarEvent readJournalEvent(String vevent) {
+		String ics = "BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//Ben Fortuna//iCal4j 4.1//EN\r\nCALSCALE:GREGORIAN\r\n"
+				+ vevent + "END:VCALENDAR\r\n";
+		try(InputStream in = new ByteArrayInputStream(ics.getBytes(StandardCharsets.UTF_8))) {
+			Calendar calendar = CalendarUtils.buildCalendar(in, calendarModule);
+			for(CalendarComponent comp:calendar.getComponents()) {
+				if(comp instanceof VEvent vEvent) {
+					return getKalendarEvent(vEvent);
+				}
+			}
+		} catch (Exception e) {
+			log.error("Cannot read event of calendar journal", e);
+		}
+		return null;
+	}
+	
+	/**
+	 * Merge the journal in the .ics file if needed.
+	 */
+	private void mergeJournal(String type, String calendarID) {
+		ICalFileCalendarJournal journal = new ICalFileCalendarJournal(getCalendarFile(type, calendarID));
+		if(journal.exists()) {
+			OLATResourceable calOres = OresHelper.createOLATResourceableType(getKeyFor(type, calendarID));
+			CoordinatorManager.getInstance().getCoordinator().getSyncer().doInSync(calOres, () -> {
+				if(journal.exists()) {
+					persistCalendar(getCalendarFromCache(type, calendarID));
+				}
+				return Boolean.TRUE;
+			});
+		}
 	}
 
 	protected Kalendar createKalendar(String type, String calendarID, Calendar calendar) {
@@ -257,6 +317,7 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 			log.debug("readCalendar from file, type={} calendarID={}", type, calendarID);
 		}
 		
+		mergeJournal(type, calendarID);
 		File calendarFile = getCalendarFile(type, calendarID);
 		return readCalendar(calendarFile);
 	}
@@ -352,10 +413,48 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 	public boolean persistCalendar(Kalendar kalendar) {
 		Calendar calendar = buildCalendar(kalendar);
 		boolean success = writeCalendarFile(calendar, kalendar.getType(), kalendar.getCalendarID());
+		if(success) {
+			new ICalFileCalendarJournal(getCalendarFile(kalendar.getType(), kalendar.getCalendarID())).delete();
+		}
 		calendarCache.update(getKeyFor(kalendar.getType(), kalendar.getCalendarID()), kalendar);
 		return success;
 	}
 	
+	/**
+	 * Append the changes to the journal of the calendar. The whole
+	 * calendar is written if the calendar file doesn't exist yet or
+	 * if the journal is too long.
+	 * This method is not thread-safe. Must be called from a synchronized block.
+	 * 
+	 * @param kalendar The calendar with the changes
+	 * @param changes The changes
+	 * @return true if successful
+	 */
+	private boolean persistChanges(Kalendar kalendar, CalendarChanges changes) {
+		File calendarFile = getCalendarFile(kalendar.getType(), kalendar.getCalendarID());
+		ICalFileCalendarJournal journal = new ICalFileCalendarJournal(calendarFile);
+		if(!calendarFile.exists() || journal.needCompaction()) {
+			return persistCalendar(kalendar);
+		}
+		
+		List<Record> records = new ArrayList<>(changes.size());
+		for(Object change:changes.getChanges()) {
+			if(change instanceof KalendarEvent event) {
+				records.add(Record.upsert(getVEvent(event).toString()));
+			} else if(change instanceof KalendarEventKey key) {
+				records.add(Record.remove(key.getEventId(), key.getRecurrenceId()));
+			}
+		}
+		
+		boolean success = journal.append(records);
+		if(success) {
+			calendarCache.update(getKeyFor(kalendar.getType(), kalendar.getCalendarID()), kalendar);
+		} else {
+			success = persistCalendar(kalendar);
+		}
+		return success;
+	}
+	
 	private boolean writeCalendarFile(Calendar calendar, String calType, String calId) {
 		File fKalendarFile = getCalendarFile(calType, calId);
 
@@ -375,11 +474,13 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 	public boolean deleteCalendar(String type, String calendarID) {
 		calendarCache.remove( getKeyFor(type,calendarID) );
 		File fKalendarFile = getCalendarFile(type, calendarID);
+		new ICalFileCalendarJournal(fKalendarFile).delete();
 		return fKalendarFile.delete();
 	}
 
 	@Override
 	public File getCalendarICalFile(String type, String calendarID) {
+		mergeJournal(type, calendarID);
 		File fCalendarICalFile = getCalendarFile(type, calendarID);
 		if (fCalendarICalFile.exists()) return fCalendarICalFile;
 		else return null;
@@ -1013,11 +1114,13 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 		OLATResourceable calOres = getOresHelperFor(cal);
 		Boolean persistSuccessful = CoordinatorManager.getInstance().getCoordinator().getSyncer().doInSync( calOres, () -> {
 			Kalendar loadedCal = getCalendarFromCache(cal.getType(),cal.getCalendarID());
+			CalendarChanges changes = new CalendarChanges();
 			for(KalendarEvent kalendarEvent:kalendarEvents) {
 				loadedCal.addEvent(kalendarEvent);
 				kalendarEvent.resetImmutableDates();
+				changes.update(kalendarEvent);
 			}
-			boolean successfullyPersist = persistCalendar(loadedCal);
+			boolean successfullyPersist = persistChanges(loadedCal, changes);
 			return Boolean.valueOf(successfullyPersist);
 		});
 		// inform all controller about calendar change for reload
@@ -1030,25 +1133,29 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 		OLATResourceable calOres = getOresHelperFor(cal);
 		Boolean removeSuccessful = CoordinatorManager.getInstance().getCoordinator().getSyncer().doInSync( calOres, () -> {
 			Kalendar loadedCal = getCalendarFromCache(cal.getType(), cal.getCalendarID());
+			CalendarChanges changes = new CalendarChanges();
 			for(KalendarEvent kalendarEvent:kalendarEvents) {
 				String uid = kalendarEvent.getID();
 				String recurrenceId = kalendarEvent.getRecurrenceID();
 				if(StringHelper.containsNonWhitespace(recurrenceId)) {
 					loadedCal.removeEvent(kalendarEvent);
+					changes.remove(kalendarEvent);
 					KalendarEvent rootEvent = loadedCal.getEvent(kalendarEvent.getID(), null);
 					if(rootEvent != null && kalendarEvent instanceof KalendarRecurEvent krEvent) {
 						ZonedDateTime recurrenceDate = krEvent.getOccurenceDate();
 						rootEvent.addRecurrenceExc(recurrenceDate);
+						changes.update(rootEvent);
 					}
 				} else {
 					for(KalendarEvent kEvent:loadedCal.getEvents()) {
 						if(uid.equals(kEvent.getID())) {
 							loadedCal.removeEvent(kEvent);
+							changes.remove(kEvent);
 						}
 					}
 				}
 			}
-			boolean successfullyPersist = persistCalendar(loadedCal);
+			boolean successfullyPersist = persistChanges(loadedCal, changes);
 			return Boolean.valueOf(successfullyPersist);
 		});
 		// inform all controller about calendar change for reload
@@ -1069,17 +1176,20 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 			ZonedDateTime occurenceDate = kalendarEvent.getBegin();
 	
 			Kalendar loadedCal = getCalendarFromCache(cal.getType(), cal.getCalendarID());
+			CalendarChanges changes = new CalendarChanges();
 			KalendarEvent rootEvent = loadedCal.getEvent(kalendarEvent.getID(), null);
 			rootEvent.addRecurrenceExc(kalendarEvent.getBegin());
+			changes.update(rootEvent);
 			
 			for(KalendarEvent kEvent:loadedCal.getEvents()) {
 				if(uid.equals(kEvent.getID())
 						&& kEvent.getOccurenceDate() != null
 						&& occurenceDate.isEqual(kEvent.getOccurenceDate())) {
 					loadedCal.removeEvent(kEvent);
+					changes.remove(kEvent);
 				}
 			}
-			boolean successfullyPersist = persistCalendar(loadedCal);
+			boolean successfullyPersist = persistChanges(loadedCal, changes);
 			return Boolean.valueOf(successfullyPersist);
 		});
 		// inform all controller about calendar change for reload
@@ -1116,16 +1226,19 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 					.build();
 				RRule<Temporal> rrule = new RRule<>(recur);
 				rootEvent.setRecurrenceRule(rrule.getValue());
+				CalendarChanges changes = new CalendarChanges();
+				changes.update(rootEvent);
 				
 				for(KalendarEvent kEvent:loadedCal.getEvents()) {
 					if(uid.equals(kEvent.getID())
 							&& StringHelper.containsNonWhitespace(kEvent.getRecurrenceID())
 							&& occurenceDateTime.isBefore(kEvent.getBegin())) {
 						loadedCal.removeEvent(kEvent);
+						changes.remove(kEvent);
 					}
 				}
 				
-				successfullyPersist = persistCalendar(loadedCal);
+				successfullyPersist = persistChanges(loadedCal, changes);
 			} catch (Exception e) {
 				log.error("", e);
 			}
@@ -1148,11 +1261,13 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 		final OLATResourceable calOres = getOresHelperFor(cal);
 		Boolean updatedSuccessful = CoordinatorManager.getInstance().getCoordinator().getSyncer().doInSync( calOres, () -> {
 			Kalendar loadedCal = getCalendarFromCache(cal.getType(), cal.getCalendarID());
+			CalendarChanges changes = new CalendarChanges();
 			for(KalendarEvent kalendarEvent:kalendarEvents) {
 				loadedCal.removeEvent(kalendarEvent); // remove old event
 				loadedCal.addEvent(kalendarEvent); // add changed event
+				changes.update(kalendarEvent);
 			}
-			boolean successfullyPersist = persistCalendar(loadedCal);
+			boolean successfullyPersist = persistChanges(loadedCal, changes);
 			// inform all controller about calendar change for reload
 			CoordinatorManager.getInstance().getCoordinator().getEventBus().fireEventToListenersOf(new CalendarGUIModifiedEvent(cal), OresHelper.lookupType(CalendarManager.class));
 			return successfullyPersist;
@@ -1168,6 +1283,7 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 		OLATResourceable calOres = getOresHelperFor(cal);
 		CoordinatorManager.getInstance().getCoordinator().getSyncer().assertAlreadyDoInSyncFor(calOres);
 		Kalendar reloadedCal = getCalendarFromCache(cal.getType(), cal.getCalendarID());
+		CalendarChanges changes = new CalendarChanges();
 		
 		if(StringHelper.containsNonWhitespace(kalendarEvent.getRecurrenceRule())) {
 			ZonedDateTime oldBegin = kalendarEvent.getImmutableBegin();
@@ -1195,6 +1311,7 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 				for(KalendarEvent exEvent:exEvents) {
 					try {
 						reloadedCal.removeEvent(exEvent);
+						changes.remove(exEvent);
 						String recurrenceId = exEvent.getRecurrenceID();
 						
 						RecurrenceId<Temporal> recurId = new RecurrenceId<>(recurrenceId);
@@ -1213,6 +1330,7 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 						}
 						exEvent.setRecurrenceID(newRecurId.getValue());
 						reloadedCal.addEvent(exEvent);
+						changes.update(exEvent);
 					} catch (Exception e) {
 						log.error("", e);
 					}
@@ -1221,10 +1339,12 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 		}
 
 		reloadedCal.removeEvent(kalendarEvent); // remove old event
+		changes.remove(kalendarEvent);
 		kalendarEvent.resetImmutableDates();
 		reloadedCal.addEvent(kalendarEvent); // add changed event
+		changes.update(kalendarEvent);
 
-		boolean successfullyPersist = persistCalendar(reloadedCal);
+		boolean successfullyPersist = persistChanges(reloadedCal, changes);
 		// inform all controller about calendar change for reload
 		CoordinatorManager.getInstance().getCoordinator().getEventBus().fireEventToListenersOf(new CalendarGUIModifiedEvent(cal), OresHelper.lookupType(CalendarManager.class));
 		return successfullyPersist;
@@ -1277,13 +1397,14 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 	
 	@Override
 	public List<KalendarEvent> getEvents(Kalendar calendar, ZonedDateTime from, ZonedDateTime to, boolean privateEventsVisible) {
-		List<KalendarEvent> allEvents = calendar.getEvents();
+		KalendarIndex index = calendar.getIndex();
+		List<KalendarEvent> recurrenceExceptions = index.getRecurrenceExceptions();
 		List<KalendarEvent> events = new ArrayList<>(128);
 		
 		// first pass, collect edited recurring events
 		Map<String,List<ZonedDateTime>> idToRecurringStartDateEvents = new HashMap<>();
-		for(KalendarEvent event:allEvents) {
-			if(StringHelper.containsNonWhitespace(event.getRecurrenceID()) && isInRange(from, to, event)) {
+		for(KalendarEvent event:recurrenceExceptions) {
+			if(isInRange(from, to, event)) {
 				VEvent vEvent = getVEvent(event);
 				RecurrenceId<Temporal> recurrenceId = vEvent.getRecurrenceId();
 				ZonedDateTime recurenceIdDate = CalendarUtils.convertTemporal(recurrenceId.getDate(), calendarModule.getDefaultZoneId());
@@ -1294,36 +1415,36 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 		}
 		
 		Map<String, List<KalendarRecurEvent>> idToRecurringEvents = new HashMap<>();
-		// second pass, ignore events with recurrenceId
-		for(KalendarEvent event:allEvents) {
+		// second pass, expand the recurring events
+		ZoneId tz = calendarModule.getDefaultZoneId();
+		for(KalendarEvent event:index.getRecurringEvents()) {
 			if(!privateEventsVisible && event.getClassification() == KalendarEvent.CLASS_PRIVATE) {
 				continue;
 			}
-			if(StringHelper.containsNonWhitespace(event.getRecurrenceID())) {
+
+			List<ZonedDateTime> recurringStartDateEvents = idToRecurringStartDateEvents.get(event.getID());
+			if(recurringStartDateEvents == null && event.getBegin() != null && event.getBegin().isAfter(to)) {
+				continue;// starts after the period
+			}
+			List<KalendarRecurEvent> recurringEvents = getRecurringEventsInPeriod(index, event, from, to, recurringStartDateEvents, tz);
+			if(!recurringEvents.isEmpty()) {
+				idToRecurringEvents.put(event.getID(), recurringEvents);
+				events.addAll(recurringEvents);
+			}
+		}
+		
+		// single events, the index only returns candidates which may overlap the period
+		for(KalendarEvent event:index.getEvents(from, to)) {
+			if(!privateEventsVisible && event.getClassification() == KalendarEvent.CLASS_PRIVATE) {
 				continue;
 			}
-
-			if (StringHelper.containsNonWhitespace(event.getRecurrenceRule())) {
-				ZoneId tz = calendarModule.getDefaultZoneId();
-				List<ZonedDateTime> recurringStartDateEvents = idToRecurringStartDateEvents.get(event.getID());
-				List<KalendarRecurEvent> recurringEvents = getRecurringEventsInPeriod(event, from, to, recurringStartDateEvents, tz);
-				if(!recurringEvents.isEmpty()) {
-					idToRecurringEvents.put(event.getID(), recurringEvents);
-					for (KalendarRecurEvent recurEvent:recurringEvents) {
-						events.add(recurEvent);
-					}
-				}
-			} else if(isInRange(from, to, event)) {
+			if(isInRange(from, to, event)) {
 				events.add(event);
 			}
 		}
 		
 		// third pass, process events with recurrenceId
-		for(KalendarEvent event:allEvents) {
-			if(!StringHelper.containsNonWhitespace(event.getRecurrenceID())) {
-				continue;
-			}
-
+		for(KalendarEvent event:recurrenceExceptions) {
 			String id = event.getID();
 			if(idToRecurringEvents.containsKey(id)) {
 				VEvent vEvent = getVEvent(event);
@@ -1433,15 +1554,48 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 		return false;
 	}
 	
-	private final List<KalendarRecurEvent> getRecurringEventsInPeriod(KalendarEvent kEvent,
+	private final List<KalendarRecurEvent> getRecurringEventsInPeriod(KalendarIndex index, KalendarEvent kEvent,
 			ZonedDateTime periodStart, ZonedDateTime periodEnd, List<ZonedDateTime> recurringIdDates, ZoneId userTz) {
-		VEvent vEvent = getVEvent(kEvent);
-		if(vEvent.getEndDate(false).isEmpty()) {
+		if(kEvent.getBegin() == null || kEvent.getEnd() == null) {
 			return Collections.emptyList();
 		}
 		
 		periodStart = calculateRecurringStartPeriod(periodStart, recurringIdDates);
 		periodEnd = calculateRecurringEndPeriod(periodEnd, recurringIdDates);
+		
+		List<ZonedDateTime> occurrences = index.getExpansion(kEvent, periodStart, periodEnd, userTz);
+		if(occurrences == null) {
+			occurrences = calculateOccurrences(kEvent, periodStart, periodEnd, userTz);
+			if(occurrences == null) {
+				return Collections.emptyList();
+			}
+			index.putExpansion(kEvent, periodStart, periodEnd, userTz, occurrences);
+		}
+		
+		long duration = ChronoUnit.MILLIS.between(kEvent.getBegin(), kEvent.getEnd());
+		List<KalendarRecurEvent> recurringEvents = new ArrayList<>(occurrences.size());
+		for(ZonedDateTime beginCal:occurrences) {
+			ZonedDateTime endCal = beginCal.plus(duration, ChronoUnit.MILLIS);
+			boolean original = kEvent.getBegin().isEqual(beginCal); //prevent doubled events
+			KalendarRecurEvent recurEvent = new KalendarRecurEvent(kEvent.getID(), original, kEvent.getSubject(), beginCal, endCal);
+			recurEvent.setOccurenceDate(beginCal);
+			recurEvent.setSourceEvent(kEvent);
+			recurringEvents.add(recurEvent);
+		}
+		return recurringEvents;
+	}
+	
+	/**
+	 * Expand the recurrence rule of the event in the specified period.
+	 * 
+	 * @return The begin of the occurrences or null if the event cannot be expanded
+	 */
+	private List<ZonedDateTime> calculateOccurrences(KalendarEvent kEvent,
+			ZonedDateTime periodStart, ZonedDateTime periodEnd, ZoneId userTz) {
+		VEvent vEvent = getVEvent(kEvent);
+		if(vEvent.getEndDate(false).isEmpty()) {
+			return null;
+		}
 
 		// Calculate the events in the specified period, the ExDates (exception)
 		// must be of the same type as the event: both date or date-time
@@ -1454,7 +1608,7 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 		}
 
         Set<Period<Temporal>> periodList = vEvent.calculateRecurrenceSet(recurringPeriod);
-		List<KalendarRecurEvent> recurringEvents = new ArrayList<>();
+		List<ZonedDateTime> occurrences = new ArrayList<>();
 		List<Temporal> exDates = dateOnly
 				? getExDates(vEvent)
 				: getExDatesTimes(vEvent);
@@ -1471,27 +1625,14 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 			} else {
 				recurStartCal = date.withZoneSameInstant(userTz);
 			}
-			long duration = ChronoUnit.MILLIS.between(kEvent.getBegin(), kEvent.getEnd());
-
-			ZonedDateTime beginCal = recurStartCal;
-			ZonedDateTime endCal = recurStartCal.plus(duration, ChronoUnit.MILLIS);
-
-			boolean original = false;
-			if(kEvent.getBegin().isEqual(beginCal)) {
-				original = true; //prevent doubled events
-			}
 
 			ZonedDateTime recurrenceEnd = getRecurrenceEndDate(kEvent.getRecurrenceRule());
 			if(kEvent.isAllDayEvent() && recurrenceEnd != null && recurStartCal.isAfter(recurrenceEnd)) {
 				continue; //workaround for ical4j-bug in all day events
 			}
-		
-			KalendarRecurEvent recurEvent = new KalendarRecurEvent(kEvent.getID(), original, kEvent.getSubject(), beginCal, endCal);
-			recurEvent.setOccurenceDate(beginCal);
-			recurEvent.setSourceEvent(kEvent);
-			recurringEvents.add(recurEvent);
+			occurrences.add(recurStartCal);
 		}
-		return recurringEvents;
+		return occurrences;
 	}
 	
 	/**
@@ -1566,4 +1707,29 @@ public class ICalFileCalendarManager implements CalendarManager, InitializingBea
 		
 		return null;
 	}
+	
+	/**
+	 * Ordered list of the changes made on a calendar: updated or
+	 * added events and keys of the removed events.
+	 */
+	private static class CalendarChanges {
+		
+		private final List<Object> changes = new ArrayList<>();
+		
+		public void update(KalendarEvent event) {
+			changes.add(event);
+		}
+		
+		public void remove(KalendarEvent event) {
+			changes.add(new KalendarEventKey(event));
+		}
+		
+		public int size() {
+			return changes.size();
+		}
+		
+		public List<Object> getChanges() {
+			return changes;
+		}
+	}
 }
@@ -42,6 +42,9 @@ public class Kalendar implements Serializable {
 	private int managedEvent;
 	private int notManagedEvent;
 	
+	private transient volatile int modifications;
+	private transient volatile KalendarIndex index;
+	
 	public Kalendar(String calendarID, String type) {
 		this.calendarID = calendarID;
 		this.type = type;
@@ -79,6 +82,8 @@ public class Kalendar implements Serializable {
 		}
 		event.setKalendar(this);
 		events.put(new KalendarEventKey(event.getID(), event.getRecurrenceID()), event);
+		modifications++;
+		index = null;
 	}
 	
 	/**
@@ -92,6 +97,8 @@ public class Kalendar implements Serializable {
 			notManagedEvent--;
 		}
 		events.remove(new KalendarEventKey(event.getID(), event.getRecurrenceID()));
+		modifications++;
+		index = null;
 	}
 	
 	/**
@@ -112,6 +119,24 @@ public class Kalendar implements Serializable {
 		return new ArrayList<>(events.values());
 	}
 
+	/**
+	 * The index is built on demand and dropped by every change
+	 * of the list of events.
+	 * 
+	 * @return The index of the events by time interval
+	 */
+	public KalendarIndex getIndex() {
+		KalendarIndex currentIndex = index;
+		if(currentIndex == null) {
+			int currentModifications = modifications;
+			currentIndex = new KalendarIndex(getEvents());
+			if(currentModifications == modifications) {
+				index = currentIndex;
+			}
+		}
+		return currentIndex;
+	}
+
 	public String getType() {
 		return type;
 	}
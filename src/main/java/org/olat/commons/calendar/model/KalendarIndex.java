@@ -0,0 +1,189 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.commons.calendar.model;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.olat.commons.calendar.CalendarUtils;
+import org.olat.core.util.StringHelper;
+
+/**
+ * Index of the events of a calendar by time interval. The single events
+ * are sorted by their begin with the max. end seen so far, the events
+ * which overlap a period are found without iterating the whole calendar.
+ * The recurring events and the exceptions of the recurrences are in their
+ * own lists. The index holds a small cache of the expanded recurrences
+ * per window.<br>
+ * The index is immutable, the calendar drops it by every change.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class KalendarIndex {
+	
+	private static final int MAX_EXPANSIONS = 256;
+	
+	private final KalendarEvent[] sortedEvents;
+	private final Instant[] maxEnds;
+	private final List<KalendarEvent> undatedEvents;
+	private final List<KalendarEvent> recurringEvents;
+	private final List<KalendarEvent> recurrenceExceptions;
+	
+	private final Map<RecurrenceWindow,List<ZonedDateTime>> expansions = new LinkedHashMap<>(32, 0.75f, true) {
+		private static final long serialVersionUID = 7386018468404950203L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<RecurrenceWindow,List<ZonedDateTime>> eldest) {
+			return size() > MAX_EXPANSIONS;
+		}
+	};
+	
+	public KalendarIndex(Collection<KalendarEvent> events) {
+		List<KalendarEvent> singleEvents = new ArrayList<>(events.size());
+		List<KalendarEvent> undated = new ArrayList<>(2);
+		List<KalendarEvent> recurring = new ArrayList<>();
+		List<KalendarEvent> exceptions = new ArrayList<>();
+		for(KalendarEvent event:events) {
+			if(StringHelper.containsNonWhitespace(event.getRecurrenceID())) {
+				exceptions.add(event);
+			} else if(StringHelper.containsNonWhitespace(event.getRecurrenceRule())) {
+				recurring.add(event);
+			} else if(event.getBegin() == null) {
+				undated.add(event);
+			} else {
+				singleEvents.add(event);
+			}
+		}
+		
+		singleEvents.sort(Comparator.comparing(event -> event.getBegin().toInstant()));
+		sortedEvents = singleEvents.toArray(new KalendarEvent[singleEvents.size()]);
+		maxEnds = new Instant[sortedEvents.length];
+		Instant maxEnd = Instant.MIN;
+		for(int i=0; i<sortedEvents.length; i++) {
+			Instant end = endOf(sortedEvents[i]);
+			if(end.isAfter(maxEnd)) {
+				maxEnd = end;
+			}
+			maxEnds[i] = maxEnd;
+		}
+		undatedEvents = List.copyOf(undated);
+		recurringEvents = List.copyOf(recurring);
+		recurrenceExceptions = List.copyOf(exceptions);
+	}
+	
+	private static Instant endOf(KalendarEvent event) {
+		ZonedDateTime end = CalendarUtils.endOf(event);
+		if(end == null || end.isBefore(event.getBegin())) {
+			return event.getBegin().toInstant();
+		}
+		return end.toInstant();
+	}
+	
+	/**
+	 * The list contains all the single events (without recurrence rule and
+	 * without recurrence id) which can overlap the specified period, the caller
+	 * need to check the exact conditions.
+	 * 
+	 * @param from The begin of the period
+	 * @param to The end of the period
+	 * @return A list of events
+	 */
+	public List<KalendarEvent> getEvents(ZonedDateTime from, ZonedDateTime to) {
+		Instant fromInstant = from.toInstant();
+		Instant toInstant = to.toInstant();
+		
+		// last event which begins before the end of the period
+		int low = 0;
+		int high = sortedEvents.length - 1;
+		while(low <= high) {
+			int mid = (low + high) >>> 1;
+			if(sortedEvents[mid].getBegin().toInstant().isAfter(toInstant)) {
+				high = mid - 1;
+			} else {
+				low = mid + 1;
+			}
+		}
+		
+		List<KalendarEvent> events = new ArrayList<>(undatedEvents);
+		for(int i=high; i>=0 && !maxEnds[i].isBefore(fromInstant); i--) {
+			if(!endOf(sortedEvents[i]).isBefore(fromInstant)) {
+				events.add(sortedEvents[i]);
+			}
+		}
+		Collections.reverse(events);
+		return events;
+	}
+	
+	/**
+	 * @return The events with a recurrence rule
+	 */
+	public List<KalendarEvent> getRecurringEvents() {
+		return recurringEvents;
+	}
+	
+	/**
+	 * @return The events with a recurrence id (modified occurrence of a recurring event)
+	 */
+	public List<KalendarEvent> getRecurrenceExceptions() {
+		return recurrenceExceptions;
+	}
+	
+	/**
+	 * @return The begin of the occurrences of the recurring event in the window or null
+	 * 		if the expansion isn't in the cache
+	 */
+	public List<ZonedDateTime> getExpansion(KalendarEvent event, ZonedDateTime windowStart, ZonedDateTime windowEnd, ZoneId zone) {
+		RecurrenceWindow window = new RecurrenceWindow(event, windowStart, windowEnd, zone);
+		synchronized(expansions) {
+			return expansions.get(window);
+		}
+	}
+	
+	public void putExpansion(KalendarEvent event, ZonedDateTime windowStart, ZonedDateTime windowEnd, ZoneId zone,
+			List<ZonedDateTime> occurrences) {
+		RecurrenceWindow window = new RecurrenceWindow(event, windowStart, windowEnd, zone);
+		synchronized(expansions) {
+			expansions.put(window, List.copyOf(occurrences));
+		}
+	}
+	
+	/**
+	 * The key contains the fields of the event used to calculate the
+	 * recurrences, the event can be changed without dropping the index.
+	 */
+	private record RecurrenceWindow(String eventId, ZonedDateTime begin, ZonedDateTime end, boolean allDay,
+			String recurrenceRule, String recurrenceExc, ZonedDateTime windowStart, ZonedDateTime windowEnd, ZoneId zone) {
+		
+		public RecurrenceWindow(KalendarEvent event, ZonedDateTime windowStart, ZonedDateTime windowEnd, ZoneId zone) {
+			this(event.getID(), event.getBegin(), event.getEnd(), event.isAllDayEvent(),
+					event.getRecurrenceRule(), event.getRecurrenceExc(), windowStart, windowEnd, zone);
+		}
+	}
+}
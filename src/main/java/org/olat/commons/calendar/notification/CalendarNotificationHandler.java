@@ -252,6 +252,11 @@ public class CalendarNotificationHandler implements NotificationsHandler {
 		}
 	}
 
+	@Override
+	public boolean isSubscriptionInfoIdentityIndependent() {
+		return true;
+	}
+
 	@Override
 	public String getType() {
 		return "CalendarManager";
@@ -30,11 +30,14 @@ import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.LongStream;
 
 import org.olat.admin.user.UserSearchController;
 import org.olat.basesecurity.events.SingleIdentityChosenEvent;
 import org.olat.commons.coordinate.cluster.ClusterCoordinator;
 import org.olat.commons.coordinate.cluster.lock.ClusterLockManager;
+import org.olat.commons.coordinate.cluster.sync.LeaseSyncer;
+import org.olat.commons.coordinate.cluster.sync.SyncerContention;
 import org.olat.core.CoreSpringFactory;
 import org.olat.core.gui.UserRequest;
 import org.olat.core.gui.components.Component;
@@ -94,6 +97,9 @@ public class ClusterAdminControllerCluster extends BasicController {
 	private Link releaseAllLocksFor;
 
 	private VelocityContainer cachetest;
+	private VelocityContainer syncerContentionVc;
+	private Link resetContentions;
+	private LeaseSyncer leaseSyncer;
 	
 	private UserSearchController usc;
 	
@@ -142,6 +148,19 @@ public class ClusterAdminControllerCluster extends BasicController {
 		mainVc.put("cachetest", cachetest);
 		updateCacheInfo();
 		
+		// contention of the lease based syncer
+		if(cCord.getSyncer() instanceof LeaseSyncer syncer) {
+			leaseSyncer = syncer;
+			syncerContentionVc = createVelocityContainer("syncercontention");
+			syncerContentionVc.contextPut("f", Formatter.getInstance(ureq.getLocale()));
+			long[] buckets = SyncerContention.BUCKETS;
+			syncerContentionVc.contextPut("buckets", LongStream.of(buckets).boxed().toList());
+			syncerContentionVc.contextPut("lastBucket", buckets[buckets.length - 1]);
+			mainVc.put("syncercontention", syncerContentionVc);
+			resetContentions = LinkFactory.createButtonSmall("resetContentions", mainVc, this);
+			updateSyncerContentions();
+		}
+		
 		final VelocityContainer busMsgs = createVelocityContainer("busmsgs");
 		busMsgs.contextPut("time", Formatter.formatDatetime(new Date()));
 		
@@ -167,6 +186,8 @@ public class ClusterAdminControllerCluster extends BasicController {
 					updatePerfInfos();
 					// update cache info
 					updateCacheInfo();
+					// update the contention of the syncer
+					updateSyncerContentions();
 				}
 			}});
 		pollThread.setDaemon(true);
@@ -207,6 +228,9 @@ public class ClusterAdminControllerCluster extends BasicController {
 		
 		boolean started = true;
 		perfInfoVc.contextPut("perfs", null);
+		perfInfoVc.contextPut("probes", clusBus.getProbes());
+		perfInfoVc.contextPut("coalescedEvents", clusBus.getNumOfCoalescedEvents());
+		perfInfoVc.contextPut("routedMessages", clusBus.getNumOfRoutedMessages());
 		if (started) {
 			perfInfoVc.contextPut("started", "started");
 		} else {
@@ -289,6 +313,9 @@ public class ClusterAdminControllerCluster extends BasicController {
 		} else if (source == resetStats) {
 			clusBus.resetStats();
 			updatePerfInfos();
+		} else if (source == resetContentions) {
+			leaseSyncer.resetContentions();
+			updateSyncerContentions();
 		}
 	}
   
@@ -314,6 +341,12 @@ public class ClusterAdminControllerCluster extends BasicController {
 		}
 	}
 	
+	private void updateSyncerContentions() {
+		if(leaseSyncer != null) {
+			syncerContentionVc.contextPut("contentions", leaseSyncer.getContentions(25));
+		}
+	}
+	
 	private void updateCacheInfo() {
 		CacheWrapper<String,String> cw = CoordinatorManager.getInstance().getCoordinator().getCacher().getCache(this.getClass().getSimpleName(), "cachetest");
 		Object val = cw.get("akey");
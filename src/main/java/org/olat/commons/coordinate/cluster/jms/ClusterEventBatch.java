@@ -0,0 +1,247 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.commons.coordinate.cluster.jms;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.olat.core.id.OLATResourceable;
+import org.olat.core.util.event.MultiUserEvent;
+import org.olat.core.util.event.businfo.BusListenerInfo;
+import org.olat.core.util.resource.Resourceable;
+
+/**
+ * The events collected during the batch window and sent together in
+ * a single JMS message.<br>
+ * Plain multi user events (the class itself, not a subclass) for the same
+ * resource and the same command are coalesced, only the last one is kept.
+ * They carry no payload other than the command, delivering them once is
+ * enough.<br>
+ * The message is written with a compact binary header per event (the
+ * resource, the kind of event and for the plain events the command and
+ * the priority). The subclasses are serialized after the header in a single
+ * object stream which writes the class descriptions only once per batch.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class ClusterEventBatch {
+	
+	private static final byte VERSION = 1;
+	private static final byte PLAIN_EVENT = 0;
+	private static final byte SERIALIZED_EVENT = 1;
+	
+	private static final ObjectInputFilter FILTER = ObjectInputFilter.Config
+			.createFilter("org.olat.**;de.bps.**;de.tuchemnitz.**;java.**;[*;!*");
+	
+	private final long creationTime;
+	private int coalesced = 0;
+	private int priority = 0;
+	private long uniqueKey = 0;
+	private final Map<Object,ClusterEventEntry> entries = new LinkedHashMap<>();
+	
+	public ClusterEventBatch() {
+		creationTime = System.currentTimeMillis();
+	}
+	
+	/**
+	 * @return The time in milliseconds since the first event was added
+	 */
+	public long getAge() {
+		return System.currentTimeMillis() - creationTime;
+	}
+	
+	public int size() {
+		return entries.size();
+	}
+	
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+	
+	/**
+	 * @return The number of events which were coalesced with an other one
+	 */
+	public int getCoalesced() {
+		return coalesced;
+	}
+	
+	/**
+	 * @return The highest priority of the events of the batch
+	 */
+	public int getPriority() {
+		return priority;
+	}
+	
+	public Collection<ClusterEventEntry> getEntries() {
+		return entries.values();
+	}
+	
+	public void add(OLATResourceable ores, MultiUserEvent event) {
+		ClusterEventEntry entry = new ClusterEventEntry(ores.getResourceableTypeName(), ores.getResourceableId(), event);
+		if(isPlain(event)) {
+			CoalesceKey key = new CoalesceKey(entry.resType(), entry.resId(), event.getCommand(), event.getPriority());
+			// keep the position of the last event
+			if(entries.remove(key) != null) {
+				coalesced++;
+			}
+			entries.put(key, entry);
+		} else {
+			entries.put(Long.valueOf(uniqueKey++), entry);
+		}
+		
+		int eventPriority = event.getPriority() >= 0 && event.getPriority() <= 9 ? event.getPriority() : 4;
+		priority = Math.max(priority, eventPriority);
+	}
+	
+	/**
+	 * @param info The listeners of a node
+	 * @return true if the node has listeners for at least one event of the batch
+	 */
+	public boolean hasListeners(BusListenerInfo info) {
+		for(ClusterEventEntry entry:entries.values()) {
+			if(info.hasListenersFor(entry.resType(), entry.resId())) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * The event can only be written as command and priority if it's a plain
+	 * multi user event which was created on this node.
+	 * 
+	 * @param event The event
+	 * @return true if the event doesn't need to be serialized
+	 */
+	private static boolean isPlain(MultiUserEvent event) {
+		return event.getClass() == MultiUserEvent.class && event.isEventOnThisNode()
+				&& event.getCommand() != null;
+	}
+	
+	public byte[] toBytes(Integer nodeId, long msgId) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(64 + entries.size() * 64);
+		DataOutputStream dout = new DataOutputStream(out);
+		dout.writeByte(VERSION);
+		dout.writeInt(nodeId.intValue());
+		dout.writeLong(msgId);
+		dout.writeInt(entries.size());
+		
+		List<MultiUserEvent> serializedEvents = new ArrayList<>();
+		for(ClusterEventEntry entry:entries.values()) {
+			dout.writeUTF(entry.resType());
+			dout.writeBoolean(entry.resId() != null);
+			if(entry.resId() != null) {
+				dout.writeLong(entry.resId().longValue());
+			}
+			
+			MultiUserEvent event = entry.event();
+			if(isPlain(event)) {
+				dout.writeByte(PLAIN_EVENT);
+				dout.writeUTF(event.getCommand());
+				dout.writeByte(event.getPriority());
+			} else {
+				dout.writeByte(SERIALIZED_EVENT);
+				serializedEvents.add(event);
+			}
+		}
+		dout.flush();
+		
+		if(!serializedEvents.isEmpty()) {
+			ObjectOutputStream oout = new ObjectOutputStream(out);
+			for(MultiUserEvent event:serializedEvents) {
+				oout.writeObject(event);
+			}
+			oout.flush();
+		}
+		return out.toByteArray();
+	}
+	
+	public static ReceivedBatch fromBytes(byte[] data) throws IOException, ClassNotFoundException {
+		ByteArrayInputStream in = new ByteArrayInputStream(data);
+		DataInputStream din = new DataInputStream(in);
+		byte version = din.readByte();
+		if(version != VERSION) {
+			throw new IOException("Unsupported version of cluster event batch: " + version);
+		}
+		
+		int nodeId = din.readInt();
+		long msgId = din.readLong();
+		int size = din.readInt();
+		
+		ClusterEventEntry[] entries = new ClusterEventEntry[size];
+		boolean[] serialized = new boolean[size];
+		boolean hasSerialized = false;
+		for(int i=0; i<size; i++) {
+			String resType = din.readUTF();
+			Long resId = din.readBoolean() ? Long.valueOf(din.readLong()) : null;
+			byte kind = din.readByte();
+			if(kind == PLAIN_EVENT) {
+				String command = din.readUTF();
+				int eventPriority = din.readByte();
+				entries[i] = new ClusterEventEntry(resType, resId, new MultiUserEvent(command, eventPriority, nodeId));
+			} else {
+				entries[i] = new ClusterEventEntry(resType, resId, null);
+				serialized[i] = true;
+				hasSerialized = true;
+			}
+		}
+		
+		if(hasSerialized) {
+			try(ObjectInputStream oin = new ObjectInputStream(in)) {
+				oin.setObjectInputFilter(FILTER);
+				for(int i=0; i<size; i++) {
+					if(serialized[i]) {
+						MultiUserEvent event = (MultiUserEvent)oin.readObject();
+						entries[i] = new ClusterEventEntry(entries[i].resType(), entries[i].resId(), event);
+					}
+				}
+			}
+		}
+		return new ReceivedBatch(Integer.valueOf(nodeId), msgId, List.of(entries));
+	}
+	
+	public record ClusterEventEntry(String resType, Long resId, MultiUserEvent event) {
+		
+		public OLATResourceable getOres() {
+			return new Resourceable(resType, resId);
+		}
+	}
+	
+	public record ReceivedBatch(Integer nodeId, long msgId, List<ClusterEventEntry> entries) {
+		//
+	}
+	
+	private record CoalesceKey(String resType, Long resId, String command, int priority) {
+		//
+	}
+}
@@ -26,9 +26,12 @@ package org.olat.commons.coordinate.cluster.jms;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
+import jakarta.jms.BytesMessage;
 import jakarta.jms.Connection;
 import jakarta.jms.ConnectionFactory;
 import jakarta.jms.DeliveryMode;
@@ -46,6 +49,8 @@ import org.olat.core.gui.control.Event;
 import org.olat.core.id.OLATResourceable;
 import org.olat.core.logging.OLATRuntimeException;
 import org.olat.core.logging.Tracing;
+import org.olat.commons.coordinate.cluster.jms.ClusterEventBatch.ClusterEventEntry;
+import org.olat.commons.coordinate.cluster.jms.ClusterEventBatch.ReceivedBatch;
 import org.olat.core.util.StringHelper;
 import org.olat.core.util.cluster.ClusterConfig;
 import org.olat.core.util.event.AbstractEventBus;
@@ -65,19 +70,24 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 	private static final Logger log = Tracing.createLoggerFor(ClusterEventBus.class);
 	//ores helper is limited to 50 character, so truncate it
 	static final OLATResourceable CLUSTER_CHANNEL = OresHelper.createOLATResourceableType(ClusterEventBus.class.getName().substring(0, 50));
+	static final String BATCH_COMMAND = "batch";
+	static final String TARGETS_PROPERTY = "targets";
 
 	private ClusterConfig clusterConfig;
 
 	// settings
 	private long sendInterval = 5000; // 1000 miliseconds between each "ping/alive/info" message, can be set using spring
 	private long jmsMsgDelayLimit = 10000;  // max duration of ClusterInfoEvent send-receive time in ms
+	private long batchWindow = 0; // collect the events during n miliseconds and send them together, 0 sends every event immediately
+	private int batchSize = 100; // max. number of events in a batch
+	private boolean routing = false; // send the batches only to the nodes with listeners for the resources
 	
 	// counters
 	private long latestSentMsgId = -1;
 	private long numOfSentMessages = 0;
 	
 	// stats
-	private List<String> msgsSent = new ArrayList<>(); 
+	private List<Supplier<String>> msgsSent = new ArrayList<>(); 
 	private List<String> msgsReceived = new ArrayList<>(); 
 	private int msgsSentCount = 0;
 	private int msgsReceivedCount = 0;
@@ -111,6 +121,16 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 	
 	private final SimpleProbe mrtgProbeJMSEnqueueTime_ = new SimpleProbe();
 	
+	// batched transport
+	private final Object batchLock = new Object();
+	private ClusterEventBatch pendingBatch;
+	private long numOfCoalescedEvents = 0;
+	private long numOfRoutedMessages = 0;
+	private final SimpleProbe probeBatchSize = new SimpleProbe();
+	private final SimpleProbe probeBatchLatency = new SimpleProbe();
+	private final SimpleProbe probeMessageSize = new SimpleProbe();
+	private final SimpleProbe probeSendTime = new SimpleProbe();
+	
 	/**
 	 * [used by spring]
 	 * 
@@ -123,7 +143,12 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 	public void springInit() throws JMSException {
 		connection = connectionFactory.createConnection();
 		sessionConsumer = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
-		consumer = sessionConsumer.createConsumer(destination, "NOT(command='clusterinfo') AND NOT(command LIKE 'assessment-mode-%')");
+		String selector = "NOT(command='clusterinfo') AND NOT(command LIKE 'assessment-mode-%')";
+		if(routing) {
+			// the batches without targets are for all nodes
+			selector += " AND (" + TARGETS_PROPERTY + " IS NULL OR " + TARGETS_PROPERTY + " LIKE '%," + clusterConfig.getNodeId() + ",%')";
+		}
+		consumer = sessionConsumer.createConsumer(destination, selector);
 		consumer.setMessageListener(message -> {
 			log.debug("Standard consumer message: {}", getCommand(message));
 			processMessage(message);
@@ -184,6 +209,13 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 			});
 		t.setDaemon(true); // VM can shutdown even when this thread is still running
 		t.start();
+		
+		if(batchWindow > 0) {
+			Thread batchSender = new Thread(this::sendBatches, "ClusterEventBus-batch-sender");
+			batchSender.setDaemon(true);
+			batchSender.start();
+			log.info("ClusterEventBus sends the events in batches every {}ms (max. {} events per batch, routing: {})", batchWindow, batchSize, routing);
+		}
 		// register to listen for other nodes' clusterinfoevents
 		registerFor(this, null, CLUSTER_CHANNEL);
 	}
@@ -213,6 +245,46 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 		return mrtgProbeJMSEnqueueTime_;
 	}
 	
+	/**
+	 * @return The number of events sent per batch
+	 */
+	public SimpleProbe getProbeBatchSize() {
+		return probeBatchSize;
+	}
+	
+	/**
+	 * @return The time in milliseconds between the first event of a batch and its sending
+	 */
+	public SimpleProbe getProbeBatchLatency() {
+		return probeBatchLatency;
+	}
+	
+	/**
+	 * @return The size in bytes of the batches
+	 */
+	public SimpleProbe getProbeMessageSize() {
+		return probeMessageSize;
+	}
+	
+	/**
+	 * @return The time in milliseconds needed to serialize and send a message
+	 */
+	public SimpleProbe getProbeSendTime() {
+		return probeSendTime;
+	}
+	
+	Map<String,SimpleProbe> getProbes() {
+		Map<String,SimpleProbe> probes = new LinkedHashMap<>();
+		probes.put("JMS delivery time (ms)", mrtgProbeJMSDeliveryTime_);
+		probes.put("JMS processing time (ms)", mrtgProbeJMSProcessingTime_);
+		probes.put("JMS load", mrtgProbeJMSLoad_);
+		probes.put("Send time (ms)", probeSendTime);
+		probes.put("Events per batch", probeBatchSize);
+		probes.put("Batch latency (ms)", probeBatchLatency);
+		probes.put("Batch size (bytes)", probeMessageSize);
+		return probes;
+	}
+	
 	@Override
 	public void event(Event event) {
 		// we listen only on our own channel, the event must be a clusterInfoEvent.
@@ -245,11 +317,17 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 	}
 	
 	private void fireEventToListenersOf(final MultiUserEvent event, final OLATResourceable ores, boolean strict) {
+		if(strict && batchWindow > 0 && isBatchable(event)) {
+			addToBatch(event, ores);
+			return;
+		}
+		
 		// send the event wrapped over jms to all nodes 
 		// (the receiver will detect whether messages are from itself and thus can be ignored, since they were already sent directly.
 		final long msgId = ++latestSentMsgId;
 		final Integer nodeId = clusterConfig.getNodeId();
 		
+		long startTime = System.nanoTime();
 		try {
 			synchronized(sessionProducer) {
 				ObjectMessage message = sessionProducer.createObjectMessage();
@@ -281,12 +359,156 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 			
 			throw new OLATRuntimeException("communication error with JMS - cannot send messages!!!", e);
 		}
+		probeSendTime.addMeasurement((System.nanoTime() - startTime) / 1000000l);
 		numOfSentMessages++;
 
-		// store it for later access by the admin controller
-		String sentMsg = "sent msg: from node:" + nodeId + ", olat-id:" + msgId + ", ores:"	+ ores.getResourceableTypeName() + ":" + ores.getResourceableId()+", event:"+event;
+		// store it for later access by the admin controller, the message is only built if needed
+		Supplier<String> sentMsg = () -> "sent msg: from node:" + nodeId + ", olat-id:" + msgId + ", ores:"	+ ores.getResourceableTypeName() + ":" + ores.getResourceableId()+", event:"+event;
 		addToSentScreen(sentMsg);
-		if (log.isDebugEnabled()) log.debug(sentMsg);
+		if (log.isDebugEnabled()) log.debug(sentMsg.get());
+	}
+	
+	/**
+	 * The cluster infos and the assessment mode events have their own consumers
+	 * and are always sent immediately.
+	 * 
+	 * @param event The event
+	 * @return true if the event can wait in a batch
+	 */
+	private boolean isBatchable(MultiUserEvent event) {
+		String command = event.getCommand();
+		return command == null || (!"clusterinfo".equals(command) && !command.startsWith("assessment-mode-"));
+	}
+	
+	private void addToBatch(MultiUserEvent event, OLATResourceable ores) {
+		synchronized(batchLock) {
+			boolean first = pendingBatch == null;
+			if(first) {
+				pendingBatch = new ClusterEventBatch();
+			}
+			pendingBatch.add(ores, event);
+			if(first || pendingBatch.size() >= batchSize) {
+				batchLock.notifyAll();
+			}
+		}
+	}
+	
+	private void sendBatches() {
+		while(isClusterInfoEventThreadRunning) {
+			ClusterEventBatch batch = null;
+			try {
+				synchronized(batchLock) {
+					while(isClusterInfoEventThreadRunning) {
+						if(pendingBatch == null) {
+							batchLock.wait();
+						} else {
+							long remaining = batchWindow - pendingBatch.getAge();
+							if(remaining <= 0 || pendingBatch.size() >= batchSize) {
+								break;
+							}
+							batchLock.wait(remaining);
+						}
+					}
+					batch = pendingBatch;
+					pendingBatch = null;
+				}
+			} catch (InterruptedException e) {
+				log.warn("ClusterEventBus batch sender interrupted");
+			}
+			
+			if(batch != null) {
+				sendBatch(batch);
+			}
+		}
+		log.info("ClusterEventBus stopped, do no longer send batches");
+	}
+	
+	/**
+	 * Send the pending events immediately.
+	 */
+	void flushBatch() {
+		ClusterEventBatch batch;
+		synchronized(batchLock) {
+			batch = pendingBatch;
+			pendingBatch = null;
+		}
+		if(batch != null) {
+			sendBatch(batch);
+		}
+	}
+	
+	private void sendBatch(ClusterEventBatch batch) {
+		final long msgId = ++latestSentMsgId;
+		final Integer nodeId = clusterConfig.getNodeId();
+		final int numOfEvents = batch.size();
+		
+		long startTime = System.nanoTime();
+		try {
+			byte[] data = batch.toBytes(nodeId, msgId);
+			String targets = routing ? getTargets(batch) : null;
+			synchronized(sessionProducer) {
+				BytesMessage message = sessionProducer.createBytesMessage();
+				message.setStringProperty("command", BATCH_COMMAND);
+				if(targets != null) {
+					message.setStringProperty(TARGETS_PROPERTY, targets);
+				}
+				message.writeBytes(data);
+				producer.setPriority(batch.getPriority());
+				producer.send(message, new JMSCompletionListener());
+			}
+			
+			probeMessageSize.addMeasurement(data.length);
+			probeBatchSize.addMeasurement(numOfEvents);
+			probeBatchLatency.addMeasurement(batch.getAge());
+			probeSendTime.addMeasurement((System.nanoTime() - startTime) / 1000000l);
+			numOfSentMessages++;
+			numOfCoalescedEvents += batch.getCoalesced();
+			if(targets != null) {
+				numOfRoutedMessages++;
+			}
+			
+			Supplier<String> sentMsg = () -> "sent batch: from node:" + nodeId + ", olat-id:" + msgId + ", events:" + numOfEvents
+					+ ", coalesced:" + batch.getCoalesced() + ", bytes:" + data.length + (targets == null ? "" : ", targets:" + targets);
+			addToSentScreen(sentMsg);
+			if (log.isDebugEnabled()) log.debug(sentMsg.get());
+		} catch (Exception e) {
+			// the sender of the events is gone, the error can only be logged
+			log.error("Cannot send JMS message with a batch of {} events", numOfEvents, e);
+		}
+	}
+	
+	/**
+	 * The nodes advertise their listeners with the cluster info event. Only
+	 * send the batch to the nodes with listeners for at least one of the events.
+	 * If the information of a node is missing or too old, the batch is sent to
+	 * all nodes.
+	 * 
+	 * @param batch The batch of events
+	 * @return A list of node ids separated by commas or null if the batch is for all nodes
+	 */
+	private String getTargets(ClusterEventBatch batch) {
+		final Integer ownNodeId = clusterConfig.getNodeId();
+		final long limit = System.currentTimeMillis() - (2 * sendInterval);
+		
+		StringBuilder targets = new StringBuilder(32);
+		targets.append(',').append(ownNodeId).append(',');
+		synchronized (nodeInfos) {//cluster_ok node info is per vm only
+			for(NodeInfo nodeInfo:nodeInfos.values()) {
+				Integer nodeId = nodeInfo.getNodeId();
+				if(ownNodeId.equals(nodeId)) {
+					continue;
+				}
+				
+				BusListenerInfo info = busInfos.getInfoFor(nodeId);
+				if(info == null || nodeInfo.getLastUpdate() < limit) {
+					return null;
+				}
+				if(batch.hasListeners(info)) {
+					targets.append(nodeId).append(',');
+				}
+			}
+		}
+		return targets.toString();
 	}
 
 	/**
@@ -336,6 +558,11 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 			lastOnMessageFinishTime_ = -1;
 		}
 
+		if(message instanceof BytesMessage bm) {
+			serveBatch(bm, receiveTime);
+			return;
+		}
+
 		ObjectMessage om = (ObjectMessage) message;
 		try {
 			// unpack
@@ -392,6 +619,47 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 		}
 	}
 
+	private void serveBatch(BytesMessage message, long receiveTime) {
+		try {
+			byte[] data = new byte[(int)message.getBodyLength()];
+			message.readBytes(data);
+			ReceivedBatch batch = ClusterEventBatch.fromBytes(data);
+			boolean fromSameNode = clusterConfig.getNodeId().equals(batch.nodeId());
+			
+			String recMsg = "received batch: "+(fromSameNode? "[same node]":"")+" from node:" + 
+					batch.nodeId() + ", olat-id:" + batch.msgId() + ", events:" + batch.entries().size();
+			
+			final long jmsTimestamp = message.getJMSTimestamp();
+			if (jmsTimestamp!=0) {
+				final long deliveryTime = receiveTime - jmsTimestamp;
+				if (deliveryTime>1500) {
+					log.warn("message received with long delivery time (longer than 1500ms: {}): {}", deliveryTime, recMsg);
+				}
+				mrtgProbeJMSDeliveryTime_.addMeasurement(deliveryTime);
+			}
+			
+			addToReceivedScreen(recMsg);
+			if (log.isDebugEnabled()) log.debug(recMsg);
+			
+			for(ClusterEventEntry entry:batch.entries()) {
+				doFire(entry.event(), entry.getOres());
+			}
+
+			final long processingTime = System.currentTimeMillis() - receiveTime;
+			if (processingTime>500) {
+				log.warn("message received with long processing time (longer than 500ms: {}): {}", processingTime, recMsg);
+			}
+			mrtgProbeJMSProcessingTime_.addMeasurement(processingTime);
+		} catch (JMSException e) {
+			log.warn("JMSException in ClusterEventBus.onMessage", e);
+			throw new OLATRuntimeException("error when receiving jms messages", e);
+		} catch (Exception e) {
+			log.error("Cannot read a batch of events in ClusterEventBus.onMessage", e);
+		} finally {
+			lastOnMessageFinishTime_ = System.currentTimeMillis();
+		}
+	}
+
 	private NodeInfo getNodeInfoFor(Integer nodeId) {
 		synchronized (nodeInfos) {//cluster_ok node info is per vm only
 			NodeInfo f = nodeInfos.get(nodeId);
@@ -429,6 +697,25 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 		return latestSentMsgId;
 	}
 	
+	/**
+	 * [used by spring to auto export mbean data]
+	 * 
+	 * @return The number of events which were not sent because an identical event
+	 * 		was sent in the same batch
+	 */
+	public long getNumOfCoalescedEvents() {
+		return numOfCoalescedEvents;
+	}
+	
+	/**
+	 * [used by spring to auto export mbean data]
+	 * 
+	 * @return The number of batches which were not sent to all nodes
+	 */
+	public long getNumOfRoutedMessages() {
+		return numOfRoutedMessages;
+	}
+	
 	Map<Integer, NodeInfo> getNodeInfos() {
 		return nodeInfos;
 	}
@@ -443,9 +730,13 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 	void resetStats() {
 		msgsSentCount = 0;
 		msgsReceivedCount = 0;
+		probeBatchSize.reset();
+		probeBatchLatency.reset();
+		probeMessageSize.reset();
+		probeSendTime.reset();
 	}
 	
-	private void addToSentScreen(String msg) {
+	private void addToSentScreen(Supplier<String> msg) {
 		synchronized (msgsSent) {//cluster_ok is per vm only
 			msgsSentCount++;
 			msgsSent.add(msg);
@@ -482,9 +773,15 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 	 * @return the copied list of the latest "maxListSize" sent messages (copied so that iterating is failsafe)
 	 */
 	List<String> getListOfSentMsgs() {
+		List<Supplier<String>> sent;
 		synchronized(msgsSent) {//cluster_ok is per vm only
-			return new ArrayList<>(msgsSent);
+			sent = new ArrayList<>(msgsSent);
 		}
+		List<String> msgs = new ArrayList<>(sent.size());
+		for(Supplier<String> msg:sent) {
+			msgs.add(msg.get());
+		}
+		return msgs;
 	}
 
 	/**
@@ -493,7 +790,11 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 	public void stop() {
 		log.info("ClusterEventBus: Set stop flag for ClusterInfoEvent-Thread.");
 		isClusterInfoEventThreadRunning = false;
+		synchronized(batchLock) {
+			batchLock.notifyAll();
+		}
 		try {
+			flushBatch();
 			producer.close();
 			sessionProducer.close();
 			
@@ -524,6 +825,27 @@ public class ClusterEventBus extends AbstractEventBus implements GenericEventLis
 		this.jmsMsgDelayLimit = jmsMsgDelayLimit;
 	}
 
+	/**
+	 * [used by spring]
+	 */
+	public void setBatchWindow(long batchWindow) {
+		this.batchWindow = batchWindow;
+	}
+
+	/**
+	 * [used by spring]
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * [used by spring]
+	 */
+	public void setRouting(boolean routing) {
+		this.routing = routing;
+	}
+
 	/**
 	 * [used by spring]
 	 */
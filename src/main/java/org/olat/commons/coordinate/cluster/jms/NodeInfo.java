@@ -57,6 +57,9 @@ public class NodeInfo implements Serializable {
 
 	// the number of missed messages from this node
 	private long numOfMissedMsgs;
+	
+	// the time of the last clusterinfoevent received from this node
+	private long lastUpdate = -1;
 
 	NodeInfo(Integer nodeId) {
 		this.nodeId = nodeId;		
@@ -75,7 +78,8 @@ public class NodeInfo implements Serializable {
 	 */
 	public synchronized void update(ClusterInfoEvent cie) {//cluster_ok is per vm only
 		// rewrite the config to reflect config changes that might have happened in other nodes
-		config = cie.getConfig();		
+		config = cie.getConfig();
+		lastUpdate = System.currentTimeMillis();
 	}
 	
 	/**
@@ -124,6 +128,13 @@ public class NodeInfo implements Serializable {
 		return numOfMissedMsgs;
 	}
 	
+	/**
+	 * @return The time of the last clusterinfoevent received from this node or -1
+	 */
+	public synchronized long getLastUpdate() {//cluster_ok is per vm only
+		return lastUpdate;
+	}
+	
 	public ClusterConfig getConfig() {
 		return config;
 	}
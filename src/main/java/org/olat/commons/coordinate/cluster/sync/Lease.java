@@ -0,0 +1,60 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.commons.coordinate.cluster.sync;
+
+/**
+ * The lease saved in the replicated cache. The value is encoded as a
+ * string "nodeId:token:expiration" to not need any marshaller. A released
+ * lease keeps its fencing token with an expiration of 0.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+record Lease(int nodeId, long token, long expiration) {
+	
+	public boolean isFree(long now) {
+		return expiration < now;
+	}
+	
+	public Lease renew(long newExpiration) {
+		return new Lease(nodeId, token, newExpiration);
+	}
+	
+	public Lease release() {
+		return new Lease(nodeId, token, 0l);
+	}
+	
+	public String encode() {
+		return nodeId + ":" + token + ":" + expiration;
+	}
+	
+	public static Lease parse(String value) {
+		if(value == null) return null;
+		
+		String[] parts = value.split(":");
+		if(parts.length != 3) return null;
+		try {
+			return new Lease(Integer.parseInt(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
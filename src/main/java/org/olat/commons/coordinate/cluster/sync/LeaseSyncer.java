@@ -0,0 +1,440 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.commons.coordinate.cluster.sync;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.Logger;
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.olat.core.commons.persistence.DB;
+import org.olat.core.id.OLATResourceable;
+import org.olat.core.logging.AssertException;
+import org.olat.core.logging.Tracing;
+import org.olat.core.util.cluster.ClusterConfig;
+import org.olat.core.util.coordinate.Syncer;
+import org.olat.core.util.coordinate.SyncerCallback;
+import org.olat.core.util.coordinate.SyncerExecutor;
+import org.olat.core.util.resource.OresHelper;
+
+/**
+ * Implementation of the syncer with leases saved in a replicated
+ * Infinispan cache instead of "select for update" row locks.<br>
+ * <ul>
+ * 	<li>Within the VM, the threads wait in a fair queue per asset. Only the head of the
+ * 		queue competes for the lease with the other nodes.</li>
+ * 	<li>A lease expires after the lease time if the node holding it dies. The leases
+ * 		of long running blocks are renewed in the background.</li>
+ * 	<li>Every acquisition increments the fencing token of the asset, the token of
+ * 		the current block is available with {@link #getFencingToken()}. If the lease
+ * 		cannot be renewed, the block is flagged. Before the commit, the token in the
+ * 		cache is checked and the changes are rolled back with a
+ * 		{@link SyncerLeaseLostException} if the lease is lost. Blocks writing outside
+ * 		of the database can check it with {@link #assertLease()}.</li>
+ * 	<li>The wait for the lock is limited by the lock wait timeout. A
+ * 		{@link SyncerTimeoutException} is thrown if the lock cannot be acquired.</li>
+ * </ul>
+ * As with the database locks, the transaction is committed at the end of the
+ * block, before the lease is released, to make the changes visible to the next
+ * holder of the lease.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class LeaseSyncer implements Syncer {
+	
+	private static final Logger log = Tracing.createLoggerFor(LeaseSyncer.class);
+	
+	public static final String CACHE_NAME = "cluster-syncer-leases";
+	private static final int MAX_CONTENTION_STATISTICS = 512;
+	private static final long MAX_BACKOFF = 100l;
+	
+	private int executionTimeThreshold = 3000;
+	private long leaseTime = 30000l;
+	private long lockWaitTimeout = 60000l;
+	
+	private final EmbeddedCacheManager cacheManager;
+	private Cache<String,String> leases;
+	private ClusterConfig clusterConfig;
+	private DB dbInstance;
+	private ScheduledExecutorService renewer;
+	
+	private final ThreadLocal<HeldLease> currentLease = new ThreadLocal<>();
+	private final Set<HeldLease> heldLeases = ConcurrentHashMap.newKeySet();
+	private final ConcurrentMap<String,AssetQueue> queues = new ConcurrentHashMap<>();
+	private final Map<String,SyncerContention> contentions = new LinkedHashMap<>(64, 0.75f, true) {
+		private static final long serialVersionUID = -1871297318384419236L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String,SyncerContention> eldest) {
+			return size() > MAX_CONTENTION_STATISTICS;
+		}
+	};
+	
+	/**
+	 * [used by spring]
+	 * @param cacheManager
+	 */
+	public LeaseSyncer(EmbeddedCacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+	
+	public void setDbInstance(DB dbInstance) {
+		this.dbInstance = dbInstance;
+	}
+	
+	public void setClusterConfig(ClusterConfig clusterConfig) {
+		this.clusterConfig = clusterConfig;
+	}
+	
+	/**
+	 * [used by spring]
+	 * @param executionTimeThreshold Warn if the wait or the execution takes longer (milliseconds)
+	 */
+	public void setExecutionTimeThreshold(int executionTimeThreshold) {
+		this.executionTimeThreshold = executionTimeThreshold;
+	}
+	
+	/**
+	 * [used by spring]
+	 * @param leaseTime The time in milliseconds after which the lease of a dead node expires
+	 */
+	public void setLeaseTime(long leaseTime) {
+		this.leaseTime = leaseTime;
+	}
+	
+	/**
+	 * [used by spring]
+	 * @param lockWaitTimeout The maximum time in milliseconds to wait for a lock
+	 */
+	public void setLockWaitTimeout(long lockWaitTimeout) {
+		this.lockWaitTimeout = lockWaitTimeout;
+	}
+	
+	public void init() {
+		if(cacheManager.getCacheConfiguration(CACHE_NAME) == null) {
+			ConfigurationBuilder builder = new ConfigurationBuilder();
+			if(cacheManager.getCacheManagerConfiguration().isClustered()) {
+				builder.clustering().cacheMode(CacheMode.REPL_SYNC);
+			}
+			builder.expiration()
+				.wakeUpInterval(60000l);
+			builder.statistics()
+				.enable();
+			cacheManager.defineConfiguration(CACHE_NAME, builder.build());
+		}
+		leases = cacheManager.getCache(CACHE_NAME);
+		
+		renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "Syncer-lease-renewer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long renewInterval = Math.max(leaseTime / 3, 100l);
+		renewer.scheduleWithFixedDelay(this::renewLeases, renewInterval, renewInterval, TimeUnit.MILLISECONDS);
+	}
+	
+	public void destroy() {
+		if(renewer != null) {
+			renewer.shutdownNow();
+		}
+	}
+
+	@Override
+	public <T> T doInSync(OLATResourceable ores, SyncerCallback<T> callback) {
+		if(currentLease.get() != null) {
+			throw new AssertException("LeaseSyncer: nested doInSync is not allowed");
+		}
+		
+		String asset = OresHelper.createStringRepresenting(ores);
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.MILLISECONDS.toNanos(lockWaitTimeout);
+		AssetQueue queue = queues.compute(asset, (key, q) -> {
+			AssetQueue assetQueue = q == null ? new AssetQueue() : q;
+			assetQueue.waiting++;
+			return assetQueue;
+		});
+		
+		try {
+			boolean contended = !queue.lock.tryLock();
+			if(contended && !queue.lock.tryLock(lockWaitTimeout, TimeUnit.MILLISECONDS)) {
+				throw timeout(asset, start);
+			}
+			
+			try {
+				HeldLease lease = acquireLease(ores, asset, start, deadline);
+				contended |= lease.attempts > 1;
+				long waited = System.nanoTime() - start;
+				getContention(asset).acquired(waited, contended);
+				if(TimeUnit.NANOSECONDS.toMillis(waited) > executionTimeThreshold) {
+					log.warn("Waited {}ms for the lock of {}", TimeUnit.NANOSECONDS.toMillis(waited), asset);
+				}
+				return executeInLease(lease, callback);
+			} finally {
+				queue.lock.unlock();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SyncerTimeoutException("Interrupted while waiting for the lock of " + asset, e);
+		} finally {
+			queues.computeIfPresent(asset, (key, q) -> --q.waiting == 0 ? null : q);
+		}
+	}
+	
+	@Override
+	public void doInSync(OLATResourceable ores, SyncerExecutor executor) {
+		doInSync(ores, () -> {
+			executor.execute();
+			return null;
+		});
+	}
+	
+	private <T> T executeInLease(HeldLease lease, SyncerCallback<T> callback) {
+		long start = System.nanoTime();
+		currentLease.set(lease);
+		heldLeases.add(lease);
+		try {
+			T res = callback.execute();
+			try {
+				assertLease(lease);
+			} catch (SyncerLeaseLostException e) {
+				// an other node holds the lease, its changes win
+				dbInstance.rollback();
+				throw e;
+			}
+			// the changes must be visible for the next holder of the lease
+			dbInstance.commit();
+			return res;
+		} finally {
+			currentLease.remove();
+			heldLeases.remove(lease);
+			release(lease);
+			
+			long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			if(duration > executionTimeThreshold) {
+				log.warn("Execution time exceeded limit of {}ms: {}ms for {}", executionTimeThreshold, duration, lease.asset);
+			}
+		}
+	}
+
+	@Override
+	public void assertAlreadyDoInSyncFor(OLATResourceable ores) {
+		HeldLease lease = currentLease.get();
+		if(lease == null || !lease.asset.equals(OresHelper.createStringRepresenting(ores))) {
+			throw new AssertException("This method must be called from doInSync block with ores=" + ores);
+		}
+	}
+	
+	/**
+	 * @return The fencing token of the lease held by the current thread or -1
+	 * 		if the thread is not in a synchronized block
+	 */
+	public long getFencingToken() {
+		HeldLease lease = currentLease.get();
+		return lease == null ? -1l : lease.lease.token();
+	}
+	
+	/**
+	 * Check that the lease of the current block is still held by this node
+	 * with the same fencing token, e.g. before writing to a storage outside
+	 * of the database.
+	 * 
+	 * @throws SyncerLeaseLostException If the lease was lost
+	 */
+	public void assertLease() {
+		HeldLease lease = currentLease.get();
+		if(lease == null) {
+			throw new AssertException("This method must be called from doInSync block");
+		}
+		assertLease(lease);
+	}
+	
+	private void assertLease(HeldLease heldLease) {
+		Lease lease;
+		synchronized(heldLease) {
+			lease = heldLease.lease;
+			if(heldLease.lost) {
+				throw new SyncerLeaseLostException("Lease of " + heldLease.asset + " with token " + lease.token() + " was not renewed");
+			}
+		}
+		
+		Lease currentValue = Lease.parse(leases.get(heldLease.asset));
+		if(currentValue == null || currentValue.token() != lease.token() || currentValue.nodeId() != lease.nodeId()
+				|| currentValue.isFree(System.currentTimeMillis())) {
+			throw new SyncerLeaseLostException("Lease of " + heldLease.asset + " with token " + lease.token() + " was lost");
+		}
+	}
+	
+	/**
+	 * @param maxResults The maximum number of assets
+	 * @return The statistics of the assets with the longest total wait time
+	 */
+	public List<SyncerContention> getContentions(int maxResults) {
+		List<SyncerContention> list;
+		synchronized(contentions) {
+			list = new ArrayList<>(contentions.values());
+		}
+		list.sort(Comparator.comparingLong(SyncerContention::getTotalWait)
+				.thenComparingLong(SyncerContention::getContended).reversed());
+		return list.size() > maxResults ? list.subList(0, maxResults) : list;
+	}
+	
+	public void resetContentions() {
+		synchronized(contentions) {
+			contentions.clear();
+		}
+	}
+	
+	private SyncerContention getContention(String asset) {
+		synchronized(contentions) {
+			return contentions.computeIfAbsent(asset, SyncerContention::new);
+		}
+	}
+	
+	private SyncerTimeoutException timeout(String asset, long start) {
+		long waited = System.nanoTime() - start;
+		getContention(asset).timeout(waited);
+		return new SyncerTimeoutException("Cannot acquire the lock of " + asset + " after " + TimeUnit.NANOSECONDS.toMillis(waited) + "ms");
+	}
+	
+	private HeldLease acquireLease(OLATResourceable ores, String asset, long start, long deadline)
+	throws InterruptedException {
+		long backoff = 1l;
+		for(int attempts=1; ; attempts++) {
+			Lease lease = tryAcquire(asset);
+			if(lease != null) {
+				return new HeldLease(ores, asset, lease, attempts);
+			}
+			
+			long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if(remaining <= 0) {
+				throw timeout(asset, start);
+			}
+			Thread.sleep(Math.min(backoff, remaining));
+			backoff = Math.min(backoff * 2, MAX_BACKOFF);
+		}
+	}
+	
+	private Lease tryAcquire(String asset) {
+		long now = System.currentTimeMillis();
+		int nodeId = clusterConfig == null || clusterConfig.getNodeId() == null ? 1 : clusterConfig.getNodeId().intValue();
+		
+		String value = leases.get(asset);
+		if(value == null) {
+			Lease lease = new Lease(nodeId, 1l, now + leaseTime);
+			if(leases.putIfAbsent(asset, lease.encode(), getRetention(), TimeUnit.MILLISECONDS) == null) {
+				return lease;
+			}
+		} else {
+			Lease currentValue = Lease.parse(value);
+			if(currentValue == null || currentValue.isFree(now)) {
+				long token = currentValue == null ? 1l : currentValue.token() + 1;
+				Lease lease = new Lease(nodeId, token, now + leaseTime);
+				if(leases.replace(asset, value, lease.encode(), getRetention(), TimeUnit.MILLISECONDS)) {
+					return lease;
+				}
+			}
+		}
+		return null;
+	}
+	
+	private void release(HeldLease heldLease) {
+		synchronized(heldLease) {
+			heldLease.released = true;
+			Lease lease = heldLease.lease;
+			if(!leases.replace(heldLease.asset, lease.encode(), lease.release().encode(), getRetention(), TimeUnit.MILLISECONDS)) {
+				log.warn("Lease of {} with token {} was lost before its release", heldLease.asset, lease.token());
+			}
+		}
+	}
+	
+	private void renewLeases() {
+		for(HeldLease heldLease:heldLeases) {
+			try {
+				synchronized(heldLease) {
+					if(heldLease.released || heldLease.lost) continue;
+					
+					Lease lease = heldLease.lease;
+					Lease renewedLease = lease.renew(System.currentTimeMillis() + leaseTime);
+					if(leases.replace(heldLease.asset, lease.encode(), renewedLease.encode(), getRetention(), TimeUnit.MILLISECONDS)) {
+						heldLease.lease = renewedLease;
+					} else {
+						// the block goes on but it will be rolled back before its commit
+						heldLease.lost = true;
+						log.error("Cannot renew the lease of {} with token {}", heldLease.asset, lease.token());
+					}
+				}
+			} catch (Exception e) {
+				log.error("", e);
+			}
+		}
+	}
+	
+	/**
+	 * The released leases stay some time in the cache to keep the
+	 * fencing token monotonic.
+	 */
+	private long getRetention() {
+		return Math.max(leaseTime * 20, 600000l);
+	}
+	
+	private static class AssetQueue {
+		
+		private final ReentrantLock lock = new ReentrantLock(true);
+		private int waiting = 0;
+		
+	}
+	
+	private static class HeldLease {
+		
+		private final String asset;
+		private final OLATResourceable ores;
+		private final int attempts;
+		private volatile Lease lease;
+		private boolean released = false;
+		private boolean lost = false;
+		
+		public HeldLease(OLATResourceable ores, String asset, Lease lease, int attempts) {
+			this.ores = ores;
+			this.asset = asset;
+			this.lease = lease;
+			this.attempts = attempts;
+		}
+		
+		@Override
+		public String toString() {
+			return "HeldLease[" + ores.getResourceableTypeName() + ":" + ores.getResourceableId() + "]";
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.commons.coordinate.cluster.sync;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention statistics of a synchronized asset: how many times
+ * the lock was acquired, how many times the thread needed to wait
+ * and a histogram of the wait times.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class SyncerContention {
+	
+	/**
+	 * Upper bounds (exclusive) of the buckets of the histogram in milliseconds,
+	 * the last bucket collects the longer waits.
+	 */
+	public static final long[] BUCKETS = new long[] { 1l, 10l, 100l, 1000l, 10000l };
+	
+	private final String asset;
+	private final LongAdder acquisitions = new LongAdder();
+	private final LongAdder contended = new LongAdder();
+	private final LongAdder timeouts = new LongAdder();
+	private final LongAdder totalWait = new LongAdder();
+	private final LongAccumulator maxWait = new LongAccumulator(Long::max, 0l);
+	private final LongAdder[] histogram = new LongAdder[BUCKETS.length + 1];
+	
+	public SyncerContention(String asset) {
+		this.asset = asset;
+		for(int i=0; i<histogram.length; i++) {
+			histogram[i] = new LongAdder();
+		}
+	}
+	
+	public String getAsset() {
+		return asset;
+	}
+	
+	public long getAcquisitions() {
+		return acquisitions.sum();
+	}
+	
+	public long getContended() {
+		return contended.sum();
+	}
+	
+	public long getTimeouts() {
+		return timeouts.sum();
+	}
+	
+	/**
+	 * @return The sum of the wait times in milliseconds
+	 */
+	public long getTotalWait() {
+		return TimeUnit.NANOSECONDS.toMillis(totalWait.sum());
+	}
+	
+	/**
+	 * @return The average wait time in milliseconds
+	 */
+	public double getAverageWait() {
+		long count = acquisitions.sum() + timeouts.sum();
+		return count == 0 ? 0.0d : (totalWait.sum() / 1000000.0d) / count;
+	}
+	
+	/**
+	 * @return The longest wait time in milliseconds
+	 */
+	public long getMaxWait() {
+		return TimeUnit.NANOSECONDS.toMillis(maxWait.get());
+	}
+	
+	/**
+	 * @return The number of acquisitions per bucket, see {@link #BUCKETS}
+	 */
+	public long[] getHistogram() {
+		long[] values = new long[histogram.length];
+		for(int i=0; i<histogram.length; i++) {
+			values[i] = histogram[i].sum();
+		}
+		return values;
+	}
+	
+	protected void acquired(long waitNanos, boolean wasContended) {
+		acquisitions.increment();
+		if(wasContended) {
+			contended.increment();
+		}
+		addWait(waitNanos);
+	}
+	
+	protected void timeout(long waitNanos) {
+		timeouts.increment();
+		contended.increment();
+		addWait(waitNanos);
+	}
+	
+	private void addWait(long waitNanos) {
+		totalWait.add(waitNanos);
+		maxWait.accumulate(waitNanos);
+		
+		long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+		int bucket = BUCKETS.length;
+		for(int i=0; i<BUCKETS.length; i++) {
+			if(waitMillis < BUCKETS[i]) {
+				bucket = i;
+				break;
+			}
+		}
+		histogram[bucket].increment();
+	}
+}
@@ -0,0 +1,40 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.commons.coordinate.cluster.sync;
+
+import org.olat.core.logging.OLATRuntimeException;
+
+/**
+ * Thrown if the lease of a synchronized block expired or was taken over
+ * by an other node before the end of the block. The changes of the block
+ * are rolled back.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class SyncerLeaseLostException extends OLATRuntimeException {
+
+	private static final long serialVersionUID = 3094766213817735517L;
+
+	public SyncerLeaseLostException(String logMsg) {
+		super(SyncerLeaseLostException.class, logMsg, null);
+	}
+}
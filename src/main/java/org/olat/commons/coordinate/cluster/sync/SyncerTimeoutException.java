@@ -0,0 +1,43 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.commons.coordinate.cluster.sync;
+
+import org.olat.core.logging.OLATRuntimeException;
+
+/**
+ * Thrown if the lock of a synchronized block cannot be acquired
+ * within the lock wait timeout.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class SyncerTimeoutException extends OLATRuntimeException {
+
+	private static final long serialVersionUID = -6011836930826376237L;
+
+	public SyncerTimeoutException(String logMsg) {
+		super(SyncerTimeoutException.class, logMsg, null);
+	}
+
+	public SyncerTimeoutException(String logMsg, Throwable cause) {
+		super(SyncerTimeoutException.class, logMsg, cause);
+	}
+}
@@ -26,6 +26,9 @@
 
 package org.olat.core.commons.persistence;
 
+import java.util.Collection;
+import java.util.List;
+
 import jakarta.persistence.EntityManager;
 
 import org.hibernate.event.spi.PostUpdateEventListener;
@@ -66,6 +69,32 @@ public interface DB {
 	 */
 	public void updateObject(Object object);
 	
+	/**
+	 * Persist a collection of new objects in the current transaction. The
+	 * statements are sent in JDBC batches (db.jdbc.bulk.batch_size), the
+	 * entity manager is flushed every batch and the persisted objects are
+	 * detached to keep the persistence context small.
+	 * The objects have their primary keys after the call but are not managed anymore.
+	 * 
+	 * @param objects The objects to persist
+	 */
+	public <T> void persistAll(Collection<T> objects);
+	
+	/**
+	 * Merge a collection of objects in the current transaction, the entity
+	 * manager is flushed and the merged objects detached every JDBC batch.
+	 * 
+	 * @param objects The objects to merge
+	 * @return The merged (and detached) objects in the same order
+	 */
+	public <T> List<T> mergeAll(Collection<T> objects);
+	
+	/**
+	 * @return The size of the JDBC batches of persistAll and mergeAll, 0 or 1
+	 * 		if batching is disabled
+	 */
+	public int getJdbcBatchSize();
+	
 	/**
 	 * Call this to commit current changes.
 	 */
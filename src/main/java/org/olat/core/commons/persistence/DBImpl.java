@@ -29,7 +29,10 @@ package org.olat.core.commons.persistence;
 import java.sql.Driver;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Properties;
 
 import jakarta.persistence.Cache;
@@ -42,6 +45,7 @@ import jakarta.persistence.RollbackException;
 import org.apache.logging.log4j.Logger;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.event.service.spi.EventListenerRegistry;
 import org.hibernate.event.spi.EventType;
@@ -53,6 +57,7 @@ import org.infinispan.manager.EmbeddedCacheManager;
 import org.olat.core.configuration.Destroyable;
 import org.olat.core.logging.DBRuntimeException;
 import org.olat.core.logging.Tracing;
+import org.olat.core.util.cache.infinispan.InfinispanCacheManager;
 
 
 /**
@@ -74,11 +79,16 @@ public class DBImpl implements DB, Destroyable {
 	private final ThreadLocal<ThreadLocalData> data = new ThreadLocal<>();
 	// Max value for commit-counter, values over this limit will be logged.
 	private static int maxCommitCounter = 10;
+	private static final int DEFAULT_BULK_FLUSH_SIZE = 50;
+	
+	private final int jdbcBatchSize;
+	private int bulkBatchSize = DEFAULT_BULK_FLUSH_SIZE;
 
 	/**
 	 * [used by spring]
 	 */
 	public DBImpl(Properties databaseProperties) {
+		jdbcBatchSize = parseBatchSize(databaseProperties.getProperty(AvailableSettings.STATEMENT_BATCH_SIZE));
 		if(INSTANCE == null) {
 			INSTANCE = this;
 			try {
@@ -94,6 +104,15 @@ public class DBImpl implements DB, Destroyable {
 	protected static DBImpl getInstance() {
 		return INSTANCE;
 	}
+	
+	private static int parseBatchSize(String val) {
+		try {
+			return val == null ? 0 : Integer.parseInt(val.trim());
+		} catch (NumberFormatException e) {
+			log.warn("Cannot parse JDBC batch size: {}", val);
+			return 0;
+		}
+	}
 
 	@Override
 	public boolean isMySQL() {
@@ -114,6 +133,14 @@ public class DBImpl implements DB, Destroyable {
 	public String getDbVendor() {
 		return dbVendor;
 	}
+	/**
+	 * [used by spring]
+	 * @param bulkBatchSize The size of the JDBC batches of persistAll and mergeAll
+	 */
+	public void setBulkBatchSize(int bulkBatchSize) {
+		this.bulkBatchSize = bulkBatchSize;
+	}
+
 	/**
 	 * [used by spring]
 	 * @param dbVendor
@@ -396,6 +423,118 @@ public class DBImpl implements DB, Destroyable {
 		}
 	}
 
+	@Override
+	public <T> void persistAll(Collection<T> objects) {
+		if(objects == null || objects.isEmpty()) return;
+		
+		EntityManager em = getCurrentEntityManager();
+		EntityTransaction trx = em.getTransaction();
+		if (unusableTrx(trx)) { // some program bug
+			throw new DBRuntimeException("cannot persist in a transaction that is rolledback or committed");
+		}
+		
+		int flushSize = getBulkFlushSize();
+		List<T> pending = new ArrayList<>(flushSize);
+		Session session = getSession(em);
+		Integer sessionBatchSize = session.getJdbcBatchSize();
+		try {
+			setBulkJdbcBatchSize(session);
+			for(T object:objects) {
+				em.persist(object);
+				pending.add(object);
+				if(pending.size() >= flushSize) {
+					flushAndDetach(em, pending);
+				}
+			}
+			flushAndDetach(em, pending);
+		} catch (Exception e) { // we have some error
+			log.error("", e);
+			trx.setRollbackOnly();
+			getData().setError(e);
+			throw new DBRuntimeException("Bulk persist failed in transaction", e);
+		} finally {
+			session.setJdbcBatchSize(sessionBatchSize);
+		}
+	}
+
+	@Override
+	public <T> List<T> mergeAll(Collection<T> objects) {
+		if(objects == null || objects.isEmpty()) return new ArrayList<>(0);
+		
+		EntityManager em = getCurrentEntityManager();
+		EntityTransaction trx = em.getTransaction();
+		if (unusableTrx(trx)) { // some program bug
+			throw new DBRuntimeException("cannot merge in a transaction that is rolledback or committed");
+		}
+		
+		int flushSize = getBulkFlushSize();
+		List<T> merged = new ArrayList<>(objects.size());
+		List<T> pending = new ArrayList<>(flushSize);
+		Session session = getSession(em);
+		Integer sessionBatchSize = session.getJdbcBatchSize();
+		try {
+			setBulkJdbcBatchSize(session);
+			for(T object:objects) {
+				T mergedObject = em.merge(object);
+				merged.add(mergedObject);
+				pending.add(mergedObject);
+				if(pending.size() >= flushSize) {
+					flushAndDetach(em, pending);
+				}
+			}
+			flushAndDetach(em, pending);
+		} catch (Exception e) { // we have some error
+			log.error("", e);
+			trx.setRollbackOnly();
+			getData().setError(e);
+			throw new DBRuntimeException("Bulk merge failed in transaction", e);
+		} finally {
+			session.setJdbcBatchSize(sessionBatchSize);
+		}
+		return merged;
+	}
+	
+	/**
+	 * Flush the pending changes (send as JDBC batches if enabled) and
+	 * detach the flushed objects, but only them. The other objects of
+	 * the persistence context stay managed.
+	 * 
+	 * @param em The entity manager
+	 * @param pending The list of objects to flush, cleared at the end
+	 */
+	private <T> void flushAndDetach(EntityManager em, List<T> pending) {
+		if(pending.isEmpty()) return;
+		
+		em.flush();
+		for(T object:pending) {
+			em.detach(object);
+		}
+		pending.clear();
+		getData().resetAccessCounter();
+	}
+	
+	/**
+	 * Batching is only enabled for the bulk methods, the other writes
+	 * of the session use the global hibernate.jdbc.batch_size.
+	 * 
+	 * @param session The session
+	 */
+	private void setBulkJdbcBatchSize(Session session) {
+		if(bulkBatchSize > 1 && bulkBatchSize > jdbcBatchSize) {
+			session.setJdbcBatchSize(Integer.valueOf(bulkBatchSize));
+		}
+	}
+	
+	private int getBulkFlushSize() {
+		int batchSize = Math.max(bulkBatchSize, jdbcBatchSize);
+		return batchSize > 1 ? batchSize : DEFAULT_BULK_FLUSH_SIZE;
+	}
+
+	@Override
+	public int getJdbcBatchSize() {
+		return Math.max(bulkBatchSize, jdbcBatchSize);
+	}
+
 	/**
 	 * Get any errors from a previous DB call.
 	 * 
@@ -583,7 +722,8 @@ public class DBImpl implements DB, Destroyable {
 		}
 		
 		EmbeddedCacheManager cacheManager = getCacheContainer();
-		if(cacheManager != null) {
+		// the shared cache manager of the cluster is stopped by its factory
+		if(cacheManager != null && cacheManager != InfinispanCacheManager.getSharedCacheManager()) {
 			try {
 				cacheManager.stop();
 			} catch (Exception e) {
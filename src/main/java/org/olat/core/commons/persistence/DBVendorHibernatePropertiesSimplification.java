@@ -63,6 +63,14 @@ public class DBVendorHibernatePropertiesSimplification extends Properties {
 		putAll(more);
 	}
 	
+	/**
+	 * add the configuration of the entities cached in the second level cache
+	 * @param entities
+	 */
+	public void setAddEntitiesCacheProperties(Properties entities) {
+		putAll(entities);
+	}
+	
 	private void optimizeForEnvironment(Properties more) {
 		List<Object> keys = new ArrayList<>(more.keySet());
 		for(Object key:keys) {
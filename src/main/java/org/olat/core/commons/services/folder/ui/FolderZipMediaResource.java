@@ -33,6 +33,7 @@ import org.olat.core.gui.media.MediaResource;
 import org.olat.core.gui.media.ServletUtil;
 import org.olat.core.logging.Tracing;
 import org.olat.core.util.ZipUtil;
+import org.olat.core.util.io.ParallelZipOutputStream;
 import org.olat.core.util.vfs.VFSStatus;
 import org.olat.core.util.vfs.VFSItem;
 import org.olat.core.util.vfs.VFSLeaf;
@@ -95,7 +96,7 @@ public class FolderZipMediaResource implements MediaResource {
 	}
 	
 	private void prepareZip(HttpServletResponse hres) {
-		try(ZipOutputStream zout = new ZipOutputStream(hres.getOutputStream())) {
+		try(ZipOutputStream zout = new ParallelZipOutputStream(hres.getOutputStream())) {
 			zout.setLevel(9);
 			
 			VFSCollectingFilter filter = new VFSCollectingFilter(new VFSSystemItemFilter());
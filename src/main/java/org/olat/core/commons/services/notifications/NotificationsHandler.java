@@ -90,5 +90,16 @@ public interface NotificationsHandler {
 	 * @return Additional Description for a Notifications handler
 	 */
 	String getAdditionalDescriptionI18nKey(Locale locale);
-}
 
+	/**
+	 * If the subscription info only depends on the publisher, the locale and
+	 * the compare date, but not on the subscriber (no permissions, no
+	 * personal data), the notifications digest can compute it once and
+	 * share it between all the subscribers of the publisher.
+	 *
+	 * @return true if the subscription info can be shared between subscribers
+	 */
+	default boolean isSubscriptionInfoIdentityIndependent() {
+		return false;
+	}
+}
@@ -44,8 +44,12 @@ public class EmailNotificationJob extends JobWithDB {
 
 	@Override
 	public void executeWithDB(JobExecutionContext arg0) throws JobExecutionException {
-		System.out.println("!!! DEBUG: EmailNotificationJob executing !!!");
-		CoreSpringFactory.getImpl(NotificationsManager.class).notifyAllSubscribersByEmail();
+		NotificationsDigestEngine digestEngine = CoreSpringFactory.getImpl(NotificationsDigestEngine.class);
+		if(digestEngine.isEnabled()) {
+			digestEngine.sendDigest();
+		} else {
+			CoreSpringFactory.getImpl(NotificationsManager.class).notifyAllSubscribersByEmail();
+		}
 	}
 
 }
@@ -0,0 +1,399 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.commons.services.notifications.manager;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.basesecurity.BaseSecurity;
+import org.olat.core.commons.persistence.DB;
+import org.olat.core.commons.persistence.PersistenceHelper;
+import org.olat.core.commons.services.notifications.NotificationsHandler;
+import org.olat.core.commons.services.notifications.NotificationsManager;
+import org.olat.core.commons.services.notifications.PublisherChannel;
+import org.olat.core.commons.services.notifications.Subscriber;
+import org.olat.core.commons.services.notifications.SubscriptionInfo;
+import org.olat.core.commons.services.notifications.SubscriptionItem;
+import org.olat.core.commons.services.notifications.model.NotificationsDigestStatistics;
+import org.olat.core.commons.services.notifications.ui.NotificationSubscriptionController;
+import org.olat.core.gui.translator.Translator;
+import org.olat.core.id.Identity;
+import org.olat.core.logging.Tracing;
+import org.olat.core.logging.activity.ThreadLocalUserActivityLoggerInstaller;
+import org.olat.core.util.StringHelper;
+import org.olat.core.util.Util;
+import org.olat.core.util.WorkThreadInformations;
+import org.olat.core.util.i18n.I18nManager;
+import org.olat.properties.Property;
+import org.olat.properties.PropertyManager;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Send the notifications digest by email. Unlike the historical
+ * implementation which iterates over all users, this engine starts
+ * from the publishers with news and fans out to the subscribers of
+ * these publishers only. The identities are partitioned and processed
+ * by a pool of workers, every worker works in its own transaction.<br>
+ * The subscription items of the handlers which don't depend on the
+ * subscriber's identity are computed once per publisher, locale and
+ * compare date and shared between the subscribers.<br>
+ * In a cluster, the work can be sharded by identity key: every node
+ * with the job enabled processes the identities whose key modulo the
+ * number of shards is its shard index.
+ *
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@Service
+public class NotificationsDigestEngine implements DisposableBean {
+
+	private static final Logger log = Tracing.createLoggerFor(NotificationsDigestEngine.class);
+
+	private static final String INTERVAL_PROP_PREFIX = "noti_interval_";
+
+	@Value("${notification.digest.enabled:true}")
+	private boolean enabled;
+	@Value("${notification.digest.workers:4}")
+	private int workers;
+	@Value("${notification.digest.shards:1}")
+	private int shards;
+	@Value("${notification.digest.shard:0}")
+	private int shard;
+
+	private ExecutorService executor;
+	private final AtomicBoolean running = new AtomicBoolean(false);
+	private volatile DigestRun currentRun;
+
+	@Autowired
+	private DB dbInstance;
+	@Autowired
+	private PublisherDAO publisherDao;
+	@Autowired
+	private SubscriberDAO subscriberDao;
+	@Autowired
+	private BaseSecurity securityManager;
+	@Autowired
+	private PropertyManager propertyManager;
+	@Autowired
+	private NotificationsManager notificationsManager;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void destroy() {
+		if(executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if(executor == null) {
+			executor = Executors.newFixedThreadPool(Math.max(1, workers), r -> {
+				Thread thread = new Thread(r, "Notifications-Digest");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return executor;
+	}
+
+	public NotificationsDigestStatistics getStatistics() {
+		DigestRun run = currentRun;
+		return run == null ? NotificationsDigestStatistics.NONE : run.toStatistics();
+	}
+
+	/**
+	 * Send the digest to all subscribers with news.
+	 */
+	public void sendDigest() {
+		if(!running.compareAndSet(false, true)) {
+			log.warn("Notifications digest already running");
+			return;
+		}
+
+		log.info(Tracing.M_AUDIT, "starting notifications digest (workers: {}, shard: {}/{})", workers, shard, shards);
+		WorkThreadInformations.setLongRunningTask("sendNotifications");
+		DigestRun run = new DigestRun(new Date());
+		currentRun = run;
+		try {
+			List<Long> publisherKeys = publisherDao.getPublisherKeysWithNews(run.defaultCompareDate, PublisherChannel.PULL);
+			run.publishers.set(publisherKeys.size());
+			dbInstance.commitAndCloseSession();
+
+			Map<Long,List<Subscriber>> identityToSubscribers = loadSubscribersWithNews(publisherKeys);
+			run.identities.set(identityToSubscribers.size());
+			Map<Long,Map<String,String>> identityToIntervals = loadIntervals(new ArrayList<>(identityToSubscribers.keySet()));
+			dbInstance.commitAndCloseSession();
+
+			List<List<List<Subscriber>>> partitions = partition(identityToSubscribers);
+			List<Future<?>> futures = new ArrayList<>(partitions.size());
+			for(List<List<Subscriber>> partition:partitions) {
+				futures.add(getExecutor().submit(() -> processPartition(run, partition, identityToIntervals)));
+			}
+			for(Future<?> future:futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			log.warn("Notifications digest interrupted");
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			log.error("Notifications digest failed", e);
+		} finally {
+			run.end = new Date();
+			running.set(false);
+			WorkThreadInformations.unsetLongRunningTask("sendNotifications");
+		}
+		log.info(Tracing.M_AUDIT, "end notifications digest: {} identities, {} emails, {} shared items of {} in {}ms",
+				run.processedIdentities.get(), run.sentEmails.get(), run.sharedItems.get(), run.computedItems.get(),
+				(run.end.getTime() - run.start.getTime()));
+	}
+
+	private Map<Long,List<Subscriber>> loadSubscribersWithNews(List<Long> publisherKeys) {
+		Map<Long,List<Subscriber>> identityToSubscribers = new LinkedHashMap<>();
+		for(List<Long> chunkOfKeys:PersistenceHelper.collectionOfChunks(publisherKeys)) {
+			List<Subscriber> subscribers = subscriberDao.getSubscribersWithNews(chunkOfKeys, shards, shard);
+			for(Subscriber subscriber:subscribers) {
+				identityToSubscribers
+					.computeIfAbsent(subscriber.getIdentity().getKey(), key -> new ArrayList<>())
+					.add(subscriber);
+			}
+			dbInstance.commitAndCloseSession();
+		}
+		return identityToSubscribers;
+	}
+
+	/**
+	 * Load the intervals per publisher type set by the users.
+	 *
+	 * @param identityKeys The identities
+	 * @return A map identity key to a map of publisher type and interval
+	 */
+	private Map<Long,Map<String,String>> loadIntervals(List<Long> identityKeys) {
+		String query = """
+				select prop from property as prop
+				where prop.identity.key in (:identityKeys) and prop.name like :prefix""";
+
+		Map<Long,Map<String,String>> identityToIntervals = new HashMap<>();
+		for(List<Long> chunkOfKeys:PersistenceHelper.collectionOfChunks(identityKeys)) {
+			List<Property> properties = dbInstance.getCurrentEntityManager()
+					.createQuery(query, Property.class)
+					.setParameter("identityKeys", chunkOfKeys)
+					.setParameter("prefix", INTERVAL_PROP_PREFIX + "%")
+					.getResultList();
+			for(Property property:properties) {
+				if(StringHelper.containsNonWhitespace(property.getStringValue())) {
+					String type = property.getName().substring(INTERVAL_PROP_PREFIX.length());
+					identityToIntervals
+						.computeIfAbsent(property.getIdentity().getKey(), key -> new HashMap<>())
+						.put(type, property.getStringValue());
+				}
+			}
+		}
+		return identityToIntervals;
+	}
+
+	private List<List<List<Subscriber>>> partition(Map<Long,List<Subscriber>> identityToSubscribers) {
+		int numOfPartitions = Math.max(1, workers);
+		List<List<List<Subscriber>>> partitions = new ArrayList<>(numOfPartitions);
+		for(int i=0; i<numOfPartitions; i++) {
+			partitions.add(new ArrayList<>());
+		}
+		int count = 0;
+		for(List<Subscriber> subscribers:identityToSubscribers.values()) {
+			partitions.get(count++ % numOfPartitions).add(subscribers);
+		}
+		return partitions;
+	}
+
+	private void processPartition(DigestRun run, List<List<Subscriber>> partition, Map<Long,Map<String,String>> identityToIntervals) {
+		ThreadLocalUserActivityLoggerInstaller.initBackgroundUserActivityLogger();
+		try {
+			for(List<Subscriber> subscribers:partition) {
+				if(Thread.currentThread().isInterrupted()) {
+					break;
+				}
+
+				Identity identity = subscribers.get(0).getIdentity();
+				try {
+					processIdentity(run, identity, subscribers, identityToIntervals.get(identity.getKey()));
+					dbInstance.commitAndCloseSession();
+				} catch (Exception e) {
+					log.error("Cannot send notifications digest to: {}", identity.getKey(), e);
+					dbInstance.rollbackAndCloseSession();
+					run.errors.incrementAndGet();
+				} finally {
+					run.processedIdentities.incrementAndGet();
+				}
+			}
+		} finally {
+			ThreadLocalUserActivityLoggerInstaller.resetUserActivityLogger();
+		}
+	}
+
+	private void processIdentity(DigestRun run, Identity identity, List<Subscriber> subscribers, Map<String,String> intervals) {
+		if(securityManager.getRoles(identity).isGuestOnly()) {
+			return;
+		}
+
+		long start = System.currentTimeMillis();
+		String langPrefs = null;
+		if(identity.getUser() != null && identity.getUser().getPreferences() != null) {
+			langPrefs = identity.getUser().getPreferences().getLanguage();
+		}
+		Locale locale = I18nManager.getInstance().getLocaleOrDefault(langPrefs);
+
+		List<SubscriptionItem> items = new ArrayList<>();
+		List<Long> subscribersToUpdate = new ArrayList<>();
+		for(Subscriber subscriber:subscribers) {
+			String type = subscriber.getPublisher().getType();
+			String interval = intervals == null ? null : intervals.get(type);
+			if(interval == null) {
+				interval = notificationsManager.getUserIntervalOrDefault(identity);
+			}
+			Date compareDateForSub = notificationsManager.getCompareDateFromInterval(interval);
+
+			Date latestEmail = subscriber.getLatestEmailed();
+			if(latestEmail == null || compareDateForSub.after(latestEmail)) {
+				if(latestEmail == null || latestEmail.before(run.defaultCompareDate)) {
+					// no notification older than a month
+					latestEmail = run.defaultCompareDate;
+				}
+				SubscriptionItem item = getSubscriptionItem(run, subscriber, locale, latestEmail);
+				if(item != null) {
+					items.add(item);
+					subscribersToUpdate.add(subscriber.getKey());
+				}
+			}
+		}
+
+		if(!items.isEmpty()) {
+			Translator translator = Util.createPackageTranslator(NotificationSubscriptionController.class, locale);
+			if(notificationsManager.sendEmail(identity, translator, items)) {
+				// use the start of the run as date, the subscribers of the same publisher
+				// share then the same compare date at the next run
+				subscriberDao.updateLatestEmailed(subscribersToUpdate, run.start);
+				updateLatestEmailProperty(identity);
+				run.sentEmails.incrementAndGet();
+				log.info(Tracing.M_AUDIT, "Notifications mailed for {} {} {}ms", identity.getKey(), items.size(), (System.currentTimeMillis() - start));
+			} else {
+				run.errors.incrementAndGet();
+				log.info(Tracing.M_AUDIT, "Error sending notification email to : {}", identity.getKey());
+			}
+		}
+	}
+
+	private SubscriptionItem getSubscriptionItem(DigestRun run, Subscriber subscriber, Locale locale, Date compareDate) {
+		run.computedItems.incrementAndGet();
+
+		NotificationsHandler handler = notificationsManager.getNotificationsHandler(subscriber.getPublisher());
+		if(handler == null || !handler.isSubscriptionInfoIdentityIndependent()) {
+			return notificationsManager.createSubscriptionItem(subscriber, locale,
+					SubscriptionInfo.MIME_HTML, SubscriptionInfo.MIME_HTML, compareDate);
+		}
+
+		ItemKey key = new ItemKey(subscriber.getPublisher().getKey(), locale, compareDate.getTime());
+		SharedItem sharedItem = run.sharedItemsCache.get(key);
+		if(sharedItem == null) {
+			SubscriptionItem item = notificationsManager.createSubscriptionItem(subscriber, locale,
+					SubscriptionInfo.MIME_HTML, SubscriptionInfo.MIME_HTML, compareDate);
+			sharedItem = new SharedItem(item);
+			SharedItem concurrentItem = run.sharedItemsCache.putIfAbsent(key, sharedItem);
+			if(concurrentItem != null) {
+				sharedItem = concurrentItem;
+			}
+		} else {
+			run.sharedItems.incrementAndGet();
+		}
+		return sharedItem.item();
+	}
+
+	private void updateLatestEmailProperty(Identity identity) {
+		Property p = propertyManager.findProperty(identity, null, null, null, NotificationsManagerImpl.LATEST_EMAIL_USER_PROP);
+		if(p == null) {
+			p = propertyManager.createUserPropertyInstance(identity, null, NotificationsManagerImpl.LATEST_EMAIL_USER_PROP, null, null, null, null);
+			p.setLongValue(new Date().getTime());
+			propertyManager.saveProperty(p);
+		} else {
+			p.setLongValue(new Date().getTime());
+			propertyManager.updateProperty(p);
+		}
+	}
+
+	private record ItemKey(Long publisherKey, Locale locale, long compareDate) {
+		//
+	}
+
+	/**
+	 * Wrapper to cache the publishers without news too (null item).
+	 */
+	private record SharedItem(SubscriptionItem item) {
+		//
+	}
+
+	private static class DigestRun {
+
+		private final Date start;
+		private volatile Date end;
+		private final Date defaultCompareDate;
+
+		private final AtomicLong publishers = new AtomicLong();
+		private final AtomicLong identities = new AtomicLong();
+		private final AtomicLong processedIdentities = new AtomicLong();
+		private final AtomicLong sentEmails = new AtomicLong();
+		private final AtomicLong errors = new AtomicLong();
+		private final AtomicLong computedItems = new AtomicLong();
+		private final AtomicLong sharedItems = new AtomicLong();
+		private final ConcurrentMap<ItemKey,SharedItem> sharedItemsCache = new ConcurrentHashMap<>();
+
+		public DigestRun(Date start) {
+			this.start = start;
+			Calendar cal = Calendar.getInstance();
+			cal.setTime(start);
+			cal.add(Calendar.DAY_OF_MONTH, -30);
+			defaultCompareDate = cal.getTime();
+		}
+
+		public NotificationsDigestStatistics toStatistics() {
+			return new NotificationsDigestStatistics(end == null, start, end,
+					publishers.get(), identities.get(), processedIdentities.get(), sentEmails.get(), errors.get(),
+					computedItems.get(), sharedItems.get());
+		}
+	}
+}
@@ -118,7 +118,7 @@ public class NotificationsManagerImpl implements NotificationsManager, UserDataD
 	private static final int PUB_STATE_OK = 0;
 	private static final int PUB_STATE_NOT_OK = 1;
 	private static final int BATCH_SIZE = 500;
-	private static final String LATEST_EMAIL_USER_PROP = "noti_latest_email";
+	static final String LATEST_EMAIL_USER_PROP = "noti_latest_email";
 	private static final SubscriptionInfo NOSUBSINFO = new NoSubscriptionInfo();
 
 	private final OLATResourceable oresMyself = OresHelper.lookupType(NotificationsManagerImpl.class);
@@ -19,13 +19,16 @@
  */
 package org.olat.core.commons.services.notifications.manager;
 
+import java.util.Date;
 import java.util.List;
 
+import jakarta.persistence.TemporalType;
 import jakarta.persistence.TypedQuery;
 
 import org.olat.core.commons.persistence.DB;
 import org.olat.core.commons.persistence.QueryBuilder;
 import org.olat.core.commons.services.notifications.Publisher;
+import org.olat.core.commons.services.notifications.PublisherChannel;
 import org.olat.core.commons.services.notifications.SubscriptionContext;
 import org.olat.core.logging.AssertException;
 import org.olat.core.util.StringHelper;
@@ -44,6 +47,26 @@ public class PublisherDAO {
 	@Autowired
 	private DB dbInstance;
 	
+	/**
+	 * The root publishers of the specified channel which are valid and
+	 * have news since the specified date.
+	 * 
+	 * @param since The date
+	 * @param channel The channel
+	 * @return A list of publisher keys
+	 */
+	public List<Long> getPublisherKeysWithNews(Date since, PublisherChannel channel) {
+		String query = """
+				select pub.key from notipublisher pub
+				where pub.parentPublisher is null and pub.state=0
+				and pub.channelType=:channel and pub.latestNewsDate>=:since""";
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(query, Long.class)
+				.setParameter("channel", channel)
+				.setParameter("since", since, TemporalType.TIMESTAMP)
+				.getResultList();
+	}
+	
 	public List<Publisher> getPublisherByType(String type) {
 		String query = """
 				select pub from notipublisher pub
@@ -20,8 +20,12 @@
 package org.olat.core.commons.services.notifications.manager;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
+import jakarta.persistence.TemporalType;
+import jakarta.persistence.TypedQuery;
+
 import org.olat.basesecurity.IdentityRef;
 import org.olat.core.commons.persistence.DB;
 import org.olat.core.commons.persistence.QueryBuilder;
@@ -30,6 +34,7 @@ import org.olat.core.commons.services.notifications.PublisherChannel;
 import org.olat.core.commons.services.notifications.PublisherData;
 import org.olat.core.commons.services.notifications.Subscriber;
 import org.olat.core.commons.services.notifications.SubscriptionContext;
+import org.olat.core.id.Identity;
 import org.olat.core.util.StringHelper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -157,4 +162,54 @@ public class SubscriberDAO {
 		return subscribers.isEmpty() ? null : subscribers.get(0);
 	}
 	
+	/**
+	 * Load the enabled subscribers of the specified publishers which were
+	 * not emailed since the latest news of the publisher. The identities
+	 * need to be active.
+	 * 
+	 * @param publisherKeys The publishers
+	 * @param shards The number of shards (1 to load all subscribers)
+	 * @param shard The shard to load, the identity key modulo the number of shards
+	 * @return A list of subscribers with publisher, identity and user fetched
+	 */
+	public List<Subscriber> getSubscribersWithNews(List<Long> publisherKeys, int shards, int shard) {
+		if(publisherKeys == null || publisherKeys.isEmpty()) return new ArrayList<>();
+		
+		QueryBuilder q = new QueryBuilder(512);
+		q.append("select sub from notisub as sub")
+		 .append(" inner join fetch sub.publisher as pub")
+		 .append(" inner join fetch sub.identity as ident")
+		 .append(" inner join fetch ident.user as identUser")
+		 .where().append(" pub.key in (:publisherKeys) and sub.enabled=true")
+		 .and().append(" (sub.latestEmailed is null or sub.latestEmailed<pub.latestNewsDate)")
+		 .and().append(" ident.status<:status");
+		if(shards > 1) {
+			q.and().append(" mod(ident.key, :shards)=:shard");
+		}
+		
+		TypedQuery<Subscriber> query = dbInstance.getCurrentEntityManager()
+				.createQuery(q.toString(), Subscriber.class)
+				.setParameter("publisherKeys", publisherKeys)
+				.setParameter("status", Identity.STATUS_VISIBLE_LIMIT);
+		if(shards > 1) {
+			query.setParameter("shards", Long.valueOf(shards))
+			     .setParameter("shard", Long.valueOf(shard));
+		}
+		return query.getResultList();
+	}
+	
+	public int updateLatestEmailed(List<Long> subscriberKeys, Date latestEmailed) {
+		if(subscriberKeys == null || subscriberKeys.isEmpty()) return 0;
+		
+		String query = """
+				update notisub sub set sub.latestEmailed=:latestEmailed, sub.lastModified=:now
+				where sub.key in (:subscriberKeys)""";
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(query)
+				.setParameter("latestEmailed", latestEmailed, TemporalType.TIMESTAMP)
+				.setParameter("now", new Date(), TemporalType.TIMESTAMP)
+				.setParameter("subscriberKeys", subscriberKeys)
+				.executeUpdate();
+	}
+	
 }
@@ -0,0 +1,55 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.commons.services.notifications.model;
+
+import java.util.Date;
+
+/**
+ * Progress and throughput of the current or the last run of
+ * the notifications digest.
+ *
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public record NotificationsDigestStatistics(boolean running, Date start, Date end,
+		long publishers, long identities, long processedIdentities, long sentEmails, long errors,
+		long computedItems, long sharedItems) {
+
+	public static final NotificationsDigestStatistics NONE = new NotificationsDigestStatistics(false, null, null, 0l, 0l, 0l, 0l, 0l, 0l, 0l);
+
+	/**
+	 * @return The number of identities processed per second
+	 */
+	public double getThroughput() {
+		if(start == null) return 0.0d;
+		long endTime = end == null ? System.currentTimeMillis() : end.getTime();
+		long duration = endTime - start.getTime();
+		return duration <= 0 ? 0.0d : (processedIdentities * 1000.0d) / duration;
+	}
+
+	/**
+	 * @return The progress in percent
+	 */
+	public int getProgress() {
+		if(identities <= 0) return running ? 0 : 100;
+		return (int)Math.min(100l, (processedIdentities * 100l) / identities);
+	}
+}
@@ -26,6 +26,7 @@ import org.olat.core.commons.modules.bc.FolderConfig;
 import org.olat.core.configuration.AbstractSpringModule;
 import org.olat.core.util.StringHelper;
 import org.olat.core.util.coordinate.CoordinatorManager;
+import org.olat.core.util.io.ParallelZipOutputStream;
 import org.olat.core.util.vfs.VFSStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -56,6 +57,10 @@ public class VFSRepositoryModule extends AbstractSpringModule {
 	private double zipMinInflateRatio;
 	@Value("${zip.max.entries:32000}")
 	private int zipMaxEntries;
+	@Value("${zip.deflater.threads:2}")
+	private int zipDeflaterThreads;
+	@Value("${zip.deflater.max.pending.blocks:6}")
+	private int zipDeflaterMaxPendingBlocks;
 	
 	@Autowired
 	public VFSRepositoryModule(CoordinatorManager coordinatorManager) {
@@ -65,6 +70,7 @@ public class VFSRepositoryModule extends AbstractSpringModule {
 	@Override
 	public void init() {
 		updateProperties();
+		ParallelZipOutputStream.configure(zipDeflaterThreads, zipDeflaterMaxPendingBlocks);
 	}
 
 	@Override
@@ -160,4 +166,12 @@ public class VFSRepositoryModule extends AbstractSpringModule {
 	public void setZipMaxEntries(int zipMaxEntries) {
 		this.zipMaxEntries = zipMaxEntries;
 	}
+	
+	public int getZipDeflaterThreads() {
+		return zipDeflaterThreads;
+	}
+	
+	public int getZipDeflaterMaxPendingBlocks() {
+		return zipDeflaterMaxPendingBlocks;
+	}
 }
@@ -27,6 +27,8 @@ import java.util.List;
 import java.util.Locale;
 
 import org.olat.core.commons.services.license.License;
+import org.olat.core.commons.services.vfs.model.VFSRevisionsSize;
+import org.olat.core.commons.services.vfs.model.VFSThumbnailGeneratorStatistics;
 import org.olat.core.id.Identity;
 import org.olat.core.util.vfs.VFSContainer;
 import org.olat.core.util.vfs.VFSItem;
@@ -96,6 +98,16 @@ public interface VFSRepositoryService {
 	 */
 	public List<VFSMetadata> getChildren(String relativePath);
 	
+	/**
+	 * The list of direct children of the specified directory,
+	 * loaded with a single query. The missing metadata are not
+	 * created.
+	 * 
+	 * @param directory The directory
+	 * @return A list of metadata
+	 */
+	public List<VFSMetadata> getChildren(File directory);
+	
 	/**
 	 * The list of direct children in the directory
 	 * specified by the metadata.
@@ -223,6 +235,18 @@ public interface VFSRepositoryService {
 	 */
 	public boolean isThumbnailAvailable(VFSItem item, VFSMetadata metadata);
 	
+	/**
+	 * Return the thumbnail or generate it. The generation is done by a pool
+	 * of threads, concurrent requests for the same thumbnail share the same
+	 * generation. If the thumbnail is not ready within the waiting time, the
+	 * method returns null and the generation goes on in the background.
+	 * 
+	 * @param file The file
+	 * @param maxWidth The max. width of the thumbnail
+	 * @param maxHeight The max. height of the thumbnail
+	 * @param fill Fill the space
+	 * @return The thumbnail or null
+	 */
 	public VFSLeaf getThumbnail(VFSLeaf file, int maxWidth, int maxHeight, boolean fill);
 
 	/**
@@ -242,17 +266,23 @@ public interface VFSRepositoryService {
 	void deletePosterFile(VFSLeaf original);
 
 	/**
-	 * This method prevent reloading the metadata
+	 * This method prevent reloading the metadata. The thumbnail is
+	 * generated as in {@link #getThumbnail(VFSLeaf, int, int, boolean)}.
 	 * 
 	 * @param file The file
 	 * @param metadata The metadata of the file if you already have it
 	 * @param maxWidth
 	 * @param maxHeight
 	 * @param fill
-	 * @return
+	 * @return The thumbnail or null
 	 */
 	public VFSLeaf getThumbnail(VFSLeaf file, VFSMetadata metadata, int maxWidth, int maxHeight, boolean fill);
 	
+	/**
+	 * @return The metrics of the thumbnail generation of this node
+	 */
+	public VFSThumbnailGeneratorStatistics getThumbnailGeneratorStatistics();
+	
 	public void resetThumbnails(VFSLeaf file);
 	
 	/**
@@ -277,9 +307,10 @@ public interface VFSRepositoryService {
 	
 	/**
 	 * 
-	 * @return the size in bytes
+	 * @return the size in bytes of all the revisions (logical) and the
+	 * 		size used on the disk (physical)
 	 */
-	public long getRevisionsTotalSize();
+	public VFSRevisionsSize getRevisionsTotalSize();
 	
 	/**
 	 * @return A list of metadata references of deleted files with more than the specified number of revisions.
@@ -335,8 +366,22 @@ public interface VFSRepositoryService {
 	
 	public void migrate(VFSContainer container, VFSMetadata metadata);
 	
+	/**
+	 * The file where the content of the revision is stored. The file can be
+	 * shared with other revisions and its content compressed, use
+	 * {@link #getRevisionInputStream(VFSRevision)} to read the content.
+	 * 
+	 * @param revision The revision
+	 * @return The file
+	 */
 	public File getRevisionFile(VFSRevision revision);
 	
+	/**
+	 * @param revision The revision
+	 * @return The content of the revision or null if not available
+	 */
+	public InputStream getRevisionInputStream(VFSRevision revision);
+	
 	
 	public License getLicense(VFSMetadata meta);
 	
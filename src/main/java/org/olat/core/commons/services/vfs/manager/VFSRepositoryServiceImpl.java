@@ -22,6 +22,7 @@ package org.olat.core.commons.services.vfs.manager;
 import static java.util.Comparator.comparing;
 import static java.util.Comparator.nullsFirst;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -51,6 +52,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.zip.Adler32;
@@ -86,8 +91,12 @@ import org.olat.core.commons.services.vfs.VFSVersionModule;
 import org.olat.core.commons.services.vfs.impl.VFSContextInfoUnknown;
 import org.olat.core.commons.services.vfs.impl.VFSContextInfoUnknownPathResolver;
 import org.olat.core.commons.services.vfs.manager.MetaInfoReader.Thumbnail;
+import org.olat.core.commons.services.vfs.manager.VFSThumbnailGenerator.Priority;
 import org.olat.core.commons.services.vfs.model.VFSMetadataImpl;
+import org.olat.core.commons.services.vfs.model.VFSRevisionBlobImpl;
 import org.olat.core.commons.services.vfs.model.VFSRevisionImpl;
+import org.olat.core.commons.services.vfs.model.VFSRevisionsSize;
+import org.olat.core.commons.services.vfs.model.VFSThumbnailGeneratorStatistics;
 import org.olat.core.commons.services.vfs.model.VFSTransientMetadata;
 import org.olat.core.gui.control.Event;
 import org.olat.core.id.Identity;
@@ -112,8 +121,10 @@ import org.olat.core.util.vfs.VFSSuccess;
 import org.olat.core.util.vfs.filters.VFSItemFilter;
 import org.olat.core.util.vfs.version.RevisionFileImpl;
 import org.olat.core.util.vfs.version.VersionsFileImpl;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
@@ -123,7 +134,7 @@ import org.springframework.stereotype.Service;
  *
  */
 @Service
-public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEventListener, InitializingBean {
+public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEventListener, InitializingBean, DisposableBean {
 	
 	private static final Logger log = Tracing.createLoggerFor(VFSRepositoryServiceImpl.class);
 	private final OLATResourceable fileSizeSubscription = OresHelper.createOLATResourceableType("UpdateFileSizeAsync");
@@ -134,6 +145,17 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 	private static final String POSTER_PREFIX = "._oo_poster_";
 	
 	private CacheWrapper<String,VFSItem> inMemoryItems;
+	private VFSThumbnailGenerator thumbnailGenerator;
+	private List<int[]> pregeneratedThumbnailSizes;
+	
+	@Value("${vfs.thumbnails.generator.threads:2}")
+	private int thumbnailGeneratorThreads;
+	@Value("${vfs.thumbnails.generator.queue.size:2000}")
+	private int thumbnailGeneratorQueueSize;
+	@Value("${vfs.thumbnails.generator.wait.millis:5000}")
+	private long thumbnailWaitMillis;
+	@Value("${vfs.thumbnails.pregenerate.sizes:}")
+	private String pregenerateThumbnailSizes;
 	
 	@Autowired
 	private DB dbInstance;
@@ -144,6 +166,8 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 	@Autowired
 	private VFSRevisionDAO revisionDao;
 	@Autowired
+	private VFSRevisionBlobStore revisionBlobStore;
+	@Autowired
 	private VFSMetadataDAO metadataDao;
 	@Autowired
 	private VFSStatsDAO statsDao;
@@ -171,6 +195,30 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 		coordinatorManager.getCoordinator().getEventBus().registerFor(this, null, fileSizeSubscription);
 		coordinatorManager.getCoordinator().getEventBus().registerFor(this, null, incrementFileDownload);
 		inMemoryItems = coordinatorManager.getCoordinator().getCacher().getCache("VFSRepository", "inMemoryItems");
+		thumbnailGenerator = new VFSThumbnailGenerator(thumbnailGeneratorThreads, thumbnailGeneratorQueueSize);
+		pregeneratedThumbnailSizes = parseThumbnailSizes(pregenerateThumbnailSizes);
+	}
+	
+	@Override
+	public void destroy() throws Exception {
+		if(thumbnailGenerator != null) {
+			thumbnailGenerator.shutdown();
+		}
+	}
+	
+	private List<int[]> parseThumbnailSizes(String sizes) {
+		List<int[]> sizeList = new ArrayList<>();
+		if(StringHelper.containsNonWhitespace(sizes)) {
+			for(String size:sizes.split("[,]")) {
+				String[] widthAndHeight = size.trim().split("x");
+				if(widthAndHeight.length == 2 && StringHelper.isLong(widthAndHeight[0]) && StringHelper.isLong(widthAndHeight[1])) {
+					sizeList.add(new int[] { Integer.parseInt(widthAndHeight[0]), Integer.parseInt(widthAndHeight[1]) });
+				} else {
+					log.warn("Cannot parse thumbnail size: {}", size);
+				}
+			}
+		}
+		return sizeList;
 	}
 
 	@Override
@@ -290,8 +338,7 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 			if (preventDeleteIfRevision) {
 				List<VFSRevision> revisions = getRevisions(data);
 				for(VFSRevision revision:revisions) {
-					File revFile = getRevisionFile(revision);
-					exists = revFile != null && revFile.exists();
+					exists = existsRevisionContent((VFSRevisionImpl)revision);
 				}
 			}
 			
@@ -525,6 +572,20 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 		return metadataDao.getMetadatas(relativePath);
 	}
 
+	@Override
+	public List<VFSMetadata> getChildren(File directory) {
+		if(directory == null) return new ArrayList<>();
+		
+		String relativePath = getRelativePath(directory);
+		if(relativePath.startsWith("..")) {
+			return new ArrayList<>();
+		}
+		if(relativePath.equals("")) {
+			relativePath = CANONICAL_ROOT_REL_PATH;
+		}
+		return metadataDao.getMetadatas(relativePath);
+	}
+
 	@Override
 	public List<VFSMetadata> getChildren(VFSMetadataRef parentMetadata) {
 		return metadataDao.getMetadatas(parentMetadata);
@@ -632,7 +693,12 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 				vfsMetadata = metadataDao.updateMetadata(impl);
 			}
 		}
+		boolean pregenerate = !pregeneratedThumbnailSizes.isEmpty() && !vfsMetadata.isDeleted()
+				&& isThumbnailAvailable(leaf, vfsMetadata);
 		dbInstance.commitAndCloseSession();
+		if(pregenerate) {
+			pregenerateThumbnails(leaf, relativePath);
+		}
 	}
 
 	protected void deleteRetentionExceededPermanently(Date deletionDateBefore) {
@@ -717,12 +783,14 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 	private void deleteRevisionsOfMetadata(VFSMetadata data) {
 		List<VFSRevision> revisions = revisionDao.getRevisionsOnly(data);
 		for(VFSRevision revision:revisions) {
-			File revFile = getRevisionFile(revision);
-			if(revFile != null && revFile.exists()) {
-				try {
-					Files.delete(revFile.toPath());
-				} catch (IOException e) {
-					log.error("Cannot delete revision: {}", revFile, e);
+			if(((VFSRevisionImpl)revision).getBlob() == null) {
+				File revFile = getRevisionFile(revision);
+				if(revFile != null && revFile.exists()) {
+					try {
+						Files.delete(revFile.toPath());
+					} catch (IOException e) {
+						log.error("Cannot delete revision: {}", revFile, e);
+					}
 				}
 			}
 			revisionDao.deleteRevision(revision);
@@ -868,6 +936,9 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 		
 		Map<String, String> filenamePrevToNew = new HashMap<>(1);
 		for (VFSRevision revision : revisions) {
+			if (((VFSRevisionImpl)revision).getBlob() != null) {
+				continue;// content is in the blob store
+			}
 			String prevRevFilename = metadata.getFilename();
 			String newRevFilename = filenamePrevToNew.get(prevRevFilename);
 			// Several revisions may have the same filename.
@@ -902,6 +973,9 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 		
 		Map<String, String> filenamePrevToNew = new HashMap<>(1);
 		for (VFSRevision revision : revisions) {
+			if (((VFSRevisionImpl)revision).getBlob() != null) {
+				continue;// content is in the blob store
+			}
 			String prevRevFilename = metadata.getFilename();
 			String newRevFilename = filenamePrevToNew.get(prevRevFilename);
 			// Several revisions may have the same filename.
@@ -1122,6 +1196,16 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 
 		boolean allOk = true;
 		for (VFSRevision sourceRevision : sourceRevisions) {
+			VFSRevisionBlobImpl blob = revisionBlobStore.reference(((VFSRevisionImpl)sourceRevision).getBlob());
+			if(blob != null) {
+				// share the content, no copy needed
+				VFSRevision targetRevision = revisionDao.createRevisionCopy(sourceRevision.getFileInitializedBy(),
+						sourceRevision.getFileLastModifiedBy(), sourceRevision.getRevisionComment(), targetMetadata,
+						sourceRevision);
+				((VFSRevisionImpl)targetRevision).setBlob(blob);
+				continue;
+			}
+			
 			VFSLeaf sourceRevFile = getRevisionLeaf(sourceMetadata, (VFSRevisionImpl)sourceRevision);
 			if(sourceRevFile != null && sourceRevFile.exists()) {
 				VFSRevision targetRevision = revisionDao.createRevisionCopy(sourceRevision.getFileInitializedBy(),
@@ -1172,6 +1256,9 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 		
 		List<VFSRevision> revisions = getRevisions(metadata);
 		for(VFSRevision revision:revisions) {
+			if(((VFSRevisionImpl)revision).getBlob() != null) {
+				continue;// content is in the blob store
+			}
 			VFSLeaf revFile = getRevisionLeaf(metadata, (VFSRevisionImpl)revision);
 			if(revFile != null && revFile.exists()) {
 				String newRevFilename = generateFilenameForRevision(newName, revision.getRevisionNr(), revision.getRevisionTempNr());
@@ -1241,8 +1328,8 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 			VFSThumbnailMetadata thumbnail = thumbnailDao.findThumbnail(relativePath, file.getName(), fill, maxWidth, maxHeight);
 			if(thumbnail == null
 					&& !Boolean.TRUE.equals(metadata.getCannotGenerateThumbnails())) {
-				thumbnailLeaf = generateThumbnail(file, metadata, fill, maxWidth, maxHeight);
-			} else {
+				thumbnailLeaf = generateThumbnailCoalesced(file, metadata, relativePath, fill, maxWidth, maxHeight);
+			} else if(thumbnail != null) {
 				VFSItem item = parentContainer.resolve(thumbnail.getFilename());
 				if(item instanceof VFSLeaf leaf) {
 					thumbnailLeaf = leaf;
@@ -1267,7 +1354,7 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 				}
 				if(isThumbnailAvailable(file, metadata)
 						&& !Boolean.TRUE.equals(metadata.getCannotGenerateThumbnails())) {
-					thumbnailLeaf = generateThumbnail(file, metadata, fill, maxWidth, maxHeight);
+					thumbnailLeaf = generateThumbnailCoalesced(file, metadata, relativePath, fill, maxWidth, maxHeight);
 				}
 			} else {
 				VFSItem item = parentContainer.resolve(thumbnail.getFilename());
@@ -1282,6 +1369,86 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 		return thumbnailLeaf;
 	}
 	
+	/**
+	 * Generate the thumbnail in the pool of the thumbnail generator and wait
+	 * a limited time for it. The requests for the same thumbnail share the same
+	 * generation.
+	 * 
+	 * @return The thumbnail or null if it cannot be generated or is not ready
+	 * 		within the waiting time. 
+	 */
+	private VFSLeaf generateThumbnailCoalesced(VFSLeaf file, VFSMetadata metadata, String relativePath,
+			boolean fill, int maxWidth, int maxHeight) {
+		String key = getThumbnailKey(relativePath, file.getName(), fill, maxWidth, maxHeight);
+		// the worker reloads the metadata in its own session
+		Long metadataKey = metadata.getKey();
+		CompletableFuture<VFSLeaf> future = thumbnailGenerator.generate(key, Priority.REQUEST,
+				() -> generateThumbnailInSession(file, metadataKey, relativePath, fill, maxWidth, maxHeight));
+		try {
+			return future.get(thumbnailWaitMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			log.debug("Thumbnail not ready: {}", key);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			log.error("Cannot generate thumbnail: {}", key, e);
+		}
+		return null;
+	}
+	
+	private void pregenerateThumbnails(VFSLeaf file, String relativePath) {
+		for(int[] size:pregeneratedThumbnailSizes) {
+			int maxWidth = size[0];
+			int maxHeight = size[1];
+			String key = getThumbnailKey(relativePath, file.getName(), false, maxWidth, maxHeight);
+			thumbnailGenerator.generate(key, Priority.PREGENERATION,
+					() -> generateThumbnailInSession(file, null, relativePath, false, maxWidth, maxHeight));
+		}
+	}
+	
+	private String getThumbnailKey(String relativePath, String filename, boolean fill, int maxWidth, int maxHeight) {
+		return relativePath + "/" + filename + "::" + maxWidth + "x" + maxHeight + (fill ? "::fill" : "");
+	}
+	
+	/**
+	 * Generate the thumbnail in its own database session. The method checks first
+	 * if the thumbnail was generated in the meantime. The metadata are loaded in the
+	 * session of the worker, the entities of the caller's session are not shared.
+	 * 
+	 * @param metadataKey The primary key of the metadata or null to search them by path
+	 */
+	private VFSLeaf generateThumbnailInSession(VFSLeaf file, Long metadataKey, String relativePath,
+			boolean fill, int maxWidth, int maxHeight) {
+		try {
+			VFSLeaf thumbnailLeaf = null;
+			VFSThumbnailMetadata thumbnail = thumbnailDao.findThumbnail(relativePath, file.getName(), fill, maxWidth, maxHeight);
+			if(thumbnail != null) {
+				VFSItem item = getSecureParentContainer(file).resolve(thumbnail.getFilename());
+				if(item instanceof VFSLeaf leaf) {
+					thumbnailLeaf = leaf;
+				}
+			} else {
+				VFSMetadata metadata = metadataKey == null
+						? metadataDao.getMetadata(relativePath, file.getName(), false)
+						: metadataDao.loadMetadata(metadataKey);
+				if(metadata != null && isThumbnailAvailable(file, metadata)
+						&& !Boolean.TRUE.equals(metadata.getCannotGenerateThumbnails())) {
+					thumbnailLeaf = generateThumbnail(file, metadata, fill, maxWidth, maxHeight);
+				}
+			}
+			dbInstance.commitAndCloseSession();
+			return thumbnailLeaf;
+		} catch (Exception e) {
+			dbInstance.rollbackAndCloseSession();
+			throw e;
+		}
+	}
+	
+	@Override
+	public VFSThumbnailGeneratorStatistics getThumbnailGeneratorStatistics() {
+		return thumbnailGenerator.getStatistics();
+	}
+	
 	private VFSLeaf generateThumbnail(VFSLeaf file, VFSMetadata metadata, boolean fill, int maxWidth, int maxHeight) {
 		VFSContainer parentContainer = getSecureParentContainer(file);
 		VFSLeaf poster = getPosterLeaf(file, parentContainer);
@@ -1476,8 +1643,10 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 	}
 
 	@Override
-	public long getRevisionsTotalSize() {
-		return revisionDao.calculateRevisionsSize();
+	public VFSRevisionsSize getRevisionsTotalSize() {
+		long logicalSize = revisionDao.calculateRevisionsSize();
+		long physicalSize = revisionBlobStore.calculatePhysicalSize();
+		return new VFSRevisionsSize(Math.max(0l, logicalSize), physicalSize);
 	}
 
 	@Override
@@ -1496,9 +1665,8 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 			metadata = metadataDao.loadMetadata(metadata.getKey());
 			((VFSMetadataImpl)metadata).setDeleted(false);
 			metadata = metadataDao.updateMetadata(metadata);
-			try {
-				VFSLeaf revFile = getRevisionLeaf(metadata, ((VFSRevisionImpl)revision));
-				if (FileUtils.copyToFile(revFile.getInputStream(), currentFile, "Restore")) {
+			try(InputStream in = getRevisionInputStream(revision)) {
+				if (in != null && FileUtils.copyToFile(in, currentFile, "Restore")) {
 					deleteRevisions(metadata, Collections.singletonList(revision));
 					allOk = true;
 				}
@@ -1515,8 +1683,7 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 			// add current version to versions file
 			if (addToRevisions(currentLeaf, metadata, identity, false, comment, false)) {
 				// copy the content of the new file to the old
-				VFSLeaf revFile = getRevisionLeaf(metadata, ((VFSRevisionImpl)revision));
-				if (VFSManager.copyContent(revFile.getInputStream(), currentLeaf, identity)) {
+				if (VFSManager.copyContent(getRevisionInputStream(revision), currentLeaf, identity)) {
 					metadata = metadataDao.loadMetadata(metadata.getKey());
 					((VFSMetadataImpl)metadata).copyValues((VFSRevisionImpl)revision);
 					metadata = metadataDao.updateMetadata(metadata);
@@ -1578,7 +1745,8 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 		VFSRevisionImpl lastRevision = (VFSRevisionImpl)getLastRevision(revisions);
 		RevisionNrs versionNrs = getNextRevisionNr(lastRevision, metadata.getRevisionTempNr() != null);
 		
-		boolean sameFile = isSameFile(currentLeaf, metadata, revisions);
+		String hash = revisionBlobStore.isEnabled() ? revisionBlobStore.hash(currentFile) : null;
+		boolean sameFile = isSameFile(currentLeaf, metadata, revisions, hash);
 		String uuid = sameFile && lastRevision != null 
 				? lastRevision.getFilename()
 				: generateFilenameForRevision(currentFile, versionNrs.getRevisionNr(), versionNrs.getRevisionTempNr());
@@ -1595,11 +1763,27 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 		// Don't make a revision if it is the first stable version after some temporary versions
 		// It would be a stable revision of a temporary version. We do not want that.
 		boolean noRevisionNeeded = true;
+		boolean contentStored = true;
 		if (tempVersion || metadata.getRevisionTempNr() == null) {
-			VFSRevision newRevision = revisionDao.createRevision(metadata.getFileInitializedBy(),
-					metadata.getFileLastModifiedBy(), uuid, versionNrs.getRevisionNr(), versionNrs.getRevisionTempNr(),
-					fileSize, lastModifiedDate, metadata.getRevisionComment(), metadata);
-			revisions.add(newRevision);
+			// The content is the same as the last revision, share it. Else store the content
+			// in the blob store (deduplicated) or in a file next to the current file.
+			VFSRevisionBlobImpl blob = null;
+			if(sameFile) {
+				blob = lastRevision == null ? null : revisionBlobStore.reference(lastRevision.getBlob());
+			} else if(revisionBlobStore.isEnabled()) {
+				blob = revisionBlobStore.store(currentFile, hash);
+				contentStored = blob != null;
+			} else {
+				contentStored = copyContent(currentFile, new File(currentFile.getParentFile(), uuid));
+			}
+			
+			if(contentStored) {
+				VFSRevisionImpl newRevision = (VFSRevisionImpl)revisionDao.createRevision(metadata.getFileInitializedBy(),
+						metadata.getFileLastModifiedBy(), uuid, versionNrs.getRevisionNr(), versionNrs.getRevisionTempNr(),
+						fileSize, lastModifiedDate, metadata.getRevisionComment(), metadata);
+				newRevision.setBlob(blob);
+				revisions.add(newRevision);
+			}
 			noRevisionNeeded = false;
 		}
 
@@ -1607,8 +1791,7 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 			resetThumbnails(currentLeaf);
 		}
 
-		File revFile = new File(currentFile.getParentFile(), uuid);
-		if (sameFile || noRevisionNeeded || copyContent(currentFile, revFile)) {
+		if (sameFile || noRevisionNeeded || contentStored) {
 			if(pruneRevision && !tempVersion && maxNumOfVersions >= 0 && revisions.size() > maxNumOfVersions) {
 				int numOfVersionsToDelete = Math.min(revisions.size(), (revisions.size() - maxNumOfVersions));
 				if(numOfVersionsToDelete > 0) {
@@ -1688,7 +1871,7 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 				}
 			}
 			String fileToDelete = versionImpl.getFilename();
-			if (fileToDelete != null) {
+			if (fileToDelete != null && versionImpl.getBlob() == null) {
 				filenamesToDelete.put(fileToDelete, versionImpl);
 			}
 		}
@@ -1698,7 +1881,11 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 		for(VFSRevision survivingVersion:allVersions) {
 			VFSRevisionImpl survivingVersionImpl = (VFSRevisionImpl)survivingVersion;
 			String revFilename = survivingVersionImpl.getFilename();
-			if(revFilename == null || !new File(directory, revFilename).exists()) {
+			if(survivingVersionImpl.getBlob() != null) {
+				if(!revisionBlobStore.exists(survivingVersionImpl.getBlob())) {
+					missingFiles.add(survivingVersionImpl);
+				}
+			} else if(revFilename == null || !new File(directory, revFilename).exists()) {
 				missingFiles.add(survivingVersionImpl);//file is missing
 			} else if(filenamesToDelete.containsKey(revFilename)) {
 				filenamesToDelete.remove(revFilename);
@@ -1769,7 +1956,7 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 		
 	}
 	
-	private boolean isSameFile(VFSLeaf currentFile, VFSMetadata metadata, List<VFSRevision> revisions) {
+	private boolean isSameFile(VFSLeaf currentFile, VFSMetadata metadata, List<VFSRevision> revisions, String hash) {
 		boolean same = false;
 		if(!revisions.isEmpty()) {
 			VFSRevision lastRevision = getLastRevision(revisions);
@@ -1781,6 +1968,10 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 						&& currentFile instanceof LocalFileImpl) {
 					VFSRevisionImpl lastRev = ((VFSRevisionImpl)lastRevision);
 					LocalFileImpl current = (LocalFileImpl)currentFile;
+					if(lastRev.getBlob() != null) {
+						String currentHash = hash == null ? revisionBlobStore.hash(toFile(current)) : hash;
+						return lastRev.getBlob().getHash().equals(currentHash);
+					}
 						//can be the same file
 					try {
 						VFSLeaf lastRevFile = getRevisionLeaf(metadata, lastRev);
@@ -1807,9 +1998,36 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 	@Override
 	public File getRevisionFile(VFSRevision revision) {
 		VFSRevisionImpl rev = (VFSRevisionImpl)revision;
+		if(rev.getBlob() != null) {
+			return revisionBlobStore.getBlobFile(rev.getBlob());
+		}
 		return getRevisionPath(rev.getMetadata().getRelativePath(), rev.getFilename()).toFile();
 	}
 
+	@Override
+	public InputStream getRevisionInputStream(VFSRevision revision) {
+		VFSRevisionImpl rev = (VFSRevisionImpl)revision;
+		if(rev.getBlob() != null) {
+			return revisionBlobStore.getInputStream(rev.getBlob());
+		}
+		
+		File revFile = getRevisionFile(revision);
+		try {
+			return new BufferedInputStream(new FileInputStream(revFile), FileUtils.BSIZE);
+		} catch (IOException e) {
+			log.error("Cannot read revision: {}", revFile, e);
+			return null;
+		}
+	}
+	
+	private boolean existsRevisionContent(VFSRevisionImpl revision) {
+		if(revision.getBlob() != null) {
+			return revisionBlobStore.exists(revision.getBlob());
+		}
+		File revFile = getRevisionFile(revision);
+		return revFile != null && revFile.exists();
+	}
+
 	@Override
 	public VFSMetadata move(VFSLeaf currentLeaf, VFSLeaf targetLeaf,  Identity author) {
 		VFSMetadata metadata = getMetadataFor(currentLeaf);
@@ -1830,6 +2048,9 @@ public class VFSRepositoryServiceImpl implements VFSRepositoryService, GenericEv
 		List<VFSRevision> revisions = getRevisions(metadata);
 		for(VFSRevision revision:revisions) {
 			VFSRevisionImpl revImpl = (VFSRevisionImpl)revision;
+			if(revImpl.getBlob() != null) {
+				continue;// content is in the blob store
+			}
 			Path path = getRevisionPath(currentRelativePath, revImpl.getFilename());
 			File revFile = path.toFile();
 			if(revFile.exists()) {
@@ -0,0 +1,146 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.commons.services.vfs.manager;
+
+import java.util.Date;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+
+import org.olat.core.commons.persistence.DB;
+import org.olat.core.commons.services.vfs.model.VFSRevisionBlobImpl;
+import org.olat.core.commons.services.vfs.model.VFSRevisionBlobImpl.Encoding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@Service
+public class VFSRevisionBlobDAO {
+	
+	@Autowired
+	private DB dbInstance;
+	
+	public VFSRevisionBlobImpl createBlob(String hash, long size, long storedSize, Encoding encoding) {
+		VFSRevisionBlobImpl blob = new VFSRevisionBlobImpl();
+		blob.setCreationDate(new Date());
+		blob.setHash(hash);
+		blob.setSize(size);
+		blob.setStoredSize(storedSize);
+		blob.setEncoding(encoding);
+		dbInstance.getCurrentEntityManager().persist(blob);
+		return blob;
+	}
+	
+	public VFSRevisionBlobImpl loadBlob(String hash) {
+		String query = "select blob from vfsrevisionblob blob where blob.hash=:hash";
+		List<VFSRevisionBlobImpl> blobs = dbInstance.getCurrentEntityManager()
+				.createQuery(query, VFSRevisionBlobImpl.class)
+				.setParameter("hash", hash)
+				.getResultList();
+		return blobs == null || blobs.isEmpty() ? null : blobs.get(0);
+	}
+	
+	/**
+	 * Load the blob and lock its row until the end of the transaction.
+	 * 
+	 * @param hash The hash of the content
+	 * @return The locked blob or null if not found
+	 */
+	public VFSRevisionBlobImpl loadBlobForUpdate(String hash) {
+		String query = "select blob from vfsrevisionblob blob where blob.hash=:hash";
+		List<VFSRevisionBlobImpl> blobs = dbInstance.getCurrentEntityManager()
+				.createQuery(query, VFSRevisionBlobImpl.class)
+				.setParameter("hash", hash)
+				.getResultList();
+		if(blobs.size() == 1) {
+			VFSRevisionBlobImpl blob = blobs.get(0);
+			dbInstance.getCurrentEntityManager().lock(blob, LockModeType.PESSIMISTIC_WRITE);
+			return blob;
+		}
+		return null;
+	}
+	
+	/**
+	 * @param createdBefore Only the blobs created before this date
+	 * @param maxResults The max. number of hashes
+	 * @return The hashes of the blobs without any revision referencing them
+	 */
+	public List<String> getUnreferencedBlobHashes(Date createdBefore, int maxResults) {
+		String query = """
+				select blob.hash from vfsrevisionblob blob
+				where blob.creationDate<:createdBefore
+				and not exists (select rev.key from vfsrevision rev where rev.blob.key=blob.key)
+				order by blob.key asc""";
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(query, String.class)
+				.setParameter("createdBefore", createdBefore)
+				.setFirstResult(0)
+				.setMaxResults(maxResults)
+				.getResultList();
+	}
+	
+	/**
+	 * @param blob The blob
+	 * @return The number of revisions referencing the blob
+	 */
+	public long countReferences(VFSRevisionBlobImpl blob) {
+		String query = "select count(rev.key) from vfsrevision rev where rev.blob.key=:blobKey";
+		List<Long> count = dbInstance.getCurrentEntityManager()
+				.createQuery(query, Long.class)
+				.setParameter("blobKey", blob.getKey())
+				.getResultList();
+		return count == null || count.isEmpty() || count.get(0) == null ? 0l : count.get(0).longValue();
+	}
+	
+	/**
+	 * @return The size on disk of the revisions: the blobs plus the files of the
+	 * 		revisions without blob, counted once if shared by several revisions.
+	 */
+	public long calculatePhysicalSize() {
+		String blobsQuery = "select sum(blob.storedSize) from vfsrevisionblob blob";
+		List<Long> blobsSize = dbInstance.getCurrentEntityManager()
+				.createQuery(blobsQuery, Long.class)
+				.getResultList();
+		
+		String filesQuery = """
+				select sum(rev.size) from vfsrevision rev
+				where rev.blob.key is null and rev.key=(select min(sameRev.key) from vfsrevision sameRev
+				  where sameRev.metadata.key=rev.metadata.key and sameRev.filename=rev.filename and sameRev.blob.key is null)""";
+		List<Long> filesSize = dbInstance.getCurrentEntityManager()
+				.createQuery(filesQuery, Long.class)
+				.getResultList();
+		return toLong(blobsSize) + toLong(filesSize);
+	}
+	
+	private long toLong(List<Long> size) {
+		return size == null || size.isEmpty() || size.get(0) == null ? 0l : size.get(0).longValue();
+	}
+	
+	public void deleteBlob(VFSRevisionBlobImpl blob) {
+		VFSRevisionBlobImpl reloadedBlob = dbInstance.getCurrentEntityManager()
+				.getReference(VFSRevisionBlobImpl.class, blob.getKey());
+		dbInstance.getCurrentEntityManager().remove(reloadedBlob);
+	}
+}
@@ -0,0 +1,320 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.commons.services.vfs.manager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.persistence.PersistenceException;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.core.commons.persistence.DB;
+import org.olat.core.commons.persistence.PersistenceHelper;
+import org.olat.core.commons.services.vfs.model.VFSRevisionBlobImpl;
+import org.olat.core.commons.services.vfs.model.VFSRevisionBlobImpl.Encoding;
+import org.olat.core.logging.DBRuntimeException;
+import org.olat.core.logging.Tracing;
+import org.olat.core.util.FileUtils;
+import org.olat.core.util.StringHelper;
+import org.olat.core.util.WebappHelper;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Content addressed storage of the revisions. The content is stored once
+ * per SHA-256 hash under olatdata/revisions, the revisions reference the
+ * blob. The blobs without references are deleted by a nightly job. Text based
+ * formats above a configurable size are compressed.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@Service
+public class VFSRevisionBlobStore implements InitializingBean {
+	
+	private static final Logger log = Tracing.createLoggerFor(VFSRevisionBlobStore.class);
+	
+	private static final String BLOBS_DIRECTORY = "revisions";
+	private static final String GZIP_SUFFIX = ".gz";
+	private static final int BATCH_SIZE = 1000;
+	
+	private final Object[] locks = new Object[64];
+	private Set<String> compressedSuffixes;
+	
+	@Value("${vfs.revisions.blobstore.enabled:false}")
+	private boolean enabled;
+	@Value("${vfs.revisions.blobstore.compression.min.size:65536}")
+	private long compressionMinSize;
+	@Value("${vfs.revisions.blobstore.compression.suffixes:txt,csv,html,htm,xml,json,css,js,md,svg,tex,log}")
+	private String compressionSuffixes;
+	
+	@Autowired
+	private DB dbInstance;
+	@Autowired
+	private VFSRevisionBlobDAO blobDao;
+	
+	public VFSRevisionBlobStore() {
+		for(int i=locks.length; i-->0; ) {
+			locks[i] = new Object();
+		}
+	}
+	
+	@Override
+	public void afterPropertiesSet() {
+		compressedSuffixes = new HashSet<>();
+		if(StringHelper.containsNonWhitespace(compressionSuffixes)) {
+			for(String suffix:compressionSuffixes.split("[,]")) {
+				if(StringHelper.containsNonWhitespace(suffix)) {
+					compressedSuffixes.add(suffix.trim().toLowerCase());
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true if the new revisions are stored in the blob store
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+	
+	public String hash(File file) {
+		return FileUtils.checksumSha256(file);
+	}
+	
+	/**
+	 * Store the content of the file if no blob with the same hash exists. The
+	 * row of the blob is locked until the end of the transaction, the revision
+	 * referencing it must be created in the same transaction.
+	 * 
+	 * @param file The file to store
+	 * @param hash The hash of the file if already calculated or null
+	 * @return The blob or null if the content cannot be stored
+	 */
+	public VFSRevisionBlobImpl store(File file, String hash) {
+		if(hash == null) {
+			hash = hash(file);
+			if(hash == null) {
+				return null;
+			}
+		}
+		
+		synchronized(getLock(hash)) {
+			VFSRevisionBlobImpl blob = blobDao.loadBlobForUpdate(hash);
+			if(blob == null) {
+				blob = createBlob(file, hash);
+			} else if(!getBlobFile(blob).exists()) {
+				// the file was lost, write it again
+				Encoding encoding = isCompressible(file) ? Encoding.gzip : Encoding.none;
+				File blobFile = getBlobFile(hash, encoding);
+				if(!writeContent(file, blobFile, encoding)) {
+					return null;
+				}
+				blob.setEncoding(encoding);
+				blob.setStoredSize(blobFile.length());
+			}
+			return blob;
+		}
+	}
+	
+	/**
+	 * Lock the blob to reference it in a new revision. The revision must
+	 * be created in the same transaction.
+	 * 
+	 * @param blob The blob to share
+	 * @return The locked blob or null if the blob is null or was deleted
+	 */
+	public VFSRevisionBlobImpl reference(VFSRevisionBlobImpl blob) {
+		if(blob == null) return null;
+		return blobDao.loadBlobForUpdate(blob.getHash());
+	}
+	
+	/**
+	 * Write the content and create the blob. If an other node created the
+	 * same blob concurrently, the existing one is used.
+	 * 
+	 * @param file The file to store
+	 * @param hash The hash of the file
+	 * @return The locked blob or null if the content cannot be stored
+	 */
+	private VFSRevisionBlobImpl createBlob(File file, String hash) {
+		Encoding encoding = isCompressible(file) ? Encoding.gzip : Encoding.none;
+		File blobFile = getBlobFile(hash, encoding);
+		if(!writeContent(file, blobFile, encoding)) {
+			return null;
+		}
+		
+		try {
+			dbInstance.commit();
+			blobDao.createBlob(hash, file.length(), blobFile.length(), encoding);
+			dbInstance.commit();
+		} catch(PersistenceException | DBRuntimeException e) {
+			if(PersistenceHelper.isConstraintViolationException(e)) {
+				log.warn("Revision blob created concurrently: {}", hash);
+				dbInstance.rollback();
+			} else {
+				log.error("Cannot create revision blob: {}", hash, e);
+				dbInstance.rollback();
+				return null;
+			}
+		}
+		
+		// the blob is committed without reference, the clean up ignores the young blobs
+		VFSRevisionBlobImpl blob = blobDao.loadBlobForUpdate(hash);
+		if(blob != null && blob.getEncoding() != encoding) {
+			// the other node stored the content with an other encoding
+			FileUtils.deleteFile(blobFile);
+		}
+		return blob;
+	}
+	
+	/**
+	 * Delete the blobs and their content which are not referenced by any revision.
+	 * Every blob is locked and its references counted again in its own transaction
+	 * before it is deleted.
+	 * 
+	 * @param createdBefore Only the blobs created before this date are deleted
+	 * @return The number of deleted blobs
+	 */
+	public int deleteUnreferencedBlobs(Date createdBefore) {
+		int deleted = 0;
+		List<String> hashes;
+		do {
+			hashes = blobDao.getUnreferencedBlobHashes(createdBefore, BATCH_SIZE);
+			dbInstance.commitAndCloseSession();
+			for(String hash:hashes) {
+				if(deleteUnreferencedBlob(hash)) {
+					deleted++;
+				}
+			}
+		} while(hashes.size() == BATCH_SIZE);
+		return deleted;
+	}
+	
+	private boolean deleteUnreferencedBlob(String hash) {
+		boolean deleted = false;
+		try {
+			VFSRevisionBlobImpl blob = blobDao.loadBlobForUpdate(hash);
+			if(blob != null && blobDao.countReferences(blob) == 0) {
+				// a missing file is written again if the blob is reused after a rollback
+				Files.deleteIfExists(getBlobFile(blob).toPath());
+				blobDao.deleteBlob(blob);
+				deleted = true;
+			}
+			dbInstance.commitAndCloseSession();
+		} catch (IOException | PersistenceException | DBRuntimeException e) {
+			log.error("Cannot delete revision blob: {}", hash, e);
+			dbInstance.rollbackAndCloseSession();
+			deleted = false;
+		}
+		return deleted;
+	}
+	
+	public boolean exists(VFSRevisionBlobImpl blob) {
+		return blob != null && getBlobFile(blob).exists();
+	}
+	
+	/**
+	 * @param blob The blob
+	 * @return The decoded content of the blob, or null if the content is missing
+	 */
+	public InputStream getInputStream(VFSRevisionBlobImpl blob) {
+		File blobFile = getBlobFile(blob);
+		try {
+			InputStream in = new BufferedInputStream(new FileInputStream(blobFile), FileUtils.BSIZE);
+			if(blob.getEncoding() == Encoding.gzip) {
+				in = new GZIPInputStream(in, FileUtils.BSIZE);
+			}
+			return in;
+		} catch (IOException e) {
+			log.error("Cannot read revision blob: {}", blob.getHash(), e);
+			return null;
+		}
+	}
+	
+	/**
+	 * @param blob The blob
+	 * @return The file where the content is stored, compressed or not
+	 */
+	public File getBlobFile(VFSRevisionBlobImpl blob) {
+		return getBlobFile(blob.getHash(), blob.getEncoding());
+	}
+	
+	public long calculatePhysicalSize() {
+		return blobDao.calculatePhysicalSize();
+	}
+	
+	private File getBlobFile(String hash, Encoding encoding) {
+		String filename = encoding == Encoding.gzip ? hash + GZIP_SUFFIX : hash;
+		return getBlobDirectory(hash).resolve(filename).toFile();
+	}
+	
+	private Path getBlobDirectory(String hash) {
+		return Paths.get(WebappHelper.getUserDataRoot(), BLOBS_DIRECTORY, hash.substring(0, 2), hash.substring(2, 4));
+	}
+	
+	private boolean isCompressible(File file) {
+		return file.length() >= compressionMinSize
+				&& compressedSuffixes.contains(FileUtils.getFileSuffix(file.getName()));
+	}
+	
+	private boolean writeContent(File file, File blobFile, Encoding encoding) {
+		File tmpFile = new File(blobFile.getParentFile(), blobFile.getName() + "." + UUID.randomUUID() + ".tmp");
+		try {
+			Files.createDirectories(blobFile.getParentFile().toPath());
+			try(InputStream in = new FileInputStream(file);
+					OutputStream out = new FileOutputStream(tmpFile);
+					OutputStream bout = encoding == Encoding.gzip
+						? new GZIPOutputStream(out, FileUtils.BSIZE) : new BufferedOutputStream(out, FileUtils.BSIZE)) {
+				FileUtils.cpio(in, bout, "Store revision");
+			}
+			Files.move(tmpFile.toPath(), blobFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return true;
+		} catch (IOException e) {
+			log.error("Cannot store revision blob: {}", file, e);
+			FileUtils.deleteFile(tmpFile);
+			return false;
+		}
+	}
+	
+	private Object getLock(String hash) {
+		return locks[Math.floorMod(hash.hashCode(), locks.length)];
+	}
+}
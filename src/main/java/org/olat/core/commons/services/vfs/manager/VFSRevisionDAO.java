@@ -104,6 +104,7 @@ public class VFSRevisionDAO {
 		sb.append("select rev from vfsrevision rev")
 		.append(" left join fetch rev.fileInitializedBy as fileInitializedBy")
 		.append(" left join fetch fileInitializedBy.user as fileInitializedByUser")
+		.append(" left join fetch rev.blob as blob")
 		.append(" inner join fetch rev.metadata meta")
 		.append(" where rev.key=:revisionKey");
 		List<VFSRevision> revisions = dbInstance.getCurrentEntityManager()
@@ -134,6 +135,7 @@ public class VFSRevisionDAO {
 		sb.append("select rev from vfsrevision rev")
 		.append(" left join fetch rev.fileInitializedBy as fileInitializedBy")
 		.append(" left join fetch fileInitializedBy.user as fileInitializedByUser")
+		.append(" left join fetch rev.blob as blob")
 		.append(" where rev.metadata.key=:metadataKey")
 		.append(" order by rev.revisionNr, rev.revisionTempNr").append(" nulls first", !dbInstance.isMySQL());
 		return dbInstance.getCurrentEntityManager()
@@ -165,6 +167,7 @@ public class VFSRevisionDAO {
 				select rev from vfsrevision rev
 				left join fetch rev.fileInitializedBy as fileInitializedBy
 				left join fetch fileInitializedBy.user as fileInitializedByUser
+				left join fetch rev.blob as blob
 				where rev.metadata.key in (:metadataKeys)""";
 		TypedQuery<VFSRevision> query = dbInstance.getCurrentEntityManager()
 				.createQuery(sb, VFSRevision.class);
@@ -271,7 +274,8 @@ public class VFSRevisionDAO {
 		qb.append("select rev from vfsrevision rev")
 		.append(" inner join fetch rev.metadata metadata")
 		.append(" left join fetch rev.fileInitializedBy as fileInitializedBy")
-		.append(" left join fetch fileInitializedBy.user as fileInitializedByUser");
+		.append(" left join fetch fileInitializedBy.user as fileInitializedByUser")
+		.append(" left join fetch rev.blob as blob");
 
 		if(createdAtNewer != null) {
 			qb.where().append("rev.creationDate>=:createdAtNewer");
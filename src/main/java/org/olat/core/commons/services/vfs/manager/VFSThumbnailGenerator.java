@@ -0,0 +1,200 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.commons.services.vfs.manager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.core.commons.services.vfs.model.VFSThumbnailGeneratorStatistics;
+import org.olat.core.logging.Tracing;
+import org.olat.core.util.vfs.VFSLeaf;
+
+/**
+ * Generates the thumbnails in a bounded pool of threads. The requests for
+ * the same thumbnail (file, size and fill) are coalesced and share the
+ * same generation. The requests of the users are processed before the
+ * pre-generation of the thumbnails of new uploads. A request joining a
+ * queued pre-generation raises its priority.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class VFSThumbnailGenerator {
+	
+	private static final Logger log = Tracing.createLoggerFor(VFSThumbnailGenerator.class);
+	
+	private final int maxQueueSize;
+	private final ThreadPoolExecutor executor;
+	private final ConcurrentMap<String,ThumbnailTask> inFlight = new ConcurrentHashMap<>();
+	
+	private final long startTime = System.nanoTime();
+	private final AtomicLong sequence = new AtomicLong();
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+	private final LongAdder generated = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder generationTime = new LongAdder();
+	
+	/**
+	 * @param poolSize The number of threads generating the thumbnails
+	 * @param maxQueueSize The max. number of thumbnails waiting to be generated
+	 */
+	public VFSThumbnailGenerator(int poolSize, int maxQueueSize) {
+		this.maxQueueSize = Math.max(1, maxQueueSize);
+		int threads = Math.max(1, poolSize);
+		executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new PriorityBlockingQueue<>(), new ThumbnailThreadFactory());
+	}
+	
+	/**
+	 * Generate the thumbnail or join the generation already running for the
+	 * same key. If the joined generation is still queued with a lower priority,
+	 * it's queued again with the priority of the request. If the queue is full,
+	 * the request is dropped and the future is completed immediately with null.
+	 * 
+	 * @param key The key of the thumbnail (file, size and fill)
+	 * @param priority The priority
+	 * @param generator The generator, must commit its work before returning
+	 * @return A future which is completed with the thumbnail or null
+	 */
+	public CompletableFuture<VFSLeaf> generate(String key, Priority priority, Supplier<VFSLeaf> generator) {
+		requests.increment();
+		
+		ThumbnailTask task = new ThumbnailTask(key, priority, sequence.incrementAndGet(), generator);
+		ThumbnailTask currentTask = inFlight.putIfAbsent(key, task);
+		if(currentTask != null) {
+			coalesced.increment();
+			if(priority.compareTo(currentTask.priority) < 0) {
+				escalate(currentTask, priority);
+			}
+			return currentTask.future();
+		}
+		
+		if(executor.getQueue().size() >= maxQueueSize) {
+			// the generator closes the database session, never run it in the calling thread
+			rejected.increment();
+			inFlight.remove(key, task);
+			task.future().complete(null);
+		} else {
+			executor.execute(task);
+		}
+		return task.future();
+	}
+	
+	private void escalate(ThumbnailTask task, Priority priority) {
+		synchronized(task) {
+			// only a task waiting in the queue, the running ones are not removed
+			if(priority.compareTo(task.priority) < 0 && executor.getQueue().remove(task)) {
+				task.priority = priority;
+				executor.execute(task);
+			}
+		}
+	}
+	
+	public VFSThumbnailGeneratorStatistics getStatistics() {
+		long numOfGenerated = generated.sum();
+		long duration = System.nanoTime() - startTime;
+		double throughput = duration <= 0 ? 0.0d : (numOfGenerated * 1000000000.0d) / duration;
+		double averageTime = numOfGenerated == 0 ? 0.0d : (generationTime.sum() / 1000000.0d) / numOfGenerated;
+		return new VFSThumbnailGeneratorStatistics(requests.sum(), coalesced.sum(), numOfGenerated,
+				failed.sum(), rejected.sum(), executor.getQueue().size(), inFlight.size(), averageTime, throughput);
+	}
+	
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+	
+	public enum Priority {
+		/** A user is waiting for the thumbnail */
+		REQUEST,
+		/** Thumbnails of new uploads */
+		PREGENERATION
+	}
+	
+	private class ThumbnailTask implements Runnable, Comparable<ThumbnailTask> {
+		
+		private final String key;
+		private final long order;
+		private volatile Priority priority;
+		private final Supplier<VFSLeaf> generator;
+		private final CompletableFuture<VFSLeaf> future = new CompletableFuture<>();
+		
+		public ThumbnailTask(String key, Priority priority, long order, Supplier<VFSLeaf> generator) {
+			this.key = key;
+			this.order = order;
+			this.priority = priority;
+			this.generator = generator;
+		}
+		
+		public CompletableFuture<VFSLeaf> future() {
+			return future;
+		}
+
+		@Override
+		public void run() {
+			long start = System.nanoTime();
+			try {
+				VFSLeaf thumbnail = generator.get();
+				generated.increment();
+				future.complete(thumbnail);
+			} catch (Exception e) {
+				failed.increment();
+				log.error("Cannot generate thumbnail: {}", key, e);
+				future.complete(null);
+			} finally {
+				generationTime.add(System.nanoTime() - start);
+				inFlight.remove(key, this);
+			}
+		}
+
+		@Override
+		public int compareTo(ThumbnailTask o) {
+			int c = priority.compareTo(o.priority);
+			if(c == 0) {
+				c = Long.compare(order, o.order);
+			}
+			return c;
+		}
+	}
+	
+	private static class ThumbnailThreadFactory implements ThreadFactory {
+		
+		private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "vfs-thumbnail-" + threadNumber.getAndIncrement());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
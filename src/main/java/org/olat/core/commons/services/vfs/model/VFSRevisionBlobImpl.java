@@ -0,0 +1,158 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.commons.services.vfs.model;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+import org.olat.core.id.CreateInfo;
+import org.olat.core.id.Persistable;
+
+/**
+ * The content of one or more revisions, stored once in the blob store
+ * and addressed by its SHA-256 hash. The blob is referenced by the
+ * revisions and deleted with the last of them.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@Entity(name="vfsrevisionblob")
+@Table(name="o_vfs_revision_blob")
+public class VFSRevisionBlobImpl implements Persistable, CreateInfo {
+
+	private static final long serialVersionUID = -3906384416416431541L;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name="id", nullable=false, unique=true, insertable=true, updatable=false)
+	private Long key;
+	
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(name="creationdate", nullable=false, insertable=true, updatable=false)
+	private Date creationDate;
+
+	@Column(name="f_hash", nullable=false, insertable=true, updatable=false)
+	private String hash;
+	@Column(name="f_size", nullable=false, insertable=true, updatable=false)
+	private long size;
+	@Column(name="f_stored_size", nullable=false, insertable=true, updatable=true)
+	private long storedSize;
+	@Enumerated(EnumType.STRING)
+	@Column(name="f_encoding", nullable=false, insertable=true, updatable=true)
+	private Encoding encoding;
+	
+	@Override
+	public Long getKey() {
+		return key;
+	}
+	
+	public void setKey(Long key) {
+		this.key = key;
+	}
+
+	@Override
+	public Date getCreationDate() {
+		return creationDate;
+	}
+
+	public void setCreationDate(Date creationDate) {
+		this.creationDate = creationDate;
+	}
+
+	/**
+	 * @return The SHA-256 hash of the content, hex encoded
+	 */
+	public String getHash() {
+		return hash;
+	}
+
+	public void setHash(String hash) {
+		this.hash = hash;
+	}
+
+	/**
+	 * @return The size of the content
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	public void setSize(long size) {
+		this.size = size;
+	}
+
+	/**
+	 * @return The size of the content on the disk
+	 */
+	public long getStoredSize() {
+		return storedSize;
+	}
+
+	public void setStoredSize(long storedSize) {
+		this.storedSize = storedSize;
+	}
+
+	public Encoding getEncoding() {
+		return encoding;
+	}
+
+	public void setEncoding(Encoding encoding) {
+		this.encoding = encoding;
+	}
+
+	@Override
+	public int hashCode() {
+		return getKey() == null ? 73649 : getKey().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(obj == this) {
+			return true;
+		}
+		if(obj instanceof VFSRevisionBlobImpl blob) {
+			return getKey() != null && getKey().equals(blob.getKey());
+		}
+		return super.equals(obj);
+	}
+
+	@Override
+	public boolean equalsByPersistableKey(Persistable persistable) {
+		return equals(persistable);
+	}
+	
+	public enum Encoding {
+		/** The content is stored as is */
+		none,
+		/** The content is compressed with gzip */
+		gzip
+	}
+}
@@ -124,6 +124,9 @@ public class VFSRevisionImpl implements Persistable, VFSRevision {
 	@ManyToOne(targetEntity=VFSMetadataImpl.class,fetch=FetchType.LAZY,optional=false)
 	@JoinColumn(name="fk_metadata", nullable=false, insertable=true, updatable=false)
 	private VFSMetadata metadata;
+	@ManyToOne(targetEntity=VFSRevisionBlobImpl.class,fetch=FetchType.LAZY,optional=true)
+	@JoinColumn(name="fk_blob", nullable=true, insertable=true, updatable=true)
+	private VFSRevisionBlobImpl blob;
 	
 	
 	@Override
@@ -352,6 +355,18 @@ public class VFSRevisionImpl implements Persistable, VFSRevision {
 	public void setMetadata(VFSMetadata metadata) {
 		this.metadata = metadata;
 	}
+
+	/**
+	 * @return The blob with the content of the revision or null if the
+	 * 		content is stored in a file next to the original file
+	 */
+	public VFSRevisionBlobImpl getBlob() {
+		return blob;
+	}
+
+	public void setBlob(VFSRevisionBlobImpl blob) {
+		this.blob = blob;
+	}
 	
 	public void copyValues(VFSMetadata fromMeta) {
 		setComment(fromMeta.getComment());
@@ -0,0 +1,43 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.commons.services.vfs.model;
+
+/**
+ * Metrics of the asynchronous generation of thumbnails since
+ * the start of the node.
+ * 
+ * @param requests The number of requests for a thumbnail to generate
+ * @param coalesced The number of requests which joined a running generation
+ * @param generated The number of generations
+ * @param failed The number of generations which failed with an exception
+ * @param rejected The number of requests which found the queue full
+ * @param queueDepth The number of thumbnails waiting to be generated
+ * @param inProgress The number of thumbnails waiting or in generation
+ * @param averageTime The average generation time in milliseconds
+ * @param throughput The number of generations per second
+ *
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public record VFSThumbnailGeneratorStatistics(long requests, long coalesced, long generated, long failed,
+		long rejected, int queueDepth, int inProgress, double averageTime, double throughput) {
+	//
+}
@@ -27,6 +27,7 @@ import org.olat.core.commons.modules.bc.FolderConfig;
 import org.olat.core.commons.services.taskexecutor.TaskExecutorManager;
 import org.olat.core.commons.services.vfs.VFSRepositoryService;
 import org.olat.core.commons.services.vfs.VFSStatistics;
+import org.olat.core.commons.services.vfs.model.VFSThumbnailGeneratorStatistics;
 import org.olat.core.commons.services.vfs.ui.management.VFSOverviewTableModel.VFSOverviewColumns;
 import org.olat.core.gui.UserRequest;
 import org.olat.core.gui.components.Component;
@@ -107,6 +108,11 @@ public class VFSOverviewController extends FormBasicController {
 		}
 
 		vfsOverviewTableModel.setFooter(new VFSOverviewTableFooterRow("vfs.overview.total", amount, size, ""));
+		
+		VFSThumbnailGeneratorStatistics thumbnailStats = vfsRepositoryService.getThumbnailGeneratorStatistics();
+		flc.contextPut("thumbnailStatistics", thumbnailStats);
+		flc.contextPut("thumbnailAverageTime", String.format(getLocale(), "%.1f", thumbnailStats.averageTime()));
+		flc.contextPut("thumbnailThroughput", String.format(getLocale(), "%.2f", thumbnailStats.throughput()));
 	}
 
 	@Override
@@ -19,9 +19,7 @@
  */
 package org.olat.core.commons.services.vfs.ui.media;
 
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.InputStream;
 import java.util.Date;
 
@@ -31,10 +29,11 @@ import org.olat.core.CoreSpringFactory;
 import org.olat.core.commons.services.vfs.VFSMetadata;
 import org.olat.core.commons.services.vfs.VFSRepositoryService;
 import org.olat.core.commons.services.vfs.VFSRevision;
+import org.olat.core.commons.services.vfs.model.VFSRevisionBlobImpl;
+import org.olat.core.commons.services.vfs.model.VFSRevisionBlobImpl.Encoding;
+import org.olat.core.commons.services.vfs.model.VFSRevisionImpl;
 import org.olat.core.gui.media.MediaResource;
 import org.olat.core.gui.media.ServletUtil;
-import org.apache.logging.log4j.Logger;
-import org.olat.core.logging.Tracing;
 import org.olat.core.util.StringHelper;
 import org.olat.core.util.WebappHelper;
 import org.olat.core.util.vfs.VFSStatus;
@@ -48,7 +47,6 @@ import org.olat.core.util.vfs.VFSStatus;
 public class VFSRevisionMediaResource implements MediaResource {
 	
 	private static final String MIME_TYPE_OCTET_STREAM = "application/octet-stream";
-	private static final Logger log = Tracing.createLoggerFor(VFSRevisionMediaResource.class);
 
 	private final VFSRevision revision;
 	private final VFSMetadata metadata;
@@ -79,14 +77,7 @@ public class VFSRevisionMediaResource implements MediaResource {
 
 	@Override
 	public InputStream getInputStream() {
-		File revFile = CoreSpringFactory.getImpl(VFSRepositoryService.class).getRevisionFile(revision);
-		InputStream in = null;
-		try {
-			in = new BufferedInputStream(new FileInputStream(revFile));
-		} catch(Exception e) {
-			log.error("", e);
-		}
-		return in;
+		return CoreSpringFactory.getImpl(VFSRepositoryService.class).getRevisionInputStream(revision);
 	}
 
 	@Override
@@ -95,6 +86,24 @@ public class VFSRevisionMediaResource implements MediaResource {
 		return lastModified == null ? null : Long.valueOf(lastModified.getTime());
 	}
 
+	@Override
+	public File getFile() {
+		VFSRevisionBlobImpl blob = ((VFSRevisionImpl)revision).getBlob();
+		if(blob != null && blob.getEncoding() != Encoding.none) {
+			return null;
+		}
+		return CoreSpringFactory.getImpl(VFSRepositoryService.class).getRevisionFile(revision);
+	}
+
+	@Override
+	public String getETag() {
+		VFSRevisionBlobImpl blob = ((VFSRevisionImpl)revision).getBlob();
+		if(blob != null) {
+			return "\"" + blob.getHash() + "\"";
+		}
+		return ServletUtil.getETag(getFile());
+	}
+
 	@Override
 	public Long getSize() {
 		long size = revision.getSize();
@@ -31,6 +31,7 @@ import org.olat.core.commons.services.vfs.VFSMetadataRef;
 import org.olat.core.commons.services.vfs.VFSRepositoryService;
 import org.olat.core.commons.services.vfs.VFSRevision;
 import org.olat.core.commons.services.vfs.VFSVersionModule;
+import org.olat.core.commons.services.vfs.model.VFSRevisionsSize;
 import org.olat.core.gui.UserRequest;
 import org.olat.core.gui.components.form.flexible.FormItem;
 import org.olat.core.gui.components.form.flexible.FormItemContainer;
@@ -173,8 +174,9 @@ public class AdminConfigurationController extends FormBasicController implements
 	}
 
 	private void updateVersionsUI() {
-		long versionsSize = vfsRepositoryService.getRevisionsTotalSize();
-		versionsSizeEl.setValue(Formatter.formatBytes(versionsSize));
+		VFSRevisionsSize versionsSize = vfsRepositoryService.getRevisionsTotalSize();
+		versionsSizeEl.setValue(translate("version.size.value", Formatter.formatBytes(versionsSize.logicalSize()),
+				Formatter.formatBytes(versionsSize.physicalSize())));
 	}
 
 	private void updateVersioningUI() {
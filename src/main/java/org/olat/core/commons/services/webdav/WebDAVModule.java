@@ -78,6 +78,11 @@ public class WebDAVModule extends AbstractSpringModule implements ConfigOnOff {
 	 */
 	@Value("${webdav.learners.participatingCourses.enabled:true}")
 	private boolean enableLearnersParticipatingCourses;
+	/**
+	 * Time in seconds the responses of PROPFIND are cached in the session, 0 to disable
+	 */
+	@Value("${webdav.propfind.cache.seconds:0}")
+	private int propfindCacheSeconds;
 	
 	@Autowired
 	public WebDAVModule(CoordinatorManager coordinatorManager) {
@@ -243,6 +248,10 @@ public class WebDAVModule extends AbstractSpringModule implements ConfigOnOff {
 		}
 	}
 
+	public int getPropfindCacheSeconds() {
+		return propfindCacheSeconds;
+	}
+
 	/**
 	 * Return an unmodifiable map
 	 * @return
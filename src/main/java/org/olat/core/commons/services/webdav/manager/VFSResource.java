@@ -26,6 +26,7 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Date;
 
 import org.olat.core.CoreSpringFactory;
+import org.olat.core.commons.services.vfs.VFSMetadata;
 import org.olat.core.commons.services.vfs.VFSRepositoryService;
 import org.olat.core.commons.services.webdav.servlets.ConcurrentDateFormat;
 import org.olat.core.commons.services.webdav.servlets.WebResource;
@@ -49,6 +50,7 @@ public class VFSResource implements WebResource {
 	private final VFSItem item;
 	private final String path;
 	private String mimeType;
+	private VFSMetadata metadata;
     private volatile String weakETag;
 
 	public VFSResource(VFSItem item, String path) {
@@ -64,6 +66,18 @@ public class VFSResource implements WebResource {
 	public VFSItem getItem() {
 		return item;
 	}
+	
+	/**
+	 * @return The metadata loaded with the ones of the other items of
+	 * 		the directory, or null if not prefetched
+	 */
+	public VFSMetadata getMetadata() {
+		return metadata;
+	}
+
+	public void setMetadata(VFSMetadata metadata) {
+		this.metadata = metadata;
+	}
 
 	@Override
 	public long getLastModified() {
@@ -19,11 +19,16 @@
  */
 package org.olat.core.commons.services.webdav.manager;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.Logger;
 import org.olat.core.CoreSpringFactory;
@@ -35,12 +40,14 @@ import org.olat.core.commons.services.license.ui.LicenseUIFactory;
 import org.olat.core.commons.services.notifications.NotificationsManager;
 import org.olat.core.commons.services.notifications.SubscriptionContext;
 import org.olat.core.commons.services.vfs.VFSMetadata;
+import org.olat.core.commons.services.vfs.VFSMetadataItem;
 import org.olat.core.commons.services.vfs.VFSRepositoryService;
 import org.olat.core.commons.services.webdav.servlets.WebResource;
 import org.olat.core.commons.services.webdav.servlets.WebResourceRoot;
 import org.olat.core.id.Identity;
 import org.olat.core.logging.Tracing;
 import org.olat.core.util.FileUtils;
+import org.olat.core.util.vfs.LocalImpl;
 import org.olat.core.util.vfs.Quota;
 import org.olat.core.util.vfs.QuotaExceededException;
 import org.olat.core.util.vfs.VFSContainer;
@@ -136,6 +143,56 @@ public class VFSResourceRoot implements WebResourceRoot  {
 		}
 	}
 
+	@Override
+	public List<WebResource> listResources(String path) {
+		VFSItem file = resolveFile(path);
+		if(!(file instanceof VFSContainer container)) {
+			return Collections.emptyList();
+		}
+		
+		String parentPath = path.endsWith("/") ? path : path + "/";
+		List<VFSItem> items = container.getItems(new WebDAVFileSystemFilter());
+		List<WebResource> resources = new ArrayList<>(items.size());
+		Map<File,List<VFSResource>> directories = new HashMap<>();
+		for(VFSItem item:items) {
+			VFSResource resource = new VFSResource(item, parentPath + item.getName());
+			resources.add(resource);
+			if(item instanceof VFSMetadataItem metadataItem) {
+				resource.setMetadata(metadataItem.getMetaInfo());
+			} else if(item instanceof LocalImpl localItem && item.canMeta() == VFSStatus.YES) {
+				directories.computeIfAbsent(localItem.getBasefile().getParentFile(), dir -> new ArrayList<>())
+					.add(resource);
+			}
+		}
+		
+		if(!directories.isEmpty()) {
+			prefetchMetadata(directories);
+		}
+		return resources;
+	}
+	
+	/**
+	 * Load the metadata of the resources with one query per directory.
+	 * 
+	 * @param directories The resources grouped by their directory
+	 */
+	private void prefetchMetadata(Map<File,List<VFSResource>> directories) {
+		VFSRepositoryService vfsRepositoryService = CoreSpringFactory.getImpl(VFSRepositoryService.class);
+		for(Map.Entry<File,List<VFSResource>> directory:directories.entrySet()) {
+			List<VFSMetadata> metadatas = vfsRepositoryService.getChildren(directory.getKey());
+			Map<String,VFSMetadata> filenameToMetadata = new HashMap<>();
+			for(VFSMetadata metadata:metadatas) {
+				if(!metadata.isDeleted()) {
+					filenameToMetadata.put(metadata.getFilename(), metadata);
+				}
+			}
+			for(VFSResource resource:directory.getValue()) {
+				LocalImpl localItem = (LocalImpl)resource.getItem();
+				resource.setMetadata(filenameToMetadata.get(localItem.getBasefile().getName()));
+			}
+		}
+	}
+
 	@Override
 	public boolean mkdir(String path) {
 		//remove trailing /
@@ -0,0 +1,162 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.commons.services.webdav.servlets;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of the multistatus responses to the PROPFIND with depth 0 and 1 of
+ * a user session. Clients like the Windows Explorer or the sync clients
+ * repeat the same PROPFIND every few seconds. Every response is saved with
+ * the change stamp of the resource (last modification of the resource and,
+ * for a collection, the number, the sizes and the last modification of its
+ * children). A cached response is only sent if the stamp is unchanged, the
+ * changes of the files made by other users, in the web interface or on other
+ * nodes are visible at once. The stamp doesn't see the changes of the
+ * metadata and of the locks of the children, the responses expire after a
+ * short time, and all of them are dropped when the session changes something
+ * with WebDAV.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+final class PropfindCache {
+	
+	static final int MAX_RESPONSES = 32;
+	static final int MAX_RESPONSE_LENGTH = 64 * 1024;
+	
+	private final long timeToLive;
+	private final Map<String,CachedResponse> responses = new LinkedHashMap<>(MAX_RESPONSES, 0.75f, true);
+	
+	/**
+	 * @param timeToLive The time to live of the responses in milliseconds
+	 */
+	PropfindCache(long timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+	
+	static String key(String href, int depth, int type, List<String> properties) {
+		StringBuilder sb = new StringBuilder(href.length() + 64);
+		sb.append(depth).append(':').append(type).append(':');
+		if(properties != null) {
+			sb.append(properties);
+		}
+		return sb.append(':').append(href).toString();
+	}
+	
+	/**
+	 * @param key The key of the request
+	 * @param stamp The current change stamp of the resource
+	 * @return The response or null if not cached, expired or changed
+	 */
+	synchronized String get(String key, String stamp) {
+		CachedResponse cached = responses.get(key);
+		if(cached == null) {
+			return null;
+		}
+		if(cached.expiresAt() < System.currentTimeMillis() || !cached.stamp().equals(stamp)) {
+			responses.remove(key);
+			return null;
+		}
+		return cached.response();
+	}
+	
+	synchronized void put(String key, String stamp, String response) {
+		responses.put(key, new CachedResponse(response, stamp, System.currentTimeMillis() + timeToLive));
+		if(responses.size() > MAX_RESPONSES) {
+			// the access order is maintained, the first is the least recently used
+			Iterator<String> it = responses.keySet().iterator();
+			it.next();
+			it.remove();
+		}
+	}
+	
+	synchronized void clear() {
+		responses.clear();
+	}
+	
+	private record CachedResponse(String response, String stamp, long expiresAt) {
+		//
+	}
+	
+	/**
+	 * Write the response to the client and keep a copy of it as long
+	 * as it's small enough to be cached.
+	 * 
+	 * Initial date: 17 oct. 2026<br>
+	 * @author agent, agent@local
+	 *
+	 */
+	static class CapturingWriter extends Writer {
+		
+		private final Writer delegate;
+		private StringBuilder captured = new StringBuilder(4096);
+		
+		CapturingWriter(Writer delegate) {
+			this.delegate = delegate;
+		}
+		
+		/**
+		 * @return The whole response or null if it was too long
+		 */
+		String getCaptured() {
+			return captured == null ? null : captured.toString();
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			delegate.write(cbuf, off, len);
+			if(capture(len)) {
+				captured.append(cbuf, off, len);
+			}
+		}
+
+		@Override
+		public void write(String str, int off, int len) throws IOException {
+			delegate.write(str, off, len);
+			if(capture(len)) {
+				captured.append(str, off, off + len);
+			}
+		}
+		
+		private boolean capture(int len) {
+			if(captured != null && captured.length() + len > MAX_RESPONSE_LENGTH) {
+				captured = null;
+			}
+			return captured != null;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			delegate.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			delegate.close();
+		}
+	}
+}
@@ -62,6 +62,7 @@ import org.olat.core.util.StringHelper;
 import org.olat.core.util.UserSession;
 import org.olat.core.util.vfs.QuotaExceededException;
 import org.olat.core.util.vfs.VFSItem;
+import org.olat.core.util.vfs.VFSLeaf;
 import org.olat.core.util.vfs.lock.LockInfo;
 import org.olat.core.util.vfs.lock.LockResult;
 import org.olat.core.util.vfs.lock.VFSLockManagerImpl;
@@ -162,6 +163,8 @@ public class WebDAVDispatcherImpl
     private static final String METHOD_OPTIONS = "OPTIONS";
     private static final String METHOD_POST = "POST";
     private static final String METHOD_PUT = "PUT";
+    
+    private static final String PROPFIND_CACHE = "_WEBDAV_PROPFIND_CACHE";
 
     /**
      * PROPFIND - Specify a property mask.
@@ -322,7 +325,28 @@ public class WebDAVDispatcherImpl
         
         if (method.equals(METHOD_PROPFIND)) {
             doPropfind(req, resp);
-        } else if (method.equals(METHOD_PROPPATCH)) {
+        } else if (method.equals(METHOD_GET)) {
+            doGet(req, resp);
+        } else if (method.equals(METHOD_HEAD)) {
+            doHead(req, resp);
+        } else if (method.equals(METHOD_OPTIONS)) {
+            doOptions(req,resp);
+        } else {
+            try {
+                doModification(method, req, resp);
+            } finally {
+                // the session changed something, the cached responses are outdated
+                PropfindCache propfindCache = getPropfindCache(req, false);
+                if(propfindCache != null) {
+                    propfindCache.clear();
+                }
+            }
+        }
+    }
+    
+    private void doModification(String method, HttpServletRequest req, HttpServletResponse resp)
+    throws ServletException, IOException {
+        if (method.equals(METHOD_PROPPATCH)) {
             doProppatch(req, resp);
         } else if (method.equals(METHOD_MKCOL)) {
             doMkcol(req, resp);
@@ -334,20 +358,38 @@ public class WebDAVDispatcherImpl
             doLock(req, resp);
         } else if (method.equals(METHOD_UNLOCK)) {
             doUnlock(req, resp);
-        } else if (method.equals(METHOD_GET)) {
-            doGet(req, resp);
-        } else if (method.equals(METHOD_HEAD)) {
-            doHead(req, resp);
         } else if (method.equals(METHOD_POST)) {
             doPost(req, resp);
         } else if (method.equals(METHOD_PUT)) {
             doPut(req, resp);
         } else if (method.equals(METHOD_DELETE)) {
             doDelete(req, resp);
-        } else if (method.equals(METHOD_OPTIONS)) {
-            doOptions(req,resp);  
         }
     }
+    
+    /**
+     * @param req The request
+     * @param create Create the cache if the session doesn't have one
+     * @return The cache of PROPFIND responses of the user session or null if disabled
+     */
+    private PropfindCache getPropfindCache(HttpServletRequest req, boolean create) {
+        int timeToLive = webDAVModule.getPropfindCacheSeconds();
+        UserSession usess = webDAVManager.getUserSession(req);
+        if(timeToLive <= 0 || usess == null || usess.getIdentity() == null) {
+            return null;
+        }
+        
+        Object cache = usess.getEntry(PROPFIND_CACHE);
+        if(cache instanceof PropfindCache propfindCache) {
+            return propfindCache;
+        }
+        if(!create) {
+            return null;
+        }
+        PropfindCache propfindCache = new PropfindCache(timeToLive * 1000l);
+        Object currentCache = usess.putEntryIfAbsent(PROPFIND_CACHE, propfindCache);
+        return currentCache instanceof PropfindCache current ? current : propfindCache;
+    }
 
 
     /**
@@ -570,6 +612,22 @@ public class WebDAVDispatcherImpl
         WebResourceRoot resources = getResources(req);
         WebResource resource = resources.getResource(path);
 
+        // The responses depend on the path, the requested properties and the base of the href
+        PropfindCache propfindCache = depth <= 1 && resource.exists() ? getPropfindCache(req, true) : null;
+        String cacheKey = null;
+        String cacheStamp = null;
+        if (propfindCache != null) {
+            cacheKey = PropfindCache.key(req.getContextPath() + req.getServletPath() + path, depth, type, properties);
+            cacheStamp = getChangeStamp(resources, resource, depth);
+            String cachedResponse = propfindCache.get(cacheKey, cacheStamp);
+            if (cachedResponse != null) {
+                resp.setStatus(WebdavStatus.SC_MULTI_STATUS);
+                resp.setContentType("text/xml; charset=UTF-8");
+                resp.getWriter().write(cachedResponse);
+                return;
+            }
+        }
+
         if (!resource.exists()) {
             int slash = path.lastIndexOf('/');
             if (slash != -1) {
@@ -605,47 +663,39 @@ public class WebDAVDispatcherImpl
         resp.setContentType("text/xml; charset=UTF-8");
 
         // Create multistatus object
-        XMLWriter generatedXML = new XMLWriter(resp.getWriter());
+        PropfindCache.CapturingWriter capturingWriter = cacheKey == null
+                ? null : new PropfindCache.CapturingWriter(resp.getWriter());
+        XMLWriter generatedXML = new XMLWriter(capturingWriter == null ? resp.getWriter() : capturingWriter);
         generatedXML.writeXMLHeader();
 
         generatedXML.writeElement("D", DEFAULT_NAMESPACE, "multistatus", XMLWriter.OPENING);
 
         if (depth == 0) {
-            parseProperties(req, generatedXML, path, type,
-                            properties);
+            parseProperties(req, generatedXML, resource, type, properties);
         } else {
             // The stack always contains the object of the current level
-            Stack<String> stack = new Stack<>();
-            stack.push(path);
+            Stack<WebResource> stack = new Stack<>();
+            stack.push(resource);
 
             // Stack of the objects one level below
-            Stack<String> stackBelow = new Stack<>();
+            Stack<WebResource> stackBelow = new Stack<>();
 
             while ((!stack.isEmpty()) && (depth >= 0)) {
 
-                final String currentPath = stack.pop();
-                parseProperties(req, generatedXML, currentPath, type, properties);
-
-                resource = resources.getResource(currentPath);
+                resource = stack.pop();
+                parseProperties(req, generatedXML, resource, type, properties);
 
                 if (resource.isDirectory() && (depth > 0)) {
 
-                    Collection<VFSItem> entries = resources.list(currentPath);
-                    for (VFSItem entry : entries) {
-                        String newPath = currentPath;
-                        if (!(newPath.endsWith("/")))
-                                newPath += "/";
-                        newPath += entry.getName();
-                        stackBelow.push(newPath);
+                    // The children are not resolved again from the root and their
+                    // metadata are loaded at once
+                    List<WebResource> children = resources.listResources(resource.getPath());
+                    for (WebResource child : children) {
+                        stackBelow.push(child);
                     }
 
                     // Displaying the lock-null resources present in that
                     // collection
-                    String lockPath = currentPath;
-                    if (lockPath.endsWith("/")) {
-                        lockPath = lockPath.substring(0, lockPath.length() - 1);
-                    }
-                    
                     List<String> currentLockNullResources = lockManager.getLockNullResource(resource);
                     if (currentLockNullResources != null) {
                         for(String lockNullPath : currentLockNullResources) {
@@ -669,6 +719,40 @@ public class WebDAVDispatcherImpl
 
         generatedXML.sendData();
 
+        if (capturingWriter != null && capturingWriter.getCaptured() != null) {
+            propfindCache.put(cacheKey, cacheStamp, capturingWriter.getCaptured());
+        }
+    }
+    
+    /**
+     * The change stamp of a resource: its last modification and, for a collection
+     * listed with depth 1, the number, the total size and the last modification of
+     * its children and its lock-null resources. The children are listed without
+     * their metadata.
+     */
+    private String getChangeStamp(WebResourceRoot resources, WebResource resource, int depth) {
+        StringBuilder sb = new StringBuilder(64);
+        sb.append(resource.getLastModified());
+        if (resource.isFile()) {
+            sb.append(':').append(resource.getContentLength());
+        } else if (depth > 0) {
+            int count = 0;
+            long size = 0l;
+            long lastModified = 0l;
+            for (VFSItem item : resources.list(resource.getPath())) {
+                count++;
+                lastModified = Math.max(lastModified, item.getLastModified());
+                if (item instanceof VFSLeaf leaf) {
+                    size += leaf.getSize();
+                }
+            }
+            sb.append(':').append(count).append(':').append(size).append(':').append(lastModified);
+            List<String> lockNullResources = lockManager.getLockNullResource(resource);
+            if (lockNullResources != null) {
+                sb.append(':').append(lockNullResources);
+            }
+        }
+        return sb.toString();
     }
 
 
@@ -1984,7 +2068,29 @@ public class WebDAVDispatcherImpl
             return;
 
         final WebResourceRoot resources = getResources(req);
-        final WebResource resource = resources.getResource(path);
+        parseProperties(req, generatedXML, resources.getResource(path), type, propertiesVector);
+    }
+
+    /**
+     * Propfind helper method.
+     *
+     * @param req The servlet request
+     * @param generatedXML XML response to the Propfind request
+     * @param resource The current resource
+     * @param type Propfind type
+     * @param propertiesVector If the propfind type is find properties by
+     * name, then this Vector contains those properties
+     */
+    private void parseProperties(HttpServletRequest req,
+                                 XMLWriter generatedXML,
+                                 final WebResource resource, int type,
+                                 Vector<String> propertiesVector) {
+
+        final String path = resource.getPath();
+        // Exclude any resource in the /WEB-INF and /META-INF subdirectories
+        if (isSpecialPath(path))
+            return;
+
         if (!resource.exists()) {
             // File is in directory listing but doesn't appear to exist
             // Broken symlink or odd permission settings?
@@ -2486,13 +2592,6 @@ public class WebDAVDispatcherImpl
             wroteStart = true;
             generatedXML.writeElement("D", "lockdiscovery", XMLWriter.OPENING);
             resourceLock.toXML(generatedXML);
-        } else {
-        	LockInfo ooLock = lockManager.getLock(resource);
-        	if(ooLock != null) {
-        		wroteStart = true;
-        		generatedXML.writeElement("D", "lockdiscovery", XMLWriter.OPENING);
-        		ooLock.toXML(generatedXML);
-        	}
         }
 
         while (collectionLocksList.hasNext()) {
@@ -0,0 +1,53 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.components;
+
+/**
+ * A component which can be served from the fragment cache of the renderer
+ * as long as its version doesn't change. The rendered fragment is reused
+ * if the component and its children are not dirty, the versions of the
+ * cacheable children are unchanged and the URLs would be the same (same
+ * window and component timestamps).<br>
+ * The renderer of the component must not have any side effect (e.g. an
+ * asynchronous media responsible set in the render result).
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public interface CacheableComponent extends Component {
+	
+	/**
+	 * @return A version which changes if the rendered output changes or null
+	 *         if the component cannot be cached
+	 */
+	public String getRenderCacheVersion();
+	
+	/**
+	 * A shared fragment is reused across windows and users. The fragment
+	 * must not contain any URL, identifier or personal data and the component
+	 * cannot have children.
+	 * 
+	 * @return true if the fragment can be shared
+	 */
+	public default boolean isRenderCacheShared() {
+		return false;
+	}
+}
@@ -77,7 +77,9 @@ import org.olat.core.gui.media.AsyncMediaResponsible;
 import org.olat.core.gui.media.MediaResource;
 import org.olat.core.gui.media.RedirectMediaResource;
 import org.olat.core.gui.media.ServletUtil;
+import org.olat.core.gui.render.RenderFragmentCache;
 import org.olat.core.gui.render.RenderResult;
+import org.olat.core.gui.render.RenderStatistics;
 import org.olat.core.gui.render.Renderer;
 import org.olat.core.gui.render.StringOutput;
 import org.olat.core.gui.render.StringOutputPool;
@@ -197,6 +199,8 @@ public class Window extends AbstractComponent implements CustomCSSDelegate, Http
 	private final WindowBackOfficeImpl wbackofficeImpl;
 	// mutex for rendering
 	private final Object render_mutex = new Object();
+	// fragments of the cacheable components, used under the render mutex
+	private final RenderFragmentCache fragmentCache = new RenderFragmentCache(RenderFragmentCache.WINDOW_CACHE_SIZE);
 	// delegate for css and js includes
 	private final JSAndCSSAdderImpl jsAndCssAdder;
 	// the analytics service
@@ -871,6 +875,8 @@ public class Window extends AbstractComponent implements CustomCSSDelegate, Http
 						// if the timestamp of a request is outdated, simply jump to its bookmarked business control path.
 						URLBuilder ubu = new URLBuilder(uriPrefix, getInstanceId(), newTimestamp, csrfToken);
 						RenderResult renderResult = new RenderResult();
+						renderResult.setFragmentCache(fragmentCache);
+						renderResult.setProfiled(RenderStatistics.getInstance().sample());
 						
 						// if we have an around-component-interception
 						// set the handler for this render cycle
@@ -1061,6 +1067,8 @@ public class Window extends AbstractComponent implements CustomCSSDelegate, Http
 						// not offered (since not usability-useful) is the include of new js-libraries and css-libraries here, since this may invoke a screen reload
 						// which disturbes the user and lets him/her loose the focus and the cursor.
 						AsyncMediaResponsible amr = null;
+						// all the dirty components of the request are profiled or none
+						boolean profiled = RenderStatistics.getInstance().sample();
 	
 						long rstart = 0;
 						if (isDebugLog) {
@@ -1090,6 +1098,8 @@ public class Window extends AbstractComponent implements CustomCSSDelegate, Http
 								URLBuilder ubu = new URLBuilder(uriPrefix,getInstanceId(), newTimestamp, csrfToken);
 
 								renderResult = new RenderResult();
+								renderResult.setFragmentCache(fragmentCache);
+								renderResult.setProfiled(profiled);
 
 								// if we have an around-component-interception
 								// set the handler for this render cycle
@@ -34,6 +34,7 @@ import java.util.List;
 public abstract class DefaultFlexiTableDataModel<U> implements FlexiTableDataModel<U> {
 	private List<U> rows;
 	private FlexiTableColumnModel columnModel;
+	private FlexiTableSortCache sortCache;
 	
 	public DefaultFlexiTableDataModel(FlexiTableColumnModel columnModel) {
 		rows = new ArrayList<>();
@@ -60,6 +61,26 @@ public abstract class DefaultFlexiTableDataModel<U> implements FlexiTableDataMod
 	@Override
 	public void setObjects(List<U> objects) {
 		this.rows = new ArrayList<>(objects);
+		// only the rows just sorted with the cache can keep their sort keys
+		if(sortCache != null && !sortCache.isSortResult(objects)) {
+			sortCache = null;
+		}
+	}
+	
+	/**
+	 * Drop the precomputed sort keys, the values of the rows
+	 * may have changed.
+	 */
+	void clearSortCache() {
+		sortCache = null;
+	}
+	
+	FlexiTableSortCache getSortCache() {
+		return sortCache;
+	}
+	
+	void setSortCache(FlexiTableSortCache sortCache) {
+		this.sortCache = sortCache;
 	}
 	
 	@Override
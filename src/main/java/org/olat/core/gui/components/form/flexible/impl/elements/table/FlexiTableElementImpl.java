@@ -2510,6 +2510,10 @@ public class FlexiTableElementImpl extends FormItemImpl implements FlexiTableEle
 
 	@Override
 	public void reloadData() {
+		if(dataModel instanceof DefaultFlexiTableDataModel<?> defaultDataModel) {
+			// the rows can have been updated in place
+			defaultDataModel.clearSortCache();
+		}
 		if(dataSource != null) {
 			int firstResult = currentPage * getPageSize();
 			if(dataModel instanceof FlexiTableDataSource) {
@@ -0,0 +1,143 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.components.form.flexible.impl.elements.table;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The sort keys and the sorted permutations of the rows of a large
+ * table. The model drops the cache every time its rows are set, except
+ * the rows just sorted with the cache itself, and the table drops it
+ * every time its data are reloaded: the values of the rows can change
+ * without them being new objects. The cache only lives between the
+ * sorts requested by the user. The permutations are indexes in the rows
+ * as they were when the cache was created, rows with equal values are
+ * kept in this order.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+final class FlexiTableSortCache {
+	
+	private static final int MAX_COLUMNS = 4;
+	private static final int MAX_PERMUTATIONS = 8;
+	
+	private final Object[] rows;
+	private final Locale locale;
+	private final Map<Object,Integer> positions;
+	private List<?> sortResult;
+	private final Map<Integer,FlexiTableSortKeys> columnKeys = new LinkedHashMap<>(8, 0.75f, true) {
+		private static final long serialVersionUID = 8745622063419837450L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer,FlexiTableSortKeys> eldest) {
+			return size() > MAX_COLUMNS;
+		}
+	};
+	private final Map<String,int[]> permutations = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = -4174069734127584102L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String,int[]> eldest) {
+			return size() > MAX_PERMUTATIONS;
+		}
+	};
+	
+	FlexiTableSortCache(List<?> rows, Locale locale) {
+		this.rows = rows.toArray();
+		this.locale = locale;
+		positions = new IdentityHashMap<>(this.rows.length);
+		for(int i=0; i<this.rows.length; i++) {
+			positions.put(this.rows[i], Integer.valueOf(i));
+		}
+	}
+	
+	/**
+	 * The same object twice in the list cannot be mapped back to its position.
+	 * 
+	 * @return true if the rows can be cached
+	 */
+	boolean isCacheable() {
+		return positions.size() == rows.length;
+	}
+	
+	Object[] getRows() {
+		return rows;
+	}
+	
+	boolean isValidFor(Locale currentLocale) {
+		return Objects.equals(locale, currentLocale);
+	}
+	
+	/**
+	 * @param currentRows The rows of the model
+	 * @return true if the rows are the same objects, order doesn't matter
+	 */
+	boolean isValidFor(List<?> currentRows) {
+		if(currentRows.size() != rows.length) {
+			return false;
+		}
+		for(Object row:currentRows) {
+			if(!positions.containsKey(row)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * The sort result is only recognized once, the rows set a second
+	 * time are handled as updated rows.
+	 * 
+	 * @param objects The new rows of the model
+	 * @return true if the rows are the last ones sorted with this cache
+	 */
+	boolean isSortResult(List<?> objects) {
+		boolean result = sortResult == objects;
+		sortResult = null;
+		return result;
+	}
+	
+	void setSortResult(List<?> sorted) {
+		this.sortResult = sorted;
+	}
+	
+	FlexiTableSortKeys getColumnKeys(Integer column) {
+		return columnKeys.get(column);
+	}
+	
+	void putColumnKeys(Integer column, FlexiTableSortKeys keys) {
+		columnKeys.put(column, keys);
+	}
+	
+	int[] getPermutation(String signature) {
+		return permutations.get(signature);
+	}
+	
+	void putPermutation(String signature, int[] permutation) {
+		permutations.put(signature, permutation);
+	}
+}
@@ -0,0 +1,209 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.components.form.flexible.impl.elements.table;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Date;
+
+/**
+ * The sort keys of a column, computed once per row: collation keys for the
+ * strings, primitives for the dates, numbers and booleans. The comparison
+ * follows the rules of the default comparator of the
+ * {@link SortableFlexiTableModelDelegate}: null first, strings with the
+ * collator, dates by time, then comparable and the string representation.
+ * Columns with mixed types fall back to the comparison of the values.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+final class FlexiTableSortKeys {
+	
+	private enum Kind {
+		EMPTY,
+		STRING,
+		DATE,
+		INTEGER,
+		BOOLEAN,
+		DOUBLE,
+		OBJECT
+	}
+	
+	private final Kind kind;
+	private final boolean[] nulls;
+	private final CollationKey[] strings;
+	private final long[] longs;
+	private final double[] doubles;
+	private final Object[] objects;
+	private final Collator collator;
+	
+	private FlexiTableSortKeys(Kind kind, Object[] values, Collator collator) {
+		this.kind = kind;
+		this.collator = collator;
+		
+		int numOfRows = values.length;
+		nulls = new boolean[numOfRows];
+		strings = kind == Kind.STRING ? new CollationKey[numOfRows] : null;
+		longs = kind == Kind.DATE || kind == Kind.INTEGER || kind == Kind.BOOLEAN ? new long[numOfRows] : null;
+		doubles = kind == Kind.DOUBLE ? new double[numOfRows] : null;
+		objects = kind == Kind.OBJECT ? values : null;
+		
+		for(int i=0; i<numOfRows; i++) {
+			Object value = values[i];
+			if(value == null) {
+				nulls[i] = true;
+				continue;
+			}
+			switch(kind) {
+				case STRING: strings[i] = collator.getCollationKey((String)value); break;
+				case DATE: longs[i] = ((Date)value).getTime(); break;
+				case INTEGER: longs[i] = ((Number)value).longValue(); break;
+				case BOOLEAN: longs[i] = ((Boolean)value).booleanValue() ? 1l : 0l; break;
+				case DOUBLE: doubles[i] = ((Number)value).doubleValue(); break;
+				default: break;
+			}
+		}
+	}
+	
+	/**
+	 * @param values The values of the column, one per row
+	 * @param collator The collator for the strings
+	 * @return The keys
+	 */
+	static FlexiTableSortKeys valueOf(Object[] values, Collator collator) {
+		Kind kind = Kind.EMPTY;
+		for(Object value:values) {
+			if(value != null) {
+				Kind valueKind = kindOf(value);
+				if(kind == Kind.EMPTY) {
+					kind = valueKind;
+				} else if(kind != valueKind) {
+					kind = Kind.OBJECT;
+					break;
+				}
+			}
+		}
+		return new FlexiTableSortKeys(kind, values, collator);
+	}
+	
+	private static Kind kindOf(Object value) {
+		if(value instanceof String) {
+			return Kind.STRING;
+		}
+		if(value instanceof Date) {
+			return Kind.DATE;
+		}
+		if(value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			return Kind.INTEGER;
+		}
+		if(value instanceof Boolean) {
+			return Kind.BOOLEAN;
+		}
+		if(value instanceof Double || value instanceof Float) {
+			return Kind.DOUBLE;
+		}
+		return Kind.OBJECT;
+	}
+	
+	/**
+	 * @param a The index of the first row
+	 * @param b The index of the second row
+	 * @return The comparison of the two rows
+	 */
+	int compare(int a, int b) {
+		if(nulls[a] || nulls[b]) {
+			// null first
+			return nulls[a] ? (nulls[b] ? 0 : -1) : 1;
+		}
+		switch(kind) {
+			case STRING: return strings[a].compareTo(strings[b]);
+			case DATE, INTEGER, BOOLEAN: return Long.compare(longs[a], longs[b]);
+			case DOUBLE: return Double.compare(doubles[a], doubles[b]);
+			case OBJECT: return compareObjects(objects[a], objects[b]);
+			default: return 0;
+		}
+	}
+	
+	private int compareObjects(Object val1, Object val2) {
+		if (val1 instanceof String s1 && val2 instanceof String s2) {
+			return collator.compare(s1, s2);
+		}
+		if(val1 instanceof Date d1 && val2 instanceof Date d2) {
+			return Long.compare(d1.getTime(), d2.getTime());
+		}
+		if (val1 instanceof Comparable c1 && val2 instanceof Comparable c2) {
+			@SuppressWarnings("unchecked")
+			int s = c1.compareTo(c2);
+			return s;
+		}
+		return val1.toString().compareTo(val2.toString());
+	}
+	
+	/**
+	 * Stable merge sort of an array of row indexes.
+	 * 
+	 * @param indexes The indexes to sort
+	 * @param comparator The comparator of the rows
+	 */
+	static void sort(int[] indexes, IndexComparator comparator) {
+		int[] aux = indexes.clone();
+		mergeSort(aux, indexes, 0, indexes.length, comparator);
+	}
+	
+	private static void mergeSort(int[] src, int[] dest, int low, int high, IndexComparator comparator) {
+		int length = high - low;
+		if (length < 7) {
+			// insertion sort on the small arrays
+			for (int i=low; i<high; i++) {
+				for (int j=i; j>low && comparator.compare(dest[j-1], dest[j]) > 0; j--) {
+					int t = dest[j];
+					dest[j] = dest[j-1];
+					dest[j-1] = t;
+				}
+			}
+			return;
+		}
+
+		int mid = (low + high) >>> 1;
+		mergeSort(dest, src, low, mid, comparator);
+		mergeSort(dest, src, mid, high, comparator);
+
+		// already sorted, copy
+		if (comparator.compare(src[mid-1], src[mid]) <= 0) {
+			System.arraycopy(src, low, dest, low, length);
+			return;
+		}
+
+		for(int i=low, p=low, q=mid; i<high; i++) {
+			if (q >= high || (p < mid && comparator.compare(src[p], src[q]) <= 0)) {
+				dest[i] = src[p++];
+			} else {
+				dest[i] = src[q++];
+			}
+		}
+	}
+	
+	@FunctionalInterface
+	interface IndexComparator {
+		
+		int compare(int a, int b);
+	}
+}
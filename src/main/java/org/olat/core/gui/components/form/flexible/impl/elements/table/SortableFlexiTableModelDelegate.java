@@ -33,7 +33,12 @@ import org.olat.core.commons.persistence.SortKey;
 
 /**
  * Replicate the same mechanism as in the TableController but
- * as delegate.
+ * as delegate.<br>
+ * The delegate itself (without subclass) doesn't compare the values
+ * of the rows for every comparison but computes the sort keys of the
+ * columns once and sorts an array of indexes. For large tables, the keys
+ * and the sorted permutations are cached in the model until its rows
+ * change.
  * 
  * 
  * Initial date: 11.02.2014<br>
@@ -42,17 +47,32 @@ import org.olat.core.commons.persistence.SortKey;
  */
 public class SortableFlexiTableModelDelegate<T> {
 	
+	/**
+	 * The minimum number of rows to cache the sort keys in the model
+	 */
+	public static final int SORT_CACHE_THRESHOLD = 5000;
+	
 	private boolean asc;
 	private int columnIndex;
 	private final SortKey orderBy;
 	private final Collator collator; 
 	private final SortableFlexiTableDataModel<T> tableModel;
 	private final Locale locale;
+	private final SortKey[] thenBy;
 	
-	public SortableFlexiTableModelDelegate(SortKey orderBy, SortableFlexiTableDataModel<T> tableModel, Locale locale) {
+	/**
+	 * 
+	 * @param orderBy The sort key of the column to sort
+	 * @param tableModel The table model
+	 * @param locale The locale of the collator
+	 * @param thenBy Additional sort keys for the rows with equal values (only
+	 * 		used by the default sort of the delegate)
+	 */
+	public SortableFlexiTableModelDelegate(SortKey orderBy, SortableFlexiTableDataModel<T> tableModel, Locale locale, SortKey... thenBy) {
 		this.tableModel = tableModel;
 		this.orderBy = orderBy;
 		this.locale = locale;
+		this.thenBy = thenBy;
 		if(orderBy != null && orderBy.getKey() != null) {
 			FlexiColumnModel colModel = getColumnModel(orderBy.getKey(), tableModel.getTableColumnModel());
 			if(colModel != null) {
@@ -97,10 +117,151 @@ public class SortableFlexiTableModelDelegate<T> {
 
 	public List<T> sort() {
 		List<T> rows = getUnsortedRows();
+		if(getClass() == SortableFlexiTableModelDelegate.class) {
+			// no custom comparator
+			return sortWithKeys(rows);
+		}
 		sort(rows);
 		reverse(rows);
 		return rows;
 	}
+	
+	/**
+	 * Sort the rows with the precomputed keys of the columns. The result is the
+	 * same as with the default comparator: ascending, stable and reversed
+	 * for the descending order.
+	 * 
+	 * @param rows The rows to sort
+	 * @return The sorted rows
+	 */
+	private List<T> sortWithKeys(List<T> rows) {
+		if(rows.size() < 2) {
+			reverse(rows);
+			return rows;
+		}
+		
+		List<SortColumn> sortColumns = getSortColumns();
+		int[] columns = new int[sortColumns.size()];
+		int[] directions = new int[sortColumns.size()];
+		for(int i=0; i<sortColumns.size(); i++) {
+			columns[i] = sortColumns.get(i).index();
+			directions[i] = sortColumns.get(i).direction();
+		}
+		
+		int[] permutation = null;
+		Object[] sortedRows = null;
+		FlexiTableSortCache cache = null;
+		if(rows.size() >= SORT_CACHE_THRESHOLD && tableModel instanceof DefaultFlexiTableDataModel<?> dataModel) {
+			cache = dataModel.getSortCache();
+			if(cache == null || !cache.isValidFor(locale) || !cache.isValidFor(rows)) {
+				cache = new FlexiTableSortCache(rows, locale);
+				dataModel.setSortCache(cache.isCacheable() ? cache : null);
+			}
+			
+			if(cache.isCacheable()) {
+				String signature = getSignature(columns, directions);
+				sortedRows = cache.getRows();
+				permutation = cache.getPermutation(signature);
+				if(permutation == null) {
+					FlexiTableSortKeys[] keys = new FlexiTableSortKeys[columns.length];
+					for(int i=0; i<columns.length; i++) {
+						Integer column = Integer.valueOf(columns[i]);
+						keys[i] = cache.getColumnKeys(column);
+						if(keys[i] == null) {
+							keys[i] = getSortKeys(sortedRows, columns[i]);
+							cache.putColumnKeys(column, keys[i]);
+						}
+					}
+					permutation = sort(keys, directions, sortedRows.length);
+					cache.putPermutation(signature, permutation);
+				}
+			}
+		}
+		
+		if(permutation == null) {
+			sortedRows = rows.toArray();
+			FlexiTableSortKeys[] keys = new FlexiTableSortKeys[columns.length];
+			for(int i=0; i<columns.length; i++) {
+				keys[i] = getSortKeys(sortedRows, columns[i]);
+			}
+			permutation = sort(keys, directions, sortedRows.length);
+		}
+		
+		int numOfRows = permutation.length;
+		List<T> sorted = new ArrayList<>(numOfRows);
+		for(int i=0; i<numOfRows; i++) {
+			@SuppressWarnings("unchecked")
+			T row = (T)sortedRows[permutation[asc ? i : numOfRows - i - 1]];
+			sorted.add(row);
+		}
+		if(cache != null && cache.isCacheable()) {
+			cache.setSortResult(sorted);
+		}
+		return sorted;
+	}
+	
+	private int[] sort(FlexiTableSortKeys[] keys, int[] directions, int numOfRows) {
+		int[] permutation = new int[numOfRows];
+		for(int i=0; i<numOfRows; i++) {
+			permutation[i] = i;
+		}
+		
+		if(keys.length == 1) {
+			FlexiTableSortKeys key = keys[0];
+			FlexiTableSortKeys.sort(permutation, key::compare);
+		} else {
+			FlexiTableSortKeys.sort(permutation, (a, b) -> {
+				for(int i=0; i<keys.length; i++) {
+					int c = keys[i].compare(a, b);
+					if(c != 0) {
+						return directions[i] * c;
+					}
+				}
+				return 0;
+			});
+		}
+		return permutation;
+	}
+	
+	private FlexiTableSortKeys getSortKeys(Object[] rows, int column) {
+		Object[] values = new Object[rows.length];
+		for(int i=0; i<rows.length; i++) {
+			@SuppressWarnings("unchecked")
+			T row = (T)rows[i];
+			values[i] = tableModel.getValueAt(row, column);
+		}
+		return FlexiTableSortKeys.valueOf(values, collator);
+	}
+	
+	/**
+	 * The rows are sorted ascending by the first column, then reversed if the
+	 * order is descending. The direction of the additional columns is relative
+	 * to the first one.
+	 * 
+	 * @return The columns to sort with their direction
+	 */
+	private List<SortColumn> getSortColumns() {
+		List<SortColumn> columns = new ArrayList<>(1 + (thenBy == null ? 0 : thenBy.length));
+		columns.add(new SortColumn(columnIndex, 1));
+		if(thenBy != null) {
+			for(SortKey sortKey:thenBy) {
+				FlexiColumnModel colModel = sortKey == null || sortKey.getKey() == null
+						? null : getColumnModel(sortKey.getKey(), tableModel.getTableColumnModel());
+				if(colModel != null) {
+					columns.add(new SortColumn(colModel.getColumnIndex(), sortKey.isAsc() == asc ? 1 : -1));
+				}
+			}
+		}
+		return columns;
+	}
+	
+	private static String getSignature(int[] columns, int[] directions) {
+		StringBuilder sb = new StringBuilder(16);
+		for(int i=0; i<columns.length; i++) {
+			sb.append(directions[i] > 0 ? '+' : '-').append(columns[i]);
+		}
+		return sb.toString();
+	}
 
 	protected List<T> getUnsortedRows() {
 		int rowCount = tableModel.getRowCount();
@@ -216,6 +377,10 @@ public class SortableFlexiTableModelDelegate<T> {
 		return ba? (bb? 0: -1):(bb? 1: 0);
 	}
 	
+	private record SortColumn(int index, int direction) {
+		//
+	}
+	
 	public class ReverseComparator implements Comparator<T> {
 		
 		private final Comparator<T> delegate;
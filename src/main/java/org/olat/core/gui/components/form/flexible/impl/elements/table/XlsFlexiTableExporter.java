@@ -21,6 +21,7 @@ package org.olat.core.gui.components.form.flexible.impl.elements.table;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -54,6 +55,10 @@ public class XlsFlexiTableExporter implements FlexiTableExporter {
 	private static final URLBuilder ubu = new EmptyURLBuilder();
 	
 	public static final String LINE_BREAK_MARKER = "<LBM>";
+	/**
+	 * Above this number of rows, the workbook is written in streaming mode
+	 */
+	public static final int STREAMING_ROWS_THRESHOLD = 10000;
 	
 	private final String filename;
 	
@@ -76,7 +81,8 @@ public class XlsFlexiTableExporter implements FlexiTableExporter {
 		return new OpenXMLWorkbookResource(label) {
 			@Override
 			protected void generate(OutputStream out) {
-				try(OpenXMLWorkbook workbook = new OpenXMLWorkbook(out, 1)) {
+				boolean streaming = ftC.getFormItem().getTableDataModel().getRowCount() > STREAMING_ROWS_THRESHOLD;
+				try(OpenXMLWorkbook workbook = new OpenXMLWorkbook(out, 1, Collections.emptyList(), streaming)) {
 					OpenXMLWorksheet sheet = workbook.nextWorksheet();
 					createHeader(columns, translator, sheet, workbook);
 					createData(ftC, columns, translator, sheet, workbook);
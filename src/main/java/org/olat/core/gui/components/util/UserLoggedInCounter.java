@@ -24,6 +24,7 @@ package org.olat.core.gui.components.util;
 import org.olat.core.CoreSpringFactory;
 import org.olat.core.gui.UserRequest;
 import org.olat.core.gui.components.AbstractComponent;
+import org.olat.core.gui.components.CacheableComponent;
 import org.olat.core.gui.components.ComponentRenderer;
 import org.olat.core.util.session.UserSessionManager;
 
@@ -37,7 +38,7 @@ import org.olat.core.util.session.UserSessionManager;
  * @author Florian Gnaegi, frentix GmbH, http://www.frentix.com
  */
 
-public class UserLoggedInCounter extends AbstractComponent {
+public class UserLoggedInCounter extends AbstractComponent implements CacheableComponent {
 	private static final ComponentRenderer RENDERER = new UserLoggedInCounterRenderer();
 	private int currentCount = 0;
 
@@ -68,6 +69,14 @@ public class UserLoggedInCounter extends AbstractComponent {
 		return this.currentCount ;			
 	}
 
+	/**
+	 * The version is the count which will be rendered
+	 */
+	@Override
+	public String getRenderCacheVersion() {
+		return Integer.toString(currentCount);
+	}
+
 	@Override
 	protected void doDispatchRequest(UserRequest ureq) {
 		// nothing to dispatch
@@ -29,6 +29,7 @@ package org.olat.core.gui.components.velocity;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.context.Context;
 import org.olat.core.gui.UserRequest;
+import org.olat.core.gui.components.CacheableComponent;
 import org.olat.core.gui.components.ComponentEventListener;
 import org.olat.core.gui.components.ComponentRenderer;
 import org.olat.core.gui.components.Container;
@@ -42,7 +43,7 @@ import org.olat.core.util.Util;
  * 
  * @author Felix Jost
  */
-public class VelocityContainer extends Container implements VelocityComponent {
+public class VelocityContainer extends Container implements VelocityComponent, CacheableComponent {
 	private static final ComponentRenderer RENDERER = new VelocityContainerRenderer();
 	
 	/**
@@ -51,6 +52,7 @@ public class VelocityContainer extends Container implements VelocityComponent {
 	public static final String COMMAND_ID = "cid";
 
 	private String page;
+	private String renderCacheVersion;
 	private Context context = new VelocityContext();
 
 	/**
@@ -114,6 +116,23 @@ public class VelocityContainer extends Container implements VelocityComponent {
 		fireEvent(ureq, new Event(commandString));
 	}	
 	
+	@Override
+	public String getRenderCacheVersion() {
+		return renderCacheVersion;
+	}
+
+	/**
+	 * Allow the renderer to reuse the last rendered fragment of this container
+	 * as long as the container and its children are not dirty and the version
+	 * is the same. Use it for templates which are expensive to render and only
+	 * depends on the context and the children.
+	 * 
+	 * @param renderCacheVersion The version or null to disable the fragment cache
+	 */
+	public void setRenderCacheVersion(String renderCacheVersion) {
+		this.renderCacheVersion = renderCacheVersion;
+	}
+	
 	/**
 	 * @return the Velocity Context
 	 */
@@ -104,6 +104,13 @@ public interface WindowBackOffice extends Disposable{
 	 */
 	public void sendCommandTo(Command wco);
 	
+	/**
+	 * Signal the browser window, if it has a push channel open, that it should
+	 * poll soon. The wakes are coalesced and rate limited. Does nothing if the
+	 * window has no push channel.
+	 */
+	public void wakeUp();
+	
 	/**
 	 * gets the data
 	 * @see putData(String key, Object value)
@@ -0,0 +1,365 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.control.pushpoll;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.core.gui.media.DefaultMediaResource;
+import org.olat.core.gui.media.MediaResource;
+import org.olat.core.gui.media.ServletUtil;
+import org.olat.core.logging.Tracing;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Registry of the server push connections (Server-Sent Events) of the
+ * browser windows. The connections are asynchronous requests, they don't
+ * hold a thread while idle and the registry only holds a small object per
+ * connection.<br>
+ * The channel doesn't transport the changes itself, it wakes up the window
+ * which polls immediately and gets the dirty components and the pending
+ * commands the usual way, in its own request. The wakes are coalesced
+ * per channel. The wakes triggered by events are queued and sent at a
+ * limited rate, a broadcast event doesn't wake all the windows at once.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@Service
+public class PushChannelRegistry implements InitializingBean, DisposableBean {
+	
+	private static final Logger log = Tracing.createLoggerFor(PushChannelRegistry.class);
+	
+	private static final long WAKE_INTERVAL = 250l;
+	private static final int MAX_WAKES_PER_INTERVAL = 100;
+	private static final long PENDING_WAKE_TIMEOUT = 60000l;
+	private static final String WAKE_FRAME = "event: wake\ndata: \n\n";
+	private static final String HEARTBEAT_FRAME = ": ping\n\n";
+	
+	@Value("${server.push.enabled:false}")
+	private boolean enabled;
+	@Value("${server.push.heartbeat:25000}")
+	private long heartbeat;
+	@Value("${server.push.max.duration:600000}")
+	private long maxDuration;
+	@Value("${server.push.fallback.pollperiod:60000}")
+	private int fallbackPollPeriod;
+	
+	private final ConcurrentMap<String,PushConnection> connections = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String,Long> pendingWakes = new ConcurrentHashMap<>();
+	private ScheduledExecutorService scheduler;
+	
+	@Override
+	public void afterPropertiesSet() {
+		if(!enabled) return;
+		
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "Push-Channels");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::sendPendingWakes, WAKE_INTERVAL, WAKE_INTERVAL, TimeUnit.MILLISECONDS);
+		scheduler.scheduleWithFixedDelay(this::sendHeartbeats, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+	}
+	
+	@Override
+	public void destroy() {
+		if(scheduler != null) {
+			scheduler.shutdownNow();
+		}
+		for(PushConnection connection:connections.values()) {
+			connection.close();
+		}
+		connections.clear();
+	}
+	
+	public boolean isEnabled() {
+		return enabled;
+	}
+	
+	/**
+	 * @return The poll period used by the windows while their push channel is open
+	 */
+	public int getFallbackPollPeriod() {
+		return fallbackPollPeriod;
+	}
+	
+	public int getNumOfConnections() {
+		return connections.size();
+	}
+	
+	/**
+	 * Open the push connection of a channel. An already open connection
+	 * of the same channel is closed.
+	 * 
+	 * @param channelId The channel
+	 * @param request The request of the event source
+	 * @return The resource which keeps the response open or null if the
+	 * 		channel cannot be opened
+	 */
+	public MediaResource connect(String channelId, HttpServletRequest request) {
+		if(!enabled || !request.isAsyncSupported()) {
+			return null;
+		}
+		
+		try {
+			AsyncContext asyncContext = request.startAsync();
+			asyncContext.setTimeout(maxDuration + heartbeat * 2);
+			PushConnection connection = new PushConnection(channelId, asyncContext);
+			asyncContext.addListener(new ConnectionListener(connection));
+			return new PushMediaResource(connection);
+		} catch (IllegalStateException e) {
+			log.warn("Cannot start asynchronous request for push channel", e);
+			return null;
+		}
+	}
+	
+	/**
+	 * Wake up the window of the channel.
+	 * 
+	 * @param channelId The channel
+	 */
+	public void wake(String channelId) {
+		if(channelId == null) return;
+		
+		PushConnection connection = connections.get(channelId);
+		if(connection != null && connection.tryWake(System.currentTimeMillis())) {
+			if(!connection.send(WAKE_FRAME)) {
+				unregister(connection);
+			}
+		} else {
+			// not connected or woke up recently
+			pendingWakes.putIfAbsent(channelId, Long.valueOf(System.currentTimeMillis()));
+		}
+	}
+	
+	/**
+	 * Wake up the window of the channel later. The wakes are coalesced
+	 * and sent at a limited rate.
+	 * 
+	 * @param channelId The channel
+	 */
+	public void wakeLater(String channelId) {
+		if(channelId == null) return;
+		
+		pendingWakes.putIfAbsent(channelId, Long.valueOf(System.currentTimeMillis()));
+	}
+	
+	/**
+	 * Close the connection of the channel.
+	 * 
+	 * @param channelId The channel
+	 */
+	public void close(String channelId) {
+		if(channelId == null) return;
+		
+		pendingWakes.remove(channelId);
+		PushConnection connection = connections.remove(channelId);
+		if(connection != null) {
+			connection.close();
+		}
+	}
+	
+	private void register(PushConnection connection) {
+		PushConnection previous = connections.put(connection.getChannelId(), connection);
+		if(previous != null && previous != connection) {
+			previous.close();
+		}
+		if(pendingWakes.remove(connection.getChannelId()) != null) {
+			wake(connection.getChannelId());
+		}
+	}
+	
+	private void unregister(PushConnection connection) {
+		connections.remove(connection.getChannelId(), connection);
+	}
+	
+	private void sendPendingWakes() {
+		try {
+			int sent = 0;
+			long now = System.currentTimeMillis();
+			for(Iterator<Map.Entry<String,Long>> it=pendingWakes.entrySet().iterator(); it.hasNext(); ) {
+				Map.Entry<String,Long> pendingWake = it.next();
+				PushConnection connection = connections.get(pendingWake.getKey());
+				if(connection == null) {
+					// keep it for the next connection for a while, the
+					// regular polling takes over after that
+					if(now - pendingWake.getValue().longValue() > PENDING_WAKE_TIMEOUT) {
+						it.remove();
+					}
+				} else if(sent < MAX_WAKES_PER_INTERVAL && connection.tryWake(now)) {
+					it.remove();
+					sent++;
+					if(!connection.send(WAKE_FRAME)) {
+						unregister(connection);
+					}
+				}
+			}
+		} catch (Exception e) {
+			log.error("", e);
+		}
+	}
+	
+	private void sendHeartbeats() {
+		try {
+			long now = System.currentTimeMillis();
+			for(PushConnection connection:connections.values()) {
+				if(now - connection.getCreationTime() > maxDuration) {
+					// the event source reconnects, release the resources of the request
+					unregister(connection);
+					connection.close();
+				} else if(!connection.send(HEARTBEAT_FRAME)) {
+					unregister(connection);
+				}
+			}
+		} catch (Exception e) {
+			log.error("", e);
+		}
+	}
+	
+	private static class PushConnection {
+		
+		private final String channelId;
+		private final AsyncContext asyncContext;
+		private final long creationTime;
+		private long lastWake;
+		private boolean closed;
+		
+		public PushConnection(String channelId, AsyncContext asyncContext) {
+			this.channelId = channelId;
+			this.asyncContext = asyncContext;
+			creationTime = System.currentTimeMillis();
+		}
+		
+		public String getChannelId() {
+			return channelId;
+		}
+		
+		public long getCreationTime() {
+			return creationTime;
+		}
+		
+		public synchronized boolean tryWake(long now) {
+			if(now - lastWake < WAKE_INTERVAL) {
+				return false;
+			}
+			lastWake = now;
+			return true;
+		}
+		
+		public synchronized boolean send(String frame) {
+			if(closed) return false;
+			
+			try {
+				HttpServletResponse response = (HttpServletResponse)asyncContext.getResponse();
+				response.getOutputStream().print(frame);
+				response.flushBuffer();
+				return true;
+			} catch (IOException | IllegalStateException e) {
+				log.debug("Push channel closed: {}", channelId);
+				close();
+				return false;
+			}
+		}
+		
+		public synchronized void close() {
+			if(closed) return;
+			
+			closed = true;
+			try {
+				asyncContext.complete();
+			} catch (IllegalStateException e) {
+				// already completed by the container
+			}
+		}
+	}
+	
+	private class ConnectionListener implements AsyncListener {
+		
+		private final PushConnection connection;
+		
+		public ConnectionListener(PushConnection connection) {
+			this.connection = connection;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			unregister(connection);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			unregister(connection);
+			connection.close();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			unregister(connection);
+			connection.close();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			//
+		}
+	}
+	
+	private class PushMediaResource extends DefaultMediaResource {
+		
+		private final PushConnection connection;
+		
+		public PushMediaResource(PushConnection connection) {
+			this.connection = connection;
+			setContentType("text/event-stream;charset=utf-8");
+		}
+
+		@Override
+		public long getCacheControlDuration() {
+			return ServletUtil.CACHE_NO_CACHE;
+		}
+
+		@Override
+		public void prepare(HttpServletResponse hres) {
+			// disable the buffering of reverse proxies as nginx
+			hres.setHeader("X-Accel-Buffering", "no");
+			if(connection.send("retry: 10000\n\n")) {
+				register(connection);
+			}
+		}
+	}
+}
@@ -58,6 +58,7 @@ import org.olat.core.gui.control.ChiefController;
 import org.olat.core.gui.control.DefaultController;
 import org.olat.core.gui.control.Event;
 import org.olat.core.gui.control.WindowBackOffice;
+import org.olat.core.gui.control.pushpoll.PushChannelRegistry;
 import org.olat.core.gui.control.pushpoll.WindowCommand;
 import org.olat.core.gui.media.BadRequestMediaResource;
 import org.olat.core.gui.media.DefaultMediaResource;
@@ -70,6 +71,7 @@ import org.olat.core.id.context.ContextEntry;
 import org.olat.core.id.context.HistoryPoint;
 import org.olat.core.logging.AssertException;
 import org.olat.core.logging.Tracing;
+import org.olat.core.util.CodeHelper;
 import org.olat.core.util.StringHelper;
 import org.olat.core.util.Util;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -94,6 +96,8 @@ public class AjaxController extends DefaultController {
 	protected List<WindowCommand> windowcommands = new ArrayList<>(3);
 	private final Mapper m;
 	private final MapperKey mKey;
+	private MapperKey pushKey;
+	private String pushChannelId;
 	
 	private static final int DEFAULT_POLLPERIOD = 5000;//reasonable default value
 	private int pollperiod = DEFAULT_POLLPERIOD;//reasonable default value
@@ -105,6 +109,8 @@ public class AjaxController extends DefaultController {
 	
 	@Autowired
 	private SessionStatsManager statsManager;
+	@Autowired
+	private PushChannelRegistry pushChannelRegistry;
 
 	AjaxController(UserRequest ureq, final WindowBackOfficeImpl wboImpl, boolean ajaxEnabled) {
 		super(null);
@@ -187,9 +193,24 @@ public class AjaxController extends DefaultController {
 			return resource;
 		};
 
-		mKey = CoreSpringFactory.getImpl(MapperService.class).register(ureq.getUserSession(), m);
+		MapperService mapperService = CoreSpringFactory.getImpl(MapperService.class);
+		mKey = mapperService.register(ureq.getUserSession(), m);
 		myContent.contextPut("mapuri", mKey.getUrl());
 		
+		if(pushChannelRegistry.isEnabled()) {
+			// server push channel, the window polls as soon as it's woken up
+			pushChannelId = CodeHelper.getGlobalForeverUniqueID();
+			Mapper pushMapper = (String relPath, HttpServletRequest request) -> {
+				if(!"GET".equalsIgnoreCase(request.getMethod())) {
+					return new BadRequestMediaResource();
+				}
+				return pushChannelRegistry.connect(pushChannelId, request);
+			};
+			pushKey = mapperService.register(ureq.getUserSession(), pushMapper);
+			myContent.contextPut("pushuri", pushKey.getUrl());
+			myContent.contextPut("pushpollperiod", Integer.valueOf(pushChannelRegistry.getFallbackPollPeriod()));
+		}
+		
 		final String csrfToken = ureq.getUserSession().getCsrfToken();
 		myContent.contextPut("csrfToken", csrfToken);
 		
@@ -377,8 +398,9 @@ public class AjaxController extends DefaultController {
 
 	@Override
 	protected void doDispose() {
-		List<MapperKey> mappers = List.of(mKey);
+		List<MapperKey> mappers = pushKey == null ? List.of(mKey) : List.of(mKey, pushKey);
 		CoreSpringFactory.getImpl(MapperService.class).cleanUp(mappers);
+		pushChannelRegistry.close(pushChannelId);
 		if (ajaxEnabled && pollCount == 0) {
 			//the controller should be older than 40s otherwise poll may not started yet
 			if ((System.currentTimeMillis() - creationTime) > 40000) {
@@ -395,6 +417,19 @@ public class AjaxController extends DefaultController {
 		synchronized (windowcommands) { //o_clusterOK by:fj
 			windowcommands.add(wco);
 		}
+		if(pushChannelId != null) {
+			pushChannelRegistry.wake(pushChannelId);
+		}
+	}
+	
+	/**
+	 * Ask the window to poll soon, if it has an open push channel. The
+	 * wakes are coalesced and rate limited.
+	 */
+	public void wakeUp() {
+		if(pushChannelId != null) {
+			pushChannelRegistry.wakeLater(pushChannelId);
+		}
 	}
 
 	/**
@@ -137,6 +137,11 @@ public class WindowBackOfficeImpl implements WindowBackOffice {
 		if (ajaxC != null) ajaxC.sendCommandTo(new WindowCommand(this,wco));
 	}
 	
+	@Override
+	public void wakeUp() {
+		if (ajaxC != null) ajaxC.wakeUp();
+	}
+	
 	public void pushCommands(UserRequest ureq, HttpServletRequest request, HttpServletResponse response) {
 		try {
 			boolean acceptJson = ServletUtil.acceptJson(request);
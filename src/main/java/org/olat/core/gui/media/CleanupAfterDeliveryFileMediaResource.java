@@ -53,6 +53,15 @@ public class CleanupAfterDeliveryFileMediaResource extends FileMediaResource {
 		return false;
 	}
 
+	/**
+	 * The file is deleted on release, it cannot be sent by the
+	 * container after the request.
+	 */
+	@Override
+	public File getFile() {
+		return null;
+	}
+
 	@Override
 	public void release() {
 		FileUtils.deleteFile(file);
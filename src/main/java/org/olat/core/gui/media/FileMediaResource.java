@@ -131,6 +131,16 @@ public class FileMediaResource implements MediaResource {
 		return bis;
 	}
 
+	@Override
+	public File getFile() {
+		return file;
+	}
+
+	@Override
+	public String getETag() {
+		return ServletUtil.getETag(file);
+	}
+
 	@Override
 	public Long getLastModified() {
 		return Long.valueOf(file.lastModified());
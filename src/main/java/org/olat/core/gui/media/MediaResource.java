@@ -26,6 +26,7 @@
 
 package org.olat.core.gui.media;
 
+import java.io.File;
 import java.io.InputStream;
 
 import jakarta.servlet.http.HttpServletResponse;
@@ -57,6 +58,21 @@ public interface MediaResource {
 	 */
 	public Long getLastModified();
 	
+	/**
+	 * @return The file with the content of the resource if it is a plain local
+	 * 		file which can be sent as is, or null
+	 */
+	public default File getFile() {
+		return null;
+	}
+	
+	/**
+	 * @return A strong entity tag (quoted) of the current content or null
+	 */
+	public default String getETag() {
+		return null;
+	}
+	
 	/**
 	 * 
 	 * @return The cache duration in seconds. If 0, all the headers
@@ -85,6 +85,15 @@ public class NamedFileMediaResource extends FileMediaResource {
 		hres.setHeader("Content-Description", StringHelper.urlEncodeUTF8(fileDescription));
 	}
 
+	/**
+	 * A file deleted on release cannot be sent by the container
+	 * after the request.
+	 */
+	@Override
+	public File getFile() {
+		return deleteAfterDelivery ? null : file;
+	}
+
 	@Override
 	public void release() {
 		if (deleteAfterDelivery && file.exists()) {
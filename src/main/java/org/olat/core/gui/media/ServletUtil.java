@@ -29,6 +29,7 @@ package org.olat.core.gui.media;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -36,6 +37,13 @@ import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
@@ -68,6 +76,13 @@ public class ServletUtil {
 	public static final long CACHE_ONE_DAY = 24l * 60l * 60l;
 	public static final long CACHE_ONE_MONTH = 30l * 24l * 60l * 60l;
 	
+	private static final String MIME_BOUNDARY = "OPENOLAT_MIME_BOUNDARY";
+	private static final long SENDFILE_MIN_SIZE = 48l * 1024l;
+	private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+	
 	
 	public static final void printOutRequestParameters(HttpServletRequest request) {
 		for(Enumeration<String> names=request.getParameterNames(); names.hasMoreElements(); ) {
@@ -140,14 +155,16 @@ public class ServletUtil {
 		boolean debug = log.isDebugEnabled();
 		try {
 			Long lastModified = mr.getLastModified();
+			String etag = mr.getETag();
+			if (etag != null) {
+				httpResp.setHeader("ETag", etag);
+			}
+			// give browser a chance to cache images
+			if (isNotModified(httpReq, etag, lastModified)) {
+				httpResp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+				return;
+			}
 			if (lastModified != null) {
-				// give browser a chance to cache images
-				long ifModifiedSince = httpReq.getDateHeader("If-Modified-Since");
-				long lastMod = lastModified.longValue();
-				if (ifModifiedSince >= (lastMod / 1000L) * 1000L) {
-					httpResp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
-					return;
-				}
 				httpResp.setDateHeader("Last-Modified", lastModified.longValue());
 			}
 
@@ -177,6 +194,72 @@ public class ServletUtil {
 		}
 	}
 	
+	/**
+	 * If-None-Match has precedence over If-Modified-Since.
+	 */
+	private static boolean isNotModified(HttpServletRequest httpReq, String etag, Long lastModified) {
+		String ifNoneMatch = etag == null ? null : httpReq.getHeader("If-None-Match");
+		if (ifNoneMatch != null) {
+			return matchETag(ifNoneMatch, etag);
+		}
+		if (lastModified != null) {
+			long ifModifiedSince = httpReq.getDateHeader("If-Modified-Since");
+			return ifModifiedSince >= (lastModified.longValue() / 1000L) * 1000L;
+		}
+		return false;
+	}
+	
+	/**
+	 * Weak comparison of the entity tags as required by If-None-Match.
+	 * 
+	 * @param header The list of entity tags of the header
+	 * @param etag The entity tag of the resource
+	 * @return true if one of the tags of the header matches
+	 */
+	protected static boolean matchETag(String header, String etag) {
+		String opaqueTag = stripWeakIndicator(etag);
+		for (String tag : header.split(",")) {
+			tag = tag.trim();
+			if ("*".equals(tag) || opaqueTag.equals(stripWeakIndicator(tag))) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private static String stripWeakIndicator(String tag) {
+		return tag.startsWith("W/") ? tag.substring(2) : tag;
+	}
+	
+	/**
+	 * A strong entity tag calculated from the attributes of the file (last
+	 * modification, size and file key) without reading the content.
+	 * 
+	 * @param file The file
+	 * @return The quoted entity tag or null if the file is not readable
+	 */
+	public static String getETag(File file) {
+		if (file == null) return null;
+		
+		try {
+			BasicFileAttributes attrs = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+			if (!attrs.isRegularFile()) {
+				return null;
+			}
+			StringBuilder sb = new StringBuilder(48);
+			sb.append('"').append(Long.toHexString(attrs.lastModifiedTime().toMillis()))
+			  .append('-').append(Long.toHexString(attrs.size()));
+			Object fileKey = attrs.fileKey();
+			if (fileKey != null) {
+				sb.append('-').append(Integer.toHexString(fileKey.hashCode()));
+			}
+			return sb.append('"').toString();
+		} catch (IOException e) {
+			log.debug("Cannot read attributes of file: {}", file, e);
+			return null;
+		}
+	}
+	
 	private static boolean isFlashPseudoStreaming(HttpServletRequest httpReq, MediaResource mr) {
 		//exclude some mappers which cannot be flash
 		if(mr instanceof JSONMediaResource) {
@@ -208,7 +291,8 @@ public class ServletUtil {
 			Long size = mr.getSize();
 			Long lastModified = mr.getLastModified();
 			// accept range to deliver videos for iPad (implementation based on Tomcat)
-			List<Range> ranges = parseRange(httpReq, httpResp, (lastModified == null ? -1 : lastModified.longValue()), (size == null ? 0 : size.longValue()));
+			List<Range> ranges = parseRange(httpReq, httpResp, (lastModified == null ? -1 : lastModified.longValue()),
+					(size == null ? 0 : size.longValue()), mr.getETag());
 			if(ranges != null && mr.acceptRanges()) {
 				httpResp.setHeader("Accept-Ranges", "bytes");
 			}
@@ -216,6 +300,12 @@ public class ServletUtil {
 			// maybe some more preparations
 			mr.prepare(httpResp);
 			
+			File file = mr.getFile();
+			if(file != null && file.isFile() && (size == null || size.longValue() == file.length())) {
+				serveFile(httpReq, httpResp, file, ranges);
+				return;
+			}
+			
 			in = mr.getInputStream();
 
 			// serve the Resource
@@ -267,6 +357,97 @@ public class ServletUtil {
 		}
 	}
 	
+	/**
+	 * Send the file with the sendfile support of the container or, as fallback,
+	 * with FileChannel.transferTo(). Multiple ranges are delivered as
+	 * multipart/byteranges.
+	 */
+	private static void serveFile(HttpServletRequest httpReq, HttpServletResponse httpResp, File file, List<Range> ranges)
+	throws IOException {
+		long length = file.length();
+		if (ranges == null || ranges.isEmpty()) {
+			httpResp.setContentLengthLong(length);
+			if (!sendfile(httpReq, httpResp, file, 0, length)) {
+				transferTo(file, 0, length, httpResp.getOutputStream());
+			}
+			return;
+		}
+		
+		httpResp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+		DBFactory.getInstance().commit();
+		
+		SessionStatsManager stats = CoreSpringFactory.getImpl(SessionStatsManager.class);
+		try {
+			stats.incrementConcurrentStreamCounter();
+			if (ranges.size() == 1) {
+				Range range = ranges.get(0);
+				long rangeLength = range.end - range.start + 1;
+				httpResp.addHeader("Content-Range", "bytes " + range.start + "-" + range.end + "/" + range.length);
+				httpResp.setContentLengthLong(rangeLength);
+				if (!sendfile(httpReq, httpResp, file, range.start, rangeLength)) {
+					transferTo(file, range.start, rangeLength, httpResp.getOutputStream());
+				}
+			} else {
+				String contentType = httpResp.getContentType();
+				httpResp.setContentType("multipart/byteranges; boundary=" + MIME_BOUNDARY);
+				OutputStream out = httpResp.getOutputStream();
+				try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+					WritableByteChannel target = Channels.newChannel(out);
+					for (Range range : ranges) {
+						StringBuilder sb = new StringBuilder(128);
+						sb.append("\r\n--").append(MIME_BOUNDARY).append("\r\n");
+						if (contentType != null) {
+							sb.append("Content-Type: ").append(contentType).append("\r\n");
+						}
+						sb.append("Content-Range: bytes ").append(range.start).append("-").append(range.end)
+						  .append("/").append(range.length).append("\r\n\r\n");
+						out.write(sb.toString().getBytes(StandardCharsets.US_ASCII));
+						transferTo(channel, range.start, range.end - range.start + 1, target);
+					}
+					out.write(("\r\n--" + MIME_BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+				}
+			}
+		} finally {
+			stats.decrementConcurrentStreamCounter();
+		}
+	}
+	
+	/**
+	 * Delegate the delivery of the file to the container (Tomcat) if it supports
+	 * sendfile and the request / response are not wrapped.
+	 * 
+	 * @return true if the container will send the file
+	 */
+	private static boolean sendfile(HttpServletRequest httpReq, HttpServletResponse httpResp, File file, long start, long length) {
+		if (length < SENDFILE_MIN_SIZE
+				|| !Boolean.TRUE.equals(httpReq.getAttribute(SENDFILE_SUPPORTED_ATTR))
+				|| !"org.apache.catalina.connector.RequestFacade".equals(httpReq.getClass().getName())
+				|| !"org.apache.catalina.connector.ResponseFacade".equals(httpResp.getClass().getName())) {
+			return false;
+		}
+		httpReq.setAttribute(SENDFILE_FILENAME_ATTR, file.getAbsolutePath());
+		httpReq.setAttribute(SENDFILE_START_ATTR, Long.valueOf(start));
+		httpReq.setAttribute(SENDFILE_END_ATTR, Long.valueOf(start + length));
+		return true;
+	}
+	
+	private static void transferTo(File file, long position, long count, OutputStream out) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			transferTo(channel, position, count, Channels.newChannel(out));
+		}
+	}
+	
+	private static void transferTo(FileChannel channel, long position, long count, WritableByteChannel target) throws IOException {
+		long end = position + count;
+		while (position < end) {
+			long transferred = channel.transferTo(position, end - position, target);
+			if (transferred <= 0) {
+				break;// end of file, the file was truncated in the meantime
+			}
+			position += transferred;
+		}
+	}
+	
 	public static boolean isAbortException(Throwable e) {
 		int count = 0;	
 		do {
@@ -316,7 +497,14 @@ public class ServletUtil {
 	
 	protected static IOException copyRange(InputStream istream, OutputStream ostream, long start, long end, int bufferSize) {
 		try {
-			istream.skip(start);
+			long toSkip = start;
+			while (toSkip > 0) {
+				long skipped = istream.skip(toSkip);
+				if (skipped <= 0) {
+					return new EOFException("Cannot skip to position: " + start);
+				}
+				toSkip -= skipped;
+			}
 		} catch (IOException e) {
 			return e;
 		}
@@ -348,10 +536,20 @@ public class ServletUtil {
 
 	protected static List<Range> parseRange(HttpServletRequest request, HttpServletResponse response, long lastModified, long fileLength)
 			throws IOException {
+		return parseRange(request, response, lastModified, fileLength, null);
+	}
+	
+	protected static List<Range> parseRange(HttpServletRequest request, HttpServletResponse response, long lastModified, long fileLength,
+			String etag) throws IOException {
 		
 		String headerValue = request.getHeader("If-Range");
 
-    if (headerValue != null) {
+    if (headerValue != null && headerValue.trim().startsWith("\"")) {
+        // If-Range with an entity tag, strong comparison
+        if (etag == null || !etag.equals(headerValue.trim())) {
+            return Collections.emptyList();
+        }
+    } else if (headerValue != null) {
         long headerValueTime = (-1L);
         try {
           headerValueTime = request.getDateHeader("If-Range");
@@ -0,0 +1,156 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.render;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.olat.core.gui.components.CacheableComponent;
+import org.olat.core.gui.components.Component;
+import org.olat.core.gui.components.ComponentCollection;
+import org.olat.core.gui.translator.Translator;
+
+/**
+ * A small LRU cache of rendered fragments. Every window has its own cache,
+ * the shared cache is used by the components without URLs nor personal
+ * data.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class RenderFragmentCache {
+	
+	public static final int WINDOW_CACHE_SIZE = 32;
+	public static final int SHARED_CACHE_SIZE = 256;
+	public static final int MAX_FRAGMENT_LENGTH = 65536;
+	
+	private static final RenderFragmentCache SHARED = new RenderFragmentCache(SHARED_CACHE_SIZE);
+	
+	private final Map<String,String> fragments;
+	
+	public RenderFragmentCache(final int maxSize) {
+		fragments = new LinkedHashMap<>(maxSize + 1, 0.75f, true) {
+			private static final long serialVersionUID = -3447231851405472361L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+	
+	public static RenderFragmentCache getSharedCache() {
+		return SHARED;
+	}
+	
+	public synchronized String get(String key) {
+		return fragments.get(key);
+	}
+	
+	public synchronized void put(String key, String fragment) {
+		if(fragment.length() <= MAX_FRAGMENT_LENGTH) {
+			fragments.put(key, fragment);
+		}
+	}
+	
+	public synchronized int size() {
+		return fragments.size();
+	}
+	
+	public synchronized void clear() {
+		fragments.clear();
+	}
+	
+	/**
+	 * Build the key of the fragment of the component. The fragment cannot be
+	 * cached if the component is dirty, doesn't deliver a version or if one
+	 * of its children is dirty.
+	 * 
+	 * @param source The component
+	 * @param ubu The URL builder of the component
+	 * @param translator The translator of the component
+	 * @param args The render arguments
+	 * @param ajax If the AJAX mode is enabled
+	 * @return The key or null if the fragment cannot be cached
+	 */
+	public static String getFragmentKey(CacheableComponent source, boolean shared, URLBuilder ubu, Translator translator,
+			String[] args, boolean ajax) {
+		String version = source.getRenderCacheVersion();
+		if(version == null || source.isDirty()) {
+			return null;
+		}
+		
+		StringBuilder sb = new StringBuilder(128);
+		sb.append(source.getHTMLRendererSingleton().getClass().getName())
+		  .append('|').append(version)
+		  .append('|').append(ajax)
+		  .append('|').append(translator == null ? "-" : translator.getLocale());
+		if(args != null) {
+			for(String arg:args) {
+				sb.append('|').append(arg);
+			}
+		}
+		if(!shared) {
+			sb.append('|').append(ubu.getStateKey());
+			if(source instanceof ComponentCollection collection && !appendChildren(collection, sb)) {
+				return null;
+			}
+		}
+		return sb.toString();
+	}
+	
+	private static boolean appendChildren(ComponentCollection collection, StringBuilder sb) {
+		for(Component child:collection.getComponents()) {
+			if(child instanceof CacheableComponent cacheable) {
+				String version = cacheable.getRenderCacheVersion();
+				if(version == null) {
+					return false;
+				}
+				sb.append('|').append(version);
+			} else if(child.isDirty()) {
+				return false;
+			}
+			
+			sb.append('|').append(child.getDispatchID())
+			  .append(':').append(child.getTimestamp())
+			  .append(':').append(child.isVisible());
+			if(child instanceof ComponentCollection childCollection && !appendChildren(childCollection, sb)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * A fragment served from the cache doesn't go through the renderers,
+	 * clean the dirty flags of the children as the renderers would do.
+	 * 
+	 * @param collection The component served from the cache
+	 */
+	public static void setChildrenNotDirty(ComponentCollection collection) {
+		for(Component child:collection.getComponents()) {
+			child.setDirty(false);
+			if(child instanceof ComponentCollection childCollection) {
+				setChildrenNotDirty(childCollection);
+			}
+		}
+	}
+}
@@ -39,6 +39,9 @@ public class RenderResult {
 	private AsyncMediaResponsible asyncMediaResponsible;
 	private int nestedLevel = 0;
 	private InterceptHandlerInstance interceptHandlerInstance;
+	private RenderFragmentCache fragmentCache;
+	private boolean profiled;
+	private long childrenRenderTime;
 	
 	
 	/**
@@ -126,5 +129,40 @@ public class RenderResult {
 		this.interceptHandlerInstance = interceptHandlerInstance;
 	}
 
+	/**
+	 * @return The fragment cache of the window or null if the fragments
+	 * 		cannot be cached in this render cycle
+	 */
+	public RenderFragmentCache getFragmentCache() {
+		return fragmentCache;
+	}
+
+	public void setFragmentCache(RenderFragmentCache fragmentCache) {
+		this.fragmentCache = fragmentCache;
+	}
+
+	/**
+	 * @return true if the time of the renderers are recorded in this render cycle
+	 */
+	public boolean isProfiled() {
+		return profiled;
+	}
+
+	public void setProfiled(boolean profiled) {
+		this.profiled = profiled;
+	}
+	
+	/**
+	 * Used to calculate the time spent in a renderer without its children.
+	 * 
+	 * @param time The new accumulated time of the children in nanoseconds
+	 * @return The previous accumulated time
+	 */
+	public long swapChildrenRenderTime(long time) {
+		long previousTime = childrenRenderTime;
+		childrenRenderTime = time;
+		return previousTime;
+	}
+
 
 }
\ No newline at end of file
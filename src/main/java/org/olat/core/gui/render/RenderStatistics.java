@@ -0,0 +1,151 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.render;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the time and the size of the output of every component
+ * renderer and velocity template. Only a sample of the render cycles is
+ * measured: one of every "sampling rate" cycles, 0 disables the profiling.
+ * The hits and misses of the fragment cache are always counted.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class RenderStatistics {
+	
+	private static final RenderStatistics INSTANCE = new RenderStatistics();
+	
+	private volatile int samplingRate = 0;
+	private final AtomicLong renderCycles = new AtomicLong();
+	private final LongAdder sampledRenderCycles = new LongAdder();
+	private final LongAdder fragmentCacheHits = new LongAdder();
+	private final LongAdder fragmentCacheMisses = new LongAdder();
+	private final ConcurrentMap<String,Statistics> statistics = new ConcurrentHashMap<>();
+	
+	private RenderStatistics() {
+		//
+	}
+	
+	public static RenderStatistics getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @return 0 if the profiling is disabled, n to profile one of n render cycles
+	 */
+	public int getSamplingRate() {
+		return samplingRate;
+	}
+
+	public void setSamplingRate(int samplingRate) {
+		this.samplingRate = Math.max(0, samplingRate);
+	}
+	
+	/**
+	 * Called at the start of a render cycle.
+	 * 
+	 * @return true if the render cycle needs to be profiled
+	 */
+	public boolean sample() {
+		int rate = samplingRate;
+		if(rate <= 0) {
+			return false;
+		}
+		if(rate == 1 || renderCycles.incrementAndGet() % rate == 0) {
+			sampledRenderCycles.increment();
+			return true;
+		}
+		return false;
+	}
+	
+	public long getSampledRenderCycles() {
+		return sampledRenderCycles.sum();
+	}
+	
+	/**
+	 * @param name The velocity template or the class of the renderer
+	 * @param duration The time in nanoseconds, children included
+	 * @param selfDuration The time in nanoseconds without the children
+	 * @param outputLength The number of characters rendered, children included
+	 */
+	public void record(String name, long duration, long selfDuration, long outputLength) {
+		Statistics stats = statistics.computeIfAbsent(name, n -> new Statistics());
+		stats.count.increment();
+		stats.duration.add(duration);
+		stats.selfDuration.add(selfDuration);
+		stats.maxDuration.accumulate(duration);
+		stats.outputLength.add(outputLength);
+	}
+	
+	public void fragmentCacheHit() {
+		fragmentCacheHits.increment();
+	}
+	
+	public void fragmentCacheMiss() {
+		fragmentCacheMisses.increment();
+	}
+	
+	public long getFragmentCacheHits() {
+		return fragmentCacheHits.sum();
+	}
+	
+	public long getFragmentCacheMisses() {
+		return fragmentCacheMisses.sum();
+	}
+	
+	/**
+	 * @return A snapshot of the statistics
+	 */
+	public List<RenderStatisticsEntry> getEntries() {
+		List<RenderStatisticsEntry> entries = new ArrayList<>(statistics.size());
+		for(Map.Entry<String,Statistics> entry:statistics.entrySet()) {
+			Statistics stats = entry.getValue();
+			entries.add(new RenderStatisticsEntry(entry.getKey(), stats.count.sum(), stats.duration.sum(),
+					stats.selfDuration.sum(), stats.maxDuration.get(), stats.outputLength.sum()));
+		}
+		return entries;
+	}
+	
+	public void reset() {
+		statistics.clear();
+		sampledRenderCycles.reset();
+		fragmentCacheHits.reset();
+		fragmentCacheMisses.reset();
+	}
+	
+	private static class Statistics {
+		
+		private final LongAdder count = new LongAdder();
+		private final LongAdder duration = new LongAdder();
+		private final LongAdder selfDuration = new LongAdder();
+		private final LongAccumulator maxDuration = new LongAccumulator(Math::max, 0l);
+		private final LongAdder outputLength = new LongAdder();
+	}
+}
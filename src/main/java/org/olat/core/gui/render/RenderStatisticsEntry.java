@@ -0,0 +1,44 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.render;
+
+/**
+ * The statistics of a velocity template or a component renderer. The times
+ * are in nanoseconds, the output length in characters.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public record RenderStatisticsEntry(String name, long count, long duration, long selfDuration,
+		long maxDuration, long outputLength) {
+	
+	public long getAverageDuration() {
+		return count == 0 ? 0l : duration / count;
+	}
+	
+	public long getAverageSelfDuration() {
+		return count == 0 ? 0l : selfDuration / count;
+	}
+	
+	public long getAverageOutputLength() {
+		return count == 0 ? 0l : outputLength / count;
+	}
+}
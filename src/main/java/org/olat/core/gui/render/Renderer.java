@@ -28,6 +28,7 @@ package org.olat.core.gui.render;
 
 import org.olat.core.dispatcher.impl.StaticMediaDispatcher;
 import org.olat.core.gui.GlobalSettings;
+import org.olat.core.gui.components.CacheableComponent;
 import org.olat.core.gui.components.Component;
 import org.olat.core.gui.components.ComponentCollection;
 import org.olat.core.gui.components.ComponentRenderer;
@@ -36,6 +37,7 @@ import org.olat.core.gui.render.intercept.InterceptHandlerInstance;
 import org.olat.core.gui.translator.Translator;
 import org.olat.core.logging.AssertException;
 import org.olat.core.util.WebappHelper;
+import org.olat.core.util.i18n.I18nManager;
 
 /**
  * @author Felix Jost
@@ -170,14 +172,44 @@ public class Renderer {
 					cr = dhi.createInterceptComponentRenderer(cr);
 			}
 			
+			boolean profiled = renderResult.isProfiled();
+			long startTime = 0l;
+			long parentChildrenTime = 0l;
+			if (profiled) {
+				startTime = System.nanoTime();
+				parentChildrenTime = renderResult.swapChildrenRenderTime(0l);
+			}
+			
+			int preRenderLength = sb.length();
 			try {
-				int preRenderLength = sb.length();
-				cr.render(this, sb, source, cubu, componentTranslator, renderResult, args);
-				if (preRenderLength == sb.length()) {
-					// Add bugfix for IE min-height on empty div problem: min-height does
-					// not get applied when div contains an empty comment.
-					// Affects IE6, IE7
-					sb.append("<!-- empty -->");
+				RenderFragmentCache fragmentCache = null;
+				String fragmentKey = null;
+				if (dhi == null && source instanceof CacheableComponent cacheable && renderResult.getFragmentCache() != null
+						&& !I18nManager.getInstance().isCurrentThreadMarkLocalizedStringsEnabled()) {
+					boolean shared = cacheable.isRenderCacheShared() && !(source instanceof ComponentCollection);
+					fragmentCache = shared ? RenderFragmentCache.getSharedCache() : renderResult.getFragmentCache();
+					fragmentKey = RenderFragmentCache.getFragmentKey(cacheable, shared, cubu, componentTranslator, args, ajaxon);
+				}
+
+				String fragment = fragmentKey == null ? null : fragmentCache.get(fragmentKey);
+				if (fragment != null) {
+					RenderStatistics.getInstance().fragmentCacheHit();
+					sb.append(fragment);
+					if (source instanceof ComponentCollection collection) {
+						RenderFragmentCache.setChildrenNotDirty(collection);
+					}
+				} else {
+					cr.render(this, sb, source, cubu, componentTranslator, renderResult, args);
+					if (preRenderLength == sb.length()) {
+						// Add bugfix for IE min-height on empty div problem: min-height does
+						// not get applied when div contains an empty comment.
+						// Affects IE6, IE7
+						sb.append("<!-- empty -->");
+					}
+					if (fragmentKey != null && renderResult.getRenderException() == null) {
+						RenderStatistics.getInstance().fragmentCacheMiss();
+						fragmentCache.put(fragmentKey, sb.getBuffer().substring(preRenderLength));
+					}
 				}
 				source.setDirty(false);
 			} catch (Exception e) {
@@ -188,6 +220,13 @@ public class Renderer {
 			}
 			renderResult.decNestedLevel();
 			
+			if (profiled) {
+				long duration = System.nanoTime() - startTime;
+				long selfDuration = duration - renderResult.swapChildrenRenderTime(parentChildrenTime + duration);
+				String name = source instanceof VelocityContainer vc ? vc.getPage() : source.getHTMLRendererSingleton().getClass().getName();
+				RenderStatistics.getInstance().record(name, duration, selfDuration, sb.length() - preRenderLength);
+			}
+			
 			// close div for the javascript dom replacement
 			if (ajaxon && domReplaceable && domReplacementWrapperRequired) {
 				if(useSpan){
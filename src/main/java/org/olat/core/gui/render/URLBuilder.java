@@ -73,6 +73,15 @@ public class URLBuilder {
 		this.csrfToken = csrfToken;
 	}
 
+	/**
+	 * @return The framework parameters encoded in every URL built by this
+	 *         builder (window, timestamps, component and CSRF token)
+	 */
+	public String getStateKey() {
+		return uriPrefix + ":" + windowID + ":" + timestampID + ":" + componentID
+				+ ":" + componentTimestamp + ":" + csrfToken;
+	}
+	
 	/**
 	 * @return
 	 */
@@ -270,6 +270,11 @@ public class WindowControlMocker implements WindowControl{
 			//
 		}
 
+		@Override
+		public void wakeUp() {
+			//
+		}
+
 		@Override
 		public List<ZIndexWrapper> getGuiMessages() {
 			return Collections.emptyList();
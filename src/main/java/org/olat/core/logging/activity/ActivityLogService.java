@@ -38,4 +38,10 @@ public interface ActivityLogService {
 			final boolean backgroundJob, final String businessPath, final List<ContextEntry> bcContextEntries,
 			final List<ILoggingResourceable> loggingResourceableList, ILoggingResourceable... lriOrNull);
 
+	/**
+	 * @return The metrics of the asynchronous writer (queue depth, flush
+	 * 		latency, dropped entries...)
+	 */
+	public LoggingWriterStatistics getWriterStatistics();
+
 }
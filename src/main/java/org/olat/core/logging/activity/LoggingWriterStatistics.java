@@ -0,0 +1,36 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.logging.activity;
+
+/**
+ * Snapshot of the metrics of the asynchronous writer of the
+ * user activity log.
+ *
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public record LoggingWriterStatistics(boolean enabled, int queueDepth, int queueCapacity,
+		long written, long dropped, long spilled, long flushes,
+		long lastFlushDuration, long maxFlushDuration, long averageFlushDuration) {
+
+	public static final LoggingWriterStatistics DISABLED = new LoggingWriterStatistics(false, 0, 0, 0l, 0l, 0l, 0l, 0l, 0l, 0l);
+
+}
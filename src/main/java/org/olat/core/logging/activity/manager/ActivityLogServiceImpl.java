@@ -35,6 +35,7 @@ import org.olat.core.logging.activity.ILoggingAction;
 import org.olat.core.logging.activity.ILoggingResourceable;
 import org.olat.core.logging.activity.LogModule;
 import org.olat.core.logging.activity.LoggingObject;
+import org.olat.core.logging.activity.LoggingWriterStatistics;
 import org.olat.core.logging.activity.StringResourceableType;
 import org.olat.core.logging.activity.UserActivityLoggerImpl;
 import org.olat.core.util.StringHelper;
@@ -51,6 +52,8 @@ public class ActivityLogServiceImpl implements ActivityLogService {
 	private DB dbInstance;
 	@Autowired
 	private LogModule logModule;
+	@Autowired
+	private LoggingObjectWriter loggingObjectWriter;
 	
 	@Override
 	public String getSessionId(UserSession session) {
@@ -194,12 +197,17 @@ public class ActivityLogServiceImpl implements ActivityLogService {
 			// hence we just issue a log.info here with the details
 			//@TODO: lower to log_.info once we checked that it doesn't occur very often (best for 6.4)
 			log_.warn("log: DB is in Error state therefore the UserActivityLoggerImpl cannot store the following logging action into the loggingtable: {}", logObj);
-		} else {
+		} else if(!loggingObjectWriter.offer(logObj)) {
 			dbInstance.getCurrentEntityManager().persist(logObj);
 		}
 		return logObj;
 	}
 	
+	@Override
+	public LoggingWriterStatistics getWriterStatistics() {
+		return loggingObjectWriter.getStatistics();
+	}
+	
 	/**
 	 * Returns the combined and orderd list of LoggingResourceables which are set on this
 	 * UserActivityLoggerImpl and are matching the contextEntries.
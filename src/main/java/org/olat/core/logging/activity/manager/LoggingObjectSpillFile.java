@@ -0,0 +1,173 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.logging.activity.manager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.core.logging.Tracing;
+import org.olat.core.logging.activity.LoggingObject;
+
+/**
+ * Append only file used to hold the log entries which cannot be
+ * queued or written in the database. Every record is written as:
+ * length, CRC32 and the serialized {@link LoggingObject}, the file
+ * is forced to the disk once per appended batch. A truncated or corrupted
+ * record at the end of the file (crash while writing) is ignored
+ * while reading.
+ *
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+class LoggingObjectSpillFile {
+
+	private static final Logger log = Tracing.createLoggerFor(LoggingObjectSpillFile.class);
+
+	private static final int MAX_RECORD_LENGTH = 1024 * 1024;
+	private static final ObjectInputFilter FILTER = ObjectInputFilter.Config
+			.createFilter("org.olat.core.logging.activity.LoggingObject;java.util.Date;java.lang.*;!*");
+
+	private final File file;
+	private final File replayFile;
+
+	LoggingObjectSpillFile(File directory) {
+		file = new File(directory, "activity-log-spill.bin");
+		replayFile = new File(directory, "activity-log-spill.replay.bin");
+	}
+
+	/**
+	 * @return true if some log entries wait in the spill file
+	 */
+	synchronized boolean hasPendingEntries() {
+		return (file.exists() && file.length() > 0) || replayFile.exists();
+	}
+
+	synchronized void append(Collection<LoggingObject> logObjects) throws IOException {
+		Files.createDirectories(file.getParentFile().toPath());
+		try(FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			for(LoggingObject logObject:logObjects) {
+				byte[] data = serialize(logObject);
+				CRC32 crc = new CRC32();
+				crc.update(data);
+				ByteBuffer buffer = ByteBuffer.allocate(12 + data.length);
+				buffer.putInt(data.length);
+				buffer.putLong(crc.getValue());
+				buffer.put(data);
+				buffer.flip();
+				while(buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			}
+			channel.force(false);
+		}
+	}
+
+	/**
+	 * Move the spill file aside and return its content. The moved file
+	 * must be confirmed with {@link #commitReplay()} after the entries
+	 * are safely in the database, else it will be read again at the
+	 * next replay.
+	 *
+	 * @return A list of log entries without primary keys
+	 * @throws IOException
+	 */
+	synchronized List<LoggingObject> startReplay() throws IOException {
+		if(!replayFile.exists()) {
+			if(!file.exists()) {
+				return List.of();
+			}
+			Files.move(file.toPath(), replayFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		}
+		return read(replayFile);
+	}
+
+	synchronized void commitReplay() throws IOException {
+		Files.deleteIfExists(replayFile.toPath());
+	}
+
+	private List<LoggingObject> read(File spillFile) throws IOException {
+		List<LoggingObject> logObjects = new ArrayList<>();
+		try(InputStream in = Files.newInputStream(spillFile.toPath());
+				DataInputStream din = new DataInputStream(in)) {
+			while(true) {
+				int length = din.readInt();
+				long checksum = din.readLong();
+				if(length <= 0 || length > MAX_RECORD_LENGTH) {
+					log.warn("Corrupted record in activity log spill file: {}", spillFile);
+					break;
+				}
+				byte[] data = new byte[length];
+				din.readFully(data);
+				CRC32 crc = new CRC32();
+				crc.update(data);
+				if(crc.getValue() != checksum) {
+					log.warn("Corrupted record in activity log spill file: {}", spillFile);
+					break;
+				}
+				LoggingObject logObject = deserialize(data);
+				if(logObject != null) {
+					logObject.setKey(null);
+					logObjects.add(logObject);
+				}
+			}
+		} catch(EOFException e) {
+			// end of file or truncated record
+		}
+		return logObjects;
+	}
+
+	private byte[] serialize(LoggingObject logObject) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+		try(ObjectOutputStream oout = new ObjectOutputStream(out)) {
+			oout.writeObject(logObject);
+		}
+		return out.toByteArray();
+	}
+
+	private LoggingObject deserialize(byte[] data) {
+		try(ObjectInputStream oin = new ObjectInputStream(new ByteArrayInputStream(data))) {
+			oin.setObjectInputFilter(FILTER);
+			return (LoggingObject)oin.readObject();
+		} catch(Exception e) {
+			log.warn("Cannot read a record of the activity log spill file", e);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,322 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.logging.activity.manager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.persistence.EntityManager;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.core.commons.persistence.DB;
+import org.olat.core.logging.Tracing;
+import org.olat.core.logging.activity.LoggingObject;
+import org.olat.core.logging.activity.LoggingWriterStatistics;
+import org.olat.core.util.WebappHelper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Write the user activity log (o_loggingtable) asynchronously. The
+ * log entries are queued in a bounded buffer and a background thread
+ * persists them in batches, in its own transaction, outside of the
+ * request of the user.<br>
+ * If the buffer is full, the overflow policy decides what happens
+ * with the entry: it's queued to be appended to a spill file by the
+ * background thread, one batch at a time, and replayed as soon as the
+ * buffer is idle (default), it's dropped or it's written synchronously
+ * by the caller as before.
+ *
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@Service
+public class LoggingObjectWriter implements InitializingBean, DisposableBean {
+
+	private static final Logger log = Tracing.createLoggerFor(LoggingObjectWriter.class);
+
+	@Value("${log.async.enabled:false}")
+	private boolean enabled;
+	@Value("${log.async.queue.capacity:10000}")
+	private int queueCapacity;
+	@Value("${log.async.batch.size:250}")
+	private int batchSize;
+	@Value("${log.async.max.latency:2000}")
+	private long maxLatency;
+	@Value("${log.async.overflow:spill}")
+	private String overflow;
+
+	private File spillDirectory;
+	private OverflowPolicy overflowPolicy;
+	private BlockingQueue<LoggingObject> queue;
+	private BlockingQueue<LoggingObject> spillQueue;
+	private LoggingObjectSpillFile spillFile;
+	private Thread flusher;
+	private volatile boolean running;
+
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong spilled = new AtomicLong();
+	private final AtomicLong flushes = new AtomicLong();
+	private final AtomicLong flushesDuration = new AtomicLong();
+	private volatile long lastFlushDuration;
+	private volatile long maxFlushDuration;
+
+	@Autowired
+	private DB dbInstance;
+
+	@Override
+	public void afterPropertiesSet() {
+		if(!enabled) return;
+
+		overflowPolicy = OverflowPolicy.secureValueOf(overflow);
+		queue = new ArrayBlockingQueue<>(Math.max(queueCapacity, batchSize));
+		spillQueue = new ArrayBlockingQueue<>(Math.max(queueCapacity, batchSize));
+		if(spillDirectory == null) {
+			spillDirectory = new File(WebappHelper.getUserDataRoot(), "system/activitylog");
+		}
+		spillFile = new LoggingObjectSpillFile(spillDirectory);
+		running = true;
+		flusher = new Thread(this::flushLoop, "Activity-Log-Writer");
+		flusher.setDaemon(true);
+		flusher.start();
+		log.info("Asynchronous activity log writer started (capacity: {}, batch: {}, latency: {}ms, overflow: {})",
+				queue.remainingCapacity(), batchSize, maxLatency, overflowPolicy);
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if(!enabled || flusher == null) return;
+
+		running = false;
+		flusher.interrupt();
+		flusher.join(10000);
+
+		List<LoggingObject> remaining = new ArrayList<>(queue.size());
+		queue.drainTo(remaining);
+		if(!remaining.isEmpty() && !flush(remaining)) {
+			spill(remaining);
+		}
+		spillPending();
+	}
+
+	/**
+	 * Only for testing purpose, the directory is in the user data
+	 * directory per default.
+	 *
+	 * @param spillDirectory The directory of the spill file
+	 */
+	void setSpillDirectory(File spillDirectory) {
+		this.spillDirectory = spillDirectory;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Queue the log entry.
+	 *
+	 * @param logObject The log entry
+	 * @return true if the writer took care of the entry, false if
+	 * 		the caller need to persist it itself
+	 */
+	public boolean offer(LoggingObject logObject) {
+		if(!enabled || !running) return false;
+		if(queue.offer(logObject)) return true;
+
+		switch(overflowPolicy) {
+			case drop:
+				dropped.incrementAndGet();
+				log.debug("Activity log queue full, drop entry: {}", logObject);
+				return true;
+			case spill:
+				// the writer thread appends them to the spill file
+				if(!spillQueue.offer(logObject)) {
+					dropped.incrementAndGet();
+					log.debug("Activity log spill queue full, drop entry: {}", logObject);
+				}
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	public LoggingWriterStatistics getStatistics() {
+		if(!enabled || queue == null) {
+			return LoggingWriterStatistics.DISABLED;
+		}
+		long numOfFlushes = flushes.get();
+		long average = numOfFlushes == 0 ? 0l : flushesDuration.get() / numOfFlushes;
+		return new LoggingWriterStatistics(true, queue.size(), queue.size() + queue.remainingCapacity(),
+				written.get(), dropped.get(), spilled.get(), numOfFlushes,
+				lastFlushDuration, maxFlushDuration, average);
+	}
+
+	private void flushLoop() {
+		replaySpillFile();
+
+		List<LoggingObject> batch = new ArrayList<>(batchSize);
+		while(running) {
+			try {
+				spillPending();
+				LoggingObject first = queue.poll(maxLatency, TimeUnit.MILLISECONDS);
+				if(first == null) {
+					replaySpillFile();
+					continue;
+				}
+
+				batch.add(first);
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxLatency);
+				while(batch.size() < batchSize) {
+					queue.drainTo(batch, batchSize - batch.size());
+					long remaining = deadline - System.nanoTime();
+					if(batch.size() >= batchSize || remaining <= 0) {
+						break;
+					}
+					LoggingObject next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if(next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+
+				if(!flush(batch)) {
+					spill(batch);
+				}
+			} catch (InterruptedException e) {
+				if(!batch.isEmpty() && !flush(batch)) {
+					spill(batch);
+				}
+				spillPending();
+				Thread.currentThread().interrupt();
+				break;
+			} catch (Exception e) {
+				log.error("", e);
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private boolean flush(List<LoggingObject> batch) {
+		long start = System.nanoTime();
+		try {
+			EntityManager em = dbInstance.getCurrentEntityManager();
+			for(LoggingObject logObject:batch) {
+				em.persist(logObject);
+			}
+			dbInstance.commitAndCloseSession();
+			written.addAndGet(batch.size());
+			return true;
+		} catch (Exception e) {
+			log.error("Cannot write {} activity log entries", batch.size(), e);
+			dbInstance.rollbackAndCloseSession();
+			// the keys are generated before the insert
+			for(LoggingObject logObject:batch) {
+				logObject.setKey(null);
+			}
+			return false;
+		} finally {
+			long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			lastFlushDuration = duration;
+			if(duration > maxFlushDuration) {
+				maxFlushDuration = duration;
+			}
+			flushesDuration.addAndGet(duration);
+			flushes.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Append all the entries which overflowed the buffer to the spill
+	 * file, with a single write to the disk.
+	 */
+	private void spillPending() {
+		if(spillQueue.isEmpty()) return;
+
+		List<LoggingObject> pending = new ArrayList<>(spillQueue.size());
+		spillQueue.drainTo(pending);
+		if(!pending.isEmpty()) {
+			spill(pending);
+		}
+	}
+
+	private boolean spill(List<LoggingObject> logObjects) {
+		try {
+			spillFile.append(logObjects);
+			spilled.addAndGet(logObjects.size());
+			return true;
+		} catch (IOException e) {
+			log.error("Cannot spill {} activity log entries, entries lost", logObjects.size(), e);
+			dropped.addAndGet(logObjects.size());
+			return false;
+		}
+	}
+
+	private void replaySpillFile() {
+		if(!spillFile.hasPendingEntries() || !queue.isEmpty()) return;
+
+		try {
+			List<LoggingObject> logObjects = spillFile.startReplay();
+			int replayed = 0;
+			while(replayed < logObjects.size()
+					&& flush(logObjects.subList(replayed, Math.min(logObjects.size(), replayed + batchSize)))) {
+				replayed = Math.min(logObjects.size(), replayed + batchSize);
+			}
+			if(replayed < logObjects.size()) {
+				// write back the entries not in the database
+				spillFile.append(logObjects.subList(replayed, logObjects.size()));
+			}
+			spillFile.commitReplay();
+			log.info("Replayed {} activity log entries from the spill file", replayed);
+		} catch (IOException e) {
+			log.error("Cannot replay the activity log spill file", e);
+		}
+	}
+
+	public enum OverflowPolicy {
+		/** Append the entries to the spill file */
+		spill,
+		/** Drop the entries */
+		drop,
+		/** Let the caller write the entry in its transaction */
+		sync;
+
+		public static OverflowPolicy secureValueOf(String val) {
+			for(OverflowPolicy policy:values()) {
+				if(policy.name().equalsIgnoreCase(val)) {
+					return policy;
+				}
+			}
+			return spill;
+		}
+	}
+}
@@ -19,16 +19,24 @@
  */
 package org.olat.core.util.cache.infinispan;
 
+import java.io.IOException;
+
 import javax.naming.InitialContext;
 
+import org.infinispan.configuration.parsing.ConfigurationBuilderHolder;
+import org.infinispan.configuration.parsing.ParserRegistry;
 import org.infinispan.manager.DefaultCacheManager;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.olat.core.util.StringHelper;
 import org.springframework.beans.factory.FactoryBean;
 
 /**
- * The embbeded cache manager of infinispan
- * 
+ * The embbeded cache manager of infinispan. In cluster mode (and without
+ * JNDI), the cache manager can be started with a JGroups transport (opt-in
+ * with infinispan.jgroups.enabled). The caches defined in the configuration
+ * stay local but the cache manager can be shared with the second level cache
+ * of Hibernate which uses it for its invalidation caches (see
+ * {@link InfinispanClusterRegionFactory}).
  * 
  * Initial date: 17.12.2012<br>
  * @author srosse, stephane.rosse@frentix.com, http://www.frentix.com
@@ -36,10 +44,22 @@ import org.springframework.beans.factory.FactoryBean;
  */
 public class InfinispanCacheManager implements FactoryBean<EmbeddedCacheManager> {
 	
+	private static EmbeddedCacheManager sharedCacheManager;
+	
 	private String configuration;
 	private String jndiName;
+	private String clusterMode;
+	private boolean jgroupsEnabled;
+	private String clusterName;
+	private String jgroupsConfiguration;
 	private EmbeddedCacheManager cacheManager;
 	
+	/**
+	 * @return The cache manager if it's already started
+	 */
+	public static EmbeddedCacheManager getSharedCacheManager() {
+		return sharedCacheManager;
+	}
 
 	/**
 	 * [used by Spring]
@@ -53,10 +73,39 @@ public class InfinispanCacheManager implements FactoryBean<EmbeddedCacheManager>
 		this.jndiName = jndiName;
 	}
 	
+	/**
+	 * [used by Spring]
+	 * @param clusterMode SingleVM or Cluster
+	 */
+	public void setClusterMode(String clusterMode) {
+		this.clusterMode = clusterMode;
+	}
+	
+	/**
+	 * [used by Spring]
+	 * @param jgroupsEnabled true to start a JGroups transport in cluster mode
+	 */
+	public void setJgroupsEnabled(boolean jgroupsEnabled) {
+		this.jgroupsEnabled = jgroupsEnabled;
+	}
+	
+	public void setClusterName(String clusterName) {
+		this.clusterName = clusterName;
+	}
+	
+	/**
+	 * [used by Spring]
+	 * @param jgroupsConfiguration The JGroups stack used in cluster mode
+	 */
+	public void setJgroupsConfiguration(String jgroupsConfiguration) {
+		this.jgroupsConfiguration = jgroupsConfiguration;
+	}
+	
 	public void stop() {
 		if(!StringHelper.containsNonWhitespace(jndiName)) {
 			cacheManager.stop();
 		}
+		sharedCacheManager = null;
 	}
 
 	@Override
@@ -69,12 +118,27 @@ public class InfinispanCacheManager implements FactoryBean<EmbeddedCacheManager>
 				if(!StringHelper.containsNonWhitespace(configuration)) {
 					configuration = "infinispan-config.xml";
 				}
-				cacheManager = new DefaultCacheManager(configuration);
+				if(jgroupsEnabled && "Cluster".equals(clusterMode)) {
+					cacheManager = createClusteredCacheManager();
+				} else {
+					cacheManager = new DefaultCacheManager(configuration);
+				}
 				cacheManager.start();
 			}
+			sharedCacheManager = cacheManager;
 		}
 		return cacheManager;
 	}
+	
+	private EmbeddedCacheManager createClusteredCacheManager() throws IOException {
+		ConfigurationBuilderHolder holder = new ParserRegistry().parseFile(configuration);
+		String stack = StringHelper.containsNonWhitespace(jgroupsConfiguration)
+				? jgroupsConfiguration : "default-configs/default-jgroups-tcp.xml";
+		holder.getGlobalConfigurationBuilder().transport().defaultTransport()
+			.clusterName(StringHelper.containsNonWhitespace(clusterName) ? clusterName : "openolat")
+			.addProperty("configurationFile", stack);
+		return new DefaultCacheManager(holder, false);
+	}
 
 	@Override
 	public Class<?> getObjectType() {
@@ -0,0 +1,112 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.util.cache.infinispan;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.logging.log4j.Logger;
+import org.hibernate.cache.CacheException;
+import org.hibernate.service.ServiceRegistry;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.parsing.ConfigurationBuilderHolder;
+import org.infinispan.configuration.parsing.ParserRegistry;
+import org.infinispan.hibernate.cache.v62.InfinispanRegionFactory;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.olat.core.logging.Tracing;
+
+/**
+ * Region factory of the second level cache of Hibernate for a cluster
+ * of Tomcat (hibernate.cache=jgroups). It doesn't start its own cache manager
+ * but uses the clustered one of {@link InfinispanCacheManager}. The configurations of the regions
+ * are read from the same file as in single VM mode, the entity regions
+ * are switched to invalidation mode, the timestamps are replicated and the
+ * queries stay local.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class InfinispanClusterRegionFactory extends InfinispanRegionFactory {
+
+	private static final long serialVersionUID = -2722441009417766839L;
+	private static final Logger log = Tracing.createLoggerFor(InfinispanClusterRegionFactory.class);
+	
+	private static final String CONFIGURATION_PROP = "hibernate.cache.infinispan.cfg";
+	private static final String DEFAULT_CONFIGURATION = "org/infinispan/hibernate/cache/commons/builder/infinispan-configs-local.xml";
+	
+	private static final String TIMESTAMPS = "timestamps";
+	private static final String LOCAL_QUERY = "local-query";
+	private static final String PENDING_PUTS = "pending-puts";
+	
+	@Override
+	protected EmbeddedCacheManager createCacheManager(Properties properties, ServiceRegistry serviceRegistry) {
+		EmbeddedCacheManager cacheManager = InfinispanCacheManager.getSharedCacheManager();
+		if(cacheManager == null) {
+			throw new CacheException("The cache manager of OpenOLAT is not started");
+		}
+		if(cacheManager.getTransport() == null) {
+			throw new CacheException("The cache manager of OpenOLAT has no transport, set infinispan.jgroups.enabled=true");
+		}
+		String configuration = properties.getProperty(CONFIGURATION_PROP, DEFAULT_CONFIGURATION);
+		defineConfigurations(cacheManager, configuration);
+		return cacheManager;
+	}
+	
+	private void defineConfigurations(EmbeddedCacheManager cacheManager, String configuration) {
+		try {
+			ConfigurationBuilderHolder holder = new ParserRegistry().parseFile(configuration);
+			for(Map.Entry<String,ConfigurationBuilder> entry:holder.getNamedConfigurationBuilders().entrySet()) {
+				String name = entry.getKey();
+				if(cacheManager.getCacheConfiguration(name) != null) {
+					continue;
+				}
+				
+				ConfigurationBuilder builder = entry.getValue();
+				CacheMode cacheMode = getCacheMode(name);
+				if(cacheMode != CacheMode.LOCAL) {
+					builder.simpleCache(false);
+					builder.clustering().cacheMode(cacheMode);
+				}
+				cacheManager.defineConfiguration(name, builder.build());
+				log.info("Define second level cache configuration: {} ({})", name, cacheMode);
+			}
+		} catch (IOException e) {
+			throw new CacheException("Cannot read the configuration of the second level cache: " + configuration, e);
+		}
+	}
+	
+	private CacheMode getCacheMode(String name) {
+		if(TIMESTAMPS.equals(name)) {
+			return CacheMode.REPLICATED_ASYNC;
+		}
+		if(LOCAL_QUERY.equals(name) || PENDING_PUTS.equals(name)) {
+			return CacheMode.LOCAL;
+		}
+		return CacheMode.INVALIDATION_SYNC;
+	}
+
+	@Override
+	protected void stopCacheManager() {
+		// the cache manager is stopped by InfinispanCacheManager
+	}
+}
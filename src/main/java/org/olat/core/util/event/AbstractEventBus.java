@@ -25,13 +25,18 @@
 package org.olat.core.util.event;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.WeakHashMap;
 
 import org.apache.logging.log4j.Logger;
 import org.olat.core.gui.control.Controller;
+import org.olat.core.gui.control.WindowBackOffice;
+import org.olat.core.gui.control.WindowControl;
 import org.olat.core.id.Identity;
 import org.olat.core.id.OLATResourceable;
 import org.olat.core.logging.Tracing;
@@ -138,11 +143,16 @@ public abstract class AbstractEventBus implements EventBus {
 			}
 		}
 
-		doFire(event, listenersArr);
-		doFire(event, listenersTypeArr);
+		// wake every window once, even if several of its controllers receive the event
+		Set<WindowBackOffice> windows = Collections.newSetFromMap(new IdentityHashMap<>());
+		doFire(event, listenersArr, windows);
+		doFire(event, listenersTypeArr, windows);
+		for(WindowBackOffice wbo:windows) {
+			wbo.wakeUp();
+		}
 	}
 	
-	private final void doFire(final MultiUserEvent event, final GenericEventListener[] liArr) {
+	private final void doFire(final MultiUserEvent event, final GenericEventListener[] liArr, final Set<WindowBackOffice> windows) {
 		if(liArr == null) return;
 		
 		for (int i = 0; i < liArr.length; i++) {
@@ -159,6 +169,7 @@ public abstract class AbstractEventBus implements EventBus {
 								listener.event(event);
 							}
 						}, UserActivityLoggerImpl.newLoggerForEventBus(dCtrl));
+						collectWindow(dCtrl, windows);
 					}
 				} else if(listener != null) {
 					if(log.isDebugEnabled()){
@@ -178,6 +189,23 @@ public abstract class AbstractEventBus implements EventBus {
 		}
 	}
 	
+	/**
+	 * The controller has probably changed its state, the browser window
+	 * can poll soon instead of waiting the next poll.
+	 * 
+	 * @param ctrl The controller which received the event
+	 * @param windows The windows to wake up
+	 */
+	private void collectWindow(Controller ctrl, Set<WindowBackOffice> windows) {
+		WindowControl wControl = ctrl.getWindowControlForDebug();
+		if(wControl != null) {
+			WindowBackOffice wbo = wControl.getWindowBackOffice();
+			if(wbo != null) {
+				windows.add(wbo);
+			}
+		}
+	}
+	
 	protected final BusListenerInfo createBusListenerInfo() {
 		BusListenerInfo bii = new BusListenerInfo();
 		synchronized(infocenter) { // o_clusterOK by:fj: extract quickly so that we can later serialize and send across the wire. data affects only one vm.
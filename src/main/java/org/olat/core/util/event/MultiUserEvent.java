@@ -67,6 +67,19 @@ public class MultiUserEvent extends Event {
 		vm_marker = WebappHelper.getNodeId();
 	}
 	
+	/**
+	 * Recreate an event received from an other node of the cluster.
+	 * 
+	 * @param command The command
+	 * @param priority The priority
+	 * @param nodeId The id of the node which created the event
+	 */
+	public MultiUserEvent(String command, int priority, int nodeId) {
+		super(command);
+		this.priority = priority;
+		vm_marker = nodeId;
+	}
+	
 	/**
 	 * should be overridden by subclasses for debug info
 	 */
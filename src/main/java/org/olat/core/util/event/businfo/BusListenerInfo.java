@@ -67,6 +67,23 @@ public class BusListenerInfo implements Serializable {
 	}
 
 	
+	/**
+	 * The keys are the same as the ones of the event bus: the type name for
+	 * the listeners of a whole type, type name and id for the others.
+	 * 
+	 * @param typeName The type of the channel
+	 * @param id The id of the channel (can be null)
+	 * @return true if the node has at least one listener for the channel
+	 */
+	public boolean hasListenersFor(String typeName, Long id) {
+		synchronized(listenersCnt) {//cluster_ok
+			if(listenersCnt.containsKey(typeName)) {
+				return true;
+			}
+			return id != null && listenersCnt.containsKey(typeName + "::" + id);
+		}
+	}
+	
 	public void addEntry(String derivedString, int cnt) {
 		synchronized(listenersCnt) {//cluster_ok
 			listenersCnt.put(derivedString, Integer.valueOf(cnt));
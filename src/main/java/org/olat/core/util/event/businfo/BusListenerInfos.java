@@ -72,6 +72,14 @@ public class BusListenerInfos {
 		}
 	}
 	
+	/**
+	 * @param nodeId The id of the node
+	 * @return The last information sent by the node or null
+	 */
+	public BusListenerInfo getInfoFor(Integer nodeId) {
+		return nodeBusInfos.get(nodeId);
+	}
+	
 	public String getAsString() {
 		StringBuilder sb = new StringBuilder();
 		Set<String> allNodesDerivedStrings = new TreeSet<>(); // the derived strings are sorted then
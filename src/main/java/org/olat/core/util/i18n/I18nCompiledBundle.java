@@ -0,0 +1,105 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.util.i18n;
+
+import java.text.Format;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The flattened translations of a bundle for a locale: the overlay and the
+ * fallbacks to the parent, default and fallback locales are already applied,
+ * the references to other keys resolved and the gender strategy applied. The
+ * messages with arguments are parsed once.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+class I18nCompiledBundle {
+	
+	private final Map<String,CompiledMessage> messages;
+	
+	I18nCompiledBundle(Map<String,String> values) {
+		Map<String,CompiledMessage> compiledMessages = new HashMap<>();
+		for(Map.Entry<String,String> entry:values.entrySet()) {
+			compiledMessages.put(entry.getKey(), compile(entry.getValue()));
+		}
+		messages = Map.copyOf(compiledMessages);
+	}
+	
+	int size() {
+		return messages.size();
+	}
+	
+	/**
+	 * @param key The key
+	 * @param args The arguments or null
+	 * @return The formatted message or null if the key is unknown
+	 */
+	String getLocalizedString(String key, Object[] args) {
+		CompiledMessage message = messages.get(key);
+		if(message == null) {
+			return null;
+		}
+		return args == null ? message.value() : message.format(args);
+	}
+	
+	private static CompiledMessage compile(String value) {
+		if(value.indexOf('{') < 0) {
+			// no argument, formatting only unescapes the escaped single quotes
+			return new CompiledMessage(value, null, true);
+		}
+		
+		try {
+			MessageFormat template = new MessageFormat(escapeQuotes(value));
+			boolean threadSafe = true;
+			for(Format format:template.getFormats()) {
+				// number, date and choice formats are not thread safe
+				if(format != null) {
+					threadSafe = false;
+				}
+			}
+			return new CompiledMessage(value, template, threadSafe);
+		} catch (IllegalArgumentException e) {
+			// not a valid pattern, let format throw the same exception as an uncompiled message
+			return new CompiledMessage(value, null, false);
+		}
+	}
+	
+	/**
+	 * Single quotes have special meaning in MessageFormat. See OLAT-5107, OLAT-5756
+	 */
+	private static String escapeQuotes(String value) {
+		return value.indexOf('\'') > -1 ? value.replace("'", "''") : value;
+	}
+	
+	private record CompiledMessage(String value, MessageFormat template, boolean threadSafe) {
+		
+		public String format(Object[] args) {
+			if(template == null) {
+				return threadSafe ? value : MessageFormat.format(escapeQuotes(value), args);
+			}
+			MessageFormat format = threadSafe ? template : (MessageFormat)template.clone();
+			return format.format(args);
+		}
+	}
+}
@@ -57,6 +57,7 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -148,7 +149,11 @@ public class I18nManager {
 	private ConcurrentMap<String, Properties> cachedBundles = new ConcurrentHashMap<>();
 	private ConcurrentMap<String, String> cachedJSTranslatorData = new ConcurrentHashMap<>();
 	private ConcurrentMap<String, Deque<String>> referencingBundlesIndex = new ConcurrentHashMap<>();
+	// keys: bundle name, locale and fallback flags; values: flattened translations
+	private ConcurrentMap<CompiledBundleKey, I18nCompiledBundle> compiledBundles = new ConcurrentHashMap<>();
+	private final AtomicLong compiledBundlesGeneration = new AtomicLong();
 	private boolean cachingEnabled = true;
+	private boolean compiledEnabled = true;
 	
 	private final I18nModule i18nModule;
 
@@ -156,6 +161,7 @@ public class I18nManager {
 	public I18nManager(I18nModule i18nModule) {
 		this.i18nModule = i18nModule;
 		setCachingEnabled(i18nModule.isCachingEnabled());
+		setCompiledEnabled(i18nModule.isCompiledEnabled());
 		INSTANCE = this;
 	}
 
@@ -209,8 +215,77 @@ public class I18nManager {
 	 *         possible and not found
 	 */
 	public String getLocalizedString(String bundleName, String key, Object[] args, Locale locale, boolean overlayEnabled, boolean fallBackToDefaultLocale) {
+		if (compiledEnabled && cachingEnabled && i18nModule.isCachingEnabled() && !isCurrentThreadMarkLocalizedStringsEnabled()) {
+			return getCompiledBundle(bundleName, locale, overlayEnabled, fallBackToDefaultLocale)
+					.getLocalizedString(key, args);
+		}
 		return getLocalizedString(bundleName, key, args, locale, overlayEnabled, fallBackToDefaultLocale, true, true, true, 0);
 	}
+	
+	private I18nCompiledBundle getCompiledBundle(String bundleName, Locale locale, boolean overlayEnabled, boolean fallBackToDefaultLocale) {
+		CompiledBundleKey compiledKey = new CompiledBundleKey(bundleName, locale, overlayEnabled, fallBackToDefaultLocale);
+		I18nCompiledBundle compiledBundle = compiledBundles.get(compiledKey);
+		if (compiledBundle == null) {
+			long generation = compiledBundlesGeneration.get();
+			compiledBundle = compileBundle(bundleName, locale, overlayEnabled, fallBackToDefaultLocale);
+			// don't cache a table compiled from bundles which changed in the meantime
+			if (generation == compiledBundlesGeneration.get()) {
+				I18nCompiledBundle currentBundle = compiledBundles.putIfAbsent(compiledKey, compiledBundle);
+				if (currentBundle != null) {
+					compiledBundle = currentBundle;
+				}
+			}
+		}
+		return compiledBundle;
+	}
+	
+	/**
+	 * Flatten the bundle: every key which can be found in the locale, its
+	 * parents, the default and the fallback locale and their overlays is
+	 * translated once with the complete lookup chain.
+	 */
+	private I18nCompiledBundle compileBundle(String bundleName, Locale locale, boolean overlayEnabled, boolean fallBackToDefaultLocale) {
+		Set<Locale> lookupLocales = new HashSet<>();
+		collectLookupLocales(locale, lookupLocales);
+		if (fallBackToDefaultLocale) {
+			collectLookupLocales(i18nModule.getDefaultLocale(), lookupLocales);
+		}
+		collectLookupLocales(i18nModule.getFallbackLocale(), lookupLocales);
+		
+		Set<String> keys = new HashSet<>();
+		for (Locale lookupLocale : lookupLocales) {
+			keys.addAll(getResolvedProperties(lookupLocale, bundleName).stringPropertyNames());
+			Locale overlayLocale = overlayEnabled ? i18nModule.getOverlayLocales().get(lookupLocale) : null;
+			if (overlayLocale != null) {
+				keys.addAll(getResolvedProperties(overlayLocale, bundleName).stringPropertyNames());
+			}
+		}
+		
+		Map<String, String> values = new HashMap<>();
+		for (String key : keys) {
+			String value = getLocalizedString(bundleName, key, null, locale, overlayEnabled, fallBackToDefaultLocale, true, true, false, 0);
+			if (value != null) {
+				values.put(key, value);
+			}
+		}
+		return new I18nCompiledBundle(values);
+	}
+	
+	private void collectLookupLocales(Locale locale, Set<Locale> lookupLocales) {
+		if (locale == null || !lookupLocales.add(locale)) return;
+		
+		if (!locale.getVariant().equals("")) {
+			collectLookupLocales(i18nModule.getAllLocales().get(locale.getLanguage() + "_" + locale.getCountry()), lookupLocales);
+		}
+		if (!locale.getCountry().equals("")) {
+			collectLookupLocales(i18nModule.getAllLocales().get(locale.getLanguage()), lookupLocales);
+		}
+	}
+	
+	private void clearCompiledBundles() {
+		compiledBundlesGeneration.incrementAndGet();
+		compiledBundles.clear();
+	}
 
 	public String getLocalizedString(String bundleName, String key, Object[] args, Locale locale, boolean overlayEnabled, boolean fallBackToDefaultLocale,
 			boolean fallBackToFallbackLocale, boolean resolveRecursively, int recursionLevel) {
@@ -826,6 +901,7 @@ public class I18nManager {
 					cachedBundles.remove(bundleName);
 				}
 			}
+			clearCompiledBundles();
 		}
 
 	}
@@ -1182,6 +1258,7 @@ public class I18nManager {
 			Collections.sort(knownBundles);
 		}
 		// 3) Replace in cache
+		clearCompiledBundles();
 		// not loaded yet or a non-resolved file (trans-tool)
 		if (cachedBundles.containsValue(properties)) {
 			// nothing to do with the property, a reused property
@@ -1215,6 +1292,7 @@ public class I18nManager {
 
 		if (locale != null) { // metadata files are not in cache
 			// 1) Remove from cache first
+			clearCompiledBundles();
 			if (cachedBundles.containsKey(key)) {
 				cachedBundles.remove(key);
 				// Remove also from javascript translator cache.
@@ -1804,6 +1882,7 @@ public class I18nManager {
 		cachedBundles.clear();
 		cachedJSTranslatorData.clear();
 		referencingBundlesIndex.clear();
+		clearCompiledBundles();
 	}
 
 	/**
@@ -1817,12 +1896,15 @@ public class I18nManager {
 			cachedBundles = new ConcurrentHashMap<>();
 			cachedJSTranslatorData = new ConcurrentHashMap<>();
 			referencingBundlesIndex = new ConcurrentHashMap<>();
+			compiledBundles = new ConcurrentHashMap<>();
 		} else {
 			cachedLangTranslated = new AlwaysEmptyMap<>();
 			cachedBundles = new AlwaysEmptyMap<>();
 			cachedJSTranslatorData = new AlwaysEmptyMap<>();
 			referencingBundlesIndex = new AlwaysEmptyMap<>();
+			compiledBundles = new AlwaysEmptyMap<>();
 		}
+		compiledBundlesGeneration.incrementAndGet();
 		cachingEnabled = useCache;
 	}
 
@@ -1833,6 +1915,24 @@ public class I18nManager {
 	public boolean isCachingEnabled() {
 		return cachingEnabled;
 	}
+	
+	/**
+	 * Method to enable / disable the lookup in the flattened translation
+	 * tables. The tables are only used if caching is enabled.
+	 * 
+	 * @param compiled
+	 */
+	public void setCompiledEnabled(boolean compiled) {
+		clearCompiledBundles();
+		compiledEnabled = compiled;
+	}
+	
+	/**
+	 * @return true: the translations are looked up in the flattened tables
+	 */
+	public boolean isCompiledEnabled() {
+		return compiledEnabled;
+	}
 		
 	/**
 	 * Helper method to build i18n filenames from a given locale. E.g. when
@@ -2237,5 +2337,9 @@ public class I18nManager {
 		}
 
 	}
+	
+	private record CompiledBundleKey(String bundleName, Locale locale, boolean overlayEnabled, boolean fallBackToDefaultLocale) {
+		//
+	}
 
 }
@@ -114,6 +114,8 @@ public class I18nModule extends AbstractSpringModule {
 
 	@Value("${localization.cache:true}")
 	private boolean cachingEnabled;
+	@Value("${localization.compiled:true}")
+	private boolean compiledEnabled;
 	private boolean languageDropDownListEnabled = true;
 	// Lists of the available and enabled languages and locales
 	private final Set<String> availableLanguages = new HashSet<>();
@@ -706,6 +708,14 @@ public class I18nModule extends AbstractSpringModule {
 	public boolean isCachingEnabled() {
 		return cachingEnabled;
 	}
+
+	/**
+	 * @return true: the translations are flattened per bundle and locale (only
+	 *         if caching is enabled)
+	 */
+	public boolean isCompiledEnabled() {
+		return compiledEnabled;
+	}
 	
 	public File getLangPacksDirectory() {
 		return LANG_PACKS_DIRECTORY;
@@ -0,0 +1,798 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.util.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A drop-in replacement of the ZipOutputStream which deflates the entries
+ * in a pool of workers. The data of an entry is cut in blocks, every block
+ * is deflated separately with the last 32KB of the previous one as dictionary
+ * and the compressed blocks are written in order to the underlying stream.
+ * The number of blocks waiting to be written is limited, the memory used
+ * doesn't depend on the size of the entries or of the archive. The pool
+ * is shared by all the streams, its size and the max. number of pending
+ * blocks per stream are configured by the {@link org.olat.core.commons.services.vfs.VFSRepositoryModule}.
+ * If the pool is saturated by other streams, the thread writing in the stream
+ * deflates the block itself, as the ZipOutputStream does.<br>
+ * An entry which fits in a block is written with its sizes in the local header,
+ * a bigger one with a data descriptor. Already compressed media types (images,
+ * videos, archives, office documents...) are stored without compression, or
+ * deflated with level 0 if they are bigger than a block.<br>
+ * Like the ZipOutputStream, the stream is not thread-safe.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class ParallelZipOutputStream extends ZipOutputStream {
+	
+	static final int BLOCK_SIZE = 1024 * 1024;
+	private static final int MIN_BUFFER_SIZE = 8 * 1024;
+	private static final int DICTIONARY_SIZE = 32 * 1024;
+	private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+	private static final long PROGRESS_INTERVAL = 2000l;
+	
+	private static final long ZIP64_MAGICVAL = 0xFFFFFFFFl;
+	private static final int ZIP64_MAGICCOUNT = 0xFFFF;
+	private static final int LOCSIG = 0x04034b50;
+	private static final int EXTSIG = 0x08074b50;
+	private static final int CENSIG = 0x02014b50;
+	private static final int ENDSIG = 0x06054b50;
+	private static final int ZIP64_ENDSIG = 0x06064b50;
+	private static final int ZIP64_LOCSIG = 0x07064b50;
+	private static final int ZIP64_EXTID = 0x0001;
+	private static final int FLAG_DATA_DESCRIPTOR = 0x08;
+	private static final int FLAG_UTF8 = 0x800;
+	
+	private static final Set<String> COMPRESSED_SUFFIXES = Set.of(
+			"zip", "jar", "war", "gz", "tgz", "bz2", "xz", "7z", "rar", "zst", "imscc",
+			"docx", "xlsx", "pptx", "odt", "ods", "odp", "odg", "epub", "h5p",
+			"jpg", "jpeg", "png", "gif", "webp", "heic", "avif", "jp2",
+			"mp3", "m4a", "aac", "ogg", "oga", "opus", "flac", "wma",
+			"mp4", "m4v", "mov", "webm", "mkv", "avi", "wmv", "mpg", "mpeg", "ogv", "3gp");
+
+	private static final int DEFAULT_THREADS = 2;
+	private static final int DEFAULT_MAX_PENDING_PARTS = 6;
+	private static final ThreadPoolExecutor deflaterPool = createDeflaterPool();
+	private static volatile int maxPendingPartsPerStream = DEFAULT_MAX_PENDING_PARTS;
+	private static final ThreadLocal<Deflater> deflaters = ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+	
+	private final int maxPendingParts;
+	private final Deque<Part> pendingParts = new ArrayDeque<>();
+	private final List<EntryRecord> records = new ArrayList<>();
+	private final Set<String> names = new HashSet<>();
+	private final CRC32 crc = new CRC32();
+	
+	private int level = Deflater.DEFAULT_COMPRESSION;
+	private int method = DEFLATED;
+	private byte[] comment;
+	
+	private EntryRecord current;
+	private byte[] buffer;
+	private int bufferLength;
+	private byte[] dictionary;
+	
+	private long written = 0l;
+	private long uncompressedBytes = 0l;
+	private long lastProgress = 0l;
+	private ProgressListener progressListener;
+	
+	private boolean finished = false;
+	private boolean closed = false;
+	
+	public ParallelZipOutputStream(OutputStream out) {
+		super(new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE));
+		maxPendingParts = maxPendingPartsPerStream;
+	}
+	
+	private static ThreadPoolExecutor createDeflaterPool() {
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(DEFAULT_THREADS, DEFAULT_THREADS, 60l, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), new DeflaterThreadFactory());
+		pool.allowCoreThreadTimeOut(true);
+		return pool;
+	}
+	
+	/**
+	 * Configure the pool of deflaters shared by all the streams and the max.
+	 * number of blocks a stream holds in memory. The new number of pending
+	 * blocks is used by the streams opened after the change.
+	 * 
+	 * @param threads The number of threads of the pool
+	 * @param maxPendingParts The max. number of blocks waiting to be written per stream
+	 */
+	public static synchronized void configure(int threads, int maxPendingParts) {
+		int poolSize = Math.max(1, threads);
+		// the core size cannot be greater than the max. size
+		if(poolSize > deflaterPool.getMaximumPoolSize()) {
+			deflaterPool.setMaximumPoolSize(poolSize);
+			deflaterPool.setCorePoolSize(poolSize);
+		} else {
+			deflaterPool.setCorePoolSize(poolSize);
+			deflaterPool.setMaximumPoolSize(poolSize);
+		}
+		maxPendingPartsPerStream = Math.max(1, maxPendingParts);
+	}
+	
+	/**
+	 * @param name The name of the entry
+	 * @return true if the file type is already compressed and deflate will not gain anything
+	 */
+	public static boolean isCompressed(String name) {
+		if(name == null) return false;
+		int index = name.lastIndexOf('.');
+		if(index < 0 || index < name.lastIndexOf('/')) return false;
+		return COMPRESSED_SUFFIXES.contains(name.substring(index + 1).toLowerCase(Locale.ROOT));
+	}
+	
+	/**
+	 * The listener is called on the thread writing in the stream, at most
+	 * every 2 seconds and at the end of the archive.
+	 * 
+	 * @param progressListener A listener or null
+	 */
+	public void setProgressListener(ProgressListener progressListener) {
+		this.progressListener = progressListener;
+	}
+	
+	/**
+	 * @return The number of bytes written to the underlying stream
+	 */
+	public long getWrittenBytes() {
+		return written;
+	}
+	
+	/**
+	 * @return The number of bytes written in the entries
+	 */
+	public long getUncompressedBytes() {
+		return uncompressedBytes;
+	}
+
+	@Override
+	public void setComment(String comment) {
+		this.comment = comment == null ? null : comment.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public void setMethod(int method) {
+		if(method != DEFLATED && method != STORED) {
+			throw new IllegalArgumentException("invalid compression method");
+		}
+		this.method = method;
+	}
+
+	@Override
+	public void setLevel(int level) {
+		if((level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) && level != Deflater.DEFAULT_COMPRESSION) {
+			throw new IllegalArgumentException("invalid compression level");
+		}
+		this.level = level;
+	}
+
+	@Override
+	public void putNextEntry(ZipEntry e) throws IOException {
+		ensureOpen();
+		if(current != null) {
+			closeEntry();
+		}
+		
+		String name = e.getName();
+		if(!names.add(name)) {
+			throw new ZipException("duplicate entry: " + name);
+		}
+		
+		long time = e.getTime() == -1l ? System.currentTimeMillis() : e.getTime();
+		boolean stored = e.getMethod() == STORED || (e.getMethod() == -1 && method == STORED)
+				|| name.endsWith("/") || isCompressed(name);
+		current = new EntryRecord(e, name.getBytes(StandardCharsets.UTF_8), e.getExtra(),
+				e.getComment() == null ? null : e.getComment().getBytes(StandardCharsets.UTF_8),
+				toDosTime(time), stored, stored ? Deflater.NO_COMPRESSION : level);
+		crc.reset();
+		buffer = null;
+		bufferLength = 0;
+		dictionary = null;
+	}
+
+	@Override
+	public void closeEntry() throws IOException {
+		ensureOpen();
+		if(current == null) return;
+		
+		EntryRecord record = current;
+		record.crc = crc.getValue();
+		if(record.blocks == 0) {
+			final byte[] data = buffer == null ? new byte[0] : buffer;
+			final int length = bufferLength;
+			Future<Block> future;
+			if(record.stored || length == 0) {
+				future = CompletableFuture.completedFuture(new Block(STORED, data, length));
+			} else {
+				final int entryLevel = record.level;
+				future = deflate(data, length, null, entryLevel, true, true);
+			}
+			enqueue(new EntryPart(record, future));
+		} else {
+			submitBlock(true);
+			enqueue(new DataDescriptorPart(record));
+		}
+		
+		record.entry.setSize(record.size);
+		record.entry.setCrc(record.crc);
+		records.add(record);
+		current = null;
+		buffer = null;
+		bufferLength = 0;
+		dictionary = null;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte)b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		ensureOpen();
+		Objects.checkFromIndexSize(off, len, b.length);
+		if(current == null) {
+			throw new ZipException("no current ZIP entry");
+		}
+		if(len == 0) return;
+		
+		crc.update(b, off, len);
+		current.size += len;
+		uncompressedBytes += len;
+		while(len > 0) {
+			if(bufferLength == BLOCK_SIZE) {
+				submitBlock(false);
+			}
+			ensureCapacity(Math.min(BLOCK_SIZE, bufferLength + len));
+			int count = Math.min(len, buffer.length - bufferLength);
+			System.arraycopy(b, off, buffer, bufferLength, count);
+			bufferLength += count;
+			off += count;
+			len -= count;
+		}
+	}
+	
+	private void ensureCapacity(int minLength) {
+		if(buffer == null) {
+			buffer = new byte[Math.max(minLength, MIN_BUFFER_SIZE)];
+		} else if(buffer.length < minLength) {
+			int newLength = Math.max(minLength, Math.min(BLOCK_SIZE, buffer.length * 2));
+			buffer = Arrays.copyOf(buffer, newLength);
+		}
+	}
+	
+	private void submitBlock(boolean last) throws IOException {
+		EntryRecord record = current;
+		if(record.blocks == 0) {
+			// the entry is too big to know its sizes before writing the local header
+			enqueue(new LocalHeaderPart(record));
+		}
+
+		final byte[] data = buffer;
+		final int length = bufferLength;
+		final int entryLevel = record.level;
+		final byte[] blockDictionary = dictionary;
+		if(!last && entryLevel != Deflater.NO_COMPRESSION) {
+			dictionary = Arrays.copyOfRange(data, length - DICTIONARY_SIZE, length);
+		}
+		buffer = null;
+		bufferLength = 0;
+		record.blocks++;
+		
+		Future<Block> future = deflate(data, length, blockDictionary, entryLevel, last, false);
+		enqueue(new BlockPart(record, future));
+	}
+
+	/**
+	 * Deflate the block in the pool or in the calling thread if the pool has
+	 * already a block waiting per thread. Concurrent streams don't wait for
+	 * a saturated pool and use their own thread.
+	 */
+	private Future<Block> deflate(byte[] data, int length, byte[] blockDictionary, int entryLevel, boolean last, boolean storeIfLarger) {
+		if(deflaterPool.getQueue().size() >= deflaterPool.getMaximumPoolSize()) {
+			return CompletableFuture.completedFuture(deflate(def, data, length, blockDictionary, entryLevel, last, storeIfLarger));
+		}
+		return deflaterPool.submit(() -> deflate(deflaters.get(), data, length, blockDictionary, entryLevel, last, storeIfLarger));
+	}
+
+	@Override
+	public void flush() throws IOException {
+		ensureOpen();
+		writeParts(false);
+		out.flush();
+	}
+
+	@Override
+	public void finish() throws IOException {
+		ensureOpen();
+		if(finished) return;
+		
+		if(current != null) {
+			closeEntry();
+		}
+		writeParts(true);
+		writeCentralDirectory();
+		out.flush();
+		finished = true;
+		if(progressListener != null) {
+			progressListener.progress(records.size(), uncompressedBytes, written);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if(closed) return;
+		
+		try {
+			finish();
+		} finally {
+			closed = true;
+			pendingParts.clear();
+			try {
+				out.close();
+			} finally {
+				def.end();
+			}
+		}
+	}
+	
+	private void ensureOpen() throws IOException {
+		if(closed) {
+			throw new IOException("Stream closed");
+		}
+	}
+	
+	private void enqueue(Part part) throws IOException {
+		pendingParts.add(part);
+		writeParts(false);
+		while(pendingParts.size() > maxPendingParts) {
+			pendingParts.poll().write();
+		}
+	}
+	
+	/**
+	 * Write the parts in order.
+	 * 
+	 * @param all If false, stop at the first part which is not ready
+	 * @throws IOException
+	 */
+	private void writeParts(boolean all) throws IOException {
+		while(!pendingParts.isEmpty() && (all || pendingParts.peek().isDone())) {
+			pendingParts.poll().write();
+		}
+		
+		if(progressListener != null) {
+			long now = System.currentTimeMillis();
+			if(now - lastProgress >= PROGRESS_INTERVAL) {
+				lastProgress = now;
+				progressListener.progress(records.size(), uncompressedBytes, written);
+			}
+		}
+	}
+	
+	private void writeRaw(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+		written += len;
+	}
+	
+	private void writeRaw(ByteBuffer bb) throws IOException {
+		writeRaw(bb.array(), 0, bb.position());
+	}
+	
+	private static ByteBuffer allocate(int capacity) {
+		return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	private void writeLocalHeader(EntryRecord record, boolean withSizes) throws IOException {
+		int extraLength = record.extra == null ? 0 : record.extra.length;
+		ByteBuffer bb = allocate(30 + record.name.length + extraLength);
+		bb.putInt(LOCSIG);
+		bb.putShort((short)version(record, false));
+		bb.putShort((short)record.flag);
+		bb.putShort((short)record.method);
+		bb.putInt((int)record.dosTime);
+		if(withSizes) {
+			bb.putInt((int)record.crc);
+			bb.putInt((int)record.csize);
+			bb.putInt((int)record.size);
+		} else {
+			bb.putInt(0);
+			bb.putInt(0);
+			bb.putInt(0);
+		}
+		bb.putShort((short)record.name.length);
+		bb.putShort((short)extraLength);
+		bb.put(record.name);
+		if(record.extra != null) {
+			bb.put(record.extra);
+		}
+		writeRaw(bb);
+	}
+	
+	private void writeDataDescriptor(EntryRecord record) throws IOException {
+		ByteBuffer bb = allocate(24);
+		bb.putInt(EXTSIG);
+		bb.putInt((int)record.crc);
+		if(record.csize >= ZIP64_MAGICVAL || record.size >= ZIP64_MAGICVAL) {
+			bb.putLong(record.csize);
+			bb.putLong(record.size);
+		} else {
+			bb.putInt((int)record.csize);
+			bb.putInt((int)record.size);
+		}
+		writeRaw(bb);
+	}
+	
+	private void writeCentralDirectory() throws IOException {
+		long offset = written;
+		for(EntryRecord record:records) {
+			writeCentralDirectoryHeader(record);
+		}
+		long length = written - offset;
+		int count = records.size();
+		
+		boolean zip64 = count >= ZIP64_MAGICCOUNT || offset >= ZIP64_MAGICVAL || length >= ZIP64_MAGICVAL;
+		if(zip64) {
+			long zip64EndOffset = written;
+			ByteBuffer bb = allocate(56 + 20);
+			bb.putInt(ZIP64_ENDSIG);
+			bb.putLong(44l);
+			bb.putShort((short)45);
+			bb.putShort((short)45);
+			bb.putInt(0);
+			bb.putInt(0);
+			bb.putLong(count);
+			bb.putLong(count);
+			bb.putLong(length);
+			bb.putLong(offset);
+			bb.putInt(ZIP64_LOCSIG);
+			bb.putInt(0);
+			bb.putLong(zip64EndOffset);
+			bb.putInt(1);
+			writeRaw(bb);
+		}
+		
+		int commentLength = comment == null ? 0 : comment.length;
+		ByteBuffer bb = allocate(22 + commentLength);
+		bb.putInt(ENDSIG);
+		bb.putShort((short)0);
+		bb.putShort((short)0);
+		bb.putShort((short)Math.min(count, ZIP64_MAGICCOUNT));
+		bb.putShort((short)Math.min(count, ZIP64_MAGICCOUNT));
+		bb.putInt((int)Math.min(length, ZIP64_MAGICVAL));
+		bb.putInt((int)Math.min(offset, ZIP64_MAGICVAL));
+		bb.putShort((short)commentLength);
+		if(comment != null) {
+			bb.put(comment);
+		}
+		writeRaw(bb);
+	}
+	
+	private void writeCentralDirectoryHeader(EntryRecord record) throws IOException {
+		boolean zip64Size = record.size >= ZIP64_MAGICVAL;
+		boolean zip64CSize = record.csize >= ZIP64_MAGICVAL;
+		boolean zip64Offset = record.offset >= ZIP64_MAGICVAL;
+		int zip64Length = (zip64Size ? 8 : 0) + (zip64CSize ? 8 : 0) + (zip64Offset ? 8 : 0);
+		boolean zip64 = zip64Length > 0;
+		
+		int extraLength = (record.extra == null ? 0 : record.extra.length) + (zip64 ? zip64Length + 4 : 0);
+		int commentLength = record.comment == null ? 0 : record.comment.length;
+		ByteBuffer bb = allocate(46 + record.name.length + extraLength + commentLength);
+		bb.putInt(CENSIG);
+		bb.putShort((short)version(record, zip64));
+		bb.putShort((short)version(record, zip64));
+		bb.putShort((short)record.flag);
+		bb.putShort((short)record.method);
+		bb.putInt((int)record.dosTime);
+		bb.putInt((int)record.crc);
+		bb.putInt((int)(zip64CSize ? ZIP64_MAGICVAL : record.csize));
+		bb.putInt((int)(zip64Size ? ZIP64_MAGICVAL : record.size));
+		bb.putShort((short)record.name.length);
+		bb.putShort((short)extraLength);
+		bb.putShort((short)commentLength);
+		bb.putShort((short)0);// disk number
+		bb.putShort((short)0);// internal attributes
+		bb.putInt(0);// external attributes
+		bb.putInt((int)(zip64Offset ? ZIP64_MAGICVAL : record.offset));
+		bb.put(record.name);
+		if(zip64) {
+			bb.putShort((short)ZIP64_EXTID);
+			bb.putShort((short)zip64Length);
+			if(zip64Size) {
+				bb.putLong(record.size);
+			}
+			if(zip64CSize) {
+				bb.putLong(record.csize);
+			}
+			if(zip64Offset) {
+				bb.putLong(record.offset);
+			}
+		}
+		if(record.extra != null) {
+			bb.put(record.extra);
+		}
+		if(record.comment != null) {
+			bb.put(record.comment);
+		}
+		writeRaw(bb);
+	}
+	
+	private static int version(EntryRecord record, boolean zip64) {
+		if(zip64) return 45;
+		return record.method == DEFLATED ? 20 : 10;
+	}
+	
+	private static long toDosTime(long time) {
+		LocalDateTime d = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		int year = d.getYear() - 1980;
+		if(year < 0) {
+			return (1 << 21) | (1 << 16);
+		}
+		return ((long)year << 25) | (d.getMonthValue() << 21) | (d.getDayOfMonth() << 16)
+				| (d.getHour() << 11) | (d.getMinute() << 5) | (d.getSecond() >> 1);
+	}
+	
+	/**
+	 * Deflate a block of data as raw deflate stream. A block which is not the last
+	 * one of the entry ends with a sync flush, the blocks can be concatenated.
+	 * 
+	 * @param deflater A raw deflater (nowrap) used by the current thread only
+	 * @param data The data
+	 * @param length The length of the data
+	 * @param dictionary The end of the previous block or null
+	 * @param level The compression level
+	 * @param last If the block is the last one of the entry
+	 * @param storeIfLarger Store the data if deflate doesn't save any byte (only for a single block entry)
+	 * @return The compressed block
+	 */
+	static Block deflate(Deflater deflater, byte[] data, int length, byte[] dictionary, int level, boolean last, boolean storeIfLarger) {
+		deflater.reset();
+		deflater.setLevel(level);
+		if(dictionary != null) {
+			deflater.setDictionary(dictionary);
+		}
+		deflater.setInput(data, 0, length);
+		if(last) {
+			deflater.finish();
+		}
+		
+		int count = 0;
+		byte[] output = new byte[Math.max(1024, length / 2)];
+		while(true) {
+			if(count == output.length) {
+				output = Arrays.copyOf(output, output.length * 2);
+			}
+			count += deflater.deflate(output, count, output.length - count, last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+			if(last ? deflater.finished() : (count < output.length && deflater.needsInput())) {
+				break;
+			}
+		}
+		
+		if(storeIfLarger && count >= length) {
+			return new Block(STORED, data, length);
+		}
+		return new Block(DEFLATED, output, count);
+	}
+	
+	private static Block get(Future<Block> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while compressing");
+		} catch (ExecutionException e) {
+			throw new IOException("Cannot compress", e.getCause());
+		}
+	}
+	
+	@FunctionalInterface
+	public interface ProgressListener {
+		
+		void progress(long entries, long uncompressedBytes, long writtenBytes);
+		
+	}
+	
+	private interface Part {
+		
+		boolean isDone();
+		
+		void write() throws IOException;
+		
+	}
+	
+	/**
+	 * The local header of an entry written with a data descriptor.
+	 */
+	private class LocalHeaderPart implements Part {
+		
+		private final EntryRecord record;
+		
+		public LocalHeaderPart(EntryRecord record) {
+			this.record = record;
+		}
+
+		@Override
+		public boolean isDone() {
+			return true;
+		}
+
+		@Override
+		public void write() throws IOException {
+			record.method = DEFLATED;
+			record.flag |= FLAG_DATA_DESCRIPTOR;
+			record.offset = written;
+			writeLocalHeader(record, false);
+		}
+	}
+	
+	private class BlockPart implements Part {
+		
+		private final EntryRecord record;
+		private final Future<Block> future;
+		
+		public BlockPart(EntryRecord record, Future<Block> future) {
+			this.record = record;
+			this.future = future;
+		}
+
+		@Override
+		public boolean isDone() {
+			return future.isDone();
+		}
+
+		@Override
+		public void write() throws IOException {
+			Block block = get(future);
+			writeRaw(block.data(), 0, block.length());
+			record.csize += block.length();
+		}
+	}
+	
+	private class DataDescriptorPart implements Part {
+		
+		private final EntryRecord record;
+		
+		public DataDescriptorPart(EntryRecord record) {
+			this.record = record;
+		}
+
+		@Override
+		public boolean isDone() {
+			return true;
+		}
+
+		@Override
+		public void write() throws IOException {
+			writeDataDescriptor(record);
+			record.entry.setCompressedSize(record.csize);
+		}
+	}
+	
+	/**
+	 * An entry which fits in a block, written with its sizes in the local header.
+	 */
+	private class EntryPart implements Part {
+		
+		private final EntryRecord record;
+		private final Future<Block> future;
+		
+		public EntryPart(EntryRecord record, Future<Block> future) {
+			this.record = record;
+			this.future = future;
+		}
+
+		@Override
+		public boolean isDone() {
+			return future.isDone();
+		}
+
+		@Override
+		public void write() throws IOException {
+			Block block = get(future);
+			record.method = block.method();
+			record.csize = block.length();
+			record.offset = written;
+			writeLocalHeader(record, true);
+			writeRaw(block.data(), 0, block.length());
+			record.entry.setCompressedSize(record.csize);
+		}
+	}
+	
+	record Block(int method, byte[] data, int length) {
+		//
+	}
+	
+	private static class EntryRecord {
+		
+		private final ZipEntry entry;
+		private final byte[] name;
+		private final byte[] extra;
+		private final byte[] comment;
+		private final long dosTime;
+		private final boolean stored;
+		private final int level;
+		
+		private int flag = FLAG_UTF8;
+		private int method = STORED;
+		private int blocks = 0;
+		private long crc;
+		private long size = 0l;
+		private long csize = 0l;
+		private long offset;
+		
+		public EntryRecord(ZipEntry entry, byte[] name, byte[] extra, byte[] comment,
+				long dosTime, boolean stored, int level) {
+			this.entry = entry;
+			this.name = name;
+			this.extra = extra;
+			this.comment = comment;
+			this.dosTime = dosTime;
+			this.stored = stored;
+			this.level = level;
+		}
+	}
+	
+	private static class DeflaterThreadFactory implements ThreadFactory {
+		
+		private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "zip-deflater-" + threadNumber.getAndIncrement());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
@@ -19,6 +19,7 @@
  */
 package org.olat.core.util.openxml;
 
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
@@ -27,6 +28,7 @@ import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -45,6 +47,10 @@ import org.olat.core.util.openxml.workbookstyle.Fill;
 import org.olat.core.util.openxml.workbookstyle.Font;
 
 /**
+ * Write a workbook in the output stream, the worksheets one after the
+ * other and row by row. The streaming mode is made for large exports:
+ * the output is buffered, the compression is faster and the table of shared
+ * strings is limited, the strings which don't fit in it are written inline.
  * 
  * Initial date: 21.04.2016<br>
  * @author srosse, stephane.rosse@frentix.com, http://www.frentix.com
@@ -67,10 +73,16 @@ public class OpenXMLWorkbook implements Closeable {
 	private static final String CT_RELATIONSHIP = "application/vnd.openxmlformats-package.relationships+xml";
 	private static final String CT_EXT_PROPERTIES = "application/vnd.openxmlformats-officedocument.extended-properties+xml";
 	private static final String CT_CORE_PROPERTIES = "application/vnd.openxmlformats-package.core-properties+xml";
+	
+	/**
+	 * Max. number of unique shared strings in streaming mode
+	 */
+	public static final int STREAMING_MAX_SHARED_STRINGS = 65536;
+	private static final int STREAMING_BUFFER_SIZE = 65536;
 
 	private List<OpenXMLWorksheet> worksheets = new ArrayList<>(10);
 	private final OpenXMLWorkbookStyles styles = new OpenXMLWorkbookStyles();
-	private OpenXMLWorkbookSharedStrings sharedStrings = new OpenXMLWorkbookSharedStrings();
+	private final OpenXMLWorkbookSharedStrings sharedStrings;
 	private final Filter xmlCharactersFilter = FilterFactory.getXMLValidCharacterFilter();
 	
 	private int currentId = 4;
@@ -86,8 +98,25 @@ public class OpenXMLWorkbook implements Closeable {
 	}
 	
 	public OpenXMLWorkbook(OutputStream outputStream, int numberOfWorksheet, List<String> worksheetsNames) {
-		zout = new ZipOutputStream(outputStream);
-		zout.setLevel(9);
+		this(outputStream, numberOfWorksheet, worksheetsNames, false);
+	}
+	
+	/**
+	 * @param outputStream The output stream
+	 * @param numberOfWorksheet The number of worksheets
+	 * @param worksheetsNames The names of the worksheets
+	 * @param streaming true for large workbooks
+	 */
+	public OpenXMLWorkbook(OutputStream outputStream, int numberOfWorksheet, List<String> worksheetsNames, boolean streaming) {
+		if(streaming) {
+			zout = new ZipOutputStream(new BufferedOutputStream(outputStream, STREAMING_BUFFER_SIZE));
+			zout.setLevel(Deflater.BEST_SPEED);
+			sharedStrings = new OpenXMLWorkbookSharedStrings(STREAMING_MAX_SHARED_STRINGS);
+		} else {
+			zout = new ZipOutputStream(outputStream);
+			zout.setLevel(9);
+			sharedStrings = new OpenXMLWorkbookSharedStrings();
+		}
 		this.numberOfWorksheet = numberOfWorksheet;
 		this.worksheetsNames = worksheetsNames;
 		for(int i=0; i<numberOfWorksheet; i++) {
@@ -144,6 +173,10 @@ public class OpenXMLWorkbook implements Closeable {
 		return sharedStrings;
 	}
 	
+	protected String filterXmlCharacters(String string) {
+		return xmlCharactersFilter.filter(string);
+	}
+	
 	private String generateId() {
 		return "rId" + (++currentId);
 	}
@@ -20,10 +20,16 @@
 package org.olat.core.util.openxml;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
+ * The table of shared strings of a workbook. The strings are indexed
+ * in a hash map, the deduplication doesn't depend of the size of the
+ * table. The size of the table can be limited, the strings which don't
+ * fit in it need to be written inline.
  * 
  * Initial date: 25.04.2016<br>
  * @author srosse, stephane.rosse@frentix.com, http://www.frentix.com
@@ -32,26 +38,40 @@ import java.util.List;
 public class OpenXMLWorkbookSharedStrings implements Iterable<String> {
 
 	private int count = 0;
+	private final int maxUniqueStrings;
 	private final List<String> sharedStrings = new ArrayList<>();
+	private final Map<String,Integer> sharedStringsIndex = new HashMap<>();
 	
 	public OpenXMLWorkbookSharedStrings() {
+		this(-1);
+	}
+	
+	/**
+	 * @param maxUniqueStrings The max. number of unique strings in the table, -1 for unlimited
+	 */
+	public OpenXMLWorkbookSharedStrings(int maxUniqueStrings) {
+		this.maxUniqueStrings = maxUniqueStrings;
 		sharedStrings.add("OpenOLAT");//prevent empty list
+		sharedStringsIndex.put("OpenOLAT", Integer.valueOf(0));
 	}
 	
 	/**
 	 * Add a shared string and return the index.
 	 * @param string
-	 * @return
+	 * @return The index or -1 if the table is full and the string need to be inlined
 	 */
 	public int add(String string) {
-		count++;
-		
-		int index = sharedStrings.indexOf(string);
-		if(index < 0) {
+		Integer index = sharedStringsIndex.get(string);
+		if(index == null) {
+			if(maxUniqueStrings > 0 && sharedStrings.size() >= maxUniqueStrings) {
+				return -1;
+			}
+			index = Integer.valueOf(sharedStrings.size());
 			sharedStrings.add(string);
-			index = sharedStrings.size() - 1;
+			sharedStringsIndex.put(string, index);
 		}
-		return index;
+		count++;
+		return index.intValue();
 	}
 
 	@Override
@@ -19,11 +19,10 @@
  */
 package org.olat.core.util.openxml;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.zip.ZipOutputStream;
 
@@ -35,6 +34,9 @@ import org.olat.core.logging.Tracing;
 import org.olat.core.util.openxml.workbookstyle.CellStyle;
 
 /**
+ * A worksheet is written row by row in the zip stream, a row is written
+ * when the next one is created. The row and its cells are recycled, don't
+ * hold a reference to them after calling {@link #newRow()}.
  * 
  * Initial date: 21.04.2016<br>
  * @author srosse, stephane.rosse@frentix.com, http://www.frentix.com
@@ -96,9 +98,10 @@ public class OpenXMLWorksheet {
 		}
 		if(row != null) {
 			appendRow();
-			row = null;
+			row.recycle();
+		} else {
+			row = new Row();
 		}
-		row = new Row();
 		rowPosition++;
 		return row;
 	}
@@ -136,6 +139,15 @@ public class OpenXMLWorksheet {
 					}
 					if(cell.getType() == OpenXMLCellType.sharedString) {
 						writer.writeAttribute("t", "s");
+					} else if(cell.getType() == OpenXMLCellType.inlineString) {
+						writer.writeAttribute("t", "inlineStr");
+						writer.writeStartElement("is");
+						writer.writeStartElement("t");
+						writer.writeCharacters(workbook.filterXmlCharacters(cell.getValue().toString()));
+						writer.writeEndElement();// end t
+						writer.writeEndElement();// end is
+						writer.writeEndElement();// end c
+						continue;
 					}
 					
 					writer.writeStartElement("v");
@@ -355,23 +367,36 @@ public class OpenXMLWorksheet {
     
 	public class Row {
 		
-		private List<Cell> cells = new ArrayList<>(255);
+		private int size = 0;
+		private Cell[] cells = new Cell[16];
 		
 		public boolean isEmpty() {
-			return cells == null || cells.isEmpty();
+			return size == 0;
 		}
 
 		public int size() {
-			return cells.size();
+			return size;
 		}
 		
 		public Cell getCell(int column) {
-			if(cells.size() > column) {
-				return cells.get(column);
+			if(size > column) {
+				return cells[column];
 			}
 			return null;
 		}
 		
+		/**
+		 * Clear the cells but keep them for the next row.
+		 */
+		protected void recycle() {
+			for(int i=0; i<size; i++) {
+				if(cells[i] != null) {
+					cells[i].clear();
+				}
+			}
+			size = 0;
+		}
+		
 		public Cell addCell(int column, String value) {
 			return addCell(column, value, null);
 		}
@@ -384,6 +409,10 @@ public class OpenXMLWorksheet {
 				int sharedIndex = workbook.getSharedStrings().add(value);
 				if(sharedIndex >= 0) {
 					cell.setValue(sharedIndex);
+				} else {
+					// the table of shared strings is full
+					cell.setType(OpenXMLCellType.inlineString);
+					cell.setValue(value);
 				}
 			}
 			return cell;
@@ -428,21 +457,25 @@ public class OpenXMLWorksheet {
 		}
 		
 		private Cell getOrCreateCell(int column) {
-			Cell c;
-			if(cells.size() < column) {
-				for(int i=cells.size(); i<column; i++) {
-					cells.add(null);
-				}
-				c = new Cell();
-				cells.add(c);
-			} else if(cells.size() == column) {
-				c = new Cell();
-				cells.add(c);
-			} else if(cells.get(column) == null) {
+			if(column >= cells.length) {
+				cells = Arrays.copyOf(cells, Math.max(column + 1, cells.length * 2));
+			}
+			Cell c = cells[column];
+			if(c == null) {
 				c = new Cell();
-				cells.set(column, c);
-			} else {
-				c = cells.get(column);
+				cells[column] = c;
+			} else if(column >= size) {
+				// recycled cell
+				c.clear();
+			}
+			if(column >= size) {
+				// clear the recycled cells between
+				for(int i=size; i<column; i++) {
+					if(cells[i] != null) {
+						cells[i].clear();
+					}
+				}
+				size = column + 1;
 			}
 			return c;
 		}
@@ -487,5 +520,11 @@ public class OpenXMLWorksheet {
 		public void setStyle(CellStyle style) {
 			this.style = style;
 		}
+		
+		protected void clear() {
+			value = null;
+			type = null;
+			style = null;
+		}
 	}
 }
@@ -26,6 +26,7 @@
 
 package org.olat.core.util.vfs;
 
+import java.io.File;
 import java.io.InputStream;
 
 import jakarta.servlet.http.HttpServletResponse;
@@ -139,6 +140,20 @@ public class VFSMediaResource implements MediaResource {
 		return (lastModified == VFSStatus.UNDEFINED) ? null : Long.valueOf(lastModified);
 	}
 
+	@Override
+	public File getFile() {
+		VFSLeaf leaf = getLeaf();
+		if(leaf instanceof NamedLeaf namedLeaf) {
+			leaf = namedLeaf.getDelegate();
+		}
+		return leaf instanceof LocalFileImpl localFile ? localFile.getBasefile() : null;
+	}
+
+	@Override
+	public String getETag() {
+		return ServletUtil.getETag(getFile());
+	}
+
 	@Override
 	public void prepare(HttpServletResponse hres) {
 		String filename = StringHelper.urlEncodeUTF8(getLeaf().getName()).replace("+", "%20");
@@ -244,7 +244,8 @@ public class VFSLockManagerImpl implements VFSLockManager {
     	if(resource instanceof VFSResource) {
     		VFSResource vfsResource = (VFSResource)resource;
     		if(vfsResource.getItem() != null) {
-    			lockInfo = getLockInfo(vfsResource.getItem(), null);
+    			// use the metadata prefetched with the directory listing if available
+    			lockInfo = getLockInfo(vfsResource.getItem(), vfsResource.getMetadata());
     		}
     	}
     	if(lockInfo != null) {
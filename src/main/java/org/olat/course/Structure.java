@@ -26,7 +26,9 @@
 package org.olat.course;
 
 import java.io.Serializable;
+import java.util.Collection;
 
+import org.olat.course.condition.interpreter.ConditionExpressionCache;
 import org.olat.course.nodes.CourseNode;
 
 /**
@@ -42,6 +44,8 @@ public class Structure implements Serializable {
 	transient private final static int CURRENTVERSION = 3;
 	private int version;
 	
+	private transient ConditionExpressionCache conditionExpressionCache;
+	
 
 	/**
 	 * Constructor for the OLAT course structure
@@ -51,6 +55,21 @@ public class Structure implements Serializable {
 		this.version = CURRENTVERSION;
 	}
 
+	/**
+	 * The cache lives as long as this version of the run structure, a
+	 * publish replaces the structure and the cache with it.
+	 * 
+	 * @param functionNames The names of the functions of the condition interpreter
+	 * @param variableNames The names of the variables of the condition interpreter
+	 * @return The parsed condition expressions of this structure
+	 */
+	public synchronized ConditionExpressionCache getConditionExpressionCache(Collection<String> functionNames, Collection<String> variableNames) {
+		if(conditionExpressionCache == null) {
+			conditionExpressionCache = new ConditionExpressionCache(functionNames, variableNames);
+		}
+		return conditionExpressionCache;
+	}
+
 	/**
 	 * @return The root node
 	 */
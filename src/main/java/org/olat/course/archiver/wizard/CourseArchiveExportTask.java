@@ -53,6 +53,8 @@ import org.olat.core.util.Formatter;
 import org.olat.core.util.StringHelper;
 import org.olat.core.util.Util;
 import org.olat.core.util.WebappHelper;
+import org.olat.core.util.io.ParallelZipOutputStream;
+import org.olat.core.util.io.ParallelZipOutputStream.ProgressListener;
 import org.olat.core.util.io.ShieldOutputStream;
 import org.olat.core.util.mail.MailBundle;
 import org.olat.core.util.mail.MailManager;
@@ -173,7 +175,8 @@ public class CourseArchiveExportTask extends AbstractExportTask {
 		nodeOptions.setIdentities(participants);
 
 		try(OutputStream out=exportZip.getOutputStream(true);
-				ZipOutputStream zout = new ZipOutputStream(out)) {
+				ParallelZipOutputStream zout = new ParallelZipOutputStream(out)) {
+			zout.setProgressListener(progress);
 			for(int i=0; i<numOfCourseNodes; i++) {
 				String courseNodeIdent = courseNodesIdents.get(i);
 				progress.setNodeProgress(i, courseNodeIdent);
@@ -325,11 +328,15 @@ public class CourseArchiveExportTask extends AbstractExportTask {
 		}
 	}
 	
-	public static class NodesProgress extends PersistentTaskProgressCallback {
+	public static class NodesProgress extends PersistentTaskProgressCallback implements ProgressListener {
 
 		private int currentCourseNode = 0;
 		private final int numOfCourseNodes;
 		
+		private double lastProgress = 0.0d;
+		private String lastCheckpoint;
+		private long lastWrittenBytes = 0l;
+		
 		public NodesProgress(Task task, int numOfCourseNodes, TaskExecutorManager taskExecutorManager) {
 			super(task, taskExecutorManager);
 			this.numOfCourseNodes = numOfCourseNodes;
@@ -338,14 +345,33 @@ public class CourseArchiveExportTask extends AbstractExportTask {
 		public void setNodeProgress(int currentCourseNode, String checkpoint) {
 			this.currentCourseNode = currentCourseNode;
 			double progress = currentCourseNode / (double)numOfCourseNodes;
-			super.setProgress(progress, checkpoint);
+			persistProgress(progress, checkpoint);
 		}
 
 		@Override
 		public void setProgress(double progress, String checkpoint) {
 			double totalProgress = currentCourseNode / (double)numOfCourseNodes;
 			double nodeProgress = progress / numOfCourseNodes;
-			super.setProgress(totalProgress + nodeProgress, checkpoint);
+			persistProgress(totalProgress + nodeProgress, checkpoint);
+		}
+		
+		private void persistProgress(double progress, String checkpoint) {
+			lastProgress = progress;
+			lastCheckpoint = checkpoint;
+			super.setProgress(progress, checkpoint);
+		}
+
+		/**
+		 * Called by the archive while big folders are compressed. The progress
+		 * doesn't move but the task shows that it's still alive.
+		 */
+		@Override
+		public void progress(long entries, long uncompressedBytes, long writtenBytes) {
+			if(writtenBytes - lastWrittenBytes >= 64l * 1024l * 1024l) {
+				lastWrittenBytes = writtenBytes;
+				log.debug("Course archive: {} entries, {} bytes written", entries, writtenBytes);
+				super.setProgress(lastProgress, lastCheckpoint);
+			}
 		}
 	}
 	
@@ -35,7 +35,9 @@ import org.olat.basesecurity.BaseSecurity;
 import org.olat.basesecurity.GroupRoles;
 import org.olat.basesecurity.IdentityRef;
 import org.olat.core.commons.persistence.DB;
+import org.olat.core.commons.services.taskexecutor.Task;
 import org.olat.core.commons.services.taskexecutor.TaskExecutorManager;
+import org.olat.core.commons.services.taskexecutor.TaskStatus;
 import org.olat.core.gui.UserRequest;
 import org.olat.core.gui.components.form.flexible.impl.Form;
 import org.olat.core.gui.components.form.flexible.impl.FormBasicController;
@@ -122,6 +124,8 @@ import org.olat.repository.manager.RepositoryEntryDAO;
 import org.olat.repository.manager.RepositoryEntryLifecycleDAO;
 import org.olat.repository.manager.RepositoryEntryRelationDAO;
 import org.olat.repository.model.RepositoryEntryLifecycle;
+import org.olat.resource.OLATResource;
+import org.olat.resource.OLATResourceManager;
 import org.olat.user.UserManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -137,6 +141,8 @@ import org.springframework.stereotype.Service;
 public class CourseAssessmentServiceImpl implements CourseAssessmentService, NodeVisitedListener, GenericEventListener {
 
 	private static final Logger log = Tracing.createLoggerFor(CourseAssessmentServiceImpl.class);
+	
+	private static final String SCORE_ACCOUNTING_SUB_PATH = "score-accounting";
 
 	@Autowired
 	private DB dbInstance;
@@ -165,6 +171,8 @@ public class CourseAssessmentServiceImpl implements CourseAssessmentService, Nod
 	@Autowired
 	private TaskExecutorManager taskExecutorManager;
 	@Autowired
+	private OLATResourceManager resourceManager;
+	@Autowired
 	private RepositoryEntryRelationDAO repositoryEntryRelationDao;
 	@Autowired
 	private RepositoryEntryLifecycleDAO repositoryEntryLifecycleDao;
@@ -604,8 +612,22 @@ public class CourseAssessmentServiceImpl implements CourseAssessmentService, Nod
 
 	@Override
 	public void evaluateAllAsync(Long courseResId, boolean update) {
-		ScoreAccountingEvaluateAllWorker worker = new ScoreAccountingEvaluateAllWorker(courseResId, update);
-		taskExecutorManager.execute(worker);
+		OLATResource resource = resourceManager.findResourceable(courseResId, CourseModule.getCourseTypeName());
+		if (resource == null) return;
+		
+		// A pending evaluation of the whole course will see all the changes, coalesce the requests
+		List<Task> tasks = taskExecutorManager.getTasks(resource, SCORE_ACCOUNTING_SUB_PATH);
+		boolean pending = tasks.stream()
+				.anyMatch(task -> task.getStatus() == TaskStatus.newTask && isSameWorker(task, update));
+		if (!pending) {
+			ScoreAccountingEvaluateAllWorker worker = new ScoreAccountingEvaluateAllWorker(courseResId, update);
+			taskExecutorManager.execute(worker, null, resource, SCORE_ACCOUNTING_SUB_PATH, null);
+		}
+	}
+	
+	private boolean isSameWorker(Task task, boolean update) {
+		ScoreAccountingEvaluateAllWorker worker = taskExecutorManager.getPersistedRunnableTask(task, ScoreAccountingEvaluateAllWorker.class);
+		return worker != null && (worker.isUpdate() || !update);
 	}
 
 	private void evaluateAll(CourseEnvironment courseEnv, Identity assessedIdentity) {
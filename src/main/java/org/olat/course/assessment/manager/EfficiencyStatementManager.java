@@ -71,6 +71,7 @@ import org.olat.course.run.environment.CourseEnvironment;
 import org.olat.course.run.userview.UserCourseEnvironment;
 import org.olat.group.BusinessGroup;
 import org.olat.repository.RepositoryEntry;
+import org.olat.repository.RepositoryEntryParticipantsListener;
 import org.olat.repository.RepositoryEntryRef;
 import org.olat.repository.RepositoryManager;
 import org.olat.resource.OLATResource;
@@ -108,6 +109,8 @@ public class EfficiencyStatementManager implements UserDataDeletable, UserDataEx
 	private UserManager userManager;
 	@Autowired
 	private RepositoryManager repositoryManager;
+	@Autowired
+	private List<RepositoryEntryParticipantsListener> participantsListeners;
 	
 	private static final XStream xstream = XStreamHelper.createXStreamInstance();
 
@@ -271,6 +274,10 @@ public class EfficiencyStatementManager implements UserDataDeletable, UserDataEx
 			efficiencyProperty = updateUserEfficiencyStatement(efficiencyProperty);
 		}
 		
+		for(RepositoryEntryParticipantsListener listener:participantsListeners) {
+			listener.participantsChanged(repoEntry);
+		}
+		
 		// send modified event to everybody
 		AssessmentChangedEvent ace = new AssessmentChangedEvent(AssessmentChangedEvent.TYPE_EFFICIENCY_STATEMENT_CHANGED,
 				assessedIdentity, repoEntry, null, null);
@@ -19,15 +19,25 @@
  */
 package org.olat.course.assessment.manager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.logging.log4j.Logger;
 import org.olat.basesecurity.GroupRoles;
 import org.olat.core.CoreSpringFactory;
 import org.olat.core.commons.persistence.DB;
+import org.olat.core.commons.services.taskexecutor.LongRunnable;
+import org.olat.core.commons.services.taskexecutor.Task;
+import org.olat.core.commons.services.taskexecutor.TaskAwareRunnable;
+import org.olat.core.commons.services.taskexecutor.TaskExecutorManager;
 import org.olat.core.id.Identity;
 import org.olat.core.id.IdentityEnvironment;
 import org.olat.core.logging.Tracing;
@@ -51,33 +61,67 @@ import org.olat.repository.RepositoryEntry;
 import org.olat.repository.RepositoryEntryRelationType;
 import org.olat.repository.RepositoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
+ * Evaluate the score accounting of all participants of a course.<br>
+ * The participants are processed in partitions. The assessment entries of
+ * a partition are loaded with a single query and the to-dos are loaded for
+ * the partition, not for all the participants of the course. The partitions
+ * are evaluated in parallel by a pool of threads shared by all the courses,
+ * the changed entries of a participant are committed together at the end of
+ * its evaluation.
  * 
  * Initial date: 10 Sep 2021<br>
  * @author uhensler, urs.hensler@frentix.com, http://www.frentix.com
  *
  */
-public class ScoreAccountingEvaluateAllWorker implements Runnable {
+public class ScoreAccountingEvaluateAllWorker implements LongRunnable, TaskAwareRunnable {
 
+	private static final long serialVersionUID = -2937461985062512847L;
 	private static final Logger log = Tracing.createLoggerFor(ScoreAccountingEvaluateAllWorker.class);
 	
+	private static final int PARTITION_SIZE = 50;
+	
 	private final Long courseResId;
 	private final boolean update;
 	
+	private transient Task task;
+	
+	@Value("${course.assessment.evaluate.all.threads:4}")
+	private transient int numOfThreads;
+	
+	@Autowired
+	private transient DB dbInstance;
 	@Autowired
-	private DB dbInstance;
+	private transient AssessmentService assessmentService;
 	@Autowired
-	private AssessmentService assessmentService;
+	private transient RepositoryService repositoryService;
 	@Autowired
-	private RepositoryService repositoryService;
+	private transient CourseToDoService courseToDoService;
 	@Autowired
-	private CourseToDoService courseToDoService;
+	private transient TaskExecutorManager taskExecutorManager;
+	@Autowired @Qualifier("scoreAccountingExecutorService")
+	private transient ExecutorService scoreAccountingExecutor;
 
 	public ScoreAccountingEvaluateAllWorker(Long courseResId, boolean update) {
 		this.courseResId = courseResId;
 		this.update = update;
 	}
+	
+	public Long getCourseResId() {
+		return courseResId;
+	}
+	
+	public boolean isUpdate() {
+		return update;
+	}
+
+	@Override
+	public void setTask(Task task) {
+		this.task = task;
+	}
 
 	@Override
 	public void run() {
@@ -92,7 +136,7 @@ public class ScoreAccountingEvaluateAllWorker implements Runnable {
 		}
 	}
 	
-	private void evaluateAll() {
+	private void evaluateAll() throws InterruptedException {
 		ICourse course = CourseFactory.loadCourse(courseResId);
 		if (course == null) return;
 		
@@ -106,19 +150,77 @@ public class ScoreAccountingEvaluateAllWorker implements Runnable {
 		identities.addAll(assessedIdentities);
 		List<Identity> members = repositoryService.getMembers(courseEntry, RepositoryEntryRelationType.all, GroupRoles.participant.name());
 		identities.addAll(members);
+		dbInstance.commitAndCloseSession();
 		
-		CourseNodesToDoSyncher courseNodesToDoSyncher = courseToDoService.getCourseNodesToDoSyncher(courseEnv, identities);
-		
-		identities.forEach(identity -> tryEvaluateAll(course, courseEnv, obligationContext, courseNodesToDoSyncher, identity));
+		List<List<Identity>> partitions = partition(new ArrayList<>(identities));
+		if (numOfThreads <= 1 || partitions.size() <= 1) {
+			int count = 0;
+			for (List<Identity> partition:partitions) {
+				count += evaluatePartition(course, courseEnv, obligationContext, partition);
+				updateProgress(count, identities.size());
+			}
+		} else {
+			evaluatePartitionsInParallel(course, courseEnv, obligationContext, partitions, identities.size());
+		}
+	}
+	
+	private void evaluatePartitionsInParallel(ICourse course, CourseEnvironment courseEnv,
+			MultiUserObligationContext obligationContext, List<List<Identity>> partitions, int numOfIdentities)
+	throws InterruptedException {
+		List<Future<Integer>> futures = new ArrayList<>(partitions.size());
+		try {
+			for (List<Identity> partition:partitions) {
+				futures.add(scoreAccountingExecutor.submit(() -> evaluatePartition(course, courseEnv, obligationContext, partition)));
+			}
+			
+			int count = 0;
+			for (Future<Integer> future:futures) {
+				try {
+					count += future.get().intValue();
+				} catch (ExecutionException e) {
+					log.error("Evaluate a partition of score accountings failed in {}", course, e);
+				}
+				updateProgress(count, numOfIdentities);
+			}
+		} finally {
+			// the pool is shared, only stop the partitions of this course
+			for (Future<Integer> future:futures) {
+				future.cancel(true);
+			}
+		}
+	}
+	
+	private int evaluatePartition(ICourse course, CourseEnvironment courseEnv,
+			MultiUserObligationContext obligationContext, List<Identity> identities) {
+		try {
+			RepositoryEntry courseEntry = courseEnv.getCourseGroupManager().getCourseEntry();
+			CourseNodesToDoSyncher courseNodesToDoSyncher = courseToDoService.getCourseNodesToDoSyncher(courseEnv, new HashSet<>(identities));
+			
+			Map<Long,List<AssessmentEntry>> identityKeyToEntries = new HashMap<>();
+			List<AssessmentEntry> entries = assessmentService.loadAssessmentEntriesByAssessedIdentities(identities, courseEntry);
+			for (AssessmentEntry entry:entries) {
+				identityKeyToEntries
+					.computeIfAbsent(entry.getIdentity().getKey(), key -> new ArrayList<>())
+					.add(entry);
+			}
+			
+			for (Identity identity:identities) {
+				List<AssessmentEntry> identityEntries = identityKeyToEntries.getOrDefault(identity.getKey(), new ArrayList<>(0));
+				tryEvaluateAll(course, courseEnv, obligationContext, courseNodesToDoSyncher, identity, identityEntries);
+			}
+		} finally {
+			dbInstance.commitAndCloseSession();
+		}
+		return identities.size();
 	}
 	
 	private void tryEvaluateAll(ICourse course, CourseEnvironment courseEnv,
 			MultiUserObligationContext obligationContext, CourseNodesToDoSyncher courseNodesToDoSyncher,
-			Identity identity) {
+			Identity identity, List<AssessmentEntry> assessmentEntries) {
 		try {
-			evaluateAll(courseEnv, obligationContext, courseNodesToDoSyncher, identity);
+			evaluateAll(courseEnv, obligationContext, courseNodesToDoSyncher, identity, assessmentEntries);
 			log.debug("Evaluated score accounting in {} for {}", course, identity);
-			dbInstance.commitAndCloseSession();
+			dbInstance.commit();
 		} catch (Exception e) {
 			log.warn("Evaluated score accounting failed in {} for {}", course, identity);
 			dbInstance.rollbackAndCloseSession();
@@ -126,14 +228,15 @@ public class ScoreAccountingEvaluateAllWorker implements Runnable {
 	}
 
 	private void evaluateAll(CourseEnvironment courseEnv, MultiUserObligationContext obligationContext,
-			CourseNodesToDoSyncher courseNodesToDoSyncher, Identity assessedIdentity) {
+			CourseNodesToDoSyncher courseNodesToDoSyncher, Identity assessedIdentity, List<AssessmentEntry> assessmentEntries) {
 		IdentityEnvironment identityEnv = new IdentityEnvironment();
 		identityEnv.setIdentity(assessedIdentity);
 		UserCourseEnvironment userCourseEnv = new UserCourseEnvironmentImpl(identityEnv, courseEnv);
 		
-		RepositoryEntry courseEntry = courseEnv.getCourseGroupManager().getCourseEntry();
 		CourseNode rootNode = courseEnv.getRunStructure().getRootNode();
-		AssessmentEntry rootAssessmentEntry = assessmentService.loadAssessmentEntry(assessedIdentity, courseEntry, rootNode.getIdent());
+		AssessmentEntry rootAssessmentEntry = assessmentEntries.stream()
+				.filter(entry -> rootNode.getIdent().equals(entry.getSubIdent()))
+				.findFirst().orElse(null);
 		Boolean previousPassed = null;
 		String previousScore = null;
 		if (rootAssessmentEntry != null) {
@@ -144,6 +247,7 @@ public class ScoreAccountingEvaluateAllWorker implements Runnable {
 		ScoreAccounting scoreAccounting = userCourseEnv.getScoreAccounting();
 		scoreAccounting.setObligationContext(obligationContext);
 		scoreAccounting.setCourseNodesToDoSyncher(courseNodesToDoSyncher);
+		scoreAccounting.setPreloadedAssessmentEntries(assessmentEntries);
 		scoreAccounting.evaluateAll(update);
 		
 		AssessmentEvaluation rootAssessmentEvaluation = scoreAccounting.evalCourseNode(rootNode);
@@ -156,5 +260,26 @@ public class ScoreAccountingEvaluateAllWorker implements Runnable {
 			am.saveScoreEvaluation(rootNode, null, assessedIdentity, rootAssessmentEvaluation, userCourseEnv, false, null);
 		}
 	}
+	
+	private void updateProgress(int count, int numOfIdentities) {
+		if (task != null && numOfIdentities > 0) {
+			try {
+				double progress = (double)count / numOfIdentities;
+				taskExecutorManager.updateProgress(task, Double.valueOf(progress), count + "/" + numOfIdentities);
+				dbInstance.commitAndCloseSession();
+			} catch (Exception e) {
+				log.warn("Cannot update progress of score accounting task in course {}", courseResId);
+				dbInstance.rollbackAndCloseSession();
+			}
+		}
+	}
+	
+	private static List<List<Identity>> partition(List<Identity> identities) {
+		List<List<Identity>> partitions = new ArrayList<>((identities.size() / PARTITION_SIZE) + 1);
+		for (int i=0; i<identities.size(); i+=PARTITION_SIZE) {
+			partitions.add(identities.subList(i, Math.min(identities.size(), i + PARTITION_SIZE)));
+		}
+		return partitions;
+	}
 
 }
@@ -46,6 +46,7 @@ import org.olat.course.assessment.UserCourseInformations;
 import org.olat.course.assessment.model.UserCourseInfosImpl;
 import org.olat.group.BusinessGroupRef;
 import org.olat.repository.RepositoryEntry;
+import org.olat.repository.RepositoryEntryParticipantsListener;
 import org.olat.repository.RepositoryEntryRef;
 import org.olat.resource.OLATResource;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -64,6 +65,8 @@ public class UserCourseInformationsManagerImpl implements UserCourseInformations
 
 	@Autowired
 	private DB dbInstance;
+	@Autowired
+	private List<RepositoryEntryParticipantsListener> participantsListeners;
 
 	@Override
 	public UserCourseInfosImpl getUserCourseInformations(OLATResource resource, IdentityRef identity) {
@@ -180,6 +183,9 @@ public class UserCourseInformationsManagerImpl implements UserCourseInformations
 							infos.setRun(1);
 							infos.setResource(courseResource);
 							dbInstance.getCurrentEntityManager().persist(infos);
+							for(RepositoryEntryParticipantsListener listener:participantsListeners) {
+								listener.participantsChanged(courseResource);
+							}
 						}
 					} catch (Exception e) {
 						log.error("Cannot update course informations for: {} from {}", identity, identity, e);
@@ -0,0 +1,156 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.course.condition.interpreter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.neemsoft.jmep.Environment;
+import com.neemsoft.jmep.Expression;
+import com.neemsoft.jmep.FunctionCB;
+import com.neemsoft.jmep.VariableCB;
+import com.neemsoft.jmep.XExpression;
+
+/**
+ * The parsed condition expressions of a course run structure, shared by
+ * all the users of the course. The expressions are parsed against an
+ * environment which doesn't hold any user specific state: the functions
+ * and the variables delegate to the condition interpreter bound to the
+ * current thread during the evaluation.<br>
+ * jmep doesn't promise that an expression can be evaluated concurrently,
+ * the parsed expressions are pooled per condition and an expression is
+ * used by one evaluation at a time. A new run structure (after publishing
+ * the course) comes with a new and empty cache.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class ConditionExpressionCache {
+	
+	private static final int MAX_POOLED_EXPRESSIONS = 16;
+	
+	private final Environment env;
+	private final Map<String,Pool> expressions = new ConcurrentHashMap<>();
+	
+	public ConditionExpressionCache(Collection<String> functionNames, Collection<String> variableNames) {
+		env = new Environment();
+		
+		// constants: add for user convenience
+		env.addConstant("true", 1);
+		env.addConstant("false", 0);
+		
+		for(String variableName:variableNames) {
+			env.addVariable(variableName, new BoundVariable(variableName));
+		}
+		for(String functionName:functionNames) {
+			env.addFunction(functionName, new BoundFunction(functionName));
+		}
+		
+		// units
+		env.addUnit("min", new MinuteUnit());
+		env.addUnit("h", new HourUnit());
+		env.addUnit("d", new DayUnit());
+		env.addUnit("w", new WeekUnit());
+		env.addUnit("m", new MonthUnit());
+	}
+	
+	/**
+	 * @return The number of conditions parsed
+	 */
+	public int size() {
+		return expressions.size();
+	}
+	
+	/**
+	 * Take a parsed expression out of the pool or parse it if none is available.
+	 * The expression must be given back with {@link #release(String, Expression)}.
+	 * 
+	 * @param condition The condition
+	 * @return A parsed expression for the exclusive use of the caller
+	 * @throws XExpression If the condition cannot be parsed
+	 */
+	Expression acquire(String condition) throws XExpression {
+		Pool pool = expressions.get(condition);
+		Expression exp = pool == null ? null : pool.poll();
+		if(exp == null) {
+			exp = new Expression(condition, env);
+		}
+		return exp;
+	}
+	
+	void release(String condition, Expression exp) {
+		expressions.computeIfAbsent(condition, c -> new Pool()).offer(exp);
+	}
+	
+	private static class Pool {
+		
+		private final AtomicInteger size = new AtomicInteger();
+		private final Queue<Expression> queue = new ConcurrentLinkedQueue<>();
+		
+		Expression poll() {
+			Expression exp = queue.poll();
+			if(exp != null) {
+				size.decrementAndGet();
+			}
+			return exp;
+		}
+		
+		void offer(Expression exp) {
+			if(size.incrementAndGet() <= MAX_POOLED_EXPRESSIONS) {
+				queue.offer(exp);
+			} else {
+				size.decrementAndGet();
+			}
+		}
+	}
+	
+	private static class BoundFunction extends FunctionCB {
+		
+		private final String name;
+		
+		public BoundFunction(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Object call(Object[] inStack) {
+			return ConditionInterpreter.bound().callFunction(name, inStack);
+		}
+	}
+	
+	private static class BoundVariable extends VariableCB {
+		
+		private final String name;
+		
+		public BoundVariable(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Object getValue() {
+			return ConditionInterpreter.bound().getVariableValue(name);
+		}
+	}
+}
@@ -26,6 +26,11 @@
 package org.olat.course.condition.interpreter;
 
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.Logger;
 import org.olat.core.gui.translator.Translator;
@@ -33,6 +38,7 @@ import org.olat.core.logging.AssertException;
 import org.olat.core.logging.OLATRuntimeException;
 import org.olat.core.logging.Tracing;
 import org.olat.core.util.Util;
+import org.olat.course.Structure;
 import org.olat.course.condition.Condition;
 import org.olat.course.condition.interpreter.score.GetAverageScoreFunction;
 import org.olat.course.condition.interpreter.score.GetPassedFunction;
@@ -68,9 +74,18 @@ public class ConditionInterpreter {
 	public static final Integer INT_TRUE = Integer.valueOf(1);
 	/** static Integer(0) object */
 	public static final Integer INT_FALSE = Integer.valueOf(0);
+	
+	private static final ThreadLocal<ConditionInterpreter> boundInterpreter = new ThreadLocal<>();
+	
 	protected Environment env;
 	protected Translator translator;
 	protected UserCourseEnvironment uce;
+	
+	private final Map<String,AbstractFunction> functions = new HashMap<>();
+	private final Map<String,AbstractVariable> variables = new HashMap<>();
+	
+	private int memoizationDepth;
+	private final Map<List<Object>,Object> memoizedResults = new HashMap<>();
 
 	/**
 	 * ConditionInterpreter interpreters course conditions.
@@ -92,82 +107,82 @@ public class ConditionInterpreter {
 		env.addConstant("false", 0);
 
 		// variables
-		env.addVariable(NowVariable.name, new NowVariable(userCourseEnv));
-		env.addVariable(TodayVariable.name, new TodayVariable(userCourseEnv));
-		env.addVariable(NeverVariable.name, new NeverVariable(userCourseEnv));
-		env.addVariable(AnyCourseVariable.name, new AnyCourseVariable());
+		addVariable(NowVariable.name, new NowVariable(userCourseEnv));
+		addVariable(TodayVariable.name, new TodayVariable(userCourseEnv));
+		addVariable(NeverVariable.name, new NeverVariable(userCourseEnv));
+		addVariable(AnyCourseVariable.name, new AnyCourseVariable());
 
 		// functions
-		env.addFunction(DateFunction.name, new DateFunction(userCourseEnv));
-		env.addFunction("inGroup", new InLearningGroupFunction(userCourseEnv, "inGroup")); // legacy
-		env.addFunction("inLearningGroup", new InLearningGroupFunction(userCourseEnv, "inLearningGroup"));
-		env.addFunction("isLearningGroupFull", new IsLearningGroupFullFunction(userCourseEnv));
-		env.addFunction(InRightGroupFunction.name, new InRightGroupFunction(userCourseEnv));
-		env.addFunction(InLearningAreaFunction.name, new InLearningAreaFunction(userCourseEnv));
-		env.addFunction(IsUserFunction.name, new IsUserFunction(userCourseEnv));
-		env.addFunction(IsGuestFunction.name, new IsGuestFunction(userCourseEnv));
-		env.addFunction(IsGlobalAuthorFunction.name, new IsGlobalAuthorFunction(userCourseEnv));
-		env.addFunction(Sleep.name, new Sleep(userCourseEnv));
+		addFunction(DateFunction.name, new DateFunction(userCourseEnv));
+		addMemoizedFunction("inGroup", new InLearningGroupFunction(userCourseEnv, "inGroup")); // legacy
+		addMemoizedFunction("inLearningGroup", new InLearningGroupFunction(userCourseEnv, "inLearningGroup"));
+		addFunction("isLearningGroupFull", new IsLearningGroupFullFunction(userCourseEnv));
+		addMemoizedFunction(InRightGroupFunction.name, new InRightGroupFunction(userCourseEnv));
+		addMemoizedFunction(InLearningAreaFunction.name, new InLearningAreaFunction(userCourseEnv));
+		addFunction(IsUserFunction.name, new IsUserFunction(userCourseEnv));
+		addFunction(IsGuestFunction.name, new IsGuestFunction(userCourseEnv));
+		addFunction(IsGlobalAuthorFunction.name, new IsGlobalAuthorFunction(userCourseEnv));
+		addFunction(Sleep.name, new Sleep(userCourseEnv));
 		EvalAttributeFunction eaf;
 		eaf = new EvalAttributeFunction(userCourseEnv, EvalAttributeFunction.FUNCTION_TYPE_HAS_ATTRIBUTE);
-		env.addFunction(eaf.name, eaf);
+		addFunction(eaf.name, eaf);
 		eaf = new EvalAttributeFunction(userCourseEnv, EvalAttributeFunction.FUNCTION_TYPE_IS_IN_ATTRIBUTE);
-		env.addFunction(eaf.name, eaf);
+		addFunction(eaf.name, eaf);
 		eaf = new EvalAttributeFunction(userCourseEnv, EvalAttributeFunction.FUNCTION_TYPE_HAS_NOT_ATTRIBUTE);
-		env.addFunction(eaf.name, eaf);
+		addFunction(eaf.name, eaf);
 		eaf = new EvalAttributeFunction(userCourseEnv, EvalAttributeFunction.FUNCTION_TYPE_IS_NOT_IN_ATTRIBUTE);
-		env.addFunction(eaf.name, eaf);
+		addFunction(eaf.name, eaf);
 		eaf = new EvalAttributeFunction(userCourseEnv, EvalAttributeFunction.FUNCTION_TYPE_ATTRIBUTE_ENDS_WITH);
-		env.addFunction(eaf.name, eaf);
+		addFunction(eaf.name, eaf);
 		eaf = new EvalAttributeFunction(userCourseEnv, EvalAttributeFunction.FUNCTION_TYPE_ATTRIBUTE_STARTS_WITH);
-		env.addFunction(eaf.name, eaf);
+		addFunction(eaf.name, eaf);
 		EvalUserPropertyFunction eupf;
 		eupf = new EvalUserPropertyFunction(userCourseEnv, EvalUserPropertyFunction.FUNCTION_TYPE_HAS_NOT_PROPERTY);
-		env.addFunction(EvalUserPropertyFunction.FUNCTION_NAME_HAS_NOT_PROPERTY, eupf);
+		addFunction(EvalUserPropertyFunction.FUNCTION_NAME_HAS_NOT_PROPERTY, eupf);
 		eupf = new EvalUserPropertyFunction(userCourseEnv, EvalUserPropertyFunction.FUNCTION_TYPE_HAS_PROPERTY);
-		env.addFunction(EvalUserPropertyFunction.FUNCTION_NAME_HAS_PROPERTY, eupf);
+		addFunction(EvalUserPropertyFunction.FUNCTION_NAME_HAS_PROPERTY, eupf);
 		eupf = new EvalUserPropertyFunction(userCourseEnv, EvalUserPropertyFunction.FUNCTION_TYPE_IS_IN_PROPERTY);
-		env.addFunction(EvalUserPropertyFunction.FUNCTION_NAME_IS_IN_PROPERTY, eupf);
+		addFunction(EvalUserPropertyFunction.FUNCTION_NAME_IS_IN_PROPERTY, eupf);
 		eupf = new EvalUserPropertyFunction(userCourseEnv, EvalUserPropertyFunction.FUNCTION_TYPE_IS_NOT_IN_PROPERTY);
-		env.addFunction(EvalUserPropertyFunction.FUNCTION_NAME_IS_NOT_IN_PROPERTY, eupf);
+		addFunction(EvalUserPropertyFunction.FUNCTION_NAME_IS_NOT_IN_PROPERTY, eupf);
 		eupf = new EvalUserPropertyFunction(userCourseEnv, EvalUserPropertyFunction.FUNCTION_TYPE_PROPERTY_ENDS_WITH);
-		env.addFunction(EvalUserPropertyFunction.FUNCTION_NAME_PROPERTY_ENDS_WITH, eupf);
+		addFunction(EvalUserPropertyFunction.FUNCTION_NAME_PROPERTY_ENDS_WITH, eupf);
 		eupf = new EvalUserPropertyFunction(userCourseEnv, EvalUserPropertyFunction.FUNCTION_TYPE_PROPERTY_STARTS_WITH);
-		env.addFunction(EvalUserPropertyFunction.FUNCTION_NAME_PROPERTY_STARTS_WITH, eupf);
-		env.addFunction(GetUserPropertyFunction.name, new GetUserPropertyFunction(userCourseEnv));
-		env.addFunction(GetUserCourseDBFunction.name, new GetUserCourseDBFunction(userCourseEnv));
-		env.addFunction(HasLanguageFunction.name, new HasLanguageFunction(userCourseEnv));
-		env.addFunction(InInstitutionFunction.name, new InInstitutionFunction(userCourseEnv));
-		env.addFunction(IsCourseCoachFunction.name, new IsCourseCoachFunction(userCourseEnv));
-		env.addFunction(IsCourseParticipantFunction.name, new IsCourseParticipantFunction(userCourseEnv));
-		env.addFunction(IsCourseAdministratorFunction.name, new IsCourseAdministratorFunction(userCourseEnv));
-		env.addFunction(IsInOrganisationFunction.name, new IsInOrganisationFunction(userCourseEnv));
+		addFunction(EvalUserPropertyFunction.FUNCTION_NAME_PROPERTY_STARTS_WITH, eupf);
+		addFunction(GetUserPropertyFunction.name, new GetUserPropertyFunction(userCourseEnv));
+		addFunction(GetUserCourseDBFunction.name, new GetUserCourseDBFunction(userCourseEnv));
+		addFunction(HasLanguageFunction.name, new HasLanguageFunction(userCourseEnv));
+		addFunction(InInstitutionFunction.name, new InInstitutionFunction(userCourseEnv));
+		addMemoizedFunction(IsCourseCoachFunction.name, new IsCourseCoachFunction(userCourseEnv));
+		addMemoizedFunction(IsCourseParticipantFunction.name, new IsCourseParticipantFunction(userCourseEnv));
+		addMemoizedFunction(IsCourseAdministratorFunction.name, new IsCourseAdministratorFunction(userCourseEnv));
+		addFunction(IsInOrganisationFunction.name, new IsInOrganisationFunction(userCourseEnv));
 		
-		env.addFunction(IsAssessmentModeFunction.name, new IsAssessmentModeFunction(userCourseEnv));
-		env.addFunction(GetCourseBeginDateFunction.name, new GetCourseBeginDateFunction(userCourseEnv));
-		env.addFunction(GetCourseEndDateFunction.name, new GetCourseEndDateFunction(userCourseEnv));
-		env.addFunction(GetInitialCourseLaunchDateFunction.name, new GetInitialCourseLaunchDateFunction(userCourseEnv));
-		env.addFunction(GetRecentCourseLaunchDateFunction.name, new GetRecentCourseLaunchDateFunction(userCourseEnv));
+		addFunction(IsAssessmentModeFunction.name, new IsAssessmentModeFunction(userCourseEnv));
+		addFunction(GetCourseBeginDateFunction.name, new GetCourseBeginDateFunction(userCourseEnv));
+		addFunction(GetCourseEndDateFunction.name, new GetCourseEndDateFunction(userCourseEnv));
+		addFunction(GetInitialCourseLaunchDateFunction.name, new GetInitialCourseLaunchDateFunction(userCourseEnv));
+		addFunction(GetRecentCourseLaunchDateFunction.name, new GetRecentCourseLaunchDateFunction(userCourseEnv));
 
-		env.addFunction(GetAttemptsFunction.name, new GetAttemptsFunction(userCourseEnv));
-		env.addFunction(GetLastAttemptDateFunction.name, new GetLastAttemptDateFunction(userCourseEnv));
+		addMemoizedFunction(GetAttemptsFunction.name, new GetAttemptsFunction(userCourseEnv));
+		addFunction(GetLastAttemptDateFunction.name, new GetLastAttemptDateFunction(userCourseEnv));
 
 		// enrollment building block specific functions
-		env.addFunction(GetInitialEnrollmentDateFunction.name, new GetInitialEnrollmentDateFunction(userCourseEnv));
-		env.addFunction(GetRecentEnrollmentDateFunction.name, new GetRecentEnrollmentDateFunction(userCourseEnv));
+		addFunction(GetInitialEnrollmentDateFunction.name, new GetInitialEnrollmentDateFunction(userCourseEnv));
+		addFunction(GetRecentEnrollmentDateFunction.name, new GetRecentEnrollmentDateFunction(userCourseEnv));
 
 		// functions to calculate score
-		env.addFunction(GetPassedFunction.name, new GetPassedFunction(userCourseEnv));
-		env.addFunction(GetPassedNodesFunction.name, new GetPassedNodesFunction(userCourseEnv));
-		env.addFunction(GetScoreFunction.name, new GetScoreFunction(userCourseEnv));
-		env.addFunction(GetMaxScoreFunction.name, new GetMaxScoreFunction(userCourseEnv));
-		env.addFunction(GetAverageScoreFunction.NAME, new GetAverageScoreFunction(userCourseEnv));
-		env.addFunction(GetPassedWithCourseIdFunction.name, new GetPassedWithCourseIdFunction(userCourseEnv));
-		env.addFunction(GetScoreWithCourseIdFunction.name, new GetScoreWithCourseIdFunction(userCourseEnv));
+		addFunction(GetPassedFunction.name, new GetPassedFunction(userCourseEnv));
+		addFunction(GetPassedNodesFunction.name, new GetPassedNodesFunction(userCourseEnv));
+		addFunction(GetScoreFunction.name, new GetScoreFunction(userCourseEnv));
+		addFunction(GetMaxScoreFunction.name, new GetMaxScoreFunction(userCourseEnv));
+		addFunction(GetAverageScoreFunction.NAME, new GetAverageScoreFunction(userCourseEnv));
+		addFunction(GetPassedWithCourseIdFunction.name, new GetPassedWithCourseIdFunction(userCourseEnv));
+		addFunction(GetScoreWithCourseIdFunction.name, new GetScoreWithCourseIdFunction(userCourseEnv));
 
 	  
-		env.addFunction(GetOnyxTestOutcomeNumFunction.name, new GetOnyxTestOutcomeNumFunction(userCourseEnv));
-		env.addFunction(GetOnyxTestOutcomeAnumFunction.name, new GetOnyxTestOutcomeAnumFunction(userCourseEnv));
+		addFunction(GetOnyxTestOutcomeNumFunction.name, new GetOnyxTestOutcomeNumFunction(userCourseEnv));
+		addFunction(GetOnyxTestOutcomeAnumFunction.name, new GetOnyxTestOutcomeAnumFunction(userCourseEnv));
 		
 
 		// units
@@ -179,9 +194,106 @@ public class ConditionInterpreter {
 	}
 	
 
+	protected void addFunction(String name, AbstractFunction function) {
+		functions.put(name, function);
+		env.addFunction(name, function);
+	}
+	
+	/**
+	 * Add a function which results are memoized between {@link #startMemoization()}
+	 * and {@link #stopMemoization()}. Use it for functions which are expensive
+	 * and deliver the same result for the time of a request.
+	 * 
+	 * @param name The name of the function
+	 * @param function The function
+	 */
+	protected void addMemoizedFunction(String name, AbstractFunction function) {
+		addFunction(name, new MemoizedFunction(name, function));
+	}
+	
+	protected void addVariable(String name, AbstractVariable variable) {
+		variables.put(name, variable);
+		env.addVariable(name, variable);
+	}
+
 	public UserCourseEnvironment getUserCourseEnvironment() {
 		return uce;
 	}
+	
+	/**
+	 * Start to memoize the results of the expensive functions, typically before
+	 * building the course tree. Calls can be nested, every call must be followed
+	 * by a call to {@link #stopMemoization()}.
+	 */
+	public void startMemoization() {
+		memoizationDepth++;
+	}
+	
+	public void stopMemoization() {
+		if(memoizationDepth > 0 && --memoizationDepth == 0) {
+			memoizedResults.clear();
+		}
+	}
+	
+	/**
+	 * The conditions are parsed once per course run structure and shared with
+	 * all users. It's only possible if the functions and variables are the
+	 * standard ones of the run time.
+	 * 
+	 * @return true if the parsed expressions can be shared
+	 */
+	protected boolean isSharedExpressions() {
+		return uce.getCourseEditorEnv() == null;
+	}
+	
+	private ConditionExpressionCache getExpressionCache() {
+		if(!isSharedExpressions() || uce.getCourseEnvironment() == null) {
+			return null;
+		}
+		Structure runStructure = uce.getCourseEnvironment().getRunStructure();
+		return runStructure == null ? null
+				: runStructure.getConditionExpressionCache(functions.keySet(), variables.keySet());
+	}
+	
+	/**
+	 * @return The interpreter evaluating a shared expression in the current thread
+	 */
+	static ConditionInterpreter bound() {
+		ConditionInterpreter interpreter = boundInterpreter.get();
+		if(interpreter == null) {
+			throw new AssertException("No condition interpreter bound to the current thread");
+		}
+		return interpreter;
+	}
+	
+	Object callFunction(String name, Object[] inStack) {
+		return functions.get(name).call(inStack);
+	}
+	
+	Object getVariableValue(String name) {
+		return variables.get(name).getValue();
+	}
+	
+	private Object evaluate(String expression) throws XExpression {
+		ConditionExpressionCache cache = getExpressionCache();
+		if(cache == null) {
+			return new Expression(expression, env).evaluate();
+		}
+		
+		Expression exp = cache.acquire(expression);
+		ConditionInterpreter previous = boundInterpreter.get();
+		boundInterpreter.set(this);
+		try {
+			return exp.evaluate();
+		} finally {
+			if(previous == null) {
+				boundInterpreter.remove();
+			} else {
+				boundInterpreter.set(previous);
+			}
+			cache.release(expression, exp);
+		}
+	}
 
 	/**
 	 * @param expression
@@ -326,8 +438,7 @@ public class ConditionInterpreter {
 
 	private float doEvaluateCalculation(String calculation) throws ParseException {
 		try {
-			Expression exp = new Expression(calculation, env);
-			Object result = exp.evaluate();
+			Object result = evaluate(calculation);
 			if (result instanceof Double) {
 				return ((Double) result).floatValue();
 			} else if (result instanceof Integer) {
@@ -347,8 +458,7 @@ public class ConditionInterpreter {
 	 */
 	private boolean doEvaluateCondition(String condition) throws ParseException {
 		try {
-			Expression exp = new Expression(condition, env);
-			Object result = exp.evaluate();
+			Object result = evaluate(condition);
 			if (result instanceof Double) {
 				return (((Double) result).doubleValue() == 1.0);
 			} else if (result instanceof Integer) {
@@ -358,4 +468,38 @@ public class ConditionInterpreter {
 			throw new ParseException("Parse exception for condition: " + condition + ". " + xe.getMessage(), xe.getPosition());
 		}
 	}
-}
\ No newline at end of file
+	
+	private class MemoizedFunction extends AbstractFunction {
+		
+		private final String name;
+		private final AbstractFunction delegate;
+		
+		public MemoizedFunction(String name, AbstractFunction delegate) {
+			super(delegate.getUserCourseEnv());
+			this.name = name;
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Object call(Object[] inStack) {
+			if(memoizationDepth <= 0) {
+				return delegate.call(inStack);
+			}
+			
+			List<Object> key = new ArrayList<>(inStack.length + 1);
+			key.add(name);
+			Collections.addAll(key, inStack);
+			if(memoizedResults.containsKey(key)) {
+				return memoizedResults.get(key);
+			}
+			Object result = delegate.call(inStack);
+			memoizedResults.put(key, result);
+			return result;
+		}
+
+		@Override
+		protected Object defaultValue() {
+			return delegate.defaultValue();
+		}
+	}
+}
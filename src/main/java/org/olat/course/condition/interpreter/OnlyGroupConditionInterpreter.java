@@ -126,6 +126,10 @@ public class OnlyGroupConditionInterpreter extends ConditionInterpreter{
 		env.addUnit("m", new MonthUnit());
 	}
 
+	@Override
+	protected boolean isSharedExpressions() {
+		return false;
+	}
 }
 
 //////////////////////////////////
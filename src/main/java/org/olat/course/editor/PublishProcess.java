@@ -497,6 +497,8 @@ public class PublishProcess {
 		
 		//commit all changes before sending an event
 		DBFactory.getInstance().commitAndCloseSession();
+		//index the published course again
+		RepositoryManager.getInstance().triggerIndexer(repositoryEntry);
 		
 		/*
 		 * broadcast event
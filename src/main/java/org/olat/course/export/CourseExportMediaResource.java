@@ -44,6 +44,7 @@ import org.olat.core.util.FileUtils;
 import org.olat.core.util.StringHelper;
 import org.olat.core.util.WebappHelper;
 import org.olat.core.util.ZipUtil;
+import org.olat.core.util.io.ParallelZipOutputStream;
 import org.olat.core.util.io.ShieldOutputStream;
 import org.olat.core.util.nodes.INode;
 import org.olat.core.util.tree.TreeVisitor;
@@ -139,7 +140,7 @@ public class CourseExportMediaResource implements MediaResource, StreamingOutput
 
 	@Override
 	public void write(OutputStream output) throws IOException {
-		try(ZipOutputStream zout = new ZipOutputStream(output)) {
+		try(ZipOutputStream zout = new ParallelZipOutputStream(output)) {
 			exportCourseToZIP(resource, zout);
 		} catch (Exception e) {
 			log.error("", e);
@@ -154,7 +155,7 @@ public class CourseExportMediaResource implements MediaResource, StreamingOutput
 			log.error("", e);
 		}
 
-		try(ZipOutputStream zout = new ZipOutputStream(hres.getOutputStream())) {
+		try(ZipOutputStream zout = new ParallelZipOutputStream(hres.getOutputStream())) {
 			RepositoryEntry entry = RepositoryManager.getInstance().lookupRepositoryEntry(resource, true);
 			String label = StringHelper.transformDisplayNameToFileSystemName(entry.getDisplayname());
 			hres.setHeader("Content-Disposition", "attachment; filename*=UTF-8''" + StringHelper.urlEncodeUTF8(label + ".zip"));			
@@ -408,7 +409,7 @@ public class CourseExportMediaResource implements MediaResource, StreamingOutput
 			zout.putNextEntry(new ZipEntry("oocoursefolder.zip"));
 			// export course folder
 			try(OutputStream shieldedStream = new ShieldOutputStream(zout);
-					ZipOutputStream exportStream = new ZipOutputStream(shieldedStream)) {
+					ZipOutputStream exportStream = new ParallelZipOutputStream(shieldedStream)) {
 				for(VFSItem child:hasChildren) {
 					ZipUtil.addToZip(child, "", exportStream, new VFSSystemItemFilter(), true);
 				}
@@ -54,6 +54,7 @@ import org.olat.course.run.userview.UserCourseEnvironment;
 import org.olat.course.todo.CourseNodesToDoSyncher;
 import org.olat.course.todo.CourseToDoService;
 import org.olat.modules.assessment.AssessmentEntry;
+import org.olat.modules.assessment.AssessmentService;
 import org.olat.modules.assessment.ObligationOverridable;
 import org.olat.modules.assessment.Overridable;
 import org.olat.modules.assessment.model.AssessmentEntryStatus;
@@ -77,10 +78,14 @@ public class AssessmentAccounting implements ScoreAccounting {
 	private final Map<CourseNode, AssessmentEvaluation> courseNodeToEval = new HashMap<>();
 	private final ExceptionalObligationEvaluator exceptionalObligationEvaluator;
 	private CourseNodesToDoSyncher courseNodesToDoSyncher;
+	private List<AssessmentEntry> preloadedAssessmentEntries;
+	private boolean deferCommit = false;
 	
 	@Autowired
 	private DB dbInstance;
 	@Autowired
+	private AssessmentService assessmentService;
+	@Autowired
 	private CourseAssessmentService courseAssessmentService;
 	@Autowired
 	private CourseToDoService courseToDoService;
@@ -109,6 +114,11 @@ public class AssessmentAccounting implements ScoreAccounting {
 		this.courseNodesToDoSyncher = courseNodesToDoSyncher;
 	}
 
+	@Override
+	public void setPreloadedAssessmentEntries(List<AssessmentEntry> assessmentEntries) {
+		this.preloadedAssessmentEntries = assessmentEntries;
+	}
+
 	@Override
 	public AssessmentEvaluation getScoreEvaluation(CourseNode courseNode) {
 		return courseAssessmentService.getAssessmentEvaluation(courseNode, userCourseEnvironment);
@@ -133,7 +143,14 @@ public class AssessmentAccounting implements ScoreAccounting {
 	public boolean evaluateAll(boolean update) {
 		courseNodeToEval.clear();
 		
-		identToEntry = loadAssessmentEntries(getIdentity());
+		if (preloadedAssessmentEntries != null) {
+			identToEntry = toIdentToEntry(preloadedAssessmentEntries);
+			preloadedAssessmentEntries = null;
+			deferCommit = true;
+		} else {
+			identToEntry = loadAssessmentEntries(getIdentity());
+			deferCommit = false;
+		}
 		
 		CourseNode root = userCourseEnvironment.getCourseEnvironment().getRunStructure().getRootNode();
 		fillCacheRecursiv(root);
@@ -148,14 +165,17 @@ public class AssessmentAccounting implements ScoreAccounting {
 			updateEntryRecursiv(root, blocker, null, ObligationEvaluator.DEFAULT_CONFIG_OBLIGATION_EVALUATOR);
 		}
 		dbInstance.commit();
+		deferCommit = false;
 		
 		return false;
 	}
 
 	private Map<String, AssessmentEntry> loadAssessmentEntries(Identity identity) {
-		return getAssessmentManager()
-				.getAssessmentEntries(identity)
-				.stream()
+		return toIdentToEntry(getAssessmentManager().getAssessmentEntries(identity));
+	}
+	
+	private Map<String, AssessmentEntry> toIdentToEntry(List<AssessmentEntry> entries) {
+		return entries.stream()
 				.collect(Collectors.toMap(AssessmentEntry::getSubIdent, Function.identity()));
 	}
 
@@ -358,7 +378,12 @@ public class AssessmentAccounting implements ScoreAccounting {
 		entry.setAssessmentStatus(result.getAssessmentStatus());
 		entry.setFullyAssessed(result.getFullyAssessed());
 		
-		entry = getAssessmentManager().updateAssessmentEntry(entry);
+		if (deferCommit) {
+			// Written with the other changes at the end of the evaluation
+			entry = assessmentService.updateAssessmentEntry(entry);
+		} else {
+			entry = getAssessmentManager().updateAssessmentEntry(entry);
+		}
 		
 		identToEntry.put(courseNode.getIdent(), entry);
 		courseNodeToEval.put(courseNode, result);
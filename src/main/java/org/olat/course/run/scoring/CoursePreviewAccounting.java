@@ -19,8 +19,11 @@
  */
 package org.olat.course.run.scoring;
 
+import java.util.List;
+
 import org.olat.course.nodes.CourseNode;
 import org.olat.course.todo.CourseNodesToDoSyncher;
+import org.olat.modules.assessment.AssessmentEntry;
 import org.olat.modules.assessment.model.AssessmentEntryStatus;
 
 /**
@@ -65,4 +68,9 @@ public class CoursePreviewAccounting implements ScoreAccounting {
 		//
 	}
 
+	@Override
+	public void setPreloadedAssessmentEntries(List<AssessmentEntry> assessmentEntries) {
+		//
+	}
+
 }
@@ -20,9 +20,9 @@
 package org.olat.course.run.scoring;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.olat.basesecurity.GroupRoles;
@@ -46,10 +46,11 @@ import org.olat.repository.RepositoryEntry;
  */
 public class MultiUserObligationContext implements ObligationContext {
 	
-	private Map<Long, Set<Long>> businessGroupKeyToParticipantIdentityKeys;
-	private Map<Long, Set<Long>> organisationKeyToMembersIdentityKeys;
-	private Map<Long, Set<Long>> curriculumElementKeyToParticipantIdentityKeys;
-	private Map<Long, Map<Long, Long>> courseKeyToIdentityKeyToCourseRun;
+	// The context can be shared by the threads of a bulk evaluation
+	private final Map<Long, Set<Long>> businessGroupKeyToParticipantIdentityKeys = new ConcurrentHashMap<>(1);
+	private final Map<Long, Set<Long>> organisationKeyToMembersIdentityKeys = new ConcurrentHashMap<>(1);
+	private final Map<Long, Set<Long>> curriculumElementKeyToParticipantIdentityKeys = new ConcurrentHashMap<>(1);
+	private final Map<Long, Map<Long, Long>> courseKeyToIdentityKeyToCourseRun = new ConcurrentHashMap<>(1);
 	
 	private BusinessGroupService businessGroupService;
 	private OrganisationService organisationService;
@@ -58,9 +59,6 @@ public class MultiUserObligationContext implements ObligationContext {
 
 	@Override
 	public boolean isParticipant(Identity identity, BusinessGroupRef businessGroupRef) {
-		if (businessGroupKeyToParticipantIdentityKeys == null) {
-			businessGroupKeyToParticipantIdentityKeys = new HashMap<>(1);
-		}
 		businessGroupKeyToParticipantIdentityKeys.computeIfAbsent(businessGroupRef.getKey(),
 				key -> getBusinessGroupService()
 					.getMemberKeys(businessGroupRef, GroupRoles.participant.name())
@@ -78,9 +76,6 @@ public class MultiUserObligationContext implements ObligationContext {
 
 	@Override
 	public boolean isMember(Identity identity, OrganisationRef organisationRef) {
-		if (organisationKeyToMembersIdentityKeys == null) {
-			organisationKeyToMembersIdentityKeys = new HashMap<>(1);
-		}
 		organisationKeyToMembersIdentityKeys.computeIfAbsent(organisationRef.getKey(),
 				key -> getOrganisationService()
 						.getMemberKeys(organisationRef, OrganisationRoles.valuesWithoutGuestAndInvitee())
@@ -98,9 +93,6 @@ public class MultiUserObligationContext implements ObligationContext {
 
 	@Override
 	public boolean isParticipant(Identity identity, CurriculumElementRef curriculumElementRef) {
-		if (curriculumElementKeyToParticipantIdentityKeys == null) {
-			curriculumElementKeyToParticipantIdentityKeys = new HashMap<>(1);
-		}
 		curriculumElementKeyToParticipantIdentityKeys.computeIfAbsent(curriculumElementRef.getKey(),
 				key -> getCurriculumService()
 						.getMemberKeys(Collections.singletonList(curriculumElementRef), GroupRoles.participant.name())
@@ -118,10 +110,6 @@ public class MultiUserObligationContext implements ObligationContext {
 
 	@Override
 	public Long getCourseRun(Identity identity, RepositoryEntry courseEntry) {
-		if (courseKeyToIdentityKeyToCourseRun == null) {
-			courseKeyToIdentityKeyToCourseRun = new HashMap<>(1);
-		}
-		
 		return courseKeyToIdentityKeyToCourseRun
 				.computeIfAbsent(courseEntry.getKey(),
 						key -> getUserCourseInformationsManager().getCourseRuns(courseEntry.getOlatResource(), null))
@@ -19,8 +19,11 @@
  */
 package org.olat.course.run.scoring;
 
+import java.util.List;
+
 import org.olat.course.nodes.CourseNode;
 import org.olat.course.todo.CourseNodesToDoSyncher;
+import org.olat.modules.assessment.AssessmentEntry;
 
 /**
  * This class does nothing. It is supposed to make sure that course member with
@@ -42,6 +45,11 @@ public class NoEvaluationAccounting implements ScoreAccounting {
 	public void setCourseNodesToDoSyncher(CourseNodesToDoSyncher courseNodesToDoSyncher) {
 		//
 	}
+
+	@Override
+	public void setPreloadedAssessmentEntries(List<AssessmentEntry> assessmentEntries) {
+		//
+	}
 	
 	@Override
 	public void evaluateAll() {
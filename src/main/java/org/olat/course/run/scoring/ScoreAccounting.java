@@ -19,8 +19,11 @@
  */
 package org.olat.course.run.scoring;
 
+import java.util.List;
+
 import org.olat.course.nodes.CourseNode;
 import org.olat.course.todo.CourseNodesToDoSyncher;
+import org.olat.modules.assessment.AssessmentEntry;
 
 /**
  * 
@@ -33,6 +36,15 @@ public interface ScoreAccounting {
 	void setObligationContext(ObligationContext obligationContext);
 	
 	void setCourseNodesToDoSyncher(CourseNodesToDoSyncher courseNodesToDoSyncher);
+	
+	/**
+	 * Use the specified assessment entries for the next evaluation instead
+	 * of loading them. The changed entries are then committed together at
+	 * the end of the evaluation.
+	 * 
+	 * @param assessmentEntries The assessment entries of the user in the course
+	 */
+	void setPreloadedAssessmentEntries(List<AssessmentEntry> assessmentEntries);
 
 	/**
 	 * Retrieve all the score evaluations for all course nodes
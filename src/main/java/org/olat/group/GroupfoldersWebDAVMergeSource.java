@@ -22,6 +22,7 @@ package org.olat.group;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.olat.admin.quota.QuotaConstants;
@@ -65,20 +66,22 @@ class GroupfoldersWebDAVMergeSource extends WebDAVMergeSource {
 		params.addTools(CollaborationTools.TOOL_FOLDER);
 		List<BusinessGroup> tutorGroups = bgs.findBusinessGroups(params, null, 0, -1);
 		for (BusinessGroup group : tutorGroups) {
-			addContainer(group, addedGroupKeys, addedGroupNames, containers, true);
+			addContainer(group, addedGroupKeys, addedGroupNames, containers, true, Map.of());
 		}
 
 		SearchBusinessGroupParams paramsParticipants = new SearchBusinessGroupParams(getIdentity(), false, true);
 		paramsParticipants.addTools(CollaborationTools.TOOL_FOLDER);
 		List<BusinessGroup> participantsGroups = bgs.findBusinessGroups(paramsParticipants, null, 0, -1);
+		// load the access to the folders of all groups at once
+		Map<Long,Long> groupsFolderAccess = collaborationManager.lookupFolderAccess(participantsGroups);
 		for (BusinessGroup group : participantsGroups) {
-			addContainer(group, addedGroupKeys, addedGroupNames, containers, false);
+			addContainer(group, addedGroupKeys, addedGroupNames, containers, false, groupsFolderAccess);
 		}
 		return containers;
 	}
 	
 	private void addContainer(BusinessGroup group, Set<Long> addedGroupKeys, Set<String> addedGroupNames,
-			List<VFSContainer> containers, boolean isOwner) {
+			List<VFSContainer> containers, boolean isOwner, Map<Long,Long> groupsFolderAccess) {
 		if(addedGroupKeys.contains(group.getKey())) {
 			return;
 		}
@@ -87,7 +90,7 @@ class GroupfoldersWebDAVMergeSource extends WebDAVMergeSource {
 			return;
 		}
 
-		VFSContainer grpContainer = getGroupContainer(name, group, isOwner);
+		VFSContainer grpContainer = getGroupContainer(name, group, isOwner, groupsFolderAccess);
 		// add container
 		addContainerToList(grpContainer, containers);
 		addedGroupKeys.add(group.getKey());
@@ -111,7 +114,7 @@ class GroupfoldersWebDAVMergeSource extends WebDAVMergeSource {
 		return name;
 	}
 	
-	private VFSContainer getGroupContainer(String name, BusinessGroup group, boolean isOwner) {
+	private VFSContainer getGroupContainer(String name, BusinessGroup group, boolean isOwner, Map<Long,Long> groupsFolderAccess) {
 		String folderPath = collaborationManager.getFolderRelPath(group);
 		// create container and set quota
 		VFSContainer localImpl = VFSManager.olatRootContainer(folderPath, this);
@@ -126,7 +129,7 @@ class GroupfoldersWebDAVMergeSource extends WebDAVMergeSource {
 		} else if (!isOwner) {
 			// check if participants have read/write access
 			int folderAccess = CollaborationTools.FOLDER_ACCESS_ALL;
-			Long lFolderAccess = collaborationManager.lookupFolderAccess(group);
+			Long lFolderAccess = groupsFolderAccess.get(group.getKey());
 			if (lFolderAccess != null) {
 				folderAccess = lFolderAccess.intValue();
 			}
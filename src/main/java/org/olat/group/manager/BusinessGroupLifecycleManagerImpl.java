@@ -98,6 +98,8 @@ import org.olat.repository.manager.RepositoryEntryDAO;
 import org.olat.repository.manager.RepositoryEntryRelationDAO;
 import org.olat.resource.OLATResource;
 import org.olat.resource.accesscontrol.manager.ACReservationDAO;
+import org.olat.search.service.document.GroupDocument;
+import org.olat.search.service.indexer.LifeFullIndexer;
 import org.olat.util.logging.activity.LoggingResourceable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -156,6 +158,8 @@ public class BusinessGroupLifecycleManagerImpl implements BusinessGroupLifecycle
 	private RepositoryDeletionModule repositoryDeletionModule;
 	@Autowired
 	private RepositoryEntryRelationDAO repositoryEntryRelationDao;
+	@Autowired
+	private LifeFullIndexer lifeIndexer;
 	
 	private Date getDate(int days) {
 		Calendar cal = Calendar.getInstance();
@@ -837,6 +841,7 @@ public class BusinessGroupLifecycleManagerImpl implements BusinessGroupLifecycle
 		// now delete the group first
 		deleteBusinessGroup(businessGroupToDelete, deletedBy);
 		dbInstance.commit();
+		lifeIndexer.deleteDocument(GroupDocument.TYPE, businessGroupToDelete.getKey());
 		if(!users.isEmpty() && withMail) {
 			// finally send email
 			String metaId = UUID.randomUUID().toString();
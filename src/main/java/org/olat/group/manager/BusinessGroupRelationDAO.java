@@ -23,7 +23,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import jakarta.persistence.TypedQuery;
@@ -48,6 +50,7 @@ import org.olat.group.BusinessGroupShort;
 import org.olat.group.model.BGRepositoryEntryRelation;
 import org.olat.group.model.BusinessGroupRefImpl;
 import org.olat.repository.RepositoryEntry;
+import org.olat.repository.RepositoryEntryParticipantsListener;
 import org.olat.repository.RepositoryEntryRef;
 import org.olat.repository.RepositoryEntryRelationType;
 import org.olat.repository.RepositoryEntryRuntimeType;
@@ -73,6 +76,8 @@ public class BusinessGroupRelationDAO {
 	private AssessmentModeDAO assessmentModeDao;
 	@Autowired
 	private RepositoryEntryRelationDAO repositoryEntryRelationDao;
+	@Autowired
+	private List<RepositoryEntryParticipantsListener> participantsListeners;
 	
 	public void addRelationToResource(BusinessGroup group, RepositoryEntry re) {
 		repositoryEntryRelationDao.createRelation(((BusinessGroupImpl)group).getBaseGroup(), re, false);
@@ -90,6 +95,7 @@ public class BusinessGroupRelationDAO {
 			group = getGroup(businessGroup);
 		}
 		groupDao.addMembershipOneWay(group, identity, role);
+		fireMembershipsChanged(group.getKey(), role);
 	}
 	
 	public boolean removeRole(Identity identity, BusinessGroupRef businessGroup, String role) {
@@ -105,11 +111,19 @@ public class BusinessGroupRelationDAO {
 				.setParameter("role", role)
 				.getResultList();
 		 if(memberships.size() > 0) {
-			 dbInstance.getCurrentEntityManager().remove(memberships.get(0)); 
+			 GroupMembershipImpl membership = memberships.get(0);
+			 dbInstance.getCurrentEntityManager().remove(membership); 
+			 fireMembershipsChanged(membership.getGroup().getKey(), role);
 		 }
 		 return memberships.size() > 0;
 	}
 	
+	private void fireMembershipsChanged(Long groupKey, String role) {
+		for(RepositoryEntryParticipantsListener listener:participantsListeners) {
+			listener.membershipsChanged(groupKey, role);
+		}
+	}
+	
 	public Group getGroup(BusinessGroup businessGroup) {
 		Group group = null;
 		try {
@@ -148,6 +162,31 @@ public class BusinessGroupRelationDAO {
 				.getResultList();
 	}
 	
+	/**
+	 * Load all the memberships of a business group at once, for example
+	 * to synchronize the members of large groups.
+	 *
+	 * @param group The business group
+	 * @return A map with the identity keys as key and their roles in the group as value
+	 */
+	public Map<Long,List<String>> getMembersRoles(BusinessGroupRef group) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("select membership.identity.key, membership.role from businessgroup as bgroup ")
+		  .append(" inner join bgroup.baseGroup as baseGroup")
+		  .append(" inner join baseGroup.members as membership")
+		  .append(" where bgroup.key=:businessGroupKey");
+
+		List<Object[]> rawObjects = dbInstance.getCurrentEntityManager().createQuery(sb.toString(), Object[].class)
+				.setParameter("businessGroupKey", group.getKey())
+				.getResultList();
+		Map<Long,List<String>> membersRoles = new HashMap<>();
+		for(Object[] rawObject:rawObjects) {
+			membersRoles.computeIfAbsent((Long)rawObject[0], key -> new ArrayList<>(2))
+				.add((String)rawObject[1]);
+		}
+		return membersRoles;
+	}
+
 	public List<String> getRoles(IdentityRef identity, List<? extends BusinessGroupRef> groups) {
 		if(groups == null || groups.isEmpty()) return Collections.emptyList();
 		
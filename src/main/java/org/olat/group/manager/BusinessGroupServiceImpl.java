@@ -111,6 +111,8 @@ import org.olat.resource.accesscontrol.ConfirmationByEnum;
 import org.olat.resource.accesscontrol.ResourceReservation;
 import org.olat.resource.accesscontrol.manager.ACReservationDAO;
 import org.olat.resource.accesscontrol.model.SearchReservationParameters;
+import org.olat.search.service.document.GroupDocument;
+import org.olat.search.service.indexer.LifeFullIndexer;
 import org.olat.util.logging.activity.LoggingResourceable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -158,6 +160,8 @@ public class BusinessGroupServiceImpl implements BusinessGroupService {
 	private AccessControlModule acModule;
 	@Autowired
 	private DB dbInstance;
+	@Autowired
+	private LifeFullIndexer lifeIndexer;
 
 	@Override
 	public BusinessGroup createBusinessGroup(Identity creator, String name, String description, String technicalType,
@@ -211,6 +215,7 @@ public class BusinessGroupServiceImpl implements BusinessGroupService {
 		BusinessGroup updatedGroup = businessGroupDAO.merge(bg);
 		dbInstance.commit();
 		BusinessGroupModifiedEvent.fireDeferredEvents(events);
+		lifeIndexer.indexDocument(GroupDocument.TYPE, updatedGroup.getKey());
 		return updatedGroup;
 	}
 
@@ -239,6 +244,7 @@ public class BusinessGroupServiceImpl implements BusinessGroupService {
 		mergedGroup.getBaseGroup().getKey();
 		dbInstance.commit();
 		BusinessGroupModifiedEvent.fireDeferredEvents(events);
+		lifeIndexer.indexDocument(GroupDocument.TYPE, mergedGroup.getKey());
 		return mergedGroup;
 	}
 	
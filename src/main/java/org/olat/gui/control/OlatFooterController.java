@@ -131,6 +131,8 @@ public class OlatFooterController extends BasicController implements LockableCon
 		aboutLink = AboutController.aboutLinkFactory("menu.about", getLocale(), this, false, true);
 		aboutLink.setCustomDisplayText(Settings.getApplicationName() + "&nbsp;" + Settings.getVersion());		
 		olatFootervc.put("aboutLink", aboutLink);
+		// the footer only changes with the number of users online
+		olatFootervc.setRenderCacheVersion("footer");
 		
 		putInitialPanel(olatFootervc);
 	}
@@ -66,6 +66,8 @@ public class QTI21Module extends AbstractSpringModule {
 	private String resultsVisibleAfterCorrectionWorkflow;
 	@Value("${qti21.import.encoding.fallback:}")
 	private String importEncodingFallback;
+	@Value("${qti21.session.state.store:xml}")
+	private String sessionStateStore;
 	
 	@Autowired
 	public QTI21Module(CoordinatorManager coordinatorManager) {
@@ -188,6 +190,14 @@ public class QTI21Module extends AbstractSpringModule {
 	public String getImportEncodingFallback() {
 		return importEncodingFallback;
 	}
+	
+	/**
+	 * @return true if the state of the test sessions is written as a journal
+	 * 		of deltas, false if the complete XML file is written after every event
+	 */
+	public boolean isSessionStateJournalEnabled() {
+		return "journal".equalsIgnoreCase(sessionStateStore);
+	}
 
 	public enum CorrectionWorkflow {
 		anonymous,
@@ -20,15 +20,11 @@
 package org.olat.ims.qti21.manager;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.StringReader;
 import java.math.BigDecimal;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -44,13 +40,8 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Logger;
 import org.olat.basesecurity.IdentityRef;
 import org.olat.core.commons.persistence.DB;
@@ -70,7 +61,6 @@ import org.olat.core.util.coordinate.Cacher;
 import org.olat.core.util.coordinate.CoordinatorManager;
 import org.olat.core.util.crypto.CryptoUtil;
 import org.olat.core.util.crypto.X509CertificatePrivateKeyPair;
-import org.olat.core.util.filter.FilterFactory;
 import org.olat.core.util.mail.MailBundle;
 import org.olat.core.util.mail.MailManager;
 import org.olat.core.util.resource.OresHelper;
@@ -94,6 +84,9 @@ import org.olat.ims.qti21.QTI21Module;
 import org.olat.ims.qti21.QTI21Service;
 import org.olat.ims.qti21.manager.audit.AssessmentSessionAuditFileLog;
 import org.olat.ims.qti21.manager.audit.AssessmentSessionAuditOLog;
+import org.olat.ims.qti21.manager.state.JournalTestSessionStateStore;
+import org.olat.ims.qti21.manager.state.TestSessionStateStore;
+import org.olat.ims.qti21.manager.state.XmlTestSessionStateStore;
 import org.olat.ims.qti21.model.AssessmentTestInfos;
 import org.olat.ims.qti21.model.DigitalSignatureOptions;
 import org.olat.ims.qti21.model.DigitalSignatureValidation;
@@ -128,7 +121,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
-import org.xml.sax.InputSource;
 
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.security.ExplicitTypePermission;
@@ -175,7 +167,6 @@ import uk.ac.ed.ph.jqtiplus.value.NumberValue;
 import uk.ac.ed.ph.jqtiplus.value.RecordValue;
 import uk.ac.ed.ph.jqtiplus.value.SingleValue;
 import uk.ac.ed.ph.jqtiplus.value.Value;
-import uk.ac.ed.ph.jqtiplus.xmlutils.XmlFactories;
 import uk.ac.ed.ph.jqtiplus.xmlutils.XmlResourceNotFoundException;
 import uk.ac.ed.ph.jqtiplus.xmlutils.locators.ClassPathResourceLocator;
 import uk.ac.ed.ph.jqtiplus.xmlutils.locators.ResourceLocator;
@@ -232,6 +223,12 @@ public class QTI21ServiceImpl implements QTI21Service, UserDataDeletable, Initia
 	private RepositoryEntryDAO repositoryEntryDao;
 	@Autowired
 	private ReferenceHistoryInfosDAO referenceHistoryInfosDao;
+	@Autowired
+	private XmlTestSessionStateStore xmlStateStore;
+	@Autowired
+	private JournalTestSessionStateStore journalStateStore;
+	
+	private TestSessionStateStore testSessionStateStore;
 	
 
 	private JqtiExtensionManager jqtiExtensionManager;
@@ -264,6 +261,8 @@ public class QTI21ServiceImpl implements QTI21Service, UserDataDeletable, Initia
         xsltStylesheetManager = new XsltStylesheetManager(new ClassPathResourceLocator(), xsltStylesheetCache);
         
         jqtiExtensionManager.init();
+        
+        testSessionStateStore = qtiModule.isSessionStateJournalEnabled() ? journalStateStore : xmlStateStore;
 
         Cacher cacher = coordinatorManager.getInstance().getCoordinator().getCacher();
         deliveryOptionsCache = cacher.getCache("QTIWorks", "deliveryOptions");
@@ -764,13 +763,9 @@ public class QTI21ServiceImpl implements QTI21Service, UserDataDeletable, Initia
 
 	@Override
 	public TestSessionState loadTestSessionState(AssessmentTestSession candidateSession) {
-        Document document = loadStateDocument(candidateSession);
-        return document == null ? null: TestSessionStateXmlMarshaller.unmarshal(document.getDocumentElement());
-    }
-	
-    private Document loadStateDocument(AssessmentTestSession candidateSession) {
         File sessionFile = getTestSessionStateFile(candidateSession);
-        return loadStateDocument(sessionFile);
+        Document document = testSessionStateStore.load(sessionFile);
+        return document == null ? null: TestSessionStateXmlMarshaller.unmarshal(document.getDocumentElement());
     }
     
     @Override
@@ -781,30 +776,7 @@ public class QTI21ServiceImpl implements QTI21Service, UserDataDeletable, Initia
     
     private Document loadStateDocument(AssessmentTestSession candidateSession, AssessmentItemSession itemSession) {
         File sessionFile = getItemSessionStateFile(candidateSession, itemSession);
-        return loadStateDocument(sessionFile);
-    }
-    
-    private Document loadStateDocument(File sessionFile) {
-        if(sessionFile.exists()) {
-	        try {
-		        DocumentBuilder documentBuilder = XmlFactories.newDocumentBuilder();
-	            return documentBuilder.parse(sessionFile);
-	        } catch (final Exception e) {
-	        	return loadFilteredStateDocument(sessionFile);
-	        }
-        }
-        return null;
-    }
-
-	private Document loadFilteredStateDocument(File sessionFile) {
-    		try(InputStream in = new FileInputStream(sessionFile)) {
-    			String xmlContent = IOUtils.toString(in, StandardCharsets.UTF_8);
-    			String filteredContent = FilterFactory.getXMLValidEntityFilter().filter(xmlContent);
-	        DocumentBuilder documentBuilder = XmlFactories.newDocumentBuilder();
-            return documentBuilder.parse(new InputSource(new StringReader(filteredContent)));
-        } catch (final Exception e) {
-        		throw new OLATRuntimeException("Could not parse serialized state XML. This is an internal error as we currently don't expose this data to clients", e);
-        }
+        return xmlStateStore.loadStateDocument(sessionFile);
     }
 
 	@Override
@@ -1262,12 +1234,11 @@ public class QTI21ServiceImpl implements QTI21Service, UserDataDeletable, Initia
 	 */
 	@Override
 	public void deleteTestSession(AssessmentTestSession candidateSession, TestSessionState testSessionState) {
-		final File myStore = testSessionDao.getSessionStorage(candidateSession);
-        final File sessionState = new File(myStore, "testSessionState.xml");
+        final File sessionState = getTestSessionStateFile(candidateSession);
         final File resultFile = getAssessmentResultFile(candidateSession);
 
 		testSessionDao.deleteTestSession(candidateSession);
-		FileUtils.deleteFile(sessionState);
+		testSessionStateStore.delete(sessionState);
 		if(resultFile != null) {
 			FileUtils.deleteFile(resultFile);
 		}
@@ -1431,13 +1402,19 @@ public class QTI21ServiceImpl implements QTI21Service, UserDataDeletable, Initia
 	private void storeTestSessionState(CandidateEvent candidateEvent, TestSessionState testSessionState) {
 		Document stateDocument = TestSessionStateXmlMarshaller.marshal(testSessionState);
 		File sessionFile = getTestSessionStateFile(candidateEvent);
-		storeStateDocument(stateDocument, sessionFile);
+		AssessmentTestSession candidateSession = candidateEvent.getCandidateSession();
+		if(candidateSession.getFinishTime() != null || candidateSession.getTerminationTime() != null) {
+			// the XML file is the archive format, keep it complete after the end of the test
+			testSessionStateStore.snapshot(sessionFile, stateDocument);
+		} else {
+			testSessionStateStore.store(sessionFile, stateDocument);
+		}
 	}
 	
 	private void storeTestSessionState(AssessmentTestSession candidateSession, TestSessionState testSessionState) {
 		Document stateDocument = TestSessionStateXmlMarshaller.marshal(testSessionState);
 		File sessionFile = getTestSessionStateFile(candidateSession);
-		storeStateDocument(stateDocument, sessionFile);
+		testSessionStateStore.snapshot(sessionFile, stateDocument);
 	}
 
 	private File getTestSessionStateFile(CandidateEvent candidateEvent) {
@@ -1490,7 +1467,7 @@ public class QTI21ServiceImpl implements QTI21Service, UserDataDeletable, Initia
 	public void storeItemSessionState(AssessmentItemSession itemSession, CandidateEvent candidateEvent, ItemSessionState itemSessionState) {
         Document stateDocument = ItemSessionStateXmlMarshaller.marshal(itemSessionState);
         File sessionFile = getItemSessionStateFile(candidateEvent.getCandidateSession(), itemSession);
-        storeStateDocument(stateDocument, sessionFile);
+        xmlStateStore.storeStateDocument(stateDocument, sessionFile);
     }
     
 	private File getItemSessionStateFile(AssessmentTestSession candidateSession, AssessmentItemSession itemSession) {
@@ -1499,19 +1476,6 @@ public class QTI21ServiceImpl implements QTI21Service, UserDataDeletable, Initia
 		return new File(myStore, filename);
 	}
     
-	private void storeStateDocument(Document stateXml, File sessionFile) {
-        XsltSerializationOptions xsltSerializationOptions = new XsltSerializationOptions();
-        xsltSerializationOptions.setIndenting(true);
-        xsltSerializationOptions.setIncludingXMLDeclaration(false);
-        
-        Transformer serializer = XsltStylesheetManager.createSerializer(xsltSerializationOptions);
-        try(OutputStream resultStream = new FileOutputStream(sessionFile)) {
-            serializer.transform(new DOMSource(stateXml), new StreamResult(resultStream));
-        } catch (TransformerException | IOException e) {
-            throw new OLATRuntimeException("Unexpected Exception serializing state DOM", e);
-        }
-    }
-
 	@Override
 	public AssessmentTestSession finishItemSession(AssessmentTestSession candidateSession, AssessmentResult assessmentResult, Date timestamp) {
 		/* Mark session as finished */
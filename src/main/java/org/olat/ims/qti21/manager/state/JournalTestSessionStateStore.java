@@ -0,0 +1,263 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.ims.qti21.manager.state;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.core.logging.Tracing;
+import org.olat.core.util.FileUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Store the state of the test sessions as a snapshot (the XML file)
+ * and an append-only journal of deltas. A delta contains only the children
+ * of the root element (test plan, test parts, sections, items...) which
+ * changed since the previous event, in a compact binary encoding.<br>
+ * The journal is compacted to a new snapshot after a configurable
+ * number of events, or if it's bigger than the snapshot. The journals
+ * are forced to the disk in batches by a background thread.<br>
+ * The digests of the children of the last stored state are held in
+ * memory. If they are missing (restart, eviction, the journal was
+ * written by an other node), a snapshot is written.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@Service
+public class JournalTestSessionStateStore implements TestSessionStateStore, InitializingBean, DisposableBean {
+	
+	private static final Logger log = Tracing.createLoggerFor(JournalTestSessionStateStore.class);
+	
+	private static final int MAX_CACHED_STATES = 4096;
+	private static final int NUM_OF_LOCKS = 64;
+	
+	@Value("${qti21.session.state.journal.compaction:50}")
+	private int compactionThreshold;
+	@Value("${qti21.session.state.journal.fsync.interval:1000}")
+	private long fsyncInterval;
+	
+	private final Object[] locks = new Object[NUM_OF_LOCKS];
+	private final Map<String,JournalState> states = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+		private static final long serialVersionUID = 3718420466853064290L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String,JournalState> eldest) {
+			return size() > MAX_CACHED_STATES;
+		}
+	});
+	private final Set<File> unforcedJournals = ConcurrentHashMap.newKeySet();
+	private ScheduledExecutorService fsyncExecutor;
+	
+	@Autowired
+	private XmlTestSessionStateStore xmlStateStore;
+	
+	public JournalTestSessionStateStore() {
+		for(int i=0; i<NUM_OF_LOCKS; i++) {
+			locks[i] = new Object();
+		}
+	}
+	
+	@Override
+	public void afterPropertiesSet() {
+		if(fsyncInterval > 0) {
+			fsyncExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread thread = new Thread(r, "QTI21-State-Journal-Sync");
+				thread.setDaemon(true);
+				return thread;
+			});
+			fsyncExecutor.scheduleWithFixedDelay(this::forceJournals, fsyncInterval, fsyncInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+	
+	@Override
+	public void destroy() {
+		if(fsyncExecutor != null) {
+			fsyncExecutor.shutdownNow();
+		}
+		forceJournals();
+	}
+
+	@Override
+	public Document load(File stateFile) {
+		synchronized(getLock(stateFile)) {
+			return xmlStateStore.load(stateFile);
+		}
+	}
+
+	@Override
+	public void store(File stateFile, Document stateDocument) {
+		synchronized(getLock(stateFile)) {
+			JournalState state = getState(stateFile);
+			if(state == null) {
+				snapshot(stateFile, stateDocument);
+				return;
+			}
+			
+			try {
+				Element root = stateDocument.getDocumentElement();
+				List<Element> children = StateElementCodec.childElements(root);
+				List<String> identifiers = StateElementCodec.identifiers(children);
+				List<byte[]> changedChildren = new ArrayList<>(children.size());
+				Map<String,byte[]> digests = new HashMap<>();
+				for(int i=0; i<children.size(); i++) {
+					String identifier = identifiers.get(i);
+					byte[] encodedChild = StateElementCodec.encode(children.get(i), true);
+					byte[] digest = digest(encodedChild);
+					digests.put(identifier, digest);
+					changedChildren.add(Arrays.equals(digest, state.digests.get(identifier)) ? null : encodedChild);
+				}
+				
+				byte[] delta = TestSessionStateJournal.encodeDelta(StateElementCodec.encode(root, false), identifiers, changedChildren);
+				long journalLength = TestSessionStateJournal.append(state.journalFile, delta, fsyncInterval <= 0);
+				state.update(digests, journalLength);
+				if(fsyncInterval > 0) {
+					unforcedJournals.add(state.journalFile);
+				}
+				
+				if(state.records >= compactionThreshold || journalLength > state.snapshotLength) {
+					snapshot(stateFile, stateDocument);
+				}
+			} catch (IOException e) {
+				log.error("Cannot append to the journal: {}", state.journalFile, e);
+				snapshot(stateFile, stateDocument);
+			}
+		}
+	}
+
+	@Override
+	public void snapshot(File stateFile, Document stateDocument) {
+		synchronized(getLock(stateFile)) {
+			String path = stateFile.getAbsolutePath();
+			states.remove(path);
+			
+			byte[] content = xmlStateStore.serializeStateDocument(stateDocument);
+			xmlStateStore.writeSnapshot(stateFile, content);
+			
+			File journalFile = TestSessionStateJournal.getJournalFile(stateFile);
+			try {
+				long journalLength = TestSessionStateJournal.create(journalFile, content.length, TestSessionStateJournal.checksum(content));
+				
+				Element root = stateDocument.getDocumentElement();
+				List<Element> children = StateElementCodec.childElements(root);
+				List<String> identifiers = StateElementCodec.identifiers(children);
+				Map<String,byte[]> digests = new HashMap<>();
+				for(int i=0; i<children.size(); i++) {
+					digests.put(identifiers.get(i), digest(StateElementCodec.encode(children.get(i), true)));
+				}
+				states.put(path, new JournalState(journalFile, content.length, digests, journalLength));
+			} catch (IOException e) {
+				log.error("Cannot create the journal: {}", journalFile, e);
+				FileUtils.deleteFile(journalFile);
+			}
+		}
+	}
+
+	@Override
+	public void delete(File stateFile) {
+		synchronized(getLock(stateFile)) {
+			states.remove(stateFile.getAbsolutePath());
+			xmlStateStore.delete(stateFile);
+		}
+	}
+	
+	private JournalState getState(File stateFile) {
+		JournalState state = states.get(stateFile.getAbsolutePath());
+		if(state != null && state.journalFile.length() != state.journalLength) {
+			// written by someone else
+			state = null;
+		}
+		return state;
+	}
+	
+	private Object getLock(File stateFile) {
+		return locks[Math.floorMod(stateFile.getAbsolutePath().hashCode(), NUM_OF_LOCKS)];
+	}
+	
+	private void forceJournals() {
+		for(Iterator<File> it=unforcedJournals.iterator(); it.hasNext(); ) {
+			File journalFile = it.next();
+			it.remove();
+			try(FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE)) {
+				channel.force(false);
+			} catch (NoSuchFileException e) {
+				// compacted or deleted
+			} catch (IOException e) {
+				log.warn("Cannot force the journal: {}", journalFile, e);
+			}
+		}
+	}
+	
+	private static byte[] digest(byte[] content) {
+		try {
+			return MessageDigest.getInstance("MD5").digest(content);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private static class JournalState {
+		
+		private final File journalFile;
+		private final long snapshotLength;
+		private Map<String,byte[]> digests;
+		private long journalLength;
+		private int records;
+		
+		public JournalState(File journalFile, long snapshotLength, Map<String,byte[]> digests, long journalLength) {
+			this.journalFile = journalFile;
+			this.snapshotLength = snapshotLength;
+			this.digests = digests;
+			this.journalLength = journalLength;
+		}
+		
+		public void update(Map<String,byte[]> newDigests, long newJournalLength) {
+			digests = newDigests;
+			journalLength = newJournalLength;
+			records++;
+		}
+	}
+}
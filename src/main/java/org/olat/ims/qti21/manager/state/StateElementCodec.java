@@ -0,0 +1,297 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.ims.qti21.manager.state;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Compact binary encoding of a DOM element and its descendants. The
+ * names and the namespaces are written once per encoded element and
+ * referenced by index after. Comments are dropped, as the whitespaces
+ * used to indent the elements, the encoding of an element is the same
+ * if the document was indented or not.
+ *
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+class StateElementCodec {
+
+	private static final byte ELEMENT = 1;
+	private static final byte TEXT = 2;
+	private static final byte END = 0;
+
+	private static final Comparator<Attr> ATTRIBUTE_COMPARATOR = Comparator
+			.comparing((Attr attr) -> attr.getName());
+
+	private StateElementCodec() {
+		//
+	}
+
+	/**
+	 * @param element The element to encode
+	 * @param withChildren Encode the element with its descendants or only
+	 * 		the element and its attributes
+	 * @return The encoded element
+	 */
+	public static byte[] encode(Element element, boolean withChildren) {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+			Writer writer = new Writer(new DataOutputStream(out));
+			writer.writeElement(element, withChildren);
+			writer.out.flush();
+			return out.toByteArray();
+		} catch (IOException e) {
+			// not possible with a byte array
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Decode an element in the context of the specified document. The
+	 * element is not appended to the document.
+	 * 
+	 * @param document The document which will own the element
+	 * @param data The encoded element
+	 * @return The element
+	 * @throws IOException If the data are corrupted
+	 */
+	public static Element decode(Document document, byte[] data) throws IOException {
+		Reader reader = new Reader(document, new DataInputStream(new ByteArrayInputStream(data)));
+		if(reader.in.readByte() != ELEMENT) {
+			throw new IOException("Not an element");
+		}
+		return reader.readElement();
+	}
+
+	/**
+	 * @param root The root element
+	 * @return The child elements of the root element
+	 */
+	public static List<Element> childElements(Element root) {
+		NodeList nodes = root.getChildNodes();
+		List<Element> elements = new ArrayList<>(nodes.getLength());
+		for(int i=0; i<nodes.getLength(); i++) {
+			if(nodes.item(i) instanceof Element element) {
+				elements.add(element);
+			}
+		}
+		return elements;
+	}
+
+	/**
+	 * Build a stable and unique identifier for every element of the list,
+	 * based on the name, the key or identifier attribute and the position
+	 * of the element between its siblings with the same name and key.
+	 * 
+	 * @param elements A list of siblings
+	 * @return A list of identifiers in the same order as the elements
+	 */
+	public static List<String> identifiers(List<Element> elements) {
+		Map<String,Integer> occurrences = new HashMap<>();
+		List<String> identifiers = new ArrayList<>(elements.size());
+		for(Element element:elements) {
+			String key = element.getAttribute("key");
+			if(key.isEmpty()) {
+				key = element.getAttribute("identifier");
+			}
+			String id = element.getLocalName() == null ? element.getNodeName() : element.getLocalName();
+			id += "[" + key + "]";
+			int occurrence = occurrences.merge(id, 1, Integer::sum);
+			identifiers.add(id + occurrence);
+		}
+		return identifiers;
+	}
+
+	private static class Writer {
+
+		private final DataOutputStream out;
+		private final Map<String,Integer> strings = new HashMap<>();
+
+		public Writer(DataOutputStream out) {
+			this.out = out;
+		}
+
+		private void writeElement(Element element, boolean withChildren) throws IOException {
+			out.writeByte(ELEMENT);
+			writeName(element.getNamespaceURI());
+			writeName(element.getNodeName());
+
+			NamedNodeMap attributeMap = element.getAttributes();
+			List<Attr> attributes = new ArrayList<>(attributeMap.getLength());
+			for(int i=0; i<attributeMap.getLength(); i++) {
+				attributes.add((Attr)attributeMap.item(i));
+			}
+			attributes.sort(ATTRIBUTE_COMPARATOR);
+			writeVarInt(attributes.size());
+			for(Attr attribute:attributes) {
+				writeName(attribute.getNamespaceURI());
+				writeName(attribute.getName());
+				writeString(attribute.getValue());
+			}
+
+			if(withChildren) {
+				NodeList children = element.getChildNodes();
+				boolean mixed = hasElementChild(children);
+				for(int i=0; i<children.getLength(); i++) {
+					Node child = children.item(i);
+					if(child instanceof Element childElement) {
+						writeElement(childElement, true);
+					} else if(child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+						String text = child.getNodeValue();
+						if(!mixed || !text.isBlank()) {
+							out.writeByte(TEXT);
+							writeString(text);
+						}
+					}
+				}
+			}
+			out.writeByte(END);
+		}
+
+		private boolean hasElementChild(NodeList children) {
+			for(int i=0; i<children.getLength(); i++) {
+				if(children.item(i).getNodeType() == Node.ELEMENT_NODE) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private void writeName(String name) throws IOException {
+			if(name == null) {
+				writeVarInt(0);
+				return;
+			}
+			Integer index = strings.get(name);
+			if(index == null) {
+				writeVarInt(1);
+				writeString(name);
+				strings.put(name, Integer.valueOf(strings.size()));
+			} else {
+				writeVarInt(index.intValue() + 2);
+			}
+		}
+
+		private void writeString(String value) throws IOException {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(bytes.length);
+			out.write(bytes);
+		}
+
+		private void writeVarInt(int value) throws IOException {
+			while((value & ~0x7F) != 0) {
+				out.writeByte((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			out.writeByte(value);
+		}
+	}
+
+	private static class Reader {
+
+		private final DataInputStream in;
+		private final Document document;
+		private final List<String> strings = new ArrayList<>();
+
+		public Reader(Document document, DataInputStream in) {
+			this.in = in;
+			this.document = document;
+		}
+
+		private Element readElement() throws IOException {
+			String namespaceUri = readName();
+			String name = readName();
+			Element element = document.createElementNS(namespaceUri, name);
+			int numOfAttributes = readVarInt();
+			for(int i=0; i<numOfAttributes; i++) {
+				String attributeNamespaceUri = readName();
+				String attributeName = readName();
+				element.setAttributeNS(attributeNamespaceUri, attributeName, readString());
+			}
+
+			for(byte type=in.readByte(); type != END; type=in.readByte()) {
+				if(type == ELEMENT) {
+					element.appendChild(readElement());
+				} else if(type == TEXT) {
+					element.appendChild(document.createTextNode(readString()));
+				} else {
+					throw new IOException("Unknown node type: " + type);
+				}
+			}
+			return element;
+		}
+
+		private String readName() throws IOException {
+			int index = readVarInt();
+			if(index == 0) {
+				return null;
+			}
+			if(index == 1) {
+				String name = readString();
+				strings.add(name);
+				return name;
+			}
+			if(index - 2 >= strings.size()) {
+				throw new IOException("Unknown name index: " + index);
+			}
+			return strings.get(index - 2);
+		}
+
+		private String readString() throws IOException {
+			int length = readVarInt();
+			if(length < 0 || length > in.available()) {
+				throw new IOException("Invalid string length: " + length);
+			}
+			byte[] bytes = new byte[length];
+			in.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		private int readVarInt() throws IOException {
+			int value = 0;
+			for(int shift=0; shift<32; shift+=7) {
+				int b = in.readByte();
+				value |= (b & 0x7F) << shift;
+				if((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new IOException("Invalid var int");
+		}
+	}
+}
@@ -0,0 +1,261 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.ims.qti21.manager.state;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+
+/**
+ * The journal of a test session state. It's an append-only file
+ * with the changes made to the state since the last snapshot (the
+ * XML file).<br>
+ * The header references the length and the checksum of the snapshot
+ * it applies to. Every record is the delta of one event: the attributes
+ * of the root element, the ordered list of its children and the encoded
+ * content of the children which changed. The records are framed with
+ * their length and a checksum, a record truncated by a crash is ignored
+ * with everything after it.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+class TestSessionStateJournal {
+	
+	private static final int MAGIC = 0x514A3231;// QJ21
+	static final int HEADER_LENGTH = 4 + 8 + 8;
+	private static final int MAX_RECORD_LENGTH = 64 * 1024 * 1024;
+	
+	private TestSessionStateJournal() {
+		//
+	}
+	
+	public static File getJournalFile(File stateFile) {
+		return new File(stateFile.getParentFile(), stateFile.getName() + ".journal");
+	}
+	
+	public static long checksum(byte[] content) {
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		return crc.getValue();
+	}
+	
+	/**
+	 * Create a new and empty journal for the specified snapshot.
+	 * 
+	 * @param journalFile The journal file
+	 * @param snapshotLength The length of the snapshot
+	 * @param snapshotChecksum The CRC32 of the snapshot
+	 * @return The length of the journal
+	 * @throws IOException
+	 */
+	public static long create(File journalFile, long snapshotLength, long snapshotChecksum) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+		header.putInt(MAGIC).putLong(snapshotLength).putLong(snapshotChecksum).flip();
+		try(FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			channel.write(header);
+			return channel.size();
+		}
+	}
+	
+	/**
+	 * Append a record to the journal.
+	 * 
+	 * @param journalFile The journal file
+	 * @param payload The delta
+	 * @param force Force the content on the disk
+	 * @return The new length of the journal
+	 * @throws IOException
+	 */
+	public static long append(File journalFile, byte[] payload, boolean force) throws IOException {
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		ByteBuffer record = ByteBuffer.allocate(4 + 4 + payload.length);
+		record.putInt(payload.length).putInt((int)crc.getValue()).put(payload).flip();
+		try(FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			while(record.hasRemaining()) {
+				channel.write(record);
+			}
+			if(force) {
+				channel.force(false);
+			}
+			return channel.size();
+		}
+	}
+	
+	/**
+	 * Apply the records of the journal to the snapshot.
+	 * 
+	 * @param journalFile The journal
+	 * @param snapshot The document parsed from the snapshot
+	 * @param snapshotLength The length of the snapshot file
+	 * @param snapshotChecksum The checksum of the snapshot file
+	 * @return The number of records applied or -1 if the journal doesn't
+	 * 		belong to the snapshot
+	 * @throws IOException
+	 */
+	public static int replay(File journalFile, Document snapshot, long snapshotLength, long snapshotChecksum) throws IOException {
+		try(InputStream fileIn = Files.newInputStream(journalFile.toPath());
+				DataInputStream in = new DataInputStream(new BufferedInputStream(fileIn, 65536))) {
+			if(in.readInt() != MAGIC || in.readLong() != snapshotLength || in.readLong() != snapshotChecksum) {
+				return -1;
+			}
+			
+			int records = 0;
+			while(true) {
+				byte[] payload = readRecord(in);
+				if(payload == null) {
+					break;
+				}
+				applyDelta(snapshot, payload);
+				records++;
+			}
+			return records;
+		} catch (EOFException e) {
+			// header truncated
+			return -1;
+		}
+	}
+	
+	private static byte[] readRecord(DataInputStream in) throws IOException {
+		try {
+			int length = in.readInt();
+			int checksum = in.readInt();
+			if(length < 0 || length > MAX_RECORD_LENGTH) {
+				return null;
+			}
+			byte[] payload = new byte[length];
+			in.readFully(payload);
+			CRC32 crc = new CRC32();
+			crc.update(payload);
+			return (int)crc.getValue() == checksum ? payload : null;
+		} catch (EOFException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * @param rootElement The root element encoded without its children
+	 * @param identifiers The identifiers of the children of the root element
+	 * @param children The encoded children, null if the child is unchanged
+	 * @return The delta
+	 */
+	public static byte[] encodeDelta(byte[] rootElement, List<String> identifiers, List<byte[]> children) {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+			DataOutputStream dataOut = new DataOutputStream(out);
+			dataOut.writeInt(rootElement.length);
+			dataOut.write(rootElement);
+			dataOut.writeInt(identifiers.size());
+			for(int i=0; i<identifiers.size(); i++) {
+				dataOut.writeUTF(identifiers.get(i));
+				byte[] child = children.get(i);
+				dataOut.writeBoolean(child != null);
+				if(child != null) {
+					dataOut.writeInt(child.length);
+					dataOut.write(child);
+				}
+			}
+			dataOut.flush();
+			return out.toByteArray();
+		} catch (IOException e) {
+			// not possible with a byte array
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	public static void applyDelta(Document document, byte[] payload) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+		Element root = document.getDocumentElement();
+		Element rootShell = StateElementCodec.decode(document, readBytes(in));
+		if(!rootShell.getNodeName().equals(root.getNodeName())) {
+			throw new IOException("Root element doesn't match: " + rootShell.getNodeName());
+		}
+		
+		List<Element> currentChildren = StateElementCodec.childElements(root);
+		List<String> currentIdentifiers = StateElementCodec.identifiers(currentChildren);
+		Map<String,Element> identifierToChildren = new HashMap<>();
+		for(int i=currentChildren.size(); i-->0; ) {
+			identifierToChildren.put(currentIdentifiers.get(i), currentChildren.get(i));
+		}
+		
+		int numOfChildren = in.readInt();
+		Element[] children = new Element[numOfChildren];
+		for(int i=0; i<numOfChildren; i++) {
+			String identifier = in.readUTF();
+			if(in.readBoolean()) {
+				children[i] = StateElementCodec.decode(document, readBytes(in));
+			} else {
+				children[i] = identifierToChildren.get(identifier);
+				if(children[i] == null) {
+					throw new IOException("Missing element in the state: " + identifier);
+				}
+			}
+		}
+		
+		NamedNodeMap attributes = root.getAttributes();
+		while(attributes.getLength() > 0) {
+			root.removeAttributeNode((Attr)attributes.item(0));
+		}
+		NamedNodeMap newAttributes = rootShell.getAttributes();
+		for(int i=0; i<newAttributes.getLength(); i++) {
+			Attr attribute = (Attr)newAttributes.item(i);
+			root.setAttributeNS(attribute.getNamespaceURI(), attribute.getName(), attribute.getValue());
+		}
+		
+		while(root.hasChildNodes()) {
+			root.removeChild(root.getFirstChild());
+		}
+		for(Element child:children) {
+			root.appendChild(child);
+		}
+	}
+	
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if(length < 0 || length > in.available()) {
+			throw new IOException("Invalid length: " + length);
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,66 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.ims.qti21.manager.state;
+
+import java.io.File;
+
+import org.w3c.dom.Document;
+
+/**
+ * Store the state of the test sessions. The XML file marshalled by
+ * JQTI+ is the reference format and is used for the archives, but the
+ * store can choose how it writes the intermediate states.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public interface TestSessionStateStore {
+	
+	/**
+	 * @param stateFile The XML file of the state
+	 * @return The state document or null if the session doesn't have a state
+	 */
+	public Document load(File stateFile);
+	
+	/**
+	 * Save the state after an event of the candidate.
+	 * 
+	 * @param stateFile The XML file of the state
+	 * @param stateDocument The state
+	 */
+	public void store(File stateFile, Document stateDocument);
+	
+	/**
+	 * Write the complete state in the XML file.
+	 * 
+	 * @param stateFile The XML file of the state
+	 * @param stateDocument The state
+	 */
+	public void snapshot(File stateFile, Document stateDocument);
+	
+	/**
+	 * Delete the state and all intermediate files.
+	 * 
+	 * @param stateFile The XML file of the state
+	 */
+	public void delete(File stateFile);
+
+}
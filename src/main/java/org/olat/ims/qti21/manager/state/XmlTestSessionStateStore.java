@@ -0,0 +1,184 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.ims.qti21.manager.state;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.core.logging.OLATRuntimeException;
+import org.olat.core.logging.Tracing;
+import org.olat.core.util.FileUtils;
+import org.olat.core.util.filter.FilterFactory;
+import org.springframework.stereotype.Service;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import uk.ac.ed.ph.jqtiplus.xmlutils.XmlFactories;
+import uk.ac.ed.ph.jqtiplus.xmlutils.xslt.XsltSerializationOptions;
+import uk.ac.ed.ph.jqtiplus.xmlutils.xslt.XsltStylesheetManager;
+
+/**
+ * The historical store: the complete state is written in the
+ * XML file after every event.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@Service
+public class XmlTestSessionStateStore implements TestSessionStateStore {
+	
+	private static final Logger log = Tracing.createLoggerFor(XmlTestSessionStateStore.class);
+
+	@Override
+	public Document load(File stateFile) {
+		if(!stateFile.exists()) {
+			return null;
+		}
+		
+		try {
+			byte[] content = Files.readAllBytes(stateFile.toPath());
+			Document document = parseStateDocument(content);
+			File journalFile = TestSessionStateJournal.getJournalFile(stateFile);
+			if(journalFile.exists()) {
+				int records = TestSessionStateJournal.replay(journalFile, document,
+						content.length, TestSessionStateJournal.checksum(content));
+				log.debug("Replay {} events of the journal: {}", records, journalFile);
+			}
+			return document;
+		} catch (IOException e) {
+			throw new OLATRuntimeException("Cannot read the state: " + stateFile, e);
+		}
+	}
+
+	@Override
+	public void store(File stateFile, Document stateDocument) {
+		snapshot(stateFile, stateDocument);
+	}
+
+	@Override
+	public void snapshot(File stateFile, Document stateDocument) {
+		writeSnapshot(stateFile, serializeStateDocument(stateDocument));
+		File journalFile = TestSessionStateJournal.getJournalFile(stateFile);
+		if(journalFile.exists()) {
+			FileUtils.deleteFile(journalFile);
+		}
+	}
+
+	@Override
+	public void delete(File stateFile) {
+		FileUtils.deleteFile(stateFile);
+		FileUtils.deleteFile(TestSessionStateJournal.getJournalFile(stateFile));
+	}
+	
+	/**
+	 * Replace the XML file with the specified content. The file is
+	 * replaced atomically if the file system allows it.
+	 * 
+	 * @param stateFile The XML file
+	 * @param content The content
+	 */
+	protected void writeSnapshot(File stateFile, byte[] content) {
+		File tmpFile = new File(stateFile.getParentFile(), stateFile.getName() + ".tmp");
+		try {
+			Files.write(tmpFile.toPath(), content);
+			try {
+				Files.move(tmpFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				Files.move(tmpFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			throw new OLATRuntimeException("Cannot write the state: " + stateFile, e);
+		}
+	}
+	
+	public byte[] serializeStateDocument(Document stateXml) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(32768);
+		serializeStateDocument(stateXml, out);
+		return out.toByteArray();
+	}
+	
+	private void serializeStateDocument(Document stateXml, OutputStream resultStream) {
+		XsltSerializationOptions xsltSerializationOptions = new XsltSerializationOptions();
+		xsltSerializationOptions.setIndenting(true);
+		xsltSerializationOptions.setIncludingXMLDeclaration(false);
+		
+		Transformer serializer = XsltStylesheetManager.createSerializer(xsltSerializationOptions);
+		try {
+			serializer.transform(new DOMSource(stateXml), new StreamResult(resultStream));
+		} catch (TransformerException e) {
+			throw new OLATRuntimeException("Unexpected Exception serializing state DOM", e);
+		}
+	}
+	
+	public void storeStateDocument(Document stateXml, File sessionFile) {
+		try(OutputStream resultStream = new FileOutputStream(sessionFile)) {
+			serializeStateDocument(stateXml, resultStream);
+		} catch (IOException e) {
+			throw new OLATRuntimeException("Unexpected Exception serializing state DOM", e);
+		}
+	}
+	
+	public Document loadStateDocument(File sessionFile) {
+		if(sessionFile.exists()) {
+			try {
+				return parseStateDocument(Files.readAllBytes(sessionFile.toPath()));
+			} catch (IOException e) {
+				throw new OLATRuntimeException("Cannot read the state: " + sessionFile, e);
+			}
+		}
+		return null;
+	}
+	
+	public Document parseStateDocument(byte[] content) {
+		try {
+			DocumentBuilder documentBuilder = XmlFactories.newDocumentBuilder();
+			return documentBuilder.parse(new ByteArrayInputStream(content));
+		} catch (final Exception e) {
+			return parseFilteredStateDocument(content);
+		}
+	}
+	
+	private Document parseFilteredStateDocument(byte[] content) {
+		try {
+			String xmlContent = new String(content, StandardCharsets.UTF_8);
+			String filteredContent = FilterFactory.getXMLValidEntityFilter().filter(xmlContent);
+			DocumentBuilder documentBuilder = XmlFactories.newDocumentBuilder();
+			return documentBuilder.parse(new InputSource(new StringReader(filteredContent)));
+		} catch (final Exception e) {
+			throw new OLATRuntimeException("Could not parse serialized state XML. This is an internal error as we currently don't expose this data to clients", e);
+		}
+	}
+}
@@ -50,6 +50,7 @@ import org.olat.core.util.Formatter;
 import org.olat.core.util.StringHelper;
 import org.olat.core.util.Util;
 import org.olat.core.util.WebappHelper;
+import org.olat.core.util.io.ParallelZipOutputStream;
 import org.olat.core.util.mail.MailBundle;
 import org.olat.core.util.mail.MailManager;
 import org.olat.core.util.resource.OresHelper;
@@ -177,7 +178,7 @@ public class QTI21ResultsExportTask extends AbstractExportTask {
 				withEssayPdfs, courseNode, "", locale, task.getCreator(), new WindowControlMocker());
 
 		try(OutputStream out=exportZip.getOutputStream(true);
-				ZipOutputStream zout = new ZipOutputStream(out)) {
+				ZipOutputStream zout = new ParallelZipOutputStream(out)) {
 			if(StringHelper.containsNonWhitespace(task.getCheckpoint())) {
 				export.setStartPoint(task.getCheckpoint());
 			}
@@ -31,6 +31,7 @@ import org.olat.basesecurity.IdentityRef;
 import org.olat.core.id.Identity;
 import org.olat.core.id.OLATResourceable;
 import org.olat.core.util.resource.OresHelper;
+import org.olat.ldap.model.LDAPSyncStatistics;
 import org.olat.login.auth.AuthenticationStatus;
 
 public interface LDAPLoginManager {
@@ -68,6 +69,11 @@ public interface LDAPLoginManager {
 	
 	public Date getLastSyncDate();
 	
+	/**
+	 * @return The metrics of the last batch synchronization
+	 */
+	public LDAPSyncStatistics getLastSyncStatistics();
+	
 	public boolean acquireSyncLock();
 	
 	public void freeSyncLock();
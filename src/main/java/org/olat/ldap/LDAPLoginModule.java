@@ -74,6 +74,14 @@ public class LDAPLoginModule extends AbstractSpringModule {
 	private Integer connectionTimeout;
 	@Value("${ldap.batch.size:50}")
 	private Integer batchSize;
+	@Value("${ldap.sync.page.size:500}")
+	private Integer syncPageSize;
+	@Value("${ldap.sync.threads:4}")
+	private int syncThreads;
+	@Value("${ldap.sync.partition.size:250}")
+	private int syncPartitionSize;
+	@Value("${ldap.sync.checksum.enabled:false}")
+	private boolean syncChecksumEnabled;
 	
 	/**
 	 * Create LDAP users on the fly when authenticated successfully
@@ -344,6 +352,51 @@ public class LDAPLoginModule extends AbstractSpringModule {
 		this.batchSize = batchSize;
 	}
 
+	/**
+	 * @return The page size of the searches of the batch synchronization
+	 */
+	public Integer getSyncPageSize() {
+		return syncPageSize;
+	}
+
+	public void setSyncPageSize(Integer syncPageSize) {
+		this.syncPageSize = syncPageSize;
+	}
+
+	/**
+	 * @return The number of threads which synchronize the users
+	 */
+	public int getSyncThreads() {
+		return syncThreads;
+	}
+
+	public void setSyncThreads(int syncThreads) {
+		this.syncThreads = syncThreads;
+	}
+
+	/**
+	 * @return The number of users synchronized together in a transaction
+	 */
+	public int getSyncPartitionSize() {
+		return syncPartitionSize;
+	}
+
+	public void setSyncPartitionSize(int syncPartitionSize) {
+		this.syncPartitionSize = syncPartitionSize;
+	}
+
+	/**
+	 * @return true if the users whose LDAP entry didn't change since the
+	 * 		last synchronization are skipped
+	 */
+	public boolean isSyncChecksumEnabled() {
+		return syncChecksumEnabled;
+	}
+
+	public void setSyncChecksumEnabled(boolean syncChecksumEnabled) {
+		this.syncChecksumEnabled = syncChecksumEnabled;
+	}
+
 	public Integer getLdapConnectionTimeout() {
 		return connectionTimeout;
 	}
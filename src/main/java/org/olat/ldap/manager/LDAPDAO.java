@@ -94,7 +94,7 @@ public class LDAPDAO {
 		String[] groupAttributes = new String[]{"cn", "member"};
 		for(String groupDN:groupDNs) {
 			LDAPGroupVisitor visitor = new LDAPGroupVisitor();
-			search(visitor, groupDN, filter, groupAttributes, ctx);
+			search(visitor, groupDN, filter, groupAttributes, syncPageSize(), ctx);
 			ldapGroups.addAll(visitor.getGroups());
 		}
 		return ldapGroups;
@@ -126,12 +126,15 @@ public class LDAPDAO {
 	}
 	
 	public void search(LDAPVisitor visitor, String ldapBase, String filter, String[] returningAttrs, LdapContext ctx) {
+		search(visitor, ldapBase, filter, returningAttrs, pageSize(), ctx);
+	}
+	
+	private void search(LDAPVisitor visitor, String ldapBase, String filter, String[] returningAttrs, final int pageSize, LdapContext ctx) {
 		SearchControls ctls = new SearchControls();
 		ctls.setSearchScope(SearchControls.SUBTREE_SCOPE);
 		ctls.setReturningAttributes(returningAttrs);
 		ctls.setCountLimit(0); // set no limits
 		
-		final int pageSize = pageSize();
 		final boolean paging = isPagedResultControlSupported(ctx);
 		filter = escapeFilter(filter);
 	
@@ -170,13 +173,16 @@ public class LDAPDAO {
 	
 	
 	public void searchInLdap(LDAPVisitor visitor, String filter, String[] returningAttrs, LdapContext ctx) {
+		searchInLdap(visitor, filter, returningAttrs, pageSize(), ctx);
+	}
+	
+	private void searchInLdap(LDAPVisitor visitor, String filter, String[] returningAttrs, final int pageSize, LdapContext ctx) {
 		SearchControls ctls = new SearchControls();
 		ctls.setSearchScope(SearchControls.SUBTREE_SCOPE);
 		ctls.setReturningAttributes(returningAttrs);
 		ctls.setCountLimit(0); // set no limits
 
 		filter = escapeFilter(filter);
-		final int pageSize = pageSize();
 		final boolean paging = isPagedResultControlSupported(ctx);
 		for (String ldapBase : syncConfiguration.getLdapBases()) {
 			int counter = 0;
@@ -436,7 +442,7 @@ public class LDAPDAO {
 		LDAPUserVisitor userVisitor = new LDAPUserVisitor(syncConfiguration);
 		long start = System.nanoTime();
 		log.info("Start loading users from LDAP server");
-		searchInLdap(userVisitor, filter.toString(), userAttrs, ctx);
+		searchInLdap(userVisitor, filter.toString(), userAttrs, syncPageSize(), ctx);
 		List<LDAPUser> ldapUserList = userVisitor.getLdapUserList();
 		if(debug) {
 			log.debug("attrib search returned {} results", ldapUserList.size());
@@ -538,4 +544,12 @@ public class LDAPDAO {
 		Integer  pageSize = ldapLoginModule.getBatchSize();
 		return pageSize == null ? DEFAULT_PAGE_SIZE : pageSize.intValue();
 	}
+	
+	/**
+	 * @return The page size for the searches of the batch synchronization
+	 */
+	private int syncPageSize() {
+		Integer pageSize = ldapLoginModule.getSyncPageSize();
+		return pageSize == null || pageSize.intValue() <= 0 ? pageSize() : pageSize.intValue();
+	}
 }
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
@@ -32,6 +33,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.naming.AuthenticationException;
@@ -61,6 +68,7 @@ import org.olat.basesecurity.OrganisationRoles;
 import org.olat.basesecurity.OrganisationService;
 import org.olat.basesecurity.manager.AuthenticationDAO;
 import org.olat.basesecurity.manager.OrganisationDAO;
+import org.olat.basesecurity.model.AuthenticationShort;
 import org.olat.basesecurity.model.IdentityRefImpl;
 import org.olat.core.CoreSpringFactory;
 import org.olat.core.commons.persistence.DB;
@@ -72,6 +80,7 @@ import org.olat.core.id.RolesByOrganisation;
 import org.olat.core.id.User;
 import org.olat.core.id.UserConstants;
 import org.olat.core.logging.Tracing;
+import org.olat.core.util.CodeHelper;
 import org.olat.core.util.StringHelper;
 import org.olat.core.util.WorkThreadInformations;
 import org.olat.core.util.coordinate.Coordinator;
@@ -91,8 +100,11 @@ import org.olat.ldap.LDAPEvent;
 import org.olat.ldap.LDAPLoginManager;
 import org.olat.ldap.LDAPLoginModule;
 import org.olat.ldap.LDAPSyncConfiguration;
+import org.olat.ldap.model.LDAPAuthenticationIndex;
 import org.olat.ldap.model.LDAPGroup;
 import org.olat.ldap.model.LDAPOrganisationGroup;
+import org.olat.ldap.model.LDAPSyncPhaseStatistics;
+import org.olat.ldap.model.LDAPSyncStatistics;
 import org.olat.ldap.model.LDAPUser;
 import org.olat.ldap.model.LDAPValidationResult;
 import org.olat.ldap.ui.LDAPAuthenticationController;
@@ -126,6 +138,7 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 	
 	private static boolean batchSyncIsRunning = false;
 	private static Date lastSyncDate = null; // first sync is always a full sync
+	private volatile LDAPSyncStatistics lastSyncStatistics = LDAPSyncStatistics.NONE;
 	
 	
 	private Coordinator coordinator;
@@ -160,6 +173,8 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 	private BusinessGroupService businessGroupService;
 	@Autowired
 	private BusinessGroupRelationDAO businessGroupRelationDao;
+	@Autowired
+	private LDAPSyncChecksumDAO syncChecksumDao;
 
 	@Autowired
 	public LDAPLoginManagerImpl(CoordinatorManager coordinatorManager) {
@@ -1287,6 +1302,8 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 		
 		LdapContext ctx = null;
 		boolean success = false;
+		Date startDate = new Date();
+		List<LDAPSyncPhaseStatistics> phases = new ArrayList<>();
 		try {
 			acquireSyncLock();
 			long startTime = System.currentTimeMillis();
@@ -1303,20 +1320,26 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 			// Get time before sync to have a save sync time when sync is successful
 			String sinceSentence = (lastSyncDate == null ? "" : " since last sync from " + lastSyncDate);
 			if (ldapLoginModule.isRemoveLDAPUsersOnSyncEnabled()) {
-				doBatchSyncDeletedUsers(ctx, sinceSentence);
+				long phaseStart = System.nanoTime();
+				int deletedUsers = doBatchSyncDeletedUsers(ctx, sinceSentence);
+				phases.add(phase(LDAPSyncStatistics.DELETED_USERS, phaseStart, deletedUsers, 0, 0));
 				// bind again to use an initial unmodified context. lookup of server-properties might fail otherwise!
 				ctx.close();
 				ctx = bindSystem();
 			}
 			
 			Map<String,LDAPUser> dnToIdentityKeyMap = new HashMap<>();
-			List<LDAPUser> ldapUsers = doBatchSyncNewAndModifiedUsers(ctx, sinceSentence, dnToIdentityKeyMap, errors);
+			List<LDAPUser> ldapUsers = doBatchSyncNewAndModifiedUsers(ctx, sinceSentence, dnToIdentityKeyMap, errors, phases);
 			ctx.close();
 			ctx = bindSystem();
 			//sync groups by LDAP groups or attributes
-			doBatchSyncGroups(ctx, ldapUsers, dnToIdentityKeyMap, errors);
+			long phaseStart = System.nanoTime();
+			int groups = doBatchSyncGroups(ctx, ldapUsers, dnToIdentityKeyMap, errors);
+			phases.add(phase(LDAPSyncStatistics.GROUPS, phaseStart, groups, 0, 0));
 			//sync roles and organizations
-			doBatchSyncRolesAndOrganisations(ctx, ldapUsers, dnToIdentityKeyMap, errors);
+			phaseStart = System.nanoTime();
+			long unchangedRoles = doBatchSyncRolesAndOrganisations(ctx, ldapUsers, dnToIdentityKeyMap, errors);
+			phases.add(phase(LDAPSyncStatistics.ROLES, phaseStart, ldapUsers.size(), unchangedRoles, 0));
 			
 			// update sync time and set running flag
 			lastSyncDate = timeBeforeSync;
@@ -1325,6 +1348,17 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 			success = true;
 			log.info(Tracing.M_AUDIT, "LDAP batch sync done: {} in {}s", success, ((System.currentTimeMillis() - startTime) / 1000));
 			return success;
+		} catch (LDAPSyncPartitionException e) {
+			// groups and roles are not synchronized without all the users
+			log.error("LDAP batch sync: {}", e.getMessage());
+			success = false;
+			return success;
+		} catch (InterruptedException e) {
+			errors.insert("BatchSync interrupted");
+			log.error("LDAP batch sync interrupted", e);
+			Thread.currentThread().interrupt();
+			success = false;
+			return success;
 		} catch (Exception e) {
 
 			errors.insert("Unknown error");
@@ -1333,6 +1367,7 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 			return success;
 		} finally {
 			WorkThreadInformations.unsetLongRunningTask("ldapSync");
+			lastSyncStatistics = new LDAPSyncStatistics(startDate, new Date(), success, List.copyOf(phases));
 			freeSyncLock();
 			closeContext(ctx);
 			LDAPEvent endEvent = new LDAPEvent(LDAPEvent.SYNCHING_ENDED);
@@ -1342,6 +1377,17 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 			coordinator.getEventBus().fireEventToListenersOf(endEvent, ldapSyncLockOres);
 		}
 	}
+	
+	@Override
+	public LDAPSyncStatistics getLastSyncStatistics() {
+		return lastSyncStatistics;
+	}
+	
+	private LDAPSyncPhaseStatistics phase(String phase, long startNano, long items, long skipped, long errors) {
+		LDAPSyncPhaseStatistics statistics = new LDAPSyncPhaseStatistics(phase, items, skipped, errors, CodeHelper.nanoToMilliTime(startNano));
+		log.info(Tracing.M_AUDIT, "LDAP batch sync phase {}", statistics);
+		return statistics;
+	}
 
 	/**
 	 *
@@ -1349,9 +1395,10 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 	 * @param ldapUsers
 	 * @param dnToIdentityKeyMap
 	 * @param errors
+	 * @return The number of users whose roles didn't change
 	 * @throws NamingException
 	 */
-	private void doBatchSyncRolesAndOrganisations(LdapContext ctx, List<LDAPUser> ldapUsers, Map<String,LDAPUser> dnToIdentityKeyMap, LDAPError errors)
+	private long doBatchSyncRolesAndOrganisations(LdapContext ctx, List<LDAPUser> ldapUsers, Map<String,LDAPUser> dnToIdentityKeyMap, LDAPError errors)
 	throws NamingException {
 		// Search the roles of LDAP users in specified groups bases
 		doBatchSearchRolesInGroups(ctx, dnToIdentityKeyMap, errors);
@@ -1371,16 +1418,18 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 			}
 
 			// Map all on default organization (users are only added in the default organization, never removed)
-			doBatchSyncRolesToDefaultOrganisation(ldapUsers);
-		} else {
-			// Map on organizations with full synchronization, add and remove.
-			List<OrganisationRoles> synchronizedRoles = syncConfiguration.getSynchronizedRoles();
-			for(LDAPOrganisationGroup organisationGroup:organisationsMapping) {
-				doBatchSyncRolesToOrganisations(synchronizedRoles, organisationGroup, ldapUsers);
-			}
-			// Synchronize Lost+Found organization
-			doBatchSyncLostAndFound(organisationsMapping, ldapUsers);
+			return doBatchSyncRolesToDefaultOrganisation(ldapUsers);
 		}
+		
+		// Map on organizations with full synchronization, add and remove.
+		long unchanged = 0;
+		List<OrganisationRoles> synchronizedRoles = syncConfiguration.getSynchronizedRoles();
+		for(LDAPOrganisationGroup organisationGroup:organisationsMapping) {
+			unchanged += doBatchSyncRolesToOrganisations(synchronizedRoles, organisationGroup, ldapUsers);
+		}
+		// Synchronize Lost+Found organization
+		doBatchSyncLostAndFound(organisationsMapping, ldapUsers);
+		return unchanged;
 	}
 	
 	private List<LDAPOrganisationGroup> doBatchSyncOrganisations(LdapContext ctx)
@@ -1506,7 +1555,7 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 		}
 	}
 
-	private void doBatchSyncRolesToOrganisations(List<OrganisationRoles> synchronizedRoles,
+	private long doBatchSyncRolesToOrganisations(List<OrganisationRoles> synchronizedRoles,
 			LDAPOrganisationGroup organisationGroup, List<LDAPUser> ldapUsers) {
 
 		Organisation defOrganisation = organisationService.getDefaultOrganisation();
@@ -1515,23 +1564,36 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 		orgRoles.add(OrganisationRoles.user);
 		Set<Long> organisationUserKeys = organisationDao
 				.getMemberKeySet(organisation, orgRoles.toArray(new OrganisationRoles[orgRoles.size()]));
+		// memberships at once instead of user by user
+		Set<Long> userKeys = organisationDao.getMemberKeySet(organisation, OrganisationRoles.user);
+		Map<OrganisationRoles,Set<Long>> rolesKeys = getMemberKeySets(organisation, synchronizedRoles);
+		Set<Long> defOrganisationUserKeys = organisationDao.getMemberKeySet(defOrganisation, OrganisationRoles.user);
 		
 		int count = 0;
+		long unchanged = 0;
 		for(LDAPUser ldapUser:ldapUsers) {
 			if(ldapUser.getCachedIdentity() == null) {
 				continue;
 			}
 			Long identityKey = ldapUser.getCachedIdentity().getKey();
-			Identity identity = securityManager.loadIdentityByKey(identityKey);
+			Identity identity = null;
 
 			List<OrganisationRoles> roles = ldapUser.getRoles();
 			boolean member = organisationGroup.isMember(ldapUser.getDn());
 			if(member) {
-				syncRole(synchronizedRoles, true, identity, organisation, roles);
-				organisationUserKeys.remove(identity.getKey());
+				if(isRolesUpToDate(identityKey, roles, true, synchronizedRoles, userKeys, rolesKeys)) {
+					unchanged++;
+				} else {
+					identity = securityManager.loadIdentityByKey(identityKey);
+					syncRole(synchronizedRoles, true, identity, organisation, roles);
+				}
+				organisationUserKeys.remove(identityKey);
 			}
 			
-			if(organisationDao.hasRole(identity, null, defOrganisation, OrganisationRoles.user.name())) {
+			if(defOrganisationUserKeys.contains(identityKey)) {
+				if(identity == null) {
+					identity = securityManager.loadIdentityByKey(identityKey);
+				}
 				organisationService.addMember(defOrganisation, identity, OrganisationRoles.user, null);
 			}
 
@@ -1557,31 +1619,83 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 			}
 			unCount++;
 		}
+		return unchanged;
 	}
 	
-	private void doBatchSyncRolesToDefaultOrganisation(List<LDAPUser> ldapUsers) {
+	private long doBatchSyncRolesToDefaultOrganisation(List<LDAPUser> ldapUsers) {
 		List<OrganisationRoles> synchronizedRoles = syncConfiguration.getSynchronizedRoles();
-		if(synchronizedRoles.isEmpty()) return;
+		if(synchronizedRoles.isEmpty()) return 0;
 
 		int count = 0;
+		long unchanged = 0;
 		List<Organisation> organisations = organisationDao.loadDefaultOrganisation();
 		Organisation defOrganisation = organisations.get(0);
+		// memberships at once instead of user by user
+		Set<Long> userKeys = organisationDao.getMemberKeySet(defOrganisation, OrganisationRoles.user);
+		Map<OrganisationRoles,Set<Long>> rolesKeys = getMemberKeySets(defOrganisation, synchronizedRoles);
+		dbInstance.commitAndCloseSession();
 		for(LDAPUser ldapUser:ldapUsers) {
 			if(ldapUser.getCachedIdentity() == null) {
 				continue;
 			}
 			
 			List<OrganisationRoles> roles = ldapUser.getRoles();
-			Identity identity = securityManager.loadIdentityByKey(ldapUser.getCachedIdentity().getKey());
-			syncRole(synchronizedRoles, false, identity, defOrganisation, roles);
-			if(!roles.isEmpty() || count % 50 == 0) {
-				dbInstance.commitAndCloseSession();
+			Long identityKey = ldapUser.getCachedIdentity().getKey();
+			if(isRolesUpToDate(identityKey, roles, false, synchronizedRoles, userKeys, rolesKeys)) {
+				unchanged++;
+			} else {
+				Identity identity = securityManager.loadIdentityByKey(identityKey);
+				syncRole(synchronizedRoles, false, identity, defOrganisation, roles);
+				if(!roles.isEmpty() || count % 50 == 0) {
+					dbInstance.commitAndCloseSession();
+				}
 			}
 			if(count % 1000 == 0) {
 				log.info("Synchronize {}/{} users in LDAP server on default organisation", count, ldapUsers.size());
 			}
 			count++;
 		}
+		dbInstance.commitAndCloseSession();
+		return unchanged;
+	}
+	
+	private Map<OrganisationRoles,Set<Long>> getMemberKeySets(Organisation organisation, List<OrganisationRoles> synchronizedRoles) {
+		Map<OrganisationRoles,Set<Long>> rolesKeys = new EnumMap<>(OrganisationRoles.class);
+		for(OrganisationRoles role:OrganisationRoles.managersRoles()) {
+			if(synchronizedRoles.contains(role)) {
+				rolesKeys.put(role, organisationDao.getMemberKeySet(organisation, role));
+			}
+		}
+		return rolesKeys;
+	}
+	
+	/**
+	 * Check against the prefetched memberships if the synchronization
+	 * would change the roles of the user in the organization.
+	 * 
+	 * @param identityKey The identity
+	 * @param ldapRoles The roles in LDAP
+	 * @param fullSync If the roles not in LDAP are removed
+	 * @param synchronizedRoles The synchronized roles
+	 * @param userKeys The users of the organization
+	 * @param rolesKeys The members of the organization by synchronized role
+	 * @return true if the roles are up-to-date
+	 */
+	private boolean isRolesUpToDate(Long identityKey, List<OrganisationRoles> ldapRoles, boolean fullSync,
+			List<OrganisationRoles> synchronizedRoles, Set<Long> userKeys, Map<OrganisationRoles,Set<Long>> rolesKeys) {
+		if(!userKeys.contains(identityKey)) {
+			return false;
+		}
+		for(OrganisationRoles role:OrganisationRoles.managersRoles()) {
+			if(synchronizedRoles.contains(role)) {
+				boolean hasRole = rolesKeys.get(role).contains(identityKey);
+				boolean ldapRole = ldapRoles.contains(role);
+				if((ldapRole && !hasRole) || (fullSync && !ldapRole && hasRole)) {
+					return false;
+				}
+			}
+		}
+		return true;
 	}
 	
 	private void syncRole(LdapContext ctx, List<LDAPGroup> groups, OrganisationRoles role,
@@ -1643,7 +1757,7 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 		return rolesBy;
 	}
 	
-	private void doBatchSyncDeletedUsers(LdapContext ctx, String sinceSentence) {
+	private int doBatchSyncDeletedUsers(LdapContext ctx, String sinceSentence) {
 		// create User to Delete List
 		List<Identity> deletedUserList = getIdentitiesDeletedInLdap(ctx);
 		// delete old users
@@ -1687,104 +1801,70 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 			}
 		}
 		dbInstance.commitAndCloseSession();
+		return deletedUserList == null ? 0 : deletedUserList.size();
 	}
 	
-	private List<LDAPUser> doBatchSyncNewAndModifiedUsers(LdapContext ctx, String sinceSentence, Map<String,LDAPUser> dnToIdentityKeyMap, LDAPError errors) {
+	private List<LDAPUser> doBatchSyncNewAndModifiedUsers(LdapContext ctx, String sinceSentence, Map<String,LDAPUser> dnToIdentityKeyMap,
+			LDAPError errors, List<LDAPSyncPhaseStatistics> phases)
+	throws LDAPSyncPartitionException, InterruptedException {
 		// Get new and modified users from LDAP
-		int count = 0;
+		long phaseStart = System.nanoTime();
 		List<LDAPUser> ldapUserList = ldapDao.getUserAttributesModifiedSince(lastSyncDate, ctx);
+		phases.add(phase(LDAPSyncStatistics.LOAD_USERS, phaseStart, ldapUserList.size(), 0, 0));
+		
+		// Load the authentications and the checksums at once instead of user by user
+		phaseStart = System.nanoTime();
+		LDAPAuthenticationIndex authenticationIndex = new LDAPAuthenticationIndex(authenticationDao
+				.getAuthenticationsShort(LDAPAuthenticationController.PROVIDER_LDAP, BaseSecurity.DEFAULT_ISSUER));
+		LDAPUserChecksum userChecksum = null;
+		Map<String,String> checksums = Map.of();
+		if(ldapLoginModule.isSyncChecksumEnabled()) {
+			userChecksum = LDAPUserChecksum.valueOf(syncConfiguration);
+			checksums = syncChecksumDao.getChecksums();
+		}
+		dbInstance.commitAndCloseSession();
+		phases.add(phase(LDAPSyncStatistics.PREFETCH, phaseStart, (long)authenticationIndex.size() + checksums.size(), 0, 0));
 		
-		// Check for new and modified users
+		// Check for new and modified users, partition by partition
+		phaseStart = System.nanoTime();
+		int partitionSize = Math.max(1, ldapLoginModule.getSyncPartitionSize());
+		List<LDAPSyncPartition> partitions = new ArrayList<>((ldapUserList.size() / partitionSize) + 1);
+		for(int i=0; i<ldapUserList.size(); i += partitionSize) {
+			List<LDAPUser> partitionUsers = ldapUserList.subList(i, Math.min(ldapUserList.size(), i + partitionSize));
+			partitions.add(new LDAPSyncPartition(partitionUsers));
+		}
+		syncPartitions(partitions, authenticationIndex, userChecksum, checksums);
+		
+		long skipped = 0;
+		long synced = 0;
+		long failed = 0;
+		int failedPartitions = 0;
 		List<LDAPUser> newLdapUserList = new ArrayList<>();
-		Map<IdentityRef, Map<String, String>> changedMapIdentityMap = new HashMap<>();
-		for (LDAPUser ldapUser: ldapUserList) {
-			String user = null;
-			try {
-				Attributes userAttrs = ldapUser.getAttributes();
-				String uidProp = syncConfiguration.getOlatPropertyToLdapAttribute(LDAPConstants.LDAP_USER_IDENTIFYER);
-				user = getSingleAttributeValue(userAttrs.get(uidProp));
-				
-				Identity identity = null;
-				Authentication authentication = findAuthenticationByLdapAuthentication(userAttrs, errors);
-				if(authentication != null) {
-					identity = authentication.getIdentity();
-				}
-				
-				if (identity != null) {
-					if(identity.getStatus().equals(Identity.STATUS_INACTIVE)) {
-						// Reactivate previously deactivated users
-						identity = securityManager.saveIdentityStatus(identity, Identity.STATUS_ACTIV, null);
-					}
-					
-					Map<String, String> changedAttrMap = prepareUserPropertyForSync(userAttrs, identity);
-					if (changedAttrMap != null) {
-						changedMapIdentityMap.put(identity, changedAttrMap);
-					}
-					if(StringHelper.containsNonWhitespace(ldapUser.getDn())) {
-						dnToIdentityKeyMap.put(ldapUser.getDn(), ldapUser);
-						ldapUser.setCachedIdentity(new IdentityRefImpl(identity.getKey()));
-					}
-				} else if (errors.isEmpty()) {
-					List<String> reqAttrs = syncConfiguration.checkRequestAttributes(userAttrs, userModule.isEmailMandatory());
-					if (reqAttrs.isEmpty()) {
-						newLdapUserList.add(ldapUser);
-					} else {
-						log.warn("LDAP batch sync: can't create user with username::{} : missing required attributes::{}", user, reqAttrs);
-					}
-				} else {
-					log.warn(errors.get());
-				}
-				if(count % 10 == 0) {
-					dbInstance.commitAndCloseSession();
-				} else {
-					dbInstance.commit();
-				}
-			} catch(InvalidAttributeValueException e1) {
-				log.error("Try to sync a user with an invalid attribute value, actual user {} ({}). Will still continue with others.", user, ldapUser.getDn(), e1);
-				errors.insert("Cannot sync user: " + user);
-				dbInstance.rollbackAndCloseSession();	
-			} catch (Exception e) {
-				// catch here to go on with other users on exceptions!
-				log.error("some error occured in looping over set of changed user-attributes, actual user {} ({}). Will still continue with others.", user, ldapUser.getDn(), e);
-				errors.insert("Cannot sync user: " + user);
-				dbInstance.rollbackAndCloseSession();
+		for(LDAPSyncPartition partition:partitions) {
+			if(partition.isPartitionFailed()) {
+				failedPartitions++;
 			}
-			if(count % 1000 == 0) {
-				log.info("Retrieve {}/{} users in LDAP server", count, ldapUserList.size());
+			for(LDAPUser ldapUser:partition.getResolvedUsers()) {
+				dnToIdentityKeyMap.put(ldapUser.getDn(), ldapUser);
 			}
-			count++;
-		}
-		
-		// sync existing users
-		if (changedMapIdentityMap == null || changedMapIdentityMap.isEmpty()) {
-			log.info("LDAP batch sync: no users to sync {}", sinceSentence);
-		} else {
-			int syncCount = 0;
-			for (IdentityRef ident : changedMapIdentityMap.keySet()) {
-				// sync user is exception save, no try/catch needed
-				try {
-					syncCount++;
-					syncUser(changedMapIdentityMap.get(ident), ident);
-				} catch (Exception e) {
-					errors.insert("Cannot sync user: " + ident);
-				} finally {
-					dbInstance.commit();
-					if(syncCount % 20 == 0) {
-						dbInstance.closeSession();
-					}
-				}
-				if(syncCount % 1000 == 0) {
-					log.info("Update {}/{} LDAP users", syncCount, changedMapIdentityMap.size());
-				}
+			newLdapUserList.addAll(partition.getNewUsers());
+			for(String error:partition.getErrors()) {
+				errors.insert(error);
 			}
-			log.info("LDAP batch sync: {} users synced {}", changedMapIdentityMap.size(), sinceSentence);
+			skipped += partition.skipped;
+			synced += partition.synced;
+			failed += partition.failed;
 		}
+		log.info("LDAP batch sync: {} users synced, {} unchanged users skipped {}", synced, skipped, sinceSentence);
+		phases.add(phase(LDAPSyncStatistics.USERS, phaseStart, (long)ldapUserList.size() - newLdapUserList.size(), skipped, failed));
 		
 		// create new users
+		phaseStart = System.nanoTime();
 		if (newLdapUserList.isEmpty()) {
 			log.info("LDAP batch sync: no users to create {}", sinceSentence);
-		} else {			
+		} else {
 			int newCount = 0;
+			Map<String,String> newChecksums = new HashMap<>();
 			for (LDAPUser ldapUser: newLdapUserList) {
 				Attributes userAttrs = ldapUser.getAttributes();
 				try {
@@ -1793,6 +1873,9 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 					if(identity != null && StringHelper.containsNonWhitespace(ldapUser.getDn())) {
 						dnToIdentityKeyMap.put(ldapUser.getDn(), ldapUser);
 						ldapUser.setCachedIdentity(new IdentityRefImpl(identity.getKey()));
+						if(userChecksum != null) {
+							newChecksums.put(LDAPUserChecksum.dnHash(ldapUser.getDn()), userChecksum.checksum(userAttrs));
+						}
 					}
 				} catch (Exception e) {
 					// catch here to go on with other users on exeptions!
@@ -1804,18 +1887,259 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 					}
 				}
 				
+				if(newChecksums.size() >= partitionSize) {
+					saveChecksums(newChecksums);
+				}
 				if(newCount % 1000 == 0) {
-					log.info("Create {}/{} LDAP users", count, newLdapUserList.size());
+					log.info("Create {}/{} LDAP users", newCount, newLdapUserList.size());
 				}
 			}
+			saveChecksums(newChecksums);
 			log.info("LDAP batch sync: {} users created {}", newLdapUserList.size(), sinceSentence);
 		}
+		phases.add(phase(LDAPSyncStatistics.NEW_USERS, phaseStart, newLdapUserList.size(), 0, 0));
 
 		dbInstance.commitAndCloseSession();
+		if(failedPartitions > 0) {
+			throw new LDAPSyncPartitionException(failedPartitions + " of " + partitions.size() + " partitions of users failed");
+		}
 		return ldapUserList;
 	}
 	
-	private void doBatchSyncGroups(LdapContext ctx, List<LDAPUser> ldapUsers, Map<String,LDAPUser> dnToIdentityKeyMap, LDAPError errors)
+	private void saveChecksums(Map<String,String> checksums) {
+		try {
+			syncChecksumDao.saveChecksums(checksums);
+			dbInstance.commitAndCloseSession();
+		} catch (Exception e) {
+			log.error("Cannot save the checksums of LDAP users", e);
+			dbInstance.rollbackAndCloseSession();
+		} finally {
+			checksums.clear();
+		}
+	}
+	
+	/**
+	 * Synchronize the partitions in parallel if configured, every partition
+	 * in its own thread and database session. The method waits for all the
+	 * partitions, a failed partition is flagged and doesn't stop the others.
+	 */
+	private void syncPartitions(List<LDAPSyncPartition> partitions, LDAPAuthenticationIndex authenticationIndex,
+			LDAPUserChecksum userChecksum, Map<String,String> checksums)
+	throws InterruptedException {
+		int threads = Math.min(ldapLoginModule.getSyncThreads(), partitions.size());
+		if(threads <= 1) {
+			for(LDAPSyncPartition partition:partitions) {
+				syncPartition(partition, authenticationIndex, userChecksum, checksums);
+			}
+			return;
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(threads, new LDAPSyncThreadFactory());
+		List<Future<?>> futures = new ArrayList<>(partitions.size());
+		try {
+			for(LDAPSyncPartition partition:partitions) {
+				futures.add(executor.submit(() -> syncPartition(partition, authenticationIndex, userChecksum, checksums)));
+			}
+			for(int i=0; i<futures.size(); i++) {
+				try {
+					futures.get(i).get();
+				} catch (ExecutionException e) {
+					log.error("Error while synchronizing a partition of LDAP users", e.getCause());
+					partitions.get(i).partitionFailed("Cannot sync partition");
+				}
+			}
+		} catch (InterruptedException e) {
+			// the partitions not started are cancelled, the running ones end normally
+			for(Future<?> future:futures) {
+				future.cancel(false);
+			}
+			throw e;
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	private void syncPartition(LDAPSyncPartition partition, LDAPAuthenticationIndex authenticationIndex,
+			LDAPUserChecksum userChecksum, Map<String,String> checksums) {
+		final String uidProp = syncConfiguration.getOlatPropertyToLdapAttribute(LDAPConstants.LDAP_USER_IDENTIFYER);
+		
+		try {
+			List<LDAPSyncEntry> foundEntries = new ArrayList<>(partition.getUsers().size());
+			List<LDAPSyncEntry> notFoundEntries = new ArrayList<>();
+			for (LDAPUser ldapUser: partition.getUsers()) {
+				String user = null;
+				try {
+					Attributes userAttrs = ldapUser.getAttributes();
+					user = getSingleAttributeValue(userAttrs.get(uidProp));
+					
+					String dnHash = null;
+					String checksum = null;
+					if(userChecksum != null && StringHelper.containsNonWhitespace(ldapUser.getDn())) {
+						dnHash = LDAPUserChecksum.dnHash(ldapUser.getDn());
+						checksum = userChecksum.checksum(userAttrs);
+					}
+					
+					LDAPAuthenticationMatch match = findAuthenticationInIndex(userAttrs, authenticationIndex);
+					if(match == null) {
+						notFoundEntries.add(new LDAPSyncEntry(ldapUser, user, null, dnHash, checksum));
+					} else if(checksum != null && checksum.equals(checksums.get(dnHash)) && match.isUpToDate()
+							&& !Identity.STATUS_INACTIVE.equals(match.authentication().identityStatus())) {
+						partition.resolved(ldapUser, match.authentication().identityKey());
+						partition.skipped++;
+					} else {
+						foundEntries.add(new LDAPSyncEntry(ldapUser, user, match, dnHash, checksum));
+					}
+				} catch(InvalidAttributeValueException e1) {
+					log.error("Try to sync a user with an invalid attribute value, actual user {} ({}). Will still continue with others.", user, ldapUser.getDn(), e1);
+					partition.error("Cannot sync user: " + user);
+				} catch (Exception e) {
+					log.error("some error occured in looping over set of changed user-attributes, actual user {} ({}). Will still continue with others.", user, ldapUser.getDn(), e);
+					partition.error("Cannot sync user: " + user);
+				}
+			}
+			
+			// load the authentications with identity and user of the partition at once
+			List<Long> authenticationKeys = foundEntries.stream()
+					.map(entry -> entry.match().authentication().key())
+					.toList();
+			Map<Long,Authentication> authentications = new HashMap<>();
+			for(Authentication authentication:authenticationDao.loadByKeys(authenticationKeys)) {
+				authentications.put(authentication.getKey(), authentication);
+			}
+			
+			Map<String,String> partitionChecksums = new HashMap<>();
+			for(LDAPSyncEntry entry:foundEntries) {
+				Authentication authentication = authentications.get(entry.match().authentication().key());
+				if(authentication == null) {
+					// deleted in the meantime
+					notFoundEntries.add(entry);
+				} else {
+					syncEntry(entry, authentication, partition, checksums, partitionChecksums);
+				}
+			}
+			
+			for(LDAPSyncEntry entry:notFoundEntries) {
+				syncNotFoundEntry(entry, partition, checksums, partitionChecksums);
+			}
+			
+			// the checksums of the partition in one transaction
+			syncChecksumDao.saveChecksums(partitionChecksums);
+			dbInstance.commitAndCloseSession();
+		} catch (Exception e) {
+			log.error("Error while synchronizing a partition of LDAP users", e);
+			partition.partitionFailed("Cannot sync partition");
+			dbInstance.rollbackAndCloseSession();
+		}
+	}
+	
+	private void syncNotFoundEntry(LDAPSyncEntry entry, LDAPSyncPartition partition,
+			Map<String,String> checksums, Map<String,String> partitionChecksums) {
+		LDAPUser ldapUser = entry.ldapUser();
+		try {
+			Attributes userAttrs = ldapUser.getAttributes();
+			Authentication authentication = findAuthenticationByLdapAuthentication(userAttrs, partition.getLdapErrors());
+			if(authentication != null) {
+				syncEntry(entry, authentication, partition, checksums, partitionChecksums);
+			} else if (partition.getLdapErrors().isEmpty()) {
+				List<String> reqAttrs = syncConfiguration.checkRequestAttributes(userAttrs, userModule.isEmailMandatory());
+				if (reqAttrs.isEmpty()) {
+					partition.getNewUsers().add(ldapUser);
+				} else {
+					log.warn("LDAP batch sync: can't create user with username::{} : missing required attributes::{}", entry.user(), reqAttrs);
+				}
+			} else {
+				log.warn(partition.getLdapErrors().get());
+			}
+			dbInstance.commit();
+		} catch(InvalidAttributeValueException e1) {
+			log.error("Try to sync a user with an invalid attribute value, actual user {} ({}). Will still continue with others.", entry.user(), ldapUser.getDn(), e1);
+			partition.error("Cannot sync user: " + entry.user());
+			dbInstance.rollbackAndCloseSession();
+		} catch (Exception e) {
+			// catch here to go on with other users on exceptions!
+			log.error("some error occured in looping over set of changed user-attributes, actual user {} ({}). Will still continue with others.", entry.user(), ldapUser.getDn(), e);
+			partition.error("Cannot sync user: " + entry.user());
+			dbInstance.rollbackAndCloseSession();
+		}
+	}
+	
+	private void syncEntry(LDAPSyncEntry entry, Authentication authentication, LDAPSyncPartition partition,
+			Map<String,String> checksums, Map<String,String> partitionChecksums) {
+		LDAPUser ldapUser = entry.ldapUser();
+		try {
+			if(entry.match() != null) {
+				authentication = updateAuthentication(entry.match().authusername(), entry.match().externalId(), authentication);
+			}
+			
+			Identity identity = authentication.getIdentity();
+			if(identity.getStatus().equals(Identity.STATUS_INACTIVE)) {
+				// Reactivate previously deactivated users
+				identity = securityManager.saveIdentityStatus(identity, Identity.STATUS_ACTIV, null);
+			}
+			
+			Map<String, String> changedAttrMap = prepareUserPropertyForSync(ldapUser.getAttributes(), identity);
+			if (changedAttrMap != null) {
+				syncUser(changedAttrMap, identity);
+				partition.synced++;
+			}
+			dbInstance.commit();
+			
+			partition.resolved(ldapUser, identity.getKey());
+			if(entry.checksum() != null && !entry.checksum().equals(checksums.get(entry.dnHash()))) {
+				partitionChecksums.put(entry.dnHash(), entry.checksum());
+			}
+		} catch (Exception e) {
+			log.error("some error occured while synchronizing user {} ({}). Will still continue with others.", entry.user(), ldapUser.getDn(), e);
+			partition.error("Cannot sync user: " + entry.user());
+			dbInstance.rollbackAndCloseSession();
+		}
+	}
+	
+	/**
+	 * The same as {@link #findAuthenticationByLdapAuthentication(Attributes, LDAPError)} but
+	 * only in the in-memory index of the authentications, without conversion of local users.
+	 * 
+	 * @param attrs The attributes of the LDAP user
+	 * @param authenticationIndex The index
+	 * @return The authentication with the user name and external id to update, or null
+	 * @throws InvalidAttributeValueException
+	 */
+	private LDAPAuthenticationMatch findAuthenticationInIndex(Attributes attrs, LDAPAuthenticationIndex authenticationIndex)
+	throws InvalidAttributeValueException {
+		final String uidAttribute = syncConfiguration.getOlatPropertyToLdapAttribute(LDAPConstants.LDAP_USER_IDENTIFYER);
+		final List<String> loginAttributes = syncConfiguration.getLdapUserLoginAttributes();
+		final String uid = getSingleAttributeValue(attrs.get(uidAttribute));
+
+		String token = null;
+		for(String loginAttribute:loginAttributes) {
+			String loginToken = getSingleAttributeValue(attrs.get(loginAttribute.trim()));
+			if(StringHelper.containsNonWhitespace(loginToken)) {
+				if(!isValidLdapValue(loginToken)) {
+					throw new InvalidAttributeValueException("Invalid login token value: " + loginToken);
+				}
+				
+				AuthenticationShort ldapAuth = authenticationIndex.getByAuthusername(loginToken);
+				if(ldapAuth != null) {
+					return new LDAPAuthenticationMatch(ldapAuth, loginToken, uid);
+				}
+				// prefer the not uid attribute
+				if((loginAttributes.size() == 1 || !loginAttribute.equals(uidAttribute)) && token == null) {
+					token = loginToken;
+				}
+			}
+		}
+
+		if(!isValidLdapValue(uid)) {
+			throw new InvalidAttributeValueException("Invalid uid value: " + uid);
+		}
+		AuthenticationShort ldapAuth = authenticationIndex.getByExternalId(uid);
+		if(ldapAuth == null) {
+			ldapAuth = authenticationIndex.getByAuthusername(uid);
+		}
+		return ldapAuth == null ? null : new LDAPAuthenticationMatch(ldapAuth, token, uid);
+	}
+	
+	private int doBatchSyncGroups(LdapContext ctx, List<LDAPUser> ldapUsers, Map<String,LDAPUser> dnToIdentityKeyMap, LDAPError errors)
 	throws NamingException {
 		ctx.close();
 		
@@ -1854,6 +2178,7 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 				syncGroupCount++;
 			}
 		}
+		return cnToGroupMap.size();
 	}
 	
 	private void doSyncGroupByAttribute(List<LDAPUser> ldapUsers, Map<String,LDAPGroup> cnToGroupMap) {
@@ -1889,11 +2214,14 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 	
 	private void syncBusinessGroup(LdapContext ctx, BusinessGroup businessGroup, LDAPGroup ldapGroup,
 			Map<String,LDAPUser> dnToIdentityKeyMap, Set<String> excludes, LDAPError errors) {
-		List<Identity> currentMembers = businessGroupRelationDao
-				.getMembers(businessGroup, GroupRoles.coach.name(), GroupRoles.participant.name());
+		// all memberships at once instead of member by member
+		Map<Long,List<String>> currentMembersRoles = businessGroupRelationDao.getMembersRoles(businessGroup);
 		Set<Long> currentMemberKeys = new HashSet<>();
-		for(Identity currentMember:currentMembers) {
-			currentMemberKeys.add(currentMember.getKey());
+		for(Map.Entry<Long,List<String>> currentMemberRoles:currentMembersRoles.entrySet()) {
+			List<String> roles = currentMemberRoles.getValue();
+			if(roles.contains(GroupRoles.coach.name()) || roles.contains(GroupRoles.participant.name())) {
+				currentMemberKeys.add(currentMemberRoles.getKey());
+			}
 		}
 
 		int count = 0;
@@ -1934,12 +2262,19 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 		
 		Set<LDAPUser> members = new HashSet<>(participants);
 		members.addAll(coaches);
+		Set<Long> syncedMemberKeys = new HashSet<>();
 		for(LDAPUser member:members) {
 			boolean participant = participants.contains(member);
 			boolean coach = coaches.contains(member);
 			IdentityRef memberIdentity = member.getCachedIdentity();
 			if(memberIdentity != null && memberIdentity.getKey() != null) {
-				syncMemberships(businessGroup, memberIdentity, coach, participant);
+				if(syncedMemberKeys.add(memberIdentity.getKey())) {
+					List<String> roles = currentMembersRoles.getOrDefault(memberIdentity.getKey(), List.of());
+					syncMemberships(businessGroup, memberIdentity, roles, coach, participant);
+				} else {
+					// already synchronized, the prefetched roles are outdated
+					syncMemberships(businessGroup, memberIdentity, coach, participant);
+				}
 				currentMemberKeys.remove(memberIdentity.getKey());
 			}
 			if(count % 20 == 0) {
@@ -1950,7 +2285,7 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 		
 		for(Long currentMemberKey:currentMemberKeys) {
 			Identity currentMember = securityManager.loadIdentityByKey(currentMemberKey);
-			List<String> roles = businessGroupRelationDao.getRoles(currentMember, businessGroup);
+			List<String> roles = currentMembersRoles.get(currentMemberKey);
 			for(String role:roles) {
 				businessGroupRelationDao.removeRole(currentMember, businessGroup, role);
 			}
@@ -1966,6 +2301,20 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 	private void syncMemberships(BusinessGroup businessGroup, IdentityRef identityRef, boolean coach, boolean participant) {
 		if(identityRef == null || businessGroup == null) return;
 		
+		List<String> roles = businessGroupRelationDao.getRoles(identityRef, businessGroup);
+		syncMemberships(businessGroup, identityRef, roles, coach, participant);
+	}
+
+	/**
+	 * @param businessGroup The business group
+	 * @param identityRef The member
+	 * @param roles The current roles of the member in the business group
+	 * @param coach Should be coach
+	 * @param participant Should be participant
+	 */
+	private void syncMemberships(BusinessGroup businessGroup, IdentityRef identityRef, List<String> roles, boolean coach, boolean participant) {
+		if(identityRef == null || businessGroup == null) return;
+		
 		// Propagate coach to participant role or exclude participant role
 		if(syncConfiguration.isGroupCoachParticipant()) {
 			if(coach && !participant) {
@@ -1975,7 +2324,6 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 			participant = false;
 		}
 
-		List<String> roles = businessGroupRelationDao.getRoles(identityRef, businessGroup);
 		if((coach && participant && roles.size() == 2 && roles.contains(GroupRoles.coach.name()) && roles.contains(GroupRoles.participant.name()))
 				|| (coach && !participant && roles.size() == 1 && roles.contains(GroupRoles.coach.name()))
 				|| (!coach && participant && roles.size() == 1 && roles.contains(GroupRoles.participant.name()))
@@ -2149,4 +2497,110 @@ public class LDAPLoginManagerImpl implements LDAPLoginManager, AuthenticationPro
 		}
 		
 	}
-}
\ No newline at end of file
+	
+	private record LDAPAuthenticationMatch(AuthenticationShort authentication, String authusername, String externalId) {
+		
+		/**
+		 * @return true if the user name and the external id of the authentication
+		 * 		don't need to be updated
+		 */
+		public boolean isUpToDate() {
+			return (!StringHelper.containsNonWhitespace(authusername) || authusername.equals(authentication.authusername()))
+					&& (!StringHelper.containsNonWhitespace(externalId) || authentication.externalId() != null);
+		}
+	}
+	
+	private record LDAPSyncEntry(LDAPUser ldapUser, String user, LDAPAuthenticationMatch match, String dnHash, String checksum) {
+		//
+	}
+	
+	/**
+	 * A partition of the LDAP users, synchronized by a single thread.
+	 */
+	private static class LDAPSyncPartition {
+		
+		private final List<LDAPUser> users;
+		private final List<LDAPUser> newUsers = new ArrayList<>();
+		private final List<LDAPUser> resolvedUsers = new ArrayList<>();
+		private final LDAPError ldapErrors = new LDAPError();
+		
+		private int skipped;
+		private int synced;
+		private int failed;
+		private boolean partitionFailed;
+		
+		public LDAPSyncPartition(List<LDAPUser> users) {
+			this.users = users;
+		}
+		
+		public List<LDAPUser> getUsers() {
+			return users;
+		}
+		
+		public List<LDAPUser> getNewUsers() {
+			return newUsers;
+		}
+		
+		public List<LDAPUser> getResolvedUsers() {
+			return resolvedUsers;
+		}
+		
+		public void resolved(LDAPUser ldapUser, Long identityKey) {
+			if(StringHelper.containsNonWhitespace(ldapUser.getDn())) {
+				ldapUser.setCachedIdentity(new IdentityRefImpl(identityKey));
+				resolvedUsers.add(ldapUser);
+			}
+		}
+		
+		public LDAPError getLdapErrors() {
+			return ldapErrors;
+		}
+		
+		public void error(String error) {
+			ldapErrors.insert(error);
+			failed++;
+		}
+		
+		public boolean isPartitionFailed() {
+			return partitionFailed;
+		}
+		
+		public void partitionFailed(String error) {
+			ldapErrors.insert(error);
+			partitionFailed = true;
+		}
+		
+		/**
+		 * @return The remaining errors in the order of their insertion
+		 */
+		public List<String> getErrors() {
+			List<String> errors = new ArrayList<>(ldapErrors.size());
+			while(!ldapErrors.isEmpty()) {
+				errors.add(ldapErrors.get());
+			}
+			Collections.reverse(errors);
+			return errors;
+		}
+	}
+	
+	private static class LDAPSyncPartitionException extends Exception {
+		
+		private static final long serialVersionUID = -2675810459627361702L;
+		
+		public LDAPSyncPartitionException(String message) {
+			super(message);
+		}
+	}
+	
+	private static class LDAPSyncThreadFactory implements ThreadFactory {
+		
+		private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "ldap-sync-" + threadNumber.getAndIncrement());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
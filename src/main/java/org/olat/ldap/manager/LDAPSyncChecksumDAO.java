@@ -0,0 +1,119 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.ldap.manager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.olat.core.commons.persistence.DB;
+import org.olat.core.commons.persistence.PersistenceHelper;
+import org.olat.ldap.model.LDAPSyncChecksumImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@Service
+public class LDAPSyncChecksumDAO {
+	
+	@Autowired
+	private DB dbInstance;
+	
+	/**
+	 * @return A map with the hash of the DN as key and the checksum as value
+	 */
+	public Map<String,String> getChecksums() {
+		String query = "select checksum.dnHash, checksum.checksum from ldapsyncchecksum checksum";
+		List<Object[]> rawObjects = dbInstance.getCurrentEntityManager()
+				.createQuery(query, Object[].class)
+				.getResultList();
+		Map<String,String> checksums = new HashMap<>(rawObjects.size() * 2);
+		for(Object[] rawObject:rawObjects) {
+			checksums.put((String)rawObject[0], (String)rawObject[1]);
+		}
+		return checksums;
+	}
+	
+	public List<LDAPSyncChecksumImpl> loadChecksums(List<String> dnHashes) {
+		if(dnHashes == null || dnHashes.isEmpty()) return new ArrayList<>();
+		
+		String query = "select checksum from ldapsyncchecksum checksum where checksum.dnHash in (:dnHashes)";
+		List<LDAPSyncChecksumImpl> checksums = new ArrayList<>(dnHashes.size());
+		for(List<String> chunkOfDnHashes:PersistenceHelper.collectionOfChunks(dnHashes)) {
+			checksums.addAll(dbInstance.getCurrentEntityManager()
+					.createQuery(query, LDAPSyncChecksumImpl.class)
+					.setParameter("dnHashes", chunkOfDnHashes)
+					.getResultList());
+		}
+		return checksums;
+	}
+	
+	/**
+	 * Update the existing checksums and create the missing ones. The new
+	 * checksums are persisted with JDBC batching.
+	 * 
+	 * @param dnHashToChecksums A map with the hash of the DN as key and the checksum as value
+	 */
+	public void saveChecksums(Map<String,String> dnHashToChecksums) {
+		if(dnHashToChecksums == null || dnHashToChecksums.isEmpty()) return;
+		
+		Date now = new Date();
+		Map<String,String> toCreate = new HashMap<>(dnHashToChecksums);
+		List<LDAPSyncChecksumImpl> checksums = loadChecksums(new ArrayList<>(dnHashToChecksums.keySet()));
+		for(LDAPSyncChecksumImpl checksum:checksums) {
+			String value = toCreate.remove(checksum.getDnHash());
+			if(value != null && !value.equals(checksum.getChecksum())) {
+				checksum.setChecksum(value);
+				checksum.setLastModified(now);
+			}
+		}
+		
+		List<LDAPSyncChecksumImpl> newChecksums = new ArrayList<>(toCreate.size());
+		for(Map.Entry<String,String> entry:toCreate.entrySet()) {
+			LDAPSyncChecksumImpl checksum = new LDAPSyncChecksumImpl();
+			checksum.setCreationDate(now);
+			checksum.setLastModified(now);
+			checksum.setDnHash(entry.getKey());
+			checksum.setChecksum(entry.getValue());
+			newChecksums.add(checksum);
+		}
+		dbInstance.persistAll(newChecksums);
+	}
+	
+	/**
+	 * Delete all the checksums, the next synchronization will
+	 * process all the entries of the directory.
+	 * 
+	 * @return The number of deleted checksums
+	 */
+	public int deleteChecksums() {
+		String query = "delete from ldapsyncchecksum checksum";
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(query)
+				.executeUpdate();
+	}
+}
@@ -0,0 +1,167 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.ldap.manager;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.Attributes;
+
+import org.olat.core.logging.AssertException;
+import org.olat.core.util.StringHelper;
+import org.olat.ldap.LDAPSyncConfiguration;
+
+/**
+ * Calculate a checksum of the attributes of an LDAP entry. The order
+ * of the attributes and of the values of multi-valued attributes doesn't
+ * change the checksum. The parts of the synchronization configuration which
+ * change the result of the synchronization are part of the checksum too, a
+ * change of the mapping invalidates all the checksums.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class LDAPUserChecksum {
+	
+	private final byte[] configuration;
+	private final Set<String> ignoredAttributes;
+	
+	public LDAPUserChecksum(String configuration, Set<String> ignoredAttributes) {
+		this.configuration = configuration.getBytes(StandardCharsets.UTF_8);
+		this.ignoredAttributes = new HashSet<>();
+		for(String ignoredAttribute:ignoredAttributes) {
+			this.ignoredAttributes.add(ignoredAttribute.toLowerCase(Locale.ROOT));
+		}
+	}
+	
+	public static LDAPUserChecksum valueOf(LDAPSyncConfiguration syncConfiguration) {
+		StringBuilder sb = new StringBuilder(1024);
+		append(sb, syncConfiguration.getUserAttributeMap());
+		append(sb, syncConfiguration.getStaticUserProperties());
+		if(syncConfiguration.getSyncOnlyOnCreateProperties() != null) {
+			sb.append(new TreeSet<>(syncConfiguration.getSyncOnlyOnCreateProperties())).append('\n');
+		}
+		if(syncConfiguration.getLdapUserLoginAttributes() != null) {
+			sb.append(syncConfiguration.getLdapUserLoginAttributes()).append('\n');
+		}
+		
+		// the timestamps change without changes of the synchronized attributes
+		Set<String> ignoredAttributes = new HashSet<>();
+		if(StringHelper.containsNonWhitespace(syncConfiguration.getLdapUserCreatedTimestampAttribute())) {
+			ignoredAttributes.add(syncConfiguration.getLdapUserCreatedTimestampAttribute());
+		}
+		if(StringHelper.containsNonWhitespace(syncConfiguration.getLdapUserLastModifiedTimestampAttribute())) {
+			ignoredAttributes.add(syncConfiguration.getLdapUserLastModifiedTimestampAttribute());
+		}
+		return new LDAPUserChecksum(sb.toString(), ignoredAttributes);
+	}
+	
+	private static void append(StringBuilder sb, Map<String,String> map) {
+		if(map != null) {
+			sb.append(new TreeMap<>(map)).append('\n');
+		}
+	}
+	
+	/**
+	 * @param dn The distinguished name
+	 * @return The SHA-256 hash of the normalized DN, hex encoded
+	 */
+	public static String dnHash(String dn) {
+		MessageDigest digest = createDigest();
+		byte[] hash = digest.digest(dn.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+		return HexFormat.of().formatHex(hash);
+	}
+	
+	/**
+	 * @param attributes The attributes of the LDAP entry
+	 * @return The SHA-256 checksum of the attributes, hex encoded
+	 * @throws NamingException
+	 */
+	public String checksum(Attributes attributes) throws NamingException {
+		TreeMap<String,List<byte[]>> sortedAttributes = new TreeMap<>();
+		NamingEnumeration<? extends Attribute> attributesEnum = attributes.getAll();
+		while(attributesEnum.hasMore()) {
+			Attribute attribute = attributesEnum.next();
+			String id = attribute.getID().toLowerCase(Locale.ROOT);
+			if(ignoredAttributes.contains(id)) {
+				continue;
+			}
+			
+			List<byte[]> values = sortedAttributes.computeIfAbsent(id, i -> new ArrayList<>(2));
+			NamingEnumeration<?> valuesEnum = attribute.getAll();
+			while(valuesEnum.hasMore()) {
+				values.add(toBytes(valuesEnum.next()));
+			}
+		}
+		
+		MessageDigest digest = createDigest();
+		digest.update(configuration);
+		for(Map.Entry<String,List<byte[]>> attribute:sortedAttributes.entrySet()) {
+			update(digest, attribute.getKey().getBytes(StandardCharsets.UTF_8));
+			List<byte[]> values = attribute.getValue();
+			values.sort(Arrays::compare);
+			digest.update(ByteBuffer.allocate(4).putInt(values.size()).array());
+			for(byte[] value:values) {
+				update(digest, value);
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+	
+	private static void update(MessageDigest digest, byte[] value) {
+		// length prefixed, values cannot be shifted between attributes
+		digest.update(ByteBuffer.allocate(4).putInt(value.length).array());
+		digest.update(value);
+	}
+	
+	private static byte[] toBytes(Object value) {
+		if(value == null) {
+			return new byte[0];
+		}
+		if(value instanceof byte[] bytes) {
+			return bytes;
+		}
+		return value.toString().getBytes(StandardCharsets.UTF_8);
+	}
+	
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new AssertException("SHA-256 not available", e);
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.ldap.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.olat.basesecurity.model.AuthenticationShort;
+
+/**
+ * In memory lookup of the LDAP authentications by user name and by
+ * external id, case insensitive as the queries of the authentications.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class LDAPAuthenticationIndex {
+	
+	private final Map<String,AuthenticationShort> byAuthusername;
+	private final Map<String,AuthenticationShort> byExternalId;
+	
+	public LDAPAuthenticationIndex(List<AuthenticationShort> authentications) {
+		byAuthusername = new HashMap<>(authentications.size() * 2);
+		byExternalId = new HashMap<>(authentications.size() * 2);
+		for(AuthenticationShort authentication:authentications) {
+			if(authentication.authusername() != null) {
+				byAuthusername.putIfAbsent(authentication.authusername().toLowerCase(Locale.ROOT), authentication);
+			}
+			if(authentication.externalId() != null) {
+				byExternalId.putIfAbsent(authentication.externalId().toLowerCase(Locale.ROOT), authentication);
+			}
+		}
+	}
+	
+	public int size() {
+		return byAuthusername.size();
+	}
+	
+	public AuthenticationShort getByAuthusername(String authusername) {
+		return authusername == null ? null : byAuthusername.get(authusername.toLowerCase(Locale.ROOT));
+	}
+	
+	public AuthenticationShort getByExternalId(String externalId) {
+		return externalId == null ? null : byExternalId.get(externalId.toLowerCase(Locale.ROOT));
+	}
+}
@@ -0,0 +1,47 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.ldap.model;
+
+/**
+ * The metrics of a phase of the LDAP batch synchronization.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @param phase The name of the phase
+ * @param items The number of processed items (users, groups...)
+ * @param skipped The number of items skipped because they didn't change
+ * @param errors The number of items which couldn't be synchronized
+ * @param duration The duration in milliseconds
+ * @author agent, agent@local
+ *
+ */
+public record LDAPSyncPhaseStatistics(String phase, long items, long skipped, long errors, long duration) {
+	
+	/**
+	 * @return The number of items processed per second
+	 */
+	public double getThroughput() {
+		return duration <= 0 ? 0.0d : (items * 1000.0d) / duration;
+	}
+	
+	@Override
+	public String toString() {
+		return phase + ": " + items + " items, " + skipped + " skipped, " + errors + " errors in " + duration + "ms";
+	}
+}
@@ -0,0 +1,60 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.ldap.model;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The metrics of the last LDAP batch synchronization, phase by phase.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public record LDAPSyncStatistics(Date start, Date end, boolean success, List<LDAPSyncPhaseStatistics> phases) {
+	
+	public static final String DELETED_USERS = "deletedUsers";
+	public static final String LOAD_USERS = "loadUsers";
+	public static final String PREFETCH = "prefetch";
+	public static final String USERS = "users";
+	public static final String NEW_USERS = "newUsers";
+	public static final String GROUPS = "groups";
+	public static final String ROLES = "roles";
+	
+	public static final LDAPSyncStatistics NONE = new LDAPSyncStatistics(null, null, false, List.of());
+	
+	public LDAPSyncPhaseStatistics getPhase(String phase) {
+		for(LDAPSyncPhaseStatistics statistics:phases) {
+			if(statistics.phase().equals(phase)) {
+				return statistics;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * @return The duration of the synchronization in milliseconds
+	 */
+	public long getDuration() {
+		if(start == null || end == null) return 0l;
+		return end.getTime() - start.getTime();
+	}
+}
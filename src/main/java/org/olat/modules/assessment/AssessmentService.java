@@ -103,6 +103,15 @@ public interface AssessmentService {
 	
 	public List<AssessmentEntry> loadAssessmentEntriesByAssessedIdentity(Identity assessedIdentity, RepositoryEntry entry);
 	
+	/**
+	 * Load the assessment entries of a list of users in one query.
+	 * 
+	 * @param assessedIdentities The assessed users
+	 * @param entry The repository entry
+	 * @return A list of assessment entries
+	 */
+	public List<AssessmentEntry> loadAssessmentEntriesByAssessedIdentities(Collection<? extends IdentityRef> assessedIdentities, RepositoryEntryRef entry);
+	
 	public List<AssessmentEntryScoring> loadRootAssessmentEntriesByAssessedIdentity(Identity assessedIdentity, Collection<Long> entryKeys);
 	
 	public List<AssessmentEntry> loadAssessmentEntries(BusinessGroup assessedGroup, RepositoryEntry entry, String subIdent);
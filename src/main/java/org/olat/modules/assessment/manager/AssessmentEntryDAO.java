@@ -459,6 +459,28 @@ public class AssessmentEntryDAO {
 				.getResultList();
 	}
 	
+	/**
+	 * Load all the assessment entries of the specified users in a repository entry.
+	 * 
+	 * @param assessedIdentities The assessed users
+	 * @param entry The assessed course / repository entry
+	 * @return A list of assessment entries
+	 */
+	public List<AssessmentEntry> loadAssessmentEntriesByAssessedIdentities(Collection<? extends IdentityRef> assessedIdentities, RepositoryEntryRef entry) {
+		if(assessedIdentities == null || assessedIdentities.isEmpty()) return new ArrayList<>(0);
+		
+		List<Long> identityKeys = assessedIdentities.stream()
+				.map(IdentityRef::getKey)
+				.toList();
+		StringBuilder sb = new StringBuilder();
+		sb.append("select data from assessmententry data where data.repositoryEntry.key=:repositoryEntryKey and data.identity.key in (:identityKeys)");
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(sb.toString(), AssessmentEntry.class)
+				.setParameter("repositoryEntryKey", entry.getKey())
+				.setParameter("identityKeys", identityKeys)
+				.getResultList();
+	}
+	
 	public List<Long> loadResourceIds(Identity assessedIdentity) {
 		StringBuilder sb = new StringBuilder();
 		sb.append("select distinct ores.resId from assessmententry data")
@@ -153,6 +153,11 @@ public class AssessmentServiceImpl implements AssessmentService, UserDataDeletab
 		return assessmentEntryDao.loadAssessmentEntriesByAssessedIdentity(assessedIdentity, entry);
 	}
 
+	@Override
+	public List<AssessmentEntry> loadAssessmentEntriesByAssessedIdentities(Collection<? extends IdentityRef> assessedIdentities, RepositoryEntryRef entry) {
+		return assessmentEntryDao.loadAssessmentEntriesByAssessedIdentities(assessedIdentities, entry);
+	}
+
 	@Override
 	public List<AssessmentEntry> loadAssessmentEntries(BusinessGroup assessedGroup, RepositoryEntry entry, String subIdent) {
 		return assessmentEntryDao.loadAssessmentEntryByGroup(assessedGroup.getBaseGroup(), entry, subIdent);
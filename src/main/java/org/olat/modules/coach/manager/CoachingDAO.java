@@ -50,6 +50,7 @@ import org.olat.core.id.Organisation;
 import org.olat.core.id.OrganisationRef;
 import org.olat.core.util.StringHelper;
 import org.olat.course.assessment.UserEfficiencyStatement;
+import org.olat.modules.coach.model.CoachingRollupImpl;
 import org.olat.modules.coach.model.CompletionStats;
 import org.olat.modules.coach.model.CourseStatEntry;
 import org.olat.modules.coach.model.CoursesStatisticsParams;
@@ -97,6 +98,10 @@ public class CoachingDAO {
 	private UserManager userManager;
 	@Autowired
 	private RepositoryManager repositoryManager;
+	@Autowired
+	private CoachingRollupDAO coachingRollupDao;
+	@Autowired
+	private CoachingRollupManager coachingRollupManager;
 
 	
 	public boolean isMember(IdentityRef identity, GroupRoles role, RepositoryEntryStatusEnum[] status) {
@@ -200,17 +205,21 @@ public class CoachingDAO {
 		Map<Long,GroupStatEntry> map = new HashMap<>();
 		boolean hasGroups = getGroups(coach, map);
 		if(hasGroups) {
-			boolean hasCoachedGroups = getGroupsStatisticsInfosForCoach(coach, map);
-			boolean hasOwnedGroups = getGroupsStatisticsInfosForOwner(coach, map);
-			for(GroupStatEntry entry:map.values()) {
-				entry.getRepoIds().clear();
-				entry.setCountStudents(entry.getCountDistinctStudents() * entry.getCountCourses());
-			}
-			if(hasOwnedGroups) {
-				getGroupsStatisticsStatementForOwner(coach, map);
-			}
-			if(hasCoachedGroups) {
-				getGroupsStatisticsStatementForCoach(coach, map);
+			if(coachingRollupManager.isAvailable()) {
+				getGroupsStatisticsRollups(coach, map);
+			} else {
+				boolean hasCoachedGroups = getGroupsStatisticsInfosForCoach(coach, map);
+				boolean hasOwnedGroups = getGroupsStatisticsInfosForOwner(coach, map);
+				for(GroupStatEntry entry:map.values()) {
+					entry.getRepoIds().clear();
+					entry.setCountStudents(entry.getCountDistinctStudents() * entry.getCountCourses());
+				}
+				if(hasOwnedGroups) {
+					getGroupsStatisticsStatementForOwner(coach, map);
+				}
+				if(hasCoachedGroups) {
+					getGroupsStatisticsStatementForCoach(coach, map);
+				}
 			}
 			
 			for(Iterator<Map.Entry<Long, GroupStatEntry>> it=map.entrySet().iterator(); it.hasNext() ; ) {
@@ -276,6 +285,35 @@ public class CoachingDAO {
 		return !rawList.isEmpty();
 	}
 	
+	/**
+	 * Fill the statistics of the groups with the rollups, one rollup
+	 * per group and course.
+	 * 
+	 * @param coach The coach or owner
+	 * @param map The statistics of the groups mapped by the key of their base group
+	 */
+	private void getGroupsStatisticsRollups(Identity coach, Map<Long,GroupStatEntry> map) {
+		List<CoachingRollupImpl> rollups = coachingRollupDao.loadGroupRollups(coach);
+		for(CoachingRollupImpl rollup:rollups) {
+			GroupStatEntry entry = map.get(rollup.getGroupKey());
+			if(entry != null && !entry.getRepoIds().contains(rollup.getEntryKey())) {
+				entry.setInitialLaunch(entry.getInitialLaunch() + rollup.getVisited());
+				entry.setCountCourses(entry.getCountCourses() + 1);
+				entry.setCountPassed(entry.getCountPassed() + rollup.getPassed());
+				entry.setCountFailed(entry.getCountFailed() + rollup.getFailed());
+				entry.setCountScore(entry.getCountScore() + rollup.getScoreCount());
+				if(rollup.getScoreSum() != null) {
+					entry.setSumScore(entry.getSumScore() + rollup.getScoreSum().floatValue());
+				}
+				entry.getRepoIds().add(rollup.getEntryKey());
+			}
+		}
+		
+		for(GroupStatEntry entry:map.values()) {
+			entry.setCountStudents(entry.getCountDistinctStudents() * entry.getCountCourses());
+		}
+	}
+	
 	private boolean getGroupsStatisticsInfosForCoach(Identity coach, Map<Long,GroupStatEntry> map) {
 		NativeQueryBuilder sb = new NativeQueryBuilder(1024, dbInstance);
 		sb.append("select ")
@@ -514,10 +552,13 @@ public class CoachingDAO {
 		
 		Map<Long,CourseStatEntry> map = getCourses(null, identity, role, status, runtimeTypes);
 		if(!map.isEmpty()) {
-			if(params.withStatistics() || params.withCertificates()) {
+			boolean withRollups = role == GroupRoles.owner && (params.withStatistics() || params.withStatements())
+					&& coachingRollupManager.isEnabled()
+					&& loadCoursesRollups(params.withStatistics(), params.withStatements(), map);
+			if(params.withCertificates() || (params.withStatistics() && !withRollups)) {
 				loadCoursesStatistics(null, identity, role, status, runtimeTypes, params.withCertificates(), map);
 			}
-			if(params.withStatements()) {
+			if(params.withStatements() && !withRollups) {
 				loadCoursesStatisticsStatements(null, identity, role, status, map);
 			}
 			if(params.withCompletions()) {
@@ -688,6 +729,46 @@ public class CoachingDAO {
 		}
 	}
 	
+	/**
+	 * Fill the statistics of the courses with the rollups. The statistics
+	 * are only filled if all the courses have a rollup.
+	 * 
+	 * @return true if the statistics were filled
+	 */
+	private boolean loadCoursesRollups(boolean withStatistics, boolean withStatements, Map<Long,CourseStatEntry> map) {
+		List<CoachingRollupImpl> rollups = coachingRollupDao.loadCourseRollups(map.keySet());
+		Map<Long,CoachingRollupImpl> entryKeyToRollups = new HashMap<>();
+		for(CoachingRollupImpl rollup:rollups) {
+			entryKeyToRollups.put(rollup.getEntryKey(), rollup);
+		}
+		if(!entryKeyToRollups.keySet().containsAll(map.keySet())) {
+			return false;
+		}
+		
+		for(CoachingRollupImpl rollup:entryKeyToRollups.values()) {
+			CourseStatEntry entry = map.get(rollup.getEntryKey());
+			if(entry == null) continue;
+			
+			if(withStatistics) {
+				entry.setParticipants(rollup.getParticipants());
+				entry.setParticipantsVisited(rollup.getVisited());
+				entry.setParticipantsNotVisited(entry.getParticipants() - entry.getParticipantsVisited());
+				entry.setLastVisit(rollup.getLastVisit());
+			}
+			if(withStatements && rollup.getAssessed() > 0) {
+				long numPassed = rollup.getPassed();
+				long numFailed = rollup.getFailed();
+				long total = rollup.getAssessed();
+				long numUndefined = total - numFailed - numPassed;
+				entry.setSuccessStatus(new SuccessStatus(numPassed, numFailed, numUndefined, total));
+				if(rollup.getScoreCount() > 0 && rollup.getScoreSum() != null) {
+					entry.setAverageScore(rollup.getScoreSum() / rollup.getScoreCount());
+				}
+			}
+		}
+		return true;
+	}
+	
 	private void loadCoursesStatisticsStatements(CurriculumElement element, Identity coach, GroupRoles role,
 			List<RepositoryEntryStatusEnum> status, Map<Long,CourseStatEntry> map) {
 		QueryBuilder sb = new QueryBuilder();
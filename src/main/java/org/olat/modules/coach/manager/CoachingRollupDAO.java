@@ -0,0 +1,419 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.modules.coach.manager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.persistence.FlushModeType;
+
+import org.olat.basesecurity.GroupRoles;
+import org.olat.basesecurity.IdentityRef;
+import org.olat.core.commons.persistence.DB;
+import org.olat.core.commons.persistence.NativeQueryBuilder;
+import org.olat.core.commons.persistence.PersistenceHelper;
+import org.olat.core.commons.persistence.QueryBuilder;
+import org.olat.modules.coach.model.CoachingRollupImpl;
+import org.olat.repository.RepositoryEntryRef;
+import org.olat.repository.RepositoryEntryStatusEnum;
+import org.olat.resource.OLATResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Calculate, persist and load the rollups of the coaching statistics.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@Service
+public class CoachingRollupDAO {
+	
+	@Autowired
+	private DB dbInstance;
+	
+	/**
+	 * Calculate the rollups of the specified course. The method doesn't persist
+	 * them. The rollup of the course itself has no group key.
+	 * 
+	 * @param entry The course
+	 * @return A list of transient rollups
+	 */
+	public List<CoachingRollupImpl> calculateRollups(RepositoryEntryRef entry) {
+		Date now = new Date();
+		Map<Long,CoachingRollupImpl> groupRollups = new HashMap<>();
+		calculateGroupsInfos(entry, groupRollups, now);
+		if(!groupRollups.isEmpty()) {
+			calculateGroupsStatements(entry, groupRollups);
+		}
+		
+		List<CoachingRollupImpl> rollups = new ArrayList<>(groupRollups.values());
+		CoachingRollupImpl courseRollup = createRollup(entry.getKey(), null, now);
+		calculateCourseInfos(entry, courseRollup);
+		calculateCourseStatements(entry, courseRollup);
+		rollups.add(courseRollup);
+		return rollups;
+	}
+	
+	private CoachingRollupImpl createRollup(Long entryKey, Long groupKey, Date now) {
+		CoachingRollupImpl rollup = new CoachingRollupImpl();
+		rollup.setCreationDate(now);
+		rollup.setLastModified(now);
+		rollup.setEntryKey(entryKey);
+		rollup.setGroupKey(groupKey);
+		return rollup;
+	}
+	
+	private void calculateGroupsInfos(RepositoryEntryRef entry, Map<Long,CoachingRollupImpl> groupRollups, Date now) {
+		NativeQueryBuilder sb = new NativeQueryBuilder(1024, dbInstance);
+		sb.append("select")
+		  .append(" togroup.fk_group_id as basegr_id,")
+		  .append(" count(distinct sg_participant.fk_identity_id) as num_of_participants,")
+		  .append(" count(distinct pg_initial_launch.id) as num_of_visited,")
+		  .append(" max(pg_initial_launch.recentlaunchdate) as last_visit")
+		  .append(" from o_repositoryentry sg_re")
+		  .append(" inner join o_re_to_group togroup on (togroup.r_defgroup=").appendFalse().append(" and togroup.fk_entry_id = sg_re.repositoryentry_id)")
+		  .append(" inner join o_gp_business bgroup on (bgroup.fk_group_id = togroup.fk_group_id)")
+		  .append(" inner join o_bs_group_member sg_participant on (sg_participant.fk_group_id=togroup.fk_group_id and sg_participant.g_role='participant')")
+		  .append(" left join o_as_user_course_infos pg_initial_launch")
+		  .append("   on (pg_initial_launch.fk_resource_id = sg_re.fk_olatresource and pg_initial_launch.fk_identity = sg_participant.fk_identity_id)")
+		  .append(" where sg_re.repositoryentry_id=:entryKey")
+		  .append(" group by togroup.fk_group_id");
+		
+		List<?> rawList = dbInstance.getCurrentEntityManager()
+				.createNativeQuery(sb.toString())
+				.setParameter("entryKey", entry.getKey())
+				.getResultList();
+		
+		for(Object rawObject:rawList) {
+			Object[] rawStats = (Object[])rawObject;
+			Long baseGroupKey = ((Number)rawStats[0]).longValue();
+			CoachingRollupImpl rollup = createRollup(entry.getKey(), baseGroupKey, now);
+			rollup.setParticipants(PersistenceHelper.extractPrimitiveInt(rawStats, 1));
+			rollup.setVisited(PersistenceHelper.extractPrimitiveInt(rawStats, 2));
+			rollup.setLastVisit((Date)rawStats[3]);
+			groupRollups.put(baseGroupKey, rollup);
+		}
+	}
+	
+	private void calculateGroupsStatements(RepositoryEntryRef entry, Map<Long,CoachingRollupImpl> groupRollups) {
+		NativeQueryBuilder sb = new NativeQueryBuilder(1024, dbInstance);
+		sb.append("select")
+		  .append(" fin_statement.bgp_id,")
+		  .append(" sum(case when fin_statement.passed=").appendTrue().append(" then 1 else 0 end) as num_of_passed,")
+		  .append(" sum(case when fin_statement.passed=").appendFalse().append(" then 1 else 0 end) as num_of_failed,")
+		  .append(" sum(case when fin_statement.score is not null then 1 else 0 end) as num_score,")
+		  .append(" sum(fin_statement.score) as sum_score ")
+		  .append("from ( select ")
+		  .append("  distinct sg_statement.id as id,")
+		  .append("  togroup.fk_group_id as bgp_id,")
+		  .append("  sg_statement.passed as passed,")
+		  .append("  sg_statement.score as score")
+		  .append(" from o_repositoryentry sg_re")
+		  .append(" inner join o_re_to_group togroup on (togroup.r_defgroup=").appendFalse().append(" and togroup.fk_entry_id = sg_re.repositoryentry_id)")
+		  .append(" inner join o_bs_group_member sg_participant on (sg_participant.fk_group_id=togroup.fk_group_id and sg_participant.g_role='participant')")
+		  .append(" inner join o_as_eff_statement sg_statement on (sg_statement.fk_identity = sg_participant.fk_identity_id and sg_statement.fk_resource_id = sg_re.fk_olatresource")
+		  .append("   and sg_statement.last_statement=").appendTrue().append(")")
+		  .append(" where sg_re.repositoryentry_id=:entryKey")
+		  .append(") ").appendAs().append(" fin_statement ")
+		  .append("group by fin_statement.bgp_id");
+		
+		List<?> rawList = dbInstance.getCurrentEntityManager()
+				.createNativeQuery(sb.toString())
+				.setParameter("entryKey", entry.getKey())
+				.getResultList();
+		
+		for(Object rawObject:rawList) {
+			Object[] rawStats = (Object[])rawObject;
+			Long baseGroupKey = ((Number)rawStats[0]).longValue();
+			CoachingRollupImpl rollup = groupRollups.get(baseGroupKey);
+			if(rollup != null) {
+				rollup.setPassed(PersistenceHelper.extractPrimitiveInt(rawStats, 1));
+				rollup.setFailed(PersistenceHelper.extractPrimitiveInt(rawStats, 2));
+				rollup.setScoreCount(PersistenceHelper.extractPrimitiveInt(rawStats, 3));
+				rollup.setScoreSum(PersistenceHelper.extractDouble(rawStats, 4));
+			}
+		}
+	}
+	
+	private void calculateCourseInfos(RepositoryEntryRef entry, CoachingRollupImpl courseRollup) {
+		QueryBuilder sb = new QueryBuilder(1024);
+		sb.append("select")
+		  .append("  count(distinct participantMembers.identity.key) as numOfParticipants,")
+		  .append("  count(distinct courseInfos.key) as numOfVisited,")
+		  .append("  max(courseInfos.recentLaunch) as lastvisit")
+		  .append(" from repositoryentry v")
+		  .append(" inner join v.olatResource as res")
+		  .append(" inner join v.groups as relGroup")
+		  .append(" inner join relGroup.group as participantGroup")
+		  .append(" inner join participantGroup.members as participantMembers on (participantMembers.role='participant')")
+		  .append(" left join usercourseinfos as courseInfos on (courseInfos.identity.key=participantMembers.identity.key and courseInfos.resource.key=res.key)")
+		  .append(" where v.key=:entryKey");
+		
+		List<Object[]> rawStats = dbInstance.getCurrentEntityManager()
+				.createQuery(sb.toString(), Object[].class)
+				.setParameter("entryKey", entry.getKey())
+				.getResultList();
+		if(!rawStats.isEmpty()) {
+			Object[] rawStat = rawStats.get(0);
+			courseRollup.setParticipants(PersistenceHelper.extractPrimitiveInt(rawStat, 0));
+			courseRollup.setVisited(PersistenceHelper.extractPrimitiveInt(rawStat, 1));
+			courseRollup.setLastVisit((Date)rawStat[2]);
+		}
+	}
+	
+	private void calculateCourseStatements(RepositoryEntryRef entry, CoachingRollupImpl courseRollup) {
+		QueryBuilder sb = new QueryBuilder();
+		sb.append("select")
+		  .append("  sum(case when ae.passed=true then 1 else 0 end) as numPassed,")
+		  .append("  sum(case when ae.passed=false then 1 else 0 end) as numFailed,")
+		  .append("  count(ae.key) as total,")
+		  .append("  count(ae.score) as numOfScores,")
+		  .append("  sum(ae.score) as sumScore")
+		  .append(" from assessmententry as ae")
+		  .append(" where ae.key in (select distinct ae2.key from repositoryentry as re")
+		  .append("  inner join re.groups as reToParticipantGroup")
+		  .append("  inner join reToParticipantGroup.group as participantGroup")
+		  .append("  inner join participantGroup.members as participant on (participant.role='participant')")
+		  .append("  inner join assessmententry as ae2 on (participant.identity.key=ae2.identity.key and ae2.repositoryEntry.key=re.key)")
+		  .append("  inner join courseelement rootElement on (rootElement.repositoryEntry.key=re.key and rootElement.subIdent=ae2.subIdent)")
+		  .append("  where re.key=:entryKey and ae2.entryRoot=true and rootElement.passedMode<>'none'")
+		  .append(" )");
+		
+		List<Object[]> rawStats = dbInstance.getCurrentEntityManager()
+				.createQuery(sb.toString(), Object[].class)
+				.setParameter("entryKey", entry.getKey())
+				.getResultList();
+		if(!rawStats.isEmpty()) {
+			Object[] rawStat = rawStats.get(0);
+			courseRollup.setPassed(PersistenceHelper.extractPrimitiveInt(rawStat, 0));
+			courseRollup.setFailed(PersistenceHelper.extractPrimitiveInt(rawStat, 1));
+			courseRollup.setAssessed(PersistenceHelper.extractPrimitiveInt(rawStat, 2));
+			courseRollup.setScoreCount(PersistenceHelper.extractPrimitiveInt(rawStat, 3));
+			courseRollup.setScoreSum(PersistenceHelper.extractDouble(rawStat, 4));
+		}
+	}
+	
+	/**
+	 * Create a dirty rollup for the course. The rollup of the course is not
+	 * constrained by an unique index (the databases don't handle the null group
+	 * the same way) and two concurrent calls can create two of them. The duplicates
+	 * are deleted by the next calculation of the rollups.
+	 * 
+	 * @param entryKey The primary key of the course
+	 * @return The persisted rollup
+	 */
+	public CoachingRollupImpl createDirtyRollup(Long entryKey) {
+		CoachingRollupImpl rollup = createRollup(entryKey, null, new Date());
+		rollup.setDirty(true);
+		dbInstance.getCurrentEntityManager().persist(rollup);
+		return rollup;
+	}
+	
+	public void persistRollups(Collection<CoachingRollupImpl> rollups) {
+		dbInstance.persistAll(rollups);
+	}
+	
+	public CoachingRollupImpl updateRollup(CoachingRollupImpl rollup) {
+		rollup.setLastModified(new Date());
+		return dbInstance.getCurrentEntityManager().merge(rollup);
+	}
+	
+	public void deleteRollup(CoachingRollupImpl rollup) {
+		dbInstance.getCurrentEntityManager().remove(rollup);
+	}
+	
+	public int deleteRollups(Long entryKey) {
+		String q = "delete from coachingrollup as rollup where rollup.entryKey=:entryKey";
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(q)
+				.setParameter("entryKey", entryKey)
+				.executeUpdate();
+	}
+	
+	/**
+	 * @param groupKey The primary key of the base group
+	 * @return The number of deleted rollups
+	 */
+	public int deleteGroupRollups(Long groupKey) {
+		String q = "delete from coachingrollup as rollup where rollup.groupKey=:groupKey";
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(q)
+				.setParameter("groupKey", groupKey)
+				.executeUpdate();
+	}
+	
+	/**
+	 * Flag the rollups of the course as dirty. The rollups already
+	 * dirty are not updated to prevent useless row locks.
+	 * 
+	 * @param entryKey The primary key of the course
+	 * @return true if there are rollups for the specified course
+	 */
+	public boolean markDirty(Long entryKey) {
+		String q = "update coachingrollup as rollup set rollup.dirty=true where rollup.entryKey=:entryKey and rollup.dirty=false";
+		int rows = dbInstance.getCurrentEntityManager()
+				.createQuery(q)
+				.setParameter("entryKey", entryKey)
+				.executeUpdate();
+		return rows > 0 || hasRollups(entryKey);
+	}
+	
+	public int clearDirty(Long entryKey) {
+		String q = "update coachingrollup as rollup set rollup.dirty=false where rollup.entryKey=:entryKey and rollup.dirty=true";
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(q)
+				.setParameter("entryKey", entryKey)
+				.executeUpdate();
+	}
+	
+	public boolean hasRollups(Long entryKey) {
+		String q = "select rollup.key from coachingrollup as rollup where rollup.entryKey=:entryKey";
+		List<Long> keys = dbInstance.getCurrentEntityManager()
+				.createQuery(q, Long.class)
+				.setFlushMode(FlushModeType.COMMIT)
+				.setParameter("entryKey", entryKey)
+				.setFirstResult(0)
+				.setMaxResults(1)
+				.getResultList();
+		return keys != null && !keys.isEmpty() && keys.get(0) != null;
+	}
+	
+	public boolean hasRollups() {
+		String q = "select rollup.key from coachingrollup as rollup";
+		List<Long> keys = dbInstance.getCurrentEntityManager()
+				.createQuery(q, Long.class)
+				.setFlushMode(FlushModeType.COMMIT)
+				.setFirstResult(0)
+				.setMaxResults(1)
+				.getResultList();
+		return keys != null && !keys.isEmpty() && keys.get(0) != null;
+	}
+	
+	public List<Long> getDirtyEntryKeys(int maxResults) {
+		String q = "select distinct rollup.entryKey from coachingrollup as rollup where rollup.dirty=true";
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(q, Long.class)
+				.setFirstResult(0)
+				.setMaxResults(maxResults)
+				.getResultList();
+	}
+	
+	public List<Long> getEntryKeys() {
+		String q = "select distinct rollup.entryKey from coachingrollup as rollup";
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(q, Long.class)
+				.getResultList();
+	}
+	
+	/**
+	 * @return The primary keys of all the courses which need rollups
+	 */
+	public List<Long> getCourseEntryKeys() {
+		QueryBuilder sb = new QueryBuilder();
+		sb.append("select v.key from repositoryentry v")
+		  .append(" inner join v.olatResource as res")
+		  .append(" where res.resName='CourseModule' and v.status in :status");
+		
+		List<String> statusList = List.of(RepositoryEntryStatusEnum.preparationToClosed()).stream()
+				.map(RepositoryEntryStatusEnum::name)
+				.toList();
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(sb.toString(), Long.class)
+				.setParameter("status", statusList)
+				.getResultList();
+	}
+	
+	public List<Long> getEntryKeys(OLATResource resource) {
+		String q = "select v.key from repositoryentry v where v.olatResource.key=:resourceKey";
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(q, Long.class)
+				.setParameter("resourceKey", resource.getKey())
+				.getResultList();
+	}
+	
+	public List<Long> getEntryKeysOfGroup(Long groupKey) {
+		String q = "select rel.entry.key from repoentrytogroup as rel where rel.group.key=:groupKey";
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(q, Long.class)
+				.setParameter("groupKey", groupKey)
+				.getResultList();
+	}
+	
+	public List<CoachingRollupImpl> loadRollups(Long entryKey) {
+		String q = "select rollup from coachingrollup as rollup where rollup.entryKey=:entryKey order by rollup.key asc";
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(q, CoachingRollupImpl.class)
+				.setParameter("entryKey", entryKey)
+				.getResultList();
+	}
+	
+	/**
+	 * Load the rollups of the business groups coached by the specified
+	 * identity and of the business groups of the courses owned by the
+	 * identity.
+	 * 
+	 * @param coach The coach or owner
+	 * @return A list of rollups with participants
+	 */
+	public List<CoachingRollupImpl> loadGroupRollups(IdentityRef coach) {
+		QueryBuilder sb = new QueryBuilder(1024);
+		sb.append("select rollup from coachingrollup as rollup")
+		  .append(" inner join repositoryentry as v on (v.key=rollup.entryKey)")
+		  .append(" where rollup.groupKey is not null and rollup.participants>0 and v.status in :status")
+		  .append(" and (exists (select coach.key from bgroupmember as coach")
+		  .append("   where coach.group.key=rollup.groupKey and coach.role='").append(GroupRoles.coach.name()).append("' and coach.identity.key=:coachKey)")
+		  .append(" or exists (select reToOwnerGroup.key from repoentrytogroup as reToOwnerGroup")
+		  .append("   inner join bgroupmember as owner on (owner.role='").append(GroupRoles.owner.name()).append("' and owner.group.key=reToOwnerGroup.group.key)")
+		  .append("   where reToOwnerGroup.entry.key=rollup.entryKey and owner.identity.key=:coachKey)")
+		  .append(" )");
+		
+		List<String> statusList = List.of(RepositoryEntryStatusEnum.coachPublishedToClosed()).stream()
+				.map(RepositoryEntryStatusEnum::name)
+				.toList();
+		return dbInstance.getCurrentEntityManager()
+				.createQuery(sb.toString(), CoachingRollupImpl.class)
+				.setFlushMode(FlushModeType.COMMIT)
+				.setParameter("coachKey", coach.getKey())
+				.setParameter("status", statusList)
+				.getResultList();
+	}
+	
+	public List<CoachingRollupImpl> loadCourseRollups(Collection<Long> entryKeys) {
+		if(entryKeys == null || entryKeys.isEmpty()) return new ArrayList<>();
+		
+		String q = "select rollup from coachingrollup as rollup where rollup.groupKey is null and rollup.entryKey in (:entryKeys) order by rollup.key asc";
+		List<CoachingRollupImpl> rollups = new ArrayList<>(entryKeys.size());
+		List<Long> entryKeyList = new ArrayList<>(entryKeys);
+		for(List<Long> chunkOfKeys:PersistenceHelper.collectionOfChunks(entryKeyList)) {
+			rollups.addAll(dbInstance.getCurrentEntityManager()
+				.createQuery(q, CoachingRollupImpl.class)
+				.setFlushMode(FlushModeType.COMMIT)
+				.setParameter("entryKeys", chunkOfKeys)
+				.getResultList());
+		}
+		return rollups;
+	}
+}
@@ -0,0 +1,53 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.modules.coach.manager;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.core.CoreSpringFactory;
+import org.olat.core.commons.services.scheduler.JobWithDB;
+import org.olat.core.logging.Tracing;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+/**
+ * Recalculate the coaching rollups flagged as dirty.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@DisallowConcurrentExecution
+public class CoachingRollupJob extends JobWithDB {
+
+	private static final Logger log = Tracing.createLoggerFor(CoachingRollupJob.class);
+	
+	@Override
+	public void executeWithDB(JobExecutionContext arg0) throws JobExecutionException {
+		try {
+			CoachingRollupManager rollupManager = CoreSpringFactory.getImpl(CoachingRollupManager.class);
+			if(rollupManager.isEnabled()) {
+				rollupManager.processDirtyRollups();
+			}
+		} catch (Exception e) {
+			log.error("", e);
+		}
+	}
+}
@@ -0,0 +1,273 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.modules.coach.manager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.basesecurity.GroupRoles;
+import org.olat.core.commons.persistence.DB;
+import org.olat.core.logging.Tracing;
+import org.olat.group.BusinessGroup;
+import org.olat.group.DeletableGroupData;
+import org.olat.modules.coach.model.CoachingRollupImpl;
+import org.olat.repository.RepositoryEntry;
+import org.olat.repository.RepositoryEntryDataDeletable;
+import org.olat.repository.RepositoryEntryParticipantsListener;
+import org.olat.repository.RepositoryEntryRef;
+import org.olat.repository.RepositoryEntryStatusEnum;
+import org.olat.repository.manager.RepositoryEntryDAO;
+import org.olat.resource.OLATResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains the rollups of the coaching statistics. The changes of
+ * efficiency statements and memberships flag the rollups of the course
+ * as dirty, a job recalculates them every minute and a nightly job
+ * reconciles all of them. The dirty flag is persisted in the database
+ * and the jobs run as cluster singletons. The changes are notified by
+ * the repository and the groups as {@link RepositoryEntryParticipantsListener}.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@Service
+public class CoachingRollupManager implements RepositoryEntryParticipantsListener, RepositoryEntryDataDeletable, DeletableGroupData {
+	
+	private static final Logger log = Tracing.createLoggerFor(CoachingRollupManager.class);
+	
+	private static final int MAX_DIRTY_ENTRIES = 1000;
+	
+	private final Object recalculateLock = new Object();
+	
+	@Value("${coaching.rollups.enabled:false}")
+	private boolean enabled;
+
+	@Autowired
+	private DB dbInstance;
+	@Autowired
+	private CoachingRollupDAO coachingRollupDao;
+	@Autowired
+	private RepositoryEntryDAO repositoryEntryDao;
+	
+	public boolean isEnabled() {
+		return enabled;
+	}
+	
+	/**
+	 * @return true if the coaching views can read the rollups
+	 */
+	public boolean isAvailable() {
+		return enabled && coachingRollupDao.hasRollups();
+	}
+	
+	@Override
+	public void participantsChanged(RepositoryEntryRef entry) {
+		markEntryDirty(entry);
+	}
+	
+	@Override
+	public void participantsChanged(OLATResource resource) {
+		markResourceDirty(resource);
+	}
+	
+	@Override
+	public void membershipsChanged(Long groupKey, String role) {
+		markRoleDirty(groupKey, role);
+	}
+	
+	@Override
+	public boolean deleteRepositoryEntryData(RepositoryEntry re) {
+		coachingRollupDao.deleteRollups(re.getKey());
+		return true;
+	}
+	
+	@Override
+	public boolean deleteGroupDataFor(BusinessGroup group) {
+		if(group.getBaseGroup() != null) {
+			coachingRollupDao.deleteGroupRollups(group.getBaseGroup().getKey());
+		}
+		return true;
+	}
+	
+	public void markEntryDirty(RepositoryEntryRef entry) {
+		if(!enabled || entry == null || entry.getKey() == null) return;
+		markEntryDirty(entry.getKey());
+	}
+	
+	public void markResourceDirty(OLATResource resource) {
+		if(!enabled || resource == null || resource.getKey() == null) return;
+		
+		List<Long> entryKeys = coachingRollupDao.getEntryKeys(resource);
+		for(Long entryKey:entryKeys) {
+			markEntryDirty(entryKey);
+		}
+	}
+	
+	/**
+	 * Mark the rollups of all the courses linked to the specified
+	 * group as dirty.
+	 * 
+	 * @param groupKey The primary key of the base group
+	 */
+	public void markGroupDirty(Long groupKey) {
+		if(!enabled || groupKey == null) return;
+		
+		List<Long> entryKeys = coachingRollupDao.getEntryKeysOfGroup(groupKey);
+		for(Long entryKey:entryKeys) {
+			markEntryDirty(entryKey);
+		}
+	}
+	
+	public void markRoleDirty(Long groupKey, String role) {
+		if(GroupRoles.participant.name().equals(role)) {
+			markGroupDirty(groupKey);
+		}
+	}
+	
+	private void markEntryDirty(Long entryKey) {
+		if(!coachingRollupDao.markDirty(entryKey)) {
+			coachingRollupDao.createDirtyRollup(entryKey);
+		}
+	}
+	
+	/**
+	 * Recalculate the dirty rollups. If there isn't any rollup,
+	 * the method reconciles all of them.
+	 */
+	public void processDirtyRollups() {
+		if(!enabled) return;
+		
+		if(!coachingRollupDao.hasRollups()) {
+			dbInstance.commitAndCloseSession();
+			reconcile();
+			return;
+		}
+		
+		List<Long> dirtyEntryKeys = coachingRollupDao.getDirtyEntryKeys(MAX_DIRTY_ENTRIES);
+		dbInstance.commitAndCloseSession();
+		for(Long entryKey:dirtyEntryKeys) {
+			recalculate(entryKey);
+		}
+		if(!dirtyEntryKeys.isEmpty()) {
+			log.debug("Coaching rollups recalculated for {} courses", dirtyEntryKeys.size());
+		}
+	}
+	
+	/**
+	 * Recalculate the rollups of all the courses and delete
+	 * the rollups of deleted courses.
+	 */
+	public void reconcile() {
+		if(!enabled) return;
+		
+		long start = System.nanoTime();
+		List<Long> courseEntryKeys = coachingRollupDao.getCourseEntryKeys();
+		Set<Long> orphanEntryKeys = new HashSet<>(coachingRollupDao.getEntryKeys());
+		dbInstance.commitAndCloseSession();
+		
+		for(Long entryKey:courseEntryKeys) {
+			recalculate(entryKey);
+			orphanEntryKeys.remove(entryKey);
+		}
+		for(Long orphanEntryKey:orphanEntryKeys) {
+			recalculate(orphanEntryKey);
+		}
+		log.info("Coaching rollups of {} courses reconciled in {} ms", courseEntryKeys.size(), Math.round((System.nanoTime() - start) / 1000000.0d));
+	}
+	
+	/**
+	 * Recalculate the rollups of the specified course. The dirty flag is cleared
+	 * before the calculation, a change during the calculation sets it again and
+	 * the course will be recalculated the next time.
+	 * 
+	 * @param entryKey The primary key of the course
+	 */
+	public void recalculate(Long entryKey) {
+		synchronized(recalculateLock) {
+			try {
+				coachingRollupDao.clearDirty(entryKey);
+				dbInstance.commit();
+				
+				RepositoryEntry entry = repositoryEntryDao.loadByKey(entryKey);
+				if(entry == null || !"CourseModule".equals(entry.getOlatResource().getResourceableTypeName())
+						|| !RepositoryEntryStatusEnum.isInArray(entry.getEntryStatus(), RepositoryEntryStatusEnum.preparationToClosed())) {
+					coachingRollupDao.deleteRollups(entryKey);
+				} else {
+					List<CoachingRollupImpl> rollups = coachingRollupDao.calculateRollups(entry);
+					dbInstance.commit();
+					updateRollups(entryKey, rollups);
+				}
+				dbInstance.commitAndCloseSession();
+			} catch (Exception e) {
+				log.error("Cannot recalculate coaching rollups of course: {}", entryKey, e);
+				dbInstance.rollbackAndCloseSession();
+			}
+		}
+	}
+	
+	private void updateRollups(Long entryKey, List<CoachingRollupImpl> rollups) {
+		Map<Long,CoachingRollupImpl> currentRollups = new HashMap<>();
+		for(CoachingRollupImpl currentRollup:coachingRollupDao.loadRollups(entryKey)) {
+			Long groupKey = currentRollup.getGroupKey() == null ? Long.valueOf(-1l) : currentRollup.getGroupKey();
+			if(currentRollups.containsKey(groupKey)) {
+				coachingRollupDao.deleteRollup(currentRollup);
+			} else {
+				currentRollups.put(groupKey, currentRollup);
+			}
+		}
+		
+		List<CoachingRollupImpl> newRollups = new ArrayList<>();
+		for(CoachingRollupImpl rollup:rollups) {
+			Long groupKey = rollup.getGroupKey() == null ? Long.valueOf(-1l) : rollup.getGroupKey();
+			CoachingRollupImpl currentRollup = currentRollups.remove(groupKey);
+			if(currentRollup == null) {
+				newRollups.add(rollup);
+			} else {
+				// keep the dirty flag, it was possibly set during the calculation
+				copy(rollup, currentRollup);
+				coachingRollupDao.updateRollup(currentRollup);
+			}
+		}
+		coachingRollupDao.persistRollups(newRollups);
+		for(CoachingRollupImpl removedRollup:currentRollups.values()) {
+			coachingRollupDao.deleteRollup(removedRollup);
+		}
+	}
+	
+	private void copy(CoachingRollupImpl source, CoachingRollupImpl target) {
+		target.setParticipants(source.getParticipants());
+		target.setVisited(source.getVisited());
+		target.setLastVisit(source.getLastVisit());
+		target.setPassed(source.getPassed());
+		target.setFailed(source.getFailed());
+		target.setAssessed(source.getAssessed());
+		target.setScoreCount(source.getScoreCount());
+		target.setScoreSum(source.getScoreSum());
+	}
+}
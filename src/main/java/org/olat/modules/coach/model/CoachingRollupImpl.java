@@ -0,0 +1,230 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.modules.coach.model;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+import org.olat.core.id.CreateInfo;
+import org.olat.core.id.ModifiedInfo;
+import org.olat.core.id.Persistable;
+
+/**
+ * Materialized statistics of the participants of a course for the coaching
+ * tool. A rollup with a group key holds the statistics of the participants
+ * of a business group in the course, based on the efficiency statements.
+ * A rollup without group key holds the statistics of all the participants
+ * of the course, based on the root assessment entries.<br>
+ * The rollups are recalculated per course when they are marked as dirty and
+ * every night. The rollups are deleted with their course or their
+ * business group.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+@Entity(name="coachingrollup")
+@Table(name="o_coach_rollup")
+public class CoachingRollupImpl implements Persistable, CreateInfo, ModifiedInfo {
+
+	private static final long serialVersionUID = -3185216690137358102L;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name="id", nullable=false, unique=true, insertable=true, updatable=false)
+	private Long key;
+	
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(name="creationdate", nullable=false, insertable=true, updatable=false)
+	private Date creationDate;
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(name="lastmodified", nullable=false, insertable=true, updatable=true)
+	private Date lastModified;
+	
+	@Column(name="r_participants", nullable=false, insertable=true, updatable=true)
+	private int participants;
+	@Column(name="r_visited", nullable=false, insertable=true, updatable=true)
+	private int visited;
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(name="r_last_visit", nullable=true, insertable=true, updatable=true)
+	private Date lastVisit;
+	@Column(name="r_passed", nullable=false, insertable=true, updatable=true)
+	private int passed;
+	@Column(name="r_failed", nullable=false, insertable=true, updatable=true)
+	private int failed;
+	@Column(name="r_assessed", nullable=false, insertable=true, updatable=true)
+	private int assessed;
+	@Column(name="r_score_count", nullable=false, insertable=true, updatable=true)
+	private int scoreCount;
+	@Column(name="r_score_sum", nullable=true, insertable=true, updatable=true)
+	private Double scoreSum;
+	@Column(name="r_dirty", nullable=false, insertable=true, updatable=true)
+	private boolean dirty;
+	
+	@Column(name="fk_entry_id", nullable=false, insertable=true, updatable=false)
+	private Long entryKey;
+	@Column(name="fk_group_id", nullable=true, insertable=true, updatable=false)
+	private Long groupKey;
+	
+	@Override
+	public Long getKey() {
+		return key;
+	}
+
+	public void setKey(Long key) {
+		this.key = key;
+	}
+
+	@Override
+	public Date getCreationDate() {
+		return creationDate;
+	}
+
+	public void setCreationDate(Date creationDate) {
+		this.creationDate = creationDate;
+	}
+
+	@Override
+	public Date getLastModified() {
+		return lastModified;
+	}
+
+	@Override
+	public void setLastModified(Date lastModified) {
+		this.lastModified = lastModified;
+	}
+
+	public int getParticipants() {
+		return participants;
+	}
+
+	public void setParticipants(int participants) {
+		this.participants = participants;
+	}
+
+	public int getVisited() {
+		return visited;
+	}
+
+	public void setVisited(int visited) {
+		this.visited = visited;
+	}
+
+	public Date getLastVisit() {
+		return lastVisit;
+	}
+
+	public void setLastVisit(Date lastVisit) {
+		this.lastVisit = lastVisit;
+	}
+
+	public int getPassed() {
+		return passed;
+	}
+
+	public void setPassed(int passed) {
+		this.passed = passed;
+	}
+
+	public int getFailed() {
+		return failed;
+	}
+
+	public void setFailed(int failed) {
+		this.failed = failed;
+	}
+
+	public int getAssessed() {
+		return assessed;
+	}
+
+	public void setAssessed(int assessed) {
+		this.assessed = assessed;
+	}
+
+	public int getScoreCount() {
+		return scoreCount;
+	}
+
+	public void setScoreCount(int scoreCount) {
+		this.scoreCount = scoreCount;
+	}
+
+	public Double getScoreSum() {
+		return scoreSum;
+	}
+
+	public void setScoreSum(Double scoreSum) {
+		this.scoreSum = scoreSum;
+	}
+
+	public boolean isDirty() {
+		return dirty;
+	}
+
+	public void setDirty(boolean dirty) {
+		this.dirty = dirty;
+	}
+
+	public Long getEntryKey() {
+		return entryKey;
+	}
+
+	public void setEntryKey(Long entryKey) {
+		this.entryKey = entryKey;
+	}
+
+	public Long getGroupKey() {
+		return groupKey;
+	}
+
+	public void setGroupKey(Long groupKey) {
+		this.groupKey = groupKey;
+	}
+
+	@Override
+	public int hashCode() {
+		return getKey() == null ? 82651 : getKey().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(obj instanceof CoachingRollupImpl rollup) {
+			return getKey() != null && getKey().equals(rollup.getKey());
+		}
+		return false;
+	}
+
+	@Override
+	public boolean equalsByPersistableKey(Persistable persistable) {
+		return equals(persistable);
+	}
+}
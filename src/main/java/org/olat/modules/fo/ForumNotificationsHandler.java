@@ -213,6 +213,11 @@ public class ForumNotificationsHandler implements NotificationsHandler {
 		return new TitleItem(title, ForumUIFactory.CSS_ICON_CLASS_FORUM);
 	}
 
+	@Override
+	public boolean isSubscriptionInfoIdentityIndependent() {
+		return true;
+	}
+
 	@Override
 	public String getType() {
 		return "Forum";
@@ -0,0 +1,53 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.repository;
+
+import org.olat.resource.OLATResource;
+
+/**
+ * Listener of the changes of the participants of the repository entries
+ * or of their progress: memberships, relations between the groups and the
+ * entries, efficiency statements, first launches. The implementations are
+ * Spring beans and are called in the transaction of the change.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public interface RepositoryEntryParticipantsListener {
+	
+	/**
+	 * @param entry The repository entry which participants or their progress changed
+	 */
+	public void participantsChanged(RepositoryEntryRef entry);
+	
+	/**
+	 * @param resource The resource of the repository entries which participants
+	 * 		or their progress changed
+	 */
+	public void participantsChanged(OLATResource resource);
+	
+	/**
+	 * @param groupKey The primary key of the group (base group)
+	 * @param role The role of the memberships which changed
+	 */
+	public void membershipsChanged(Long groupKey, String role);
+
+}
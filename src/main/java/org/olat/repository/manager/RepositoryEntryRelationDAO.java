@@ -50,6 +50,7 @@ import org.olat.core.util.StringHelper;
 import org.olat.modules.curriculum.CurriculumElementRef;
 import org.olat.modules.curriculum.CurriculumElementStatus;
 import org.olat.repository.RepositoryEntry;
+import org.olat.repository.RepositoryEntryParticipantsListener;
 import org.olat.repository.RepositoryEntryRef;
 import org.olat.repository.RepositoryEntryRelationType;
 import org.olat.repository.model.MembershipInfos;
@@ -70,6 +71,8 @@ public class RepositoryEntryRelationDAO {
 	private DB dbInstance;
 	@Autowired
 	private GroupDAO groupDao;
+	@Autowired
+	private List<RepositoryEntryParticipantsListener> participantsListeners;
 	
 	/**
 	 * Get roles in the repository entry, with business groups and curriculums
@@ -206,16 +209,26 @@ public class RepositoryEntryRelationDAO {
 	public void addRole(Identity identity, RepositoryEntryRef re, String role) {
 		Group group = getDefaultGroup(re);
 		groupDao.addMembershipOneWay(group, identity, role);
+		if(GroupRoles.participant.name().equals(role)) {
+			fireParticipantsChanged(re);
+		}
 	}
 	
 	public void addRole(Identity identity, Group group, String role) {
 		groupDao.addMembershipOneWay(group, identity, role);
+		for(RepositoryEntryParticipantsListener listener:participantsListeners) {
+			listener.membershipsChanged(group.getKey(), role);
+		}
 	}
 	
 	public int removeRole(IdentityRef identity, RepositoryEntryRef re, String role) {
 		Group group = getDefaultGroup(re);
 		if(group != null) {
-			return groupDao.removeMembership(group, identity, role);
+			int rows = groupDao.removeMembership(group, identity, role);
+			if(rows > 0 && GroupRoles.participant.name().equals(role)) {
+				fireParticipantsChanged(re);
+			}
+			return rows;
 		}
 		return 0;
 	}
@@ -223,7 +236,11 @@ public class RepositoryEntryRelationDAO {
 	public int removeRole(RepositoryEntry re, String role) {
 		Group group = getDefaultGroup(re);
 		if(group != null) {
-			return groupDao.removeMemberships(group, role);
+			int rows = groupDao.removeMemberships(group, role);
+			if(rows > 0 && GroupRoles.participant.name().equals(role)) {
+				fireParticipantsChanged(re);
+			}
+			return rows;
 		}
 		return 0;
 	}
@@ -677,6 +694,7 @@ public class RepositoryEntryRelationDAO {
 		rel.setGroup(group);
 		rel.setEntry(re);
 		dbInstance.getCurrentEntityManager().persist(rel);
+		fireParticipantsChanged(re);
 		return rel;
 	}
 	
@@ -690,9 +708,18 @@ public class RepositoryEntryRelationDAO {
 		for(RepositoryEntryToGroupRelation rel:rels) {
 			em.remove(rel);
 		}
+		if(!rels.isEmpty()) {
+			fireParticipantsChanged(re);
+		}
 		return rels.size();
 	}
 	
+	private void fireParticipantsChanged(RepositoryEntryRef re) {
+		for(RepositoryEntryParticipantsListener listener:participantsListeners) {
+			listener.participantsChanged(re);
+		}
+	}
+	
 	/**
 	 * This will remove all relations from the repository entry,
 	 * the default one too.
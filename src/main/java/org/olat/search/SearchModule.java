@@ -120,6 +120,29 @@ public class SearchModule extends AbstractSpringModule {
 
 	@Value("${search.ram.buffer.size:16}")
 	private double ramBufferSizeMB;
+	@Value("${search.index.textCache:text_cache}")
+	private String textCachePath;
+	private String fullTextCachePath;
+	@Value("${search.extraction.cache:true}")
+	private boolean textExtractionCache;
+	@Value("${search.extraction.cache.max.age:90}")
+	private int textExtractionCacheMaxAge;
+	@Value("${search.extraction.pool.size:4}")
+	private int textExtractionPoolSize;
+	@Value("${search.extraction.timeout:60}")
+	private int textExtractionTimeout;
+	@Value("${search.extraction.memory.budget:256}")
+	private int textExtractionMemoryBudget;
+	@Value("${search.indexing.incremental:true}")
+	private boolean incrementalIndexing;
+	@Value("${search.indexing.incremental.batch.size:500}")
+	private int incrementalBatchSize;
+	@Value("${search.indexing.incremental.latency:2000}")
+	private long incrementalLatency;
+	@Value("${search.indexing.incremental.persistent:false}")
+	private boolean incrementalPersistent;
+	@Value("${search.indexing.incremental.time.to.live:120000}")
+	private long incrementalTimeToLive;
 	private boolean useCompoundFile = false;
 	
 	@Autowired @Qualifier("fileSizeSuffixes")
@@ -152,6 +175,7 @@ public class SearchModule extends AbstractSpringModule {
 		
 		fullTempIndexPath = buildPath(tempIndexPath);
 		fullTempSpellCheckPath = buildPath(tempSpellCheckPath);
+		fullTextCachePath = buildPath(textCachePath);
 	}
 	
 	private String buildPath(String path) {
@@ -423,6 +447,82 @@ public class SearchModule extends AbstractSpringModule {
 		this.ramBufferSizeMB = ramBufferSizeMB;
 	}
 
+	/**
+	 * @return Absolute file path of the cache of the texts extracted from the files.
+	 */
+	public String getFullTextCachePath() {
+		return fullTextCachePath;
+	}
+
+	public boolean isTextExtractionCacheEnabled() {
+		return textExtractionCache;
+	}
+
+	/**
+	 * @return Number of days after which an unused entry of the text cache is deleted
+	 */
+	public int getTextExtractionCacheMaxAge() {
+		return textExtractionCacheMaxAge;
+	}
+
+	/**
+	 * @return Number of threads extracting the text of the files
+	 */
+	public int getTextExtractionPoolSize() {
+		return textExtractionPoolSize;
+	}
+
+	/**
+	 * @return Max. time in seconds to extract the text of a file
+	 */
+	public int getTextExtractionTimeout() {
+		return textExtractionTimeout;
+	}
+
+	/**
+	 * @return Memory in MB shared by the files extracted in parallel
+	 */
+	public int getTextExtractionMemoryBudget() {
+		return textExtractionMemoryBudget;
+	}
+
+	/**
+	 * @return true if the changes of the resources are written in the main
+	 * 		index between two full indexes
+	 */
+	public boolean isIncrementalIndexing() {
+		return incrementalIndexing;
+	}
+
+	/**
+	 * @return Max. number of work items indexed in one batch
+	 */
+	public int getIncrementalBatchSize() {
+		return incrementalBatchSize;
+	}
+
+	/**
+	 * @return Max. time in milliseconds to wait for more work items
+	 * 		before indexing a batch
+	 */
+	public long getIncrementalLatency() {
+		return incrementalLatency;
+	}
+
+	/**
+	 * @return true if the work items are persisted by the message broker
+	 */
+	public boolean isIncrementalPersistent() {
+		return incrementalPersistent;
+	}
+
+	/**
+	 * @return Time to live in milliseconds of the work items in the queue
+	 */
+	public long getIncrementalTimeToLive() {
+		return incrementalTimeToLive;
+	}
+
 	public boolean getUseCompoundFile() {
 		return useCompoundFile;
 	}
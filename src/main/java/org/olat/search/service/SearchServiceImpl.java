@@ -489,6 +489,9 @@ public class SearchServiceImpl implements SearchService, GenericEventListener {
 		if(statusStr.equals(FullIndexerStatus.STATUS_RUNNING)){
 			stopIndexing();
 		}
+		if(indexer != null) {
+			indexer.close();
+		}
 		try {
 			if (indexSearcherRefMgr != null) {
 				indexSearcherRefMgr.close();
@@ -67,6 +67,11 @@ public class ExcelDocument extends FileDocument {
 		return excelDocument.getLuceneDocument();
 	}
 
+	@Override
+	protected boolean isContentCacheable() {
+		return true;
+	}
+
 	@Override
 	protected FileContent readContent(VFSLeaf leaf) throws IOException, DocumentException {
 		
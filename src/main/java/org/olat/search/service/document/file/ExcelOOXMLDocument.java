@@ -75,6 +75,11 @@ public class ExcelOOXMLDocument extends FileDocument {
 		return officeDocument.getLuceneDocument();
 	}
 
+	@Override
+	protected boolean isContentCacheable() {
+		return true;
+	}
+
 	@Override
 	public FileContent readContent(VFSLeaf leaf) throws IOException, DocumentException {
 		//first step parse shared strings
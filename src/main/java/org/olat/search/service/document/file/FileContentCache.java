@@ -0,0 +1,216 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.search.service.document.file;
+
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.core.logging.Tracing;
+import org.olat.core.util.io.LimitedContentWriter;
+
+/**
+ * A cache on the disk for the text extracted from the files. The
+ * entries are keyed by the checksum of the file content, compressed
+ * and written / read in chunks, a large text is never copied as a whole
+ * in the memory. Small references map a fingerprint of the file (metadata,
+ * size and last modification) to the checksum, an unchanged file doesn't
+ * need to be read to find its entry. The entries are distributed in 256
+ * directories based on the first 2 characters of their key.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class FileContentCache {
+	
+	private static final Logger log = Tracing.createLoggerFor(FileContentCache.class);
+	
+	private static final int VERSION = 1;
+	private static final int CHUNK_SIZE = 8192;
+	private static final String SUFFIX = ".txt.gz";
+	private static final String REF_SUFFIX = ".ref";
+	
+	private final Path directory;
+	
+	public FileContentCache(File directory) {
+		this.directory = directory.toPath();
+	}
+	
+	/**
+	 * @param key The key (hex characters only)
+	 * @param maxChars The max. number of characters to read
+	 * @return The cached content or null if not in the cache
+	 */
+	public FileContent get(String key, int maxChars) {
+		Path file = getPath(key);
+		if(!Files.exists(file)) {
+			return null;
+		}
+		
+		try(InputStream in = new GZIPInputStream(Files.newInputStream(file), CHUNK_SIZE);
+				DataInputStream din = new DataInputStream(in)) {
+			if(din.readInt() != VERSION) {
+				return null;
+			}
+			String title = din.readBoolean() ? din.readUTF() : null;
+			
+			Reader reader = new InputStreamReader(din, StandardCharsets.UTF_8);
+			LimitedContentWriter writer = new LimitedContentWriter(CHUNK_SIZE, maxChars);
+			char[] buffer = new char[CHUNK_SIZE];
+			int read;
+			while(writer.accept() && (read = reader.read(buffer)) >= 0) {
+				writer.write(buffer, 0, read);
+			}
+			// mark the entry as used
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+			return new FileContent(title, writer.toString());
+		} catch (IOException e) {
+			log.warn("Cannot read cached content: {}", file, e);
+			return null;
+		}
+	}
+	
+	public void put(String key, FileContent content) {
+		if(content == null) return;
+		
+		Path file = getPath(key);
+		Path tmpFile = file.resolveSibling(key + ".tmp");
+		try {
+			Files.createDirectories(file.getParent());
+			try(OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmpFile), CHUNK_SIZE);
+					DataOutputStream dout = new DataOutputStream(out)) {
+				dout.writeInt(VERSION);
+				String title = content.getTitle();
+				dout.writeBoolean(title != null);
+				if(title != null) {
+					// writeUTF is limited to 64k bytes, a title is much shorter
+					dout.writeUTF(title.length() > 4096 ? title.substring(0, 4096) : title);
+				}
+				
+				Writer writer = new BufferedWriter(new OutputStreamWriter(dout, StandardCharsets.UTF_8), CHUNK_SIZE);
+				String text = content.getContent();
+				if(text != null) {
+					for(int i=0; i<text.length(); i+=CHUNK_SIZE) {
+						writer.write(text, i, Math.min(CHUNK_SIZE, text.length() - i));
+					}
+				}
+				writer.flush();
+			}
+			Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			log.warn("Cannot cache content: {}", file, e);
+			try {
+				Files.deleteIfExists(tmpFile);
+			} catch (IOException ex) {
+				log.debug("", ex);
+			}
+		}
+	}
+	
+	/**
+	 * @param fingerprint The fingerprint of the file (hex characters only)
+	 * @return The checksum of the content of the file or null if unknown
+	 */
+	public String getChecksum(String fingerprint) {
+		Path file = getPath(fingerprint, REF_SUFFIX);
+		try {
+			if(Files.exists(file)) {
+				String checksum = Files.readString(file, StandardCharsets.US_ASCII).trim();
+				Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+				return checksum.isEmpty() ? null : checksum;
+			}
+		} catch (IOException e) {
+			log.debug("Cannot read reference: {}", file, e);
+		}
+		return null;
+	}
+	
+	public void putChecksum(String fingerprint, String checksum) {
+		Path file = getPath(fingerprint, REF_SUFFIX);
+		try {
+			Files.createDirectories(file.getParent());
+			Files.writeString(file, checksum, StandardCharsets.US_ASCII);
+		} catch (IOException e) {
+			log.warn("Cannot write reference: {}", file, e);
+		}
+	}
+	
+	/**
+	 * Delete the entries not used since the specified time.
+	 * 
+	 * @param time The time in milliseconds
+	 * @return The number of deleted entries
+	 */
+	public int prune(long time) {
+		if(!Files.isDirectory(directory)) return 0;
+
+		AtomicInteger deleted = new AtomicInteger();
+		try(Stream<Path> files = Files.walk(directory, 2)) {
+			files.filter(Files::isRegularFile)
+				.filter(file -> isOlderThan(file, time))
+				.forEach(file -> {
+					try {
+						Files.delete(file);
+						deleted.incrementAndGet();
+					} catch (IOException e) {
+						log.warn("Cannot delete cached content: {}", file);
+					}
+				});
+		} catch (IOException e) {
+			log.error("Cannot prune the cache of extracted contents", e);
+		}
+		return deleted.get();
+	}
+	
+	private boolean isOlderThan(Path file, long time) {
+		try {
+			return Files.getLastModifiedTime(file).toMillis() < time;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+	
+	private Path getPath(String key) {
+		return getPath(key, SUFFIX);
+	}
+	
+	private Path getPath(String key, String suffix) {
+		return directory.resolve(key.substring(0, 2)).resolve(key + suffix);
+	}
+}
@@ -0,0 +1,335 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.search.service.document.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Logger;
+import org.olat.core.commons.services.vfs.VFSMetadata;
+import org.olat.core.logging.Tracing;
+import org.olat.core.util.vfs.LocalImpl;
+import org.olat.core.util.vfs.VFSLeaf;
+import org.olat.core.util.vfs.VFSStatus;
+
+/**
+ * The extraction stage of the file documents. The expensive formats
+ * (PDF, Office, OpenDocument) are parsed in a dedicated bounded pool:
+ * <ul>
+ *  <li>every file has a time budget, after it the file is indexed
+ *  	with its name only. This result is not cached, the file is parsed
+ *  	again by the next indexing.</li>
+ *  <li>every file reserves a share of the memory budget proportional
+ *  	to its size before being parsed, several large files are not
+ *  	parsed at the same time</li>
+ *  <li>the extracted text is saved in a cache on the disk, keyed by the
+ *  	checksum of the content. An unchanged file is not parsed again.</li>
+ * </ul>
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class FileContentExtractor {
+	
+	private static final Logger log = Tracing.createLoggerFor(FileContentExtractor.class);
+	
+	private final FileContentCache cache;
+	private final ThreadPoolExecutor executor;
+	private final Semaphore memoryBudget;
+	private final int memoryBudgetKB;
+	private final long timeout;
+	
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong timeouts = new AtomicLong();
+	
+	/**
+	 * @param cacheDirectory The directory of the cache or null to disable it
+	 * @param poolSize The number of threads parsing the files
+	 * @param timeout The time budget in milliseconds per file
+	 * @param memoryBudgetMB The memory budget in MB shared by the files parsed in parallel
+	 */
+	public FileContentExtractor(File cacheDirectory, int poolSize, long timeout, int memoryBudgetMB) {
+		cache = cacheDirectory == null ? null : new FileContentCache(cacheDirectory);
+		this.timeout = timeout;
+		memoryBudgetKB = Math.max(1, memoryBudgetMB) * 1024;
+		memoryBudget = new Semaphore(memoryBudgetKB, true);
+		int threads = Math.max(1, poolSize);
+		executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(), new ExtractorThreadFactory());
+	}
+	
+	public FileContent extract(VFSLeaf leaf, FileDocument document)
+	throws IOException, DocumentException, DocumentAccessException {
+		if(!document.isContentCacheable()) {
+			return document.readContent(leaf);
+		}
+		
+		String key = null;
+		if(cache != null) {
+			key = getCacheKey(leaf, document);
+			if(key != null) {
+				FileContent content = cache.get(key, FileDocumentFactory.getMaxFileSize());
+				if(content != null) {
+					hits.incrementAndGet();
+					return content;
+				}
+			}
+		}
+		
+		misses.incrementAndGet();
+		FileContent content = extractWithBudgets(leaf, document);
+		if(key != null && content != null && !(content instanceof TimedOutFileContent)) {
+			cache.put(key, content);
+		}
+		return content;
+	}
+	
+	private FileContent extractWithBudgets(VFSLeaf leaf, FileDocument document)
+	throws IOException, DocumentException, DocumentAccessException {
+		int permits = (int)Math.min(memoryBudgetKB, Math.max(1l, leaf.getSize() / 1024l));
+		try {
+			memoryBudget.acquire(permits);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DocumentException("Interrupted while waiting to extract: " + leaf.getName());
+		}
+		
+		ExtractionTask task = new ExtractionTask(leaf, document, permits);
+		Future<FileContent> future;
+		try {
+			future = executor.submit(task);
+		} catch (RuntimeException e) {
+			memoryBudget.release(permits);
+			throw e;
+		}
+		return await(leaf, task, future);
+	}
+	
+	private FileContent await(VFSLeaf leaf, ExtractionTask task, Future<FileContent> future)
+	throws IOException, DocumentException, DocumentAccessException {
+		try {
+			while(true) {
+				try {
+					return future.get(Math.max(1l, task.remaining(timeout)), TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					// the budget starts when the task starts, not in the queue
+					if(task.isStarted() && task.remaining(timeout) <= 0) {
+						future.cancel(true);
+						timeouts.incrementAndGet();
+						log.warn("Text extraction of {} takes more than {} ms, index the file name only", leaf.getName(), timeout);
+						return new TimedOutFileContent(leaf.getName());
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			if(!task.isStarted()) {
+				task.release();
+			}
+			Thread.currentThread().interrupt();
+			throw new DocumentException("Interrupted while extracting: " + leaf.getName());
+		} catch (CancellationException e) {
+			throw new DocumentException("Text extraction cancelled: " + leaf.getName());
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if(cause instanceof DocumentAccessException dae) {
+				throw dae;
+			} else if(cause instanceof DocumentException de) {
+				throw de;
+			} else if(cause instanceof IOException ioe) {
+				throw ioe;
+			}
+			throw new DocumentException("Cannot extract text: " + leaf.getName(), cause);
+		}
+	}
+	
+	/**
+	 * The key is the checksum of the content and the type of document. To
+	 * prevent reading the file, the checksum is saved with a fingerprint
+	 * of the file made of its metadata, its size and its last modification.
+	 * 
+	 * @return The key or null if the file cannot be read
+	 */
+	private String getCacheKey(VFSLeaf leaf, FileDocument document) {
+		String fingerprint = getFingerprint(leaf, document);
+		String checksum = fingerprint == null ? null : cache.getChecksum(fingerprint);
+		if(checksum == null) {
+			checksum = checksum(leaf);
+			if(checksum != null && fingerprint != null) {
+				cache.putChecksum(fingerprint, checksum);
+			}
+		}
+		return checksum == null ? null : checksum + "." + document.getContentCacheType();
+	}
+	
+	private String getFingerprint(VFSLeaf leaf, FileDocument document) {
+		String identifier = null;
+		if(leaf.canMeta() == VFSStatus.YES) {
+			VFSMetadata meta = leaf.getMetaInfo();
+			if(meta != null) {
+				identifier = meta.getUuid();
+			}
+		}
+		if(identifier == null && leaf instanceof LocalImpl localImpl) {
+			identifier = localImpl.getBasefile().getAbsolutePath();
+		}
+		if(identifier == null) {
+			return null;
+		}
+		return sha256(identifier + "|" + leaf.getSize() + "|" + leaf.getLastModified()
+				+ "|" + document.getContentCacheType());
+	}
+	
+	private String checksum(VFSLeaf leaf) {
+		try(InputStream in = leaf.getInputStream()) {
+			if(in == null) return null;
+			
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] buffer = new byte[65536];
+			int read;
+			while((read = in.read(buffer)) >= 0) {
+				digest.update(buffer, 0, read);
+			}
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (IOException | NoSuchAlgorithmException e) {
+			log.warn("Cannot calculate the checksum of: {}", leaf.getName(), e);
+			return null;
+		}
+	}
+	
+	private static String sha256(String value) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Delete the entries of the cache not used since the specified time.
+	 * 
+	 * @param time The time in milliseconds
+	 */
+	public void pruneCache(long time) {
+		if(cache != null) {
+			int deleted = cache.prune(time);
+			log.info("Text extraction cache pruned: {} entries deleted", deleted);
+		}
+	}
+	
+	public String getStatistics() {
+		return "hits: " + hits.get() + ", misses: " + misses.get() + ", timeouts: " + timeouts.get();
+	}
+	
+	public void resetStatistics() {
+		hits.set(0);
+		misses.set(0);
+		timeouts.set(0);
+	}
+	
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+	
+	private class ExtractionTask implements Callable<FileContent> {
+		
+		private final VFSLeaf leaf;
+		private final FileDocument document;
+		private final int permits;
+		private final AtomicBoolean released = new AtomicBoolean(false);
+		private volatile long startTime = 0l;
+		
+		public ExtractionTask(VFSLeaf leaf, FileDocument document, int permits) {
+			this.leaf = leaf;
+			this.document = document;
+			this.permits = permits;
+		}
+		
+		public boolean isStarted() {
+			return startTime > 0l;
+		}
+		
+		public void release() {
+			if(released.compareAndSet(false, true)) {
+				memoryBudget.release(permits);
+			}
+		}
+		
+		public long remaining(long budget) {
+			return startTime == 0l ? budget : budget - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+		}
+
+		@Override
+		public FileContent call() throws Exception {
+			startTime = System.nanoTime();
+			try {
+				return document.readContent(leaf);
+			} finally {
+				// released when the parser is really done, even after a timeout
+				release();
+			}
+		}
+	}
+	
+	private static class ExtractorThreadFactory implements ThreadFactory {
+		
+		private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "index-text-extractor-" + threadNumber.getAndIncrement());
+			t.setDaemon(true);
+			t.setPriority(Thread.MIN_PRIORITY);
+			return t;
+		}
+	}
+	
+	/**
+	 * The placeholder of a file which text cannot be extracted in the time
+	 * budget. It must not be cached.
+	 */
+	private static class TimedOutFileContent extends FileContent {
+		
+		public TimedOutFileContent(String filename) {
+			super(filename, filename);
+		}
+	}
+}
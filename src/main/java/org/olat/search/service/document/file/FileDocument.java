@@ -68,7 +68,7 @@ public abstract class FileDocument extends OlatDocument {
 			setDocumentType(TYPE);
 		}
 
-		FileContent content = readContent(leaf);
+		FileContent content = FileDocumentFactory.extractContent(leaf, this);
 		String metaTitle;
 		if(meta != null && StringHelper.containsNonWhitespace(meta.getTitle())) {
 			metaTitle = meta.getTitle();
@@ -183,6 +183,22 @@ public abstract class FileDocument extends OlatDocument {
 		}
 	}
 	
+	/**
+	 * @return true if the extraction of the content is expensive and its
+	 * 		result worth to be cached
+	 */
+	protected boolean isContentCacheable() {
+		return false;
+	}
+	
+	/**
+	 * @return The type of content in the cache, must change if the
+	 * 		extractor changes
+	 */
+	protected String getContentCacheType() {
+		return getClass().getSimpleName().toLowerCase();
+	}
+	
 	abstract protected FileContent readContent(VFSLeaf leaf) throws IOException, DocumentException, DocumentAccessException;
 
 }
@@ -25,8 +25,10 @@
 
 package org.olat.search.service.document.file;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.document.DateTools;
@@ -88,6 +90,7 @@ public class FileDocumentFactory {
 
   
 	private static SearchModule searchModule;
+	private static FileContentExtractor contentExtractor;
   
 	/**
 	 * [used by spring]
@@ -95,12 +98,51 @@ public class FileDocumentFactory {
 	 */
 	public FileDocumentFactory(SearchModule module) {
 		searchModule = module;
+		File cacheDirectory = module.isTextExtractionCacheEnabled() ? new File(module.getFullTextCachePath()) : null;
+		contentExtractor = new FileContentExtractor(cacheDirectory, module.getTextExtractionPoolSize(),
+				TimeUnit.SECONDS.toMillis(module.getTextExtractionTimeout()), module.getTextExtractionMemoryBudget());
+	}
+	
+	/**
+	 * [used by spring]
+	 */
+	public void destroy() {
+		if(contentExtractor != null) {
+			contentExtractor.shutdown();
+		}
 	}
 	
 	public static int getMaxFileSize() {
 		return searchModule == null ? 120000 : (int)searchModule.getMaxFileSize();
 	}
 	
+	/**
+	 * Extract the content of the file through the extraction stage (pool,
+	 * budgets and cache) or directly if the factory is not initialized.
+	 */
+	static FileContent extractContent(VFSLeaf leaf, FileDocument document)
+	throws IOException, DocumentException, DocumentAccessException {
+		if(contentExtractor == null) {
+			return document.readContent(leaf);
+		}
+		return contentExtractor.extract(leaf, document);
+	}
+	
+	/**
+	 * Log the statistics of the text extraction and delete the unused
+	 * entries of the cache.
+	 */
+	public static void fullIndexDone() {
+		if(contentExtractor != null) {
+			log.info("full indexing summary: text extraction: {}", contentExtractor.getStatistics());
+			contentExtractor.resetStatistics();
+			if(searchModule != null && searchModule.getTextExtractionCacheMaxAge() > 0) {
+				long maxAge = TimeUnit.DAYS.toMillis(searchModule.getTextExtractionCacheMaxAge());
+				contentExtractor.pruneCache(System.currentTimeMillis() - maxAge);
+			}
+		}
+	}
+	
 	private Document getDocumentFromCurrentIndex(SearchResourceContext leafResourceContext, VFSLeaf leaf) {
 		try {
 			String resourceUrl = leafResourceContext.getResourceUrl();
@@ -82,6 +82,11 @@ public class OpenDocument extends FileDocument {
 		return openDocument.getLuceneDocument();
 	}
 
+	@Override
+	protected boolean isContentCacheable() {
+		return true;
+	}
+
 	public FileContent readContent(VFSLeaf leaf) throws DocumentException {
 		final OpenDocumentHandler dh = new OpenDocumentHandler();
 
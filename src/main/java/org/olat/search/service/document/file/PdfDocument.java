@@ -67,6 +67,16 @@ public class PdfDocument extends FileDocument {
 		return textDocument.getLuceneDocument();
 	}
 
+	@Override
+	protected boolean isContentCacheable() {
+		return true;
+	}
+
+	@Override
+	protected String getContentCacheType() {
+		return externalIndexer ? "pdf-external" : "pdf";
+	}
+
 	@Override
 	protected FileContent readContent(VFSLeaf leaf) throws DocumentException, DocumentAccessException {
 		try {
@@ -68,6 +68,11 @@ public class PowerPointDocument extends FileDocument {
 		return powerPointDocument.getLuceneDocument();
 	}
 
+	@Override
+	protected boolean isContentCacheable() {
+		return true;
+	}
+
 	@Override
 	public FileContent readContent(VFSLeaf leaf) throws IOException,DocumentException {
 		if (log.isDebugEnabled()) log.debug("read PPT Content of leaf={}", leaf.getName());
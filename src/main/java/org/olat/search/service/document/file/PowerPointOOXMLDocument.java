@@ -73,6 +73,11 @@ public class PowerPointOOXMLDocument extends FileDocument {
 		return officeDocument.getLuceneDocument();
 	}
 
+	@Override
+	protected boolean isContentCacheable() {
+		return true;
+	}
+
 	@Override
 	public FileContent readContent(VFSLeaf leaf) throws IOException, DocumentException {
 		File file = ((JavaIOItem)leaf).getBasefile();
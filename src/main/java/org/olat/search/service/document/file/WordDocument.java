@@ -72,6 +72,11 @@ public class WordDocument extends FileDocument {
 		return wordDocument.getLuceneDocument();
 	}
 
+	@Override
+	protected boolean isContentCacheable() {
+		return true;
+	}
+
 	@Override
 	protected FileContent readContent(VFSLeaf leaf)
 	throws IOException, DocumentException {
@@ -90,6 +90,8 @@ public abstract class AbstractHierarchicalIndexer extends DefaultIndexer {
 	public void doIndex(SearchResourceContext searchResourceContext, Object object, OlatFullIndexer indexerWriter) throws IOException, InterruptedException {
 		for (Indexer indexer : childIndexers) {
 			if (log.isDebugEnabled()) log.debug("Start doIndex for indexer.typeName=" + indexer.getSupportedTypeName());
+			long start = System.nanoTime();
+			int documents = indexerWriter.getNumOfDocuments();
 			try {
 			  indexer.doIndex(searchResourceContext, object, indexerWriter);
 			} catch (InterruptedException iex) {
@@ -97,6 +99,9 @@ public abstract class AbstractHierarchicalIndexer extends DefaultIndexer {
 			} catch (Throwable ex) {
 				// FIXME:chg: Workaround to fix indexing-abort
 				log.warn("Exception in diIndex indexer.typeName=" + indexer.getSupportedTypeName(),ex);
+			} finally {
+				indexerWriter.indexerDone(indexer.getSupportedTypeName(),
+						indexerWriter.getNumOfDocuments() - documents, System.nanoTime() - start);
 			}
 		}
 	}
@@ -28,6 +28,9 @@ package org.olat.search.service.indexer;
 import java.util.Date;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.olat.core.CoreSpringFactory;
 import org.olat.search.service.document.file.FileDocumentFactory;
@@ -60,6 +63,11 @@ public class FullIndexerStatus {
 	private Map<String,Integer> documentCounters;
 	/** Hashtable with file-type-names as key and Integer-object as counters. */
 	private Map<String,Integer> fileTypeCounters;
+	/** Documents and time spent by the indexers during the full index, indexer type as key. */
+	private final Map<String,IndexerCounter> indexerCounters = new ConcurrentHashMap<>();
+	/** Resources, documents and time spent by the incremental indexing, work type as key. */
+	private final Map<String,IndexerCounter> incrementalCounters = new ConcurrentHashMap<>();
+	private long lastIncrementalCommitTime = 0;
 		
 	public FullIndexerStatus(int numberOfPartDocumentCounters) {
 		partDocumentCounters = new int[numberOfPartDocumentCounters];
@@ -142,6 +150,7 @@ public class FullIndexerStatus {
 		}
 		documentCounters = new Hashtable<>();
 		fileTypeCounters = new Hashtable<>();
+		indexerCounters.clear();
 		CoreSpringFactory.getImpl(FileDocumentFactory.class).resetExcludedFileSizeCount();
 	}
 
@@ -299,5 +308,85 @@ public class FullIndexerStatus {
 	public int getExcludedDocumentCount() {
 		return CoreSpringFactory.getImpl(FileDocumentFactory.class).getExcludedFileSizeCount();
 	}
+	
+	/**
+	 * Add a run of an indexer of the full index. The time includes the time
+	 * spent by the child indexers.
+	 * 
+	 * @param indexerType The type of the indexer
+	 * @param documents The number of documents added
+	 * @param durationNanos The time spent
+	 */
+	public void addIndexerRun(String indexerType, long documents, long durationNanos) {
+		indexerCounters.computeIfAbsent(indexerType, type -> new IndexerCounter())
+			.add(1, documents, durationNanos);
+	}
+	
+	/**
+	 * @return HTML formatted text with the indexer types and their throughput.
+	 */
+	public String getIndexerThroughputs() {
+		return toHtml(indexerCounters);
+	}
+	
+	/**
+	 * Add a batch of resources indexed incrementally.
+	 * 
+	 * @param workType The type of the work items
+	 * @param resources The number of resources (re)indexed or deleted
+	 * @param documents The number of documents added
+	 * @param durationNanos The time spent
+	 */
+	public void addIncrementalRun(String workType, long resources, long documents, long durationNanos) {
+		incrementalCounters.computeIfAbsent(workType, type -> new IndexerCounter())
+			.add(resources, documents, durationNanos);
+	}
+	
+	/**
+	 * @return HTML formatted text with the work types and the throughput of the incremental indexing.
+	 */
+	public String getIncrementalThroughputs() {
+		return toHtml(incrementalCounters);
+	}
+	
+	public void setLastIncrementalCommitTime(long time) {
+		lastIncrementalCommitTime = time;
+	}
+	
+	public String getLastIncrementalCommitDateString() {
+		return lastIncrementalCommitTime > 0 ? new Date(lastIncrementalCommitTime).toString() : "-";
+	}
+	
+	private String toHtml(Map<String,IndexerCounter> counters) {
+		StringBuilder buf = new StringBuilder(1024);
+		for (Map.Entry<String, IndexerCounter> counter : counters.entrySet()) {
+			buf.append(counter.getKey())
+			   .append("=")
+			   .append(counter.getValue())
+			   .append("<br />");
+		}
+		return buf.toString();
+	}
+	
+	private static class IndexerCounter {
+		
+		private final AtomicLong runs = new AtomicLong();
+		private final AtomicLong documents = new AtomicLong();
+		private final AtomicLong durationNanos = new AtomicLong();
+		
+		public void add(long numOfRuns, long numOfDocuments, long duration) {
+			runs.addAndGet(numOfRuns);
+			documents.addAndGet(numOfDocuments);
+			durationNanos.addAndGet(duration);
+		}
+		
+		@Override
+		public String toString() {
+			long docs = documents.get();
+			long millis = TimeUnit.NANOSECONDS.toMillis(durationNanos.get());
+			long perSecond = millis <= 0 ? docs : (docs * 1000l) / millis;
+			return runs.get() + " runs, " + docs + " documents in " + millis + " ms (" + perSecond + " documents/s)";
+		}
+	}
 
 }
@@ -0,0 +1,306 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.search.service.indexer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.olat.core.commons.persistence.DBFactory;
+import org.olat.core.logging.Tracing;
+import org.olat.search.SearchModule;
+import org.olat.search.model.AbstractOlatDocument;
+import org.olat.search.service.SearchResourceContext;
+
+/**
+ * Write the changes of single resources in the main index, between two
+ * full indexes. A resource is reindexed as a whole: all the documents
+ * with its resource URL as prefix are deleted and the incremental indexer
+ * adds them again.<br>
+ * The writer stays open and is committed after every batch of work items.
+ * While a full index is built, the resources are recorded and indexed again
+ * after the new index replaced the old one.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class IncrementalIndexWriter extends OlatFullIndexer {
+	
+	private static final Logger log = Tracing.createLoggerFor(IncrementalIndexWriter.class);
+	
+	private final String indexPath;
+	private final MainIndexer mainIndexer;
+	private final FullIndexerStatus fullIndexerStatus;
+	private final ReentrantLock lock = new ReentrantLock();
+	
+	private IndexWriter writer;
+	private boolean suspended = false;
+	private boolean uncommittedChanges = false;
+	private int documentCount = 0;
+	private Map<String,Set<Long>> recordedResources;
+	
+	public IncrementalIndexWriter(SearchModule searchModule, MainIndexer mainIndexer, FullIndexerStatus fullIndexerStatus) {
+		super(searchModule, fullIndexerStatus);
+		this.mainIndexer = mainIndexer;
+		this.fullIndexerStatus = fullIndexerStatus;
+		indexPath = searchModule.getFullIndexPath();
+	}
+	
+	public boolean supports(String workType) {
+		return getIndexer(workType) != null;
+	}
+	
+	private IncrementalIndexer getIndexer(String workType) {
+		for(Indexer indexer:mainIndexer.getChildIndexers()) {
+			if(indexer instanceof IncrementalIndexer incrementalIndexer
+					&& workType.equals(incrementalIndexer.getWorkTypeName())) {
+				return incrementalIndexer;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Index again the specified resources. The changes are visible
+	 * after the next commit.
+	 * 
+	 * @param workType The type of the work items
+	 * @param indexKeys The keys of the resources to index
+	 * @param deleteKeys The keys of the resources to remove from the index
+	 */
+	public void indexResources(String workType, Collection<Long> indexKeys, Collection<Long> deleteKeys) {
+		IncrementalIndexer indexer = getIndexer(workType);
+		if(indexer == null || (indexKeys.isEmpty() && deleteKeys.isEmpty())) return;
+
+		lock.lock();
+		try {
+			record(workType, indexKeys);
+			record(workType, deleteKeys);
+			
+			IndexWriter indexWriter = getWriter();
+			if(indexWriter == null) {
+				// suspended or no index yet, the full index will do the job
+				return;
+			}
+			
+			long start = System.nanoTime();
+			int documents = documentCount;
+			for(Long key:deleteKeys) {
+				deleteResource(indexer, key, indexWriter);
+			}
+			for(Long key:indexKeys) {
+				deleteResource(indexer, key, indexWriter);
+				try {
+					indexer.indexResource(new SearchResourceContext(), key, this);
+					DBFactory.getInstance().commitAndCloseSession();
+				} catch (InterruptedException e) {
+					DBFactory.getInstance().rollbackAndCloseSession();
+					Thread.currentThread().interrupt();
+					break;
+				} catch (Exception e) {
+					log.error("Cannot index resource: {} with key: {}", workType, key, e);
+					DBFactory.getInstance().rollbackAndCloseSession();
+				}
+			}
+			uncommittedChanges = true;
+			fullIndexerStatus.addIncrementalRun(workType, (long)indexKeys.size() + deleteKeys.size(),
+					(long)documentCount - documents, System.nanoTime() - start);
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	private void deleteResource(IncrementalIndexer indexer, Long key, IndexWriter indexWriter) {
+		try {
+			String prefix = indexer.getResourceUrlPrefix(key);
+			indexWriter.deleteDocuments(new PrefixQuery(new Term(AbstractOlatDocument.RESOURCEURL_FIELD_NAME, prefix)));
+		} catch (IOException e) {
+			log.error("Cannot delete documents of resource: {} with key: {}", indexer.getWorkTypeName(), key, e);
+		}
+	}
+	
+	/**
+	 * Commit the changes, they are visible for the searchers
+	 * after the commit.
+	 */
+	public void commit() {
+		lock.lock();
+		try {
+			if(writer != null && uncommittedChanges) {
+				writer.commit();
+				uncommittedChanges = false;
+				fullIndexerStatus.setLastIncrementalCommitTime(System.currentTimeMillis());
+			}
+		} catch (IOException e) {
+			log.error("Cannot commit the incremental changes of the index", e);
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Start to record the resources indexed incrementally, the
+	 * full index started.
+	 */
+	public void startRecording() {
+		lock.lock();
+		try {
+			recordedResources = new HashMap<>();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Close the writer and record the work until {@link #resume()}
+	 * is called, the main index will be replaced.
+	 */
+	public void suspend() {
+		lock.lock();
+		try {
+			suspended = true;
+			closeWriter();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Index again the resources changed during the full index.
+	 */
+	public void resume() {
+		Map<String,Set<Long>> resources;
+		lock.lock();
+		try {
+			suspended = false;
+			resources = recordedResources;
+			recordedResources = null;
+		} finally {
+			lock.unlock();
+		}
+		
+		if(resources != null && !resources.isEmpty()) {
+			for(Map.Entry<String,Set<Long>> entry:resources.entrySet()) {
+				indexResources(entry.getKey(), entry.getValue(), List.of());
+			}
+			commit();
+			log.info("Index again {} resource types changed during the full index", resources.size());
+		}
+	}
+	
+	public void close() {
+		lock.lock();
+		try {
+			suspended = true;
+			recordedResources = null;
+			closeWriter();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	private void record(String workType, Collection<Long> keys) {
+		if(recordedResources != null && !keys.isEmpty()) {
+			recordedResources.computeIfAbsent(workType, type -> new HashSet<>()).addAll(keys);
+		}
+	}
+	
+	private IndexWriter getWriter() {
+		if(suspended) return null;
+		
+		if(writer == null) {
+			try {
+				Directory directory = FSDirectory.open(new File(indexPath).toPath());
+				if(DirectoryReader.indexExists(directory)) {
+					writer = new IndexWriter(directory, newIndexWriterConfig());
+				} else {
+					directory.close();
+				}
+			} catch (IOException e) {
+				log.error("Cannot open the main index to write incremental changes", e);
+			}
+		}
+		return writer;
+	}
+	
+	private void closeWriter() {
+		if(writer != null) {
+			try {
+				writer.commit();
+				writer.close();
+			} catch (IOException e) {
+				log.error("", e);
+			} finally {
+				writer = null;
+				uncommittedChanges = false;
+			}
+		}
+	}
+
+	@Override
+	public void addDocument(Document document) throws InterruptedException {
+		if(document == null || writer == null) return;
+		
+		try {
+			writer.addDocument(document);
+			documentCount++;
+		} catch (IOException e) {
+			log.error("Cannot add document: {}", document.get(AbstractOlatDocument.RESOURCEURL_FIELD_NAME), e);
+		}
+	}
+
+	/**
+	 * The tasks run in the thread of the incremental indexing.
+	 */
+	@Override
+	public Future<Boolean> submit(Callable<Boolean> task) {
+		FutureTask<Boolean> future = new FutureTask<>(task);
+		future.run();
+		return future;
+	}
+
+	@Override
+	public int getNumOfDocuments() {
+		return documentCount;
+	}
+
+	@Override
+	public void indexerDone(String indexerType, long documents, long durationNanos) {
+		// the statistics are collected by work type
+	}
+}
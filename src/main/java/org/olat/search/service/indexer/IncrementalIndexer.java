@@ -0,0 +1,68 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.search.service.indexer;
+
+import java.io.IOException;
+
+import org.olat.core.util.resource.OresHelper;
+import org.olat.search.service.SearchResourceContext;
+
+/**
+ * An indexer of the main index which can index a single resource and
+ * its sub-resources, e.g. a repository entry with all its course
+ * elements, instead of the whole tree.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public interface IncrementalIndexer extends Indexer {
+	
+	/**
+	 * @return The type of the work items sent to the life indexer
+	 * 		which this indexer handles
+	 */
+	public String getWorkTypeName();
+	
+	/**
+	 * All the documents of the resource and of its sub-resources have
+	 * a resource URL which starts with this prefix.
+	 * 
+	 * @param key The primary key of the resource
+	 * @return The prefix of the resource URL
+	 */
+	public default String getResourceUrlPrefix(Long key) {
+		SearchResourceContext searchResourceContext = new SearchResourceContext();
+		searchResourceContext.setBusinessControlFor(OresHelper.createOLATResourceableInstance(getSupportedTypeName(), key));
+		return searchResourceContext.getResourceUrl();
+	}
+	
+	/**
+	 * Index the resource and its sub-resources. If the resource doesn't
+	 * exist anymore or must not be indexed, simply add nothing.
+	 * 
+	 * @param parentResourceContext The context of the parent, the main indexer
+	 * @param key The primary key of the resource
+	 * @param indexWriter The writer
+	 */
+	public void indexResource(SearchResourceContext parentResourceContext, Long key, OlatFullIndexer indexWriter)
+	throws IOException, InterruptedException;
+
+}
@@ -56,6 +56,7 @@ public class Index {
 	private OlatFullIndexer fullIndexer;
 	private SearchSpellChecker spellChecker;
 	private LifeFullIndexer lifeIndexer;
+	private IncrementalIndexWriter incrementalIndexWriter;
 
 	/**
 	 * 
@@ -69,6 +70,10 @@ public class Index {
 		this.lifeIndexer = lifeIndexer;
 		
 		fullIndexer = new OlatFullIndexer(this, searchModule, searchService, mainIndexer, coordinatorManager);
+		if(searchModule.isIncrementalIndexing()) {
+			incrementalIndexWriter = new IncrementalIndexWriter(searchModule, mainIndexer, fullIndexer.getStatus());
+			lifeIndexer.setIncrementalIndexer(incrementalIndexWriter);
+		}
 	}
 
 	/**
@@ -78,6 +83,9 @@ public class Index {
 		// do not start search engine in test mode, some repository tests might lead to nullpointers
 		// since only dummy entries are generated (or fix the search service to handle those correctly)
 		if (!Settings.isJUnitTest()) {
+			if(incrementalIndexWriter != null) {
+				incrementalIndexWriter.startRecording();
+			}
 			lifeIndexer.fullIndex();
 			fullIndexer.startIndexing();
 		}
@@ -88,6 +96,20 @@ public class Index {
 	 */
 	public void stopFullIndex() {
 		fullIndexer.stopIndexing();
+		if(incrementalIndexWriter != null) {
+			// no new index, index the recorded resources in the current one
+			incrementalIndexWriter.resume();
+		}
+	}
+	
+	/**
+	 * Close the writer of the incremental changes.
+	 */
+	public void close() {
+		if(incrementalIndexWriter != null) {
+			lifeIndexer.setIncrementalIndexer(null);
+			incrementalIndexWriter.close();
+		}
 	}
 
 	/**
@@ -129,9 +151,19 @@ public class Index {
 		if (log.isDebugEnabled())  log.debug("Copy new generated Index from '" + tempIndexPath + "/main" + "' to '" + indexPath + "'");
 		// Delete existing index files
 		File tempIndexDir = new File(tempIndexPath);
-		FileUtils.deleteDirsAndFiles(indexDir, true, false);
-		FileUtils.copyDirContentsToDir(new File(tempIndexDir, "main") , indexDir ,true, "search indexer move tmp index");
-		log.info("New generated Index ready to use." );
+		if(incrementalIndexWriter != null) {
+			incrementalIndexWriter.suspend();
+		}
+		try {
+			FileUtils.deleteDirsAndFiles(indexDir, true, false);
+			FileUtils.copyDirContentsToDir(new File(tempIndexDir, "main") , indexDir ,true, "search indexer move tmp index");
+			log.info("New generated Index ready to use." );
+		} finally {
+			if(incrementalIndexWriter != null) {
+				// catch up with the changes made during the full index
+				incrementalIndexWriter.resume();
+			}
+		}
 		
 		spellChecker.createSpellIndex();
 	}
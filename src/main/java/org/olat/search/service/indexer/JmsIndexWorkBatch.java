@@ -0,0 +1,130 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.search.service.indexer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collect the work units received by the life indexer and coalesce
+ * them per type and key: only the last action sent for a resource is
+ * done, once.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class JmsIndexWorkBatch {
+	
+	private int size = 0;
+	private int received = 0;
+	private boolean redelivered = false;
+	private final Map<String,Map<Long,String>> actionsByType = new LinkedHashMap<>();
+	
+	public void add(JmsIndexWork workUnit) {
+		if(workUnit == null || workUnit.getIndexType() == null || workUnit.getKeyList() == null) return;
+		
+		received++;
+		Map<Long,String> actions = actionsByType
+				.computeIfAbsent(workUnit.getIndexType(), type -> new LinkedHashMap<>());
+		for(Long key:workUnit.getKeyList()) {
+			if(key != null && actions.put(key, workUnit.getAction()) == null) {
+				size++;
+			}
+		}
+	}
+	
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * @return The number of distinct resources in the batch
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @return The number of work units received
+	 */
+	public int getReceived() {
+		return received;
+	}
+	
+	/**
+	 * @return true if at least one message of the batch was already delivered
+	 */
+	public boolean isRedelivered() {
+		return redelivered;
+	}
+	
+	public void setRedelivered(boolean redelivered) {
+		this.redelivered = redelivered;
+	}
+	
+	public Set<String> getTypes() {
+		return actionsByType.keySet();
+	}
+	
+	/**
+	 * @param type The type of resource
+	 * @param action The action (index or delete)
+	 * @return The keys of the resources which last action is the specified one
+	 */
+	public List<Long> getKeys(String type, String action) {
+		Map<Long,String> actions = actionsByType.get(type);
+		if(actions == null) {
+			return Collections.emptyList();
+		}
+		
+		List<Long> keys = new ArrayList<>(actions.size());
+		for(Map.Entry<Long,String> entry:actions.entrySet()) {
+			if(action.equals(entry.getValue())) {
+				keys.add(entry.getKey());
+			}
+		}
+		return keys;
+	}
+	
+	/**
+	 * @return A batch per resource with its last action
+	 */
+	public List<JmsIndexWorkBatch> split() {
+		List<JmsIndexWorkBatch> batches = new ArrayList<>(size);
+		for(Map.Entry<String,Map<Long,String>> typeEntry:actionsByType.entrySet()) {
+			for(Map.Entry<Long,String> entry:typeEntry.getValue().entrySet()) {
+				JmsIndexWorkBatch batch = new JmsIndexWorkBatch();
+				batch.add(new JmsIndexWork(entry.getValue(), typeEntry.getKey(), entry.getKey()));
+				batches.add(batch);
+			}
+		}
+		return batches;
+	}
+	
+	@Override
+	public String toString() {
+		return "indexWorkBatch[" + actionsByType + "]";
+	}
+}
@@ -22,15 +22,14 @@ package org.olat.search.service.indexer;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.jms.ConnectionFactory;
 import jakarta.jms.DeliveryMode;
 import jakarta.jms.JMSException;
 import jakarta.jms.Message;
 import jakarta.jms.MessageConsumer;
-import jakarta.jms.MessageListener;
 import jakarta.jms.ObjectMessage;
 import jakarta.jms.Queue;
 import jakarta.jms.QueueConnection;
@@ -42,16 +41,12 @@ import org.apache.logging.log4j.Logger;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
-import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.IndexWriterConfig.OpenMode;
 import org.apache.lucene.index.LogDocMergePolicy;
 import org.apache.lucene.index.LogMergePolicy;
 import org.apache.lucene.index.Term;
-import org.apache.lucene.search.IndexSearcher;
-import org.apache.lucene.search.TermQuery;
-import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
 import org.olat.core.commons.persistence.DBFactory;
@@ -62,12 +57,17 @@ import org.olat.search.SearchModule;
 import org.olat.search.model.AbstractOlatDocument;
 
 /**
+ * The life indexer. The work items are sent to a persistent JMS queue,
+ * the indexing node consumes them in batches: the items are coalesced
+ * per type and key, the life indexers and the incremental writer of the
+ * main index process them and the messages are acknowledged after the
+ * changes are committed.
  * 
  * Initial date: 04.03.2013<br>
  * @author srosse, stephane.rosse@frentix.com, http://www.frentix.com
  *
  */
-public class JmsIndexer implements MessageListener, LifeFullIndexer, ConfigOnOff {
+public class JmsIndexer implements LifeFullIndexer, ConfigOnOff {
 	private static final int INDEX_MERGE_FACTOR = 1000;
 	private static final Logger log = Tracing.createLoggerFor(JmsIndexer.class);
 	
@@ -81,11 +81,18 @@ public class JmsIndexer implements MessageListener, LifeFullIndexer, ConfigOnOff
 	private CoordinatorManager coordinatorManager;
 
 	private String permanentIndexPath;
-	private DirectoryReader reader;
 	private IndexWriterHolder permanentIndexWriter;
+	private IncrementalIndexWriter incrementalIndexer;
 	
 	private double ramBufferSizeMB;
 	private boolean indexingNode;
+	private int batchSize;
+	private long batchLatency;
+	private int deliveryMode;
+	private long timeToLive;
+	
+	private Thread consumerThread;
+	private volatile boolean running;
 
 	private FullIndexerStatus fullIndexerStatus;
 
@@ -95,6 +102,10 @@ public class JmsIndexer implements MessageListener, LifeFullIndexer, ConfigOnOff
 		indexingNode = searchModuleConfig.isSearchServiceEnabled();
 		ramBufferSizeMB = searchModuleConfig.getRAMBufferSizeMB();
 		permanentIndexPath = searchModuleConfig.getFullPermanentIndexPath();
+		batchSize = Math.max(1, searchModuleConfig.getIncrementalBatchSize());
+		batchLatency = Math.max(0l, searchModuleConfig.getIncrementalLatency());
+		deliveryMode = searchModuleConfig.isIncrementalPersistent() ? DeliveryMode.PERSISTENT : DeliveryMode.NON_PERSISTENT;
+		timeToLive = searchModuleConfig.getIncrementalTimeToLive() > 0l ? searchModuleConfig.getIncrementalTimeToLive() : 120000l;
 		fullIndexerStatus = new FullIndexerStatus(0);
 		this.coordinatorManager = coordinatorManager;
 	}
@@ -140,6 +151,11 @@ public class JmsIndexer implements MessageListener, LifeFullIndexer, ConfigOnOff
 		}
 	}
 
+	@Override
+	public void setIncrementalIndexer(IncrementalIndexWriter incrementalIndexer) {
+		this.incrementalIndexer = incrementalIndexer;
+	}
+
 	@Override
 	public void addIndexer(LifeIndexer indexer) {
 		indexers.add(indexer);
@@ -170,10 +186,13 @@ public class JmsIndexer implements MessageListener, LifeFullIndexer, ConfigOnOff
 		log.info("springInit: JMS connection started with connectionFactory={}", connectionFactory);
 
 		if(indexingNode) {
-			//listen to the queue only if indexing node
-			indexerSession = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+			//listen to the queue only if indexing node, acknowledge the messages after the batch is done
+			indexerSession = connection.createSession(false, Session.CLIENT_ACKNOWLEDGE);
 			consumer = indexerSession.createConsumer(jmsQueue);
-			consumer.setMessageListener(this);
+			running = true;
+			consumerThread = new Thread(this::consume, "Index-Work-Consumer");
+			consumerThread.setDaemon(true);
+			consumerThread.start();
 		}
 	}
 	
@@ -189,7 +208,6 @@ public class JmsIndexer implements MessageListener, LifeFullIndexer, ConfigOnOff
 					coordinatorManager.getCoordinator().getEventBus().fireEventToListenersOf(event, IndexerEvent.INDEX_ORES);
 				}
 			}
-			reader = DirectoryReader.open(indexPath);
 		} catch (IOException e) {
 			log.error("", e);
 		}
@@ -220,6 +238,14 @@ public class JmsIndexer implements MessageListener, LifeFullIndexer, ConfigOnOff
 	}
 	
 	public void closeQueue() {
+		running = false;
+		if(consumerThread != null) {
+			try {
+				consumerThread.join(10000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
 		if(consumer != null) {
 			try {
 				consumer.close();
@@ -277,7 +303,8 @@ public class JmsIndexer implements MessageListener, LifeFullIndexer, ConfigOnOff
 				QueueSender sender = session.createSender(getJmsQueue())) {
 			ObjectMessage message = session.createObjectMessage();
 			message.setObject(workUnit);
-			sender.send(message, DeliveryMode.NON_PERSISTENT, 3, 120000);
+			// the work items expire, the queue doesn't grow if no node consumes it
+			sender.send(message, deliveryMode, 3, timeToLive);
 		} catch (JMSException e) {
 			log.error("", e );
 		}
@@ -285,64 +312,126 @@ public class JmsIndexer implements MessageListener, LifeFullIndexer, ConfigOnOff
 
 	@Override
 	public void deleteDocument(String type, Long key) {
-		indexDocument(type, Collections.singletonList(key));
+		sendMessage(new JmsIndexWork(JmsIndexWork.DELETE, type, key));
 	}
 
-	@Override
-	public void onMessage(Message message) {
-		if(message instanceof ObjectMessage objMsg) {
+	private void consume() {
+		while(running) {
+			JmsIndexWorkBatch batch = new JmsIndexWorkBatch();
+			Message last = null;
 			try {
-				JmsIndexWork workUnit = (JmsIndexWork)objMsg.getObject();
-				if(JmsIndexWork.INDEX.equals(workUnit.getAction())) {
-					doIndex(workUnit);
-				} else if(JmsIndexWork.DELETE.equals(workUnit.getAction())) {
-					doDelete(workUnit);
+				last = receive(batch);
+				if(last != null) {
+					if(isEnabled()) {
+						processBatch(batch);
+					}
+					last.acknowledge();
 				}
-				message.acknowledge();
-			} catch (JMSException e) {
-				log.error("", e);
+			} catch (Exception e) {
+				log.error("Cannot process a batch of {} index work items", batch.getReceived(), e);
+				recover(last, batch);
 			} finally {
 				DBFactory.getInstance().commitAndCloseSession();
 			}
 		}
 	}
 	
-	private void doIndex(JmsIndexWork workUnit) {
-		if(isEnabled()) {
-			String type = workUnit.getIndexType();
-			List<LifeIndexer> lifeIndexers = getIndexerByType(type);
-			for(LifeIndexer indexer:lifeIndexers) {
-				indexer.indexDocument(workUnit.getKeyList(), this);
+	/**
+	 * Wait for the first message and collect the following ones until
+	 * the batch is full or the latency is reached.
+	 * 
+	 * @param batch The batch to fill
+	 * @return The last message received or null
+	 * @throws JMSException
+	 */
+	private Message receive(JmsIndexWorkBatch batch) throws JMSException {
+		Message last = null;
+		Message message = consumer.receive(1000);
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchLatency);
+		while(message != null) {
+			last = message;
+			if(message.getJMSRedelivered()) {
+				batch.setRedelivered(true);
+			}
+			if(message instanceof ObjectMessage objMsg && objMsg.getObject() instanceof JmsIndexWork workUnit) {
+				batch.add(workUnit);
 			}
+			
+			long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if(batch.getReceived() >= batchSize || remaining <= 0 || !running) {
+				break;
+			}
+			message = consumer.receive(remaining);
 		}
+		return last;
 	}
 	
-	private void doDelete(JmsIndexWork workUnit) {
-		if(isEnabled()) {
-			String type = workUnit.getIndexType();
-			List<LifeIndexer> lifeIndexers = getIndexerByType(type);
-			for(LifeIndexer indexer:lifeIndexers) {
-				if(workUnit.getKeyList() != null && !workUnit.getKeyList().isEmpty()) {
-					for(Long key:workUnit.getKeyList()) {
-						indexer.deleteDocument(key, this);
-					}
+	private void recover(Message last, JmsIndexWorkBatch batch) {
+		try {
+			if(last != null && batch.isRedelivered()) {
+				// failed twice, retry the resources one by one and drop only the failing ones
+				processOneByOne(batch);
+				last.acknowledge();
+			} else {
+				// the messages not acknowledged will be delivered again
+				indexerSession.recover();
+			}
+			Thread.sleep(1000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			running = false;
+		} catch (Exception e) {
+			log.error("", e);
+		}
+	}
+	
+	private void processOneByOne(JmsIndexWorkBatch batch) {
+		DBFactory.getInstance().rollbackAndCloseSession();
+		for(JmsIndexWorkBatch singleBatch:batch.split()) {
+			try {
+				if(isEnabled()) {
+					processBatch(singleBatch);
 				}
+				DBFactory.getInstance().commitAndCloseSession();
+			} catch (Exception e) {
+				// the next full index will catch up
+				log.error("Drop an index work item which failed twice: {}", singleBatch, e);
+				DBFactory.getInstance().rollbackAndCloseSession();
 			}
 		}
 	}
 	
-	private DirectoryReader getReader() throws IOException {
-		if(reader == null) {
-			File tempIndexDir = new File(permanentIndexPath);
-			Directory indexPath = FSDirectory.open(tempIndexDir.toPath());
-			reader = DirectoryReader.open(indexPath);
-		} else {
-			DirectoryReader newReader = DirectoryReader.openIfChanged(reader);
-			if(newReader != null) {
-				reader = newReader;
+	private void processBatch(JmsIndexWorkBatch batch) throws IOException {
+		long start = System.nanoTime();
+		// hold the writer for the whole batch, it's committed once at the end
+		IndexWriter writer = permanentIndexWriter.getAndLock();
+		try {
+			for(String type:batch.getTypes()) {
+				List<Long> indexKeys = batch.getKeys(type, JmsIndexWork.INDEX);
+				List<Long> deleteKeys = batch.getKeys(type, JmsIndexWork.DELETE);
+				for(LifeIndexer indexer:getIndexerByType(type)) {
+					if(!indexKeys.isEmpty()) {
+						indexer.indexDocument(indexKeys, this);
+					}
+					for(Long key:deleteKeys) {
+						indexer.deleteDocument(key, this);
+					}
+				}
+				if(incrementalIndexer != null && incrementalIndexer.supports(type)) {
+					incrementalIndexer.indexResources(type, indexKeys, deleteKeys);
+				}
 			}
+		} finally {
+			permanentIndexWriter.release(writer);
+		}
+		
+		if(incrementalIndexer != null) {
+			incrementalIndexer.commit();
+		}
+		if(log.isDebugEnabled()) {
+			log.debug("Index batch of {} work items ({} resources) in {} ms", batch.getReceived(), batch.size(),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 		}
-		return reader;
 	}
 
 	@Override
@@ -380,20 +469,12 @@ public class JmsIndexer implements MessageListener, LifeFullIndexer, ConfigOnOff
 		
 		IndexWriter writer = null;
 		try {
-			DirectoryReader currentReader = getReader();
-			IndexSearcher searcher = new IndexSearcher(currentReader);
 			writer = permanentIndexWriter.getAndLock();
-			
 			for(Document document:documents) {
 				if(document != null) {
 					String resourceUrl = document.get(AbstractOlatDocument.RESOURCEURL_FIELD_NAME);
-					Term uuidTerm = new Term(AbstractOlatDocument.RESOURCEURL_FIELD_NAME, resourceUrl);
-					TopDocs hits = searcher.search(new TermQuery(uuidTerm), 10);
-					if(hits.totalHits > 0) {
-						writer.updateDocument(uuidTerm, document);
-					} else {
-						writer.addDocument(document);
-					}
+					// delete the previous version if any and add the new one
+					writer.updateDocument(new Term(AbstractOlatDocument.RESOURCEURL_FIELD_NAME, resourceUrl), document);
 				}
 			}
 		} catch (IOException e) {
@@ -407,15 +488,7 @@ public class JmsIndexer implements MessageListener, LifeFullIndexer, ConfigOnOff
 	public void addDocument(Document document, IndexWriter writer) {
 		try {
 			String resourceUrl = document.get(AbstractOlatDocument.RESOURCEURL_FIELD_NAME);
-			Term uuidTerm = new Term(AbstractOlatDocument.RESOURCEURL_FIELD_NAME, resourceUrl);
-			DirectoryReader currentReader = getReader();
-			IndexSearcher searcher = new IndexSearcher(currentReader);
-			TopDocs hits = searcher.search(new TermQuery(uuidTerm), 10);
-			if(hits.totalHits > 0) {
-				writer.updateDocument(uuidTerm, document);
-			} else {
-				writer.addDocument(document);
-			}
+			writer.updateDocument(new Term(AbstractOlatDocument.RESOURCEURL_FIELD_NAME, resourceUrl), document);
 		} catch (IOException e) {
 			log.error("", e);
 		}
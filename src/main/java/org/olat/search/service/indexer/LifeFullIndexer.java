@@ -35,6 +35,12 @@ public interface LifeFullIndexer {
 	
 	public void addIndexer(LifeIndexer indexer);
 	
+	/**
+	 * Set the writer which indexes the changes in the main index.
+	 * @param incrementalIndexer The writer or null to disable it
+	 */
+	public void setIncrementalIndexer(IncrementalIndexWriter incrementalIndexer);
+	
 	/**
 	 * Start a full index
 	 */
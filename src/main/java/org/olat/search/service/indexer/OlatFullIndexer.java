@@ -65,6 +65,7 @@ import org.olat.search.SearchModule;
 import org.olat.search.SearchService;
 import org.olat.search.model.AbstractOlatDocument;
 import org.olat.search.service.SearchResourceContext;
+import org.olat.search.service.document.file.FileDocumentFactory;
 
 /**
  * Controls the hole generation of a full-index. It run in its own thread the main index.
@@ -152,6 +153,28 @@ public class OlatFullIndexer {
 		resetDocumentCounters();
 	}
 	
+	/**
+	 * Constructor for the writers which index only a part of the main
+	 * index, without executors and without a temporary index.
+	 * 
+	 * @param searchModule The configuration
+	 * @param fullIndexerStatus The status where to collect the statistics
+	 */
+	protected OlatFullIndexer(SearchModule searchModule, FullIndexerStatus fullIndexerStatus) {
+		this.index = null;
+		this.mainIndexer = null;
+		this.searchService = null;
+		this.coordinatorManager = null;
+		this.fullIndexerStatus = fullIndexerStatus;
+		indexerPoolSize = 1;
+		indexPath = searchModule.getFullIndexPath();
+		tempIndexPath = searchModule.getFullTempIndexPath();
+		ramBufferSizeMB = searchModule.getRAMBufferSizeMB();
+		indexInterval = 0;
+		stopIndexing = false;
+		resetDocumentCounters();
+	}
+	
 	private void initStatus() {
 		File indexDir = new File(indexPath);
 		if (indexDir.exists()) {
@@ -322,6 +345,7 @@ public class OlatFullIndexer {
 			log.info("full indexing summary: document counters: {}", status.getDocumentCounters());
 			log.info("full indexing summary: file type counters:{}", status.getFileTypeCounters());
 			log.info("full indexing summary: excluded counter:  {}", status.getExcludedDocumentCount());
+			FileDocumentFactory.fullIndexDone();
 
 		} catch(InterruptedException iex) {
 			log.info("FullIndexer was interrupted ;{}", iex.getMessage());
@@ -412,6 +436,24 @@ public class OlatFullIndexer {
 		}		
 	}
 
+	/**
+	 * @return The number of documents added by this writer
+	 */
+	public int getNumOfDocuments() {
+		return fullIndexerStatus.getDocumentCount();
+	}
+	
+	/**
+	 * Collect the number of documents and the time spent by an indexer.
+	 * 
+	 * @param indexerType The type of the indexer
+	 * @param documents The number of documents added
+	 * @param durationNanos The time spent
+	 */
+	public void indexerDone(String indexerType, long documents, long durationNanos) {
+		fullIndexerStatus.addIndexerRun(indexerType, documents, durationNanos);
+	}
+
 	/**
 	 * @return  Return current full-indexer status.
 	 */
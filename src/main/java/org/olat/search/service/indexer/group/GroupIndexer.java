@@ -48,13 +48,14 @@ import org.olat.resource.accesscontrol.AccessControlModule;
 import org.olat.search.service.SearchResourceContext;
 import org.olat.search.service.document.GroupDocument;
 import org.olat.search.service.indexer.AbstractHierarchicalIndexer;
+import org.olat.search.service.indexer.IncrementalIndexer;
 import org.olat.search.service.indexer.OlatFullIndexer;
 
 /**
  * Index all business-groups. Includes group-forums and groups-folders. 
  * @author Christian Guretzki
  */
-public class GroupIndexer extends AbstractHierarchicalIndexer {
+public class GroupIndexer extends AbstractHierarchicalIndexer implements IncrementalIndexer {
 	
 	private static final Logger log = Tracing.createLoggerFor(GroupIndexer.class);
 	
@@ -97,13 +98,7 @@ public class GroupIndexer extends AbstractHierarchicalIndexer {
 				}
 				businessGroup = reloadedBusinessGroup;
 				
-				if (log.isDebugEnabled()) log.debug("Index BusinessGroup={}", businessGroup);
-				SearchResourceContext searchResourceContext = new SearchResourceContext(parentResourceContext);
-				searchResourceContext.setBusinessControlFor(businessGroup);
-				Document document = GroupDocument.createDocument(searchResourceContext, businessGroup);
-				indexWriter.addDocument(document);
-		    // Do index child 
-			  super.doIndex(searchResourceContext, businessGroup, indexWriter);
+				indexBusinessGroup(parentResourceContext, businessGroup, indexWriter);
 			} catch(Exception ex) {
 				log.error("Exception indexing group={}", businessGroup, ex);
 				DBFactory.getInstance().rollbackAndCloseSession();
@@ -117,6 +112,26 @@ public class GroupIndexer extends AbstractHierarchicalIndexer {
 		if (log.isDebugEnabled()) log.debug("GroupIndexer finished in {} ms", indexTime);
 	}
 
+	@Override
+	public void indexResource(SearchResourceContext parentResourceContext, Long key, OlatFullIndexer indexWriter)
+	throws IOException, InterruptedException {
+		BusinessGroup businessGroup = businessGroupService.loadBusinessGroup(key);
+		if(businessGroup != null) {
+			indexBusinessGroup(parentResourceContext, businessGroup, indexWriter);
+		}
+	}
+	
+	private void indexBusinessGroup(SearchResourceContext parentResourceContext, BusinessGroup businessGroup, OlatFullIndexer indexWriter)
+	throws IOException, InterruptedException {
+		if (log.isDebugEnabled()) log.debug("Index BusinessGroup={}", businessGroup);
+		SearchResourceContext searchResourceContext = new SearchResourceContext(parentResourceContext);
+		searchResourceContext.setBusinessControlFor(businessGroup);
+		Document document = GroupDocument.createDocument(searchResourceContext, businessGroup);
+		indexWriter.addDocument(document);
+		// Do index child 
+		super.doIndex(searchResourceContext, businessGroup, indexWriter);
+	}
+
 	@Override
 	public boolean checkAccess(ContextEntry contextEntry, BusinessControl businessControl, Identity identity, Roles roles) {
 		if(roles.isGuestOnly()) {
@@ -156,4 +171,9 @@ public class GroupIndexer extends AbstractHierarchicalIndexer {
 	public String getSupportedTypeName() {
 		return OresHelper.calculateTypeName(BusinessGroup.class);
 	}
+
+	@Override
+	public String getWorkTypeName() {
+		return GroupDocument.TYPE;
+	}
 }
@@ -54,7 +54,9 @@ import org.olat.resource.accesscontrol.provider.free.FreeAccessHandler;
 import org.olat.resource.accesscontrol.provider.paypal.PaypalAccessHandler;
 import org.olat.search.SearchModule;
 import org.olat.search.service.SearchResourceContext;
+import org.olat.search.service.document.RepositoryEntryDocument;
 import org.olat.search.service.indexer.AbstractHierarchicalIndexer;
+import org.olat.search.service.indexer.IncrementalIndexer;
 import org.olat.search.service.indexer.Indexer;
 import org.olat.search.service.indexer.OlatFullIndexer;
 
@@ -63,7 +65,7 @@ import org.olat.search.service.indexer.OlatFullIndexer;
  * @author Christian Guretzki
  * 
  */
-public class RepositoryIndexer extends AbstractHierarchicalIndexer {
+public class RepositoryIndexer extends AbstractHierarchicalIndexer implements IncrementalIndexer {
 
 	private static final Logger log = Tracing.createLoggerFor(RepositoryIndexer.class);
 	
@@ -159,26 +161,7 @@ public class RepositoryIndexer extends AbstractHierarchicalIndexer {
 					if (debug) {
 						log.debug("Index repositoryEntry={} counter={} with ResourceableId={}", repositoryEntry, counter, repositoryEntry.getOlatResource().getResourceableId());
 					}
-					if (!isOnBlacklist(repositoryEntry.getOlatResource().getResourceableId()) ) {
-						SearchResourceContext searchResourceContext = new SearchResourceContext(parentResourceContext);
-						searchResourceContext.setBusinessControlFor(repositoryEntry);
-						searchResourceContext.setTitle(repositoryEntry.getDisplayname());
-						searchResourceContext.setDescription(repositoryEntry.getDescription());
-						Document document = documentFactory.createDocument(searchResourceContext, repositoryEntry);
-						indexWriter.addDocument(document);
-						// Pass created-date & modified-date in context to child indexer because the child have no dates
-						searchResourceContext.setLastModified(repositoryEntry.getLastModified());
-						searchResourceContext.setCreatedDate(repositoryEntry.getCreationDate());
-						// go further with resource
-						Indexer repositoryEntryIndexer = getRepositoryEntryIndexer(repositoryEntry);
-						if (repositoryEntryIndexer != null) {
-							repositoryEntryIndexer.doIndex(searchResourceContext, repositoryEntry, indexWriter);
-						} else if (debug) {
-							log.debug("No RepositoryEntryIndexer for {}", repositoryEntry.getOlatResource()); // e.g. RepositoryEntry				
-						}
-					} else {
-						log.warn("RepositoryEntry is on black-list and excluded from search-index, repositoryEntry={}", repositoryEntry);
-					}
+					indexRepositoryEntry(parentResourceContext, repositoryEntry, indexWriter);
 				} catch (Throwable ex) {
 					// create meaningful debugging output to find repository entry that is somehow broken
 					String entryDebug = "NULL";
@@ -196,6 +179,47 @@ public class RepositoryIndexer extends AbstractHierarchicalIndexer {
 		log.info("RepositoryIndexer finished. {} entries indexed.", counter);
 	}
 
+	/**
+	 * Index a single repository entry and its content.
+	 * 
+	 * @see org.olat.search.service.indexer.IncrementalIndexer#indexResource(org.olat.search.service.SearchResourceContext, java.lang.Long, org.olat.search.service.indexer.OlatFullIndexer)
+	 */
+	@Override
+	public void indexResource(SearchResourceContext parentResourceContext, Long key, OlatFullIndexer indexWriter)
+	throws IOException, InterruptedException {
+		RepositoryEntry repositoryEntry = repositoryService.loadByKey(key);
+		if(repositoryEntry == null
+				|| repositoryEntry.getEntryStatus() == RepositoryEntryStatusEnum.trash
+				|| repositoryEntry.getEntryStatus() == RepositoryEntryStatusEnum.deleted) {
+			return;
+		}
+		indexRepositoryEntry(parentResourceContext, repositoryEntry, indexWriter);
+	}
+	
+	private void indexRepositoryEntry(SearchResourceContext parentResourceContext, RepositoryEntry repositoryEntry, OlatFullIndexer indexWriter)
+	throws IOException, InterruptedException {
+		if (!isOnBlacklist(repositoryEntry.getOlatResource().getResourceableId()) ) {
+			SearchResourceContext searchResourceContext = new SearchResourceContext(parentResourceContext);
+			searchResourceContext.setBusinessControlFor(repositoryEntry);
+			searchResourceContext.setTitle(repositoryEntry.getDisplayname());
+			searchResourceContext.setDescription(repositoryEntry.getDescription());
+			Document document = documentFactory.createDocument(searchResourceContext, repositoryEntry);
+			indexWriter.addDocument(document);
+			// Pass created-date & modified-date in context to child indexer because the child have no dates
+			searchResourceContext.setLastModified(repositoryEntry.getLastModified());
+			searchResourceContext.setCreatedDate(repositoryEntry.getCreationDate());
+			// go further with resource
+			Indexer repositoryEntryIndexer = getRepositoryEntryIndexer(repositoryEntry);
+			if (repositoryEntryIndexer != null) {
+				repositoryEntryIndexer.doIndex(searchResourceContext, repositoryEntry, indexWriter);
+			} else if (log.isDebugEnabled()) {
+				log.debug("No RepositoryEntryIndexer for {}", repositoryEntry.getOlatResource()); // e.g. RepositoryEntry				
+			}
+		} else {
+			log.warn("RepositoryEntry is on black-list and excluded from search-index, repositoryEntry={}", repositoryEntry);
+		}
+	}
+
 	private boolean isOnBlacklist(Long key) {
 		return repositoryBlackList.contains(key);
 	}
@@ -205,6 +229,11 @@ public class RepositoryIndexer extends AbstractHierarchicalIndexer {
 		return OresHelper.calculateTypeName(RepositoryEntry.class);
 	}
 
+	@Override
+	public String getWorkTypeName() {
+		return RepositoryEntryDocument.TYPE;
+	}
+
 	@Override
 	public boolean checkAccess(ContextEntry contextEntry, BusinessControl businessControl, Identity identity, Roles roles) {
 		boolean debug = log.isDebugEnabled();
@@ -193,6 +193,16 @@ create table o_bs_webauthn_stats (
    primary key (id)
  );
 
+create table o_ldap_sync_checksum (
+   id bigint not null auto_increment,
+   creationdate datetime not null,
+   lastmodified datetime not null,
+   l_dn_hash varchar(64) not null,
+   l_checksum varchar(64) not null,
+   unique (l_dn_hash),
+   primary key (id)
+);
+
 create table if not exists o_noti_pub (
    publisher_id bigint not null,
    version mediumint unsigned not null,
@@ -2591,6 +2601,17 @@ create table o_vfs_thumbnail (
    primary key (id)
 );
 
+create table o_vfs_revision_blob (
+   id bigint not null auto_increment,
+   creationdate datetime not null,
+   f_hash varchar(128) not null,
+   f_size bigint default 0 not null,
+   f_stored_size bigint default 0 not null,
+   f_encoding varchar(16) not null,
+   unique (f_hash),
+   primary key (id)
+);
+
 create table o_vfs_revision (
    id bigint not null auto_increment,
    creationdate datetime not null,
@@ -2619,6 +2640,7 @@ create table o_vfs_revision (
    fk_initialized_by bigint,
    fk_lastmodified_by bigint,
    fk_metadata bigint not null,
+   fk_blob bigint,
    primary key (id)
 );
 
@@ -3873,6 +3895,24 @@ create table o_cp_system_to_organisation (
   primary key (id)
 );
 
+create table o_coach_rollup (
+   id bigint not null auto_increment,
+   creationdate datetime not null,
+   lastmodified datetime not null,
+   r_participants integer default 0 not null,
+   r_visited integer default 0 not null,
+   r_last_visit datetime,
+   r_passed integer default 0 not null,
+   r_failed integer default 0 not null,
+   r_assessed integer default 0 not null,
+   r_score_count integer default 0 not null,
+   r_score_sum float(65,30),
+   r_dirty bool default false not null,
+   fk_entry_id bigint not null,
+   fk_group_id bigint,
+   primary key (id)
+);
+
 create table o_cp_wallet (
    id bigint not null auto_increment,
    creationdate datetime,
@@ -5146,6 +5186,7 @@ alter table o_bs_authentication ENGINE = InnoDB;
 alter table o_bs_authentication_history ENGINE = InnoDB;
 alter table o_bs_recovery_key ENGINE = InnoDB;
 alter table o_bs_webauthn_stats ENGINE = InnoDB;
+alter table o_ldap_sync_checksum ENGINE = InnoDB;
 alter table o_bs_identity ENGINE = InnoDB;
 alter table o_csp_log ENGINE = InnoDB;
 alter table o_olatresource ENGINE = InnoDB;
@@ -5202,6 +5243,7 @@ alter table o_ca_launcher_to_organisation ENGINE = InnoDB;
 alter table o_ca_filter ENGINE = InnoDB;
 alter table o_as_eff_statement ENGINE = InnoDB;
 alter table o_as_user_course_infos ENGINE = InnoDB;
+alter table o_coach_rollup ENGINE = InnoDB;
 alter table o_as_mode_course ENGINE = InnoDB;
 alter table o_as_inspection_configuration ENGINE = InnoDB;
 alter table o_as_inspection ENGINE = InnoDB;
@@ -5332,6 +5374,7 @@ alter table o_info_message_to_cur_el ENGINE = InnoDB;
 alter table o_vfs_metadata ENGINE = InnoDB;
 alter table o_vfs_thumbnail ENGINE = InnoDB;
 alter table o_vfs_revision ENGINE = InnoDB;
+alter table o_vfs_revision_blob ENGINE = InnoDB;
 alter table o_de_access ENGINE = InnoDB;
 alter table o_de_user_info ENGINE = InnoDB;
 alter table o_sms_message_log ENGINE = InnoDB;
@@ -6080,6 +6123,7 @@ alter table o_vfs_revision add constraint fvers_to_author_idx foreign key (fk_in
 alter table o_vfs_revision add constraint fvers_modified_by_idx foreign key (fk_lastmodified_by) references o_bs_identity (id);
 alter table o_vfs_revision add constraint fvers_to_meta_idx foreign key (fk_metadata) references o_vfs_metadata (id);
 alter table o_vfs_revision add constraint fvers_to_lic_type_idx foreign key (fk_license_type) references o_lic_license_type (id);
+alter table o_vfs_revision add constraint fvers_to_blob_idx foreign key (fk_blob) references o_vfs_revision_blob (id);
 
 create index idx_vfs_meta_transstat_idx on o_vfs_metadata(f_transcoding_status);
 
@@ -6233,6 +6277,13 @@ alter table o_cer_program add constraint cer_progr_to_credsys_idx foreign key (f
 alter table o_cp_system_to_organisation add constraint rel_cpo_to_cp_sys_idx foreign key (fk_cp_system) references o_cp_system(id);
 alter table o_cp_system_to_organisation add constraint rel_cpo_to_org_idx foreign key (fk_organisation) references o_org_organisation(id);
 
+-- coaching rollups
+-- unique per course and group, the rollup of the course (without group) is not constrained on any database
+create unique index idx_coach_rollup_entry_group_idx on o_coach_rollup (fk_entry_id, fk_group_id);
+alter table o_coach_rollup add constraint coach_rollup_entry_idx foreign key (fk_entry_id) references o_repositoryentry (repositoryentry_id);
+alter table o_coach_rollup add constraint coach_rollup_group_idx foreign key (fk_group_id) references o_bs_group (id);
+create index idx_coach_rollup_group_idx on o_coach_rollup (fk_group_id);
+
 alter table o_cer_program add constraint cer_progr_to_template_idx foreign key (fk_template) references o_cer_template (id);
 
 alter table o_cer_program add constraint cer_progr_to_resource_idx foreign key (fk_resource) references o_olatresource (resource_id);
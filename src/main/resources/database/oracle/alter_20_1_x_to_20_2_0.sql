@@ -139,3 +139,56 @@ alter table o_qual_report_access add q_todo_access varchar(64);
 
 -- Curriculum element type
 alter table o_cur_element_type add c_type varchar(64);
+
+-- Coaching rollups
+create table o_coach_rollup (
+   id number(20) GENERATED ALWAYS AS IDENTITY,
+   creationdate date not null,
+   lastmodified date not null,
+   r_participants number(20) default 0 not null,
+   r_visited number(20) default 0 not null,
+   r_last_visit date,
+   r_passed number(20) default 0 not null,
+   r_failed number(20) default 0 not null,
+   r_assessed number(20) default 0 not null,
+   r_score_count number(20) default 0 not null,
+   r_score_sum decimal,
+   r_dirty number default 0 not null,
+   fk_entry_id number(20) not null,
+   fk_group_id number(20),
+   primary key (id)
+);
+
+-- unique per course and group, the rollup of the course (without group) is not constrained on any database
+create unique index idx_coach_rollup_entry_group_idx on o_coach_rollup (case when fk_group_id is not null then fk_entry_id end, fk_group_id);
+create index idx_coach_rollup_entry_idx on o_coach_rollup (fk_entry_id);
+alter table o_coach_rollup add constraint coach_rollup_entry_idx foreign key (fk_entry_id) references o_repositoryentry (repositoryentry_id);
+alter table o_coach_rollup add constraint coach_rollup_group_idx foreign key (fk_group_id) references o_bs_group (id);
+create index idx_coach_rollup_group_idx on o_coach_rollup (fk_group_id);
+
+-- Content addressed revisions
+create table o_vfs_revision_blob (
+   id number(20) generated always as identity,
+   creationdate timestamp not null,
+   f_hash varchar(128) not null,
+   f_size number(20) default 0 not null,
+   f_stored_size number(20) default 0 not null,
+   f_encoding varchar(16) not null,
+   unique (f_hash),
+   primary key (id)
+);
+
+alter table o_vfs_revision add fk_blob number(20);
+alter table o_vfs_revision add constraint fvers_to_blob_idx foreign key (fk_blob) references o_vfs_revision_blob (id);
+create index idx_fvers_to_blob_idx on o_vfs_revision (fk_blob);
+
+-- LDAP synchronization
+create table o_ldap_sync_checksum (
+   id number(20) generated always as identity,
+   creationdate timestamp not null,
+   lastmodified timestamp not null,
+   l_dn_hash varchar(64) not null,
+   l_checksum varchar(64) not null,
+   unique (l_dn_hash),
+   primary key (id)
+);
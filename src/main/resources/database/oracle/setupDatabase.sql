@@ -204,6 +204,16 @@ create table o_bs_webauthn_stats (
    primary key (id)
  );
 
+create table o_ldap_sync_checksum (
+   id number(20) generated always as identity,
+   creationdate timestamp not null,
+   lastmodified timestamp not null,
+   l_dn_hash varchar(64) not null,
+   l_checksum varchar(64) not null,
+   unique (l_dn_hash),
+   primary key (id)
+);
+
 
 CREATE TABLE o_noti_pub (
   publisher_id number(20) NOT NULL,
@@ -2507,6 +2517,17 @@ create table o_vfs_thumbnail (
    primary key (id)
 );
 
+create table o_vfs_revision_blob (
+   id number(20) generated always as identity,
+   creationdate timestamp not null,
+   f_hash varchar(128) not null,
+   f_size number(20) default 0 not null,
+   f_stored_size number(20) default 0 not null,
+   f_encoding varchar(16) not null,
+   unique (f_hash),
+   primary key (id)
+);
+
 create table o_vfs_revision (
    id number(20) generated always as identity,
    creationdate timestamp not null,
@@ -2535,6 +2556,7 @@ create table o_vfs_revision (
    fk_initialized_by number(20),
    fk_lastmodified_by number(20),
    fk_metadata number(20) not null,
+   fk_blob number(20),
    primary key (id)
 );
 
@@ -3945,6 +3967,24 @@ create table o_cp_system_to_organisation (
   primary key (id)
 );
 
+create table o_coach_rollup (
+   id number(20) GENERATED ALWAYS AS IDENTITY,
+   creationdate date not null,
+   lastmodified date not null,
+   r_participants number(20) default 0 not null,
+   r_visited number(20) default 0 not null,
+   r_last_visit date,
+   r_passed number(20) default 0 not null,
+   r_failed number(20) default 0 not null,
+   r_assessed number(20) default 0 not null,
+   r_score_count number(20) default 0 not null,
+   r_score_sum decimal,
+   r_dirty number default 0 not null,
+   fk_entry_id number(20) not null,
+   fk_group_id number(20),
+   primary key (id)
+);
+
 create table o_cp_wallet (
    id number(20) GENERATED ALWAYS AS IDENTITY,
    creationdate date,
@@ -5967,6 +6007,8 @@ alter table o_vfs_revision add constraint fvers_to_meta_idx foreign key (fk_meta
 create index idx_fvers_to_meta_idx on o_vfs_revision (fk_metadata);
 alter table o_vfs_revision add constraint fvers_to_lic_type_idx foreign key (fk_license_type) references o_lic_license_type (id);
 create index idx_fvers_to_lic_type_idx on o_vfs_revision (fk_license_type);
+alter table o_vfs_revision add constraint fvers_to_blob_idx foreign key (fk_blob) references o_vfs_revision_blob (id);
+create index idx_fvers_to_blob_idx on o_vfs_revision (fk_blob);
 
 create index idx_vfs_meta_transstat_idx on o_vfs_metadata(f_transcoding_status);
 
@@ -6338,6 +6380,14 @@ create index idx_rel_cpo_to_cp_sys_idx on o_cp_system_to_organisation (fk_cp_sys
 alter table o_cp_system_to_organisation add constraint rel_cpo_to_org_idx foreign key (fk_organisation) references o_org_organisation(id);
 create index idx_rel_cpo_to_org_idx on o_cp_system_to_organisation (fk_organisation);
 
+-- coaching rollups
+-- unique per course and group, the rollup of the course (without group) is not constrained on any database
+create unique index idx_coach_rollup_entry_group_idx on o_coach_rollup (case when fk_group_id is not null then fk_entry_id end, fk_group_id);
+create index idx_coach_rollup_entry_idx on o_coach_rollup (fk_entry_id);
+alter table o_coach_rollup add constraint coach_rollup_entry_idx foreign key (fk_entry_id) references o_repositoryentry (repositoryentry_id);
+alter table o_coach_rollup add constraint coach_rollup_group_idx foreign key (fk_group_id) references o_bs_group (id);
+create index idx_coach_rollup_group_idx on o_coach_rollup (fk_group_id);
+
 alter table o_cer_program add constraint cer_progr_to_template_idx foreign key (fk_template) references o_cer_template (id);
 create index idx_cer_progr_to_template_idx on o_cer_program(fk_template);
 
@@ -141,3 +141,55 @@ alter table o_qual_report_access add q_todo_access varchar(64);
 
 -- Curriculum element type
 alter table o_cur_element_type add c_type varchar(64);
+
+-- Coaching rollups
+create table o_coach_rollup (
+   id bigserial,
+   creationdate timestamp not null,
+   lastmodified timestamp not null,
+   r_participants int4 default 0 not null,
+   r_visited int4 default 0 not null,
+   r_last_visit timestamp,
+   r_passed int4 default 0 not null,
+   r_failed int4 default 0 not null,
+   r_assessed int4 default 0 not null,
+   r_score_count int4 default 0 not null,
+   r_score_sum float8,
+   r_dirty bool default false not null,
+   fk_entry_id int8 not null,
+   fk_group_id int8,
+   primary key (id)
+);
+
+-- unique per course and group, the rollup of the course (without group) is not constrained on any database
+create unique index idx_coach_rollup_entry_group_idx on o_coach_rollup (fk_entry_id, fk_group_id);
+alter table o_coach_rollup add constraint coach_rollup_entry_idx foreign key (fk_entry_id) references o_repositoryentry (repositoryentry_id);
+alter table o_coach_rollup add constraint coach_rollup_group_idx foreign key (fk_group_id) references o_bs_group (id);
+create index idx_coach_rollup_group_idx on o_coach_rollup (fk_group_id);
+
+-- Content addressed revisions
+create table o_vfs_revision_blob (
+   id bigserial,
+   creationdate timestamp not null,
+   f_hash varchar(128) not null,
+   f_size int8 default 0 not null,
+   f_stored_size int8 default 0 not null,
+   f_encoding varchar(16) not null,
+   unique (f_hash),
+   primary key (id)
+);
+
+alter table o_vfs_revision add fk_blob bigint;
+alter table o_vfs_revision add constraint fvers_to_blob_idx foreign key (fk_blob) references o_vfs_revision_blob (id);
+create index idx_fvers_to_blob_idx on o_vfs_revision (fk_blob);
+
+-- LDAP synchronization
+create table o_ldap_sync_checksum (
+   id bigserial,
+   creationdate timestamp not null,
+   lastmodified timestamp not null,
+   l_dn_hash varchar(64) not null,
+   l_checksum varchar(64) not null,
+   unique (l_dn_hash),
+   primary key (id)
+);
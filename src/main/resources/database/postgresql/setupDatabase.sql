@@ -190,6 +190,16 @@ create table o_bs_webauthn_stats (
    primary key (id)
  );
 
+create table o_ldap_sync_checksum (
+   id bigserial,
+   creationdate timestamp not null,
+   lastmodified timestamp not null,
+   l_dn_hash varchar(64) not null,
+   l_checksum varchar(64) not null,
+   unique (l_dn_hash),
+   primary key (id)
+);
+
 create table o_noti_pub (
    publisher_id int8 not null,
    version int4 not null,
@@ -2475,6 +2485,17 @@ create table o_vfs_thumbnail (
    primary key (id)
 );
 
+create table o_vfs_revision_blob (
+   id bigserial,
+   creationdate timestamp not null,
+   f_hash varchar(128) not null,
+   f_size int8 default 0 not null,
+   f_stored_size int8 default 0 not null,
+   f_encoding varchar(16) not null,
+   unique (f_hash),
+   primary key (id)
+);
+
 create table o_vfs_revision (
    id bigserial,
    creationdate timestamp not null,
@@ -2503,6 +2524,7 @@ create table o_vfs_revision (
    fk_initialized_by bigint,
    fk_lastmodified_by bigint,
    fk_metadata bigint not null,
+   fk_blob bigint,
    primary key (id)
 );
 
@@ -3893,6 +3915,24 @@ create table o_cp_system_to_organisation (
   primary key (id)
 );
 
+create table o_coach_rollup (
+   id bigserial,
+   creationdate timestamp not null,
+   lastmodified timestamp not null,
+   r_participants int4 default 0 not null,
+   r_visited int4 default 0 not null,
+   r_last_visit timestamp,
+   r_passed int4 default 0 not null,
+   r_failed int4 default 0 not null,
+   r_assessed int4 default 0 not null,
+   r_score_count int4 default 0 not null,
+   r_score_sum float8,
+   r_dirty bool default false not null,
+   fk_entry_id int8 not null,
+   fk_group_id int8,
+   primary key (id)
+);
+
 create table o_cp_wallet (
    id bigserial,
    creationdate timestamp,
@@ -6054,6 +6094,8 @@ alter table o_vfs_revision add constraint fvers_to_meta_idx foreign key (fk_meta
 create index idx_fvers_to_meta_idx on o_vfs_revision (fk_metadata);
 alter table o_vfs_revision add constraint fvers_to_lic_type_idx foreign key (fk_license_type) references o_lic_license_type (id);
 create index idx_fvers_to_lic_type_idx on o_vfs_revision (fk_license_type);
+alter table o_vfs_revision add constraint fvers_to_blob_idx foreign key (fk_blob) references o_vfs_revision_blob (id);
+create index idx_fvers_to_blob_idx on o_vfs_revision (fk_blob);
 
 create index idx_vfs_meta_transstat_idx on o_vfs_metadata(f_transcoding_status);
 
@@ -6406,6 +6448,13 @@ create index idx_rel_cpo_to_cp_sys_idx on o_cp_system_to_organisation (fk_cp_sys
 alter table o_cp_system_to_organisation add constraint rel_cpo_to_org_idx foreign key (fk_organisation) references o_org_organisation(id);
 create index idx_rel_cpo_to_org_idx on o_cp_system_to_organisation (fk_organisation);
 
+-- coaching rollups
+-- unique per course and group, the rollup of the course (without group) is not constrained on any database
+create unique index idx_coach_rollup_entry_group_idx on o_coach_rollup (fk_entry_id, fk_group_id);
+alter table o_coach_rollup add constraint coach_rollup_entry_idx foreign key (fk_entry_id) references o_repositoryentry (repositoryentry_id);
+alter table o_coach_rollup add constraint coach_rollup_group_idx foreign key (fk_group_id) references o_bs_group (id);
+create index idx_coach_rollup_group_idx on o_coach_rollup (fk_group_id);
+
 alter table o_cp_transaction add constraint cp_trx_to_wallet_idx foreign key (fk_wallet) references o_cp_wallet (id);
 create index idx_cp_trx_to_wallet_idx on o_cp_transaction (fk_wallet);
 alter table o_cp_transaction add constraint cp_trx_to_creator_idx foreign key (fk_creator) references o_bs_identity (id);
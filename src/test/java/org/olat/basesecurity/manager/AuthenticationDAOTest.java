@@ -35,6 +35,7 @@ import org.olat.basesecurity.AuthenticationImpl;
 import org.olat.basesecurity.BaseSecurity;
 import org.olat.basesecurity.OrganisationRoles;
 import org.olat.basesecurity.OrganisationService;
+import org.olat.basesecurity.model.AuthenticationShort;
 import org.olat.core.commons.persistence.DB;
 import org.olat.core.id.Identity;
 import org.olat.core.util.Encoder;
@@ -512,4 +513,51 @@ public class AuthenticationDAOTest extends OlatTestCase {
 		boolean tooOld = authenticationDao.hasValidOlatAuthentication(ident.getIdentity(), false, 60, fullProviders);
 		Assert.assertFalse(tooOld);
 	}
+	
+	@Test
+	public void getAuthenticationsShort() {
+		String issuer = UUID.randomUUID().toString();
+		IdentityWithLogin ident = JunitTestHelper.createAndPersistRndUser("authdao-8-");
+		Authentication auth = authenticationDao.createAndPersistAuthentication(ident.getIdentity(), "SHORT", issuer, "ext-8",
+				ident.getLogin(), null);
+		IdentityWithLogin otherIdent = JunitTestHelper.createAndPersistRndUser("authdao-9-");
+		authenticationDao.createAndPersistAuthentication(otherIdent.getIdentity(), "SHORT", BaseSecurity.DEFAULT_ISSUER, null,
+				otherIdent.getLogin(), null);
+		dbInstance.commitAndCloseSession();
+		
+		List<AuthenticationShort> authentications = authenticationDao.getAuthenticationsShort("SHORT", issuer);
+		assertThat(authentications)
+			.hasSize(1);
+		
+		AuthenticationShort shortAuth = authentications.get(0);
+		Assert.assertEquals(auth.getKey(), shortAuth.key());
+		Assert.assertEquals(ident.getLogin(), shortAuth.authusername());
+		Assert.assertEquals("ext-8", shortAuth.externalId());
+		Assert.assertEquals(ident.getIdentity().getKey(), shortAuth.identityKey());
+		Assert.assertEquals(Identity.STATUS_ACTIV, shortAuth.identityStatus());
+	}
+	
+	@Test
+	public void loadByKeys() {
+		IdentityWithLogin ident1 = JunitTestHelper.createAndPersistRndUser("authdao-10-");
+		Authentication auth1 = securityManager.createAndPersistAuthentication(ident1.getIdentity(), "OLAT", BaseSecurity.DEFAULT_ISSUER, null,
+				ident1.getLogin(), UUID.randomUUID().toString(), null);
+		IdentityWithLogin ident2 = JunitTestHelper.createAndPersistRndUser("authdao-11-");
+		Authentication auth2 = securityManager.createAndPersistAuthentication(ident2.getIdentity(), "OLAT", BaseSecurity.DEFAULT_ISSUER, null,
+				ident2.getLogin(), UUID.randomUUID().toString(), null);
+		dbInstance.commitAndCloseSession();
+		
+		List<Authentication> authentications = authenticationDao.loadByKeys(List.of(auth1.getKey(), auth2.getKey()));
+		assertThat(authentications)
+			.containsExactlyInAnyOrder(auth1, auth2);
+		
+		// identity and user are fetched
+		dbInstance.commitAndCloseSession();
+		for(Authentication authentication:authentications) {
+			Assert.assertNotNull(authentication.getIdentity().getUser().getLastName());
+		}
+		
+		assertThat(authenticationDao.loadByKeys(List.of()))
+			.isEmpty();
+	}
 }
@@ -270,6 +270,27 @@ public class OrganisationDAOTest extends OlatTestCase {
 		Assert.assertTrue(memeberKeys.contains(memberA2.getKey()));
 	}
 	
+	@Test
+	public void getMemberKeySet() {
+		Identity memberB1 = JunitTestHelper.createAndPersistIdentityAsRndUser("Member-B1");
+		Identity memberB2 = JunitTestHelper.createAndPersistIdentityAsRndUser("Member-B2");
+		String identifier = UUID.randomUUID().toString();
+		Organisation organisation = organisationDao.createAndPersistOrganisation("Org B", identifier, null, null, null);
+		dbInstance.commit();
+		organisationService.addMember(organisation, memberB1, OrganisationRoles.user, JunitTestHelper.getDefaultActor());
+		organisationService.addMember(organisation, memberB1, OrganisationRoles.author, JunitTestHelper.getDefaultActor());
+		organisationService.addMember(organisation, memberB2, OrganisationRoles.usermanager, JunitTestHelper.getDefaultActor());
+		dbInstance.commitAndCloseSession();
+		
+		Set<Long> memberKeys = organisationDao.getMemberKeySet(organisation, OrganisationRoles.user, OrganisationRoles.author);
+		assertThat(memberKeys)
+			.containsExactly(memberB1.getKey());
+		
+		Set<Long> allMemberKeys = organisationDao.getMemberKeySet(organisation);
+		assertThat(allMemberKeys)
+			.containsExactlyInAnyOrder(memberB1.getKey(), memberB2.getKey());
+	}
+	
 	@Test
 	public void getIdentities_role() {
 		Identity member1 = JunitTestHelper.createAndPersistIdentityAsRndUser("Member-4");
@@ -0,0 +1,92 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.commons.calendar;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Assert;
+import org.junit.Test;
+import org.olat.commons.calendar.model.KalendarEvent;
+import org.olat.commons.calendar.model.KalendarIndex;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class KalendarIndexTest {
+	
+	private static final ZonedDateTime START = ZonedDateTime.of(2026, 10, 12, 8, 0, 0, 0, ZoneId.of("Europe/Zurich"));
+	
+	@Test
+	public void getEvents() {
+		KalendarEvent monday = new KalendarEvent("monday", null, "Monday", START, START.plusHours(2));
+		KalendarEvent tuesday = new KalendarEvent("tuesday", null, "Tuesday", START.plusDays(1), START.plusDays(1).plusHours(2));
+		KalendarEvent longEvent = new KalendarEvent("long", null, "Long", START.minusDays(10), START.plusDays(10));
+		KalendarEvent friday = new KalendarEvent("friday", null, "Friday", START.plusDays(4), START.plusDays(4).plusHours(1));
+		KalendarIndex index = new KalendarIndex(List.of(tuesday, friday, monday, longEvent));
+		
+		List<KalendarEvent> tuesdayEvents = index.getEvents(START.plusDays(1), START.plusDays(1).plusHours(4));
+		Assertions.assertThat(tuesdayEvents)
+			.containsExactlyInAnyOrder(tuesday, longEvent);
+		
+		List<KalendarEvent> weekEvents = index.getEvents(START.minusDays(1), START.plusDays(6));
+		Assertions.assertThat(weekEvents)
+			.containsExactlyInAnyOrder(monday, tuesday, longEvent, friday);
+		
+		List<KalendarEvent> laterEvents = index.getEvents(START.plusDays(20), START.plusDays(30));
+		Assertions.assertThat(laterEvents).isEmpty();
+	}
+	
+	@Test
+	public void getRecurringEvents() {
+		KalendarEvent single = new KalendarEvent("single", null, "Single", START, START.plusHours(1));
+		KalendarEvent recurring = new KalendarEvent("recurring", null, "Recurring", START, START.plusHours(1));
+		recurring.setRecurrenceRule("FREQ=DAILY;COUNT=5");
+		KalendarEvent exception = new KalendarEvent("recurring", "20261013T080000", "Moved",
+				START.plusDays(1).plusHours(2), START.plusDays(1).plusHours(3));
+		KalendarIndex index = new KalendarIndex(List.of(single, recurring, exception));
+		
+		Assertions.assertThat(index.getRecurringEvents()).containsExactly(recurring);
+		Assertions.assertThat(index.getRecurrenceExceptions()).containsExactly(exception);
+		Assertions.assertThat(index.getEvents(START.minusDays(1), START.plusDays(10))).containsExactly(single);
+	}
+	
+	@Test
+	public void expansionCache() {
+		KalendarEvent recurring = new KalendarEvent("recurring", null, "Recurring", START, START.plusHours(1));
+		recurring.setRecurrenceRule("FREQ=DAILY;COUNT=5");
+		KalendarIndex index = new KalendarIndex(List.of(recurring));
+		
+		ZoneId zone = START.getZone();
+		ZonedDateTime windowEnd = START.plusDays(7);
+		Assert.assertNull(index.getExpansion(recurring, START, windowEnd, zone));
+		index.putExpansion(recurring, START, windowEnd, zone, List.of(START, START.plusDays(1)));
+		Assert.assertEquals(2, index.getExpansion(recurring, START, windowEnd, zone).size());
+		
+		// changing the rule invalidates the cached expansion
+		recurring.setRecurrenceRule("FREQ=DAILY;COUNT=2");
+		Assert.assertNull(index.getExpansion(recurring, START, windowEnd, zone));
+	}
+}
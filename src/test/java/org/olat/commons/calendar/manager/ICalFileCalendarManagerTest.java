@@ -150,6 +150,51 @@ public class ICalFileCalendarManagerTest extends OlatTestCase {
 		Assert.assertNull("Found removed event", removedEvent);
 	}
 	
+	@Test
+	public void addRemoveEventJournal() {
+		Identity test = JunitTestHelper.createAndPersistIdentityAsRndUser("ical-1-");
+		Kalendar cal = calendarManager.getPersonalCalendar(test).getKalendar();
+		ZonedDateTime start = ZonedDateTime.now()
+				.withHour(10)
+				.withMinute(0)
+				.withSecond(0)
+				.with(ChronoField.MILLI_OF_SECOND, 0);
+		KalendarEvent firstEvent = new KalendarEvent("id-journal-1", "First journal event", start, 60 * 60 * 1000);
+		calendarManager.addEventTo(cal, firstEvent);
+		
+		// the calendar file exists, the next changes are appended to the journal
+		KalendarEvent secondEvent = new KalendarEvent("id-journal-2", "Second journal event", start.plusDays(1), 60 * 60 * 1000);
+		calendarManager.addEventTo(cal, secondEvent);
+		calendarManager.removeEventFrom(cal, firstEvent);
+		
+		File calendarFile = calendarManager.getCalendarFile(cal.getType(), cal.getCalendarID());
+		ICalFileCalendarJournal journal = new ICalFileCalendarJournal(calendarFile);
+		Assert.assertTrue(journal.exists());
+		
+		// reload the calendar file and replay the journal
+		emptyCalendarCache();
+		cal = calendarManager.getPersonalCalendar(test).getKalendar();
+		Assert.assertNull(cal.getEvent("id-journal-1", null));
+		KalendarEvent reloadedEvent = cal.getEvent("id-journal-2", null);
+		Assert.assertNotNull(reloadedEvent);
+		Assert.assertEquals("Second journal event", reloadedEvent.getSubject());
+		Assertions.assertThat(reloadedEvent.getBegin()).isEqualTo(start.plusDays(1));
+		
+		List<KalendarEvent> events = calendarManager.getEvents(cal, start.minusDays(1), start.plusDays(2), true);
+		Assertions.assertThat(events)
+			.extracting(KalendarEvent::getID)
+			.containsExactly("id-journal-2");
+		
+		// export merge the journal in the calendar file
+		File icalFile = calendarManager.getCalendarICalFile(cal.getType(), cal.getCalendarID());
+		Assert.assertNotNull(icalFile);
+		Assert.assertFalse(journal.exists());
+		emptyCalendarCache();
+		cal = calendarManager.getPersonalCalendar(test).getKalendar();
+		Assert.assertNull(cal.getEvent("id-journal-1", null));
+		Assert.assertNotNull(cal.getEvent("id-journal-2", null));
+	}
+	
 	@Test
 	public void addChangeEventV2() {
 		Identity test = JunitTestHelper.createAndPersistIdentityAsRndUser("ical-1-");	
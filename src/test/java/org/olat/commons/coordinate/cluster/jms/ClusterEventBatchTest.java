@@ -0,0 +1,119 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.commons.coordinate.cluster.jms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.olat.commons.coordinate.cluster.jms.ClusterEventBatch.ClusterEventEntry;
+import org.olat.commons.coordinate.cluster.jms.ClusterEventBatch.ReceivedBatch;
+import org.olat.core.id.OLATResourceable;
+import org.olat.core.util.WebappHelper;
+import org.olat.core.util.event.MultiUserEvent;
+import org.olat.core.util.event.businfo.BusListenerInfo;
+import org.olat.core.util.resource.OresHelper;
+import org.olat.course.assessment.AssessmentModeNotificationEvent;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class ClusterEventBatchTest {
+	
+	@Test
+	public void coalesce() {
+		OLATResourceable ores1 = OresHelper.createOLATResourceableInstance("batch", Long.valueOf(1));
+		OLATResourceable ores2 = OresHelper.createOLATResourceableInstance("batch", Long.valueOf(2));
+		
+		ClusterEventBatch batch = new ClusterEventBatch();
+		batch.add(ores1, new MultiUserEvent("changed"));
+		batch.add(ores2, new MultiUserEvent("changed"));
+		batch.add(ores1, new MultiUserEvent("deleted"));
+		batch.add(ores1, new MultiUserEvent("changed"));
+		
+		Assert.assertEquals(3, batch.size());
+		Assert.assertEquals(1, batch.getCoalesced());
+		
+		// the coalesced event takes the place of the last one
+		List<ClusterEventEntry> entries = new ArrayList<>(batch.getEntries());
+		Assert.assertEquals(Long.valueOf(2), entries.get(0).resId());
+		Assert.assertEquals("deleted", entries.get(1).event().getCommand());
+		Assert.assertEquals("changed", entries.get(2).event().getCommand());
+		Assert.assertEquals(Long.valueOf(1), entries.get(2).resId());
+	}
+	
+	@Test
+	public void writeRead() throws Exception {
+		OLATResourceable ores = OresHelper.createOLATResourceableInstance("batch", Long.valueOf(3));
+		OLATResourceable type = OresHelper.lookupType(ClusterEventBatchTest.class);
+		AssessmentModeNotificationEvent modeEvent = new AssessmentModeNotificationEvent(AssessmentModeNotificationEvent.BEFORE,
+				null, null, null);
+		
+		ClusterEventBatch batch = new ClusterEventBatch();
+		batch.add(ores, new MultiUserEvent("changed", 7));
+		Assert.assertEquals(7, batch.getPriority());
+		batch.add(type, modeEvent);
+		batch.add(ores, new MultiUserEvent("deleted"));
+		Assert.assertEquals(9, batch.getPriority());
+		
+		byte[] data = batch.toBytes(Integer.valueOf(WebappHelper.getNodeId()), 42l);
+		ReceivedBatch received = ClusterEventBatch.fromBytes(data);
+		Assert.assertEquals(WebappHelper.getNodeId(), received.nodeId().intValue());
+		Assert.assertEquals(42l, received.msgId());
+		Assert.assertEquals(3, received.entries().size());
+		
+		ClusterEventEntry first = received.entries().get(0);
+		Assert.assertEquals("batch", first.resType());
+		Assert.assertEquals(Long.valueOf(3), first.resId());
+		Assert.assertEquals(MultiUserEvent.class, first.event().getClass());
+		Assert.assertEquals("changed", first.event().getCommand());
+		Assert.assertEquals(7, first.event().getPriority());
+		Assert.assertTrue(first.event().isEventOnThisNode());
+		
+		ClusterEventEntry second = received.entries().get(1);
+		Assert.assertNull(second.resId());
+		Assert.assertTrue(second.event() instanceof AssessmentModeNotificationEvent);
+		Assert.assertEquals(AssessmentModeNotificationEvent.BEFORE, second.event().getCommand());
+		
+		Assert.assertEquals("deleted", received.entries().get(2).event().getCommand());
+	}
+	
+	@Test
+	public void hasListeners() {
+		ClusterEventBatch batch = new ClusterEventBatch();
+		batch.add(OresHelper.createOLATResourceableInstance("batch", Long.valueOf(4)), new MultiUserEvent("changed"));
+		
+		BusListenerInfo noInterest = new BusListenerInfo();
+		noInterest.addEntry("batch::5", 1);
+		Assert.assertFalse(batch.hasListeners(noInterest));
+		
+		BusListenerInfo instanceInterest = new BusListenerInfo();
+		instanceInterest.addEntry("batch::4", 2);
+		Assert.assertTrue(batch.hasListeners(instanceInterest));
+		
+		BusListenerInfo typeInterest = new BusListenerInfo();
+		typeInterest.addEntry("batch", 1);
+		Assert.assertTrue(batch.hasListeners(typeInterest));
+	}
+}
@@ -0,0 +1,211 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.commons.coordinate.cluster.sync;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.Cache;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.olat.core.commons.persistence.DB;
+import org.olat.core.id.OLATResourceable;
+import org.olat.core.logging.AssertException;
+import org.olat.core.util.resource.OresHelper;
+import org.olat.test.OlatTestCase;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class LeaseSyncerTest extends OlatTestCase {
+	
+	@Autowired
+	private DB dbInstance;
+	@Autowired
+	private EmbeddedCacheManager cacheManager;
+	
+	private LeaseSyncer syncer;
+	
+	@Before
+	public void createSyncer() {
+		syncer = new LeaseSyncer(cacheManager);
+		syncer.setDbInstance(dbInstance);
+		syncer.setLeaseTime(1000l);
+		syncer.setLockWaitTimeout(500l);
+		syncer.init();
+	}
+	
+	@After
+	public void destroySyncer() {
+		syncer.destroy();
+	}
+	
+	@Test
+	public void doInSync() {
+		OLATResourceable ores = OresHelper.createOLATResourceableInstance("lease-1", Long.valueOf(1l));
+		
+		long firstToken = syncer.doInSync(ores, () -> {
+			syncer.assertAlreadyDoInSyncFor(ores);
+			return syncer.getFencingToken();
+		});
+		long secondToken = syncer.doInSync(ores, () -> syncer.getFencingToken());
+		Assert.assertTrue(firstToken > 0);
+		Assert.assertEquals(firstToken + 1, secondToken);
+		Assert.assertEquals(-1l, syncer.getFencingToken());
+		
+		List<SyncerContention> contentions = syncer.getContentions(10);
+		Assert.assertEquals(1, contentions.size());
+		Assert.assertEquals(2l, contentions.get(0).getAcquisitions());
+	}
+	
+	@Test(expected = AssertException.class)
+	public void nestedDoInSync() {
+		OLATResourceable ores = OresHelper.createOLATResourceableInstance("lease-2", Long.valueOf(2l));
+		syncer.doInSync(ores, () -> syncer.doInSync(ores, () -> Boolean.TRUE));
+	}
+	
+	@Test(expected = AssertException.class)
+	public void assertAlreadyDoInSyncFor() {
+		OLATResourceable ores = OresHelper.createOLATResourceableInstance("lease-3", Long.valueOf(3l));
+		syncer.assertAlreadyDoInSyncFor(ores);
+	}
+	
+	@Test
+	public void mutualExclusion() throws Exception {
+		OLATResourceable ores = OresHelper.createOLATResourceableInstance("lease-4", Long.valueOf(4l));
+		AtomicInteger inSync = new AtomicInteger();
+		List<Exception> exceptions = Collections.synchronizedList(new ArrayList<>());
+		
+		int numOfThreads = 8;
+		CountDownLatch finishCount = new CountDownLatch(numOfThreads);
+		for(int i=0; i<numOfThreads; i++) {
+			new Thread(() -> {
+				try {
+					for(int j=0; j<20; j++) {
+						syncer.doInSync(ores, () -> {
+							if(inSync.incrementAndGet() != 1) {
+								exceptions.add(new AssertException("Two threads in the same synchronized block"));
+							}
+							inSync.decrementAndGet();
+						});
+					}
+				} catch (Exception e) {
+					exceptions.add(e);
+				} finally {
+					dbInstance.closeSession();
+					finishCount.countDown();
+				}
+			}).start();
+		}
+		
+		boolean finished = finishCount.await(60, TimeUnit.SECONDS);
+		Assert.assertTrue(finished);
+		Assert.assertTrue(exceptions.isEmpty());
+		Assert.assertEquals(numOfThreads * 20l, syncer.getContentions(10).get(0).getAcquisitions());
+	}
+	
+	@Test
+	public void lockWaitTimeout() throws Exception {
+		OLATResourceable ores = OresHelper.createOLATResourceableInstance("lease-5", Long.valueOf(5l));
+		CountDownLatch inSync = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		new Thread(() -> {
+			try {
+				syncer.doInSync(ores, () -> {
+					inSync.countDown();
+					try {
+						release.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				});
+			} finally {
+				dbInstance.closeSession();
+			}
+		}).start();
+		
+		Assert.assertTrue(inSync.await(10, TimeUnit.SECONDS));
+		try {
+			syncer.doInSync(ores, () -> Boolean.TRUE);
+			Assert.fail("Lock wait timeout expected");
+		} catch (SyncerTimeoutException e) {
+			// expected
+		} finally {
+			release.countDown();
+		}
+		
+		SyncerContention contention = syncer.getContentions(10).get(0);
+		Assert.assertEquals(1l, contention.getTimeouts());
+		Assert.assertTrue(contention.getMaxWait() >= 400l);
+	}
+	
+	@Test
+	public void takeOverExpiredLease() {
+		OLATResourceable ores = OresHelper.createOLATResourceableInstance("lease-" + UUID.randomUUID(), Long.valueOf(6l));
+		String asset = OresHelper.createStringRepresenting(ores);
+		
+		// lease of a crashed node
+		Cache<String,String> leases = cacheManager.getCache(LeaseSyncer.CACHE_NAME);
+		leases.put(asset, new Lease(2, 41l, System.currentTimeMillis() - 1000l).encode());
+		
+		long token = syncer.doInSync(ores, () -> syncer.getFencingToken());
+		Assert.assertEquals(42l, token);
+		Lease releasedLease = Lease.parse(leases.get(asset));
+		Assert.assertEquals(42l, releasedLease.token());
+		Assert.assertTrue(releasedLease.isFree(System.currentTimeMillis()));
+	}
+	
+	@Test
+	public void lostLease() {
+		OLATResourceable ores = OresHelper.createOLATResourceableInstance("lease-" + UUID.randomUUID(), Long.valueOf(7l));
+		String asset = OresHelper.createStringRepresenting(ores);
+		Cache<String,String> leases = cacheManager.getCache(LeaseSyncer.CACHE_NAME);
+		
+		try {
+			syncer.doInSync(ores, () -> {
+				syncer.assertLease();
+				// an other node takes over the lease
+				Lease lease = Lease.parse(leases.get(asset));
+				leases.put(asset, new Lease(lease.nodeId() + 1, lease.token() + 1, System.currentTimeMillis() + 60000l).encode());
+				return Boolean.TRUE;
+			});
+			Assert.fail("Lost lease expected");
+		} catch (SyncerLeaseLostException e) {
+			// expected
+		}
+		
+		// the lease of the other node is untouched
+		Lease otherLease = Lease.parse(leases.get(asset));
+		Assert.assertFalse(otherLease.isFree(System.currentTimeMillis()));
+		Assert.assertEquals(-1l, syncer.getFencingToken());
+	}
+}
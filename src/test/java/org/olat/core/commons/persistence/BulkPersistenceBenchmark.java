@@ -0,0 +1,189 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.commons.persistence;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+import org.olat.core.id.Identity;
+import org.olat.core.logging.Tracing;
+import org.olat.core.logging.activity.LoggingObject;
+import org.olat.modules.assessment.model.AssessmentEntryImpl;
+import org.olat.repository.RepositoryEntry;
+import org.olat.test.JunitTestHelper;
+import org.olat.test.OlatTestCase;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Compare the number of JDBC statements and the time needed to write
+ * 10'000 rows with and without JDBC batching. Not part of the test suite,
+ * run it manually against the H2 / PostgreSQL test setup.<br>
+ * Assessment entries use identity generated keys and cannot be inserted
+ * in batches, the benchmark measures the updates of them. The activity log
+ * (keys from a sequence) is used for the inserts.
+ *
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class BulkPersistenceBenchmark extends OlatTestCase {
+
+	private static final Logger log = Tracing.createLoggerFor(BulkPersistenceBenchmark.class);
+
+	private static final int NUM_OF_ROWS = 10000;
+
+	@Autowired
+	private DB dbInstance;
+
+	@Test
+	public void updateAssessmentEntries() {
+		Identity assessedIdentity = JunitTestHelper.createAndPersistIdentityAsRndUser("bulk-1");
+		RepositoryEntry entry = JunitTestHelper.createAndPersistRepositoryEntry();
+
+		List<AssessmentEntryImpl> assessmentEntries = new ArrayList<>(NUM_OF_ROWS);
+		for(int i=0; i<NUM_OF_ROWS; i++) {
+			AssessmentEntryImpl assessmentEntry = new AssessmentEntryImpl();
+			assessmentEntry.setCreationDate(new Date());
+			assessmentEntry.setLastModified(assessmentEntry.getCreationDate());
+			assessmentEntry.setRun(1);
+			assessmentEntry.setIdentity(assessedIdentity);
+			assessmentEntry.setRepositoryEntry(entry);
+			assessmentEntry.setSubIdent("node-" + i);
+			assessmentEntry.setEntryRoot(Boolean.FALSE);
+			assessmentEntries.add(assessmentEntry);
+		}
+		dbInstance.persistAll(assessmentEntries);
+		dbInstance.commitAndCloseSession();
+
+		Measure unbatched = measure(1, entries -> {
+			for(AssessmentEntryImpl assessmentEntry:entries) {
+				assessmentEntry.setScore(BigDecimal.ONE);
+				dbInstance.getCurrentEntityManager().merge(assessmentEntry);
+				dbInstance.getCurrentEntityManager().flush();
+			}
+		}, assessmentEntries);
+		Measure batched = measure(dbInstance.getJdbcBatchSize(), entries -> {
+			for(AssessmentEntryImpl assessmentEntry:entries) {
+				assessmentEntry.setScore(BigDecimal.TEN);
+			}
+			dbInstance.mergeAll(entries);
+		}, reload(entry));
+
+		log.info("Update {} assessment entries unbatched: {}", NUM_OF_ROWS, unbatched);
+		log.info("Update {} assessment entries batched: {}", NUM_OF_ROWS, batched);
+		List<AssessmentEntryImpl> updatedEntries = reload(entry);
+		Assert.assertEquals(NUM_OF_ROWS, updatedEntries.size());
+		for(AssessmentEntryImpl updatedEntry:updatedEntries) {
+			Assert.assertEquals(0, BigDecimal.TEN.compareTo(updatedEntry.getScore()));
+		}
+		dbInstance.commitAndCloseSession();
+		if(dbInstance.getJdbcBatchSize() > 1) {
+			Assert.assertTrue(batched.statements() < unbatched.statements());
+		}
+	}
+
+	@Test
+	public void insertActivityLog() {
+		String unbatchedSessionId = "bulk-unbatched-" + UUID.randomUUID();
+		String batchedSessionId = "bulk-batched-" + UUID.randomUUID();
+		Measure unbatched = measure(1, logObjects -> {
+			for(LoggingObject logObject:logObjects) {
+				dbInstance.getCurrentEntityManager().persist(logObject);
+				dbInstance.getCurrentEntityManager().flush();
+			}
+		}, createLoggingObjects(unbatchedSessionId));
+		Measure batched = measure(dbInstance.getJdbcBatchSize(),
+				logObjects -> dbInstance.persistAll(logObjects), createLoggingObjects(batchedSessionId));
+
+		log.info("Insert {} activity log entries unbatched: {}", NUM_OF_ROWS, unbatched);
+		log.info("Insert {} activity log entries batched: {}", NUM_OF_ROWS, batched);
+		Assert.assertEquals(NUM_OF_ROWS, countLoggingObjects(unbatchedSessionId));
+		Assert.assertEquals(NUM_OF_ROWS, countLoggingObjects(batchedSessionId));
+		dbInstance.commitAndCloseSession();
+		if(dbInstance.getJdbcBatchSize() > 1) {
+			Assert.assertTrue(batched.statements() < unbatched.statements());
+		}
+	}
+
+	private List<AssessmentEntryImpl> reload(RepositoryEntry entry) {
+		return dbInstance.getCurrentEntityManager()
+				.createQuery("select data from assessmententry data where data.repositoryEntry.key=:entryKey", AssessmentEntryImpl.class)
+				.setParameter("entryKey", entry.getKey())
+				.getResultList();
+	}
+
+	private long countLoggingObjects(String sessionId) {
+		return dbInstance.getCurrentEntityManager()
+				.createQuery("select count(log.key) from loggingobject log where log.sessionId=:sessionId", Long.class)
+				.setParameter("sessionId", sessionId)
+				.getSingleResult().longValue();
+	}
+
+	private List<LoggingObject> createLoggingObjects(String sessionId) {
+		List<LoggingObject> logObjects = new ArrayList<>(NUM_OF_ROWS);
+		for(int i=0; i<NUM_OF_ROWS; i++) {
+			LoggingObject logObject = new LoggingObject(sessionId, 0l, "r", "launch", "test", false);
+			logObject.setBusinessPath("[Benchmark:" + i + "]");
+			logObjects.add(logObject);
+		}
+		return logObjects;
+	}
+
+	private <T> Measure measure(int batchSize, Consumer<List<T>> work, List<T> objects) {
+		dbInstance.commitAndCloseSession();
+
+		// the statements are only counted with the statistics enabled
+		Statistics statistics = dbInstance.getStatistics();
+		boolean statisticsEnabled = statistics.isStatisticsEnabled();
+		statistics.setStatisticsEnabled(true);
+		try {
+			long statementsBefore = statistics.getPrepareStatementCount();
+			long start = System.nanoTime();
+
+			dbInstance.getCurrentEntityManager().unwrap(Session.class).setJdbcBatchSize(batchSize);
+			work.accept(objects);
+			dbInstance.commitAndCloseSession();
+
+			long duration = (System.nanoTime() - start) / 1000000l;
+			long statements = statistics.getPrepareStatementCount() - statementsBefore;
+			Assert.assertTrue(statements > 0);
+			return new Measure(batchSize, statements, duration);
+		} finally {
+			statistics.setStatisticsEnabled(statisticsEnabled);
+		}
+	}
+
+	private record Measure(int batchSize, long statements, long duration) {
+
+		@Override
+		public String toString() {
+			return "batch size: " + batchSize + ", prepared statements: " + statements + ", time: " + duration + "ms";
+		}
+	}
+}
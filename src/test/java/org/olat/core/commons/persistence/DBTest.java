@@ -27,23 +27,35 @@
 package org.olat.core.commons.persistence;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import jakarta.persistence.Cache;
+
 import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+import org.junit.Assume;
 import org.junit.Test;
 import org.olat.basesecurity.model.GroupImpl;
 import org.olat.core.logging.Tracing;
 import org.olat.properties.Property;
 import org.olat.properties.PropertyManager;
+import org.olat.repository.RepositoryEntry;
+import org.olat.resource.OLATResourceImpl;
+import org.olat.test.JunitTestHelper;
 import org.olat.test.OlatTestCase;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 
 /**
@@ -58,6 +70,8 @@ public class DBTest extends OlatTestCase {
 	
 	@Autowired
 	private DBImpl dbInstance;
+	@Value("${hibernate.cache.entities:disabled}")
+	private String entitiesCache;
 		
 	/**
 	 * testCloseOfUninitializedSession
@@ -254,6 +268,107 @@ public class DBTest extends OlatTestCase {
 		assertNull(testObject);
 	}
 	
+	/**
+	 * Persist more objects than the flush interval, the objects must have
+	 * their keys and be detached, the other objects of the session stay managed.
+	 */
+	@Test
+	public void persistAll() {
+		String category = UUID.randomUUID().toString();
+		Property managedProperty = PropertyManager.getInstance().createPropertyInstance(null, null, null, category, "managed", null, null, "managed_Value", null);
+		PropertyManager.getInstance().saveProperty(managedProperty);
+		
+		Session session = dbInstance.getCurrentEntityManager().unwrap(Session.class);
+		Integer sessionBatchSize = session.getJdbcBatchSize();
+		
+		int numOfProperties = (2 * dbInstance.getJdbcBatchSize()) + 7;
+		List<Property> properties = createProperties(category, numOfProperties);
+		dbInstance.persistAll(properties);
+		
+		for(Property property:properties) {
+			assertNotNull(property.getKey());
+			assertFalse(dbInstance.getCurrentEntityManager().contains(property));
+		}
+		assertTrue(dbInstance.getCurrentEntityManager().contains(managedProperty));
+		assertEquals(sessionBatchSize, session.getJdbcBatchSize());
+		dbInstance.commitAndCloseSession();
+		
+		assertEquals(numOfProperties + 1, countProperties(category));
+	}
+	
+	/**
+	 * Merge more objects than the flush interval, the merged objects
+	 * are returned detached and in the same order.
+	 */
+	@Test
+	public void mergeAll() {
+		String category = UUID.randomUUID().toString();
+		int numOfProperties = (2 * dbInstance.getJdbcBatchSize()) + 7;
+		List<Property> properties = createProperties(category, numOfProperties);
+		dbInstance.persistAll(properties);
+		dbInstance.commitAndCloseSession();
+		
+		for(Property property:properties) {
+			property.setStringValue("merged_" + property.getName());
+		}
+		List<Property> mergedProperties = dbInstance.mergeAll(properties);
+		assertEquals(numOfProperties, mergedProperties.size());
+		for(int i=0; i<numOfProperties; i++) {
+			Property mergedProperty = mergedProperties.get(i);
+			assertEquals(properties.get(i).getKey(), mergedProperty.getKey());
+			assertFalse(dbInstance.getCurrentEntityManager().contains(mergedProperty));
+		}
+		dbInstance.commitAndCloseSession();
+		
+		List<Property> reloadedProperties = dbInstance.getCurrentEntityManager()
+				.createQuery("select p from property as p where p.category=:category", Property.class)
+				.setParameter("category", category)
+				.getResultList();
+		assertEquals(numOfProperties, reloadedProperties.size());
+		for(Property reloadedProperty:reloadedProperties) {
+			assertEquals("merged_" + reloadedProperty.getName(), reloadedProperty.getStringValue());
+		}
+	}
+	
+	private List<Property> createProperties(String category, int numOfProperties) {
+		List<Property> properties = new ArrayList<>(numOfProperties);
+		for(int i=0; i<numOfProperties; i++) {
+			Property property = PropertyManager.getInstance().createPropertyInstance(null, null, null, category, "bulk-" + i, null, null, "bulk_Value", null);
+			property.setLastModified(new Date());
+			properties.add(property);
+		}
+		return properties;
+	}
+	
+	private long countProperties(String category) {
+		return dbInstance.getCurrentEntityManager()
+				.createQuery("select count(p.key) from property as p where p.category=:category", Long.class)
+				.setParameter("category", category)
+				.getSingleResult().longValue();
+	}
+	
+	/**
+	 * The entities are only cached with hibernate.cache.entities=enabled, the
+	 * test is skipped with the default configuration.
+	 */
+	@Test
+	public void testSecondLevelCache() {
+		Assume.assumeTrue("enabled".equals(entitiesCache));
+		
+		RepositoryEntry entry = JunitTestHelper.createAndPersistRepositoryEntry();
+		dbInstance.commitAndCloseSession();
+		
+		Cache cache = dbInstance.getCurrentEntityManager().getEntityManagerFactory().getCache();
+		cache.evict(RepositoryEntry.class);
+		RepositoryEntry loadedEntry = dbInstance.getCurrentEntityManager().find(RepositoryEntry.class, entry.getKey());
+		assertNotNull(loadedEntry);
+		assertNotNull(loadedEntry.getOlatResource().getResourceableId());
+		dbInstance.commitAndCloseSession();
+		
+		assertTrue(cache.contains(RepositoryEntry.class, entry.getKey()));
+		assertTrue(cache.contains(OLATResourceImpl.class, entry.getOlatResource().getKey()));
+	}
+	
 	/**
 	 * Test concurrent updating. DbWorker threads updates concurrent db.
 	 */
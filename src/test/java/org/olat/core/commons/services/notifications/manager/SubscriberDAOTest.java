@@ -19,6 +19,7 @@
  */
 package org.olat.core.commons.services.notifications.manager;
 
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
@@ -34,6 +35,7 @@ import org.olat.core.commons.services.notifications.Subscriber;
 import org.olat.core.commons.services.notifications.SubscriptionContext;
 import org.olat.core.id.Identity;
 import org.olat.core.util.CodeHelper;
+import org.olat.core.util.DateUtils;
 import org.olat.test.JunitTestHelper;
 import org.olat.test.OlatTestCase;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -113,4 +115,41 @@ public class SubscriberDAOTest extends OlatTestCase {
 		Assert.assertNotEquals(rootSubscriber, subscriber);
 	}
 
+	@Test
+	public void getSubscribersWithNews() {
+		Identity id = JunitTestHelper.createAndPersistIdentityAsRndUser("valid1b4-");
+
+		String identifier = UUID.randomUUID().toString().replace("-", "");
+		SubscriptionContext context = new SubscriptionContext("SubscriberDAOTest", CodeHelper.getForeverUniqueID(), identifier);
+		PublisherData publisherData = new PublisherData("PublisherWithNews", identifier, null);
+		Publisher publisher = notificationsManager.getOrCreatePublisherWithData(context, publisherData, null, PublisherChannel.PULL);
+		dbInstance.commitAndCloseSession();
+		Subscriber subscriber = notificationsManager.subscribe(id, publisher);
+		dbInstance.commitAndCloseSession();
+		
+		int updated = subscriberDao.updateLatestEmailed(List.of(subscriber.getKey()), DateUtils.addDays(new Date(), -2));
+		Assert.assertEquals(1, updated);
+		notificationsManager.markPublisherNews(publisher, null, false);
+		dbInstance.commitAndCloseSession();
+
+		List<Subscriber> subscribers = subscriberDao.getSubscribersWithNews(List.of(publisher.getKey()), 1, 0);
+		Assertions.assertThat(subscribers)
+			.containsExactly(subscriber);
+		
+		long shard = id.getKey().longValue() % 2l;
+		List<Subscriber> shardSubscribers = subscriberDao.getSubscribersWithNews(List.of(publisher.getKey()), 2, (int)shard);
+		Assertions.assertThat(shardSubscribers)
+			.containsExactly(subscriber);
+		List<Subscriber> otherShardSubscribers = subscriberDao.getSubscribersWithNews(List.of(publisher.getKey()), 2, (int)(1 - shard));
+		Assertions.assertThat(otherShardSubscribers)
+			.isEmpty();
+		
+		// emailed after the news
+		subscriberDao.updateLatestEmailed(List.of(subscriber.getKey()), DateUtils.addMinutes(new Date(), 1));
+		dbInstance.commitAndCloseSession();
+		List<Subscriber> emailedSubscribers = subscriberDao.getSubscribersWithNews(List.of(publisher.getKey()), 1, 0);
+		Assertions.assertThat(emailedSubscribers)
+			.isEmpty();
+	}
+
 }
@@ -0,0 +1,162 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.commons.services.vfs.manager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.UUID;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.olat.core.commons.persistence.DB;
+import org.olat.core.commons.services.vfs.VFSMetadata;
+import org.olat.core.commons.services.vfs.model.VFSRevisionBlobImpl;
+import org.olat.core.commons.services.vfs.model.VFSRevisionBlobImpl.Encoding;
+import org.olat.core.commons.services.vfs.model.VFSRevisionImpl;
+import org.olat.core.id.Identity;
+import org.olat.core.util.FileUtils;
+import org.olat.test.JunitTestHelper;
+import org.olat.test.OlatTestCase;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class VFSRevisionBlobStoreTest extends OlatTestCase {
+	
+	private File directory;
+	
+	@Autowired
+	private DB dbInstance;
+	@Autowired
+	private VFSRevisionDAO revisionDao;
+	@Autowired
+	private VFSMetadataDAO vfsMetadataDao;
+	@Autowired
+	private VFSRevisionBlobDAO revisionBlobDao;
+	@Autowired
+	private VFSRevisionBlobStore revisionBlobStore;
+	
+	@Before
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("revisions").toFile();
+	}
+	
+	@After
+	public void deleteDirectory() {
+		FileUtils.deleteDirsAndFiles(directory, true, true);
+	}
+	
+	@Test
+	public void storeOnce() throws IOException {
+		File file1 = createFile("version_1.bin", UUID.randomUUID().toString());
+		File file2 = createFile("version_2.bin", Files.readString(file1.toPath()));
+		
+		VFSRevisionBlobImpl blob1 = revisionBlobStore.store(file1, null);
+		dbInstance.commitAndCloseSession();
+		VFSRevisionBlobImpl blob2 = revisionBlobStore.store(file2, null);
+		dbInstance.commitAndCloseSession();
+		
+		Assert.assertNotNull(blob1);
+		Assert.assertEquals(blob1, blob2);
+		Assert.assertEquals(Encoding.none, blob1.getEncoding());
+		Assert.assertEquals(file1.length(), blob1.getSize());
+		Assert.assertTrue(revisionBlobStore.exists(blob1));
+	}
+	
+	@Test
+	public void compressText() throws IOException {
+		String content = UUID.randomUUID().toString().repeat(4096);
+		File file = createFile("version.txt", content);
+		
+		VFSRevisionBlobImpl blob = revisionBlobStore.store(file, null);
+		dbInstance.commitAndCloseSession();
+		
+		Assert.assertEquals(Encoding.gzip, blob.getEncoding());
+		Assert.assertTrue(blob.getStoredSize() < blob.getSize());
+		try(InputStream in = revisionBlobStore.getInputStream(blob)) {
+			Assert.assertEquals(content, IOUtils.toString(in, StandardCharsets.UTF_8));
+		}
+	}
+	
+	@Test
+	public void deleteUnreferencedBlobs() throws IOException {
+		Identity author = JunitTestHelper.createAndPersistIdentityAsRndUser("rev-blob-1");
+		VFSMetadata metadata = vfsMetadataDao.createMetadata(UUID.randomUUID().toString(), "test/revs", "text.bin",
+				new Date(), 10l, false, "file:///text.bin", "file", null);
+		File file = createFile("version.bin", UUID.randomUUID().toString());
+		VFSRevisionBlobImpl blob = revisionBlobStore.store(file, null);
+		VFSRevisionImpl revision = (VFSRevisionImpl)revisionDao.createRevision(author, author, "._oo_vr_1_text.bin", 1, null,
+				file.length(), new Date(), "A comment", metadata);
+		revision.setBlob(blob);
+		dbInstance.commitAndCloseSession();
+		
+		// still referenced
+		Date future = DateUtils.addMinutes(new Date(), 1);
+		revisionBlobStore.deleteUnreferencedBlobs(future);
+		Assert.assertTrue(revisionBlobStore.exists(blob));
+		Assert.assertNotNull(revisionBlobDao.loadBlob(blob.getHash()));
+		
+		revisionDao.deleteRevision(revision);
+		dbInstance.commitAndCloseSession();
+		
+		// too young
+		Date past = DateUtils.addMinutes(new Date(), -1);
+		revisionBlobStore.deleteUnreferencedBlobs(past);
+		Assert.assertTrue(revisionBlobStore.exists(blob));
+		
+		int deleted = revisionBlobStore.deleteUnreferencedBlobs(future);
+		Assert.assertTrue(deleted >= 1);
+		Assert.assertFalse(revisionBlobStore.exists(blob));
+		Assert.assertNull(revisionBlobDao.loadBlob(blob.getHash()));
+	}
+	
+	@Test
+	public void storeAfterDelete() throws IOException {
+		File file = createFile("version.bin", UUID.randomUUID().toString());
+		VFSRevisionBlobImpl blob = revisionBlobStore.store(file, null);
+		dbInstance.commitAndCloseSession();
+		revisionBlobStore.deleteUnreferencedBlobs(DateUtils.addMinutes(new Date(), 1));
+		Assert.assertFalse(revisionBlobStore.exists(blob));
+		
+		VFSRevisionBlobImpl newBlob = revisionBlobStore.store(file, null);
+		dbInstance.commitAndCloseSession();
+		Assert.assertNotNull(newBlob);
+		Assert.assertEquals(blob.getHash(), newBlob.getHash());
+		Assert.assertTrue(revisionBlobStore.exists(newBlob));
+	}
+	
+	private File createFile(String filename, String content) throws IOException {
+		File file = new File(directory, filename);
+		Files.writeString(file.toPath(), content);
+		return file;
+	}
+}
@@ -0,0 +1,174 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.commons.services.vfs.manager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.olat.core.commons.services.vfs.manager.VFSThumbnailGenerator.Priority;
+import org.olat.core.commons.services.vfs.model.VFSThumbnailGeneratorStatistics;
+import org.olat.core.util.vfs.VFSLeaf;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class VFSThumbnailGeneratorTest {
+	
+	@Test
+	public void coalesceRequests() throws Exception {
+		VFSThumbnailGenerator generator = new VFSThumbnailGenerator(2, 100);
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			AtomicInteger generations = new AtomicInteger();
+			
+			CompletableFuture<VFSLeaf> future1 = generator.generate("/folder/image.jpg::30x30", Priority.REQUEST, () -> {
+				generations.incrementAndGet();
+				await(latch);
+				return null;
+			});
+			CompletableFuture<VFSLeaf> future2 = generator.generate("/folder/image.jpg::30x30", Priority.REQUEST, () -> {
+				generations.incrementAndGet();
+				return null;
+			});
+			Assert.assertSame(future1, future2);
+			
+			latch.countDown();
+			future1.get(10, TimeUnit.SECONDS);
+			Assert.assertEquals(1, generations.get());
+			
+			VFSThumbnailGeneratorStatistics statistics = generator.getStatistics();
+			Assert.assertEquals(2, statistics.requests());
+			Assert.assertEquals(1, statistics.coalesced());
+			Assert.assertEquals(1, statistics.generated());
+		} finally {
+			generator.shutdown();
+		}
+	}
+	
+	@Test
+	public void requestsBeforePregeneration() throws Exception {
+		VFSThumbnailGenerator generator = new VFSThumbnailGenerator(1, 100);
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			List<String> order = new CopyOnWriteArrayList<>();
+			
+			// block the single thread
+			generator.generate("blocker", Priority.REQUEST, () -> {
+				await(latch);
+				return null;
+			});
+			CompletableFuture<VFSLeaf> pregeneration = generator.generate("pregeneration", Priority.PREGENERATION, () -> {
+				order.add("pregeneration");
+				return null;
+			});
+			CompletableFuture<VFSLeaf> request = generator.generate("request", Priority.REQUEST, () -> {
+				order.add("request");
+				return null;
+			});
+			
+			latch.countDown();
+			request.get(10, TimeUnit.SECONDS);
+			pregeneration.get(10, TimeUnit.SECONDS);
+			Assert.assertEquals(List.of("request", "pregeneration"), order);
+		} finally {
+			generator.shutdown();
+		}
+	}
+	
+	@Test
+	public void requestRaisesPregeneration() throws Exception {
+		VFSThumbnailGenerator generator = new VFSThumbnailGenerator(1, 100);
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			CountDownLatch started = new CountDownLatch(1);
+			List<String> order = new CopyOnWriteArrayList<>();
+			
+			// block the single thread
+			generator.generate("blocker", Priority.REQUEST, () -> {
+				started.countDown();
+				await(latch);
+				return null;
+			});
+			Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+			CompletableFuture<VFSLeaf> other = generator.generate("other", Priority.PREGENERATION, () -> {
+				order.add("other");
+				return null;
+			});
+			CompletableFuture<VFSLeaf> pregeneration = generator.generate("joined", Priority.PREGENERATION, () -> {
+				order.add("joined");
+				return null;
+			});
+			// a user joins the second pre-generation
+			CompletableFuture<VFSLeaf> request = generator.generate("joined", Priority.REQUEST, () -> {
+				order.add("request");
+				return null;
+			});
+			Assert.assertSame(pregeneration, request);
+			
+			latch.countDown();
+			request.get(10, TimeUnit.SECONDS);
+			other.get(10, TimeUnit.SECONDS);
+			Assert.assertEquals(List.of("joined", "other"), order);
+		} finally {
+			generator.shutdown();
+		}
+	}
+	
+	@Test
+	public void rejectWhenQueueIsFull() throws Exception {
+		VFSThumbnailGenerator generator = new VFSThumbnailGenerator(1, 1);
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			CountDownLatch started = new CountDownLatch(1);
+			generator.generate("blocker", Priority.REQUEST, () -> {
+				started.countDown();
+				await(latch);
+				return null;
+			});
+			started.await(10, TimeUnit.SECONDS);
+			generator.generate("queued", Priority.REQUEST, () -> null);
+			
+			CompletableFuture<VFSLeaf> rejected = generator.generate("rejected", Priority.REQUEST, () -> null);
+			Assert.assertTrue(rejected.isDone());
+			Assert.assertNull(rejected.get());
+			Assert.assertEquals(1, generator.getStatistics().rejected());
+			latch.countDown();
+		} finally {
+			generator.shutdown();
+		}
+	}
+	
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
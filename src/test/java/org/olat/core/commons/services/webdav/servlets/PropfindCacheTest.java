@@ -0,0 +1,121 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.commons.services.webdav.servlets;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class PropfindCacheTest {
+	
+	@Test
+	public void putAndGet() {
+		PropfindCache cache = new PropfindCache(60000l);
+		String key = PropfindCache.key("/webdav/home", 1, 1, null);
+		Assert.assertNull(cache.get(key, "stamp"));
+		
+		cache.put(key, "stamp", "<D:multistatus/>");
+		Assert.assertEquals("<D:multistatus/>", cache.get(key, "stamp"));
+		
+		cache.clear();
+		Assert.assertNull(cache.get(key, "stamp"));
+	}
+	
+	@Test
+	public void changedStamp() {
+		PropfindCache cache = new PropfindCache(60000l);
+		String key = PropfindCache.key("/webdav/home", 1, 1, null);
+		cache.put(key, "1700000000000:3:1024:1700000000000", "<D:multistatus/>");
+		Assert.assertEquals("<D:multistatus/>", cache.get(key, "1700000000000:3:1024:1700000000000"));
+		
+		// a child was changed by an other session
+		Assert.assertNull(cache.get(key, "1700000000000:3:1031:1700000005000"));
+		Assert.assertNull(cache.get(key, "1700000000000:3:1024:1700000000000"));
+	}
+	
+	@Test
+	public void keys() {
+		String key = PropfindCache.key("/webdav/home", 1, 0, List.of("getetag"));
+		Assert.assertNotEquals(key, PropfindCache.key("/webdav/home", 0, 0, List.of("getetag")));
+		Assert.assertNotEquals(key, PropfindCache.key("/webdav/home", 1, 1, List.of("getetag")));
+		Assert.assertNotEquals(key, PropfindCache.key("/webdav/home", 1, 0, List.of("getetag", "resourcetype")));
+		Assert.assertNotEquals(key, PropfindCache.key("/webdav/home/public", 1, 0, List.of("getetag")));
+		Assert.assertEquals(key, PropfindCache.key("/webdav/home", 1, 0, List.of("getetag")));
+	}
+	
+	@Test
+	public void expired() {
+		PropfindCache cache = new PropfindCache(-1l);
+		String key = PropfindCache.key("/webdav/home", 1, 1, null);
+		cache.put(key, "stamp", "<D:multistatus/>");
+		Assert.assertNull(cache.get(key, "stamp"));
+	}
+	
+	@Test
+	public void leastRecentlyUsed() {
+		PropfindCache cache = new PropfindCache(60000l);
+		for(int i=0; i<PropfindCache.MAX_RESPONSES; i++) {
+			cache.put("key-" + i, "stamp", "response-" + i);
+		}
+		// use the first one, the second is now the least recently used
+		Assert.assertEquals("response-0", cache.get("key-0", "stamp"));
+		cache.put("key-new", "stamp", "response-new");
+		
+		Assert.assertEquals("response-0", cache.get("key-0", "stamp"));
+		Assert.assertNull(cache.get("key-1", "stamp"));
+		Assert.assertEquals("response-2", cache.get("key-2", "stamp"));
+		Assert.assertEquals("response-new", cache.get("key-new", "stamp"));
+	}
+	
+	@Test
+	public void capturingWriter() throws IOException {
+		StringWriter out = new StringWriter();
+		PropfindCache.CapturingWriter writer = new PropfindCache.CapturingWriter(out);
+		writer.write("<D:multistatus>");
+		writer.write("<D:response/>".toCharArray());
+		writer.write("</D:multistatus>");
+		writer.flush();
+		
+		Assert.assertEquals("<D:multistatus><D:response/></D:multistatus>", out.toString());
+		Assert.assertEquals("<D:multistatus><D:response/></D:multistatus>", writer.getCaptured());
+	}
+	
+	@Test
+	public void capturingWriterTooLong() throws IOException {
+		StringWriter out = new StringWriter();
+		PropfindCache.CapturingWriter writer = new PropfindCache.CapturingWriter(out);
+		String response = "<D:response/>".repeat(PropfindCache.MAX_RESPONSE_LENGTH / 10);
+		writer.write(response);
+		writer.write("</D:multistatus>");
+		
+		// the client receives the whole response, but it's not cached
+		Assert.assertEquals(response + "</D:multistatus>", out.toString());
+		Assert.assertNull(writer.getCaptured());
+	}
+}
@@ -0,0 +1,146 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.components.form.flexible.impl.elements.table;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.olat.core.commons.persistence.SortKey;
+import org.olat.core.logging.Tracing;
+
+/**
+ * Measure the sort of a table with 100'000 members (name, date and number
+ * columns) with the default comparator, with the precomputed keys and with
+ * the cached permutations. Not part of the test suite, run it manually.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class SortableFlexiTableModelDelegateBenchmark {
+	
+	private static final Logger log = Tracing.createLoggerFor(SortableFlexiTableModelDelegateBenchmark.class);
+	
+	private static final int NUM_OF_ROWS = 100000;
+	private static final int NUM_OF_SORTS = 10;
+	
+	@Test
+	public void sortMembers() {
+		MemberModel model = new MemberModel();
+		
+		for(String column:List.of("lastName", "lastLogin", "score")) {
+			SortKey asc = new SortKey(column, true);
+			SortKey desc = new SortKey(column, false);
+			
+			// comparator of a subclass
+			long comparator = measure(() -> new SortableFlexiTableModelDelegate<>(asc, model, Locale.GERMAN) {
+				//
+			}.sort(), () -> new SortableFlexiTableModelDelegate<>(desc, model, Locale.GERMAN) {
+				//
+			}.sort());
+			
+			// keys, the cache is dropped before every sort
+			long keys = measure(() -> {
+				model.setSortCache(null);
+				return new SortableFlexiTableModelDelegate<>(asc, model, Locale.GERMAN).sort();
+			}, () -> {
+				model.setSortCache(null);
+				return new SortableFlexiTableModelDelegate<>(desc, model, Locale.GERMAN).sort();
+			});
+			
+			// keys and cached permutations
+			long cached = measure(() -> new SortableFlexiTableModelDelegate<>(asc, model, Locale.GERMAN).sort(),
+					() -> new SortableFlexiTableModelDelegate<>(desc, model, Locale.GERMAN).sort());
+			
+			log.info("Sort {} rows by {} ({} times asc/desc): comparator {}ms, keys {}ms, cached {}ms",
+					NUM_OF_ROWS, column, NUM_OF_SORTS, comparator, keys, cached);
+		}
+	}
+	
+	private long measure(Supplier<List<Member>> ascSort, Supplier<List<Member>> descSort) {
+		long start = System.nanoTime();
+		for(int i=0; i<NUM_OF_SORTS; i++) {
+			Assert.assertEquals(NUM_OF_ROWS, ascSort.get().size());
+			Assert.assertEquals(NUM_OF_ROWS, descSort.get().size());
+		}
+		return (System.nanoTime() - start) / 1000000l;
+	}
+	
+	public record Member(String firstName, String lastName, Date lastLogin, Double score) {
+		//
+	}
+	
+	private static class MemberModel extends DefaultFlexiTableDataModel<Member> implements SortableFlexiTableDataModel<Member> {
+		
+		private static final String[] FIRST_NAMES = { "Anna", "\u00c9milie", "Jean", "J\u00fcrg", "Zo\u00e9", "Lukas", "Ol\u00e9", "Marie" };
+		private static final String[] LAST_NAMES = { "M\u00fcller", "Muller", "Dupont", "\u00d6zt\u00fcrk", "Rossi", "Schmid", "Lef\u00e8vre", "Keller" };
+		
+		public MemberModel() {
+			super(createColumnModel());
+			
+			Random rnd = new Random(NUM_OF_ROWS);
+			List<Member> members = new ArrayList<>(NUM_OF_ROWS);
+			for(int i=0; i<NUM_OF_ROWS; i++) {
+				String firstName = FIRST_NAMES[rnd.nextInt(FIRST_NAMES.length)];
+				String lastName = LAST_NAMES[rnd.nextInt(LAST_NAMES.length)] + "-" + rnd.nextInt(10000);
+				Date lastLogin = rnd.nextInt(20) == 0 ? null : new Date(1700000000000l + rnd.nextInt(100000000) * 1000l);
+				members.add(new Member(firstName, lastName, lastLogin, Double.valueOf(rnd.nextInt(1000) / 10.0d)));
+			}
+			setObjects(members);
+		}
+		
+		private static FlexiTableColumnModel createColumnModel() {
+			FlexiTableColumnModel columnsModel = FlexiTableDataModelFactory.createFlexiTableColumnModel();
+			columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel("firstName", 0, true, "firstName"));
+			columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel("lastName", 1, true, "lastName"));
+			columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel("lastLogin", 2, true, "lastLogin"));
+			columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel("score", 3, true, "score"));
+			return columnsModel;
+		}
+
+		@Override
+		public void sort(SortKey sortKey) {
+			//
+		}
+
+		@Override
+		public Object getValueAt(int row, int col) {
+			return getValueAt(getObject(row), col);
+		}
+
+		@Override
+		public Object getValueAt(Member row, int col) {
+			switch(col) {
+				case 0: return row.firstName();
+				case 1: return row.lastName();
+				case 2: return row.lastLogin();
+				case 3: return row.score();
+				default: return null;
+			}
+		}
+	}
+}
@@ -0,0 +1,274 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.components.form.flexible.impl.elements.table;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.olat.core.commons.persistence.SortKey;
+
+/**
+ * Compare the sort with precomputed keys with the sort with the
+ * default comparator.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class SortableFlexiTableModelDelegateTest {
+	
+	private static final String[] NAMES = { "Zo\u00e9", "zoe", "\u00c9mile", "emile", "Anna", "anna", "\u00d6lf", "Olaf", null };
+	
+	@Test
+	public void sortStrings() {
+		assertSameAsComparator(TestModel.create(200), new SortKey("name", true));
+		assertSameAsComparator(TestModel.create(200), new SortKey("name", false));
+	}
+	
+	@Test
+	public void sortDates() {
+		assertSameAsComparator(TestModel.create(200), new SortKey("date", true));
+		assertSameAsComparator(TestModel.create(200), new SortKey("date", false));
+	}
+	
+	@Test
+	public void sortNumbers() {
+		assertSameAsComparator(TestModel.create(200), new SortKey("score", true));
+		assertSameAsComparator(TestModel.create(200), new SortKey("count", false));
+	}
+	
+	@Test
+	public void sortCached() {
+		int numOfRows = SortableFlexiTableModelDelegate.SORT_CACHE_THRESHOLD + 100;
+		TestModel model = TestModel.create(numOfRows);
+		List<TestRow> sortedByName = new SortableFlexiTableModelDelegate<>(new SortKey("name", true), model, Locale.ENGLISH).sort();
+		Assert.assertNotNull(model.getSortCache());
+		assertSorted(sortedByName, true);
+		
+		// the rows sorted with the cache, the cache is still valid
+		model.setObjects(new SortableFlexiTableModelDelegate<>(new SortKey("count", true), model, Locale.ENGLISH).sort());
+		FlexiTableSortCache cache = model.getSortCache();
+		Assert.assertNotNull(cache);
+		
+		List<TestRow> sortedAgain = new SortableFlexiTableModelDelegate<>(new SortKey("name", true), model, Locale.ENGLISH).sort();
+		Assert.assertSame(cache, model.getSortCache());
+		Assert.assertEquals(sortedByName, sortedAgain);
+		
+		List<TestRow> sortedDesc = new SortableFlexiTableModelDelegate<>(new SortKey("name", false), model, Locale.ENGLISH).sort();
+		List<TestRow> reversed = new ArrayList<>(sortedByName);
+		Collections.reverse(reversed);
+		Assert.assertEquals(reversed, sortedDesc);
+		
+		// the same rows from elsewhere invalidate the cache, their values can have changed
+		model.setObjects(model.getObjects());
+		Assert.assertNull(model.getSortCache());
+		
+		// new rows invalidate the cache
+		new SortableFlexiTableModelDelegate<>(new SortKey("name", true), model, Locale.ENGLISH).sort();
+		Assert.assertNotNull(model.getSortCache());
+		model.setObjects(TestModel.createRows(10));
+		Assert.assertNull(model.getSortCache());
+	}
+	
+	/**
+	 * A row changed in place must be sorted with its new value: only the
+	 * sort result itself keeps the cache, setting it again or reloading
+	 * the data of the table drops it.
+	 */
+	@Test
+	public void sortCacheUpdatedRows() {
+		int numOfRows = SortableFlexiTableModelDelegate.SORT_CACHE_THRESHOLD + 100;
+		TestModel model = TestModel.create(numOfRows);
+		List<TestRow> sorted = new SortableFlexiTableModelDelegate<>(new SortKey("name", true), model, Locale.ENGLISH).sort();
+		model.setObjects(sorted);
+		Assert.assertNotNull(model.getSortCache());
+		
+		// the same list set a second time are updated rows
+		model.setObjects(sorted);
+		Assert.assertNull(model.getSortCache());
+		
+		// reload of the table
+		new SortableFlexiTableModelDelegate<>(new SortKey("name", true), model, Locale.ENGLISH).sort();
+		Assert.assertNotNull(model.getSortCache());
+		model.clearSortCache();
+		Assert.assertNull(model.getSortCache());
+		
+		// change a row in place, sort again after the reload
+		MutableModel mutableModel = MutableModel.create(numOfRows);
+		List<MutableRow> sortedRows = new SortableFlexiTableModelDelegate<>(new SortKey("name", true), mutableModel, Locale.ENGLISH).sort();
+		mutableModel.setObjects(sortedRows);
+		MutableRow first = sortedRows.get(0);
+		first.setName("zzzz");
+		mutableModel.clearSortCache();
+		
+		List<MutableRow> resorted = new SortableFlexiTableModelDelegate<>(new SortKey("name", true), mutableModel, Locale.ENGLISH).sort();
+		Assert.assertSame(first, resorted.get(resorted.size() - 1));
+	}
+	
+	@Test
+	public void sortMultipleColumns() {
+		TestModel model = TestModel.create(500);
+		List<TestRow> sorted = new SortableFlexiTableModelDelegate<>(new SortKey("count", true), model, Locale.ENGLISH,
+				new SortKey("score", false)).sort();
+		for(int i=1; i<sorted.size(); i++) {
+			TestRow previous = sorted.get(i - 1);
+			TestRow row = sorted.get(i);
+			Assert.assertTrue(previous.count() <= row.count());
+			if(previous.count() == row.count()) {
+				Assert.assertTrue(previous.score() >= row.score());
+			}
+		}
+	}
+	
+	private void assertSorted(List<TestRow> rows, boolean asc) {
+		Collator collator = Collator.getInstance(Locale.ENGLISH);
+		for(int i=1; i<rows.size(); i++) {
+			String previous = rows.get(i - 1).name();
+			String current = rows.get(i).name();
+			if(previous != null && current != null) {
+				int c = collator.compare(previous, current);
+				Assert.assertTrue(asc ? c <= 0 : c >= 0);
+			} else if(asc) {
+				Assert.assertTrue(previous == null || current != null);
+			}
+		}
+	}
+	
+	private void assertSameAsComparator(TestModel model, SortKey sortKey) {
+		List<TestRow> withKeys = new SortableFlexiTableModelDelegate<>(sortKey, model, Locale.GERMAN).sort();
+		// a subclass uses the comparator
+		List<TestRow> withComparator = new SortableFlexiTableModelDelegate<>(sortKey, model, Locale.GERMAN) {
+			//
+		}.sort();
+		Assert.assertEquals(withComparator, withKeys);
+	}
+	
+	public record TestRow(int id, String name, Date date, double score, int count) {
+		//
+	}
+	
+	public static class MutableRow {
+		
+		private String name;
+		
+		public MutableRow(String name) {
+			this.name = name;
+		}
+		
+		public String getName() {
+			return name;
+		}
+		
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+	
+	private static class MutableModel extends DefaultFlexiTableDataModel<MutableRow> implements SortableFlexiTableDataModel<MutableRow> {
+		
+		public MutableModel(FlexiTableColumnModel columnModel) {
+			super(columnModel);
+		}
+		
+		public static MutableModel create(int numOfRows) {
+			FlexiTableColumnModel columnsModel = FlexiTableDataModelFactory.createFlexiTableColumnModel();
+			columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel("name", 0, true, "name"));
+			MutableModel model = new MutableModel(columnsModel);
+			List<MutableRow> rows = new ArrayList<>(numOfRows);
+			for(int i=0; i<numOfRows; i++) {
+				rows.add(new MutableRow("row-" + (10000 + i)));
+			}
+			model.setObjects(rows);
+			return model;
+		}
+
+		@Override
+		public void sort(SortKey sortKey) {
+			//
+		}
+
+		@Override
+		public Object getValueAt(int row, int col) {
+			return getValueAt(getObject(row), col);
+		}
+
+		@Override
+		public Object getValueAt(MutableRow row, int col) {
+			return col == 0 ? row.getName() : null;
+		}
+	}
+	
+	private static class TestModel extends DefaultFlexiTableDataModel<TestRow> implements SortableFlexiTableDataModel<TestRow> {
+		
+		public TestModel(FlexiTableColumnModel columnModel) {
+			super(columnModel);
+		}
+		
+		public static TestModel create(int numOfRows) {
+			FlexiTableColumnModel columnsModel = FlexiTableDataModelFactory.createFlexiTableColumnModel();
+			columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel("name", 0, true, "name"));
+			columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel("date", 1, true, "date"));
+			columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel("score", 2, true, "score"));
+			columnsModel.addFlexiColumnModel(new DefaultFlexiColumnModel("count", 3, true, "count"));
+			TestModel model = new TestModel(columnsModel);
+			model.setObjects(createRows(numOfRows));
+			return model;
+		}
+		
+		public static List<TestRow> createRows(int numOfRows) {
+			Random rnd = new Random(numOfRows);
+			List<TestRow> rows = new ArrayList<>(numOfRows);
+			for(int i=0; i<numOfRows; i++) {
+				String name = NAMES[rnd.nextInt(NAMES.length)];
+				Date date = rnd.nextInt(10) == 0 ? null : new Date(1700000000000l + rnd.nextInt(1000) * 1000l);
+				rows.add(new TestRow(i, name, date, rnd.nextInt(20) / 2.0d, rnd.nextInt(10)));
+			}
+			return rows;
+		}
+
+		@Override
+		public void sort(SortKey sortKey) {
+			//
+		}
+
+		@Override
+		public Object getValueAt(int row, int col) {
+			return getValueAt(getObject(row), col);
+		}
+
+		@Override
+		public Object getValueAt(TestRow row, int col) {
+			switch(col) {
+				case 0: return row.name();
+				case 1: return row.date();
+				case 2: return Double.valueOf(row.score());
+				case 3: return Integer.valueOf(row.count());
+				default: return null;
+			}
+		}
+	}
+}
@@ -0,0 +1,260 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.control.pushpoll;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.olat.core.gui.media.MediaResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Test the registry with mocked asynchronous requests, the scheduler
+ * is not started and the periodic tasks are called by the tests.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class PushChannelRegistryTest {
+	
+	private PushChannelRegistry registry;
+	
+	@Before
+	public void createRegistry() {
+		registry = new PushChannelRegistry();
+		ReflectionTestUtils.setField(registry, "enabled", true);
+		ReflectionTestUtils.setField(registry, "heartbeat", 25000l);
+		ReflectionTestUtils.setField(registry, "maxDuration", 600000l);
+	}
+	
+	@After
+	public void destroyRegistry() {
+		registry.destroy();
+	}
+	
+	@Test
+	public void registerAndWake() throws Exception {
+		TestChannel channel = connect("channel-1");
+		Assert.assertEquals(1, registry.getNumOfConnections());
+		Assert.assertTrue(channel.output().toString().startsWith("retry: "));
+		
+		registry.wake("channel-1");
+		Assert.assertEquals(1, channel.output().count("event: wake"));
+		
+		// woke up recently, the second one is coalesced and sent later
+		registry.wake("channel-1");
+		registry.wake("channel-1");
+		Assert.assertEquals(1, channel.output().count("event: wake"));
+		Thread.sleep(300);
+		ReflectionTestUtils.invokeMethod(registry, "sendPendingWakes");
+		Assert.assertEquals(2, channel.output().count("event: wake"));
+		
+		// nothing pending anymore
+		Thread.sleep(300);
+		ReflectionTestUtils.invokeMethod(registry, "sendPendingWakes");
+		Assert.assertEquals(2, channel.output().count("event: wake"));
+	}
+	
+	@Test
+	public void wakeBeforeConnect() throws Exception {
+		registry.wakeLater("channel-2");
+		
+		TestChannel channel = connect("channel-2");
+		Assert.assertEquals(1, channel.output().count("event: wake"));
+	}
+	
+	@Test
+	public void wakeOtherChannel() throws Exception {
+		TestChannel channel1 = connect("channel-3");
+		TestChannel channel2 = connect("channel-4");
+		Assert.assertEquals(2, registry.getNumOfConnections());
+		
+		registry.wake("channel-4");
+		Assert.assertEquals(0, channel1.output().count("event: wake"));
+		Assert.assertEquals(1, channel2.output().count("event: wake"));
+	}
+	
+	@Test
+	public void unregister() throws Exception {
+		TestChannel channel = connect("channel-5");
+		Assert.assertEquals(1, registry.getNumOfConnections());
+		
+		registry.close("channel-5");
+		Assert.assertEquals(0, registry.getNumOfConnections());
+		verify(channel.asyncContext()).complete();
+		
+		// nothing sent to a closed channel
+		registry.wake("channel-5");
+		Assert.assertEquals(0, channel.output().count("event: wake"));
+	}
+	
+	@Test
+	public void unregisterByContainer() throws Exception {
+		TestChannel channel = connect("channel-6");
+		Assert.assertEquals(1, registry.getNumOfConnections());
+		
+		channel.listener().onComplete(null);
+		Assert.assertEquals(0, registry.getNumOfConnections());
+		
+		TestChannel timedOutChannel = connect("channel-7");
+		timedOutChannel.listener().onTimeout(null);
+		Assert.assertEquals(0, registry.getNumOfConnections());
+		verify(timedOutChannel.asyncContext()).complete();
+	}
+	
+	@Test
+	public void reconnectClosePrevious() throws Exception {
+		TestChannel previous = connect("channel-8");
+		TestChannel channel = connect("channel-8");
+		Assert.assertEquals(1, registry.getNumOfConnections());
+		verify(previous.asyncContext()).complete();
+		verify(channel.asyncContext(), never()).complete();
+		
+		// the old connection cannot unregister the new one
+		previous.listener().onComplete(null);
+		Assert.assertEquals(1, registry.getNumOfConnections());
+		registry.wake("channel-8");
+		Assert.assertEquals(1, channel.output().count("event: wake"));
+	}
+	
+	@Test
+	public void deadChannelCleanupByWake() throws Exception {
+		TestChannel channel = connect("channel-9");
+		channel.output().setBroken(true);
+		
+		registry.wake("channel-9");
+		Assert.assertEquals(0, registry.getNumOfConnections());
+		verify(channel.asyncContext(), atLeastOnce()).complete();
+	}
+	
+	@Test
+	public void deadChannelCleanupByHeartbeat() throws Exception {
+		TestChannel deadChannel = connect("channel-10");
+		TestChannel channel = connect("channel-11");
+		deadChannel.output().setBroken(true);
+		
+		ReflectionTestUtils.invokeMethod(registry, "sendHeartbeats");
+		Assert.assertEquals(1, registry.getNumOfConnections());
+		Assert.assertEquals(1, channel.output().count(": ping"));
+		verify(deadChannel.asyncContext(), atLeastOnce()).complete();
+	}
+	
+	@Test
+	public void disabled() {
+		ReflectionTestUtils.setField(registry, "enabled", false);
+		HttpServletRequest request = mock(HttpServletRequest.class);
+		when(request.isAsyncSupported()).thenReturn(Boolean.TRUE);
+		Assert.assertNull(registry.connect("channel-12", request));
+		Assert.assertEquals(0, registry.getNumOfConnections());
+	}
+	
+	private TestChannel connect(String channelId) throws IOException {
+		TestOutputStream output = new TestOutputStream();
+		HttpServletResponse response = mock(HttpServletResponse.class);
+		when(response.getOutputStream()).thenReturn(output);
+		
+		AsyncContext asyncContext = mock(AsyncContext.class);
+		when(asyncContext.getResponse()).thenReturn(response);
+		List<AsyncListener> listeners = new ArrayList<>();
+		doAnswer(invocation -> {
+			listeners.add(invocation.getArgument(0));
+			return null;
+		}).when(asyncContext).addListener(any(AsyncListener.class));
+		
+		HttpServletRequest request = mock(HttpServletRequest.class);
+		when(request.isAsyncSupported()).thenReturn(Boolean.TRUE);
+		when(request.startAsync()).thenReturn(asyncContext);
+		
+		MediaResource resource = registry.connect(channelId, request);
+		Assert.assertNotNull(resource);
+		verify(asyncContext).setTimeout(anyLong());
+		resource.prepare(response);
+		
+		Assert.assertEquals(1, listeners.size());
+		return new TestChannel(asyncContext, listeners.get(0), output);
+	}
+	
+	private record TestChannel(AsyncContext asyncContext, AsyncListener listener, TestOutputStream output) {
+		//
+	}
+	
+	private static class TestOutputStream extends ServletOutputStream {
+		
+		private final StringBuilder sb = new StringBuilder();
+		private boolean broken;
+		
+		public void setBroken(boolean broken) {
+			this.broken = broken;
+		}
+		
+		public int count(String frame) {
+			int count = 0;
+			for(int index=sb.indexOf(frame); index >= 0; index=sb.indexOf(frame, index + frame.length())) {
+				count++;
+			}
+			return count;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			if(broken) {
+				throw new IOException("Broken pipe");
+			}
+			sb.append((char)b);
+		}
+
+		@Override
+		public boolean isReady() {
+			return true;
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			//
+		}
+		
+		@Override
+		public String toString() {
+			return sb.toString();
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.media;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.olat.test.OlatTestCase;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class ServletUtilTest extends OlatTestCase {
+	
+	private File file;
+	
+	@Before
+	public void createFile() throws IOException {
+		file = Files.createTempFile("serve", ".txt").toFile();
+		Files.writeString(file.toPath(), "0123456789");
+	}
+	
+	@After
+	public void deleteFile() throws IOException {
+		Files.deleteIfExists(file.toPath());
+	}
+	
+	@Test
+	public void serveFile() throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file.txt");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ServletUtil.serveResource(request, response, new FileMediaResource(file));
+		
+		Assert.assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+		Assert.assertEquals("0123456789", response.getContentAsString());
+		Assert.assertEquals(ServletUtil.getETag(file), response.getHeader("ETag"));
+	}
+	
+	@Test
+	public void notModified() throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file.txt");
+		request.addHeader("If-None-Match", "\"other\", " + ServletUtil.getETag(file));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ServletUtil.serveResource(request, response, new FileMediaResource(file));
+		
+		Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+		Assert.assertEquals(0, response.getContentAsByteArray().length);
+	}
+	
+	@Test
+	public void modifiedETag() throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file.txt");
+		request.addHeader("If-None-Match", "\"other\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ServletUtil.serveResource(request, response, new FileMediaResource(file));
+		
+		Assert.assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+		Assert.assertEquals("0123456789", response.getContentAsString());
+	}
+	
+	@Test
+	public void singleRange() throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file.txt");
+		request.addHeader("Range", "bytes=2-5");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ServletUtil.serveResource(request, response, new FileMediaResource(file));
+		
+		Assert.assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+		Assert.assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+		Assert.assertEquals("2345", response.getContentAsString());
+	}
+	
+	@Test
+	public void multipleRanges() throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file.txt");
+		request.addHeader("Range", "bytes=0-1,7-");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ServletUtil.serveResource(request, response, new FileMediaResource(file));
+		
+		Assert.assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+		Assert.assertTrue(response.getContentType().startsWith("multipart/byteranges"));
+		String content = new String(response.getContentAsByteArray(), StandardCharsets.US_ASCII);
+		Assert.assertTrue(content.contains("Content-Range: bytes 0-1/10\r\n\r\n01\r\n"));
+		Assert.assertTrue(content.contains("Content-Range: bytes 7-9/10\r\n\r\n789\r\n"));
+	}
+	
+	@Test
+	public void ifRangeOutdated() throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file.txt");
+		request.addHeader("Range", "bytes=2-5");
+		request.addHeader("If-Range", "\"outdated\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ServletUtil.serveResource(request, response, new FileMediaResource(file));
+		
+		Assert.assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+		Assert.assertEquals("0123456789", response.getContentAsString());
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.gui.render;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class RenderFragmentCacheTest {
+	
+	@Test
+	public void leastRecentlyUsed() {
+		RenderFragmentCache cache = new RenderFragmentCache(2);
+		cache.put("1", "<div>1</div>");
+		cache.put("2", "<div>2</div>");
+		// touch the first one
+		Assert.assertEquals("<div>1</div>", cache.get("1"));
+		cache.put("3", "<div>3</div>");
+		
+		Assert.assertEquals(2, cache.size());
+		Assert.assertNotNull(cache.get("1"));
+		Assert.assertNull(cache.get("2"));
+		Assert.assertNotNull(cache.get("3"));
+	}
+	
+	@Test
+	public void tooLargeFragment() {
+		RenderFragmentCache cache = new RenderFragmentCache(2);
+		cache.put("large", "a".repeat(RenderFragmentCache.MAX_FRAGMENT_LENGTH + 1));
+		Assert.assertNull(cache.get("large"));
+		Assert.assertEquals(0, cache.size());
+	}
+	
+	@Test
+	public void statisticsSampling() {
+		RenderStatistics statistics = RenderStatistics.getInstance();
+		int samplingRate = statistics.getSamplingRate();
+		try {
+			statistics.setSamplingRate(0);
+			Assert.assertFalse(statistics.sample());
+			
+			statistics.reset();
+			statistics.setSamplingRate(4);
+			int sampled = 0;
+			for(int i=0; i<40; i++) {
+				if(statistics.sample()) {
+					sampled++;
+				}
+			}
+			Assert.assertEquals(10, sampled);
+			Assert.assertEquals(10l, statistics.getSampledRenderCycles());
+			
+			statistics.record("render/test.html", 2000l, 500l, 120l);
+			statistics.record("render/test.html", 4000l, 1500l, 80l);
+			RenderStatisticsEntry entry = statistics.getEntries().stream()
+					.filter(e -> "render/test.html".equals(e.name()))
+					.findFirst().orElse(null);
+			Assert.assertNotNull(entry);
+			Assert.assertEquals(2l, entry.count());
+			Assert.assertEquals(6000l, entry.duration());
+			Assert.assertEquals(2000l, entry.selfDuration());
+			Assert.assertEquals(4000l, entry.maxDuration());
+			Assert.assertEquals(100l, entry.getAverageOutputLength());
+		} finally {
+			statistics.setSamplingRate(samplingRate);
+			statistics.reset();
+		}
+	}
+}
@@ -0,0 +1,97 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.logging.activity.manager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.olat.core.logging.activity.LoggingObject;
+import org.olat.core.util.FileUtils;
+
+/**
+ *
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class LoggingObjectSpillFileTest {
+
+	private File directory;
+
+	@Before
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("spill").toFile();
+	}
+
+	@After
+	public void deleteDirectory() {
+		FileUtils.deleteDirsAndFiles(directory, true, true);
+	}
+
+	@Test
+	public void appendAndReplay() throws IOException {
+		LoggingObjectSpillFile spillFile = new LoggingObjectSpillFile(directory);
+		Assert.assertFalse(spillFile.hasPendingEntries());
+
+		LoggingObject logObj1 = new LoggingObject("session-1", 1l, "r", "launch", "test", false);
+		logObj1.setKey(27l);
+		LoggingObject logObj2 = new LoggingObject("session-2", 2l, "u", "edit", "node", false);
+		spillFile.append(List.of(logObj1, logObj2));
+		Assert.assertTrue(spillFile.hasPendingEntries());
+
+		List<LoggingObject> replayed = spillFile.startReplay();
+		Assert.assertEquals(2, replayed.size());
+		Assert.assertNull(replayed.get(0).getKey());
+		Assert.assertEquals("session-1", replayed.get(0).getSessionId());
+		Assert.assertEquals("edit", replayed.get(1).getActionVerb());
+		Assert.assertEquals(2l, replayed.get(1).getUserId());
+
+		// not committed, replay again
+		Assert.assertTrue(spillFile.hasPendingEntries());
+		Assert.assertEquals(2, spillFile.startReplay().size());
+
+		spillFile.commitReplay();
+		Assert.assertFalse(spillFile.hasPendingEntries());
+	}
+
+	@Test
+	public void truncatedRecord() throws IOException {
+		LoggingObjectSpillFile spillFile = new LoggingObjectSpillFile(directory);
+		spillFile.append(List.of(new LoggingObject("session-1", 1l, "r", "launch", "test", false)));
+		spillFile.append(List.of(new LoggingObject("session-2", 2l, "r", "launch", "test", false)));
+
+		// simulate a crash in the middle of the second record
+		File file = new File(directory, "activity-log-spill.bin");
+		try(RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(raf.length() - 10);
+		}
+
+		List<LoggingObject> replayed = spillFile.startReplay();
+		Assert.assertEquals(1, replayed.size());
+		Assert.assertEquals("session-1", replayed.get(0).getSessionId());
+	}
+}
@@ -0,0 +1,204 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.logging.activity.manager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import jakarta.persistence.EntityManager;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.olat.core.commons.persistence.DB;
+import org.olat.core.logging.activity.LoggingObject;
+import org.olat.core.logging.activity.LoggingWriterStatistics;
+import org.olat.core.util.FileUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Test the asynchronous writer with a mocked database: the entries
+ * are persisted in batches, overflow to the spill file and the spill
+ * file is replayed.
+ *
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class LoggingObjectWriterTest {
+
+	private File directory;
+	private LoggingObjectWriter writer;
+
+	private final AtomicInteger persisted = new AtomicInteger();
+	private final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+	@Before
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("spill").toFile();
+	}
+
+	@After
+	public void stopWriter() throws Exception {
+		if(writer != null) {
+			writer.destroy();
+		}
+		FileUtils.deleteDirsAndFiles(directory, true, true);
+	}
+
+	@Test
+	public void batchedFlush() {
+		writer = createWriter(100, 10, 1000, mockDB(null, null));
+
+		for(int i=0; i<25; i++) {
+			Assert.assertTrue(writer.offer(createLoggingObject(i)));
+		}
+
+		Assert.assertTrue(waitFor(() -> writer.getStatistics().written() == 25));
+		LoggingWriterStatistics statistics = writer.getStatistics();
+		Assert.assertEquals(25, persisted.get());
+		Assert.assertEquals(0l, statistics.dropped());
+		Assert.assertEquals(0l, statistics.spilled());
+		// one transaction per batch, not per entry
+		Assert.assertEquals(batches.size(), statistics.flushes());
+		Assert.assertTrue(batches.size() >= 3 && batches.size() < 25);
+		Assert.assertEquals(25, batches.stream().mapToInt(Integer::intValue).sum());
+		for(Integer batch:batches) {
+			Assert.assertTrue(batch.intValue() <= 10);
+		}
+	}
+
+	@Test
+	public void overflowToSpillFileAndReplay() throws Exception {
+		CountDownLatch commitStarted = new CountDownLatch(1);
+		CountDownLatch releaseCommit = new CountDownLatch(1);
+		writer = createWriter(5, 5, 100, mockDB(commitStarted, releaseCommit));
+
+		// the first entry blocks the writer thread in the database
+		Assert.assertTrue(writer.offer(createLoggingObject(0)));
+		Assert.assertTrue(commitStarted.await(10, TimeUnit.SECONDS));
+
+		// fill the queue, the 3 last entries overflow
+		for(int i=1; i<=8; i++) {
+			Assert.assertTrue(writer.offer(createLoggingObject(i)));
+		}
+		Assert.assertEquals(5, writer.getStatistics().queueDepth());
+		releaseCommit.countDown();
+
+		// the overflow is spilled and replayed as soon as the queue is idle
+		LoggingObjectSpillFile spillFile = new LoggingObjectSpillFile(directory);
+		Assert.assertTrue(waitFor(() -> writer.getStatistics().written() == 9 && !spillFile.hasPendingEntries()));
+		LoggingWriterStatistics statistics = writer.getStatistics();
+		Assert.assertEquals(3l, statistics.spilled());
+		Assert.assertEquals(0l, statistics.dropped());
+		Assert.assertEquals(0, statistics.queueDepth());
+		Assert.assertEquals(9, persisted.get());
+	}
+
+	@Test
+	public void replaySpillFileAtStart() throws IOException {
+		LoggingObjectSpillFile spillFile = new LoggingObjectSpillFile(directory);
+		spillFile.append(List.of(createLoggingObject(1), createLoggingObject(2), createLoggingObject(3)));
+		Assert.assertTrue(spillFile.hasPendingEntries());
+
+		writer = createWriter(100, 2, 100, mockDB(null, null));
+
+		Assert.assertTrue(waitFor(() -> writer.getStatistics().written() == 3 && !spillFile.hasPendingEntries()));
+		Assert.assertEquals(3, persisted.get());
+		// replayed in batches
+		Assert.assertEquals(List.of(2, 1), batches);
+	}
+
+	private LoggingObjectWriter createWriter(int capacity, int batchSize, long maxLatency, DB dbInstance) {
+		LoggingObjectWriter loggingObjectWriter = new LoggingObjectWriter();
+		ReflectionTestUtils.setField(loggingObjectWriter, "enabled", true);
+		ReflectionTestUtils.setField(loggingObjectWriter, "queueCapacity", capacity);
+		ReflectionTestUtils.setField(loggingObjectWriter, "batchSize", batchSize);
+		ReflectionTestUtils.setField(loggingObjectWriter, "maxLatency", maxLatency);
+		ReflectionTestUtils.setField(loggingObjectWriter, "overflow", "spill");
+		ReflectionTestUtils.setField(loggingObjectWriter, "dbInstance", dbInstance);
+		loggingObjectWriter.setSpillDirectory(directory);
+		loggingObjectWriter.afterPropertiesSet();
+		return loggingObjectWriter;
+	}
+
+	/**
+	 * @param commitStarted Signaled by the first commit (optional)
+	 * @param releaseCommit The first commit waits on it (optional)
+	 * @return A database which count the persisted entries and the batches
+	 */
+	private DB mockDB(CountDownLatch commitStarted, CountDownLatch releaseCommit) {
+		EntityManager em = mock(EntityManager.class);
+		AtomicInteger pending = new AtomicInteger();
+		doAnswer(invocation -> {
+			pending.incrementAndGet();
+			return null;
+		}).when(em).persist(any());
+
+		DB dbInstance = mock(DB.class);
+		when(dbInstance.getCurrentEntityManager()).thenReturn(em);
+		AtomicBoolean first = new AtomicBoolean(true);
+		doAnswer(invocation -> {
+			if(first.getAndSet(false) && commitStarted != null) {
+				commitStarted.countDown();
+				releaseCommit.await(10, TimeUnit.SECONDS);
+			}
+			int batch = pending.getAndSet(0);
+			batches.add(batch);
+			persisted.addAndGet(batch);
+			return null;
+		}).when(dbInstance).commitAndCloseSession();
+		return dbInstance;
+	}
+
+	private LoggingObject createLoggingObject(int i) {
+		return new LoggingObject("session-" + i, Long.valueOf(i), "r", "launch", "test", false);
+	}
+
+	private boolean waitFor(BooleanSupplier condition) {
+		long deadline = System.currentTimeMillis() + 10000;
+		while(System.currentTimeMillis() < deadline) {
+			if(condition.getAsBoolean()) {
+				return true;
+			}
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return condition.getAsBoolean();
+	}
+}
@@ -608,6 +608,46 @@ public class I18nTest extends OlatTestCase {
 		assertEquals(total, i18nMgr.findExistingAndMissingI18nItems(sourceLocale, targetLocale, null, true).size());
 	}
 	
+	@Test
+	public void testCompiledLookup() {
+		String bundleName = "org.olat.core.util.i18n.junittestdata";
+		Locale locale = Locale.GERMAN;
+		String[] keys = { "gender.none", "gender.simple", "gender.expand", "gender.expand2", "no.need.to.translate.this", "not.a.key" };
+		Object[] args = { "3" };
+		
+		i18nMgr.setCompiledEnabled(false);
+		String[] expected = new String[keys.length];
+		String[] expectedWithArgs = new String[keys.length];
+		for(int i=0; i<keys.length; i++) {
+			expected[i] = i18nMgr.getLocalizedString(bundleName, keys[i], null, locale, true, true);
+			expectedWithArgs[i] = i18nMgr.getLocalizedString(bundleName, keys[i], args, locale, true, true);
+		}
+		
+		i18nMgr.setCompiledEnabled(true);
+		for(int i=0; i<keys.length; i++) {
+			assertEquals(expected[i], i18nMgr.getLocalizedString(bundleName, keys[i], null, locale, true, true));
+			assertEquals(expectedWithArgs[i], i18nMgr.getLocalizedString(bundleName, keys[i], args, locale, true, true));
+		}
+		assertTrue(i18nMgr.getLocalizedString(bundleName, "gender.expand", args, locale, true, true).startsWith("Es sind 3 "));
+		assertNull(i18nMgr.getLocalizedString(bundleName, "not.a.key", null, locale, true, true));
+	}
+	
+	@Test
+	public void testCompiledLookupAfterUpdate() {
+		String testNewBundle =  "org.olat.core.util.i18n.junittestdata.new";
+		Locale testLocale = i18nMgr.getLocaleOrDefault("de");
+		// only possible if the bundles can be written
+		if (i18nModule.getPropertyFilesBaseDir(testLocale, testNewBundle) == null) return;
+		
+		I18nItem i18nItem = i18nMgr.getI18nItem(testNewBundle, "compiled.key", testLocale);
+		i18nMgr.saveOrUpdateI18nItem(i18nItem, "Hallo {0}, it's me");
+		assertEquals("Hallo Welt, it's me", i18nMgr.getLocalizedString(testNewBundle, "compiled.key", new Object[] { "Welt" }, testLocale, false, true));
+
+		i18nMgr.saveOrUpdateI18nItem(i18nItem, "Guten Tag {0}");
+		assertEquals("Guten Tag Welt", i18nMgr.getLocalizedString(testNewBundle, "compiled.key", new Object[] { "Welt" }, testLocale, false, true));
+		assertEquals("Guten Tag {0}", i18nMgr.getLocalizedString(testNewBundle, "compiled.key", null, testLocale, false, true));
+	}
+	
 	/**
 	 * Test method i18nManager.getLocalizedString() with resolvePropertiesInternalKeys()
 	 * Named xx to run testcase last
@@ -0,0 +1,127 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.util.i18n;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.olat.core.gui.translator.PackageTranslator;
+import org.olat.core.gui.translator.Translator;
+import org.olat.core.logging.Tracing;
+import org.olat.test.OlatTestCase;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Measure the cost of the translations needed to render a page like the
+ * course run view (menu, tools, course element, assessment infos) with and
+ * without the compiled translation tables. Not part of the test suite, run
+ * it manually.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class I18nTranslationBenchmark extends OlatTestCase {
+	
+	private static final Logger log = Tracing.createLoggerFor(I18nTranslationBenchmark.class);
+	
+	private static final int KEYS_PER_BUNDLE = 80;
+	private static final int NUM_OF_PAGES = 2000;
+	private static final String[] COURSE_RUN_BUNDLES = {
+			"org.olat.course.run", "org.olat.course.nodes", "org.olat.course.nodes.st",
+			"org.olat.course.assessment", "org.olat.course.style.ui",
+			"org.olat.core.gui.components.tree", "org.olat.repository", "org.olat.core"
+		};
+	
+	@Autowired
+	private I18nManager i18nManager;
+	
+	@Test
+	public void translateCourseRunView() {
+		boolean compiled = i18nManager.isCompiledEnabled();
+		try {
+			for(Locale locale:List.of(Locale.GERMAN, Locale.ENGLISH, Locale.FRENCH)) {
+				List<TranslationCall> page = createPage(locale);
+				
+				i18nManager.setCompiledEnabled(false);
+				List<String> expected = render(page);
+				long uncompiledDuration = measure(page);
+				
+				i18nManager.setCompiledEnabled(true);
+				Assert.assertEquals(expected, render(page));
+				long compiledDuration = measure(page);
+	
+				log.info("Translate {} pages with {} translations ({}): uncompiled {}ms, compiled {}ms",
+						NUM_OF_PAGES, page.size(), locale, uncompiledDuration, compiledDuration);
+			}
+		} finally {
+			i18nManager.setCompiledEnabled(compiled);
+		}
+	}
+	
+	private long measure(List<TranslationCall> page) {
+		// warm up
+		for(int i=0; i<NUM_OF_PAGES / 10; i++) {
+			render(page);
+		}
+		
+		long start = System.nanoTime();
+		for(int i=0; i<NUM_OF_PAGES; i++) {
+			render(page);
+		}
+		return (System.nanoTime() - start) / 1000000l;
+	}
+	
+	private List<String> render(List<TranslationCall> page) {
+		List<String> translations = new ArrayList<>(page.size());
+		for(TranslationCall call:page) {
+			translations.add(call.translator().translate(call.key(), call.args()));
+		}
+		return translations;
+	}
+	
+	private List<TranslationCall> createPage(Locale locale) {
+		List<TranslationCall> page = new ArrayList<>();
+		Translator fallbackTranslator = null;
+		for(int i=COURSE_RUN_BUNDLES.length; i-->0; ) {
+			String bundleName = COURSE_RUN_BUNDLES[i];
+			Translator translator = new PackageTranslator(bundleName, locale, fallbackTranslator);
+			Properties properties = i18nManager.getPropertiesWithoutResolvingRecursively(locale, bundleName);
+			List<String> keys = new ArrayList<>(properties.stringPropertyNames());
+			for(int j=0; j<keys.size() && j<KEYS_PER_BUNDLE; j++) {
+				String key = keys.get(j);
+				String value = properties.getProperty(key);
+				String[] args = value.contains("{0}") ? new String[] { "Test", "Course", "Element" } : null;
+				page.add(new TranslationCall(translator, key, args));
+			}
+			fallbackTranslator = translator;
+		}
+		return page;
+	}
+	
+	private record TranslationCall(Translator translator, String key, String[] args) {
+		//
+	}
+}
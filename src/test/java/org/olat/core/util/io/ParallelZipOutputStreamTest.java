@@ -0,0 +1,232 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.util.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class ParallelZipOutputStreamTest {
+	
+	@Test
+	public void zipAndUnzip() throws IOException {
+		Map<String,byte[]> files = createFiles();
+		byte[] zip = zip(files);
+		
+		try(ZipInputStream zin = new ZipInputStream(new ByteArrayInputStream(zip))) {
+			int count = 0;
+			for(ZipEntry entry = zin.getNextEntry(); entry != null; entry = zin.getNextEntry()) {
+				Assert.assertArrayEquals(entry.getName(), files.get(entry.getName()), zin.readAllBytes());
+				count++;
+			}
+			Assert.assertEquals(files.size(), count);
+		}
+	}
+	
+	@Test
+	public void zipAndReadZipFile() throws IOException {
+		Map<String,byte[]> files = createFiles();
+		File file = File.createTempFile("parallel", ".zip");
+		Files.write(file.toPath(), zip(files));
+		
+		try(ZipFile zipFile = new ZipFile(file)) {
+			Assert.assertEquals(files.size(), zipFile.size());
+			for(Map.Entry<String,byte[]> fileEntry:files.entrySet()) {
+				ZipEntry entry = zipFile.getEntry(fileEntry.getKey());
+				Assert.assertNotNull(entry);
+				Assert.assertArrayEquals(zipFile.getInputStream(entry).readAllBytes(), fileEntry.getValue());
+			}
+			
+			// already compressed and small are stored
+			Assert.assertEquals(ZipEntry.STORED, zipFile.getEntry("image.jpg").getMethod());
+			Assert.assertEquals(ZipEntry.DEFLATED, zipFile.getEntry("text.txt").getMethod());
+			Assert.assertTrue(zipFile.getEntry("text.txt").getCompressedSize() < zipFile.getEntry("text.txt").getSize());
+		} finally {
+			Files.deleteIfExists(file.toPath());
+		}
+	}
+	
+	@Test
+	public void zipManyEntries() throws IOException {
+		File file = File.createTempFile("parallel", ".zip");
+		try(ZipOutputStream zout = new ParallelZipOutputStream(new FileOutputStream(file))) {
+			for(int i=0; i<70000; i++) {
+				zout.putNextEntry(new ZipEntry("file_" + i + ".txt"));
+				zout.write(("Content " + i).getBytes(StandardCharsets.UTF_8));
+				zout.closeEntry();
+			}
+		}
+		
+		try(ZipFile zipFile = new ZipFile(file)) {
+			Assert.assertEquals(70000, zipFile.size());
+			ZipEntry entry = zipFile.getEntry("file_69999.txt");
+			Assert.assertEquals("Content 69999", new String(zipFile.getInputStream(entry).readAllBytes(), StandardCharsets.UTF_8));
+		} finally {
+			Files.deleteIfExists(file.toPath());
+		}
+	}
+	
+	@Test
+	public void zipInZip() throws IOException {
+		byte[] text = createText(3 * ParallelZipOutputStream.BLOCK_SIZE + 7);
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try(ZipOutputStream zout = new ParallelZipOutputStream(out)) {
+			zout.putNextEntry(new ZipEntry("inner.zip"));
+			try(OutputStream shieldedStream = new ShieldOutputStream(zout);
+					ZipOutputStream innerOut = new ParallelZipOutputStream(shieldedStream)) {
+				innerOut.putNextEntry(new ZipEntry("text.txt"));
+				innerOut.write(text);
+			}
+			zout.closeEntry();
+		}
+		
+		try(ZipInputStream zin = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			ZipEntry entry = zin.getNextEntry();
+			Assert.assertEquals("inner.zip", entry.getName());
+			try(ZipInputStream innerIn = new ZipInputStream(new ByteArrayInputStream(zin.readAllBytes()))) {
+				Assert.assertEquals("text.txt", innerIn.getNextEntry().getName());
+				Assert.assertArrayEquals(text, innerIn.readAllBytes());
+			}
+		}
+	}
+	
+	@Test
+	public void concurrentStreamsWithSaturatedPool() throws Exception {
+		ParallelZipOutputStream.configure(1, 6);
+		try {
+			Map<String,byte[]> files = createFiles();
+			ExecutorService executor = Executors.newFixedThreadPool(6);
+			List<Future<byte[]>> zips = new ArrayList<>();
+			for(int i=0; i<12; i++) {
+				zips.add(executor.submit(() -> zip(files)));
+			}
+			executor.shutdown();
+			
+			for(Future<byte[]> zip:zips) {
+				try(ZipInputStream zin = new ZipInputStream(new ByteArrayInputStream(zip.get(60, TimeUnit.SECONDS)))) {
+					int count = 0;
+					for(ZipEntry entry = zin.getNextEntry(); entry != null; entry = zin.getNextEntry()) {
+						Assert.assertArrayEquals(entry.getName(), files.get(entry.getName()), zin.readAllBytes());
+						count++;
+					}
+					Assert.assertEquals(files.size(), count);
+				}
+			}
+		} finally {
+			ParallelZipOutputStream.configure(2, 6);
+		}
+	}
+	
+	@Test(expected = ZipException.class)
+	public void duplicateEntry() throws IOException {
+		try(ZipOutputStream zout = new ParallelZipOutputStream(new ByteArrayOutputStream())) {
+			zout.putNextEntry(new ZipEntry("text.txt"));
+			zout.closeEntry();
+			zout.putNextEntry(new ZipEntry("text.txt"));
+		}
+	}
+	
+	@Test
+	public void isCompressed() {
+		Assert.assertTrue(ParallelZipOutputStream.isCompressed("media/video.MP4"));
+		Assert.assertTrue(ParallelZipOutputStream.isCompressed("oocoursefolder.zip"));
+		Assert.assertFalse(ParallelZipOutputStream.isCompressed("text.txt"));
+		Assert.assertFalse(ParallelZipOutputStream.isCompressed("folder.zip/text"));
+		Assert.assertFalse(ParallelZipOutputStream.isCompressed("README"));
+	}
+	
+	private static byte[] zip(Map<String,byte[]> files) throws IOException {
+		Random random = new Random(42l);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try(ZipOutputStream zout = new ParallelZipOutputStream(out)) {
+			for(Map.Entry<String,byte[]> file:files.entrySet()) {
+				zout.putNextEntry(new ZipEntry(file.getKey()));
+				// write in chunks of random sizes
+				byte[] data = file.getValue();
+				for(int offset=0; offset<data.length; ) {
+					int length = Math.min(data.length - offset, 1 + random.nextInt(70000));
+					zout.write(data, offset, length);
+					offset += length;
+				}
+				zout.closeEntry();
+			}
+		}
+		return out.toByteArray();
+	}
+	
+	private static Map<String,byte[]> createFiles() {
+		Random random = new Random(42l);
+		Map<String,byte[]> files = new LinkedHashMap<>();
+		files.put("folder/", new byte[0]);
+		files.put("folder/empty.txt", new byte[0]);
+		files.put("folder/small.txt", "Hello world, hello world".getBytes(StandardCharsets.UTF_8));
+		files.put("text.txt", createText(5 * ParallelZipOutputStream.BLOCK_SIZE + 17));
+		files.put("block.txt", createText(ParallelZipOutputStream.BLOCK_SIZE));
+		files.put("blocks.txt", createText(2 * ParallelZipOutputStream.BLOCK_SIZE));
+		byte[] video = new byte[3 * ParallelZipOutputStream.BLOCK_SIZE + 5];
+		random.nextBytes(video);
+		files.put("video.mp4", video);
+		byte[] image = new byte[10000];
+		random.nextBytes(image);
+		files.put("image.jpg", image);
+		files.put("random.bin", Arrays.copyOf(image, image.length));
+		files.put("\u00e9t\u00e9/r\u00e9sum\u00e9.txt", "\u00e9t\u00e9".getBytes(StandardCharsets.UTF_8));
+		return files;
+	}
+	
+	private static byte[] createText(int length) {
+		String alphabet = "OpenOlat learning management system\n";
+		byte[] text = new byte[length];
+		for(int i=0; i<length; i++) {
+			text[i] = (byte)alphabet.charAt((i * 7 + i / 1000) % alphabet.length());
+		}
+		return text;
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.core.util.openxml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.olat.core.logging.Tracing;
+import org.olat.core.util.openxml.OpenXMLWorksheet.Row;
+
+/**
+ * Export 1'000'000 cells with the default and the streaming mode of
+ * the workbook and log the time and the heap used. Not part of the
+ * test suite, run it manually with a small heap, e.g. -Xmx128m.
+ *
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class OpenXMLWorkbookBenchmark {
+
+	private static final Logger log = Tracing.createLoggerFor(OpenXMLWorkbookBenchmark.class);
+
+	private static final int NUM_OF_ROWS = 100000;
+	private static final int NUM_OF_COLUMNS = 10;
+
+	@Test
+	public void exportDefault() throws IOException {
+		Measure measure = export(false);
+		log.info("Export {} cells default: {}", NUM_OF_ROWS * NUM_OF_COLUMNS, measure);
+	}
+
+	@Test
+	public void exportStreaming() throws IOException {
+		Measure measure = export(true);
+		log.info("Export {} cells streaming: {}", NUM_OF_ROWS * NUM_OF_COLUMNS, measure);
+	}
+
+	private Measure export(boolean streaming) throws IOException {
+		System.gc();
+		Runtime runtime = Runtime.getRuntime();
+		long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+		long maxUsed = 0l;
+		long start = System.nanoTime();
+
+		try(OutputStream out = OutputStream.nullOutputStream();
+				OpenXMLWorkbook workbook = new OpenXMLWorkbook(out, 1, Collections.emptyList(), streaming)) {
+			OpenXMLWorksheet sheet = workbook.nextWorksheet();
+			sheet.setHeaderRows(1);
+			Row headerRow = sheet.newRow();
+			for(int c=0; c<NUM_OF_COLUMNS; c++) {
+				headerRow.addCell(c, "Column " + c, workbook.getStyles().getHeaderStyle());
+			}
+			
+			for(int r=0; r<NUM_OF_ROWS; r++) {
+				Row row = sheet.newRow();
+				for(int c=0; c<NUM_OF_COLUMNS; c++) {
+					if(c % 2 == 0) {
+						// half unique strings, half numbers
+						row.addCell(c, "Value " + r + "-" + c);
+					} else {
+						row.addCell(c, Integer.valueOf(r * c), null);
+					}
+				}
+				if(r % 10000 == 0) {
+					maxUsed = Math.max(maxUsed, runtime.totalMemory() - runtime.freeMemory());
+				}
+			}
+			maxUsed = Math.max(maxUsed, runtime.totalMemory() - runtime.freeMemory());
+		}
+
+		long duration = (System.nanoTime() - start) / 1000000l;
+		long heap = Math.max(0l, maxUsed - usedBefore) / (1024l * 1024l);
+		return new Measure(duration, heap);
+	}
+
+	private record Measure(long duration, long heap) {
+
+		@Override
+		public String toString() {
+			return "time: " + duration + "ms, max. heap: " + heap + "MB";
+		}
+	}
+}
@@ -22,7 +22,12 @@ package org.olat.core.util.openxml;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.Date;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
@@ -85,4 +90,59 @@ public class OpenXmlWorkbookTest {
 		String col_702 = OpenXMLWorksheet.getColumn(702);
 		Assert.assertEquals("AAA", col_702);
 	}
+	
+	@Test
+	public void sharedStrings() {
+		OpenXMLWorkbookSharedStrings sharedStrings = new OpenXMLWorkbookSharedStrings();
+		int helloIndex = sharedStrings.add("Hello");
+		int worldIndex = sharedStrings.add("World");
+		Assert.assertEquals(1, helloIndex);
+		Assert.assertEquals(2, worldIndex);
+		Assert.assertEquals(helloIndex, sharedStrings.add("Hello"));
+		Assert.assertEquals(3, sharedStrings.count());
+		Assert.assertEquals(3, sharedStrings.uniqueCount());
+	}
+	
+	@Test
+	public void sharedStringsLimited() {
+		OpenXMLWorkbookSharedStrings sharedStrings = new OpenXMLWorkbookSharedStrings(3);
+		Assert.assertEquals(1, sharedStrings.add("Hello"));
+		Assert.assertEquals(2, sharedStrings.add("World"));
+		// full, new strings need to be inlined
+		Assert.assertEquals(-1, sharedStrings.add("Inline"));
+		// already in the table
+		Assert.assertEquals(1, sharedStrings.add("Hello"));
+		Assert.assertEquals(3, sharedStrings.count());
+		Assert.assertEquals(3, sharedStrings.size());
+	}
+	
+	@Test
+	public void creationOfStreamingWorkbook() throws IOException {
+		File file = File.createTempFile("workbook", "_streaming.xlsx");
+		int numOfRows = OpenXMLWorkbook.STREAMING_MAX_SHARED_STRINGS + 10;
+		try(FileOutputStream fileOut = new FileOutputStream(file);
+				OpenXMLWorkbook workbook = new OpenXMLWorkbook(fileOut, 1, Collections.emptyList(), true)) {
+			OpenXMLWorksheet sheet = workbook.nextWorksheet();
+			sheet.setHeaderRows(1);
+			Row headerRow = sheet.newRow();
+			headerRow.addCell(0, "Title", workbook.getStyles().getHeaderStyle());
+			for(int i=0; i<numOfRows; i++) {
+				Row row = sheet.newRow();
+				row.addCell(0, "Value " + i, null);
+				row.addCell(1, i, null);
+			}
+		}
+		
+		try(ZipFile zipFile = new ZipFile(file)) {
+			ZipEntry sheetEntry = zipFile.getEntry("xl/worksheets/sheet1.xml");
+			Assert.assertNotNull(sheetEntry);
+			try(InputStream in = zipFile.getInputStream(sheetEntry)) {
+				String sheetXml = IOUtils.toString(in, StandardCharsets.UTF_8);
+				Assert.assertTrue(sheetXml.contains("t=\"inlineStr\""));
+				Assert.assertTrue(sheetXml.contains("<is><t>Value " + (numOfRows - 1) + "</t></is>"));
+			}
+		} finally {
+			file.delete();
+		}
+	}
 }
@@ -0,0 +1,133 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.course.assessment.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.olat.test.JunitTestHelper.random;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.olat.basesecurity.GroupRoles;
+import org.olat.core.commons.persistence.DB;
+import org.olat.core.commons.services.taskexecutor.Task;
+import org.olat.core.commons.services.taskexecutor.TaskExecutorManager;
+import org.olat.core.id.Identity;
+import org.olat.course.CourseFactory;
+import org.olat.course.ICourse;
+import org.olat.course.assessment.CourseAssessmentService;
+import org.olat.modules.assessment.AssessmentEntry;
+import org.olat.modules.assessment.AssessmentService;
+import org.olat.repository.RepositoryEntry;
+import org.olat.repository.manager.RepositoryEntryRelationDAO;
+import org.olat.test.JunitTestHelper;
+import org.olat.test.OlatTestCase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class ScoreAccountingEvaluateAllWorkerTest extends OlatTestCase {
+	
+	private static final String SCORE_ACCOUNTING_SUB_PATH = "score-accounting";
+	
+	@Autowired
+	private DB dbInstance;
+	@Autowired
+	private AssessmentService assessmentService;
+	@Autowired
+	private TaskExecutorManager taskExecutorManager;
+	@Autowired
+	private RepositoryEntryRelationDAO repositoryEntryRelationDao;
+	@Autowired
+	private CourseAssessmentService courseAssessmentService;
+	@Autowired @Qualifier("scoreAccountingSpringExecutor")
+	private ThreadPoolTaskExecutor scoreAccountingExecutor;
+	
+	/**
+	 * 120 participants are evaluated in 3 partitions by the shared pool.
+	 */
+	@Test
+	public void evaluateAllPartitionsInParallel() {
+		Identity author = JunitTestHelper.createAndPersistIdentityAsAuthor(random());
+		RepositoryEntry courseEntry = JunitTestHelper.deployBasicCourse(author);
+		List<Identity> participants = new ArrayList<>();
+		for(int i=0; i<120; i++) {
+			Identity participant = JunitTestHelper.createAndPersistIdentityAsRndUser("score-acc-");
+			// without events, no assessment entries are created
+			repositoryEntryRelationDao.addRole(participant, courseEntry, GroupRoles.participant.name());
+			participants.add(participant);
+		}
+		dbInstance.commitAndCloseSession();
+		assertThat(assessmentService.loadAssessmentEntriesByAssessedIdentities(participants, courseEntry)).isEmpty();
+		
+		long completedTasks = scoreAccountingExecutor.getThreadPoolExecutor().getCompletedTaskCount();
+		ICourse course = CourseFactory.loadCourse(courseEntry);
+		courseAssessmentService.evaluateAll(course, true);
+		dbInstance.commitAndCloseSession();
+		
+		List<AssessmentEntry> entries = assessmentService.loadAssessmentEntriesByAssessedIdentities(participants, courseEntry);
+		assertThat(entries)
+			.extracting(entry -> entry.getIdentity().getKey())
+			.containsAll(participants.stream().map(Identity::getKey).toList());
+		// the partitions ran in the shared pool
+		waitForCondition(() -> scoreAccountingExecutor.getThreadPoolExecutor().getCompletedTaskCount() >= completedTasks + 3, 5000);
+		assertThat(scoreAccountingExecutor.getThreadPoolExecutor().getCompletedTaskCount()).isGreaterThanOrEqualTo(completedTasks + 3);
+	}
+	
+	/**
+	 * A pending evaluation with update covers all the requests, a pending
+	 * evaluation without update only the requests without update.
+	 */
+	@Test
+	public void evaluateAllAsyncMergeDuplicates() {
+		Identity author = JunitTestHelper.createAndPersistIdentityAsAuthor(random());
+		RepositoryEntry courseEntry = JunitTestHelper.deployBasicCourse(author);
+		dbInstance.commitAndCloseSession();
+		
+		Long courseResId = courseEntry.getOlatResource().getResourceableId();
+		courseAssessmentService.evaluateAllAsync(courseResId, false);
+		courseAssessmentService.evaluateAllAsync(courseResId, false);
+		dbInstance.commitAndCloseSession();
+		assertThat(getTasks(courseEntry)).hasSize(1);
+		
+		courseAssessmentService.evaluateAllAsync(courseResId, true);
+		dbInstance.commitAndCloseSession();
+		assertThat(getTasks(courseEntry)).hasSize(2);
+		
+		courseAssessmentService.evaluateAllAsync(courseResId, true);
+		courseAssessmentService.evaluateAllAsync(courseResId, false);
+		dbInstance.commitAndCloseSession();
+		assertThat(getTasks(courseEntry)).hasSize(2);
+		
+		taskExecutorManager.delete(courseEntry.getOlatResource(), SCORE_ACCOUNTING_SUB_PATH);
+		dbInstance.commitAndCloseSession();
+	}
+	
+	private List<Task> getTasks(RepositoryEntry courseEntry) {
+		return taskExecutorManager.getTasks(courseEntry.getOlatResource(), SCORE_ACCOUNTING_SUB_PATH);
+	}
+}
@@ -0,0 +1,148 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.course.condition;
+
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.olat.core.gui.components.tree.GenericTreeModel;
+import org.olat.core.id.Identity;
+import org.olat.core.id.IdentityEnvironment;
+import org.olat.core.id.Roles;
+import org.olat.core.logging.Tracing;
+import org.olat.course.CourseFactory;
+import org.olat.course.ICourse;
+import org.olat.course.condition.interpreter.ConditionInterpreter;
+import org.olat.course.nodes.CourseNode;
+import org.olat.course.nodes.SPCourseNode;
+import org.olat.course.nodes.STCourseNode;
+import org.olat.course.run.userview.NodeEvaluation;
+import org.olat.course.run.userview.UserCourseEnvironment;
+import org.olat.course.run.userview.UserCourseEnvironmentImpl;
+import org.olat.repository.RepositoryEntry;
+import org.olat.test.JunitTestHelper;
+import org.olat.test.OlatTestCase;
+
+/**
+ * Compare the time needed to evaluate the conditions of a course with
+ * 300 course nodes, parsing every expression at every evaluation
+ * versus the shared, parsed expressions and the memoized functions
+ * of the course tree builder. Not part of the test suite, run it manually.
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class ConditionInterpreterBenchmark extends OlatTestCase {
+	
+	private static final Logger log = Tracing.createLoggerFor(ConditionInterpreterBenchmark.class);
+	
+	private static final int NUM_OF_NODES = 300;
+	private static final int NUM_OF_USERS = 20;
+	
+	@Test
+	public void buildCourseTree() {
+		Identity author = JunitTestHelper.createAndPersistIdentityAsRndUser("cond-bench-author");
+		RepositoryEntry re = JunitTestHelper.deployDemoCourse(author);
+		ICourse course = CourseFactory.loadCourse(re);
+		CourseNode rootNode = createStructure();
+		// in memory only, the course is not saved
+		course.getRunStructure().setRootNode(rootNode);
+		
+		UserCourseEnvironment[] userCourseEnvs = new UserCourseEnvironment[NUM_OF_USERS];
+		for(int i=0; i<NUM_OF_USERS; i++) {
+			Identity participant = JunitTestHelper.createAndPersistIdentityAsRndUser("cond-bench-" + i);
+			IdentityEnvironment identityEnv = new IdentityEnvironment(participant, Roles.userRoles());
+			userCourseEnvs[i] = new UserCourseEnvironmentImpl(identityEnv, course.getCourseEnvironment());
+		}
+		
+		// warm up
+		for(UserCourseEnvironment userCourseEnv:userCourseEnvs) {
+			evaluate(rootNode, unsharedInterpreter(userCourseEnv), false);
+			evaluate(rootNode, new ConditionInterpreter(userCourseEnv), true);
+		}
+		
+		long start = System.nanoTime();
+		for(UserCourseEnvironment userCourseEnv:userCourseEnvs) {
+			evaluate(rootNode, unsharedInterpreter(userCourseEnv), false);
+		}
+		long parsed = (System.nanoTime() - start) / 1000000l;
+		
+		start = System.nanoTime();
+		for(UserCourseEnvironment userCourseEnv:userCourseEnvs) {
+			evaluate(rootNode, new ConditionInterpreter(userCourseEnv), true);
+		}
+		long shared = (System.nanoTime() - start) / 1000000l;
+		
+		start = System.nanoTime();
+		for(UserCourseEnvironment userCourseEnv:userCourseEnvs) {
+			GenericTreeModel treeModel = new ConditionCourseTreeModelBuilder(userCourseEnv).build();
+			Assert.assertNotNull(treeModel.getRootNode());
+		}
+		long treeModels = (System.nanoTime() - start) / 1000000l;
+
+		log.info("Evaluate {} nodes for {} users, parse at every evaluation: {}ms", NUM_OF_NODES, NUM_OF_USERS, parsed);
+		log.info("Evaluate {} nodes for {} users, shared expressions and memoization: {}ms", NUM_OF_NODES, NUM_OF_USERS, shared);
+		log.info("Build {} course trees of {} nodes: {}ms", NUM_OF_USERS, NUM_OF_NODES, treeModels);
+	}
+	
+	private void evaluate(CourseNode rootNode, ConditionInterpreter interpreter, boolean memoize) {
+		if(memoize) {
+			interpreter.startMemoization();
+		}
+		try {
+			for(int i=rootNode.getChildCount(); i-->0; ) {
+				CourseNode courseNode = (CourseNode)rootNode.getChildAt(i);
+				courseNode.calcAccessAndVisibility(interpreter, new NodeEvaluation());
+			}
+		} finally {
+			if(memoize) {
+				interpreter.stopMemoization();
+			}
+		}
+	}
+	
+	private ConditionInterpreter unsharedInterpreter(UserCourseEnvironment userCourseEnv) {
+		return new ConditionInterpreter(userCourseEnv) {
+			@Override
+			protected boolean isSharedExpressions() {
+				return false;
+			}
+		};
+	}
+	
+	private CourseNode createStructure() {
+		STCourseNode rootNode = new STCourseNode();
+		rootNode.setIdent("bench-root");
+		
+		String previousIdent = rootNode.getIdent();
+		for(int i=0; i<NUM_OF_NODES; i++) {
+			SPCourseNode node = new SPCourseNode();
+			node.setIdent("bench-" + i);
+			node.setShortTitle("Node " + i);
+			node.setPreConditionVisibility(new Condition("(inLearningGroup(\"Group " + (i % 10) + "\") | inLearningArea(\"Area " + (i % 5)
+					+ "\")) | isCourseParticipant(0) | now >= date(\"01.01.2020 00:00\")"));
+			node.setPreConditionAccess(new Condition("getAttempts(\"" + previousIdent + "\") >= 0 | isCourseCoach(0)"));
+			rootNode.addChild(node);
+			previousIdent = node.getIdent();
+		}
+		return rootNode;
+	}
+}
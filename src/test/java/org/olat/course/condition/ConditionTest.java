@@ -19,6 +19,9 @@
  */
 package org.olat.course.condition;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.olat.basesecurity.Authentication;
@@ -31,6 +34,8 @@ import org.olat.core.id.User;
 import org.olat.core.util.CodeHelper;
 import org.olat.course.CourseFactory;
 import org.olat.course.ICourse;
+import org.olat.course.condition.interpreter.AbstractFunction;
+import org.olat.course.condition.interpreter.ConditionExpressionCache;
 import org.olat.course.condition.interpreter.ConditionInterpreter;
 import org.olat.course.run.userview.UserCourseEnvironment;
 import org.olat.course.run.userview.UserCourseEnvironmentImpl;
@@ -59,6 +64,69 @@ public class ConditionTest extends OlatTestCase {
 		Assert.assertFalse(result);
 	}
 	
+	@Test
+	public void sharedExpressions() {
+		Identity author = JunitTestHelper.createAndPersistIdentityAsRndUser("junit_auth");
+		Identity id1 = JunitTestHelper.createAndPersistIdentityAsRndUser("condition-1");
+		Identity id2 = JunitTestHelper.createAndPersistIdentityAsRndUser("condition-2");
+		RepositoryEntry re = JunitTestHelper.deployDemoCourse(author);
+		ICourse course = CourseFactory.loadCourse(re);
+		
+		UserCourseEnvironment uce1 = new UserCourseEnvironmentImpl(new IdentityEnvironment(id1, Roles.userRoles()), course.getCourseEnvironment());
+		UserCourseEnvironment uce2 = new UserCourseEnvironmentImpl(new IdentityEnvironment(id2, Roles.userRoles()), course.getCourseEnvironment());
+		ConditionExpressionCache cache = course.getCourseEnvironment().getRunStructure()
+				.getConditionExpressionCache(List.of(), List.of());
+		int cachedExpressions = cache.size();
+		
+		String condition = "isUser(\"" + id1.getName() + "\") & (true | inLearningGroup(\"Rule1Group1\"))";
+		Assert.assertTrue(new ConditionInterpreter(uce1).evaluateCondition(condition));
+		Assert.assertFalse(new ConditionInterpreter(uce2).evaluateCondition(condition));
+		Assert.assertTrue(new ConditionInterpreter(uce1).evaluateCondition(condition));
+		Assert.assertEquals(cachedExpressions + 1, cache.size());
+	}
+	
+	@Test
+	public void memoization() {
+		UserCourseEnvironment uce = getUserDemoCourseEnvironment();
+		AtomicInteger calls = new AtomicInteger();
+		ConditionInterpreter interpreter = new ConditionInterpreter(uce) {
+			{
+				addMemoizedFunction("countCalls", new AbstractFunction(uce) {
+					@Override
+					public Object call(Object[] inStack) {
+						calls.incrementAndGet();
+						return ConditionInterpreter.INT_TRUE;
+					}
+
+					@Override
+					protected Object defaultValue() {
+						return ConditionInterpreter.INT_FALSE;
+					}
+				});
+			}
+		};
+		
+		String condition = "countCalls(\"Rule1Group1\") & countCalls(\"Rule1Group1\")";
+		interpreter.startMemoization();
+		try {
+			Assert.assertTrue(interpreter.evaluateCondition(condition));
+			Assert.assertTrue(interpreter.evaluateCondition(condition));
+			Assert.assertTrue(interpreter.evaluateCondition("true & " + condition));
+			// a single evaluation in the memoization scope
+			Assert.assertEquals(1, calls.get());
+			
+			// other arguments, other result
+			Assert.assertTrue(interpreter.evaluateCondition("countCalls(\"Rule1Group2\")"));
+			Assert.assertEquals(2, calls.get());
+		} finally {
+			interpreter.stopMemoization();
+		}
+		
+		// without memoization, every call is evaluated
+		Assert.assertTrue(interpreter.evaluateCondition(condition));
+		Assert.assertEquals(4, calls.get());
+	}
+	
 	@Test
 	public void testTrueFalse(){
 		UserCourseEnvironment uce = getUserDemoCourseEnvironment();
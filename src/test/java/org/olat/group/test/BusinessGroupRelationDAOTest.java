@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.Assert;
@@ -904,6 +905,27 @@ public class BusinessGroupRelationDAOTest extends OlatTestCase {
 		Assert.assertTrue(roles.contains(GroupRoles.coach.name()));
 	}
 	
+	@Test
+	public void getMembersRoles() {
+		Identity coach = JunitTestHelper.createAndPersistIdentityAsRndUser("roles-1");
+		Identity participant = JunitTestHelper.createAndPersistIdentityAsRndUser("roles-2");
+		BusinessGroup group = businessGroupDao.createAndPersist(coach, "roles-group-1", "roles-group-1-desc", BusinessGroup.BUSINESS_TYPE,
+				-1, -1, false, false, false, false, false);
+		BusinessGroup otherGroup = businessGroupDao.createAndPersist(null, "roles-group-2", "roles-group-2-desc", BusinessGroup.BUSINESS_TYPE,
+				-1, -1, false, false, false, false, false);
+		businessGroupRelationDao.addRole(coach, group, GroupRoles.participant.name());
+		businessGroupRelationDao.addRole(participant, group, GroupRoles.participant.name());
+		businessGroupRelationDao.addRole(participant, otherGroup, GroupRoles.coach.name());
+		dbInstance.commitAndCloseSession();
+		
+		Map<Long,List<String>> membersRoles = businessGroupRelationDao.getMembersRoles(group);
+		Assert.assertEquals(2, membersRoles.size());
+		Assert.assertEquals(2, membersRoles.get(coach.getKey()).size());
+		Assert.assertTrue(membersRoles.get(coach.getKey()).contains(GroupRoles.coach.name()));
+		Assert.assertTrue(membersRoles.get(coach.getKey()).contains(GroupRoles.participant.name()));
+		Assert.assertEquals(List.of(GroupRoles.participant.name()), membersRoles.get(participant.getKey()));
+	}
+	
 	@Test
 	public void getDuplicateMemberships() {
 		Identity id1 = JunitTestHelper.createAndPersistIdentityAsRndUser("wait-1");
@@ -0,0 +1,173 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.ims.qti21.manager.state;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.olat.core.util.FileUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class TestSessionStateJournalTest {
+	
+	private static final String NS = "http://www.ph.ed.ac.uk/qtiworks";
+	private static final String SNAPSHOT = """
+			<testSessionState xmlns="http://www.ph.ed.ac.uk/qtiworks" durationAccumulated="0" entryTime="1">
+			  <testPlan>
+			    <node key="item1" type="ASSESSMENT_ITEM_REF"/>
+			    <node key="item2" type="ASSESSMENT_ITEM_REF"/>
+			  </testPlan>
+			  <itemSessionState key="item1" entryTime="2">
+			    <responseVariable identifier="RESPONSE_1"><value> </value></responseVariable>
+			  </itemSessionState>
+			  <itemSessionState key="item2" entryTime="3"/>
+			</testSessionState>""";
+	
+	private File directory;
+	
+	@Before
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("journal").toFile();
+	}
+	
+	@After
+	public void deleteDirectory() {
+		FileUtils.deleteDirsAndFiles(directory, true, true);
+	}
+	
+	@Test
+	public void encodeDecode() throws Exception {
+		Document document = parse(SNAPSHOT);
+		Element itemState = StateElementCodec.childElements(document.getDocumentElement()).get(1);
+		byte[] encoded = StateElementCodec.encode(itemState, true);
+		
+		Element decoded = StateElementCodec.decode(document, encoded);
+		Assert.assertEquals(NS, decoded.getNamespaceURI());
+		Assert.assertEquals("item1", decoded.getAttribute("key"));
+		// the whitespace of the value is kept, the indentation is dropped
+		Assert.assertEquals(" ", decoded.getElementsByTagNameNS(NS, "value").item(0).getTextContent());
+		Assert.assertArrayEquals(encoded, StateElementCodec.encode(decoded, true));
+	}
+	
+	@Test
+	public void identifiers() throws Exception {
+		Document document = parse(SNAPSHOT);
+		List<String> identifiers = StateElementCodec.identifiers(StateElementCodec.childElements(document.getDocumentElement()));
+		Assert.assertEquals(List.of("testPlan[]1", "itemSessionState[item1]1", "itemSessionState[item2]1"), identifiers);
+	}
+	
+	@Test
+	public void appendAndReplay() throws Exception {
+		byte[] snapshotContent = SNAPSHOT.getBytes(StandardCharsets.UTF_8);
+		File journalFile = new File(directory, "testSessionState.xml.journal");
+		TestSessionStateJournal.create(journalFile, snapshotContent.length, TestSessionStateJournal.checksum(snapshotContent));
+		
+		// candidate changes the second item and the duration
+		Document current = parse(SNAPSHOT);
+		Element root = current.getDocumentElement();
+		root.setAttribute("durationAccumulated", "1200");
+		Element item2 = StateElementCodec.childElements(root).get(2);
+		item2.setAttribute("endTime", "4");
+		TestSessionStateJournal.append(journalFile, delta(root, 2), false);
+		
+		Document replayed = parse(SNAPSHOT);
+		int records = TestSessionStateJournal.replay(journalFile, replayed, snapshotContent.length, TestSessionStateJournal.checksum(snapshotContent));
+		Assert.assertEquals(1, records);
+		Element replayedRoot = replayed.getDocumentElement();
+		Assert.assertEquals("1200", replayedRoot.getAttribute("durationAccumulated"));
+		List<Element> children = StateElementCodec.childElements(replayedRoot);
+		Assert.assertEquals(3, children.size());
+		Assert.assertEquals("4", children.get(2).getAttribute("endTime"));
+		Assert.assertEquals("2", children.get(1).getAttribute("entryTime"));
+		Assert.assertEquals("testPlan", children.get(0).getLocalName());
+	}
+	
+	@Test
+	public void replayTruncatedJournal() throws Exception {
+		byte[] snapshotContent = SNAPSHOT.getBytes(StandardCharsets.UTF_8);
+		long checksum = TestSessionStateJournal.checksum(snapshotContent);
+		File journalFile = new File(directory, "testSessionState.xml.journal");
+		TestSessionStateJournal.create(journalFile, snapshotContent.length, checksum);
+		
+		Document current = parse(SNAPSHOT);
+		Element root = current.getDocumentElement();
+		root.setAttribute("durationAccumulated", "1");
+		TestSessionStateJournal.append(journalFile, delta(root, -1), false);
+		root.setAttribute("durationAccumulated", "2");
+		TestSessionStateJournal.append(journalFile, delta(root, -1), false);
+		
+		// simulate a crash in the middle of the second record
+		try(RandomAccessFile raf = new RandomAccessFile(journalFile, "rw")) {
+			raf.setLength(raf.length() - 5);
+		}
+		
+		Document replayed = parse(SNAPSHOT);
+		Assert.assertEquals(1, TestSessionStateJournal.replay(journalFile, replayed, snapshotContent.length, checksum));
+		Assert.assertEquals("1", replayed.getDocumentElement().getAttribute("durationAccumulated"));
+	}
+	
+	@Test
+	public void replayJournalOfOtherSnapshot() throws Exception {
+		byte[] snapshotContent = SNAPSHOT.getBytes(StandardCharsets.UTF_8);
+		File journalFile = new File(directory, "testSessionState.xml.journal");
+		TestSessionStateJournal.create(journalFile, snapshotContent.length, 42l);
+		
+		Document replayed = parse(SNAPSHOT);
+		int records = TestSessionStateJournal.replay(journalFile, replayed, snapshotContent.length, TestSessionStateJournal.checksum(snapshotContent));
+		Assert.assertEquals(-1, records);
+	}
+	
+	private byte[] delta(Element root, int changedIndex) {
+		List<Element> children = StateElementCodec.childElements(root);
+		List<byte[]> encodedChildren = new ArrayList<>();
+		for(int i=0; i<children.size(); i++) {
+			encodedChildren.add(i == changedIndex ? StateElementCodec.encode(children.get(i), true) : null);
+		}
+		return TestSessionStateJournal.encodeDelta(StateElementCodec.encode(root, false),
+				StateElementCodec.identifiers(children), encodedChildren);
+	}
+	
+	private Document parse(String xml) throws Exception {
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		DocumentBuilder builder = factory.newDocumentBuilder();
+		return builder.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+	}
+}
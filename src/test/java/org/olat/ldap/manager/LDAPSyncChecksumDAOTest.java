@@ -0,0 +1,96 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.ldap.manager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.olat.core.commons.persistence.DB;
+import org.olat.ldap.model.LDAPSyncChecksumImpl;
+import org.olat.test.OlatTestCase;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class LDAPSyncChecksumDAOTest extends OlatTestCase {
+	
+	@Autowired
+	private DB dbInstance;
+	@Autowired
+	private LDAPSyncChecksumDAO syncChecksumDao;
+	
+	@Test
+	public void saveChecksums() {
+		String dnHash1 = UUID.randomUUID().toString();
+		String dnHash2 = UUID.randomUUID().toString();
+		Map<String,String> checksums = new HashMap<>();
+		checksums.put(dnHash1, "checksum-1");
+		checksums.put(dnHash2, "checksum-2");
+		syncChecksumDao.saveChecksums(checksums);
+		dbInstance.commitAndCloseSession();
+		
+		Map<String,String> savedChecksums = syncChecksumDao.getChecksums();
+		Assert.assertEquals("checksum-1", savedChecksums.get(dnHash1));
+		Assert.assertEquals("checksum-2", savedChecksums.get(dnHash2));
+	}
+	
+	@Test
+	public void saveChecksumsUpdate() {
+		String dnHash1 = UUID.randomUUID().toString();
+		String dnHash2 = UUID.randomUUID().toString();
+		syncChecksumDao.saveChecksums(Map.of(dnHash1, "checksum-1"));
+		dbInstance.commitAndCloseSession();
+		
+		// update the first one, create the second one
+		Map<String,String> checksums = new HashMap<>();
+		checksums.put(dnHash1, "checksum-1-updated");
+		checksums.put(dnHash2, "checksum-2");
+		syncChecksumDao.saveChecksums(checksums);
+		dbInstance.commitAndCloseSession();
+		
+		List<LDAPSyncChecksumImpl> savedChecksums = syncChecksumDao.loadChecksums(List.of(dnHash1, dnHash2));
+		Assert.assertEquals(2, savedChecksums.size());
+		for(LDAPSyncChecksumImpl savedChecksum:savedChecksums) {
+			if(dnHash1.equals(savedChecksum.getDnHash())) {
+				Assert.assertEquals("checksum-1-updated", savedChecksum.getChecksum());
+			} else {
+				Assert.assertEquals(dnHash2, savedChecksum.getDnHash());
+				Assert.assertEquals("checksum-2", savedChecksum.getChecksum());
+			}
+		}
+	}
+	
+	@Test
+	public void saveChecksumsEmpty() {
+		syncChecksumDao.saveChecksums(Map.of());
+		syncChecksumDao.saveChecksums(null);
+		dbInstance.commitAndCloseSession();
+		
+		Assert.assertTrue(syncChecksumDao.loadChecksums(List.of()).isEmpty());
+	}
+}
@@ -0,0 +1,120 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.ldap.manager;
+
+import java.util.Set;
+
+import javax.naming.NamingException;
+import javax.naming.directory.BasicAttribute;
+import javax.naming.directory.BasicAttributes;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class LDAPUserChecksumTest {
+	
+	@Test
+	public void checksumAttributesOrder() throws NamingException {
+		LDAPUserChecksum checksum = new LDAPUserChecksum("mapping", Set.of());
+		
+		BasicAttributes attributes1 = new BasicAttributes(true);
+		attributes1.put("uid", "jdoe");
+		attributes1.put("mail", "jdoe@openolat.org");
+		attributes1.put("sn", "Doe");
+		
+		BasicAttributes attributes2 = new BasicAttributes(true);
+		attributes2.put("sn", "Doe");
+		attributes2.put("MAIL", "jdoe@openolat.org");
+		attributes2.put("uid", "jdoe");
+		
+		Assert.assertEquals(checksum.checksum(attributes1), checksum.checksum(attributes2));
+	}
+	
+	@Test
+	public void checksumChangedValue() throws NamingException {
+		LDAPUserChecksum checksum = new LDAPUserChecksum("mapping", Set.of());
+		
+		BasicAttributes attributes = new BasicAttributes(true);
+		attributes.put("uid", "jdoe");
+		attributes.put("mail", "jdoe@openolat.org");
+		String before = checksum.checksum(attributes);
+		
+		attributes.put("mail", "john.doe@openolat.org");
+		String after = checksum.checksum(attributes);
+		Assert.assertNotEquals(before, after);
+	}
+	
+	@Test
+	public void checksumMultiValuesOrder() throws NamingException {
+		LDAPUserChecksum checksum = new LDAPUserChecksum("mapping", Set.of());
+		
+		BasicAttribute memberOf1 = new BasicAttribute("memberOf");
+		memberOf1.add("cn=authors,dc=olattest,dc=org");
+		memberOf1.add("cn=coaches,dc=olattest,dc=org");
+		BasicAttributes attributes1 = new BasicAttributes(true);
+		attributes1.put(memberOf1);
+		
+		BasicAttribute memberOf2 = new BasicAttribute("memberOf");
+		memberOf2.add("cn=coaches,dc=olattest,dc=org");
+		memberOf2.add("cn=authors,dc=olattest,dc=org");
+		BasicAttributes attributes2 = new BasicAttributes(true);
+		attributes2.put(memberOf2);
+		
+		Assert.assertEquals(checksum.checksum(attributes1), checksum.checksum(attributes2));
+	}
+	
+	@Test
+	public void checksumIgnoredAttributes() throws NamingException {
+		LDAPUserChecksum checksum = new LDAPUserChecksum("mapping", Set.of("modifyTimestamp"));
+		
+		BasicAttributes attributes = new BasicAttributes(true);
+		attributes.put("uid", "jdoe");
+		attributes.put("modifyTimestamp", "20261017120000Z");
+		String before = checksum.checksum(attributes);
+		
+		attributes.put("modifyTimestamp", "20261018120000Z");
+		String after = checksum.checksum(attributes);
+		Assert.assertEquals(before, after);
+	}
+	
+	@Test
+	public void checksumConfiguration() throws NamingException {
+		BasicAttributes attributes = new BasicAttributes(true);
+		attributes.put("uid", "jdoe");
+		
+		String checksum1 = new LDAPUserChecksum("mapping", Set.of()).checksum(attributes);
+		String checksum2 = new LDAPUserChecksum("other mapping", Set.of()).checksum(attributes);
+		Assert.assertNotEquals(checksum1, checksum2);
+	}
+	
+	@Test
+	public void dnHash() {
+		String hash = LDAPUserChecksum.dnHash("uid=jdoe,ou=people,dc=olattest,dc=org");
+		Assert.assertEquals(64, hash.length());
+		Assert.assertEquals(hash, LDAPUserChecksum.dnHash(" UID=jdoe,OU=people,dc=OLATTEST,dc=org "));
+		Assert.assertNotEquals(hash, LDAPUserChecksum.dnHash("uid=jsmith,ou=people,dc=olattest,dc=org"));
+	}
+}
@@ -0,0 +1,237 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.modules.coach.manager;
+
+import java.math.BigDecimal;
+import java.net.URL;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.olat.basesecurity.GroupRoles;
+import org.olat.basesecurity.OrganisationService;
+import org.olat.core.commons.persistence.DB;
+import org.olat.core.id.Identity;
+import org.olat.core.id.Organisation;
+import org.olat.course.CourseFactory;
+import org.olat.course.ICourse;
+import org.olat.course.assessment.manager.EfficiencyStatementManager;
+import org.olat.course.assessment.manager.UserCourseInformationsManager;
+import org.olat.group.BusinessGroup;
+import org.olat.group.BusinessGroupService;
+import org.olat.group.manager.BusinessGroupRelationDAO;
+import org.olat.modules.assessment.AssessmentEntry;
+import org.olat.modules.coach.CoachingLargeTest;
+import org.olat.modules.coach.model.CoachingRollupImpl;
+import org.olat.repository.RepositoryEntry;
+import org.olat.repository.RepositoryEntryStatusEnum;
+import org.olat.repository.RepositoryService;
+import org.olat.test.JunitTestHelper;
+import org.olat.test.OlatTestCase;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class CoachingRollupDAOTest extends OlatTestCase {
+	
+	@Autowired
+	private DB dbInstance;
+	@Autowired
+	private CoachingRollupDAO coachingRollupDao;
+	@Autowired
+	private RepositoryService repositoryService;
+	@Autowired
+	private OrganisationService organisationService;
+	@Autowired
+	private BusinessGroupService businessGroupService;
+	@Autowired
+	private BusinessGroupRelationDAO businessGroupRelationDao;
+	@Autowired
+	private UserCourseInformationsManager userCourseInformationsManager;
+	@Autowired
+	private EfficiencyStatementManager efficiencyStatementManager;
+	
+	private static Organisation defaultUnitTestOrganisation;
+	
+	@Before
+	public void initDefaultUnitTestOrganisation() {
+		if(defaultUnitTestOrganisation == null) {
+			defaultUnitTestOrganisation = organisationService
+					.createOrganisation("Org-rollup-unit-test", "Org-rollup-unit-test", "", null, null, JunitTestHelper.getDefaultActor());
+		}
+	}
+	
+	@Test
+	public void calculateRollups() {
+		URL courseUrl = CoachingLargeTest.class.getResource("CoachingCourse.zip");
+		RepositoryEntry re = JunitTestHelper.deployCourse(null, "Rollup course 1", RepositoryEntryStatusEnum.published,
+				courseUrl, defaultUnitTestOrganisation);
+		dbInstance.commitAndCloseSession();
+		
+		Identity coach = JunitTestHelper.createAndPersistIdentityAsRndUser("Rollup-coach-1", defaultUnitTestOrganisation, null);
+		Identity participant1 = JunitTestHelper.createAndPersistIdentityAsRndUser("Rollup-part-1", defaultUnitTestOrganisation, null);
+		Identity participant2 = JunitTestHelper.createAndPersistIdentityAsRndUser("Rollup-part-2", defaultUnitTestOrganisation, null);
+		Identity participant3 = JunitTestHelper.createAndPersistIdentityAsRndUser("Rollup-part-3", defaultUnitTestOrganisation, null);
+		repositoryService.addRole(participant3, re, GroupRoles.participant.name());
+		
+		BusinessGroup group = businessGroupService.createBusinessGroup(coach, "Rollup-grp-1", "tg", BusinessGroup.BUSINESS_TYPE,
+				null, null, false, false, null);
+		businessGroupRelationDao.addRole(participant1, group, GroupRoles.participant.name());
+		businessGroupRelationDao.addRole(participant2, group, GroupRoles.participant.name());
+		dbInstance.commitAndCloseSession();
+		businessGroupService.addResourceTo(group, re);
+		dbInstance.commitAndCloseSession();
+		
+		setScoreInformations(6.0f, Boolean.TRUE, participant1, re);
+		setScoreInformations(2.0f, Boolean.FALSE, participant2, re);
+		setScoreInformations(null, null, participant3, re);
+		userCourseInformationsManager.updateUserCourseInformations(re.getOlatResource(), participant1);
+		userCourseInformationsManager.updateUserCourseInformations(re.getOlatResource(), participant3);
+		dbInstance.commitAndCloseSession();
+		
+		List<CoachingRollupImpl> rollups = coachingRollupDao.calculateRollups(re);
+		Assert.assertEquals(2, rollups.size());
+		
+		CoachingRollupImpl groupRollup = rollups.stream()
+				.filter(rollup -> group.getBaseGroup().getKey().equals(rollup.getGroupKey()))
+				.findFirst().orElse(null);
+		Assert.assertNotNull(groupRollup);
+		Assert.assertEquals(2, groupRollup.getParticipants());
+		Assert.assertEquals(1, groupRollup.getVisited());
+		Assert.assertNotNull(groupRollup.getLastVisit());
+		Assert.assertEquals(1, groupRollup.getPassed());
+		Assert.assertEquals(1, groupRollup.getFailed());
+		Assert.assertEquals(2, groupRollup.getScoreCount());
+		Assert.assertEquals(8.0d, groupRollup.getScoreSum().doubleValue(), 0.0001);
+		
+		CoachingRollupImpl courseRollup = rollups.stream()
+				.filter(rollup -> rollup.getGroupKey() == null)
+				.findFirst().orElse(null);
+		Assert.assertNotNull(courseRollup);
+		Assert.assertEquals(re.getKey(), courseRollup.getEntryKey());
+		Assert.assertEquals(3, courseRollup.getParticipants());
+		Assert.assertEquals(2, courseRollup.getVisited());
+		Assert.assertEquals(1, courseRollup.getPassed());
+		Assert.assertEquals(1, courseRollup.getFailed());
+		Assert.assertEquals(3, courseRollup.getAssessed());
+		Assert.assertEquals(2, courseRollup.getScoreCount());
+		Assert.assertEquals(8.0d, courseRollup.getScoreSum().doubleValue(), 0.0001);
+		
+		// Persist and load them
+		coachingRollupDao.persistRollups(rollups);
+		dbInstance.commitAndCloseSession();
+		
+		List<CoachingRollupImpl> groupRollups = coachingRollupDao.loadGroupRollups(coach);
+		Assert.assertEquals(1, groupRollups.size());
+		Assert.assertEquals(groupRollup, groupRollups.get(0));
+		
+		List<CoachingRollupImpl> courseRollups = coachingRollupDao.loadCourseRollups(List.of(re.getKey()));
+		Assert.assertEquals(1, courseRollups.size());
+		Assert.assertEquals(courseRollup, courseRollups.get(0));
+	}
+	
+	@Test
+	public void markDirty() {
+		RepositoryEntry re = JunitTestHelper.createAndPersistRepositoryEntry();
+		dbInstance.commitAndCloseSession();
+		
+		// no rollup
+		Assert.assertFalse(coachingRollupDao.markDirty(re.getKey()));
+		CoachingRollupImpl rollup = coachingRollupDao.createDirtyRollup(re.getKey());
+		dbInstance.commitAndCloseSession();
+		Assert.assertNotNull(rollup.getKey());
+		Assert.assertTrue(coachingRollupDao.hasRollups(re.getKey()));
+		Assert.assertTrue(coachingRollupDao.getDirtyEntryKeys(100000).contains(re.getKey()));
+		
+		// clear the flag
+		Assert.assertEquals(1, coachingRollupDao.clearDirty(re.getKey()));
+		dbInstance.commitAndCloseSession();
+		Assert.assertFalse(coachingRollupDao.getDirtyEntryKeys(100000).contains(re.getKey()));
+		
+		// mark it again
+		Assert.assertTrue(coachingRollupDao.markDirty(re.getKey()));
+		dbInstance.commitAndCloseSession();
+		Assert.assertTrue(coachingRollupDao.getDirtyEntryKeys(100000).contains(re.getKey()));
+		
+		// delete
+		Assert.assertEquals(1, coachingRollupDao.deleteRollups(re.getKey()));
+		dbInstance.commitAndCloseSession();
+		Assert.assertFalse(coachingRollupDao.hasRollups(re.getKey()));
+	}
+	
+	@Test
+	public void duplicateCourseRollups() {
+		RepositoryEntry re = JunitTestHelper.createAndPersistRepositoryEntry();
+		dbInstance.commitAndCloseSession();
+		
+		// the unique index doesn't constrain the rollup of the course, on all databases
+		CoachingRollupImpl rollup1 = coachingRollupDao.createDirtyRollup(re.getKey());
+		CoachingRollupImpl rollup2 = coachingRollupDao.createDirtyRollup(re.getKey());
+		dbInstance.commitAndCloseSession();
+		
+		List<CoachingRollupImpl> rollups = coachingRollupDao.loadCourseRollups(List.of(re.getKey()));
+		Assert.assertEquals(2, rollups.size());
+		Assert.assertEquals(rollup1, rollups.get(0));
+		Assert.assertEquals(rollup2, rollups.get(1));
+	}
+	
+	@Test
+	public void deleteGroupRollups() {
+		Identity coach = JunitTestHelper.createAndPersistIdentityAsRndUser("Rollup-coach-2");
+		RepositoryEntry re = JunitTestHelper.createAndPersistRepositoryEntry();
+		BusinessGroup group = businessGroupService.createBusinessGroup(coach, "Rollup-grp-2", "tg", BusinessGroup.BUSINESS_TYPE,
+				null, null, false, false, re);
+		dbInstance.commitAndCloseSession();
+		
+		CoachingRollupImpl courseRollup = coachingRollupDao.createDirtyRollup(re.getKey());
+		CoachingRollupImpl groupRollup = new CoachingRollupImpl();
+		groupRollup.setCreationDate(new Date());
+		groupRollup.setLastModified(new Date());
+		groupRollup.setEntryKey(re.getKey());
+		groupRollup.setGroupKey(group.getBaseGroup().getKey());
+		coachingRollupDao.persistRollups(List.of(groupRollup));
+		dbInstance.commitAndCloseSession();
+		
+		Assert.assertEquals(1, coachingRollupDao.deleteGroupRollups(group.getBaseGroup().getKey()));
+		dbInstance.commitAndCloseSession();
+		
+		List<CoachingRollupImpl> rollups = coachingRollupDao.loadRollups(re.getKey());
+		Assert.assertEquals(1, rollups.size());
+		Assert.assertEquals(courseRollup, rollups.get(0));
+	}
+	
+	private void setScoreInformations(Float score, Boolean passed, Identity identity, RepositoryEntry entry) {
+		ICourse course = CourseFactory.loadCourse(entry);
+		AssessmentEntry assessmentEntry = course.getCourseEnvironment().getAssessmentManager()
+				.getOrCreateAssessmentEntry(course.getRunStructure().getRootNode(), identity, Boolean.TRUE);
+		assessmentEntry.setScore(score == null ? null : new BigDecimal(Float.toString(score)));
+		assessmentEntry.setPassed(passed);
+		course.getCourseEnvironment().getAssessmentManager().updateAssessmentEntry(assessmentEntry);
+
+		efficiencyStatementManager.createUserEfficiencyStatement(new Date(), score, null,
+				null, null, null, passed, identity, entry.getOlatResource());
+	}
+}
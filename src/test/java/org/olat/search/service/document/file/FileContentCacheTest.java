@@ -0,0 +1,108 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.search.service.document.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.olat.core.util.FileUtils;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class FileContentCacheTest {
+	
+	private static final String KEY = "ab12cd34ef56.pdf";
+
+	private File directory;
+
+	@Before
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("textcache").toFile();
+	}
+
+	@After
+	public void deleteDirectory() {
+		FileUtils.deleteDirsAndFiles(directory, true, true);
+	}
+	
+	@Test
+	public void putAndGet() {
+		FileContentCache cache = new FileContentCache(directory);
+		Assert.assertNull(cache.get(KEY, 1000));
+		
+		StringBuilder text = new StringBuilder();
+		for(int i=0; i<5000; i++) {
+			text.append("Lorem ipsum dolor sit amet éàü ");
+		}
+		cache.put(KEY, new FileContent("My title", text.toString()));
+		
+		FileContent content = cache.get(KEY, Integer.MAX_VALUE);
+		Assert.assertNotNull(content);
+		Assert.assertEquals("My title", content.getTitle());
+		Assert.assertEquals(text.toString(), content.getContent());
+	}
+	
+	@Test
+	public void getLimited() {
+		FileContentCache cache = new FileContentCache(directory);
+		StringBuilder text = new StringBuilder();
+		for(int i=0; i<10000; i++) {
+			text.append("0123456789");
+		}
+		cache.put(KEY, new FileContent(null, text.toString()));
+		
+		FileContent content = cache.get(KEY, 20000);
+		Assert.assertNotNull(content);
+		Assert.assertNull(content.getTitle());
+		Assert.assertTrue(content.getContent().length() <= 20000);
+		Assert.assertTrue(text.toString().startsWith(content.getContent()));
+	}
+	
+	@Test
+	public void checksumReference() {
+		FileContentCache cache = new FileContentCache(directory);
+		Assert.assertNull(cache.getChecksum("f00d"));
+		cache.putChecksum("f00d", "ab12cd34ef56");
+		Assert.assertEquals("ab12cd34ef56", cache.getChecksum("f00d"));
+	}
+	
+	@Test
+	public void prune() {
+		FileContentCache cache = new FileContentCache(directory);
+		cache.put(KEY, new FileContent("Title", "Content"));
+		cache.putChecksum("f00d", "ab12cd34ef56");
+		
+		Assert.assertEquals(0, cache.prune(System.currentTimeMillis() - 60000));
+		Assert.assertNotNull(cache.get(KEY, 1000));
+		
+		Assert.assertEquals(2, cache.prune(System.currentTimeMillis() + 60000));
+		Assert.assertNull(cache.get(KEY, 1000));
+		Assert.assertNull(cache.getChecksum("f00d"));
+	}
+}
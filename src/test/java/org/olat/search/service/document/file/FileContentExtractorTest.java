@@ -0,0 +1,128 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.search.service.document.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.olat.core.util.FileUtils;
+import org.olat.core.util.vfs.LocalFileImpl;
+import org.olat.core.util.vfs.VFSLeaf;
+import org.olat.test.OlatTestCase;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class FileContentExtractorTest extends OlatTestCase {
+	
+	private File directory;
+	private FileContentExtractor extractor;
+
+	@Before
+	public void createExtractor() throws IOException {
+		directory = Files.createTempDirectory("textextractor").toFile();
+		extractor = new FileContentExtractor(new File(directory, "cache"), 1, 200l, 16);
+	}
+
+	@After
+	public void deleteDirectory() {
+		extractor.shutdown();
+		FileUtils.deleteDirsAndFiles(directory, true, true);
+	}
+	
+	@Test
+	public void cacheExtractedContent() throws Exception {
+		VFSLeaf leaf = createLeaf("cached.txt");
+		CountingDocument document = new CountingDocument(0l);
+		
+		FileContent content = extractor.extract(leaf, document);
+		Assert.assertEquals("Extracted text", content.getContent());
+		FileContent cachedContent = extractor.extract(leaf, document);
+		Assert.assertEquals("Extracted text", cachedContent.getContent());
+		Assert.assertEquals(1, document.calls.get());
+	}
+	
+	@Test
+	public void timeoutNotCached() throws Exception {
+		VFSLeaf leaf = createLeaf("slow.txt");
+		CountingDocument slowDocument = new CountingDocument(10000l);
+		
+		FileContent content = extractor.extract(leaf, slowDocument);
+		Assert.assertEquals("slow.txt", content.getTitle());
+		Assert.assertEquals("slow.txt", content.getContent());
+		
+		// the next indexing parses the file again
+		CountingDocument document = new CountingDocument(0l);
+		FileContent retriedContent = extractor.extract(leaf, document);
+		Assert.assertEquals("Extracted text", retriedContent.getContent());
+		Assert.assertEquals(1, document.calls.get());
+	}
+	
+	private VFSLeaf createLeaf(String filename) throws IOException {
+		File file = new File(directory, filename);
+		Files.writeString(file.toPath(), "Some content of " + filename, StandardCharsets.UTF_8);
+		return new LocalFileImpl(file);
+	}
+	
+	private static class CountingDocument extends FileDocument {
+
+		private static final long serialVersionUID = 2736429861151730455L;
+		
+		private final long duration;
+		private final AtomicInteger calls = new AtomicInteger();
+		
+		public CountingDocument(long duration) {
+			this.duration = duration;
+		}
+
+		@Override
+		protected boolean isContentCacheable() {
+			return true;
+		}
+
+		@Override
+		protected String getContentCacheType() {
+			return "counting";
+		}
+
+		@Override
+		protected FileContent readContent(VFSLeaf leaf) throws IOException, DocumentException {
+			calls.incrementAndGet();
+			if(duration > 0) {
+				try {
+					Thread.sleep(duration);
+				} catch (InterruptedException e) {
+					throw new DocumentException("Interrupted");
+				}
+			}
+			return new FileContent("Extracted text");
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ * <a href="https://www.openolat.org">
+ * OpenOLAT - Online Learning and Training</a><br>
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); <br>
+ * you may not use this file except in compliance with the License.<br>
+ * You may obtain a copy of the License at the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache homepage</a>
+ * <p>
+ * Unless required by applicable law or agreed to in writing,<br>
+ * software distributed under the License is distributed on an "AS IS" BASIS, <br>
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. <br>
+ * See the License for the specific language governing permissions and <br>
+ * limitations under the License.
+ * <p>
+ * Initial code contributed and copyrighted by<br>
+ * frentix GmbH, https://www.frentix.com
+ * <p>
+ */
+package org.olat.search.service.indexer;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ * Initial date: 17 oct. 2026<br>
+ * @author agent, agent@local
+ *
+ */
+public class JmsIndexWorkBatchTest {
+	
+	@Test
+	public void coalesceSameResource() {
+		JmsIndexWorkBatch batch = new JmsIndexWorkBatch();
+		Assert.assertTrue(batch.isEmpty());
+		
+		batch.add(new JmsIndexWork(JmsIndexWork.INDEX, "type.group", 1l));
+		batch.add(new JmsIndexWork(JmsIndexWork.INDEX, "type.group", List.of(1l, 2l)));
+		batch.add(new JmsIndexWork(JmsIndexWork.INDEX, "type.group", 1l));
+		
+		Assert.assertFalse(batch.isEmpty());
+		Assert.assertEquals(3, batch.getReceived());
+		Assert.assertEquals(2, batch.size());
+		Assert.assertEquals(List.of(1l, 2l), batch.getKeys("type.group", JmsIndexWork.INDEX));
+		Assert.assertTrue(batch.getKeys("type.group", JmsIndexWork.DELETE).isEmpty());
+	}
+	
+	@Test
+	public void lastActionWins() {
+		JmsIndexWorkBatch batch = new JmsIndexWorkBatch();
+		batch.add(new JmsIndexWork(JmsIndexWork.INDEX, "type.group", List.of(1l, 2l)));
+		batch.add(new JmsIndexWork(JmsIndexWork.DELETE, "type.group", 1l));
+		batch.add(new JmsIndexWork(JmsIndexWork.DELETE, "type.group", 2l));
+		batch.add(new JmsIndexWork(JmsIndexWork.INDEX, "type.group", 2l));
+		
+		Assert.assertEquals(2, batch.size());
+		Assert.assertEquals(List.of(2l), batch.getKeys("type.group", JmsIndexWork.INDEX));
+		Assert.assertEquals(List.of(1l), batch.getKeys("type.group", JmsIndexWork.DELETE));
+	}
+	
+	@Test
+	public void separateTypes() {
+		JmsIndexWorkBatch batch = new JmsIndexWorkBatch();
+		batch.add(new JmsIndexWork(JmsIndexWork.INDEX, "type.group", 1l));
+		batch.add(new JmsIndexWork(JmsIndexWork.INDEX, "type.repository.entry.", 1l));
+		batch.add(new JmsIndexWork(JmsIndexWork.INDEX, null, 3l));
+		
+		Assert.assertEquals(2, batch.size());
+		Assert.assertEquals(2, batch.getReceived());
+		Assert.assertEquals(List.of("type.group", "type.repository.entry."), List.copyOf(batch.getTypes()));
+		Assert.assertTrue(batch.getKeys("type.unknown", JmsIndexWork.INDEX).isEmpty());
+	}
+	
+	@Test
+	public void split() {
+		JmsIndexWorkBatch batch = new JmsIndexWorkBatch();
+		batch.add(new JmsIndexWork(JmsIndexWork.INDEX, "type.group", List.of(1l, 2l)));
+		batch.add(new JmsIndexWork(JmsIndexWork.DELETE, "type.group", 1l));
+		batch.add(new JmsIndexWork(JmsIndexWork.INDEX, "type.repository.entry.", 1l));
+		
+		List<JmsIndexWorkBatch> batches = batch.split();
+		Assert.assertEquals(3, batches.size());
+		Assert.assertEquals(List.of(1l), batches.get(0).getKeys("type.group", JmsIndexWork.DELETE));
+		Assert.assertEquals(List.of(2l), batches.get(1).getKeys("type.group", JmsIndexWork.INDEX));
+		Assert.assertEquals(List.of(1l), batches.get(2).getKeys("type.repository.entry.", JmsIndexWork.INDEX));
+		for(JmsIndexWorkBatch singleBatch:batches) {
+			Assert.assertEquals(1, singleBatch.size());
+		}
+	}
+}
@@ -78,6 +78,7 @@ import org.junit.runners.Suite;
 	org.olat.core.util.RandomUtilsTest.class,
 	org.olat.core.util.ZipUtilTest.class,
 	org.olat.core.util.ZipUtilConcatTest.class,
+	org.olat.core.util.io.ParallelZipOutputStreamTest.class,
 	org.olat.core.util.mail.EmailAddressValidatorTest.class,
 	org.olat.core.util.mail.manager.MailManagerTest.class,
 	org.olat.core.util.mail.manager.MailUserDataManagerTest.class,
@@ -93,12 +94,17 @@ import org.junit.runners.Suite;
 	org.olat.core.id.context.HistoryManagerTest.class,
 	org.olat.core.id.IdentityEnvironmentTest.class,
 	org.olat.core.gui.render.VelocityTemplateTest.class,
+	org.olat.core.gui.components.form.flexible.impl.elements.table.SortableFlexiTableModelDelegateTest.class,
+	org.olat.core.gui.render.RenderFragmentCacheTest.class,
 	org.olat.core.gui.control.generic.iframe.IFrameDeliveryMapperTest.class,
+	org.olat.core.gui.control.pushpoll.PushChannelRegistryTest.class,
+	org.olat.core.gui.media.ServletUtilTest.class,
 	org.olat.note.NoteTest.class,
 	org.olat.user.UserTest.class,
 	org.olat.user.UserPropertiesTest.class,
 	org.olat.commons.calendar.CalendarImportTest.class,
 	org.olat.commons.calendar.CalendarUtilsTest.class,
+	org.olat.commons.calendar.KalendarIndexTest.class,
 	org.olat.commons.calendar.ICalServletTest.class,
 	org.olat.commons.calendar.manager.ImportedCalendarDAOTest.class,
 	org.olat.commons.calendar.manager.ImportedToCalendarDAOTest.class,
@@ -106,7 +112,9 @@ import org.junit.runners.Suite;
 	org.olat.commons.calendar.manager.CalendarUserConfigurationDAOTest.class,
 	org.olat.commons.lifecycle.LifeCycleManagerTest.class,
 	org.olat.commons.coordinate.cluster.jms.ClusterEventBusTest.class,
+	org.olat.commons.coordinate.cluster.jms.ClusterEventBatchTest.class,
 	org.olat.commons.coordinate.cluster.lock.LockTest.class,
+	org.olat.commons.coordinate.cluster.sync.LeaseSyncerTest.class,
 	org.olat.commons.coordinate.CoordinatorTest.class,
 	org.olat.core.commons.modules.glossary.GlossaryItemManagerTest.class,
 	org.olat.core.commons.services.csp.CSPDispatcherTest.class,
@@ -122,8 +130,10 @@ import org.junit.runners.Suite;
 	org.olat.core.commons.services.vfs.manager.VFSXStreamTest.class,
 	org.olat.core.commons.services.vfs.manager.VFSMetadataDAOTest.class,
 	org.olat.core.commons.services.vfs.manager.VFSRevisionDAOTest.class,
+	org.olat.core.commons.services.vfs.manager.VFSRevisionBlobStoreTest.class,
 	org.olat.core.commons.services.vfs.manager.VFSStatsDAOTest.class,
 	org.olat.core.commons.services.vfs.manager.VFSThumbnailDAOTest.class,
+	org.olat.core.commons.services.vfs.manager.VFSThumbnailGeneratorTest.class,
 	org.olat.core.commons.services.vfs.manager.VFSRepositoryServiceTest.class,
 	org.olat.core.commons.services.vfs.manager.VFSRepositoryModuleTest.class,
 	org.olat.core.commons.services.vfs.manager.VFSLockManagerTest.class,
@@ -136,6 +146,7 @@ import org.junit.runners.Suite;
 	org.olat.core.commons.services.webdav.manager.WebDAVManagerTest.class,
 	org.olat.core.commons.services.webdav.manager.WebDAVAuthManagerTest.class,
 	org.olat.core.commons.services.webdav.servlets.RequestUtilsTest.class,
+	org.olat.core.commons.services.webdav.servlets.PropfindCacheTest.class,
 	org.olat.core.commons.services.sms.manager.MessageLogDAOTest.class,
 	org.olat.core.commons.services.taskexecutor.manager.PersistentTaskDAOTest.class,
 	org.olat.core.commons.services.taskexecutor.manager.TaskExecutorManagerTest.class,
@@ -255,6 +266,7 @@ import org.junit.runners.Suite;
 	org.olat.course.assessment.manager.CourseAssessmentQueriesTest.class,
 	org.olat.course.assessment.manager.EfficiencyStatementManagerTest.class,
 	org.olat.course.assessment.manager.ScoreAccountingProcessorTest.class,
+	org.olat.course.assessment.manager.ScoreAccountingEvaluateAllWorkerTest.class,
 	org.olat.course.assessment.manager.ScoreAccountingTriggerDAOTest.class,
 	org.olat.course.assessment.manager.UserCourseInformationsManagerTest.class,
 	org.olat.course.reminder.manager.ReminderRuleDAOTest.class,
@@ -326,6 +338,7 @@ import org.junit.runners.Suite;
 	org.olat.modules.wiki.versioning.diff.CookbookDiffTest.class,
 	org.olat.modules.wiki.gui.components.wikiToHtml.FilterUtilTest.class,
 	org.olat.modules.coach.manager.CoachingDAOTest.class,
+	org.olat.modules.coach.manager.CoachingRollupDAOTest.class,
 	org.olat.modules.coach.CoachingLargeTest.class, 
 	org.olat.modules.coach.reports.ReportTimeUnitTest.class,
 	org.olat.modules.curriculum.manager.CurriculumDAOTest.class,
@@ -526,7 +539,10 @@ import org.junit.runners.Suite;
 	org.olat.modules.zoom.WebserviceDispatcherTest.class,
 	org.olat.properties.PropertyTest.class,
 	org.olat.search.service.document.file.FileDocumentFactoryTest.class,
+	org.olat.search.service.document.file.FileContentCacheTest.class,
+	org.olat.search.service.document.file.FileContentExtractorTest.class,
 	org.olat.search.service.indexer.repository.course.SPCourseNodeIndexerTest.class,
+	org.olat.search.service.indexer.JmsIndexWorkBatchTest.class,
 	org.olat.search.service.document.file.HtmlDocumentTest.class,
 	org.olat.search.service.document.file.PDFDocumentTest.class,
 	org.olat.search.service.document.file.OfficeDocumentTest.class,
@@ -546,6 +562,7 @@ import org.junit.runners.Suite;
 	org.olat.ims.qti21.manager.QTI21ServiceTest.class,
 	org.olat.ims.qti21.manager.LogViewerDeserializerTest.class,
 	org.olat.ims.qti21.manager.ReferenceHistoryInfosDAOTest.class,
+	org.olat.ims.qti21.manager.state.TestSessionStateJournalTest.class,
 	org.olat.ims.qti21.model.xml.AssessmentItemBuilderTest.class,
 	org.olat.ims.qti21.model.xml.MultipleChoiceAssessmentItemBuilderTest.class,
 	org.olat.ims.qti21.model.xml.SingleChoiceAssessmentItemBuilderTest.class,
@@ -604,6 +621,8 @@ import org.junit.runners.Suite;
 	org.olat.ldap.LDAPLoginTest.class,
 	org.olat.ldap.manager.LDAPDAOTest.class,
 	org.olat.ldap.manager.LDAPLoginManagerTest.class,
+	org.olat.ldap.manager.LDAPUserChecksumTest.class,
+	org.olat.ldap.manager.LDAPSyncChecksumDAOTest.class,
 	org.olat.core.commons.services.mark.MarkManagerTest.class,
 	org.olat.test.SpringInitDestroyVerficationTest.class,
 	//org.olat.course.statistic.weekly.TestWeeklyStatisticManager_fillGaps.class, don't know what it tests
@@ -614,6 +633,8 @@ import org.junit.runners.Suite;
 	org.olat.shibboleth.handler.SpringShibbolethAttributeHandlerFactoryTest.class,
 	org.olat.core.CoreSpringFactoryTest.class,
 	org.olat.core.logging.activity.ActivityLogServiceTest.class,
+	org.olat.core.logging.activity.manager.LoggingObjectSpillFileTest.class,
+	org.olat.core.logging.activity.manager.LoggingObjectWriterTest.class,
 	org.olat.modules.openmeetings.OpenMeetingsTest.class,
 	org.olat.modules.openmeetings.manager.OpenMeetingsDAOTest.class,
 	org.olat.commons.info.InfoManagerTest.class,